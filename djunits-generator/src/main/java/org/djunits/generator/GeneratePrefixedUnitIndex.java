@@ -0,0 +1,50 @@
+package org.djunits.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.quantity.PrefixedUnitIndex;
+import org.djunits.unit.util.UNITS;
+
+/**
+ * Generator for the index of the units with SI prefixes that the quantities of djunits generate, which is stored in the
+ * resource prefixedunits.dat of the djunits project.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ */
+public final class GeneratePrefixedUnitIndex
+{
+    /** the default file to write the index to, relative to the djunits-generator project. */
+    private static final String DEFAULT_FILE = "../djunits/src/main/resources/prefixedunits.dat";
+
+    /** */
+    private GeneratePrefixedUnitIndex()
+    {
+        // utility class
+    }
+
+    /**
+     * Generate the prefixedunits.dat resource.
+     * @param args String[]; optionally the file to write the index to
+     * @throws IOException on write error
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        @SuppressWarnings("unused")
+        AreaUnit junk = UNITS.ACRE; // force loading of all units
+
+        String fileName = args.length > 0 ? args[0] : DEFAULT_FILE;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName)))
+        {
+            PrefixedUnitIndex.write(out);
+        }
+        System.out.println("built: " + fileName);
+    }
+
+}
@@ -1,12 +1,10 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.*;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarAbs;
 
 /**
@@ -160,20 +158,12 @@ public class %TypeAbs% extends AbstractDoubleScalarAbs<%TypeAbsUnit%, %TypeAbs%,
     {
         Throw.whenNull(text, "Error parsing %TypeAbs%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing %TypeAbs%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        %TypeAbs% result = ScalarParser.parseDouble(text, 0, text.length(), %TypeAbsUnit%.BASE, %TypeAbs%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %TypeAbsUnit% unit = %TypeAbsUnit%.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new %TypeAbs%(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing %TypeAbs% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing %TypeAbs% from " + text);
+        return result;
     }
 
     /**
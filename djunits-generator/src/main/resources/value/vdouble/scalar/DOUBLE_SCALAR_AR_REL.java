@@ -1,12 +1,10 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.*;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRelWithAbs;
 
 /**
@@ -178,20 +176,12 @@ public class %TypeRel% extends AbstractDoubleScalarRelWithAbs<%TypeAbsUnit%, %Ty
     {
         Throw.whenNull(text, "Error parsing %TypeRel%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing %TypeRel%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        %TypeRel% result = ScalarParser.parseDouble(text, 0, text.length(), %TypeRelUnit%.BASE, %TypeRel%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %TypeRelUnit% unit = %TypeRelUnit%.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new %TypeRel%(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing %TypeRel% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing %TypeRel% from " + text);
+        return result;
     }
 
     /**
@@ -1,12 +1,10 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.*;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.function.DimensionlessFunctions;
 
@@ -170,20 +168,12 @@ public class %Type% extends AbstractDoubleScalarRel<%Type%Unit, %Type%> %DIMLESS
     {
         Throw.whenNull(text, "Error parsing %Type%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing %Type%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        %Type% result = ScalarParser.parseDouble(text, 0, text.length(), %Type%Unit.BASE, %Type%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %Type%Unit unit = %Type%Unit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new %Type%(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing %Type% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing %Type% from " + text);
+        return result;
     }
 
     /**
@@ -1,12 +1,10 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.*;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarAbs;
 
 /**
@@ -170,20 +168,12 @@ public class Float%TypeAbs% extends AbstractFloatScalarAbs<%TypeAbsUnit%, Float%
     {
         Throw.whenNull(text, "Error parsing Float%TypeAbs%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Float%TypeAbs%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Float%TypeAbs% result = ScalarParser.parseFloat(text, 0, text.length(), %TypeAbsUnit%.BASE, Float%TypeAbs%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %TypeAbsUnit% unit = %TypeAbsUnit%.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new Float%TypeAbs%(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Float%TypeAbs% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Float%TypeAbs% from " + text);
+        return result;
     }
 
     /**
@@ -1,12 +1,10 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.*;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRelWithAbs;
 
 /**
@@ -188,20 +186,12 @@ public class Float%TypeRel% extends AbstractFloatScalarRelWithAbs<%TypeAbsUnit%,
     {
         Throw.whenNull(text, "Error parsing Float%TypeRel%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Float%TypeRel%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Float%TypeRel% result = ScalarParser.parseFloat(text, 0, text.length(), %TypeRelUnit%.BASE, Float%TypeRel%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %TypeRelUnit% unit = %TypeRelUnit%.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new Float%TypeRel%(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Float%TypeRel% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Float%TypeRel% from " + text);
+        return result;
     }
 
     /**
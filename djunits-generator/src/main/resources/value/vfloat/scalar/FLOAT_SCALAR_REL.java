@@ -1,8 +1,7 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import org.djunits.value.Relative;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.util.ValueUtil;
 
 import javax.annotation.Generated;
@@ -10,6 +9,7 @@ import javax.annotation.Generated;
 import org.djunits.Throw;
 import org.djunits.unit.*;
 import org.djunits.value.function.DimensionlessFunctions;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.util.ValueUtil;
 import org.djunits.value.vfloat.scalar.base.*;
 
@@ -184,20 +184,12 @@ public class Float%Type% extends AbstractFloatScalarRel<%Type%Unit, Float%Type%>
     {
         Throw.whenNull(text, "Error parsing Float%Type%: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Float%Type%: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Float%Type% result = ScalarParser.parseFloat(text, 0, text.length(), %Type%Unit.BASE, Float%Type%::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            %Type%Unit unit = %Type%Unit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new Float%Type%(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Float%Type% from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Float%Type% from " + text);
+        return result;
     }
 
     /**
@@ -40,7 +40,7 @@ public class ElectricalChargeUnit extends Unit<ElectricalChargeUnit>
     public static final ElectricalChargeUnit AMPERE_HOUR =
             new ElectricalChargeUnit().build(new Unit.Builder<ElectricalChargeUnit>().setQuantity(BASE).setId("Ah")
                     .setName("ampere hour").setUnitSystem(UnitSystem.SI_DERIVED).setSiPrefixes(SIPrefixes.UNIT, 1.0)
-                    .setScale(new LinearScale(3600.0)));
+                    .setScale(LinearScale.valueOf(3600.0)));
 
     /** milliampere hour. */
     public static final ElectricalChargeUnit MILLIAMPERE_HOUR = AMPERE_HOUR.deriveSI(SIPrefixes.getUnit("m"), 1.0);
@@ -80,7 +80,7 @@ public class EnergyUnit extends Unit<EnergyUnit>
     /** watt-hour. */
     public static final EnergyUnit WATT_HOUR = new EnergyUnit().build(new Unit.Builder<EnergyUnit>().setQuantity(BASE)
             .setId("Wh").setName("watt-hour").setUnitSystem(UnitSystem.SI_DERIVED).setSiPrefixes(SIPrefixes.UNIT, 1.0)
-            .setScale(new LinearScale(3600.0)));
+            .setScale(LinearScale.valueOf(3600.0)));
 
     /** microwatt-hour. */
     public static final EnergyUnit MICROWATT_HOUR = WATT_HOUR.deriveSI(SIPrefixes.getUnit("mu"), 1.0);
@@ -106,7 +106,7 @@ public class EnergyUnit extends Unit<EnergyUnit>
     /** electronvolt. */
     public static final EnergyUnit ELECTRONVOLT = new EnergyUnit().build(new Unit.Builder<EnergyUnit>().setQuantity(BASE)
             .setId("eV").setName("electronvolt").setUnitSystem(UnitSystem.SI_ACCEPTED).setSiPrefixes(SIPrefixes.UNIT, 1.0)
-            .setScale(new LinearScale(1.602176634E-19)));
+            .setScale(LinearScale.valueOf(1.602176634E-19)));
 
     /** micro-electronvolt. */
     public static final EnergyUnit MICROELECTRONVOLT = ELECTRONVOLT.deriveSI(SIPrefixes.getUnit("mu"), 1.0);
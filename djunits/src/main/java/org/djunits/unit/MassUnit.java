@@ -64,7 +64,7 @@ public class MassUnit extends Unit<MassUnit>
     /** electronvolt = 1.782661907E-36 kg. See http://physics.nist.gov/cuu/Constants/Table/allascii.txt. */
     public static final MassUnit ELECTRONVOLT = new MassUnit().build(
             new Unit.Builder<MassUnit>().setQuantity(BASE).setId("eV").setName("electronvolt").setUnitSystem(UnitSystem.OTHER)
-                    .setSiPrefixes(SIPrefixes.UNIT_POS, 1.0).setScale(new LinearScale(1.782661907E-36)));
+                    .setSiPrefixes(SIPrefixes.UNIT_POS, 1.0).setScale(LinearScale.valueOf(1.782661907E-36)));
 
     /** microelectronvolt. */
     public static final MassUnit MICROELECTRONVOLT = ELECTRONVOLT.deriveSI(SIPrefixes.getUnit("mu"), 1.0);
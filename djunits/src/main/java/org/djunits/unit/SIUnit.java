@@ -1,5 +1,8 @@
 package org.djunits.unit;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.djunits.unit.si.SIDimensions;
 import org.djunits.unit.util.UnitException;
 
@@ -16,6 +19,18 @@ public class SIUnit extends Unit<SIUnit>
     /** */
     private static final long serialVersionUID = 20190829L;
 
+    /** the maximum number of dimension pairs in the caches of products and quotients; a power of two. */
+    static final int MAX_CACHED_OPERATIONS = 4096;
+
+    /**
+     * the SI units of products and quotients of packed dimensions, with one slot per pair of packed dimensions and operation. A
+     * new operation replaces the operation in its slot. Entries are immutable, so the cache can be read without locking.
+     */
+    private static final PackedOperation[] PACKED_OPERATIONS = new PackedOperation[MAX_CACHED_OPERATIONS];
+
+    /** the SI units of products and quotients of dimensions that are not packed, e.g., fractional dimensions. */
+    private static final Map<Operation, SIUnit> OPERATIONS = new ConcurrentHashMap<>();
+
     static
     {
         // make sure all predefined unit types get registered before we start using SIScalars.
@@ -51,6 +66,71 @@ public class SIUnit extends Unit<SIUnit>
         return Unit.lookupOrCreateUnitWithSIDimensions(siDimensions);
     }
 
+    /**
+     * Return the SI unit of the product of two values with given SI dimensions, e.g., for <code>left.times(right)</code>. The
+     * result is cached per pair of dimensions, so repeated products of the same quantities do not search the unit registry.
+     * @param left SIDimensions; the SI dimensions of the left operand
+     * @param right SIDimensions; the SI dimensions of the right operand
+     * @return SIUnit; the SI unit with the sum of the dimensions
+     */
+    public static SIUnit product(final SIDimensions left, final SIDimensions right)
+    {
+        return operation(left, right, false);
+    }
+
+    /**
+     * Return the SI unit of the quotient of two values with given SI dimensions, e.g., for <code>left.divide(right)</code>. The
+     * result is cached per pair of dimensions, so repeated quotients of the same quantities do not search the unit registry.
+     * @param left SIDimensions; the SI dimensions of the dividend
+     * @param right SIDimensions; the SI dimensions of the divisor
+     * @return SIUnit; the SI unit with the difference of the dimensions
+     */
+    public static SIUnit quotient(final SIDimensions left, final SIDimensions right)
+    {
+        return operation(left, right, true);
+    }
+
+    /**
+     * Look up the SI unit of a product or a quotient in the cache, or resolve and cache it.
+     * @param left SIDimensions; the SI dimensions of the left operand
+     * @param right SIDimensions; the SI dimensions of the right operand
+     * @param divide boolean; true for a quotient, false for a product
+     * @return SIUnit; the SI unit of the result
+     */
+    private static SIUnit operation(final SIDimensions left, final SIDimensions right, final boolean divide)
+    {
+        long x = left.getPacked();
+        long y = right.getPacked();
+        if (x != SIDimensions.NOT_PACKED && y != SIDimensions.NOT_PACKED)
+        {
+            // key on the packed dimensions, so a cache hit does not allocate
+            long hash = ((x * 31L + y) * 2L + (divide ? 1L : 0L)) * 0x9E3779B97F4A7C15L;
+            int slot = (int) (hash ^ (hash >>> 32)) & (MAX_CACHED_OPERATIONS - 1);
+            PackedOperation cached = PACKED_OPERATIONS[slot];
+            if (cached != null && cached.left == x && cached.right == y && cached.divide == divide)
+            {
+                return cached.unit;
+            }
+            // resolving is idempotent, so concurrent misses store the same unit
+            SIUnit unit = Unit.lookupOrCreateUnitWithSIDimensions(divide ? left.minus(right) : left.plus(right));
+            PACKED_OPERATIONS[slot] = new PackedOperation(x, y, divide, unit);
+            return unit;
+        }
+        Operation key = new Operation(left, right, divide);
+        SIUnit unit = OPERATIONS.get(key);
+        if (unit == null)
+        {
+            // resolve outside the map, since resolving can register a new unit
+            unit = Unit.lookupOrCreateUnitWithSIDimensions(divide ? left.minus(right) : left.plus(right));
+            if (OPERATIONS.size() < MAX_CACHED_OPERATIONS)
+            {
+                SIUnit cached = OPERATIONS.putIfAbsent(key, unit);
+                unit = cached == null ? unit : cached;
+            }
+        }
+        return unit;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString()
@@ -83,4 +163,85 @@ public class SIUnit extends Unit<SIUnit>
         return true;
     }
 
+    /**
+     * Entry of the cache of products and quotients of packed dimensions: the packed dimensions of the operands, the operation,
+     * and the SI unit of the result.
+     */
+    private static final class PackedOperation
+    {
+        /** the packed SI dimensions of the left operand. */
+        private final long left;
+
+        /** the packed SI dimensions of the right operand. */
+        private final long right;
+
+        /** true for a quotient, false for a product. */
+        private final boolean divide;
+
+        /** the SI unit of the result. */
+        private final SIUnit unit;
+
+        /**
+         * @param left long; the packed SI dimensions of the left operand
+         * @param right long; the packed SI dimensions of the right operand
+         * @param divide boolean; true for a quotient, false for a product
+         * @param unit SIUnit; the SI unit of the result
+         */
+        PackedOperation(final long left, final long right, final boolean divide, final SIUnit unit)
+        {
+            this.left = left;
+            this.right = right;
+            this.divide = divide;
+            this.unit = unit;
+        }
+    }
+
+    /**
+     * Key of the cache of products and quotients of dimensions that are not packed: the SI dimensions of the operands and the
+     * operation.
+     */
+    private static final class Operation
+    {
+        /** the SI dimensions of the left operand. */
+        private final SIDimensions left;
+
+        /** the SI dimensions of the right operand. */
+        private final SIDimensions right;
+
+        /** true for a quotient, false for a product. */
+        private final boolean divide;
+
+        /**
+         * @param left SIDimensions; the SI dimensions of the left operand
+         * @param right SIDimensions; the SI dimensions of the right operand
+         * @param divide boolean; true for a quotient, false for a product
+         */
+        Operation(final SIDimensions left, final SIDimensions right, final boolean divide)
+        {
+            this.left = left;
+            this.right = right;
+            this.divide = divide;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode()
+        {
+            return (31 * this.left.hashCode() + this.right.hashCode()) * 2 + (this.divide ? 1 : 0);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("checkstyle:needbraces")
+        public boolean equals(final Object obj)
+        {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Operation))
+                return false;
+            Operation other = (Operation) obj;
+            return this.divide == other.divide && this.left.equals(other.left) && this.right.equals(other.right);
+        }
+    }
+
 }
@@ -1,9 +1,13 @@
 package org.djunits.unit;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.djunits.Throw;
 import org.djunits.unit.quantity.Quantities;
@@ -32,13 +36,19 @@ import org.djunits.unit.util.UnitRuntimeException;
 public class Unit<U extends Unit<U>> implements Serializable, Cloneable
 {
     /** */
-    private static final long serialVersionUID = 20190818L;
+    private static final long serialVersionUID = 20221018L;
+
+    /** The SI units that have been looked up or created for SI dimensions; the map is also the lock for creating them. */
+    private static final Map<SIDimensions, SIUnit> SI_UNITS = new ConcurrentHashMap<>();
 
     /** The id of the unit; has to be unique within the unit name. Used for, e.g., localization and retrieval. */
     private String id;
 
-    /** The abbreviations in the default locale. All abbreviations an be used in the valueOf() and of() methods. */
-    private Set<String> abbreviations;
+    /**
+     * The abbreviations in the default locale, without duplicates. All abbreviations an be used in the valueOf() and of()
+     * methods. The abbreviations, the id and the default abbreviations are interned, so units share equal strings.
+     */
+    private String[] abbreviations;
 
     /** The default display abbreviation in the default locale for printing. Included in the abbreviations list. */
     private String defaultDisplayAbbreviation;
@@ -109,7 +119,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
         Throw.whenNull(builder.getUnitSystem(), "Constructing unit %s.%s: unitSystem cannot be null", cName, unitId);
 
         // set the key fields
-        this.id = unitId;
+        this.id = unitId.intern();
         this.name = builder.getName();
         this.quantity = builder.getQuantity();
         this.unitSystem = builder.getUnitSystem();
@@ -141,10 +151,18 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
         {
             this.defaultTextualAbbreviation = builder.getDefaultTextualAbbreviation();
         }
-        this.abbreviations = new LinkedHashSet<>();
-        this.abbreviations.add(this.defaultDisplayAbbreviation);
-        this.abbreviations.add(this.defaultTextualAbbreviation);
-        this.abbreviations.addAll(builder.getAdditionalAbbreviations());
+        this.defaultDisplayAbbreviation = this.defaultDisplayAbbreviation.intern();
+        this.defaultTextualAbbreviation = this.defaultTextualAbbreviation.intern();
+        Set<String> abbreviationSet = new LinkedHashSet<>();
+        abbreviationSet.add(this.defaultDisplayAbbreviation);
+        abbreviationSet.add(this.defaultTextualAbbreviation);
+        abbreviationSet.addAll(builder.getAdditionalAbbreviations());
+        this.abbreviations = new String[abbreviationSet.size()];
+        int index = 0;
+        for (String abbreviation : abbreviationSet)
+        {
+            this.abbreviations[index++] = abbreviation.intern();
+        }
 
         // See what SI prefixes have to be registered. If not specified: NONE.
         SIPrefixes siPrefixes = builder.getSiPrefixes() == null ? SIPrefixes.NONE : builder.getSiPrefixes();
@@ -210,7 +228,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
             }
             else
             {
-                builder.setScale(new LinearScale(
+                builder.setScale(LinearScale.valueOf(
                         (siPrefixPower == 1.0 ? siPrefix.getFactor() : Math.pow(siPrefix.getFactor(), siPrefixPower))
                                 * ((LinearScale) getScale()).getConversionFactorToStandardUnit()));
             }
@@ -298,7 +316,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
             }
             else
             {
-                builder.setScale(new LinearScale(
+                builder.setScale(LinearScale.valueOf(
                         (siPrefixPower == 1.0 ? siPrefix.getFactor() : Math.pow(siPrefix.getFactor(), siPrefixPower))
                                 * ((LinearScale) getScale()).getConversionFactorToStandardUnit()));
             }
@@ -365,7 +383,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
             }
             else
             {
-                builder.setScale(new LinearScale(
+                builder.setScale(LinearScale.valueOf(
                         (siPrefixPower == 1.0 ? siPrefix.getFactor() : Math.pow(siPrefix.getFactor(), siPrefixPower))
                                 * ((LinearScale) getScale()).getConversionFactorToStandardUnit()));
             }
@@ -419,7 +437,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
             builder.setName(derivedName);
             builder.setQuantity(this.quantity);
             builder.setSiPrefixes(SIPrefixes.NONE, 1.0);
-            builder.setScale(new LinearScale(scaleFactor * ((LinearScale) getScale()).getConversionFactorToStandardUnit()));
+            builder.setScale(LinearScale.valueOf(scaleFactor * ((LinearScale) getScale()).getConversionFactorToStandardUnit()));
             builder.setUnitSystem(derivedUnitSystem);
             builder.setDefaultDisplayAbbreviation(derivedDefaultDisplayAbbreviation);
             builder.setDefaultTextualAbbreviation(derivedDefaultTextualAbbreviation);
@@ -476,22 +494,59 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
     }
 
     /**
-     * Create or lookup a unit based on given SI dimensions. E.g., a unit with dimensions 1/s^2 or kg.m/s^2.
+     * Look up the unit for given SI dimensions, without creating it when it does not exist.
+     * @param siDimensions SIDimensions; the vector with the dimensionality of the unit
+     * @return SIUnit; the SIUnit with the dimensions, or null when no unit has been created for the dimensions
+     * @throws NullPointerException when siDimensions is null
+     */
+    public static SIUnit lookupUnitWithSIDimensions(final SIDimensions siDimensions)
+    {
+        Throw.whenNull(siDimensions, "siDimensions cannot be null");
+        return SI_UNITS.get(siDimensions);
+    }
+
+    /**
+     * Create or lookup a unit based on given SI dimensions. E.g., a unit with dimensions 1/s^2 or kg.m/s^2. The lookup does not
+     * lock; when no unit exists yet for the dimensions, exactly one unit is created and registered, even when many threads ask
+     * for it at the same time.
      * @param siDimensions SIDimensions; the vector with the dimensionality of the unit
      * @return SIUnit; an SIUnit object with the right dimensions
      */
-    @SuppressWarnings("unchecked")
     public static SIUnit lookupOrCreateUnitWithSIDimensions(final SIDimensions siDimensions)
     {
         Throw.whenNull(siDimensions, "siDimensions cannot be null");
+        SIUnit unit = SI_UNITS.get(siDimensions);
+        if (unit != null)
+        {
+            return unit;
+        }
+        synchronized (SI_UNITS)
+        {
+            unit = SI_UNITS.get(siDimensions);
+            if (unit == null)
+            {
+                unit = createUnitWithSIDimensions(siDimensions);
+                SI_UNITS.put(siDimensions, unit);
+            }
+            return unit;
+        }
+    }
 
+    /**
+     * Lookup an SIUnit for given SI dimensions in the registry, or create and register it when it does not exist.
+     * @param siDimensions SIDimensions; the vector with the dimensionality of the unit
+     * @return SIUnit; an SIUnit object with the right dimensions
+     */
+    @SuppressWarnings("unchecked")
+    private static SIUnit createUnitWithSIDimensions(final SIDimensions siDimensions)
+    {
         Quantity<SIUnit> quantity = null;
         SIUnit unit = null;
 
         Set<Quantity<?>> baseUnitSet = Quantities.INSTANCE.getQuantities(siDimensions);
         for (Quantity<?> bu : baseUnitSet)
         {
-            if (bu.getStandardUnit().getClass().equals(Unit.class))
+            if (bu.getStandardUnit() instanceof SIUnit)
             {
                 quantity = (Quantity<SIUnit>) bu;
             }
@@ -534,7 +589,7 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
      */
     public Set<String> getAbbreviations()
     {
-        return new LinkedHashSet<>(this.abbreviations);
+        return new LinkedHashSet<>(Arrays.asList(this.abbreviations));
     }
 
     /**
@@ -632,9 +687,18 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
     @Override
     public int hashCode()
     {
+        // the abbreviations are hashed as a set, as the sum of their hash codes, without creating the set
+        int abbreviationsHash = 0;
+        if (this.abbreviations != null)
+        {
+            for (String abbreviation : this.abbreviations)
+            {
+                abbreviationsHash += abbreviation.hashCode();
+            }
+        }
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((this.abbreviations == null) ? 0 : this.abbreviations.hashCode());
+        result = prime * result + abbreviationsHash;
         result = prime * result + ((this.quantity == null) ? 0 : this.quantity.hashCode());
         result = prime * result + ((this.defaultDisplayAbbreviation == null) ? 0 : this.defaultDisplayAbbreviation.hashCode());
         result = prime * result + ((this.defaultTextualAbbreviation == null) ? 0 : this.defaultTextualAbbreviation.hashCode());
@@ -663,7 +727,9 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
             if (other.abbreviations != null)
                 return false;
         }
-        else if (!this.abbreviations.equals(other.abbreviations))
+        // the abbreviations are compared as a set, independent of their order
+        else if (other.abbreviations == null || this.abbreviations.length != other.abbreviations.length
+                || !Arrays.asList(this.abbreviations).containsAll(Arrays.asList(other.abbreviations)))
             return false;
         if (this.quantity == null)
         {
@@ -726,6 +792,61 @@ public class Unit<U extends Unit<U>> implements Serializable, Cloneable
         return this.defaultDisplayAbbreviation;
     }
 
+    /**
+     * Serialize a unit that is registered in a registered quantity as a reference to the quantity and the id of the unit, which
+     * resolves to the registered unit on deserialization. Other units are serialized with all their fields.
+     * @return Object; the serialization proxy of a registered unit, or this unit
+     */
+    protected final Object writeReplace()
+    {
+        if (this.quantity != null && this.quantity.isRegistered() && this.quantity.getUnitById(this.id) == this)
+        {
+            return new SerializationProxy(this.quantity, this.id);
+        }
+        return this;
+    }
+
+    /**
+     * Serialized form of a registered unit: the quantity, which is serialized by reference as well, and the id of the unit.
+     */
+    private static final class SerializationProxy implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 20221018L;
+
+        /** the quantity of the unit. */
+        private final Quantity<?> quantity;
+
+        /** the id of the unit. */
+        private final String id;
+
+        /**
+         * Create the serialized form of a registered unit.
+         * @param quantity Quantity&lt;?&gt;; the quantity of the unit
+         * @param id String; the id of the unit
+         */
+        SerializationProxy(final Quantity<?> quantity, final String id)
+        {
+            this.quantity = quantity;
+            this.id = id;
+        }
+
+        /**
+         * Resolve the serialized form to the registered unit.
+         * @return Object; the registered unit with the id in the quantity
+         * @throws ObjectStreamException when the quantity has no unit with the id
+         */
+        private Object readResolve() throws ObjectStreamException
+        {
+            Unit<?> unit = this.quantity.getUnitById(this.id);
+            if (unit == null)
+            {
+                throw new InvalidObjectException("no unit with id " + this.id + " in quantity " + this.quantity.getName());
+            }
+            return unit;
+        }
+    }
+
     /**
      * The class that contains the information to build a unit.
      * <p>
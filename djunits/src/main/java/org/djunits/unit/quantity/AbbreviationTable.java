@@ -0,0 +1,149 @@
+package org.djunits.unit.quantity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AbbreviationTable is an immutable open-addressing hash table of the registered abbreviations of a quantity and their units, in
+ * which a slice of a CharSequence can be looked up without creating a String for it. The hash of a slice is calculated in the
+ * same way as String.hashCode(). The table is a snapshot of the registered abbreviations; it knows the cache of resolved
+ * abbreviations of the quantity at the time it was built, which the quantity replaces whenever a unit is registered or
+ * unregistered, so the quantity can see when the table is outdated.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+final class AbbreviationTable
+{
+    /** the cache of resolved abbreviations of the quantity when the table was built. */
+    private final ResolvedAbbreviations resolved;
+
+    /** the abbreviations; null for an empty slot. */
+    private final String[] keys;
+
+    /** the hash codes of the abbreviations. */
+    private final int[] hashes;
+
+    /** the units, or the marker for an abbreviation without a unit. */
+    private final Object[] values;
+
+    /** the number of slots minus one; the number of slots is a power of two. */
+    private final int mask;
+
+    /**
+     * Build a table of the registered abbreviations of a quantity.
+     * @param registered Map&lt;String, ?&gt;; the registered abbreviations and their units
+     * @param resolved ResolvedAbbreviations; the cache of resolved abbreviations of the quantity
+     */
+    AbbreviationTable(final Map<String, ?> registered, final ResolvedAbbreviations resolved)
+    {
+        this.resolved = resolved;
+        // copy the entries first, since the map can change concurrently
+        List<Map.Entry<String, ?>> entries = new ArrayList<>(registered.entrySet());
+        int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 2) - 1) << 1;
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<String, ?> entry : entries)
+        {
+            String key = entry.getKey();
+            int hash = key.hashCode();
+            int slot = spread(hash) & this.mask;
+            while (this.keys[slot] != null && !this.keys[slot].equals(key))
+            {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key;
+            this.hashes[slot] = hash;
+            this.values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Return whether the table has been built since the last registration change, i.e., with the current cache of resolved
+     * abbreviations of the quantity.
+     * @param currentResolved ResolvedAbbreviations; the current cache of resolved abbreviations of the quantity
+     * @return boolean; whether the table is up to date
+     */
+    boolean isUpToDate(final ResolvedAbbreviations currentResolved)
+    {
+        return this.resolved == currentResolved;
+    }
+
+    /**
+     * Look up a slice of a CharSequence.
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the abbreviation
+     * @param end int; the index after the last character of the abbreviation
+     * @return Object; the unit, or null when the abbreviation is not registered
+     */
+    Object get(final CharSequence text, final int start, final int end)
+    {
+        int hash = hash(text, start, end);
+        int length = end - start;
+        for (int slot = spread(hash) & this.mask; this.keys[slot] != null; slot = (slot + 1) & this.mask)
+        {
+            if (this.hashes[slot] == hash && matches(this.keys[slot], text, start, length))
+            {
+                return this.values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calculate the hash code of a slice of a CharSequence in the same way as String.hashCode().
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the slice
+     * @param end int; the index after the last character of the slice
+     * @return int; the hash code of the slice
+     */
+    static int hash(final CharSequence text, final int start, final int end)
+    {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+        {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Compare a key with a slice of a CharSequence.
+     * @param key String; the key
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the slice
+     * @param length int; the length of the slice
+     * @return boolean; whether the key and the slice consist of the same characters
+     */
+    static boolean matches(final String key, final CharSequence text, final int start, final int length)
+    {
+        if (key.length() != length)
+        {
+            return false;
+        }
+        for (int i = 0; i < length; i++)
+        {
+            if (key.charAt(i) != text.charAt(start + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mix the high bits of a hash code into the low bits that select the slot.
+     * @param hash int; the hash code
+     * @return int; the spread hash code
+     */
+    static int spread(final int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.djunits.unit.quantity;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.djunits.Throw;
+
+/**
+ * PrefixedUnitIndex is a precomputed index of the units with SI prefixes that the quantities generate for their units. For
+ * each id and abbreviation of a generated unit it stores the id of the unit it is generated from and the key of the SI prefix,
+ * so a quantity can generate just the unit that is looked up, instead of all units with SI prefixes. The index is read in one
+ * pass from the resource {@value #RESOURCE} the first time it is needed. The resource is written by the djunits-generator with
+ * {@link #write(OutputStream)}; when it is missing or outdated, the quantities generate all units with SI prefixes on a miss.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public final class PrefixedUnitIndex
+{
+    /** the name of the resource with the index. */
+    public static final String RESOURCE = "/resources/prefixedunits.dat";
+
+    /** the version of the format of the resource. */
+    private static final int VERSION = 1;
+
+    /** the id of the unit and the key of the SI prefix, by id or abbreviation, by class name of the unit. */
+    private final Map<String, Map<String, String[]>> origins;
+
+    /** the ids of the units that the generated units in the index are generated from, by class name of the unit. */
+    private final Map<String, Set<String>> unitIds = new HashMap<>();
+
+    /**
+     * Create an index.
+     * @param origins Map&lt;String, Map&lt;String, String[]&gt;&gt;; the id of the unit and the key of the SI prefix, by id or
+     *            abbreviation, by class name of the unit
+     */
+    private PrefixedUnitIndex(final Map<String, Map<String, String[]>> origins)
+    {
+        this.origins = origins;
+        for (Map.Entry<String, Map<String, String[]>> unitClass : origins.entrySet())
+        {
+            Set<String> ids = this.unitIds.computeIfAbsent(unitClass.getKey(), name -> new HashSet<>());
+            for (String[] origin : unitClass.getValue().values())
+            {
+                ids.add(origin[0]);
+            }
+        }
+    }
+
+    /** Holder of the index that is read from the resource, so the resource is read on first use. */
+    private static final class Holder
+    {
+        /** the index. */
+        private static final PrefixedUnitIndex INDEX = readResource();
+    }
+
+    /**
+     * Return the id of the unit and the key of the SI prefix of a generated unit in the index that is read from the resource.
+     * @param unitClassName String; the fully qualified class name of the unit
+     * @param key String; the id or abbreviation of the generated unit
+     * @return String[]; the id of the unit the generated unit is generated from and the key of the SI prefix, or null when the
+     *         index does not contain the generated unit
+     */
+    static String[] lookup(final String unitClassName, final String key)
+    {
+        return Holder.INDEX.get(unitClassName, key);
+    }
+
+    /**
+     * Return whether the index that is read from the resource contains the generated units of a unit.
+     * @param unitClassName String; the fully qualified class name of the unit
+     * @param unitId String; the id of the unit the units with SI prefixes are generated from
+     * @return boolean; whether the index contains the units with SI prefixes that are generated from the unit
+     */
+    static boolean contains(final String unitClassName, final String unitId)
+    {
+        Set<String> ids = Holder.INDEX.unitIds.get(unitClassName);
+        return ids != null && ids.contains(unitId);
+    }
+
+    /**
+     * Return the id of the unit and the key of the SI prefix of a generated unit.
+     * @param unitClassName String; the fully qualified class name of the unit
+     * @param key String; the id or abbreviation of the generated unit
+     * @return String[]; the id of the unit the generated unit is generated from and the key of the SI prefix, or null when the
+     *         index does not contain the generated unit
+     */
+    String[] get(final String unitClassName, final String key)
+    {
+        Map<String, String[]> unitOrigins = this.origins.get(unitClassName);
+        return unitOrigins == null ? null : unitOrigins.get(key);
+    }
+
+    /**
+     * Return the class names of the units in the index.
+     * @return Set&lt;String&gt;; the fully qualified class names of the units in the index
+     */
+    Set<String> getUnitClassNames()
+    {
+        return Collections.unmodifiableSet(this.origins.keySet());
+    }
+
+    /**
+     * Read the index from the resource. A missing or unreadable resource results in an empty index.
+     * @return PrefixedUnitIndex; the index
+     */
+    private static PrefixedUnitIndex readResource()
+    {
+        try (InputStream stream = PrefixedUnitIndex.class.getResourceAsStream(RESOURCE))
+        {
+            if (stream != null)
+            {
+                return read(stream);
+            }
+        }
+        catch (IOException exception)
+        {
+            // without the index, all units with SI prefixes of a quantity are generated on a miss
+        }
+        return new PrefixedUnitIndex(Collections.emptyMap());
+    }
+
+    /**
+     * Read an index that has been written with {@link #write(OutputStream)}.
+     * @param stream InputStream; the stream to read from
+     * @return PrefixedUnitIndex; the index, which is empty when the stream has another version of the format
+     * @throws IOException on read error
+     */
+    static PrefixedUnitIndex read(final InputStream stream) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        Map<String, Map<String, String[]>> origins = new HashMap<>();
+        if (in.readInt() != VERSION)
+        {
+            return new PrefixedUnitIndex(origins);
+        }
+        int unitClassCount = in.readInt();
+        for (int i = 0; i < unitClassCount; i++)
+        {
+            String unitClassName = in.readUTF();
+            Map<String, String[]> unitOrigins = new HashMap<>();
+            int unitCount = in.readInt();
+            for (int j = 0; j < unitCount; j++)
+            {
+                String unitId = in.readUTF();
+                int prefixCount = in.readInt();
+                for (int k = 0; k < prefixCount; k++)
+                {
+                    String[] origin = new String[] {unitId, in.readUTF()};
+                    int keyCount = in.readInt();
+                    for (int m = 0; m < keyCount; m++)
+                    {
+                        unitOrigins.putIfAbsent(in.readUTF(), origin);
+                    }
+                }
+            }
+            origins.put(unitClassName, unitOrigins);
+        }
+        return new PrefixedUnitIndex(origins);
+    }
+
+    /**
+     * Write the index of the units with SI prefixes of all registered quantities. All units with SI prefixes are generated in
+     * the process. The index is grouped by class name of the unit, id of the unit and key of the SI prefix.
+     * @param stream OutputStream; the stream to write to; it is flushed but not closed
+     * @throws IOException on write error
+     * @throws NullPointerException when stream is null
+     */
+    public static void write(final OutputStream stream) throws IOException
+    {
+        Throw.whenNull(stream, "stream cannot be null");
+        Map<String, Map<String, Map<String, Set<String>>>> keys = new TreeMap<>();
+        for (Quantity<?> quantity : Quantities.INSTANCE.getRegistry().values())
+        {
+            Map<String, Map<String, Set<String>>> quantityKeys = quantity.getPrefixedUnitKeys();
+            if (!quantityKeys.isEmpty())
+            {
+                keys.put(quantity.getStandardUnit().getClass().getName(), quantityKeys);
+            }
+        }
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(VERSION);
+        out.writeInt(keys.size());
+        for (Map.Entry<String, Map<String, Map<String, Set<String>>>> unitClass : keys.entrySet())
+        {
+            out.writeUTF(unitClass.getKey());
+            out.writeInt(unitClass.getValue().size());
+            for (Map.Entry<String, Map<String, Set<String>>> unit : unitClass.getValue().entrySet())
+            {
+                out.writeUTF(unit.getKey());
+                out.writeInt(unit.getValue().size());
+                for (Map.Entry<String, Set<String>> prefix : unit.getValue().entrySet())
+                {
+                    out.writeUTF(prefix.getKey());
+                    out.writeInt(prefix.getValue().size());
+                    for (String key : prefix.getValue())
+                    {
+                        out.writeUTF(key);
+                    }
+                }
+            }
+        }
+        out.flush();
+    }
+
+}
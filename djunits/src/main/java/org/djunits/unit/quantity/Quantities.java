@@ -1,10 +1,12 @@
 package org.djunits.unit.quantity;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.djunits.unit.si.SIDimensions;
 
@@ -12,6 +14,10 @@ import org.djunits.unit.si.SIDimensions;
  * UnitTypes is a singleton where the BaseUnit SIDimensions 'fingerprints' are stored and mapped to the BaseUnits. It is
  * possible that more baseUnits have the same fingerprint. E.g., Energy and Torque.
  * <p>
+ * The registries can be used from any number of threads. Lookups do not lock: they read concurrent maps, and the quantity
+ * set of an SI fingerprint is an immutable set that is replaced when a quantity is registered. Registration is synchronized.
+ * </p>
+ * <p>
  * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
  * </p>
@@ -25,11 +31,14 @@ public final class Quantities implements Serializable
     /** The one instance. */
     public static final Quantities INSTANCE = new Quantities();
 
-    /** The SI registry of the units. */
-    private Map<SIDimensions, Set<Quantity<?>>> siRegistry = new LinkedHashMap<>();
+    /** The SI registry of the units; the sets are immutable, and replaced when a quantity is registered. */
+    private final Map<SIDimensions, Set<Quantity<?>>> siRegistry = new ConcurrentHashMap<>();
 
-    /** The name registry of the units. */
-    private Map<String, Quantity<?>> registry = new LinkedHashMap<>();
+    /** The name registry of the units, for lookups without locking. */
+    private final Map<String, Quantity<?>> registry = new ConcurrentHashMap<>();
+
+    /** The name registry of the units in order of registration, for the safe copies; guarded by this. */
+    private final Map<String, Quantity<?>> orderedRegistry = new LinkedHashMap<>();
 
     /**
      * Only called once to initialize a static final field.
@@ -43,27 +52,27 @@ public final class Quantities implements Serializable
      * Register the baseUnit in the UnitType registries.
      * @param quantity Quantity&lt;?&gt;; the quantity to register.
      */
-    public void register(final Quantity<?> quantity)
+    public synchronized void register(final Quantity<?> quantity)
     {
-        this.registry.put(quantity.getStandardUnit().getClass().getSimpleName(), quantity);
+        String unitClassName = quantity.getStandardUnit().getClass().getSimpleName();
+        this.registry.put(unitClassName, quantity);
+        this.orderedRegistry.put(unitClassName, quantity);
         Set<Quantity<?>> siSet = this.siRegistry.get(quantity.getSiDimensions());
-        if (siSet == null)
-        {
-            siSet = new LinkedHashSet<>();
-            this.siRegistry.put(quantity.getSiDimensions(), siSet);
-        }
-        siSet.add(quantity);
+        Set<Quantity<?>> newSiSet = siSet == null ? new LinkedHashSet<>() : new LinkedHashSet<>(siSet);
+        newSiSet.add(quantity);
+        this.siRegistry.put(quantity.getSiDimensions(), Collections.unmodifiableSet(newSiSet));
     }
 
     /**
      * Unregister the baseUnit in the UnitType registries.
      * @param baseUnit Quantity&lt;?&gt;; the quantity to register.
      */
-    public void unregister(final Quantity<?> baseUnit)
+    public synchronized void unregister(final Quantity<?> baseUnit)
     {
         if (baseUnit.getStandardUnit() != null)
         {
             this.registry.remove(baseUnit.getStandardUnit().getClass().getSimpleName());
+            this.orderedRegistry.remove(baseUnit.getStandardUnit().getClass().getSimpleName());
         }
     }
 
@@ -74,12 +83,8 @@ public final class Quantities implements Serializable
      */
     public Set<Quantity<?>> getQuantities(final SIDimensions siDimensions)
     {
-        Set<Quantity<?>> baseUnitsSet = new LinkedHashSet<>();
-        if (this.siRegistry.containsKey(siDimensions))
-        {
-            baseUnitsSet.addAll(this.siRegistry.get(siDimensions));
-        }
-        return baseUnitsSet;
+        Set<Quantity<?>> siSet = this.siRegistry.get(siDimensions);
+        return siSet == null ? new LinkedHashSet<>() : new LinkedHashSet<>(siSet);
     }
 
     /**
@@ -95,15 +100,15 @@ public final class Quantities implements Serializable
     /**
      * @return a defensive copy of the registry
      */
-    public Map<String, Quantity<?>> getRegistry()
+    public synchronized Map<String, Quantity<?>> getRegistry()
     {
-        return new LinkedHashMap<>(this.registry);
+        return new LinkedHashMap<>(this.orderedRegistry);
     }
 
     @Override
     public String toString()
     {
-        return "UnitTypes [siRegistry=" + this.siRegistry + ", registry=" + this.registry + "]";
+        return "UnitTypes [siRegistry=" + this.siRegistry + ", registry=" + getRegistry() + "]";
     }
 
 }
@@ -1,10 +1,19 @@
 package org.djunits.unit.quantity;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.djunits.Throw;
+import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
 import org.djunits.unit.si.SIDimensions;
 import org.djunits.unit.si.SIPrefix;
@@ -16,6 +25,17 @@ import org.djunits.unit.util.UnitRuntimeException;
  * Quantity contains a map of all registered units belonging to this base. It also contains the SI 'fingerprint' of the unit.
  * The fingerprint is registered in the UnitTypes singleton where are unit types are registered.
  * <p>
+ * Units can be looked up from any number of threads without locking. Registering and unregistering units is synchronized on
+ * the quantity.
+ * </p>
+ * <p>
+ * The units with SI prefixes that are generated for a registered unit, such as the millimeter and the kilometer for the meter,
+ * are not created when the unit is registered, but the first time that a unit of the quantity cannot be found by id or
+ * abbreviation, or when a copy of the registry is retrieved. This keeps the initialization of the unit classes cheap. When the
+ * {@link PrefixedUnitIndex} knows the id or abbreviation, only that unit is generated; otherwise only the units with SI
+ * prefixes of the units that the index does not contain, such as units that are registered at runtime, are generated.
+ * </p>
+ * <p>
  * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
  * </p>
@@ -27,6 +47,12 @@ public class Quantity<U extends Unit<U>> implements Serializable
     /** */
     private static final long serialVersionUID = 20190818L;
 
+    /** the number of slots in the cache of resolved abbreviations of a quantity. */
+    static final int MAX_RESOLVED_ABBREVIATIONS = 1024;
+
+    /** the value in the cache of resolved abbreviations for an abbreviation that does not resolve to a unit. */
+    private static final Object NO_UNIT = new Object();
+
     /**
      * The SI dimensions of the unit. Also filled for e.g., imperial values with a conversion factor to an SIDimensions. When a
      * value has no SI dimensions, all 9 dimensions can be set to zero.
@@ -37,13 +63,45 @@ public class Quantity<U extends Unit<U>> implements Serializable
     private final String name;
 
     /** Derived units for this unit base, retrievable by id. The key is the unit id (e.g., "m"). */
-    private final Map<String, U> unitsById = new LinkedHashMap<String, U>();
+    private final Map<String, U> unitsById = new ConcurrentHashMap<String, U>();
 
     /** Derived units for this unit base, retrievable by abbreviation. The key is the unit abbreviation (e.g., "kWh"). */
-    private final Map<String, U> unitsByAbbreviation = new LinkedHashMap<String, U>();
+    private final Map<String, U> unitsByAbbreviation = new ConcurrentHashMap<String, U>();
+
+    /** The units by id in order of registration, for the safe copies; guarded by this. */
+    private final Map<String, U> orderedUnitsById = new LinkedHashMap<String, U>();
+
+    /** The units by abbreviation in order of registration, for the safe copies; guarded by this. */
+    private final Map<String, U> orderedUnitsByAbbreviation = new LinkedHashMap<String, U>();
 
     /** The standard unit belonging to this unit base. The first unit that gets registered is considered to be standard. */
-    private U standardUnit = null;
+    private volatile U standardUnit = null;
+
+    /** The units for which units with SI prefixes are generated, in order of registration; guarded by this. */
+    private final List<PrefixedUnits<U>> prefixedUnits = new ArrayList<>();
+
+    /** Whether there are units for which the units with SI prefixes still have to be generated. */
+    private volatile boolean prefixedUnitsPending = false;
+
+    /**
+     * Whether units have been registered with SI prefixes since the units that the PrefixedUnitIndex does not contain were last
+     * generated, such as units that are registered at runtime.
+     */
+    private volatile boolean unindexedUnitsPending = false;
+
+    /**
+     * The units of abbreviations that are not registered as such, e.g. "kg.m/s^2" or an SI string, or NO_UNIT for abbreviations
+     * without a unit. The cache is replaced by an empty one whenever a unit is registered or unregistered, so a lookup that is
+     * resolved during a registration can only end up in the cache that is discarded.
+     */
+    private transient volatile ResolvedAbbreviations resolvedAbbreviations =
+            new ResolvedAbbreviations(MAX_RESOLVED_ABBREVIATIONS);
+
+    /**
+     * The table of the registered abbreviations for lookups of a slice of a CharSequence; it is rebuilt when the cache of
+     * resolved abbreviations has been replaced since the table was built, i.e., after a unit is registered or unregistered.
+     */
+    private transient volatile AbbreviationTable abbreviationTable = null;
 
     /**
      * Create a unit base with the SI dimensions.
@@ -57,7 +115,7 @@ public class Quantity<U extends Unit<U>> implements Serializable
         Throw.when(name.length() == 0, UnitRuntimeException.class, "name of unit cannot be empty");
         Throw.whenNull(siDimensions, "siDimensions cannot be null");
         this.name = name;
-        this.siDimensions = siDimensions;
+        this.siDimensions = siDimensions.intern();
     }
 
     /**
@@ -75,7 +133,7 @@ public class Quantity<U extends Unit<U>> implements Serializable
         this.name = name;
         try
         {
-            this.siDimensions = SIDimensions.of(siString);
+            this.siDimensions = SIDimensions.of(siString).intern();
         }
         catch (UnitException exception)
         {
@@ -100,12 +158,13 @@ public class Quantity<U extends Unit<U>> implements Serializable
      * specification will be registered in the map. As an example, when the LengthUnit "METER" is registered, all 20 units such
      * as the millimeter and the kilometer are registered as well. When earlier or later the "KILOMETER" is created as a
      * separate unit, the "km" lookup will result in the "KILOMETER" registration rather than in the "METER" registration with a
-     * factor of 1000.
+     * factor of 1000. The units with SI prefixes are generated when they are needed for the first time; an error for a
+     * generated unit that clashes with another generated unit is therefore only reported at that moment.
      * @param unit U; the unit to register in the map.
      * @param siPrefixes SIPrefixes; indicates whether and which SI prefixes should be generated.
      * @param siPrefixPower double; the power factor of the SI prefixes, e.g. 2.0 for square meters and 3.0 for cubic meters.
      */
-    public void registerUnit(final U unit, final SIPrefixes siPrefixes, final double siPrefixPower)
+    public synchronized void registerUnit(final U unit, final SIPrefixes siPrefixes, final double siPrefixPower)
     {
         Throw.whenNull(unit, "unit cannot be null");
         if (this.standardUnit == null)
@@ -113,34 +172,11 @@ public class Quantity<U extends Unit<U>> implements Serializable
             this.standardUnit = unit; // The first unit that gets registered is considered to be standard
             Quantities.INSTANCE.register(this);
         }
-        if (siPrefixes.equals(SIPrefixes.UNIT))
+        if (!siPrefixes.equals(SIPrefixes.NONE))
         {
-            for (SIPrefix siPrefix : SIPrefixes.UNIT_PREFIXES.values())
-            {
-                unit.deriveSI(siPrefix, siPrefixPower, true); // true = automatically generated
-                // the unit will register itself as a generated unit
-            }
-        }
-        else if (siPrefixes.equals(SIPrefixes.UNIT_POS))
-        {
-            for (SIPrefix siPrefix : SIPrefixes.UNIT_POS_PREFIXES.values())
-            {
-                unit.deriveSI(siPrefix, siPrefixPower, true); // true = automatically generated
-            }
-        }
-        else if (siPrefixes.equals(SIPrefixes.KILO))
-        {
-            for (SIPrefix siPrefix : SIPrefixes.KILO_PREFIXES.values())
-            {
-                unit.deriveSIKilo(siPrefix, siPrefixPower, true); // true = automatically generated
-            }
-        }
-        else if (siPrefixes.equals(SIPrefixes.PER_UNIT))
-        {
-            for (SIPrefix siPrefix : SIPrefixes.PER_UNIT_PREFIXES.values())
-            {
-                unit.derivePerSI(siPrefix, siPrefixPower, true); // true = automatically generated
-            }
+            this.prefixedUnits.add(new PrefixedUnits<U>(unit, siPrefixes, siPrefixPower));
+            this.prefixedUnitsPending = true;
+            this.unindexedUnitsPending = true;
         }
 
         // register the (generated) unit
@@ -157,7 +193,7 @@ public class Quantity<U extends Unit<U>> implements Serializable
                 if (!unit.isGenerated())
                 {
                     // if the new unit is explicit, register and overwrite the existing one
-                    this.unitsById.put(unit.getId(), unit);
+                    putById(unit);
                 }
                 // otherwise, the new unit is generated, and the existing one was explicit: ignore the generated one
             }
@@ -165,7 +201,7 @@ public class Quantity<U extends Unit<U>> implements Serializable
         else
         {
             // not registered yet
-            this.unitsById.put(unit.getId(), unit);
+            putById(unit);
         }
 
         // register the abbreviation(s) of the (generated) unit
@@ -184,7 +220,7 @@ public class Quantity<U extends Unit<U>> implements Serializable
                     if (!unit.isGenerated())
                     {
                         // overwrite the automatically generated unit with the explicit one
-                        this.unitsByAbbreviation.put(abbreviation, unit);
+                        putByAbbreviation(abbreviation, unit);
                     }
                     // otherwise, the new unit is generated, and the existing one was explicit: ignore the generated one
                 }
@@ -192,21 +228,162 @@ public class Quantity<U extends Unit<U>> implements Serializable
             else
             {
                 // not registered yet
-                this.unitsByAbbreviation.put(abbreviation, unit);
+                putByAbbreviation(abbreviation, unit);
             }
         }
     }
 
+    /**
+     * Generate the units with SI prefixes of all registered units for which this has not been done yet. The generated units
+     * register themselves in this quantity.
+     */
+    private synchronized void generatePrefixedUnits()
+    {
+        if (this.prefixedUnitsPending)
+        {
+            for (PrefixedUnits<U> units : this.prefixedUnits)
+            {
+                units.generateAll();
+            }
+            this.prefixedUnitsPending = false;
+            this.unindexedUnitsPending = false;
+        }
+    }
+
+    /**
+     * Generate the units with SI prefixes of the registered units that the {@link PrefixedUnitIndex} does not contain, such as
+     * units that are registered at runtime. Units that are in the index are generated one by one, when they are looked up.
+     */
+    private synchronized void generateUnindexedPrefixedUnits()
+    {
+        if (this.unindexedUnitsPending)
+        {
+            String unitClassName = this.standardUnit.getClass().getName();
+            boolean allGenerated = true;
+            for (PrefixedUnits<U> units : this.prefixedUnits)
+            {
+                if (PrefixedUnitIndex.contains(unitClassName, units.unit.getId()))
+                {
+                    allGenerated = false;
+                }
+                else
+                {
+                    units.generateAll();
+                }
+            }
+            this.prefixedUnitsPending = !allGenerated;
+            this.unindexedUnitsPending = false;
+        }
+    }
+
+    /**
+     * Generate the unit with an SI prefix that has the given id or abbreviation according to the {@link PrefixedUnitIndex}.
+     * @param key String; the id or abbreviation of the unit
+     * @return boolean; whether a unit has been generated for the key
+     */
+    private synchronized boolean generatePrefixedUnit(final String key)
+    {
+        if (!this.prefixedUnitsPending)
+        {
+            return false;
+        }
+        String[] origin = PrefixedUnitIndex.lookup(this.standardUnit.getClass().getName(), key);
+        if (origin != null)
+        {
+            for (PrefixedUnits<U> units : this.prefixedUnits)
+            {
+                if (units.unit.getId().equals(origin[0]) && units.generate(origin[1]) != null)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Look up a unit in one of the maps. If the unit cannot be found, generate the unit with an SI prefix that the
+     * PrefixedUnitIndex maps the key to, and when that does not help, generate the units with SI prefixes of the units that are
+     * not in the index. A key that is unknown, or that is spelled differently, therefore does not generate all units.
+     * @param units Map&lt;String, U&gt;; the map of units by id or by abbreviation
+     * @param key String; the id or abbreviation to look up
+     * @return U; the unit, or null when it was not found
+     */
+    private U lookup(final Map<String, U> units, final String key)
+    {
+        U unit = units.get(key);
+        if (unit == null && this.prefixedUnitsPending)
+        {
+            if (generatePrefixedUnit(key))
+            {
+                unit = units.get(key);
+            }
+            if (unit == null && this.unindexedUnitsPending)
+            {
+                generateUnindexedPrefixedUnits();
+                unit = units.get(key);
+            }
+        }
+        return unit;
+    }
+
+    /**
+     * Generate all units with SI prefixes, and return the ids and abbreviations of the generated units per unit and SI prefix.
+     * This is the information that is stored in the {@link PrefixedUnitIndex}.
+     * @return Map&lt;String, Map&lt;String, Set&lt;String&gt;&gt;&gt;; the ids and abbreviations of the generated units, by id
+     *         of the unit they were generated from and by key of the SI prefix
+     */
+    synchronized Map<String, Map<String, Set<String>>> getPrefixedUnitKeys()
+    {
+        generatePrefixedUnits();
+        Map<String, Map<String, Set<String>>> result = new LinkedHashMap<>();
+        for (PrefixedUnits<U> units : this.prefixedUnits)
+        {
+            Map<String, Set<String>> prefixKeys = result.computeIfAbsent(units.unit.getId(), id -> new LinkedHashMap<>());
+            for (Map.Entry<String, U> entry : units.generatedUnits.entrySet())
+            {
+                Set<String> keys = prefixKeys.computeIfAbsent(entry.getKey(), prefix -> new LinkedHashSet<>());
+                keys.add(entry.getValue().getId());
+                keys.addAll(entry.getValue().getAbbreviations());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Register a unit by id in the lookup map and in the ordered map; only called with the lock of this quantity.
+     * @param unit U; the unit to register
+     */
+    private void putById(final U unit)
+    {
+        this.unitsById.put(unit.getId(), unit);
+        this.orderedUnitsById.put(unit.getId(), unit);
+        this.resolvedAbbreviations = new ResolvedAbbreviations(MAX_RESOLVED_ABBREVIATIONS);
+    }
+
+    /**
+     * Register a unit by abbreviation in the lookup map and in the ordered map; only called with the lock of this quantity.
+     * @param abbreviation String; the abbreviation
+     * @param unit U; the unit to register
+     */
+    private void putByAbbreviation(final String abbreviation, final U unit)
+    {
+        this.unitsByAbbreviation.put(abbreviation, unit);
+        this.orderedUnitsByAbbreviation.put(abbreviation, unit);
+        this.resolvedAbbreviations = new ResolvedAbbreviations(MAX_RESOLVED_ABBREVIATIONS);
+    }
+
     /**
      * Unregister a unit from the registry, e.g. after a Unit test, or to insert a replacement for an already existing unit.
      * @param unit U; the unit to unregister.
      */
-    public void unregister(final U unit)
+    public synchronized void unregister(final U unit)
     {
         Throw.whenNull(unit, "null unit cannot be removed from the unit registry");
         if (this.unitsById.containsValue(unit))
         {
             this.unitsById.remove(unit.getId(), unit);
+            this.orderedUnitsById.remove(unit.getId(), unit);
         }
         for (String abbreviation : unit.getAbbreviations())
         {
@@ -215,9 +392,11 @@ public class Quantity<U extends Unit<U>> implements Serializable
                 if (unit.equals(this.unitsByAbbreviation.get(abbreviation)))
                 {
                     this.unitsByAbbreviation.remove(abbreviation, unit);
+                    this.orderedUnitsByAbbreviation.remove(abbreviation, unit);
                 }
             }
         }
+        this.resolvedAbbreviations = new ResolvedAbbreviations(MAX_RESOLVED_ABBREVIATIONS);
     }
 
     /**
@@ -244,22 +423,103 @@ public class Quantity<U extends Unit<U>> implements Serializable
      */
     public U getUnitById(final String id)
     {
-        return this.unitsById.get(id);
+        return lookup(this.unitsById, id);
     }
 
     /**
      * Retrieve a unit by one of its abbreviations. First try whether the abbreviation itself is available. If not, look up the
      * unit without spaces, "." and "^" to map e.g., "kg.m/s^2" to "kgm/s2". If that fails, see if the unit is an SIDimensions
-     * string. If not, return null.
+     * string. If not, return null. The outcome for an abbreviation that is not registered as such, including null, is cached
+     * in a bounded cache in which new spellings replace older ones, so repeated lookups of the same spelling cost one or two
+     * hash lookups.
      * @param abbreviation String; the abbreviation to look up
      * @return the corresponding unit or null when it was not found
      */
+    @SuppressWarnings("unchecked")
     public U getUnitByAbbreviation(final String abbreviation)
     {
         U unit = this.unitsByAbbreviation.get(abbreviation);
+        if (unit != null)
+        {
+            return unit;
+        }
+        ResolvedAbbreviations resolved = getResolvedAbbreviations();
+        Object cached = resolved.get(abbreviation);
+        if (cached != null)
+        {
+            return cached == NO_UNIT ? null : (U) cached;
+        }
+        unit = resolveAbbreviation(abbreviation);
+        resolved.put(abbreviation, unit == null ? NO_UNIT : unit);
+        return unit;
+    }
+
+    /**
+     * Retrieve a unit by an abbreviation that is a slice of a CharSequence, without creating a String for the abbreviation when
+     * it is registered or has been resolved before. Otherwise, the lookup is the same as for {@link #getUnitByAbbreviation}.
+     * @param text CharSequence; the text that contains the abbreviation
+     * @param start int; the index of the first character of the abbreviation
+     * @param end int; the index after the last character of the abbreviation
+     * @return the corresponding unit or null when it was not found
+     * @throws NullPointerException when text is null
+     * @throws IndexOutOfBoundsException when start and end do not denote a slice of text
+     */
+    @SuppressWarnings("unchecked")
+    public U getUnitByAbbreviation(final CharSequence text, final int start, final int end)
+    {
+        Throw.whenNull(text, "text cannot be null");
+        Throw.when(start < 0 || start > end || end > text.length(), IndexOutOfBoundsException.class,
+                "slice [%d, %d) out of bounds for length %d", start, end, text.length());
+        ResolvedAbbreviations resolved = getResolvedAbbreviations();
+        AbbreviationTable table = this.abbreviationTable;
+        if (table == null || !table.isUpToDate(resolved))
+        {
+            table = new AbbreviationTable(this.unitsByAbbreviation, resolved);
+            this.abbreviationTable = table;
+        }
+        Object value = table.get(text, start, end);
+        if (value == null)
+        {
+            value = resolved.get(text, start, end);
+        }
+        if (value != null)
+        {
+            return value == NO_UNIT ? null : (U) value;
+        }
+        return getUnitByAbbreviation(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Return the cache of resolved abbreviations, and create it for a deserialized quantity.
+     * @return ResolvedAbbreviations; the cache of resolved abbreviations
+     */
+    private ResolvedAbbreviations getResolvedAbbreviations()
+    {
+        ResolvedAbbreviations resolved = this.resolvedAbbreviations;
+        if (resolved == null)
+        {
+            // deserialized quantity
+            resolved = new ResolvedAbbreviations(MAX_RESOLVED_ABBREVIATIONS);
+            this.resolvedAbbreviations = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolve an abbreviation that is not registered as such.
+     * @param abbreviation String; the abbreviation to resolve
+     * @return U; the corresponding unit or null when it was not found
+     */
+    private U resolveAbbreviation(final String abbreviation)
+    {
+        U unit = lookup(this.unitsByAbbreviation, abbreviation);
         if (unit == null)
         {
-            unit = this.unitsByAbbreviation.get(abbreviation.replaceAll("[ .^]", ""));
+            String withoutSeparators = removeSeparators(abbreviation);
+            if (withoutSeparators.length() != abbreviation.length())
+            {
+                unit = lookup(this.unitsByAbbreviation, withoutSeparators);
+            }
         }
         if (unit == null)
         {
@@ -279,6 +539,32 @@ public class Quantity<U extends Unit<U>> implements Serializable
         return unit;
     }
 
+    /**
+     * Remove the spaces, "." and "^" from an abbreviation, e.g., to map "kg.m/s^2" to "kgm/s2".
+     * @param abbreviation String; the abbreviation
+     * @return String; the abbreviation without spaces, "." and "^", or the abbreviation itself when it contains none of these
+     */
+    private static String removeSeparators(final String abbreviation)
+    {
+        StringBuilder result = null;
+        for (int i = 0; i < abbreviation.length(); i++)
+        {
+            char c = abbreviation.charAt(i);
+            if (c == ' ' || c == '.' || c == '^')
+            {
+                if (result == null)
+                {
+                    result = new StringBuilder(abbreviation.length()).append(abbreviation, 0, i);
+                }
+            }
+            else if (result != null)
+            {
+                result.append(c);
+            }
+        }
+        return result == null ? abbreviation : result.toString();
+    }
+
     /**
      * Retrieve a unit by one of its abbreviations. First try whether the abbreviation itself is available. If not, try without
      * "." that might separate the units (e.g., "N.m"). If that fails, look up the unit without "." and "^" to map e.g.,
@@ -295,18 +581,47 @@ public class Quantity<U extends Unit<U>> implements Serializable
      * Retrieve a safe copy of the registryById.
      * @return Map&lt;String, U&gt;; a safe copy of the registryById
      */
-    public Map<String, U> getUnitsById()
+    public synchronized Map<String, U> getUnitsById()
     {
-        return new LinkedHashMap<>(this.unitsById);
+        generatePrefixedUnits();
+        return new LinkedHashMap<>(this.orderedUnitsById);
     }
 
     /**
      * Return a safe copy of the registryByAbbreviation.
      * @return Map&lt;String, U&gt;; a safe copy of the registryByAbbreviation
      */
-    public Map<String, U> getUnitsByAbbreviation()
+    public synchronized Map<String, U> getUnitsByAbbreviation()
     {
-        return new LinkedHashMap<>(this.unitsByAbbreviation);
+        generatePrefixedUnits();
+        return new LinkedHashMap<>(this.orderedUnitsByAbbreviation);
+    }
+
+    /**
+     * Return the units that this quantity retains, without generating the units with SI prefixes that have not been generated
+     * yet. Units that are registered under several keys, and generated units that are overridden by an explicit unit, are
+     * included as well; the list can contain the same unit more than once.
+     * @return List&lt;U&gt;; the units that this quantity retains
+     */
+    synchronized List<U> getRetainedUnits()
+    {
+        List<U> result = new ArrayList<>(this.orderedUnitsById.values());
+        result.addAll(this.orderedUnitsByAbbreviation.values());
+        for (PrefixedUnits<U> units : this.prefixedUnits)
+        {
+            result.addAll(units.generatedUnits.values());
+        }
+        return result;
+    }
+
+    /**
+     * Return the number of registrations by id and by abbreviation, without generating the units with SI prefixes that have
+     * not been generated yet.
+     * @return int; the number of registrations by id and by abbreviation
+     */
+    synchronized int getRegistrationCount()
+    {
+        return this.orderedUnitsById.size() + this.orderedUnitsByAbbreviation.size();
     }
 
     /**
@@ -318,6 +633,28 @@ public class Quantity<U extends Unit<U>> implements Serializable
         return this.standardUnit;
     }
 
+    /**
+     * Return whether this quantity is the registered quantity for the class of its standard unit, or for its SI dimensions in
+     * case of a quantity of SIUnits. A registered quantity is serialized as a reference that resolves to the registered
+     * quantity; other quantities are serialized with all their units.
+     * @return boolean; whether this quantity is the registered quantity for its standard unit
+     */
+    public boolean isRegistered()
+    {
+        U standard = this.standardUnit;
+        if (standard == null)
+        {
+            return false;
+        }
+        if (standard instanceof SIUnit)
+        {
+            // only look up, so asking whether the quantity is registered does not create and register a unit
+            SIUnit unit = Unit.lookupUnitWithSIDimensions(this.siDimensions);
+            return unit != null && unit.getQuantity() == this;
+        }
+        return Quantities.INSTANCE.getQuantity(standard.getClass().getSimpleName()) == this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int hashCode()
@@ -388,4 +725,173 @@ public class Quantity<U extends Unit<U>> implements Serializable
                 + "]";
     }
 
+    /**
+     * Serialize a registered quantity as a reference to the class of its standard unit, which resolves to the registered
+     * quantity on deserialization. Other quantities are serialized with all their fields.
+     * @return Object; the serialization proxy of a registered quantity, or this quantity
+     */
+    private Object writeReplace()
+    {
+        return isRegistered() ? new SerializationProxy(this) : this;
+    }
+
+    /**
+     * Serialized form of a registered quantity: the class of the standard unit, which is the key of the quantity in the
+     * Quantities registry, and the SI dimensions for a quantity of SIUnits, since all of these share the class SIUnit.
+     */
+    private static final class SerializationProxy implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 20221018L;
+
+        /** the class of the standard unit of the quantity. */
+        private final Class<?> unitClass;
+
+        /** the SI dimensions of a quantity of SIUnits, or null for other quantities. */
+        private final SIDimensions siDimensions;
+
+        /**
+         * Create the serialized form of a registered quantity.
+         * @param quantity Quantity&lt;?&gt;; the registered quantity
+         */
+        SerializationProxy(final Quantity<?> quantity)
+        {
+            this.unitClass = quantity.getStandardUnit().getClass();
+            this.siDimensions = quantity.getStandardUnit() instanceof SIUnit ? quantity.getSiDimensions() : null;
+        }
+
+        /**
+         * Resolve the serialized form to the registered quantity. The class of the unit is initialized first, since its
+         * quantity is registered when its units are created.
+         * @return Object; the registered quantity
+         * @throws ObjectStreamException when no quantity is registered for the unit class
+         */
+        private Object readResolve() throws ObjectStreamException
+        {
+            if (this.siDimensions != null)
+            {
+                return Unit.lookupOrCreateUnitWithSIDimensions(this.siDimensions).getQuantity();
+            }
+            Quantity<?> quantity = Quantities.INSTANCE.getQuantity(this.unitClass.getSimpleName());
+            if (quantity == null)
+            {
+                try
+                {
+                    Class.forName(this.unitClass.getName(), true, this.unitClass.getClassLoader());
+                }
+                catch (ClassNotFoundException exception)
+                {
+                    throw new InvalidObjectException("unit class " + this.unitClass.getName() + " cannot be initialized");
+                }
+                quantity = Quantities.INSTANCE.getQuantity(this.unitClass.getSimpleName());
+            }
+            if (quantity == null)
+            {
+                throw new InvalidObjectException("no quantity registered for unit class " + this.unitClass.getName());
+            }
+            return quantity;
+        }
+    }
+
+    /**
+     * A registered unit for which units with SI prefixes are generated, and the units that have been generated so far.
+     * @param <U> the unit type
+     */
+    private static final class PrefixedUnits<U extends Unit<U>> implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 20221018L;
+
+        /** the unit to generate the units with SI prefixes for. */
+        private final U unit;
+
+        /** which SI prefixes should be generated. */
+        private final SIPrefixes siPrefixes;
+
+        /** the power factor of the SI prefixes. */
+        private final double siPrefixPower;
+
+        /** the units that have been generated, by key of the SI prefix. */
+        private final Map<String, U> generatedUnits = new LinkedHashMap<>();
+
+        /**
+         * Store a unit for which the units with SI prefixes have to be generated later.
+         * @param unit U; the unit to generate the units with SI prefixes for
+         * @param siPrefixes SIPrefixes; which SI prefixes should be generated
+         * @param siPrefixPower double; the power factor of the SI prefixes, e.g. 2.0 for square meters
+         */
+        PrefixedUnits(final U unit, final SIPrefixes siPrefixes, final double siPrefixPower)
+        {
+            this.unit = unit;
+            this.siPrefixes = siPrefixes;
+            this.siPrefixPower = siPrefixPower;
+        }
+
+        /**
+         * Return the SI prefixes that should be generated, by key.
+         * @return Map&lt;String, SIPrefix&gt;; the SI prefixes that should be generated
+         */
+        private Map<String, SIPrefix> getPrefixes()
+        {
+            switch (this.siPrefixes)
+            {
+                case UNIT:
+                    return SIPrefixes.UNIT_PREFIXES;
+                case UNIT_POS:
+                    return SIPrefixes.UNIT_POS_PREFIXES;
+                case KILO:
+                    return SIPrefixes.KILO_PREFIXES;
+                case PER_UNIT:
+                    return SIPrefixes.PER_UNIT_PREFIXES;
+                default:
+                    return Collections.emptyMap();
+            }
+        }
+
+        /**
+         * Generate the unit with an SI prefix, unless this has been done before; the unit registers itself as a generated unit
+         * in the quantity.
+         * @param prefixKey String; the key of the SI prefix
+         * @return U; the generated unit, or null when the SI prefix is not generated for this unit
+         */
+        U generate(final String prefixKey)
+        {
+            U generated = this.generatedUnits.get(prefixKey);
+            if (generated == null)
+            {
+                SIPrefix siPrefix = getPrefixes().get(prefixKey);
+                if (siPrefix == null)
+                {
+                    return null;
+                }
+                // true = automatically generated
+                if (this.siPrefixes.equals(SIPrefixes.KILO))
+                {
+                    generated = this.unit.deriveSIKilo(siPrefix, this.siPrefixPower, true);
+                }
+                else if (this.siPrefixes.equals(SIPrefixes.PER_UNIT))
+                {
+                    generated = this.unit.derivePerSI(siPrefix, this.siPrefixPower, true);
+                }
+                else
+                {
+                    generated = this.unit.deriveSI(siPrefix, this.siPrefixPower, true);
+                }
+                this.generatedUnits.put(prefixKey, generated);
+            }
+            return generated;
+        }
+
+        /**
+         * Generate the units with all SI prefixes that have not been generated yet.
+         */
+        void generateAll()
+        {
+            for (String prefixKey : getPrefixes().keySet())
+            {
+                generate(prefixKey);
+            }
+        }
+    }
+
 }
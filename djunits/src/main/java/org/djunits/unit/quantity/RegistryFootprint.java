@@ -0,0 +1,228 @@
+package org.djunits.unit.quantity;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.djunits.unit.Unit;
+import org.djunits.unit.scale.OffsetLinearScale;
+import org.djunits.unit.scale.Scale;
+
+/**
+ * RegistryFootprint is a diagnostic that estimates the heap memory that the unit registry retains: the units with their
+ * strings, abbreviation arrays and scales, and the entries of the lookup maps of the quantities. Objects that are shared
+ * between units, such as interned strings and shared scales, are counted once. The estimate assumes a 64-bit JVM with
+ * compressed references and compact strings, and does not generate the units with SI prefixes that have not been looked up.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public final class RegistryFootprint
+{
+    /** the estimated size of a unit object: header, eight references and two booleans. */
+    private static final int UNIT_BYTES = 48;
+
+    /** the estimated size of a String object without its byte array. */
+    private static final int STRING_BYTES = 24;
+
+    /** the estimated size of the header of an array. */
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    /** the estimated size of a LinearScale or another scale with one double. */
+    private static final int SCALE_BYTES = 24;
+
+    /** the estimated size of an OffsetLinearScale. */
+    private static final int OFFSET_SCALE_BYTES = 32;
+
+    /** the estimated size of a registration: a node and slot in the lookup map and an entry and slot in the ordered map. */
+    private static final int REGISTRATION_BYTES = 84;
+
+    /** the number of quantities. */
+    private final int quantityCount;
+
+    /** the number of distinct units. */
+    private final int unitCount;
+
+    /** the number of distinct strings. */
+    private final int stringCount;
+
+    /** the number of distinct scales. */
+    private final int scaleCount;
+
+    /** the number of registrations by id and by abbreviation. */
+    private final int registrationCount;
+
+    /** the estimated number of bytes. */
+    private final long bytes;
+
+    /**
+     * Store the results of a measurement.
+     * @param quantityCount int; the number of quantities
+     * @param unitCount int; the number of distinct units
+     * @param stringCount int; the number of distinct strings
+     * @param scaleCount int; the number of distinct scales
+     * @param registrationCount int; the number of registrations by id and by abbreviation
+     * @param bytes long; the estimated number of bytes
+     */
+    private RegistryFootprint(final int quantityCount, final int unitCount, final int stringCount, final int scaleCount,
+            final int registrationCount, final long bytes)
+    {
+        this.quantityCount = quantityCount;
+        this.unitCount = unitCount;
+        this.stringCount = stringCount;
+        this.scaleCount = scaleCount;
+        this.registrationCount = registrationCount;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Estimate the memory that the units of all registered quantities retain.
+     * @return RegistryFootprint; the estimate
+     */
+    public static RegistryFootprint measure()
+    {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int quantityCount = 0;
+        int unitCount = 0;
+        int stringCount = 0;
+        int scaleCount = 0;
+        int registrationCount = 0;
+        long bytes = 0;
+        for (Quantity<?> quantity : Quantities.INSTANCE.getRegistry().values())
+        {
+            quantityCount++;
+            int registrations = quantity.getRegistrationCount();
+            registrationCount += registrations;
+            bytes += (long) registrations * REGISTRATION_BYTES;
+            for (Unit<?> unit : quantity.getRetainedUnits())
+            {
+                if (!seen.add(unit))
+                {
+                    continue;
+                }
+                unitCount++;
+                Set<String> abbreviations = unit.getAbbreviations();
+                bytes += UNIT_BYTES + align(ARRAY_HEADER_BYTES + 4 * abbreviations.size());
+                for (String string : new String[] {unit.getId(), unit.getName(), unit.getDefaultDisplayAbbreviation(),
+                        unit.getDefaultTextualAbbreviation()})
+                {
+                    if (seen.add(string))
+                    {
+                        stringCount++;
+                        bytes += stringBytes(string);
+                    }
+                }
+                for (String abbreviation : abbreviations)
+                {
+                    if (seen.add(abbreviation))
+                    {
+                        stringCount++;
+                        bytes += stringBytes(abbreviation);
+                    }
+                }
+                Scale scale = unit.getScale();
+                if (seen.add(scale))
+                {
+                    scaleCount++;
+                    bytes += scale instanceof OffsetLinearScale ? OFFSET_SCALE_BYTES : SCALE_BYTES;
+                }
+            }
+        }
+        return new RegistryFootprint(quantityCount, unitCount, stringCount, scaleCount, registrationCount, bytes);
+    }
+
+    /**
+     * Estimate the size of a string, including its byte array.
+     * @param string String; the string
+     * @return long; the estimated size of the string in bytes
+     */
+    private static long stringBytes(final String string)
+    {
+        int length = string.length();
+        for (int i = 0; i < string.length(); i++)
+        {
+            if (string.charAt(i) > 0xFF)
+            {
+                length = 2 * string.length(); // the string cannot be stored with one byte per character
+                break;
+            }
+        }
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + length);
+    }
+
+    /**
+     * Round a size up to a multiple of 8 bytes, the alignment of objects.
+     * @param size long; the size in bytes
+     * @return long; the aligned size in bytes
+     */
+    private static long align(final long size)
+    {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Return the number of quantities.
+     * @return int; the number of quantities
+     */
+    public int getQuantityCount()
+    {
+        return this.quantityCount;
+    }
+
+    /**
+     * Return the number of distinct units.
+     * @return int; the number of distinct units
+     */
+    public int getUnitCount()
+    {
+        return this.unitCount;
+    }
+
+    /**
+     * Return the number of distinct strings.
+     * @return int; the number of distinct strings
+     */
+    public int getStringCount()
+    {
+        return this.stringCount;
+    }
+
+    /**
+     * Return the number of distinct scales.
+     * @return int; the number of distinct scales
+     */
+    public int getScaleCount()
+    {
+        return this.scaleCount;
+    }
+
+    /**
+     * Return the number of registrations by id and by abbreviation.
+     * @return int; the number of registrations by id and by abbreviation
+     */
+    public int getRegistrationCount()
+    {
+        return this.registrationCount;
+    }
+
+    /**
+     * Return the estimated number of bytes that the registry retains.
+     * @return long; the estimated number of bytes that the registry retains
+     */
+    public long getBytes()
+    {
+        return this.bytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "RegistryFootprint [quantities=" + this.quantityCount + ", units=" + this.unitCount + ", strings="
+                + this.stringCount + ", scales=" + this.scaleCount + ", registrations=" + this.registrationCount + ", bytes="
+                + this.bytes + "]";
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.djunits.unit.quantity;
+
+/**
+ * ResolvedAbbreviations is a bounded cache of the abbreviations of a quantity that are not registered as such, e.g. "kg.m/s^2"
+ * or an SI string, and their units. Each abbreviation has one slot, determined by its hash code; a new abbreviation replaces
+ * the abbreviation in its slot, so the cache keeps caching new spellings when it is full. Entries are immutable, so the cache
+ * can be read without locking; a lookup that does not see an entry that is stored concurrently only resolves the abbreviation
+ * again. A slice of a CharSequence can be looked up without creating a String for it.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+final class ResolvedAbbreviations
+{
+    /** the entries; null for an empty slot. */
+    private final Entry[] entries;
+
+    /** the number of slots minus one; the number of slots is a power of two. */
+    private final int mask;
+
+    /**
+     * Create an empty cache.
+     * @param capacity int; the number of slots, which is rounded up to a power of two
+     */
+    ResolvedAbbreviations(final int capacity)
+    {
+        int slots = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Entry[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Look up an abbreviation.
+     * @param abbreviation String; the abbreviation
+     * @return Object; the unit, the marker for an abbreviation without a unit, or null when the abbreviation is not cached
+     */
+    Object get(final String abbreviation)
+    {
+        int hash = abbreviation.hashCode();
+        Entry entry = this.entries[AbbreviationTable.spread(hash) & this.mask];
+        return entry != null && entry.hash == hash && entry.key.equals(abbreviation) ? entry.value : null;
+    }
+
+    /**
+     * Look up a slice of a CharSequence.
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the abbreviation
+     * @param end int; the index after the last character of the abbreviation
+     * @return Object; the unit, the marker for an abbreviation without a unit, or null when the abbreviation is not cached
+     */
+    Object get(final CharSequence text, final int start, final int end)
+    {
+        int hash = AbbreviationTable.hash(text, start, end);
+        Entry entry = this.entries[AbbreviationTable.spread(hash) & this.mask];
+        return entry != null && entry.hash == hash && AbbreviationTable.matches(entry.key, text, start, end - start)
+                ? entry.value : null;
+    }
+
+    /**
+     * Cache an abbreviation, replacing the abbreviation that occupies its slot.
+     * @param abbreviation String; the abbreviation
+     * @param value Object; the unit, or the marker for an abbreviation without a unit
+     */
+    void put(final String abbreviation, final Object value)
+    {
+        int hash = abbreviation.hashCode();
+        this.entries[AbbreviationTable.spread(hash) & this.mask] = new Entry(abbreviation, hash, value);
+    }
+
+    /** An immutable cached abbreviation. */
+    private static final class Entry
+    {
+        /** the abbreviation. */
+        private final String key;
+
+        /** the hash code of the abbreviation. */
+        private final int hash;
+
+        /** the unit, or the marker for an abbreviation without a unit. */
+        private final Object value;
+
+        /**
+         * Create an entry.
+         * @param key String; the abbreviation
+         * @param hash int; the hash code of the abbreviation
+         * @param value Object; the unit, or the marker for an abbreviation without a unit
+         */
+        Entry(final String key, final int hash, final Object value)
+        {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+}
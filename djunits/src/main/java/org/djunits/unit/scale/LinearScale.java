@@ -1,5 +1,8 @@
 package org.djunits.unit.scale;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.djunits.Throw;
 import org.djunits.unit.util.UnitRuntimeException;
 
@@ -21,6 +24,12 @@ public class LinearScale implements Scale
     /** */
     private static final long serialVersionUID = 20151011L;
 
+    /** the maximum number of conversion factors in the cache of shared scales. */
+    static final int MAX_SHARED_SCALES = 4096;
+
+    /** the shared scales, by conversion factor. */
+    private static final Map<Double, LinearScale> SHARED_SCALES = new ConcurrentHashMap<>();
+
     /** multiply by this number to convert to the standard (e.g., SI) unit. */
     private final double conversionFactorToStandardUnit;
 
@@ -36,6 +45,28 @@ public class LinearScale implements Scale
         this.conversionFactorToStandardUnit = conversionFactorToStandardUnit;
     }
 
+    /**
+     * Return a shared Scale for linear transformations with the given conversion factor. Scales are immutable, so the units
+     * with the same conversion factor, such as the units with SI prefixes of different quantities, can use the same instance.
+     * @param conversionFactorToStandardUnit double; the conversion factor by which this number has to be multiplied to convert
+     *            it to the standard (e.g., SI) unit.
+     * @return LinearScale; a linear scale with the given conversion factor
+     */
+    public static LinearScale valueOf(final double conversionFactorToStandardUnit)
+    {
+        LinearScale scale = SHARED_SCALES.get(conversionFactorToStandardUnit);
+        if (scale == null)
+        {
+            scale = new LinearScale(conversionFactorToStandardUnit);
+            if (SHARED_SCALES.size() < MAX_SHARED_SCALES)
+            {
+                LinearScale shared = SHARED_SCALES.putIfAbsent(conversionFactorToStandardUnit, scale);
+                scale = shared == null ? scale : shared;
+            }
+        }
+        return scale;
+    }
+
     /** {@inheritDoc} */
     @SuppressWarnings("checkstyle:designforextension")
     @Override
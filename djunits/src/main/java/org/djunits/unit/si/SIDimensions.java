@@ -2,6 +2,8 @@ package org.djunits.unit.si;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.djunits.Throw;
 import org.djunits.unit.util.UnitException;
@@ -10,6 +12,12 @@ import org.djunits.unit.util.UnitException;
  * SIDimensions stores the dimensionality of a unit using the SI standards. Angle (rad) and solid angle (sr) have been added to
  * be able to specify often used units regarding rotation.
  * <p>
+ * The nine integer exponents are packed in a single long of 7 bits per exponent, which holds exponents from -64 to 63. The
+ * dimensions are multiplied and divided by adding and subtracting all exponents in one long operation, and compared and hashed
+ * as a long, without allocating arrays. Fractional dimensions, and exponents outside the packed range, fall back to arrays of
+ * bytes for the numerator and the denominator.
+ * </p>
+ * <p>
  * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
  * </p>
@@ -18,7 +26,7 @@ import org.djunits.unit.util.UnitException;
 public class SIDimensions implements Serializable
 {
     /** */
-    private static final long serialVersionUID = 20190818L;
+    private static final long serialVersionUID = 20221018L;
 
     /** The (currently) 9 dimensions we take into account: rad, sr, kg, m, s, A, K, mol, cd. */
     public static final int NUMBER_DIMENSIONS = 9;
@@ -32,14 +40,55 @@ public class SIDimensions implements Serializable
     /** For parsing, the mol has to be parsed before the m, otherwise the "m" from "mol" is eaten; same for "s" and "sr". */
     private static final int[] PARSE_ORDER = new int[] {0, 1, 2, 7, 3, 4, 5, 6, 8};
 
+    /** The number of bits per exponent in the packed representation. */
+    private static final int BITS = 7;
+
+    /** The smallest exponent in the packed representation. */
+    private static final int MIN_PACKED = -(1 << (BITS - 1));
+
+    /** The largest exponent in the packed representation. */
+    private static final int MAX_PACKED = (1 << (BITS - 1)) - 1;
+
+    /** The mask with the sign bit of each packed exponent. */
+    private static final long SIGN_BITS;
+
+    /** The mask with all bits of the packed exponents. */
+    private static final long ALL_BITS = (1L << (BITS * NUMBER_DIMENSIONS)) - 1L;
+
+    /** The result of the packed arithmetic for dimensions that are not packed, or out of the packed range. */
+    public static final long NOT_PACKED = -1L;
+
+    /** the maximum number of canonical instances of the dimensions. */
+    static final int MAX_CANONICAL_DIMENSIONS = 4096;
+
+    /** The canonical instances of the dimensions, as returned by intern(). */
+    private static final Map<SIDimensions, SIDimensions> CANONICAL = new ConcurrentHashMap<>();
+
+    static
+    {
+        long signBits = 0L;
+        for (int i = 0; i < NUMBER_DIMENSIONS; i++)
+        {
+            signBits |= 1L << (BITS * i + BITS - 1);
+        }
+        SIGN_BITS = signBits;
+    }
+
     /**
-     * The (currently) 9 dimensions of the SI unit we distinguish: 0: angle (rad), 1: solid angle (sr), 2: mass (kg), 3: length
-     * (m), 4: time (s), 5: current (A), 6: temperature (K), 7: amount of substance (mol), 8: luminous intensity (cd). As an
-     * example, speed is indicated as length = 1; time = -1.
+     * The (currently) 9 dimensions of the SI unit we distinguish, 7 bits each in two's complement with dimension i in bits 7i
+     * to 7i+6: 0: angle (rad), 1: solid angle (sr), 2: mass (kg), 3: length (m), 4: time (s), 5: current (A), 6: temperature
+     * (K), 7: amount of substance (mol), 8: luminous intensity (cd). As an example, speed is indicated as length = 1; time =
+     * -1. Only valid when dimensions is null.
+     */
+    private final long packed;
+
+    /**
+     * The numerator of the dimensions when they cannot be packed, because they are fractional or out of the packed range;
+     * null when the dimensions are packed.
      */
     private final byte[] dimensions;
 
-    /** In case the dimensions are fractional, the denominator will contain values different from 1. */
+    /** In case the dimensions are fractional, the denominator will contain values different from 1; null when packed. */
     private final byte[] denominator;
 
     /** Stores whether the dimensions are fractional or not. */
@@ -56,8 +105,22 @@ public class SIDimensions implements Serializable
     {
         Throw.whenNull(dimensions, "dimensions cannot be null");
         Throw.when(dimensions.length != NUMBER_DIMENSIONS, SIRuntimeException.class, "SIDimensions wrong dimensionality");
-        this.dimensions = dimensions.clone(); // safe copy
-        this.denominator = UNIT_DENOMINATOR;
+        boolean packable = isPackable(dimensions);
+        this.packed = packable ? pack(dimensions) : 0L;
+        this.dimensions = packable ? null : dimensions.clone(); // safe copy
+        this.denominator = packable ? null : UNIT_DENOMINATOR;
+        this.fractional = false;
+    }
+
+    /**
+     * Create an immutable SIDimensions instance from packed exponents.
+     * @param packed long; the packed exponents
+     */
+    private SIDimensions(final long packed)
+    {
+        this.packed = packed;
+        this.dimensions = null;
+        this.denominator = null;
         this.fractional = false;
     }
 
@@ -78,9 +141,11 @@ public class SIDimensions implements Serializable
         Throw.whenNull(denominator, "denominator cannot be null");
         Throw.when(numerator.length != NUMBER_DIMENSIONS, SIRuntimeException.class, "numerator has wrong dimensionality");
         Throw.when(denominator.length != NUMBER_DIMENSIONS, SIRuntimeException.class, "denominator has wrong dimensionality");
-        this.dimensions = numerator.clone(); // safe copy
-        this.denominator = denominator.clone(); // safe copy
         this.fractional = !Arrays.equals(denominator, UNIT_DENOMINATOR);
+        boolean packable = !this.fractional && isPackable(numerator);
+        this.packed = packable ? pack(numerator) : 0L;
+        this.dimensions = packable ? null : numerator.clone(); // safe copy
+        this.denominator = packable ? null : denominator.clone(); // safe copy
     }
 
     /**
@@ -99,18 +164,89 @@ public class SIDimensions implements Serializable
     public SIDimensions(final int angle, final int solidAngle, final int mass, final int length, final int time,
             final int current, final int temperature, final int amountOfSubstance, final int luminousIntensity)
     {
-        this.dimensions = new byte[NUMBER_DIMENSIONS];
-        this.dimensions[0] = (byte) angle;
-        this.dimensions[1] = (byte) solidAngle;
-        this.dimensions[2] = (byte) mass;
-        this.dimensions[3] = (byte) length;
-        this.dimensions[4] = (byte) time;
-        this.dimensions[5] = (byte) current;
-        this.dimensions[6] = (byte) temperature;
-        this.dimensions[7] = (byte) amountOfSubstance;
-        this.dimensions[8] = (byte) luminousIntensity;
-        this.denominator = UNIT_DENOMINATOR;
-        this.fractional = false;
+        this(new byte[] {(byte) angle, (byte) solidAngle, (byte) mass, (byte) length, (byte) time, (byte) current,
+                (byte) temperature, (byte) amountOfSubstance, (byte) luminousIntensity});
+    }
+
+    /**
+     * Return whether all exponents fit in the packed representation.
+     * @param exponents byte[]; the exponents
+     * @return boolean; whether all exponents are between MIN_PACKED and MAX_PACKED
+     */
+    private static boolean isPackable(final byte[] exponents)
+    {
+        for (byte exponent : exponents)
+        {
+            if (exponent < MIN_PACKED || exponent > MAX_PACKED)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pack exponents that fit in the packed representation into a long.
+     * @param exponents byte[]; the exponents
+     * @return long; the packed exponents
+     */
+    private static long pack(final byte[] exponents)
+    {
+        long result = 0L;
+        for (int i = 0; i < NUMBER_DIMENSIONS; i++)
+        {
+            result |= (exponents[i] & ((1L << BITS) - 1L)) << (BITS * i);
+        }
+        return result;
+    }
+
+    /**
+     * Return the exponent (numerator) of one of the dimensions.
+     * @param index int; the index of the dimension: 0: angle (rad), 1: solid angle (sr), 2: mass (kg), 3: length (m), 4: time
+     *            (s), 5: current (A), 6: temperature (K), 7: amount of substance (mol), 8: luminous intensity (cd)
+     * @return int; the exponent (numerator) of the dimension
+     * @throws IndexOutOfBoundsException when index &lt; 0 or index &gt;= NUMBER_DIMENSIONS
+     */
+    public int getDimension(final int index)
+    {
+        if (this.dimensions != null)
+        {
+            return this.dimensions[index];
+        }
+        if (index < 0 || index >= NUMBER_DIMENSIONS)
+        {
+            throw new IndexOutOfBoundsException("SIDimensions index " + index + " out of bounds");
+        }
+        return (int) ((this.packed << (Long.SIZE - BITS * (index + 1))) >> (Long.SIZE - BITS));
+    }
+
+    /**
+     * Return the exponents packed in a long, which identifies the dimensions, e.g., as a key in a cache. Two dimensions with a
+     * packed value other than NOT_PACKED are equal when their packed values are equal, and the packed value of a product or a
+     * quotient is given by plusPacked and minusPacked.
+     * @return long; the packed exponents, or NOT_PACKED when the dimensions are fractional or out of the packed range
+     */
+    public long getPacked()
+    {
+        return this.dimensions == null ? this.packed : NOT_PACKED;
+    }
+
+    /**
+     * Return the exponents (numerators) of the dimensions as a new array.
+     * @return byte[]; the exponents (numerators) of the dimensions
+     */
+    private byte[] numerator()
+    {
+        if (this.dimensions != null)
+        {
+            return this.dimensions.clone();
+        }
+        byte[] result = new byte[NUMBER_DIMENSIONS];
+        for (int i = 0; i < NUMBER_DIMENSIONS; i++)
+        {
+            result[i] = (byte) getDimension(i);
+        }
+        return result;
     }
 
     /**
@@ -244,10 +380,15 @@ public class SIDimensions implements Serializable
      */
     public SIDimensions plus(final SIDimensions other)
     {
+        long sum = plusPacked(getPacked(), other.getPacked());
+        if (sum != NOT_PACKED)
+        {
+            return new SIDimensions(sum);
+        }
         byte[] result = new byte[NUMBER_DIMENSIONS];
         for (int i = 0; i < NUMBER_DIMENSIONS; i++)
         {
-            result[i] = (byte) (this.dimensions[i] + other.dimensions[i]);
+            result[i] = (byte) (getDimension(i) + other.getDimension(i));
         }
         return new SIDimensions(result);
     }
@@ -260,14 +401,56 @@ public class SIDimensions implements Serializable
      */
     public SIDimensions minus(final SIDimensions other)
     {
+        long difference = minusPacked(getPacked(), other.getPacked());
+        if (difference != NOT_PACKED)
+        {
+            return new SIDimensions(difference);
+        }
         byte[] result = new byte[NUMBER_DIMENSIONS];
         for (int i = 0; i < NUMBER_DIMENSIONS; i++)
         {
-            result[i] = (byte) (this.dimensions[i] - other.dimensions[i]);
+            result[i] = (byte) (getDimension(i) - other.getDimension(i));
         }
         return new SIDimensions(result);
     }
 
+    /**
+     * Add packed exponents, as returned by getPacked, without creating dimensions; the packed value of the product of values
+     * with the given dimensions.
+     * @param x long; the packed exponents of the first dimensions, or NOT_PACKED
+     * @param y long; the packed exponents of the second dimensions, or NOT_PACKED
+     * @return long; the packed sums, or NOT_PACKED when an operand is NOT_PACKED or a sum is out of the packed range
+     */
+    public static long plusPacked(final long x, final long y)
+    {
+        if ((x | y) < 0L)
+        {
+            return NOT_PACKED;
+        }
+        // add the 6 low bits of all exponents at once; the sign bits are added without carry by the exclusive or
+        long sum = ((x & ~SIGN_BITS) + (y & ~SIGN_BITS)) ^ ((x ^ y) & SIGN_BITS);
+        return ((x ^ sum) & (y ^ sum) & SIGN_BITS) == 0L ? sum : NOT_PACKED;
+    }
+
+    /**
+     * Subtract packed exponents, as returned by getPacked, without creating dimensions; the packed value of the quotient of
+     * values with the given dimensions.
+     * @param x long; the packed exponents to subtract from, or NOT_PACKED
+     * @param y long; the packed exponents to subtract, or NOT_PACKED
+     * @return long; the packed differences, or NOT_PACKED when an operand is NOT_PACKED or a difference is out of the packed
+     *         range
+     */
+    public static long minusPacked(final long x, final long y)
+    {
+        if ((x | y) < 0L)
+        {
+            return NOT_PACKED;
+        }
+        // the sign bit of each exponent of x is set so the low bits never borrow from the next exponent
+        long difference = (((x | SIGN_BITS) - (y & ~SIGN_BITS)) ^ ((x ^ ~y) & SIGN_BITS)) & ALL_BITS;
+        return ((x ^ y) & (x ^ difference) & SIGN_BITS) == 0L ? difference : NOT_PACKED;
+    }
+
     /**
      * Invert a set of SI dimensions; instead of m/s we get s/m. Note: as dimensions are considered to be immutable, a new
      * dimension is returned. The original dimension (<code>this</code>) remains unaltered.
@@ -275,10 +458,15 @@ public class SIDimensions implements Serializable
      */
     public SIDimensions invert()
     {
+        long inverse = minusPacked(0L, getPacked());
+        if (inverse != NOT_PACKED)
+        {
+            return new SIDimensions(inverse);
+        }
         byte[] result = new byte[NUMBER_DIMENSIONS];
         for (int i = 0; i < NUMBER_DIMENSIONS; i++)
         {
-            result[i] = (byte) (-this.dimensions[i]);
+            result[i] = (byte) (-getDimension(i));
         }
         return new SIDimensions(result);
     }
@@ -292,12 +480,7 @@ public class SIDimensions implements Serializable
      */
     public static SIDimensions add(final SIDimensions dim1, final SIDimensions dim2)
     {
-        byte[] dim = new byte[NUMBER_DIMENSIONS];
-        for (int i = 0; i < NUMBER_DIMENSIONS; i++)
-        {
-            dim[i] = (byte) (dim1.dimensions[i] + dim2.dimensions[i]);
-        }
-        return new SIDimensions(dim);
+        return dim1.plus(dim2);
     }
 
     /**
@@ -309,12 +492,7 @@ public class SIDimensions implements Serializable
      */
     public static SIDimensions subtract(final SIDimensions dim1, final SIDimensions dim2)
     {
-        byte[] dim = new byte[NUMBER_DIMENSIONS];
-        for (int i = 0; i < NUMBER_DIMENSIONS; i++)
-        {
-            dim[i] = (byte) (dim1.dimensions[i] - dim2.dimensions[i]);
-        }
-        return new SIDimensions(dim);
+        return dim1.minus(dim2);
     }
 
     /**
@@ -330,6 +508,10 @@ public class SIDimensions implements Serializable
     @Override
     public int hashCode()
     {
+        if (this.dimensions == null)
+        {
+            return Long.hashCode(this.packed);
+        }
         final int prime = 31;
         int result = 1;
         result = prime * result + Arrays.hashCode(this.denominator);
@@ -349,6 +531,9 @@ public class SIDimensions implements Serializable
         if (getClass() != obj.getClass())
             return false;
         SIDimensions other = (SIDimensions) obj;
+        // dimensions that can be packed are always packed, so packed and unpacked dimensions are never equal
+        if (this.dimensions == null || other.dimensions == null)
+            return this.dimensions == other.dimensions && this.packed == other.packed;
         if (!Arrays.equals(this.denominator, other.denominator))
             return false;
         if (!Arrays.equals(this.dimensions, other.dimensions))
@@ -356,6 +541,27 @@ public class SIDimensions implements Serializable
         return true;
     }
 
+    /**
+     * Return the canonical instance of these dimensions. Equal dimensions return the same instance, so the dimensions of the
+     * quantities, and dimensions that are deserialized, can be shared. Every quantity interns its dimensions; when
+     * MAX_CANONICAL_DIMENSIONS instances are kept, dimensions that have no canonical instance yet are returned as they are.
+     * @return SIDimensions; the canonical instance that is equal to these dimensions, or these dimensions
+     */
+    public SIDimensions intern()
+    {
+        SIDimensions canonical = CANONICAL.get(this);
+        if (canonical == null)
+        {
+            if (CANONICAL.size() >= MAX_CANONICAL_DIMENSIONS)
+            {
+                return this;
+            }
+            canonical = CANONICAL.putIfAbsent(this, this);
+            return canonical == null ? this : canonical;
+        }
+        return canonical;
+    }
+
     /**
      * Return a string such as "kgm/s2" or "kg.m/s^2" or "kg.m.s^-2" from this SIDimensions.
      * @param divided boolean; if true, return m/s2 for acceleration; if false return ms-2
@@ -366,16 +572,17 @@ public class SIDimensions implements Serializable
      */
     public String toString(final boolean divided, final String separator, final String powerPrefix, final String powerPostfix)
     {
+        byte[] numerator = numerator();
         StringBuffer s = new StringBuffer();
         boolean first = true;
         boolean negative = false;
         for (int i = 0; i < NUMBER_DIMENSIONS; i++)
         {
-            if (this.dimensions[i] < 0)
+            if (numerator[i] < 0)
             {
                 negative = true;
             }
-            if ((!divided && this.dimensions[i] != 0) || (divided && this.dimensions[i] > 0))
+            if ((!divided && numerator[i] != 0) || (divided && numerator[i] > 0))
             {
                 if (!first)
                 {
@@ -386,10 +593,10 @@ public class SIDimensions implements Serializable
                     first = false;
                 }
                 s.append(SI_ABBREVIATIONS[i]);
-                if (this.dimensions[i] != 1)
+                if (numerator[i] != 1)
                 {
                     s.append(powerPrefix);
-                    s.append(this.dimensions[i]);
+                    s.append(numerator[i]);
                     s.append(powerPostfix);
                 }
             }
@@ -407,7 +614,7 @@ public class SIDimensions implements Serializable
             first = true;
             for (int i = 0; i < NUMBER_DIMENSIONS; i++)
             {
-                if (this.dimensions[i] < 0)
+                if (numerator[i] < 0)
                 {
                     if (!first)
                     {
@@ -418,10 +625,10 @@ public class SIDimensions implements Serializable
                         first = false;
                     }
                     s.append(SI_ABBREVIATIONS[i]);
-                    if (this.dimensions[i] < -1)
+                    if (numerator[i] < -1)
                     {
                         s.append(powerPrefix);
-                        s.append(-this.dimensions[i]);
+                        s.append(-numerator[i]);
                         s.append(powerPostfix);
                     }
                 }
@@ -492,7 +699,58 @@ public class SIDimensions implements Serializable
         }
         else
         {
-            return Arrays.toString(this.dimensions);
+            return Arrays.toString(numerator());
+        }
+    }
+
+    /**
+     * Serialize the dimensions through a proxy that only holds the exponents, and resolves to the canonical instance.
+     * @return Object; the serialization proxy
+     */
+    private Object writeReplace()
+    {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * Serialized form of SIDimensions: the packed exponents when the dimensions are packed, and the numerator and denominator
+     * otherwise. On deserialization, the proxy is replaced by the canonical instance of the dimensions when there is one, such
+     * as for the dimensions of a quantity; other dimensions are not made canonical, so a stream cannot fill the canonical map.
+     */
+    private static final class SerializationProxy implements Serializable
+    {
+        /** */
+        private static final long serialVersionUID = 20221018L;
+
+        /** The packed exponents; only used when numerator is null. */
+        private final long packed;
+
+        /** The numerator of the dimensions that cannot be packed, or null when the dimensions are packed. */
+        private final byte[] numerator;
+
+        /** The denominator of the dimensions that cannot be packed, or null when the dimensions are packed. */
+        private final byte[] denominator;
+
+        /**
+         * Create the serialized form of dimensions.
+         * @param siDimensions SIDimensions; the dimensions to serialize
+         */
+        SerializationProxy(final SIDimensions siDimensions)
+        {
+            this.packed = siDimensions.packed;
+            this.numerator = siDimensions.dimensions;
+            this.denominator = siDimensions.denominator;
+        }
+
+        /**
+         * Resolve the serialized form to the canonical instance of the dimensions, or to new dimensions when there is none.
+         * @return Object; the canonical SIDimensions, or new SIDimensions
+         */
+        private Object readResolve()
+        {
+            SIDimensions siDimensions = this.numerator == null ? new SIDimensions(this.packed)
+                    : new SIDimensions(this.numerator, this.denominator);
+            return CANONICAL.getOrDefault(siDimensions, siDimensions);
         }
     }
 
@@ -0,0 +1,399 @@
+package org.djunits.value.formatter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Formatter;
+import java.util.Locale;
+
+import org.djunits.Throw;
+
+/**
+ * Append values in Engineering notation to an Appendable, such as a StringBuilder or a Writer, with the same result as
+ * {@link EngineeringFormatter#format(double, int)}. The EngineeringFormatter creates a Formatter, and several format strings
+ * and intermediate strings for every value; the EngineeringAppender resolves the locale once, keeps one Formatter that writes
+ * into a reused buffer, and caches the format strings, so writing a large vector or matrix does not create a Formatter per
+ * value.
+ * <p>
+ * An EngineeringAppender reuses its buffers, and can therefore only be used by one thread at a time. The method
+ * {@link #current()} returns an appender for the current thread with the default locale for formatting.
+ * </p>
+ * <p>
+ * Copyright (c) 2015-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ */
+public final class EngineeringAppender
+{
+    /** The appender of each thread for the default room, which is replaced when the locale or exponent case changes. */
+    private static final ThreadLocal<EngineeringAppender> CURRENT = new ThreadLocal<>();
+
+    /** Minimum value to display in non-scientific / non-engineering notation, as in the EngineeringFormatter. */
+    private static final double EFORMATLIMIT = 0.0001;
+
+    /** The locale of the formatted values. */
+    private final Locale locale;
+
+    /** The width in characters of the formatted values. */
+    private final int room;
+
+    /** The format constructor for mantissa plus exponent notation of the EngineeringFormatter at creation. */
+    private final String exponentFormat;
+
+    /** The buffer into which the Formatter writes. */
+    private final StringBuilder number = new StringBuilder(32);
+
+    /** The buffer for the value in Engineering notation. */
+    private final StringBuilder engineering = new StringBuilder(32);
+
+    /** The Formatter that writes into the number buffer, with the resolved locale. */
+    private final Formatter formatter;
+
+    /** The distance to the next power of ten below which rounding can add a digit before the radix symbol. */
+    private final double roundingMargin;
+
+    /** The format for NaN, zero and infinite values. */
+    private final String nonFiniteFormat;
+
+    /** The formats for mantissa-only notation, by precision; created when needed. */
+    private final String[] fixedFormats;
+
+    /** The formats for mantissa plus exponent notation, by precision; created when needed. */
+    private final String[] exponentFormats;
+
+    /** The characters of a formatted value, to write to a Writer without creating a String. */
+    private char[] chars = new char[32];
+
+    /**
+     * Create an appender for a locale and a width of the values.
+     * @param locale Locale; the locale to format the values, e.g. for the radix symbol
+     * @param room int; the width in characters of the formatted values
+     */
+    private EngineeringAppender(final Locale locale, final int room)
+    {
+        this.locale = locale;
+        this.room = Math.max(room, 10); // The EngineeringFormatter needs at least 10 positions
+        this.exponentFormat = EngineeringFormatter.getExponentFormat();
+        this.formatter = new Formatter(this.number, locale);
+        this.roundingMargin = Math.pow(10, 2 - this.room);
+        this.nonFiniteFormat = "%" + this.room + "." + this.room + "f";
+        this.fixedFormats = new String[this.room + 1];
+        this.exponentFormats = new String[this.room + 1];
+    }
+
+    /**
+     * Create an appender for a locale and a width of the values. The case of the exponent indicator is taken from the
+     * EngineeringFormatter at the moment of creation.
+     * @param locale Locale; the locale to format the values, e.g. for the radix symbol
+     * @param room int; the width in characters of the formatted values (minimum value is 10; values below this limit will be
+     *            treated as 10)
+     * @return EngineeringAppender; a new appender for the locale and the width
+     * @throws NullPointerException when locale is null
+     */
+    public static EngineeringAppender of(final Locale locale, final int room)
+    {
+        Throw.whenNull(locale, "locale cannot be null");
+        return new EngineeringAppender(locale, room);
+    }
+
+    /**
+     * Return the appender of the current thread for values of {@link Format#DEFAULTSIZE} characters, with the default locale
+     * for formatting and the current case of the exponent indicator of the EngineeringFormatter.
+     * @return EngineeringAppender; the appender of the current thread
+     */
+    public static EngineeringAppender current()
+    {
+        EngineeringAppender appender = CURRENT.get();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (appender == null || !appender.locale.equals(locale)
+                || !appender.exponentFormat.equals(EngineeringFormatter.getExponentFormat()))
+        {
+            appender = new EngineeringAppender(locale, Format.DEFAULTSIZE);
+            CURRENT.set(appender);
+        }
+        return appender;
+    }
+
+    /**
+     * Return the locale of the formatted values.
+     * @return Locale; the locale of the formatted values
+     */
+    public Locale getLocale()
+    {
+        return this.locale;
+    }
+
+    /**
+     * Return the width in characters of the formatted values.
+     * @return int; the width in characters of the formatted values
+     */
+    public int getRoom()
+    {
+        return this.room;
+    }
+
+    /**
+     * Append a value in Engineering notation.
+     * @param out Appendable; the Appendable to write the value to
+     * @param value double; the value to append
+     * @throws IOException when the Appendable throws an IOException
+     */
+    public void append(final Appendable out, final double value) throws IOException
+    {
+        write(out, formatValue(value));
+    }
+
+    /**
+     * Format a value in Engineering notation.
+     * @param value double; the value to format
+     * @return String; the formatted value
+     */
+    public String format(final double value)
+    {
+        return formatValue(value).toString();
+    }
+
+    /**
+     * Write the characters in a buffer to an Appendable; a Writer receives them as an array, to avoid creating a String.
+     * @param out Appendable; the Appendable to write the characters to
+     * @param buffer StringBuilder; the characters to write
+     * @throws IOException when the Appendable throws an IOException
+     */
+    private void write(final Appendable out, final StringBuilder buffer) throws IOException
+    {
+        if (out instanceof Writer)
+        {
+            int length = buffer.length();
+            if (length > this.chars.length)
+            {
+                this.chars = new char[length];
+            }
+            buffer.getChars(0, length, this.chars, 0);
+            ((Writer) out).write(this.chars, 0, length);
+        }
+        else
+        {
+            out.append(buffer);
+        }
+    }
+
+    /**
+     * Format a value in Engineering notation into one of the buffers, in the same way as the EngineeringFormatter.
+     * @param val double; the value to format
+     * @return StringBuilder; the buffer that contains the formatted value
+     */
+    private StringBuilder formatValue(final double val)
+    {
+        if (Double.isNaN(val) || 0d == val || Double.isInfinite(val))
+        {
+            formatNumber(this.nonFiniteFormat, val);
+            if (this.number.length() > this.room)
+            {
+                this.number.setLength(this.room);
+            }
+            else
+            {
+                while (this.number.length() < this.room)
+                {
+                    this.number.insert(0, ' ');
+                }
+            }
+            return this.number;
+        }
+        double absVal = Math.abs(val);
+        int roomForSignAndFraction = val > 0 ? 2 : 3;
+        // max is the maximum value to display in non-scientific / non-engineering notation
+        double max = Math.pow(10, this.room - roomForSignAndFraction);
+        if (absVal < max - 0.5 && absVal > EFORMATLIMIT)
+        {
+            // Express as floating point number; format once when the number of digits before the radix symbol is known.
+            int precision = fixedPrecision(val, absVal);
+            if (precision >= 0)
+            {
+                formatNumber(fixedFormat(precision), val);
+                return this.number;
+            }
+            formatNumber(fixedFormat(this.room - 2), val);
+            int length = this.number.length();
+            if (length > this.room)
+            {
+                formatNumber(fixedFormat(this.room - 2 + this.room - length), val);
+            }
+            return this.number;
+        }
+        // Express in scientific notation using at least 2 digits for the exponent.
+        int roomForSignRadixAndExponent = val > 0 ? 6 : 7;
+        formatNumber(exponentFormat(this.room - roomForSignRadixAndExponent), val);
+        int length = this.number.length();
+        if (length > this.room) // 3-digit exponent?
+        {
+            formatNumber(exponentFormat(this.room - length + this.room - roomForSignRadixAndExponent), val);
+        }
+        StringBuilder result = convertToEngineering();
+        if (result.length() < this.room) // Exponent 100, or 101 was reduced to 99 which is one digit shorter
+        {
+            formatNumber(exponentFormat(1 + this.room - length + this.room - roomForSignRadixAndExponent), val);
+            result = convertToEngineering();
+        }
+        return result;
+    }
+
+    /**
+     * Return the precision for mantissa-only notation at which the value fills the room, which is the precision that the
+     * EngineeringFormatter finds by formatting the value twice. When rounding could add a digit before the radix symbol, the
+     * value has to be formatted to find out, and -1 is returned.
+     * @param val double; the value to format
+     * @param absVal double; the absolute value
+     * @return int; the precision at which the value fills the room, or -1 when it has to be found by formatting the value
+     */
+    private int fixedPrecision(final double val, final double absVal)
+    {
+        if (absVal >= 1E18)
+        {
+            return -1;
+        }
+        long integer = (long) absVal;
+        int digits = 1;
+        long next = 10L;
+        while (next <= integer)
+        {
+            digits++;
+            next *= 10L;
+        }
+        if (next - absVal < this.roundingMargin)
+        {
+            return -1;
+        }
+        return this.room - 1 - digits - (val < 0 ? 1 : 0);
+    }
+
+    /**
+     * Format a value into the number buffer.
+     * @param format String; the format string
+     * @param val double; the value to format
+     */
+    private void formatNumber(final String format, final double val)
+    {
+        this.number.setLength(0);
+        this.formatter.format(format, val);
+    }
+
+    /**
+     * Return the format for mantissa-only notation with a precision.
+     * @param precision int; the number of digits after the radix symbol
+     * @return String; the format
+     */
+    private String fixedFormat(final int precision)
+    {
+        if (precision < 0 || precision >= this.fixedFormats.length)
+        {
+            return String.format("%%%d.%df", this.room, precision);
+        }
+        if (this.fixedFormats[precision] == null)
+        {
+            this.fixedFormats[precision] = String.format("%%%d.%df", this.room, precision);
+        }
+        return this.fixedFormats[precision];
+    }
+
+    /**
+     * Return the format for mantissa plus exponent notation with a precision.
+     * @param precision int; the number of digits after the radix symbol
+     * @return String; the format
+     */
+    private String exponentFormat(final int precision)
+    {
+        if (precision < 0 || precision >= this.exponentFormats.length)
+        {
+            return String.format(this.exponentFormat, this.room, precision);
+        }
+        if (this.exponentFormats[precision] == null)
+        {
+            this.exponentFormats[precision] = String.format(this.exponentFormat, this.room, precision);
+        }
+        return this.exponentFormats[precision];
+    }
+
+    /**
+     * Make the exponent of the value in the number buffer a multiple of 3, in the same way as
+     * {@link EngineeringFormatter#convertToEngineering(String)}.
+     * @return StringBuilder; the number buffer when the exponent is already a multiple of 3 or there is no radix symbol, or
+     *         the engineering buffer with the converted value
+     */
+    private StringBuilder convertToEngineering()
+    {
+        StringBuilder in = this.number;
+        int positionOfE = in.indexOf("E");
+        if (positionOfE < 0)
+        {
+            positionOfE = in.indexOf("e");
+            if (positionOfE < 0)
+            {
+                return in;
+            }
+        }
+        int exponent = parseExponent(in, positionOfE + 1);
+        if (0 == exponent % 3)
+        {
+            return in;
+        }
+        StringBuilder result = this.engineering;
+        result.setLength(0);
+        int pos = 0;
+        while (pos < positionOfE && in.charAt(pos) != '.' && in.charAt(pos) != ',')
+        {
+            result.append(in.charAt(pos++));
+        }
+        if (pos == positionOfE)
+        {
+            return in; // No radix symbol encountered
+        }
+        char radix = in.charAt(pos++);
+        // Shift the radix to the right
+        while (0 != exponent % 3)
+        {
+            result.append(in.charAt(pos++));
+            exponent--;
+        }
+        result.append(radix);
+        result.append(in, pos, positionOfE + 1);
+        result.append(exponent < 0 ? '-' : '+');
+        int absExponent = Math.abs(exponent);
+        if (absExponent < 10)
+        {
+            result.append('0');
+        }
+        result.append(absExponent);
+        return result;
+    }
+
+    /**
+     * Parse the signed exponent at the end of a formatted value.
+     * @param in CharSequence; the formatted value
+     * @param start int; the position of the sign of the exponent
+     * @return int; the exponent
+     */
+    private static int parseExponent(final CharSequence in, final int start)
+    {
+        int pos = start;
+        boolean negative = in.charAt(pos) == '-';
+        if (in.charAt(pos) == '-' || in.charAt(pos) == '+')
+        {
+            pos++;
+        }
+        int exponent = 0;
+        for (; pos < in.length(); pos++)
+        {
+            exponent = 10 * exponent + Character.digit(in.charAt(pos), 10);
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "EngineeringAppender [locale=" + this.locale + ", room=" + this.room + "]";
+    }
+
+}
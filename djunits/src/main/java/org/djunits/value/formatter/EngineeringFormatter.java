@@ -32,6 +32,15 @@ public final class EngineeringFormatter
     /** Format constructor for mantissa plus exponent notation. */
     private static String exponentFormat = "%%%d.%dE";
 
+    /**
+     * Return the format constructor for mantissa plus exponent notation, which depends on the case of the exponent indicator.
+     * @return String; the format constructor for mantissa plus exponent notation
+     */
+    static String getExponentFormat()
+    {
+        return exponentFormat;
+    }
+
     /** Format constructor for mantissa-only notation. */
     private static final String FLOATFORMAT = "%%%d.%df";
 
@@ -58,6 +58,24 @@ public abstract class AbstractStorage<T extends AbstractStorage<T>> implements C
         return this.storageType.equals(StorageType.SPARSE);
     }
 
+    /**
+     * Is this indexed value stored off-heap?
+     * @return boolean; true if the data storage type is off-heap; false if the data storage type is not off-heap
+     */
+    public final boolean isOffHeap()
+    {
+        return this.storageType.equals(StorageType.OFF_HEAP);
+    }
+
+    /**
+     * Is this indexed value stored in a compressed sparse format, i.e., by row (CSR) or by column (CSC)?
+     * @return boolean; true if the data storage type is CSR or CSC; false if the data storage type is not compressed
+     */
+    public final boolean isCompressed()
+    {
+        return this.storageType.equals(StorageType.CSR) || this.storageType.equals(StorageType.CSC);
+    }
+
     /**
      * Compute and return the number of non-zero cells in this indexed value.
      * @return int; the number of non-zero cells
@@ -0,0 +1,723 @@
+package org.djunits.value.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.djunits.Throw;
+
+/**
+ * ExecutionPolicy determines whether, and where, the operations of the vector and matrix data classes are executed in
+ * parallel. An operation on <code>size</code> elements is split into a number of chunks of contiguous indices; the policy
+ * determines the number of chunks, and runs them on the calling thread, the common ForkJoinPool, a caller-supplied ForkJoinPool,
+ * or a caller-supplied Executor. The boundaries of the chunks only depend on the size and the number of chunks, and partial
+ * results of reductions are always combined in chunk order.
+ * <p>
+ * The policy that is used for an operation is the one returned by {@link #current()}: the policy that has been set for the
+ * current thread with {@link #runWith(ExecutionPolicy, Runnable)} or {@link #callWith(ExecutionPolicy, Supplier)}, or else
+ * the global default policy, which can be changed with {@link #setDefault(ExecutionPolicy)}. Out of the box, the default policy
+ * is {@link #ADAPTIVE}, which executes operations on fewer than {@link #DEFAULT_THRESHOLD} elements on the calling thread, and
+ * larger operations on the common ForkJoinPool. A server that handles many requests in parallel will typically use
+ * {@link #SEQUENTIAL} as the default, or a dedicated pool.
+ * </p>
+ * <p>
+ * The boundaries of the chunks depend on the number of threads, so the rounding of a parallel sum can differ in the last bits
+ * between machines. A {@link #reproducible() reproducible} policy sums in blocks of a fixed size, in parallel, and combines
+ * the sums of the blocks with a fixed tree. The results of its reductions are bit-identical whatever the parallelism, e.g.,
+ * <code>ExecutionPolicy.setDefault(ExecutionPolicy.REPRODUCIBLE)</code> for a regression test suite.
+ * </p>
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public abstract class ExecutionPolicy
+{
+    /** the default amount of work (number of elements) below which the adaptive policy executes on the calling thread. */
+    public static final long DEFAULT_THRESHOLD = 1000;
+
+    /** the number of chunks per thread of a parallel policy, to balance the load when chunks take unequal time. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** policy that executes all operations on the calling thread. */
+    public static final ExecutionPolicy SEQUENTIAL = new SequentialPolicy();
+
+    /** policy that executes all operations on the common ForkJoinPool. */
+    public static final ExecutionPolicy COMMON_POOL = new ForkJoinPolicy(null);
+
+    /** policy that executes operations on the common ForkJoinPool when their size is at least DEFAULT_THRESHOLD. */
+    public static final ExecutionPolicy ADAPTIVE = new AdaptivePolicy(DEFAULT_THRESHOLD, COMMON_POOL);
+
+    /** the ADAPTIVE policy with reductions that are bit-identical whatever the parallelism. */
+    public static final ExecutionPolicy REPRODUCIBLE = ADAPTIVE.reproducible();
+
+    /** the global default policy. */
+    private static volatile ExecutionPolicy defaultPolicy = ADAPTIVE;
+
+    /** the policy that has been set for the current thread; null when the default policy is used. */
+    private static final ThreadLocal<ExecutionPolicy> THREAD_POLICY = new ThreadLocal<>();
+
+    /**
+     * Create a policy that executes all operations on a given ForkJoinPool.
+     * @param pool ForkJoinPool; the pool to use
+     * @return ExecutionPolicy; a policy that executes all operations on the pool
+     * @throws NullPointerException when pool is null
+     */
+    public static ExecutionPolicy forkJoinPool(final ForkJoinPool pool)
+    {
+        Throw.whenNull(pool, "ExecutionPolicy.forkJoinPool: pool is null");
+        return new ForkJoinPolicy(pool);
+    }
+
+    /**
+     * Create a policy that executes all operations on a given Executor. The calling thread executes chunks as well, and takes
+     * over the chunks that the executor has not started yet, so the operation cannot deadlock on a saturated executor.
+     * @param executor Executor; the executor to use
+     * @param parallelism int; the number of threads of the executor that can be used for one operation
+     * @return ExecutionPolicy; a policy that executes all operations on the executor
+     * @throws NullPointerException when executor is null
+     * @throws IllegalArgumentException when parallelism &lt; 1
+     */
+    public static ExecutionPolicy executor(final Executor executor, final int parallelism)
+    {
+        Throw.whenNull(executor, "ExecutionPolicy.executor: executor is null");
+        Throw.when(parallelism < 1, IllegalArgumentException.class, "ExecutionPolicy.executor: parallelism %d < 1",
+                parallelism);
+        return new ExecutorPolicy(executor, parallelism);
+    }
+
+    /**
+     * Create a policy that executes operations with less work than a threshold on the calling thread, and larger operations
+     * with another policy.
+     * @param threshold long; the minimum amount of work (typically the number of elements) for parallel execution
+     * @param parallelPolicy ExecutionPolicy; the policy to use for operations with at least the threshold amount of work
+     * @return ExecutionPolicy; a size-based adaptive policy
+     * @throws NullPointerException when parallelPolicy is null
+     * @throws IllegalArgumentException when threshold &lt; 0
+     */
+    public static ExecutionPolicy adaptive(final long threshold, final ExecutionPolicy parallelPolicy)
+    {
+        Throw.whenNull(parallelPolicy, "ExecutionPolicy.adaptive: parallelPolicy is null");
+        Throw.when(threshold < 0, IllegalArgumentException.class, "ExecutionPolicy.adaptive: threshold %d < 0", threshold);
+        return new AdaptivePolicy(threshold, parallelPolicy);
+    }
+
+    /**
+     * Return the global default policy.
+     * @return ExecutionPolicy; the global default policy
+     */
+    public static ExecutionPolicy getDefault()
+    {
+        return defaultPolicy;
+    }
+
+    /**
+     * Set the global default policy, which is used by all threads that have not set their own policy.
+     * @param policy ExecutionPolicy; the new global default policy
+     * @throws NullPointerException when policy is null
+     */
+    public static void setDefault(final ExecutionPolicy policy)
+    {
+        Throw.whenNull(policy, "ExecutionPolicy.setDefault: policy is null");
+        defaultPolicy = policy;
+    }
+
+    /**
+     * Return a policy that executes operations like this policy, with reductions that give bit-identical results whatever
+     * the number of chunks or threads. The sums are calculated for blocks of {@link Summation#BLOCK} elements, in parallel,
+     * and the sums of the blocks are combined with a fixed pairwise tree.
+     * @return ExecutionPolicy; a reproducible version of this policy; this policy when it is reproducible already
+     */
+    public final ExecutionPolicy reproducible()
+    {
+        return isReproducible() ? this : new ReproduciblePolicy(this);
+    }
+
+    /**
+     * Return whether the reductions of this policy give bit-identical results whatever the number of chunks or threads.
+     * @return boolean; whether the reductions of this policy are reproducible
+     */
+    public boolean isReproducible()
+    {
+        return false;
+    }
+
+    /**
+     * Return the policy to use for an operation on the current thread.
+     * @return ExecutionPolicy; the policy set for the current thread, or the global default policy
+     */
+    public static ExecutionPolicy current()
+    {
+        ExecutionPolicy policy = THREAD_POLICY.get();
+        return policy == null ? defaultPolicy : policy;
+    }
+
+    /**
+     * Carry out one or more operations on the current thread with a given policy, e.g., <code>ExecutionPolicy.callWith(
+     * ExecutionPolicy.SEQUENTIAL, () -&gt; a.plus(b))</code>. The policy that was in effect before is restored afterwards.
+     * @param policy ExecutionPolicy; the policy to use
+     * @param operation Supplier&lt;T&gt;; the operation(s) to carry out
+     * @return T; the result of the operation
+     * @param <T> the result type of the operation
+     * @throws NullPointerException when policy or operation is null
+     */
+    public static <T> T callWith(final ExecutionPolicy policy, final Supplier<T> operation)
+    {
+        Throw.whenNull(policy, "ExecutionPolicy.callWith: policy is null");
+        Throw.whenNull(operation, "ExecutionPolicy.callWith: operation is null");
+        ExecutionPolicy previous = THREAD_POLICY.get();
+        THREAD_POLICY.set(policy);
+        try
+        {
+            return operation.get();
+        }
+        finally
+        {
+            if (previous == null)
+            {
+                THREAD_POLICY.remove();
+            }
+            else
+            {
+                THREAD_POLICY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Carry out one or more operations on the current thread with a given policy. The policy that was in effect before is
+     * restored afterwards.
+     * @param policy ExecutionPolicy; the policy to use
+     * @param operation Runnable; the operation(s) to carry out
+     * @throws NullPointerException when policy or operation is null
+     */
+    public static void runWith(final ExecutionPolicy policy, final Runnable operation)
+    {
+        Throw.whenNull(operation, "ExecutionPolicy.runWith: operation is null");
+        callWith(policy, () ->
+        {
+            operation.run();
+            return null;
+        });
+    }
+
+    /* ============================================================================================ */
+    /* ======================================== EXECUTION ========================================= */
+    /* ============================================================================================ */
+
+    /**
+     * Return the number of chunks in which an operation on size elements will be split.
+     * @param size int; the number of elements (or rows) of the operation
+     * @param work long; an estimate of the amount of work of the operation, in elementary operations
+     * @return int; the number of chunks, between 1 and max(1, size); 1 means execution on the calling thread
+     */
+    public abstract int chunks(int size, long work);
+
+    /**
+     * Execute a kernel for all chunks of an operation on size elements. The kernel is called exactly once for each chunk.
+     * @param size int; the number of elements (or rows) of the operation
+     * @param chunks int; the number of chunks, as returned by {@link #chunks(int, long)}
+     * @param kernel ChunkKernel; the kernel to execute for each chunk
+     */
+    public final void execute(final int size, final int chunks, final ChunkKernel kernel)
+    {
+        if (chunks <= 1)
+        {
+            kernel.apply(0, 0, size);
+        }
+        else
+        {
+            executeParallel(size, chunks, kernel);
+        }
+    }
+
+    /**
+     * Execute a kernel for more than one chunk; implemented by the parallel policies.
+     * @param size int; the number of elements (or rows) of the operation
+     * @param chunks int; the number of chunks, at least 2
+     * @param kernel ChunkKernel; the kernel to execute for each chunk
+     */
+    protected abstract void executeParallel(int size, int chunks, ChunkKernel kernel);
+
+    /**
+     * Execute a kernel for all chunks of an operation on size elements, where the amount of work equals the size.
+     * @param size int; the number of elements of the operation
+     * @param kernel ChunkKernel; the kernel to execute for each chunk
+     */
+    public final void forEachChunk(final int size, final ChunkKernel kernel)
+    {
+        execute(size, chunks(size, size), kernel);
+    }
+
+    /**
+     * Carry out an action for each index from 0 (inclusive) to size (exclusive).
+     * @param size int; the number of elements
+     * @param action IntConsumer; the action to carry out for each index
+     */
+    public final void forEach(final int size, final IntConsumer action)
+    {
+        forEach(size, size, action);
+    }
+
+    /**
+     * Carry out an action for each index from 0 (inclusive) to size (exclusive), e.g., for each row of a matrix.
+     * @param size int; the number of indices
+     * @param work long; an estimate of the amount of work, e.g., rows * cols when the action handles a row
+     * @param action IntConsumer; the action to carry out for each index
+     */
+    public final void forEach(final int size, final long work, final IntConsumer action)
+    {
+        execute(size, chunks(size, work), (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                action.accept(i);
+            }
+        });
+    }
+
+    /**
+     * Count the indices from 0 (inclusive) to size (exclusive) for which a predicate holds.
+     * @param size int; the number of elements
+     * @param predicate IntPredicate; the predicate to test for each index
+     * @return int; the number of indices for which the predicate holds
+     */
+    public final int count(final int size, final IntPredicate predicate)
+    {
+        int chunks = chunks(size, size);
+        int[] partial = new int[Math.max(1, chunks)];
+        execute(size, chunks, (chunk, from, to) ->
+        {
+            int count = 0;
+            for (int i = from; i < to; i++)
+            {
+                if (predicate.test(i))
+                {
+                    count++;
+                }
+            }
+            partial[chunk] = count;
+        });
+        int count = 0;
+        for (int p : partial)
+        {
+            count += p;
+        }
+        return count;
+    }
+
+    /**
+     * Calculate the sum of the partial sums of all chunks of an operation on size elements. The partial sums are added in
+     * chunk order. When this policy is reproducible, the kernel is applied to blocks of {@link Summation#BLOCK} elements
+     * instead, and the partial sums of the blocks are added pairwise.
+     * @param size int; the number of elements
+     * @param kernel ChunkToDoubleKernel; the kernel that calculates the partial sum of a chunk
+     * @return double; the sum of the partial sums
+     */
+    public final double sum(final int size, final ChunkToDoubleKernel kernel)
+    {
+        if (isReproducible())
+        {
+            int blockCount = blockCount(size);
+            double[] blockSums = new double[blockCount];
+            execute(blockCount, chunks(blockCount, size), (chunk, fromBlock, toBlock) ->
+            {
+                for (int block = fromBlock; block < toBlock; block++)
+                {
+                    int from = block * Summation.BLOCK;
+                    blockSums[block] = kernel.apply(from, from + Math.min(Summation.BLOCK, size - from));
+                }
+            });
+            return Summation.PAIRWISE.sum(blockSums, 0, blockCount);
+        }
+        int chunks = chunks(size, size);
+        double[] partial = new double[Math.max(1, chunks)];
+        execute(size, chunks, (chunk, from, to) -> partial[chunk] = kernel.apply(from, to));
+        double sum = 0.0;
+        for (double p : partial)
+        {
+            sum += p;
+        }
+        return sum;
+    }
+
+    /**
+     * Return the number of blocks of {@link Summation#BLOCK} elements of a reproducible reduction.
+     * @param size int; the number of elements
+     * @return int; the number of blocks; the last block can be smaller than Summation.BLOCK
+     */
+    static int blockCount(final int size)
+    {
+        return (int) (((long) size + Summation.BLOCK - 1) / Summation.BLOCK);
+    }
+
+    /**
+     * Return the first index (inclusive) of a chunk.
+     * @param chunk int; the chunk number
+     * @param size int; the number of elements
+     * @param chunks int; the number of chunks
+     * @return int; the first index of the chunk
+     */
+    static int chunkStart(final int chunk, final int size, final int chunks)
+    {
+        return (int) ((long) chunk * size / chunks);
+    }
+
+    /**
+     * Return the number of chunks for a parallel policy with a given number of threads.
+     * @param size int; the number of elements
+     * @param parallelism int; the number of threads
+     * @return int; the number of chunks
+     */
+    static int parallelChunks(final int size, final int parallelism)
+    {
+        return Math.max(1, Math.min(size, CHUNKS_PER_THREAD * parallelism));
+    }
+
+    /**
+     * A kernel that carries out an operation for a chunk of contiguous indices.
+     */
+    @FunctionalInterface
+    public interface ChunkKernel
+    {
+        /**
+         * Carry out the operation for a chunk of indices.
+         * @param chunk int; the chunk number, from 0 to the number of chunks (exclusive)
+         * @param from int; the first index of the chunk (inclusive)
+         * @param to int; the last index of the chunk (exclusive)
+         */
+        void apply(int chunk, int from, int to);
+    }
+
+    /**
+     * A kernel that calculates a partial result for a chunk of contiguous indices.
+     */
+    @FunctionalInterface
+    public interface ChunkToDoubleKernel
+    {
+        /**
+         * Calculate the partial result for a chunk of indices.
+         * @param from int; the first index of the chunk (inclusive)
+         * @param to int; the last index of the chunk (exclusive)
+         * @return double; the partial result
+         */
+        double apply(int from, int to);
+    }
+
+    /* ============================================================================================ */
+    /* ======================================== POLICIES ========================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Policy that executes all operations on the calling thread.
+     */
+    private static final class SequentialPolicy extends ExecutionPolicy
+    {
+        /** {@inheritDoc} */
+        @Override
+        public int chunks(final int size, final long work)
+        {
+            return 1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeParallel(final int size, final int chunks, final ChunkKernel kernel)
+        {
+            for (int chunk = 0; chunk < chunks; chunk++)
+            {
+                kernel.apply(chunk, chunkStart(chunk, size, chunks), chunkStart(chunk + 1, size, chunks));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "ExecutionPolicy.SEQUENTIAL";
+        }
+    }
+
+    /**
+     * Policy that executes all operations on a ForkJoinPool.
+     */
+    private static final class ForkJoinPolicy extends ExecutionPolicy
+    {
+        /** the pool; null for the common pool, which is looked up at the time of execution. */
+        private final ForkJoinPool pool;
+
+        /**
+         * @param pool ForkJoinPool; the pool, or null for the common pool
+         */
+        ForkJoinPolicy(final ForkJoinPool pool)
+        {
+            this.pool = pool;
+        }
+
+        /**
+         * Return the pool to use.
+         * @return ForkJoinPool; the pool to use
+         */
+        private ForkJoinPool pool()
+        {
+            return this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int chunks(final int size, final long work)
+        {
+            return parallelChunks(size, pool().getParallelism());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeParallel(final int size, final int chunks, final ChunkKernel kernel)
+        {
+            pool().invoke(new ChunkTask(kernel, size, chunks, 0, chunks));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return this.pool == null ? "ExecutionPolicy.COMMON_POOL" : "ExecutionPolicy.forkJoinPool[" + this.pool + "]";
+        }
+    }
+
+    /**
+     * Fork-join task that recursively splits a range of chunks in halves, and applies the kernel to single chunks.
+     */
+    private static final class ChunkTask extends RecursiveAction
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+
+        /** the kernel to apply. */
+        private final ChunkKernel kernel;
+
+        /** the total number of elements. */
+        private final int size;
+
+        /** the total number of chunks. */
+        private final int chunks;
+
+        /** the first chunk of this task (inclusive). */
+        private final int chunkFrom;
+
+        /** the last chunk of this task (exclusive). */
+        private final int chunkTo;
+
+        /**
+         * @param kernel ChunkKernel; the kernel to apply
+         * @param size int; the total number of elements
+         * @param chunks int; the total number of chunks
+         * @param chunkFrom int; the first chunk of this task (inclusive)
+         * @param chunkTo int; the last chunk of this task (exclusive)
+         */
+        ChunkTask(final ChunkKernel kernel, final int size, final int chunks, final int chunkFrom, final int chunkTo)
+        {
+            this.kernel = kernel;
+            this.size = size;
+            this.chunks = chunks;
+            this.chunkFrom = chunkFrom;
+            this.chunkTo = chunkTo;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute()
+        {
+            if (this.chunkTo - this.chunkFrom == 1)
+            {
+                this.kernel.apply(this.chunkFrom, chunkStart(this.chunkFrom, this.size, this.chunks),
+                        chunkStart(this.chunkTo, this.size, this.chunks));
+                return;
+            }
+            int middle = (this.chunkFrom + this.chunkTo) >>> 1;
+            invokeAll(new ChunkTask(this.kernel, this.size, this.chunks, this.chunkFrom, middle),
+                    new ChunkTask(this.kernel, this.size, this.chunks, middle, this.chunkTo));
+        }
+    }
+
+    /**
+     * Policy that executes all operations on an Executor, with help of the calling thread.
+     */
+    private static final class ExecutorPolicy extends ExecutionPolicy
+    {
+        /** the executor. */
+        private final Executor executor;
+
+        /** the number of threads of the executor that can be used for one operation. */
+        private final int parallelism;
+
+        /**
+         * @param executor Executor; the executor
+         * @param parallelism int; the number of threads of the executor that can be used for one operation
+         */
+        ExecutorPolicy(final Executor executor, final int parallelism)
+        {
+            this.executor = executor;
+            this.parallelism = parallelism;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int chunks(final int size, final long work)
+        {
+            return parallelChunks(size, this.parallelism);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeParallel(final int size, final int chunks, final ChunkKernel kernel)
+        {
+            List<FutureTask<Void>> tasks = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++)
+            {
+                final int c = chunk;
+                tasks.add(new FutureTask<>(
+                        () -> kernel.apply(c, chunkStart(c, size, chunks), chunkStart(c + 1, size, chunks)), null));
+            }
+            // chunk 0 is for the calling thread; running a task that has already been started or finished is a no-op
+            for (int chunk = 1; chunk < chunks; chunk++)
+            {
+                this.executor.execute(tasks.get(chunk));
+            }
+            for (FutureTask<Void> task : tasks)
+            {
+                task.run();
+            }
+            for (FutureTask<Void> task : tasks)
+            {
+                try
+                {
+                    task.get();
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(exception);
+                }
+                catch (ExecutionException exception)
+                {
+                    Throwable cause = exception.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "ExecutionPolicy.executor[" + this.executor + ", parallelism=" + this.parallelism + "]";
+        }
+    }
+
+    /**
+     * Policy that executes small operations on the calling thread, and larger operations with another policy.
+     */
+    private static final class AdaptivePolicy extends ExecutionPolicy
+    {
+        /** the minimum amount of work for parallel execution. */
+        private final long threshold;
+
+        /** the policy for operations with at least the threshold amount of work. */
+        private final ExecutionPolicy parallelPolicy;
+
+        /**
+         * @param threshold long; the minimum amount of work for parallel execution
+         * @param parallelPolicy ExecutionPolicy; the policy for operations with at least the threshold amount of work
+         */
+        AdaptivePolicy(final long threshold, final ExecutionPolicy parallelPolicy)
+        {
+            this.threshold = threshold;
+            this.parallelPolicy = parallelPolicy;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int chunks(final int size, final long work)
+        {
+            return work < this.threshold ? 1 : this.parallelPolicy.chunks(size, work);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeParallel(final int size, final int chunks, final ChunkKernel kernel)
+        {
+            this.parallelPolicy.execute(size, chunks, kernel);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "ExecutionPolicy.adaptive[threshold=" + this.threshold + ", " + this.parallelPolicy + "]";
+        }
+    }
+
+    /**
+     * Policy that executes operations with another policy, with reductions in blocks of a fixed size.
+     */
+    private static final class ReproduciblePolicy extends ExecutionPolicy
+    {
+        /** the policy that executes the operations. */
+        private final ExecutionPolicy policy;
+
+        /**
+         * @param policy ExecutionPolicy; the policy that executes the operations
+         */
+        ReproduciblePolicy(final ExecutionPolicy policy)
+        {
+            this.policy = policy;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int chunks(final int size, final long work)
+        {
+            return this.policy.chunks(size, work);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeParallel(final int size, final int chunks, final ChunkKernel kernel)
+        {
+            this.policy.execute(size, chunks, kernel);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isReproducible()
+        {
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return this == REPRODUCIBLE ? "ExecutionPolicy.REPRODUCIBLE" : this.policy + ".reproducible()";
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+package org.djunits.value.storage;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.djunits.Throw;
+import org.djunits.unit.SIUnit;
+import org.djunits.unit.Unit;
+import org.djunits.unit.quantity.Quantities;
+import org.djunits.unit.quantity.Quantity;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.ValueRuntimeException;
+
+/**
+ * Header of a file with the values of a vector or matrix that can be mapped into memory. The header records the type and the
+ * byte order of the values, the shape of the vector or matrix, and the display unit. The values follow the header as a
+ * contiguous block of SI values, in row-major order for a matrix. The start of the values is aligned on a multiple of 64
+ * bytes. The layout of the header is:
+ * <ul>
+ * <li>int: the magic number 0x444A554E ("DJUN")</li>
+ * <li>byte: the version of the file format, currently 1</li>
+ * <li>byte: the number of bytes per value, 8 for double values and 4 for float values</li>
+ * <li>byte: the number of dimensions, 1 for a vector and 2 for a matrix</li>
+ * <li>byte: the byte order of the values, 0 for big-endian and 1 for little-endian</li>
+ * <li>int: the number of rows (1 for a vector), and int: the number of columns (the size for a vector)</li>
+ * <li>int: the offset of the values from the start of the file</li>
+ * <li>short + UTF-8 bytes: the class name of the unit, and short + UTF-8 bytes: the id of the unit</li>
+ * </ul>
+ * All numbers in the header itself are big-endian.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public final class MappedHeader
+{
+    /** the magic number at the start of the file. */
+    private static final int MAGIC = 0x444A554E;
+
+    /** the version of the file format. */
+    private static final byte VERSION = 1;
+
+    /** the alignment of the start of the values. */
+    private static final int ALIGNMENT = 64;
+
+    /** the length of the fixed part of the header. */
+    private static final int FIXED_LENGTH = 20;
+
+    /** the maximum length of the header. */
+    private static final int MAX_LENGTH = 1 << 18;
+
+    /** the number of bytes per value. */
+    private final int valueBytes;
+
+    /** the number of dimensions. */
+    private final int dimensions;
+
+    /** the byte order of the values. */
+    private final ByteOrder byteOrder;
+
+    /** the number of rows. */
+    private final int rows;
+
+    /** the number of columns. */
+    private final int cols;
+
+    /** the offset of the values from the start of the file. */
+    private final int dataOffset;
+
+    /** the class name of the display unit. */
+    private final String unitClassName;
+
+    /** the id of the display unit. */
+    private final String unitId;
+
+    /**
+     * Create a header.
+     * @param valueBytes int; the number of bytes per value
+     * @param dimensions int; the number of dimensions
+     * @param byteOrder ByteOrder; the byte order of the values
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param dataOffset int; the offset of the values from the start of the file
+     * @param unitClassName String; the class name of the display unit
+     * @param unitId String; the id of the display unit
+     */
+    private MappedHeader(final int valueBytes, final int dimensions, final ByteOrder byteOrder, final int rows, final int cols,
+            final int dataOffset, final String unitClassName, final String unitId)
+    {
+        this.valueBytes = valueBytes;
+        this.dimensions = dimensions;
+        this.byteOrder = byteOrder;
+        this.rows = rows;
+        this.cols = cols;
+        this.dataOffset = dataOffset;
+        this.unitClassName = unitClassName;
+        this.unitId = unitId;
+    }
+
+    /**
+     * Create the header for a new file with the values in the native byte order.
+     * @param valueBytes int; the number of bytes per value, 8 for double values and 4 for float values
+     * @param dimensions int; the number of dimensions, 1 for a vector and 2 for a matrix
+     * @param rows int; the number of rows, 1 for a vector
+     * @param cols int; the number of columns, or the size of a vector
+     * @param unit Unit&lt;?&gt;; the display unit
+     * @return MappedHeader; the header
+     * @throws ValueRuntimeException when the number of bytes per value, the number of dimensions or the shape is not valid
+     * @throws NullPointerException when unit is null
+     */
+    public static MappedHeader of(final int valueBytes, final int dimensions, final int rows, final int cols,
+            final Unit<?> unit)
+    {
+        Throw.when(valueBytes != Double.BYTES && valueBytes != Float.BYTES, ValueRuntimeException.class,
+                "MappedHeader: values should have %d or %d bytes", Double.BYTES, Float.BYTES);
+        Throw.when(dimensions != 1 && dimensions != 2, ValueRuntimeException.class,
+                "MappedHeader: number of dimensions should be 1 or 2");
+        Throw.when(rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE, ValueRuntimeException.class,
+                "MappedHeader: invalid shape %d x %d", rows, cols);
+        Throw.when(dimensions == 1 && rows != 1, ValueRuntimeException.class, "MappedHeader: a vector should have 1 row");
+        Throw.whenNull(unit, "unit cannot be null");
+        String unitClassName = unit.getClass().getName();
+        String unitId = unit.getId();
+        int length = FIXED_LENGTH + 4 + utf8(unitClassName).length + utf8(unitId).length;
+        int dataOffset = (length + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        return new MappedHeader(valueBytes, dimensions, ByteOrder.nativeOrder(), rows, cols, dataOffset, unitClassName,
+                unitId);
+    }
+
+    /**
+     * Read the header from the start of a file.
+     * @param channel FileChannel; the channel of the file to read the header from
+     * @return MappedHeader; the header
+     * @throws IOException on I/O error, when the file does not start with a valid header, or when the file is too short to hold
+     *             the values
+     */
+    public static MappedHeader read(final FileChannel channel) throws IOException
+    {
+        ByteBuffer fixed = readFully(channel, 0, FIXED_LENGTH);
+        if (fixed.getInt() != MAGIC)
+        {
+            throw new IOException("MappedHeader: file does not start with a djunits header");
+        }
+        byte version = fixed.get();
+        if (version != VERSION)
+        {
+            throw new IOException("MappedHeader: unsupported file format version " + version);
+        }
+        int valueBytes = fixed.get();
+        int dimensions = fixed.get();
+        ByteOrder byteOrder = fixed.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        int rows = fixed.getInt();
+        int cols = fixed.getInt();
+        int dataOffset = fixed.getInt();
+        if ((valueBytes != Double.BYTES && valueBytes != Float.BYTES) || (dimensions != 1 && dimensions != 2) || rows < 0
+                || cols < 0 || (long) rows * cols > Integer.MAX_VALUE || dataOffset < FIXED_LENGTH + 4
+                || dataOffset > MAX_LENGTH)
+        {
+            throw new IOException("MappedHeader: corrupt header");
+        }
+        ByteBuffer names = readFully(channel, FIXED_LENGTH, dataOffset - FIXED_LENGTH);
+        String unitClassName = readUtf8(names);
+        String unitId = readUtf8(names);
+        MappedHeader header =
+                new MappedHeader(valueBytes, dimensions, byteOrder, rows, cols, dataOffset, unitClassName, unitId);
+        if (channel.size() < header.getFileLength())
+        {
+            throw new IOException("MappedHeader: file is too short to hold " + header.getSize() + " values");
+        }
+        return header;
+    }
+
+    /**
+     * Write the header at the start of a file.
+     * @param channel FileChannel; the channel of the file to write the header to
+     * @throws IOException on I/O error
+     */
+    public void write(final FileChannel channel) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(this.dataOffset);
+        buffer.putInt(MAGIC).put(VERSION).put((byte) this.valueBytes).put((byte) this.dimensions);
+        buffer.put((byte) (ByteOrder.BIG_ENDIAN.equals(this.byteOrder) ? 0 : 1));
+        buffer.putInt(this.rows).putInt(this.cols).putInt(this.dataOffset);
+        for (String name : new String[] {this.unitClassName, this.unitId})
+        {
+            byte[] bytes = utf8(name);
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        ((Buffer) buffer).clear();
+        long position = 0;
+        while (buffer.hasRemaining())
+        {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Read a number of bytes from a file.
+     * @param channel FileChannel; the channel of the file
+     * @param position long; the position of the first byte
+     * @param length int; the number of bytes to read
+     * @return ByteBuffer; a buffer with the bytes, positioned at the first byte
+     * @throws IOException on I/O error, or when the file is too short
+     */
+    private static ByteBuffer readFully(final FileChannel channel, final long position, final int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new IOException("MappedHeader: unexpected end of file");
+            }
+        }
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    /**
+     * Read a string that is stored as a short with its length, followed by its UTF-8 bytes.
+     * @param buffer ByteBuffer; the buffer to read the string from
+     * @return String; the string
+     * @throws IOException when the buffer does not hold the whole string
+     */
+    private static String readUtf8(final ByteBuffer buffer) throws IOException
+    {
+        if (buffer.remaining() < 2 || buffer.remaining() < 2 + (buffer.getShort(buffer.position()) & 0xFFFF))
+        {
+            throw new IOException("MappedHeader: corrupt unit in header");
+        }
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return the UTF-8 bytes of a string, after checking that they fit in the header.
+     * @param string String; the string
+     * @return byte[]; the UTF-8 bytes of the string
+     * @throws ValueRuntimeException when the string is too long
+     */
+    private static byte[] utf8(final String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        Throw.when(bytes.length > Short.MAX_VALUE, ValueRuntimeException.class, "MappedHeader: unit name or id too long");
+        return bytes;
+    }
+
+    /**
+     * Return the number of bytes per value.
+     * @return int; the number of bytes per value, 8 for double values and 4 for float values
+     */
+    public int getValueBytes()
+    {
+        return this.valueBytes;
+    }
+
+    /**
+     * Return the number of dimensions.
+     * @return int; the number of dimensions, 1 for a vector and 2 for a matrix
+     */
+    public int getDimensions()
+    {
+        return this.dimensions;
+    }
+
+    /**
+     * Return the byte order of the values.
+     * @return ByteOrder; the byte order of the values
+     */
+    public ByteOrder getByteOrder()
+    {
+        return this.byteOrder;
+    }
+
+    /**
+     * Return the number of rows.
+     * @return int; the number of rows, 1 for a vector
+     */
+    public int getRows()
+    {
+        return this.rows;
+    }
+
+    /**
+     * Return the number of columns.
+     * @return int; the number of columns, or the size of a vector
+     */
+    public int getCols()
+    {
+        return this.cols;
+    }
+
+    /**
+     * Return the number of values.
+     * @return int; the number of values
+     */
+    public int getSize()
+    {
+        return this.rows * this.cols;
+    }
+
+    /**
+     * Return the offset of the values from the start of the file.
+     * @return int; the offset of the values from the start of the file
+     */
+    public int getDataOffset()
+    {
+        return this.dataOffset;
+    }
+
+    /**
+     * Return the length of a file with this header and all values.
+     * @return long; the length of the file in bytes
+     */
+    public long getFileLength()
+    {
+        return this.dataOffset + (long) getSize() * this.valueBytes;
+    }
+
+    /**
+     * Look up the display unit that is recorded in the header. The class of the unit is loaded when needed, so its units are
+     * registered.
+     * @return Unit&lt;?&gt;; the display unit
+     * @throws IOException when the unit cannot be found
+     */
+    public Unit<?> getUnit() throws IOException
+    {
+        try
+        {
+            if (SIUnit.class.getName().equals(this.unitClassName))
+            {
+                return SIUnit.of(this.unitId);
+            }
+            Class<?> unitClass = Class.forName(this.unitClassName);
+            Quantity<?> quantity = Quantities.INSTANCE.getQuantity(unitClass.getSimpleName());
+            Unit<?> unit = quantity == null ? null : quantity.getUnitById(this.unitId);
+            if (unit == null)
+            {
+                throw new IOException("MappedHeader: unit " + this.unitId + " of " + this.unitClassName + " not found");
+            }
+            return unit;
+        }
+        catch (ClassNotFoundException | UnitException exception)
+        {
+            throw new IOException("MappedHeader: unit " + this.unitId + " of " + this.unitClassName + " not found", exception);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "MappedHeader [valueBytes=" + this.valueBytes + ", dimensions=" + this.dimensions + ", byteOrder="
+                + this.byteOrder + ", rows=" + this.rows + ", cols=" + this.cols + ", unit=" + this.unitId + " ("
+                + this.unitClassName + ")]";
+    }
+
+}
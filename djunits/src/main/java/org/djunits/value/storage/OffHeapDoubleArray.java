@@ -0,0 +1,314 @@
+package org.djunits.value.storage;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.djunits.Throw;
+import org.djunits.value.ValueRuntimeException;
+
+/**
+ * Fixed-length array of double values that is stored outside of the Java heap, in direct buffers. A single direct buffer
+ * cannot hold more than 2 GiB, so the values are spread over segments of 2<sup>27</sup> values (1 GiB) each. The values are
+ * initially zero. Values at different indices can be read and written by different threads at the same time.
+ * <p>
+ * An array can also be mapped onto a region of a file with map(...). The pages of the file are then loaded by the operating
+ * system when they are first accessed, and changes to a writable mapping are written back to the file.
+ * </p>
+ * <p>
+ * The memory is released when the buffers are garbage collected; close() drops the buffers, so the memory can be released
+ * even while the array object itself is still referenced. The array cannot be used after it has been closed.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public final class OffHeapDoubleArray implements Serializable
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** the 2-log of the number of values per segment. */
+    private static final int SEGMENT_SHIFT = 27;
+
+    /** the mask to find the position of a value in its segment. */
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    /** the number of values in the array. */
+    private final int length;
+
+    /** the segments with the values; null when the array has been closed. Direct buffers are not serializable. */
+    private transient DoubleBuffer[] segments;
+
+    /** the mapped file regions of the segments; null when the array is not mapped onto a file. */
+    private transient MappedByteBuffer[] mapped;
+
+    /** whether the values cannot be changed; a deserialized copy can always be changed. */
+    private final transient boolean readOnly;
+
+    /**
+     * Allocate an off-heap array with all values zero.
+     * @param length int; the number of values in the array
+     * @throws ValueRuntimeException when length &lt; 0
+     */
+    public OffHeapDoubleArray(final int length)
+    {
+        Throw.when(length < 0, ValueRuntimeException.class, "OffHeapDoubleArray: length must be >= 0");
+        this.length = length;
+        this.readOnly = false;
+        allocate();
+    }
+
+    /**
+     * Create an off-heap array with the given segments.
+     * @param length int; the number of values in the array
+     * @param segments DoubleBuffer[]; the segments with the values
+     * @param mapped MappedByteBuffer[]; the mapped file regions of the segments, or null when the array is not mapped
+     * @param readOnly boolean; whether the values cannot be changed
+     */
+    private OffHeapDoubleArray(final int length, final DoubleBuffer[] segments, final MappedByteBuffer[] mapped,
+            final boolean readOnly)
+    {
+        this.length = length;
+        this.segments = segments;
+        this.mapped = mapped;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Map an array onto a region of a file. The values are not read; the operating system loads the pages of the file when
+     * they are first accessed. Closing the channel afterwards does not affect the mapping.
+     * @param channel FileChannel; the channel of the file, which should be writable for a writable mapping
+     * @param position long; the position in the file of the first value
+     * @param length int; the number of values in the array
+     * @param writable boolean; whether changes to the values are written to the file; when false, the values cannot be
+     *            changed
+     * @param byteOrder ByteOrder; the byte order of the values in the file
+     * @return OffHeapDoubleArray; an array that is mapped onto the file
+     * @throws IOException on I/O error
+     * @throws ValueRuntimeException when length &lt; 0 or position &lt; 0
+     */
+    public static OffHeapDoubleArray map(final FileChannel channel, final long position, final int length,
+            final boolean writable, final ByteOrder byteOrder) throws IOException
+    {
+        Throw.when(length < 0 || position < 0, ValueRuntimeException.class,
+                "OffHeapDoubleArray: length and position must be >= 0");
+        int count = (int) (((long) length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        DoubleBuffer[] segments = new DoubleBuffer[count];
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        for (int s = 0; s < count; s++)
+        {
+            int segmentLength = Math.min(SEGMENT_MASK + 1, length - (s << SEGMENT_SHIFT));
+            mapped[s] = channel.map(writable ? MapMode.READ_WRITE : MapMode.READ_ONLY,
+                    position + ((long) s << SEGMENT_SHIFT) * Double.BYTES, (long) segmentLength * Double.BYTES);
+            segments[s] = mapped[s].order(byteOrder).asDoubleBuffer();
+        }
+        return new OffHeapDoubleArray(length, segments, mapped, !writable);
+    }
+
+    /**
+     * Allocate the segments for the values, which are all zero.
+     */
+    private void allocate()
+    {
+        this.segments = new DoubleBuffer[(int) (((long) this.length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int s = 0; s < this.segments.length; s++)
+        {
+            int segmentLength = Math.min(SEGMENT_MASK + 1, this.length - (s << SEGMENT_SHIFT));
+            this.segments[s] =
+                    ByteBuffer.allocateDirect(segmentLength * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Return the number of values in the array.
+     * @return int; the number of values in the array
+     */
+    public int length()
+    {
+        return this.length;
+    }
+
+    /**
+     * Return one value of the array.
+     * @param index int; the index of the value
+     * @return double; the value at the index
+     */
+    public double get(final int index)
+    {
+        return this.segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+    }
+
+    /**
+     * Set one value of the array.
+     * @param index int; the index of the value
+     * @param value double; the new value at the index
+     */
+    public void set(final int index, final double value)
+    {
+        this.segments[index >>> SEGMENT_SHIFT].put(index & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Copy a range of values of this array into a heap array.
+     * @param from int; the index of the first value to copy
+     * @param target double[]; the array to copy the values into
+     * @param offset int; the position in the target array of the first value
+     * @param count int; the number of values to copy
+     */
+    public void get(final int from, final double[] target, final int offset, final int count)
+    {
+        int done = 0;
+        while (done < count)
+        {
+            int index = from + done;
+            int chunk = Math.min(count - done, SEGMENT_MASK + 1 - (index & SEGMENT_MASK));
+            DoubleBuffer view = this.segments[index >>> SEGMENT_SHIFT].duplicate();
+            ((Buffer) view).position(index & SEGMENT_MASK);
+            view.get(target, offset + done, chunk);
+            done += chunk;
+        }
+    }
+
+    /**
+     * Copy the values of a heap array into a range of this array.
+     * @param from int; the index in this array of the first value to copy
+     * @param source double[]; the array with the values to copy
+     * @param offset int; the position in the source array of the first value
+     * @param count int; the number of values to copy
+     */
+    public void put(final int from, final double[] source, final int offset, final int count)
+    {
+        int done = 0;
+        while (done < count)
+        {
+            int index = from + done;
+            int chunk = Math.min(count - done, SEGMENT_MASK + 1 - (index & SEGMENT_MASK));
+            DoubleBuffer view = this.segments[index >>> SEGMENT_SHIFT].duplicate();
+            ((Buffer) view).position(index & SEGMENT_MASK);
+            view.put(source, offset + done, chunk);
+            done += chunk;
+        }
+    }
+
+    /**
+     * Create a new off-heap array with the same values as this array.
+     * @return OffHeapDoubleArray; a deep copy of this array
+     */
+    public OffHeapDoubleArray copy()
+    {
+        OffHeapDoubleArray result = new OffHeapDoubleArray(this.length);
+        for (int s = 0; s < this.segments.length; s++)
+        {
+            result.segments[s].put(this.segments[s].duplicate());
+            ((Buffer) result.segments[s]).clear();
+        }
+        return result;
+    }
+
+    /**
+     * Return whether the values of the array cannot be changed, which is the case for a read-only mapping of a file.
+     * @return boolean; whether the values of the array cannot be changed
+     */
+    public boolean isReadOnly()
+    {
+        return this.readOnly;
+    }
+
+    /**
+     * Return whether the array is mapped onto a file.
+     * @return boolean; whether the array is mapped onto a file; false after the array has been closed
+     */
+    public boolean isMapped()
+    {
+        return this.mapped != null;
+    }
+
+    /**
+     * Write the changes to the values of a writable mapping to the file on the storage device. The method has no effect when
+     * the array is not mapped onto a file, or when the mapping is read-only.
+     */
+    public void force()
+    {
+        if (this.mapped != null && !this.readOnly)
+        {
+            for (MappedByteBuffer buffer : this.mapped)
+            {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Return whether the array has been closed.
+     * @return boolean; whether the array has been closed
+     */
+    public boolean isClosed()
+    {
+        return this.segments == null;
+    }
+
+    /**
+     * Drop the buffers with the values, so the off-heap memory or the mapping of the file can be released. Closing an array
+     * more than once has no effect.
+     */
+    public void close()
+    {
+        this.segments = null;
+        this.mapped = null;
+    }
+
+    /**
+     * Write the values after the other fields, since the direct buffers themselves are not serializable.
+     * @param out ObjectOutputStream; the stream to write the object to
+     * @throws IOException on I/O error
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        out.writeBoolean(isClosed());
+        for (int i = 0; !isClosed() && i < this.length; i++)
+        {
+            out.writeDouble(get(i));
+        }
+    }
+
+    /**
+     * Read the values into newly allocated off-heap memory.
+     * @param in ObjectInputStream; the stream to read the object from
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when a class of the serialized object cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        if (!in.readBoolean())
+        {
+            allocate();
+            for (int i = 0; i < this.length; i++)
+            {
+                set(i, in.readDouble());
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "OffHeapDoubleArray [length=" + this.length + ", mapped=" + isMapped() + ", readOnly=" + this.readOnly
+                + ", closed=" + isClosed() + "]";
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.djunits.value.storage;
+
+import java.util.Arrays;
+
+/**
+ * Sorting of the unsorted write logs of the sparse builders. A builder appends each (index, value) pair to a log, so setting a
+ * value costs amortized constant time. When the builder is sealed, the log is ordered once by index, and when an index has
+ * been written more than once, only the last write is kept.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public final class SparseIndexSort
+{
+    /** Do not instantiate. */
+    private SparseIndexSort()
+    {
+        // Utility class.
+    }
+
+    /**
+     * Return the positions in the log of the entries that survive, in increasing order of their index. For an index that occurs
+     * more than once in the log, the position of the last occurrence is returned. A log that is already strictly increasing is
+     * recognized in one pass and not sorted.
+     * @param indices long[]; the indices in the log, in the order in which they were written
+     * @param count int; the number of entries in the log
+     * @return int[]; the positions in the log of the surviving entries, ordered by index
+     */
+    public static int[] lastWriteOrder(final long[] indices, final int count)
+    {
+        int[] order = new int[count];
+        boolean sorted = true;
+        for (int i = 0; i < count; i++)
+        {
+            order[i] = i;
+            if (i > 0 && indices[i] <= indices[i - 1])
+            {
+                sorted = false;
+            }
+        }
+        if (sorted)
+        {
+            return order;
+        }
+
+        // bottom-up merge sort of the positions; the sort is stable, so equal indices stay in the order they were written
+        int[] from = order;
+        int[] to = new int[count];
+        for (int width = 1; width < count; width *= 2)
+        {
+            for (int low = 0; low < count; low += 2 * width)
+            {
+                int mid = Math.min(low + width, count);
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++)
+                {
+                    if (left < mid && (right >= high || indices[from[left]] <= indices[from[right]]))
+                    {
+                        to[k] = from[left++];
+                    }
+                    else
+                    {
+                        to[k] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        // keep the last write of each run of equal indices
+        int unique = 0;
+        for (int k = 0; k < count; k++)
+        {
+            if (k + 1 == count || indices[from[k + 1]] != indices[from[k]])
+            {
+                from[unique++] = from[k];
+            }
+        }
+        return unique == count ? from : Arrays.copyOf(from, unique);
+    }
+
+}
@@ -1,7 +1,7 @@
 package org.djunits.value.storage;
 
 /**
- * Possible ways to store vectors and matrices, e.g. DENSE or SPARSE.
+ * Possible ways to store vectors and matrices, e.g. DENSE, SPARSE, OFF_HEAP, CSR or CSC.
  * <p>
  * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
@@ -21,6 +21,27 @@ public enum StorageType
      * Sparse storage. Use Sparse to store large quantities of values when most are zero and larger access times are acceptable
      * and memory availability is low. Changing a zero value to a non-zero value is CPU-time-expensive
      */
-    SPARSE;
+    SPARSE,
+
+    /**
+     * Off-heap storage. Use Off-heap to store very large quantities of values outside of the Java heap, so they do not cause
+     * long garbage collection pauses and do not count against the maximum heap size. Access times are somewhat larger than for
+     * Dense. The memory is held until the data is closed.
+     */
+    OFF_HEAP,
+
+    /**
+     * Compressed sparse row storage for matrices. Use CSR to store large matrices when most values are zero and rows are
+     * retrieved or processed often; a row is retrieved in a time proportional to its number of non-zero values, and the
+     * cells of a row are found with a binary search. Vectors use Sparse storage instead.
+     */
+    CSR,
+
+    /**
+     * Compressed sparse column storage for matrices. Use CSC to store large matrices when most values are zero and columns
+     * are retrieved or processed often; a column is retrieved in a time proportional to its number of non-zero values, and
+     * the cells of a column are found with a binary search. Vectors use Sparse storage instead.
+     */
+    CSC;
 
 }
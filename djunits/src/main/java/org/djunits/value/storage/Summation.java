@@ -0,0 +1,234 @@
+package org.djunits.value.storage;
+
+/**
+ * Summation determines how the reductions of the vector and matrix data classes add up their terms, trading speed for
+ * accuracy. The terms are produced in blocks of {@link #BLOCK} values; the chunks of a reduction are summed in parallel
+ * according to the current ExecutionPolicy, and the partial sums of the chunks are combined in chunk order with the same
+ * summation algorithm. When the current ExecutionPolicy is {@link ExecutionPolicy#reproducible() reproducible}, the sums of
+ * the blocks are calculated independently and combined with the same summation algorithm, in block order, so the result does
+ * not depend on the parallelism.
+ * <p>
+ * The error of {@link #NAIVE} summation grows linearly with the number of terms, the error of {@link #PAIRWISE} summation
+ * grows with the logarithm of the number of terms at almost the same speed, and the error of {@link #KAHAN} summation does not
+ * depend on the number of terms, at the cost of four additions per term.
+ * </p>
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public enum Summation
+{
+    /** Add the terms one by one. */
+    NAIVE
+    {
+        /** {@inheritDoc} */
+        @Override
+        public double sum(final double[] values, final int from, final int to)
+        {
+            double sum = 0.0;
+            for (int i = from; i < to; i++)
+            {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double sumChunk(final int from, final int to, final Terms terms)
+        {
+            double[][] blocks = blocks(from, to);
+            double sum = 0.0;
+            for (int start = from; start < to; start += BLOCK)
+            {
+                int count = Math.min(BLOCK, to - start);
+                terms.fill(start, count, blocks[0], blocks[1]);
+                sum += sum(blocks[0], 0, count);
+            }
+            return sum;
+        }
+    },
+
+    /**
+     * Add the terms with Kahan-Babuska (Neumaier) compensated summation, which keeps track of the rounding error of each
+     * addition and adds it back at the end.
+     */
+    KAHAN
+    {
+        /** {@inheritDoc} */
+        @Override
+        public double sum(final double[] values, final int from, final int to)
+        {
+            double[] state = new double[2];
+            add(state, values, from, to);
+            return state[0] + state[1];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double sumChunk(final int from, final int to, final Terms terms)
+        {
+            double[][] blocks = blocks(from, to);
+            double[] state = new double[2];
+            for (int start = from; start < to; start += BLOCK)
+            {
+                int count = Math.min(BLOCK, to - start);
+                terms.fill(start, count, blocks[0], blocks[1]);
+                add(state, blocks[0], 0, count);
+            }
+            return state[0] + state[1];
+        }
+
+        /**
+         * Add values to a running compensated sum.
+         * @param state double[]; the running sum in state[0] and the compensation in state[1]
+         * @param values double[]; the values to add
+         * @param from int; the first index to add (inclusive)
+         * @param to int; the last index to add (exclusive)
+         */
+        private void add(final double[] state, final double[] values, final int from, final int to)
+        {
+            double sum = state[0];
+            double compensation = state[1];
+            for (int i = from; i < to; i++)
+            {
+                double value = values[i];
+                double t = sum + value;
+                if (Math.abs(sum) >= Math.abs(value))
+                {
+                    compensation += (sum - t) + value;
+                }
+                else
+                {
+                    compensation += (value - t) + sum;
+                }
+                sum = t;
+            }
+            state[0] = sum;
+            state[1] = compensation;
+        }
+    },
+
+    /**
+     * Add the terms pairwise: the sums of the two halves of the terms are calculated recursively, and added. The sums of the
+     * blocks are added pairwise as well.
+     */
+    PAIRWISE
+    {
+        /** {@inheritDoc} */
+        @Override
+        public double sum(final double[] values, final int from, final int to)
+        {
+            if (to - from <= PAIRWISE_BASE)
+            {
+                return NAIVE.sum(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            return sum(values, from, middle) + sum(values, middle, to);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double sumChunk(final int from, final int to, final Terms terms)
+        {
+            double[][] blocks = blocks(from, to);
+            double[] blockSums = new double[(to - from + BLOCK - 1) / BLOCK];
+            for (int start = from, block = 0; start < to; start += BLOCK, block++)
+            {
+                int count = Math.min(BLOCK, to - start);
+                terms.fill(start, count, blocks[0], blocks[1]);
+                blockSums[block] = sum(blocks[0], 0, count);
+            }
+            return sum(blockSums, 0, blockSums.length);
+        }
+    };
+
+    /** the number of terms that is produced at once. */
+    public static final int BLOCK = 1024;
+
+    /** the number of terms below which pairwise summation adds the terms one by one. */
+    static final int PAIRWISE_BASE = 16;
+
+    /**
+     * Calculate the sum of a range of values of an array, on the calling thread.
+     * @param values double[]; the values
+     * @param from int; the first index to add (inclusive)
+     * @param to int; the last index to add (exclusive)
+     * @return double; the sum of the values
+     */
+    public abstract double sum(double[] values, int from, int to);
+
+    /**
+     * Calculate the sum of the terms of a chunk, on the calling thread.
+     * @param from int; the index of the first term of the chunk (inclusive)
+     * @param to int; the index of the last term of the chunk (exclusive)
+     * @param terms Terms; the producer of the terms
+     * @return double; the sum of the terms of the chunk
+     */
+    abstract double sumChunk(int from, int to, Terms terms);
+
+    /**
+     * Calculate the sum of size terms. The terms are produced and summed in chunks, in parallel according to the current
+     * ExecutionPolicy, and the partial sums of the chunks are added in chunk order with this summation algorithm. When the
+     * policy is reproducible, the partial sums are those of the blocks of BLOCK terms, which do not depend on the chunks.
+     * @param size int; the number of terms
+     * @param terms Terms; the producer of the terms
+     * @return double; the sum of the terms
+     */
+    public final double sum(final int size, final Terms terms)
+    {
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        if (policy.isReproducible())
+        {
+            int blockCount = ExecutionPolicy.blockCount(size);
+            double[] blockSums = new double[blockCount];
+            policy.execute(blockCount, policy.chunks(blockCount, size), (chunk, fromBlock, toBlock) ->
+            {
+                double[][] blocks = blocks(0, size);
+                for (int block = fromBlock; block < toBlock; block++)
+                {
+                    int from = block * BLOCK;
+                    int count = Math.min(BLOCK, size - from);
+                    terms.fill(from, count, blocks[0], blocks[1]);
+                    blockSums[block] = sum(blocks[0], 0, count);
+                }
+            });
+            return sum(blockSums, 0, blockCount);
+        }
+        int chunks = policy.chunks(size, size);
+        double[] partial = new double[Math.max(1, chunks)];
+        policy.execute(size, chunks, (chunk, from, to) -> partial[chunk] = sumChunk(from, to, terms));
+        return sum(partial, 0, partial.length);
+    }
+
+    /**
+     * Allocate the block and the scratch block for the terms of a chunk.
+     * @param from int; the index of the first term of the chunk (inclusive)
+     * @param to int; the index of the last term of the chunk (exclusive)
+     * @return double[][]; the block and the scratch block
+     */
+    static double[][] blocks(final int from, final int to)
+    {
+        return new double[2][Math.min(BLOCK, to - from)];
+    }
+
+    /**
+     * Producer of the terms of a sum, in blocks.
+     */
+    @FunctionalInterface
+    public interface Terms
+    {
+        /**
+         * Store a block of terms in an array.
+         * @param from int; the index of the first term of the block
+         * @param count int; the number of terms in the block, at most BLOCK
+         * @param block double[]; the array to store the terms in, starting at position 0
+         * @param scratch double[]; an array of the same length that can be used freely while producing the terms
+         */
+        void fill(int from, int count, double[] block, double[] scratch);
+    }
+
+}
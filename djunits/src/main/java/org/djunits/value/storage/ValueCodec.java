@@ -0,0 +1,924 @@
+package org.djunits.value.storage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.djunits.Throw;
+import org.djunits.unit.SIUnit;
+import org.djunits.unit.Unit;
+import org.djunits.unit.quantity.Quantities;
+import org.djunits.unit.quantity.Quantity;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.ValueRuntimeException;
+
+/**
+ * Compact binary format for scalars, vectors and matrices, as an alternative for Java serialization when values are cached or
+ * sent between JVMs. Java serialization of a value writes the whole graph of its unit, quantity and abbreviations; this
+ * format refers to the display unit by the class name of the unit and the id of the unit, and writes the SI values as raw
+ * numbers. The layout of an encoded value is:
+ * <ul>
+ * <li>int: the magic number 0x444A5556 ("DJUV")</li>
+ * <li>byte: the version of the format, currently 1</li>
+ * <li>byte: the number of bytes per value, 8 for double values and 4 for float values</li>
+ * <li>byte: the number of dimensions, 0 for a scalar, 1 for a vector and 2 for a matrix</li>
+ * <li>byte: the storage type: 0 for DENSE, 1 for SPARSE, 2 for OFF_HEAP, 3 for CSR and 4 for CSC; 0 for a scalar</li>
+ * <li>short + UTF-8 bytes: the class name of the unit, and short + UTF-8 bytes: the id of the unit</li>
+ * <li>the shape: nothing for a scalar, int size for a vector, int rows and int cols for a matrix</li>
+ * <li>the values, which depend on the storage type:
+ * <ul>
+ * <li>scalar, DENSE and OFF_HEAP: all SI values, in row-major order for a matrix</li>
+ * <li>SPARSE: int with the number of stored values, the int (vector) or long (matrix, row * cols + col) indices of the
+ * stored values, and the SI values</li>
+ * <li>CSR and CSC: int with the number of stored values, the int pointers of the rows (CSR) or columns (CSC), the int
+ * column (CSR) or row (CSC) indices of the stored values, and the SI values</li>
+ * </ul>
+ * </li>
+ * </ul>
+ * All numbers are big-endian, as for DataOutput, also when the value is written to or read from a ByteBuffer with another
+ * byte order. Arrays are written and read in bulk; when a value is read from a ByteBuffer, the values are copied straight
+ * from the buffer into the array that becomes the storage of the data.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public final class ValueCodec
+{
+    /** the magic number at the start of an encoded value. */
+    private static final int MAGIC = 0x444A5556;
+
+    /** the version of the format. */
+    private static final byte VERSION = 1;
+
+    /** the storage types, at the position of their code in the format. */
+    private static final StorageType[] STORAGE_TYPES =
+            {StorageType.DENSE, StorageType.SPARSE, StorageType.OFF_HEAP, StorageType.CSR, StorageType.CSC};
+
+    /** the number of bytes in the buffer for bulk transfers to and from a DataOutput or DataInput. */
+    private static final int SCRATCH_BYTES = 1 << 13;
+
+    /** the number of values of an array that is read from a DataInput before the array grows with the values read. */
+    private static final int INITIAL_VALUES = 1 << 16;
+
+    /** Do not instantiate. */
+    private ValueCodec()
+    {
+        // Utility class.
+    }
+
+    /**
+     * Return an output that writes an encoded value to a DataOutput, e.g., a DataOutputStream.
+     * @param out DataOutput; the DataOutput to write to
+     * @return Output; an output that writes to the DataOutput
+     * @throws NullPointerException when out is null
+     */
+    public static Output output(final DataOutput out)
+    {
+        Throw.whenNull(out, "out cannot be null");
+        return new DataOutputOutput(out);
+    }
+
+    /**
+     * Return an output that writes an encoded value to a ByteBuffer, starting at its position. The position of the buffer is
+     * advanced over the bytes that are written.
+     * @param buffer ByteBuffer; the buffer to write to
+     * @return Output; an output that writes to the buffer
+     * @throws NullPointerException when buffer is null
+     */
+    public static Output output(final ByteBuffer buffer)
+    {
+        Throw.whenNull(buffer, "buffer cannot be null");
+        return new ByteBufferOutput(buffer);
+    }
+
+    /**
+     * Return an input that reads an encoded value from a DataInput, e.g., a DataInputStream.
+     * @param in DataInput; the DataInput to read from
+     * @return Input; an input that reads from the DataInput
+     * @throws NullPointerException when in is null
+     */
+    public static Input input(final DataInput in)
+    {
+        Throw.whenNull(in, "in cannot be null");
+        return new DataInputInput(in);
+    }
+
+    /**
+     * Return an input that reads an encoded value from a ByteBuffer, starting at its position. The position of the buffer is
+     * advanced over the bytes that are read.
+     * @param buffer ByteBuffer; the buffer to read from
+     * @return Input; an input that reads from the buffer
+     * @throws NullPointerException when buffer is null
+     */
+    public static Input input(final ByteBuffer buffer)
+    {
+        Throw.whenNull(buffer, "buffer cannot be null");
+        return new ByteBufferInput(buffer);
+    }
+
+    /**
+     * Writes the parts of an encoded value. The header and the unit are written first, followed by the shape and the values
+     * of the value.
+     */
+    public abstract static class Output
+    {
+        /** Only subclasses in ValueCodec. */
+        Output()
+        {
+            // package-private constructor
+        }
+
+        /**
+         * Write the header of an encoded value.
+         * @param valueBytes int; the number of bytes per value, 8 for double values and 4 for float values
+         * @param dimensions int; the number of dimensions, 0 for a scalar, 1 for a vector and 2 for a matrix
+         * @param storageType StorageType; the storage type of the data
+         * @throws IOException on I/O error
+         * @throws NullPointerException when storageType is null
+         */
+        public final void writeHeader(final int valueBytes, final int dimensions, final StorageType storageType)
+                throws IOException
+        {
+            Throw.whenNull(storageType, "storageType cannot be null");
+            writeInt(MAGIC);
+            writeBytes(new byte[] {VERSION, (byte) valueBytes, (byte) dimensions, (byte) code(storageType)}, 4);
+        }
+
+        /**
+         * Write a reference to a unit: the class name of the unit and the id of the unit.
+         * @param unit Unit&lt;?&gt;; the unit to write
+         * @throws IOException on I/O error
+         * @throws NullPointerException when unit is null
+         */
+        public final void writeUnit(final Unit<?> unit) throws IOException
+        {
+            Throw.whenNull(unit, "unit cannot be null");
+            for (String name : new String[] {unit.getClass().getName(), unit.getId()})
+            {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                Throw.when(bytes.length > Short.MAX_VALUE, ValueRuntimeException.class, "ValueCodec: unit name or id too long");
+                writeShort(bytes.length);
+                writeBytes(bytes, bytes.length);
+            }
+        }
+
+        /**
+         * Write a short value.
+         * @param value int; the value to write, of which the lowest 16 bits are written
+         * @throws IOException on I/O error
+         */
+        public abstract void writeShort(int value) throws IOException;
+
+        /**
+         * Write an int value.
+         * @param value int; the value to write
+         * @throws IOException on I/O error
+         */
+        public abstract void writeInt(int value) throws IOException;
+
+        /**
+         * Write a double value.
+         * @param value double; the value to write
+         * @throws IOException on I/O error
+         */
+        public abstract void writeDouble(double value) throws IOException;
+
+        /**
+         * Write a float value.
+         * @param value float; the value to write
+         * @throws IOException on I/O error
+         */
+        public abstract void writeFloat(float value) throws IOException;
+
+        /**
+         * Write a number of bytes.
+         * @param values byte[]; the array with the bytes
+         * @param count int; the number of bytes to write, starting at the first byte of the array
+         * @throws IOException on I/O error
+         */
+        abstract void writeBytes(byte[] values, int count) throws IOException;
+
+        /**
+         * Write a number of int values in bulk.
+         * @param values int[]; the array with the values
+         * @param count int; the number of values to write, starting at the first value of the array
+         * @throws IOException on I/O error
+         */
+        public abstract void writeInts(int[] values, int count) throws IOException;
+
+        /**
+         * Write a number of long values in bulk.
+         * @param values long[]; the array with the values
+         * @param count int; the number of values to write, starting at the first value of the array
+         * @throws IOException on I/O error
+         */
+        public abstract void writeLongs(long[] values, int count) throws IOException;
+
+        /**
+         * Write a number of double values in bulk.
+         * @param values double[]; the array with the values
+         * @param count int; the number of values to write, starting at the first value of the array
+         * @throws IOException on I/O error
+         */
+        public abstract void writeDoubles(double[] values, int count) throws IOException;
+
+        /**
+         * Write a number of float values in bulk.
+         * @param values float[]; the array with the values
+         * @param count int; the number of values to write, starting at the first value of the array
+         * @throws IOException on I/O error
+         */
+        public abstract void writeFloats(float[] values, int count) throws IOException;
+    }
+
+    /**
+     * Reads the parts of an encoded value, in the order in which they have been written by an Output.
+     */
+    public abstract static class Input
+    {
+        /** Only subclasses in ValueCodec. */
+        Input()
+        {
+            // package-private constructor
+        }
+
+        /**
+         * Read the header of an encoded value, and check that it holds a value of the expected type.
+         * @param valueBytes int; the expected number of bytes per value, 8 for double values and 4 for float values
+         * @param dimensions int; the expected number of dimensions, 0 for a scalar, 1 for a vector and 2 for a matrix
+         * @return StorageType; the storage type of the encoded data
+         * @throws IOException on I/O error, when the header is not valid, or when the value is not of the expected type
+         */
+        public final StorageType readHeader(final int valueBytes, final int dimensions) throws IOException
+        {
+            if (readInt() != MAGIC)
+            {
+                throw new IOException("ValueCodec: data does not start with an encoded djunits value");
+            }
+            byte[] header = readBytes(4);
+            if (header[0] != VERSION)
+            {
+                throw new IOException("ValueCodec: unsupported format version " + header[0]);
+            }
+            if (header[1] != valueBytes || header[2] != dimensions)
+            {
+                throw new IOException("ValueCodec: expected " + dimensions + "-dimensional data with " + valueBytes
+                        + " bytes per value, got " + header[2] + "-dimensional data with " + header[1] + " bytes per value");
+            }
+            if (header[3] < 0 || header[3] >= STORAGE_TYPES.length)
+            {
+                throw new IOException("ValueCodec: unknown storage type " + header[3]);
+            }
+            return STORAGE_TYPES[header[3]];
+        }
+
+        /**
+         * Read a reference to a unit, and look up the unit. The class of the unit is loaded when needed, so its units are
+         * registered.
+         * @return Unit&lt;?&gt;; the unit
+         * @throws IOException on I/O error, or when the unit cannot be found
+         */
+        public final Unit<?> readUnit() throws IOException
+        {
+            String unitClassName = readString();
+            String unitId = readString();
+            try
+            {
+                if (SIUnit.class.getName().equals(unitClassName))
+                {
+                    return SIUnit.of(unitId);
+                }
+                String simpleName = unitClassName.substring(unitClassName.lastIndexOf('.') + 1);
+                Quantity<?> quantity = Quantities.INSTANCE.getQuantity(simpleName);
+                if (quantity == null)
+                {
+                    // only initialize the class, which registers its units, when it is a unit class
+                    Class<?> unitClass = Class.forName(unitClassName, false, ValueCodec.class.getClassLoader());
+                    if (!Unit.class.isAssignableFrom(unitClass))
+                    {
+                        throw new IOException("ValueCodec: " + unitClassName + " is not a unit class");
+                    }
+                    Class.forName(unitClassName, true, unitClass.getClassLoader());
+                    quantity = Quantities.INSTANCE.getQuantity(simpleName);
+                }
+                Unit<?> unit = quantity == null ? null : quantity.getUnitById(unitId);
+                if (unit == null)
+                {
+                    throw new IOException("ValueCodec: unit " + unitId + " of " + unitClassName + " not found");
+                }
+                return unit;
+            }
+            catch (ClassNotFoundException | UnitException exception)
+            {
+                throw new IOException("ValueCodec: unit " + unitId + " of " + unitClassName + " not found", exception);
+            }
+        }
+
+        /**
+         * Read a number of values or cells, and check that it is not negative.
+         * @return int; the number
+         * @throws IOException on I/O error, or when the number is negative
+         */
+        public final int readCount() throws IOException
+        {
+            int count = readInt();
+            if (count < 0)
+            {
+                throw new IOException("ValueCodec: corrupt data, negative size " + count);
+            }
+            return count;
+        }
+
+        /**
+         * Read a string that is stored as a short with its length, followed by its UTF-8 bytes.
+         * @return String; the string
+         * @throws IOException on I/O error
+         */
+        private String readString() throws IOException
+        {
+            return new String(readBytes(readShort() & 0xFFFF), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Read a short value.
+         * @return short; the value
+         * @throws IOException on I/O error
+         */
+        public abstract short readShort() throws IOException;
+
+        /**
+         * Read an int value.
+         * @return int; the value
+         * @throws IOException on I/O error
+         */
+        public abstract int readInt() throws IOException;
+
+        /**
+         * Read a double value.
+         * @return double; the value
+         * @throws IOException on I/O error
+         */
+        public abstract double readDouble() throws IOException;
+
+        /**
+         * Read a float value.
+         * @return float; the value
+         * @throws IOException on I/O error
+         */
+        public abstract float readFloat() throws IOException;
+
+        /**
+         * Read a number of bytes into a new array.
+         * @param count int; the number of bytes to read
+         * @return byte[]; an array with the bytes
+         * @throws IOException on I/O error
+         */
+        abstract byte[] readBytes(int count) throws IOException;
+
+        /**
+         * Read a number of int values in bulk into a new array.
+         * @param count int; the number of values to read
+         * @return int[]; an array with the values
+         * @throws IOException on I/O error
+         */
+        public abstract int[] readInts(int count) throws IOException;
+
+        /**
+         * Read a number of long values in bulk into a new array.
+         * @param count int; the number of values to read
+         * @return long[]; an array with the values
+         * @throws IOException on I/O error
+         */
+        public abstract long[] readLongs(int count) throws IOException;
+
+        /**
+         * Read a number of double values in bulk into a new array.
+         * @param count int; the number of values to read
+         * @return double[]; an array with the values
+         * @throws IOException on I/O error
+         */
+        public abstract double[] readDoubles(int count) throws IOException;
+
+        /**
+         * Read a number of float values in bulk into a new array.
+         * @param count int; the number of values to read
+         * @return float[]; an array with the values
+         * @throws IOException on I/O error
+         */
+        public abstract float[] readFloats(int count) throws IOException;
+    }
+
+    /**
+     * Return the code of a storage type in the format.
+     * @param storageType StorageType; the storage type
+     * @return int; the code of the storage type
+     */
+    private static int code(final StorageType storageType)
+    {
+        for (int code = 0; code < STORAGE_TYPES.length; code++)
+        {
+            if (STORAGE_TYPES[code] == storageType)
+            {
+                return code;
+            }
+        }
+        throw new ValueRuntimeException("ValueCodec: unknown storage type " + storageType);
+    }
+
+    /**
+     * Output that writes to a DataOutput. Arrays are converted to bytes in a scratch buffer, which is written in one call.
+     */
+    private static final class DataOutputOutput extends Output
+    {
+        /** the DataOutput to write to. */
+        private final DataOutput out;
+
+        /** the scratch buffer for the bulk transfers, created when it is first needed. */
+        private ByteBuffer scratch;
+
+        /**
+         * Create an output that writes to a DataOutput.
+         * @param out DataOutput; the DataOutput to write to
+         */
+        DataOutputOutput(final DataOutput out)
+        {
+            this.out = out;
+        }
+
+        /**
+         * Return the cleared scratch buffer.
+         * @return ByteBuffer; the cleared scratch buffer
+         */
+        private ByteBuffer scratch()
+        {
+            if (this.scratch == null)
+            {
+                this.scratch = ByteBuffer.allocate(SCRATCH_BYTES);
+            }
+            ((Buffer) this.scratch).clear();
+            return this.scratch;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeShort(final int value) throws IOException
+        {
+            this.out.writeShort(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeInt(final int value) throws IOException
+        {
+            this.out.writeInt(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeDouble(final double value) throws IOException
+        {
+            this.out.writeDouble(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeFloat(final float value) throws IOException
+        {
+            this.out.writeFloat(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void writeBytes(final byte[] values, final int count) throws IOException
+        {
+            this.out.write(values, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeInts(final int[] values, final int count) throws IOException
+        {
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Integer.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Integer.BYTES);
+                scratch().asIntBuffer().put(values, from, n);
+                this.out.write(this.scratch.array(), 0, n * Integer.BYTES);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeLongs(final long[] values, final int count) throws IOException
+        {
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Long.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Long.BYTES);
+                scratch().asLongBuffer().put(values, from, n);
+                this.out.write(this.scratch.array(), 0, n * Long.BYTES);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeDoubles(final double[] values, final int count) throws IOException
+        {
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Double.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Double.BYTES);
+                scratch().asDoubleBuffer().put(values, from, n);
+                this.out.write(this.scratch.array(), 0, n * Double.BYTES);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeFloats(final float[] values, final int count) throws IOException
+        {
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Float.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Float.BYTES);
+                scratch().asFloatBuffer().put(values, from, n);
+                this.out.write(this.scratch.array(), 0, n * Float.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Output that writes to a ByteBuffer. The values are written to a big-endian view of the buffer, after which the position
+     * of the buffer is advanced.
+     */
+    private static final class ByteBufferOutput extends Output
+    {
+        /** the buffer to write to. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an output that writes to a ByteBuffer.
+         * @param buffer ByteBuffer; the buffer to write to
+         */
+        ByteBufferOutput(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Return a big-endian view of the buffer from its position, and advance the position of the buffer.
+         * @param bytes int; the number of bytes that will be written
+         * @return ByteBuffer; a big-endian view of the buffer from its position
+         * @throws BufferOverflowException when the buffer has fewer bytes remaining
+         */
+        private ByteBuffer advance(final int bytes)
+        {
+            if (bytes > this.buffer.remaining())
+            {
+                throw new BufferOverflowException();
+            }
+            ByteBuffer view = this.buffer.slice();
+            ((Buffer) this.buffer).position(this.buffer.position() + bytes);
+            return view;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeShort(final int value)
+        {
+            advance(Short.BYTES).putShort((short) value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeInt(final int value)
+        {
+            advance(Integer.BYTES).putInt(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeDouble(final double value)
+        {
+            advance(Double.BYTES).putDouble(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeFloat(final float value)
+        {
+            advance(Float.BYTES).putFloat(value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void writeBytes(final byte[] values, final int count)
+        {
+            advance(count).put(values, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeInts(final int[] values, final int count)
+        {
+            advance(Math.multiplyExact(count, Integer.BYTES)).asIntBuffer().put(values, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeLongs(final long[] values, final int count)
+        {
+            advance(Math.multiplyExact(count, Long.BYTES)).asLongBuffer().put(values, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeDoubles(final double[] values, final int count)
+        {
+            advance(Math.multiplyExact(count, Double.BYTES)).asDoubleBuffer().put(values, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeFloats(final float[] values, final int count)
+        {
+            advance(Math.multiplyExact(count, Float.BYTES)).asFloatBuffer().put(values, 0, count);
+        }
+    }
+
+    /**
+     * Input that reads from a DataInput. Arrays are read as bytes into a scratch buffer, from which they are converted in bulk.
+     * Since the remaining length of a DataInput is not known, arrays start at a bounded length and grow while their values
+     * are read, so a corrupt count ends with an EOFException rather than with the allocation of a huge array.
+     */
+    private static final class DataInputInput extends Input
+    {
+        /** the DataInput to read from. */
+        private final DataInput in;
+
+        /** the scratch buffer for the bulk transfers, created when it is first needed. */
+        private ByteBuffer scratch;
+
+        /**
+         * Create an input that reads from a DataInput.
+         * @param in DataInput; the DataInput to read from
+         */
+        DataInputInput(final DataInput in)
+        {
+            this.in = in;
+        }
+
+        /**
+         * Read a number of bytes into the scratch buffer.
+         * @param bytes int; the number of bytes to read, at most the size of the scratch buffer
+         * @return ByteBuffer; the scratch buffer, with the bytes from its start
+         * @throws IOException on I/O error
+         */
+        private ByteBuffer fill(final int bytes) throws IOException
+        {
+            if (this.scratch == null)
+            {
+                this.scratch = ByteBuffer.allocate(SCRATCH_BYTES);
+            }
+            this.in.readFully(this.scratch.array(), 0, bytes);
+            ((Buffer) this.scratch).clear();
+            return this.scratch;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public short readShort() throws IOException
+        {
+            return this.in.readShort();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int readInt() throws IOException
+        {
+            return this.in.readInt();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double readDouble() throws IOException
+        {
+            return this.in.readDouble();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public float readFloat() throws IOException
+        {
+            return this.in.readFloat();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        byte[] readBytes(final int count) throws IOException
+        {
+            byte[] result = new byte[count];
+            this.in.readFully(result);
+            return result;
+        }
+
+        /**
+         * Return the length of an array that needs to hold more values than it can; at most the number of values to read.
+         * @param length int; the current length of the array, 0 when it has not been created yet
+         * @param count int; the number of values to read
+         * @return int; the new length of the array
+         */
+        private static int grow(final int length, final int count)
+        {
+            return length == 0 ? Math.min(count, INITIAL_VALUES) : (int) Math.min(count, 2L * length);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int[] readInts(final int count) throws IOException
+        {
+            int[] result = new int[grow(0, count)];
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Integer.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Integer.BYTES);
+                if (from + n > result.length)
+                {
+                    result = Arrays.copyOf(result, grow(result.length, count));
+                }
+                fill(n * Integer.BYTES).asIntBuffer().get(result, from, n);
+            }
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long[] readLongs(final int count) throws IOException
+        {
+            long[] result = new long[grow(0, count)];
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Long.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Long.BYTES);
+                if (from + n > result.length)
+                {
+                    result = Arrays.copyOf(result, grow(result.length, count));
+                }
+                fill(n * Long.BYTES).asLongBuffer().get(result, from, n);
+            }
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] readDoubles(final int count) throws IOException
+        {
+            double[] result = new double[grow(0, count)];
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Double.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Double.BYTES);
+                if (from + n > result.length)
+                {
+                    result = Arrays.copyOf(result, grow(result.length, count));
+                }
+                fill(n * Double.BYTES).asDoubleBuffer().get(result, from, n);
+            }
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] readFloats(final int count) throws IOException
+        {
+            float[] result = new float[grow(0, count)];
+            for (int from = 0; from < count; from += SCRATCH_BYTES / Float.BYTES)
+            {
+                int n = Math.min(count - from, SCRATCH_BYTES / Float.BYTES);
+                if (from + n > result.length)
+                {
+                    result = Arrays.copyOf(result, grow(result.length, count));
+                }
+                fill(n * Float.BYTES).asFloatBuffer().get(result, from, n);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Input that reads from a ByteBuffer. The values are read from a big-endian view of the buffer, after which the position
+     * of the buffer is advanced; arrays are copied in bulk from the buffer into the new array.
+     */
+    private static final class ByteBufferInput extends Input
+    {
+        /** the buffer to read from. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an input that reads from a ByteBuffer.
+         * @param buffer ByteBuffer; the buffer to read from
+         */
+        ByteBufferInput(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Return a big-endian view of the buffer from its position, and advance the position of the buffer.
+         * @param count int; the number of values that will be read
+         * @param bytes int; the number of bytes per value
+         * @return ByteBuffer; a big-endian view of the buffer from its position
+         * @throws IOException when the buffer has fewer bytes remaining
+         */
+        private ByteBuffer advance(final int count, final int bytes) throws IOException
+        {
+            if ((long) count * bytes > this.buffer.remaining())
+            {
+                throw new IOException("ValueCodec: unexpected end of buffer");
+            }
+            ByteBuffer view = this.buffer.slice();
+            ((Buffer) this.buffer).position(this.buffer.position() + count * bytes);
+            return view;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public short readShort() throws IOException
+        {
+            return advance(1, Short.BYTES).getShort();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int readInt() throws IOException
+        {
+            return advance(1, Integer.BYTES).getInt();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double readDouble() throws IOException
+        {
+            return advance(1, Double.BYTES).getDouble();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public float readFloat() throws IOException
+        {
+            return advance(1, Float.BYTES).getFloat();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        byte[] readBytes(final int count) throws IOException
+        {
+            ByteBuffer view = advance(count, 1);
+            byte[] result = new byte[count];
+            view.get(result);
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int[] readInts(final int count) throws IOException
+        {
+            ByteBuffer view = advance(count, Integer.BYTES);
+            int[] result = new int[count];
+            view.asIntBuffer().get(result);
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long[] readLongs(final int count) throws IOException
+        {
+            ByteBuffer view = advance(count, Long.BYTES);
+            long[] result = new long[count];
+            view.asLongBuffer().get(result);
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] readDoubles(final int count) throws IOException
+        {
+            ByteBuffer view = advance(count, Double.BYTES);
+            double[] result = new double[count];
+            view.asDoubleBuffer().get(result);
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] readFloats(final int count) throws IOException
+        {
+            ByteBuffer view = advance(count, Float.BYTES);
+            float[] result = new float[count];
+            view.asFloatBuffer().get(result);
+            return result;
+        }
+    }
+
+}
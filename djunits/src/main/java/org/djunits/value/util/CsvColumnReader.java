@@ -0,0 +1,610 @@
+package org.djunits.value.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.unit.quantity.Quantity;
+import org.djunits.unit.scale.Scale;
+import org.djunits.value.storage.ExecutionPolicy;
+
+/**
+ * CsvColumnReader streams the numbers of one column of a CSV file, and converts them to SI values. The header of the column
+ * names the unit of the column between square brackets, e.g., <code>speed [km/h]</code>; the unit is resolved once, and the
+ * scale of the unit is applied to each number as it is parsed. The column is selected by its name without the unit, or by
+ * its full header.
+ * <p>
+ * The file is read in windows of a fixed number of bytes, so the memory that the reader uses does not depend on the size of
+ * the file. The lines of a window are parsed in parallel chunks with the {@link ExecutionPolicy#current() current execution
+ * policy}, and the SI values of each window are handed to a {@link ColumnSink} in the order of the file. The numbers are
+ * parsed from the bytes of the window, so the file should use an encoding that is compatible with ASCII, such as UTF-8.
+ * Blank lines are skipped; an empty field results in NaN. Fields can be surrounded by double quotes, but they cannot contain
+ * the delimiter or line breaks.
+ * </p>
+ * <p>
+ * Copyright (c) 2015-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @param <U> the unit type
+ */
+public final class CsvColumnReader<U extends Unit<U>>
+{
+    /** the default number of bytes of a window. */
+    public static final int DEFAULT_WINDOW = 1 << 23;
+
+    /** the minimum number of bytes of a window. */
+    private static final int MIN_WINDOW = 64;
+
+    /** the stream to read from. */
+    private final InputStream in;
+
+    /** the delimiter of the fields. */
+    private final byte delimiter;
+
+    /** the name of the column, for error messages. */
+    private final String column;
+
+    /** the index of the column among the fields of a line. */
+    private final int columnIndex;
+
+    /** the unit of the column. */
+    private final U unit;
+
+    /** the scale of the unit of the column. */
+    private final Scale scale;
+
+    /** the bytes of the current window. */
+    private byte[] window;
+
+    /** the number of bytes in the window. */
+    private int filled = 0;
+
+    /** whether the end of the stream has been reached. */
+    private boolean endOfStream = false;
+
+    /** the number of rows that have been read. */
+    private long rows = 0;
+
+    /** the SI values of the current window. */
+    private double[] values = new double[0];
+
+    /**
+     * Read the header of a CSV file with comma-separated fields, and locate a column.
+     * @param in InputStream; the stream to read from; it is not closed by the reader
+     * @param column String; the name of the column without the unit, or the full header of the column
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit of the column in, e.g., SpeedUnit.BASE
+     * @return CsvColumnReader&lt;U&gt;; a reader that is positioned at the first row
+     * @throws IOException on I/O error, when the column is not in the header, or when its unit cannot be resolved
+     * @throws NullPointerException when in, column or quantity is null
+     * @param <U> the unit type
+     */
+    public static <U extends Unit<U>> CsvColumnReader<U> open(final InputStream in, final String column,
+            final Quantity<U> quantity) throws IOException
+    {
+        return open(in, column, quantity, ',', DEFAULT_WINDOW);
+    }
+
+    /**
+     * Read the header of a CSV file, and locate a column.
+     * @param in InputStream; the stream to read from; it is not closed by the reader
+     * @param column String; the name of the column without the unit, or the full header of the column
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit of the column in, e.g., SpeedUnit.BASE
+     * @param delimiter char; the delimiter of the fields, an ASCII character such as ',', ';' or '\t'
+     * @param windowSize int; the number of bytes of a window; a window grows when it cannot hold a single line
+     * @return CsvColumnReader&lt;U&gt;; a reader that is positioned at the first row
+     * @throws IOException on I/O error, when the column is not in the header, or when its unit cannot be resolved
+     * @throws NullPointerException when in, column or quantity is null
+     * @throws IllegalArgumentException when the delimiter is not an ASCII character, a line break or a double quote, or when
+     *             the window size is less than 64
+     * @param <U> the unit type
+     */
+    public static <U extends Unit<U>> CsvColumnReader<U> open(final InputStream in, final String column,
+            final Quantity<U> quantity, final char delimiter, final int windowSize) throws IOException
+    {
+        Throw.whenNull(in, "in cannot be null");
+        Throw.whenNull(column, "column cannot be null");
+        Throw.whenNull(quantity, "quantity cannot be null");
+        Throw.when(delimiter > 0x7F || delimiter == '\n' || delimiter == '\r' || delimiter == '"',
+                IllegalArgumentException.class, "invalid delimiter %s", delimiter);
+        Throw.when(windowSize < MIN_WINDOW, IllegalArgumentException.class, "window size %d < %d", windowSize, MIN_WINDOW);
+        return new CsvColumnReader<>(in, column, quantity, delimiter, windowSize);
+    }
+
+    /**
+     * Read the header of a CSV file, and locate a column.
+     * @param in InputStream; the stream to read from
+     * @param column String; the name of the column without the unit, or the full header of the column
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit of the column in
+     * @param delimiter char; the delimiter of the fields
+     * @param windowSize int; the number of bytes of a window
+     * @throws IOException on I/O error, when the column is not in the header, or when its unit cannot be resolved
+     */
+    private CsvColumnReader(final InputStream in, final String column, final Quantity<U> quantity, final char delimiter,
+            final int windowSize) throws IOException
+    {
+        this.in = in;
+        this.delimiter = (byte) delimiter;
+        this.column = column;
+        this.window = new byte[windowSize];
+
+        fill();
+        int headerEnd = lineEnd(0, this.filled);
+        while (headerEnd == this.filled && !this.endOfStream)
+        {
+            // the header does not fit in the window
+            this.window = Arrays.copyOf(this.window, 2 * this.window.length);
+            fill();
+            headerEnd = lineEnd(0, this.filled);
+        }
+        String header = new String(this.window, 0, headerEnd, StandardCharsets.UTF_8);
+        if (header.startsWith("\uFEFF"))
+        {
+            header = header.substring(1);
+        }
+        consume(Math.min(headerEnd + 1, this.filled));
+
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= header.length(); i++)
+        {
+            if (i == header.length() || header.charAt(i) == delimiter)
+            {
+                fields.add(unquote(header.substring(start, i).trim()));
+                start = i + 1;
+            }
+        }
+        String abbreviation = null;
+        int index = -1;
+        for (int i = 0; i < fields.size() && index < 0; i++)
+        {
+            String field = fields.get(i);
+            int open = field.lastIndexOf('[');
+            String name = open >= 0 && field.endsWith("]") ? field.substring(0, open).trim() : field;
+            if (name.equals(column) || field.equals(column))
+            {
+                index = i;
+                abbreviation = open >= 0 && field.endsWith("]") ? field.substring(open + 1, field.length() - 1).trim() : null;
+            }
+        }
+        if (index < 0)
+        {
+            throw new IOException("column " + column + " not found in header " + header.trim());
+        }
+        if (abbreviation == null)
+        {
+            throw new IOException("header of column " + column + " does not name a unit between square brackets");
+        }
+        this.columnIndex = index;
+        this.unit = quantity.getUnitByAbbreviation(abbreviation);
+        if (this.unit == null)
+        {
+            throw new IOException("unit " + abbreviation + " of column " + column + " is not a unit of " + quantity.getName());
+        }
+        this.scale = this.unit.getScale();
+    }
+
+    /**
+     * Receiver of the SI values of a window.
+     */
+    @FunctionalInterface
+    public interface ColumnSink
+    {
+        /**
+         * Receive the SI values of the rows of a window.
+         * @param valuesSI double[]; the SI values; the array is reused for the next window
+         * @param count int; the number of values, at the start of the array
+         * @throws IOException on I/O error
+         */
+        void accept(double[] valuesSI, int count) throws IOException;
+    }
+
+    /**
+     * Return the unit of the column, which is resolved from the header.
+     * @return U; the unit of the column
+     */
+    public U getUnit()
+    {
+        return this.unit;
+    }
+
+    /**
+     * Return the number of rows that have been read.
+     * @return long; the number of rows that have been read
+     */
+    public long getRows()
+    {
+        return this.rows;
+    }
+
+    /**
+     * Read the remaining rows, and hand their SI values to a sink, window by window.
+     * @param sink ColumnSink; the sink for the SI values
+     * @return long; the number of rows that have been read in total
+     * @throws IOException on I/O error, when a line has too few fields, or when a field is not a number
+     * @throws NullPointerException when sink is null
+     */
+    public long read(final ColumnSink sink) throws IOException
+    {
+        Throw.whenNull(sink, "sink cannot be null");
+        while (this.filled > 0 || !this.endOfStream)
+        {
+            int lastLineEnd = fill();
+            while (lastLineEnd < 0 && !this.endOfStream)
+            {
+                // a single line does not fit in the window
+                this.window = Arrays.copyOf(this.window, 2 * this.window.length);
+                lastLineEnd = fill();
+            }
+            int end = this.endOfStream ? this.filled : lastLineEnd + 1;
+            int count = parse(end);
+            if (count > 0)
+            {
+                sink.accept(this.values, count);
+            }
+            consume(end);
+        }
+        return this.rows;
+    }
+
+    /**
+     * Read the remaining rows into an array of SI values.
+     * @return double[]; the SI values of the remaining rows
+     * @throws IOException on I/O error, when a line has too few fields, when a field is not a number, or when there are more
+     *             rows than an array can hold
+     */
+    public double[] readDoubles() throws IOException
+    {
+        double[][] result = {new double[1024]};
+        int[] size = {0};
+        read((valuesSI, count) ->
+        {
+            ensureCapacity((long) size[0] + count);
+            if (size[0] + count > result[0].length)
+            {
+                result[0] = Arrays.copyOf(result[0], (int) Math.min(Integer.MAX_VALUE - 8, Math.max(
+                        2L * result[0].length, (long) size[0] + count)));
+            }
+            System.arraycopy(valuesSI, 0, result[0], size[0], count);
+            size[0] += count;
+        });
+        return result[0].length == size[0] ? result[0] : Arrays.copyOf(result[0], size[0]);
+    }
+
+    /**
+     * Read the remaining rows into an array of SI values, rounded to float.
+     * @return float[]; the SI values of the remaining rows
+     * @throws IOException on I/O error, when a line has too few fields, when a field is not a number, or when there are more
+     *             rows than an array can hold
+     */
+    public float[] readFloats() throws IOException
+    {
+        float[][] result = {new float[1024]};
+        int[] size = {0};
+        read((valuesSI, count) ->
+        {
+            ensureCapacity((long) size[0] + count);
+            if (size[0] + count > result[0].length)
+            {
+                result[0] = Arrays.copyOf(result[0], (int) Math.min(Integer.MAX_VALUE - 8, Math.max(
+                        2L * result[0].length, (long) size[0] + count)));
+            }
+            for (int i = 0; i < count; i++)
+            {
+                result[0][size[0] + i] = (float) valuesSI[i];
+            }
+            size[0] += count;
+        });
+        return result[0].length == size[0] ? result[0] : Arrays.copyOf(result[0], size[0]);
+    }
+
+    /**
+     * Check that a number of values fits in an array.
+     * @param size long; the number of values
+     * @throws IOException when the number of values does not fit in an array
+     */
+    private void ensureCapacity(final long size) throws IOException
+    {
+        if (size > Integer.MAX_VALUE - 8)
+        {
+            throw new IOException("column " + this.column + " has too many rows for a vector");
+        }
+    }
+
+    /**
+     * Fill the window with bytes from the stream.
+     * @return int; the index of the last line feed in the window, or -1 when the window has no line feed
+     * @throws IOException on I/O error
+     */
+    private int fill() throws IOException
+    {
+        while (this.filled < this.window.length && !this.endOfStream)
+        {
+            int n = this.in.read(this.window, this.filled, this.window.length - this.filled);
+            if (n < 0)
+            {
+                this.endOfStream = true;
+            }
+            else
+            {
+                this.filled += n;
+            }
+        }
+        for (int i = this.filled - 1; i >= 0; i--)
+        {
+            if (this.window[i] == '\n')
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove bytes from the start of the window.
+     * @param length int; the number of bytes to remove
+     */
+    private void consume(final int length)
+    {
+        System.arraycopy(this.window, length, this.window, 0, this.filled - length);
+        this.filled -= length;
+    }
+
+    /**
+     * Parse the lines at the start of the window into the SI values, in parallel chunks.
+     * @param end int; the index after the last line to parse
+     * @return int; the number of rows
+     * @throws IOException when a line has too few fields, or when a field is not a number
+     */
+    private int parse(final int end) throws IOException
+    {
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(end, end);
+        int[] offsets = new int[Math.max(1, chunks) + 1];
+        policy.execute(end, chunks, (chunk, from, to) -> offsets[chunk + 1] = countRows(from, to, end));
+        for (int chunk = 0; chunk < offsets.length - 1; chunk++)
+        {
+            offsets[chunk + 1] += offsets[chunk];
+        }
+        int count = offsets[offsets.length - 1];
+        if (this.values.length < count)
+        {
+            this.values = new double[count];
+        }
+        try
+        {
+            policy.execute(end, chunks, (chunk, from, to) -> parseRows(from, to, end, offsets[chunk]));
+        }
+        catch (UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+        this.rows += count;
+        return count;
+    }
+
+    /**
+     * Return the start of the first line that starts at or after a given index.
+     * @param from int; the index to start at
+     * @param to int; the index to stop at
+     * @return int; the start of the first line at or after from, or to when no line starts before to
+     */
+    private int firstLineStart(final int from, final int to)
+    {
+        int start = from;
+        while (start > 0 && start < to && this.window[start - 1] != '\n')
+        {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Return the index of the line feed that ends a line, or the end of the window.
+     * @param start int; the start of the line
+     * @param end int; the end of the lines in the window
+     * @return int; the index of the line feed that ends the line, or end
+     */
+    private int lineEnd(final int start, final int end)
+    {
+        int i = start;
+        while (i < end && this.window[i] != '\n')
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Return whether a line only consists of whitespace.
+     * @param start int; the start of the line
+     * @param lineEnd int; the end of the line
+     * @return boolean; whether the line only consists of whitespace
+     */
+    private boolean isBlank(final int start, final int lineEnd)
+    {
+        for (int i = start; i < lineEnd; i++)
+        {
+            if ((this.window[i] & 0xFF) > ' ')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Count the rows that start in a range of the window.
+     * @param from int; the first index of the range
+     * @param to int; the index after the range
+     * @param end int; the end of the lines in the window
+     * @return int; the number of lines that are not blank and that start in the range
+     */
+    private int countRows(final int from, final int to, final int end)
+    {
+        int count = 0;
+        for (int start = firstLineStart(from, to); start < to;)
+        {
+            int lineEnd = lineEnd(start, end);
+            if (!isBlank(start, lineEnd))
+            {
+                count++;
+            }
+            start = lineEnd + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Parse the rows that start in a range of the window.
+     * @param from int; the first index of the range
+     * @param to int; the index after the range
+     * @param end int; the end of the lines in the window
+     * @param offset int; the index of the first SI value of the range
+     * @throws UncheckedIOException when a line has too few fields, or when a field is not a number
+     */
+    private void parseRows(final int from, final int to, final int end, final int offset)
+    {
+        byte[] bytes = this.window;
+        CharSequence text = new AsciiSequence(bytes);
+        int row = offset;
+        for (int start = firstLineStart(from, to); start < to;)
+        {
+            int lineEnd = lineEnd(start, end);
+            if (!isBlank(start, lineEnd))
+            {
+                int fieldStart = start;
+                int field = 0;
+                int i = start;
+                for (; i < lineEnd && (field < this.columnIndex || bytes[i] != this.delimiter); i++)
+                {
+                    if (bytes[i] == this.delimiter)
+                    {
+                        field++;
+                        fieldStart = i + 1;
+                    }
+                }
+                if (field < this.columnIndex)
+                {
+                    throw new UncheckedIOException(new IOException(
+                            "row " + (this.rows + row + 1) + " has no field for column " + this.column));
+                }
+                this.values[row] = parseField(text, fieldStart, i, row);
+                row++;
+            }
+            start = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Parse a field, and convert it to an SI value.
+     * @param text CharSequence; the text of the window
+     * @param from int; the start of the field
+     * @param to int; the end of the field
+     * @param row int; the index of the row in the window, for error messages
+     * @return double; the SI value of the field
+     * @throws UncheckedIOException when the field is not a number
+     */
+    private double parseField(final CharSequence text, final int from, final int to, final int row)
+    {
+        int start = from;
+        int end = to;
+        while (start < end && text.charAt(start) <= ' ')
+        {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ')
+        {
+            end--;
+        }
+        if (end - start >= 2 && text.charAt(start) == '"' && text.charAt(end - 1) == '"')
+        {
+            start++;
+            end--;
+        }
+        if (start == end)
+        {
+            return Double.NaN;
+        }
+        double value;
+        if (ScalarParser.scanNumber(text, start, end) == end)
+        {
+            value = ScalarParser.toDouble(text, start, end);
+        }
+        else
+        {
+            // e.g., NaN or Infinity
+            try
+            {
+                value = Double.parseDouble(text.subSequence(start, end).toString());
+            }
+            catch (NumberFormatException exception)
+            {
+                throw new UncheckedIOException(new IOException("row " + (this.rows + row + 1) + ": cannot parse "
+                        + text.subSequence(start, end) + " in column " + this.column));
+            }
+        }
+        return this.scale.isBaseSIScale() ? value : this.scale.toStandardUnit(value);
+    }
+
+    /**
+     * Remove the double quotes around a string.
+     * @param string String; the string
+     * @return String; the string without the double quotes around it
+     */
+    private static String unquote(final String string)
+    {
+        return string.length() >= 2 && string.startsWith("\"") && string.endsWith("\"")
+                ? string.substring(1, string.length() - 1).trim() : string;
+    }
+
+    /** CharSequence view of bytes with one character per byte, for parsing numbers without decoding. */
+    private static final class AsciiSequence implements CharSequence
+    {
+        /** the bytes. */
+        private final byte[] bytes;
+
+        /**
+         * @param bytes byte[]; the bytes
+         */
+        AsciiSequence(final byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int length()
+        {
+            return this.bytes.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public char charAt(final int index)
+        {
+            return (char) (this.bytes[index] & 0xFF);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CharSequence subSequence(final int start, final int end)
+        {
+            return new String(this.bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return new String(this.bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+}
@@ -0,0 +1,452 @@
+package org.djunits.value.util;
+
+import java.nio.CharBuffer;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.unit.quantity.Quantity;
+
+/**
+ * ScalarParser parses a scalar such as "12.5 km/h" in a single pass over the characters of a CharSequence or a char array,
+ * without regular expressions and without creating substrings. The text consists of a number, optionally followed by
+ * whitespace, and a unit abbreviation, with optional whitespace around it. The number is <code>[+-]?</code> followed by
+ * digits with an optional fraction, or by a fraction only, followed by an optional exponent <code>[Ee][+-]?digits</code>. The
+ * exponent is only part of the number when it has digits, so in "5Em" the number is 5 and the unit is "Em". The unit is
+ * looked up as a slice with {@link Quantity#getUnitByAbbreviation(CharSequence, int, int)}.
+ * <p>
+ * Numbers with at most 15 significant digits and an exponent with a power of ten that can be represented exactly are
+ * converted with one multiplication or division, which is correctly rounded; other numbers are converted with
+ * Double.parseDouble or Float.parseFloat.
+ * </p>
+ * <p>
+ * Copyright (c) 2015-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ */
+public final class ScalarParser
+{
+    /** the maximum number of significant digits of a double that is converted without Double.parseDouble. */
+    private static final int MAX_DOUBLE_DIGITS = 15;
+
+    /** the maximum number of significant digits of a float that is converted without Float.parseFloat. */
+    private static final int MAX_FLOAT_DIGITS = 7;
+
+    /** the powers of ten that can be represented exactly as a double. */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** the powers of ten that can be represented exactly as a float. */
+    private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    /**
+     * This class shall never be instantiated.
+     */
+    private ScalarParser()
+    {
+        // Prevent instantiation of this class
+    }
+
+    /**
+     * Factory for a double scalar, e.g., a constructor reference such as <code>Length::new</code>.
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    @FunctionalInterface
+    public interface DoubleScalarFactory<U extends Unit<U>, S>
+    {
+        /**
+         * Create a scalar.
+         * @param value double; the value in the unit
+         * @param unit U; the unit
+         * @return S; the scalar
+         */
+        S create(double value, U unit);
+    }
+
+    /**
+     * Factory for a float scalar, e.g., a constructor reference such as <code>FloatLength::new</code>.
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    @FunctionalInterface
+    public interface FloatScalarFactory<U extends Unit<U>, S>
+    {
+        /**
+         * Create a scalar.
+         * @param value float; the value in the unit
+         * @param unit U; the unit
+         * @return S; the scalar
+         */
+        S create(float value, U unit);
+    }
+
+    /**
+     * Parse a double scalar from a slice of a CharSequence.
+     * @param text CharSequence; the text to parse
+     * @param start int; the index of the first character of the scalar
+     * @param end int; the index after the last character of the scalar
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit in
+     * @param factory DoubleScalarFactory&lt;U, S&gt;; the factory for the scalar
+     * @return S; the scalar, or null when the slice does not contain a number followed by an abbreviation of the quantity
+     * @throws NullPointerException when text, quantity or factory is null
+     * @throws IndexOutOfBoundsException when start and end do not denote a slice of text
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S> S parseDouble(final CharSequence text, final int start, final int end,
+            final Quantity<U> quantity, final DoubleScalarFactory<U, S> factory)
+    {
+        Throw.whenNull(factory, "factory cannot be null");
+        int[] bounds = new int[2];
+        U unit = scan(text, start, end, quantity, bounds);
+        return unit == null ? null : factory.create(toDouble(text, bounds[0], bounds[1]), unit);
+    }
+
+    /**
+     * Parse a double scalar from a slice of a char array.
+     * @param chars char[]; the characters to parse
+     * @param offset int; the index of the first character of the scalar
+     * @param length int; the number of characters of the scalar
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit in
+     * @param factory DoubleScalarFactory&lt;U, S&gt;; the factory for the scalar
+     * @return S; the scalar, or null when the slice does not contain a number followed by an abbreviation of the quantity
+     * @throws NullPointerException when chars, quantity or factory is null
+     * @throws IndexOutOfBoundsException when offset and length do not denote a slice of chars
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S> S parseDouble(final char[] chars, final int offset, final int length,
+            final Quantity<U> quantity, final DoubleScalarFactory<U, S> factory)
+    {
+        Throw.whenNull(chars, "chars cannot be null");
+        return parseDouble(CharBuffer.wrap(chars), offset, offset + length, quantity, factory);
+    }
+
+    /**
+     * Parse a float scalar from a slice of a CharSequence.
+     * @param text CharSequence; the text to parse
+     * @param start int; the index of the first character of the scalar
+     * @param end int; the index after the last character of the scalar
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit in
+     * @param factory FloatScalarFactory&lt;U, S&gt;; the factory for the scalar
+     * @return S; the scalar, or null when the slice does not contain a number followed by an abbreviation of the quantity
+     * @throws NullPointerException when text, quantity or factory is null
+     * @throws IndexOutOfBoundsException when start and end do not denote a slice of text
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S> S parseFloat(final CharSequence text, final int start, final int end,
+            final Quantity<U> quantity, final FloatScalarFactory<U, S> factory)
+    {
+        Throw.whenNull(factory, "factory cannot be null");
+        int[] bounds = new int[2];
+        U unit = scan(text, start, end, quantity, bounds);
+        return unit == null ? null : factory.create(toFloat(text, bounds[0], bounds[1]), unit);
+    }
+
+    /**
+     * Parse a float scalar from a slice of a char array.
+     * @param chars char[]; the characters to parse
+     * @param offset int; the index of the first character of the scalar
+     * @param length int; the number of characters of the scalar
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit in
+     * @param factory FloatScalarFactory&lt;U, S&gt;; the factory for the scalar
+     * @return S; the scalar, or null when the slice does not contain a number followed by an abbreviation of the quantity
+     * @throws NullPointerException when chars, quantity or factory is null
+     * @throws IndexOutOfBoundsException when offset and length do not denote a slice of chars
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S> S parseFloat(final char[] chars, final int offset, final int length,
+            final Quantity<U> quantity, final FloatScalarFactory<U, S> factory)
+    {
+        Throw.whenNull(chars, "chars cannot be null");
+        return parseFloat(CharBuffer.wrap(chars), offset, offset + length, quantity, factory);
+    }
+
+    /**
+     * Scan the number and look up the unit of a scalar.
+     * @param text CharSequence; the text to parse
+     * @param start int; the index of the first character of the scalar
+     * @param end int; the index after the last character of the scalar
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit in
+     * @param numberBounds int[]; array of length 2 in which the start and end of the number are stored
+     * @return U; the unit, or null when the slice does not contain a number followed by an abbreviation of the quantity
+     * @param <U> the unit type
+     */
+    private static <U extends Unit<U>> U scan(final CharSequence text, final int start, final int end,
+            final Quantity<U> quantity, final int[] numberBounds)
+    {
+        Throw.whenNull(text, "text cannot be null");
+        Throw.whenNull(quantity, "quantity cannot be null");
+        Throw.when(start < 0 || start > end || end > text.length(), IndexOutOfBoundsException.class,
+                "slice [%d, %d) out of bounds for length %d", start, end, text.length());
+        int numberStart = skipWhitespace(text, start, end);
+        int numberEnd = scanNumber(text, numberStart, end);
+        if (numberEnd == numberStart)
+        {
+            return null;
+        }
+        int unitStart = skipWhitespace(text, numberEnd, end);
+        int unitEnd = end;
+        while (unitEnd > unitStart && text.charAt(unitEnd - 1) <= ' ')
+        {
+            unitEnd--;
+        }
+        numberBounds[0] = numberStart;
+        numberBounds[1] = numberEnd;
+        return quantity.getUnitByAbbreviation(text, unitStart, unitEnd);
+    }
+
+    /**
+     * Return the index of the first character that is not whitespace, in the same sense as String.trim().
+     * @param text CharSequence; the text
+     * @param start int; the index to start at
+     * @param end int; the index to stop at
+     * @return int; the index of the first character from start that is not whitespace, or end
+     */
+    private static int skipWhitespace(final CharSequence text, final int start, final int end)
+    {
+        int i = start;
+        while (i < end && text.charAt(i) <= ' ')
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Scan a number that starts at a given index.
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the number
+     * @param end int; the index to stop scanning at
+     * @return int; the index after the last character of the number, or start when there is no number at start
+     */
+    public static int scanNumber(final CharSequence text, final int start, final int end)
+    {
+        int i = start;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-'))
+        {
+            i++;
+        }
+        int integerStart = i;
+        i = skipDigits(text, i, end);
+        boolean hasDigits = i > integerStart;
+        if (i < end && text.charAt(i) == '.')
+        {
+            int fractionEnd = skipDigits(text, i + 1, end);
+            if (hasDigits || fractionEnd > i + 1)
+            {
+                hasDigits = true;
+                i = fractionEnd;
+            }
+        }
+        if (!hasDigits)
+        {
+            return start;
+        }
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E'))
+        {
+            int exponentStart = i + 1;
+            if (exponentStart < end && (text.charAt(exponentStart) == '+' || text.charAt(exponentStart) == '-'))
+            {
+                exponentStart++;
+            }
+            int exponentEnd = skipDigits(text, exponentStart, end);
+            if (exponentEnd > exponentStart)
+            {
+                i = exponentEnd;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Return the index of the first character that is not a digit.
+     * @param text CharSequence; the text
+     * @param start int; the index to start at
+     * @param end int; the index to stop at
+     * @return int; the index of the first character from start that is not a digit, or end
+     */
+    private static int skipDigits(final CharSequence text, final int start, final int end)
+    {
+        int i = start;
+        while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9')
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Convert a number that has been scanned with {@link #scanNumber(CharSequence, int, int)} to a double.
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the number
+     * @param end int; the index after the last character of the number
+     * @return double; the number, rounded to the nearest double
+     * @throws NumberFormatException when the slice is not a number
+     */
+    public static double toDouble(final CharSequence text, final int start, final int end)
+    {
+        Decimal decimal = Decimal.of(text, start, end, MAX_DOUBLE_DIGITS);
+        if (decimal != null)
+        {
+            if (decimal.mantissa == 0)
+            {
+                return decimal.negative ? -0.0 : 0.0;
+            }
+            if (Math.abs(decimal.exponent) < DOUBLE_POWERS_OF_TEN.length)
+            {
+                double value = decimal.exponent < 0 ? decimal.mantissa / DOUBLE_POWERS_OF_TEN[-decimal.exponent]
+                        : decimal.mantissa * DOUBLE_POWERS_OF_TEN[decimal.exponent];
+                return decimal.negative ? -value : value;
+            }
+        }
+        return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Convert a number that has been scanned with {@link #scanNumber(CharSequence, int, int)} to a float.
+     * @param text CharSequence; the text
+     * @param start int; the index of the first character of the number
+     * @param end int; the index after the last character of the number
+     * @return float; the number, rounded to the nearest float
+     * @throws NumberFormatException when the slice is not a number
+     */
+    public static float toFloat(final CharSequence text, final int start, final int end)
+    {
+        Decimal decimal = Decimal.of(text, start, end, MAX_FLOAT_DIGITS);
+        if (decimal != null)
+        {
+            if (decimal.mantissa == 0)
+            {
+                return decimal.negative ? -0.0f : 0.0f;
+            }
+            if (Math.abs(decimal.exponent) < FLOAT_POWERS_OF_TEN.length)
+            {
+                float value = decimal.exponent < 0 ? decimal.mantissa / FLOAT_POWERS_OF_TEN[-decimal.exponent]
+                        : decimal.mantissa * FLOAT_POWERS_OF_TEN[decimal.exponent];
+                return decimal.negative ? -value : value;
+            }
+        }
+        return Float.parseFloat(text.subSequence(start, end).toString());
+    }
+
+    /** A number as a sign, an integer mantissa and a power of ten. */
+    private static final class Decimal
+    {
+        /** whether the number is negative. */
+        private final boolean negative;
+
+        /** the significant digits. */
+        private final long mantissa;
+
+        /** the power of ten to multiply the mantissa with. */
+        private final int exponent;
+
+        /**
+         * @param negative boolean; whether the number is negative
+         * @param mantissa long; the significant digits
+         * @param exponent int; the power of ten to multiply the mantissa with
+         */
+        private Decimal(final boolean negative, final long mantissa, final int exponent)
+        {
+            this.negative = negative;
+            this.mantissa = mantissa;
+            this.exponent = exponent;
+        }
+
+        /**
+         * Decompose a number into its sign, mantissa and exponent.
+         * @param text CharSequence; the text
+         * @param start int; the index of the first character of the number
+         * @param end int; the index after the last character of the number
+         * @param maxDigits int; the maximum number of significant digits
+         * @return Decimal; the decomposed number, or null when it has more significant digits than maxDigits, an exponent
+         *         that does not fit an int, or a syntax that should be handled by the parse methods of Double and Float
+         */
+        private static Decimal of(final CharSequence text, final int start, final int end, final int maxDigits)
+        {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-'))
+            {
+                negative = text.charAt(i) == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean fraction = false;
+            boolean hasDigits = false;
+            for (; i < end; i++)
+            {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9')
+                {
+                    hasDigits = true;
+                    if (mantissa == 0 && c == '0')
+                    {
+                        // leading zero
+                    }
+                    else if (++digits > maxDigits)
+                    {
+                        return null;
+                    }
+                    else
+                    {
+                        mantissa = 10 * mantissa + (c - '0');
+                    }
+                    if (fraction)
+                    {
+                        exponent--;
+                    }
+                }
+                else if (c == '.' && !fraction)
+                {
+                    fraction = true;
+                }
+                else
+                {
+                    break;
+                }
+            }
+            if (!hasDigits)
+            {
+                return null;
+            }
+            if (i < end)
+            {
+                if (text.charAt(i) != 'e' && text.charAt(i) != 'E')
+                {
+                    return null;
+                }
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-'))
+                {
+                    negativeExponent = text.charAt(i) == '-';
+                    i++;
+                }
+                if (i == end || end - i > 9)
+                {
+                    return null;
+                }
+                int power = 0;
+                for (; i < end; i++)
+                {
+                    char c = text.charAt(i);
+                    if (c < '0' || c > '9')
+                    {
+                        return null;
+                    }
+                    power = 10 * power + (c - '0');
+                }
+                exponent += negativeExponent ? -power : power;
+            }
+            return new Decimal(negative, mantissa, exponent);
+        }
+    }
+
+}
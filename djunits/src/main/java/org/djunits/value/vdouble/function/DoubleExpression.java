@@ -0,0 +1,285 @@
+package org.djunits.value.vdouble.function;
+
+import org.djunits.Throw;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+
+/**
+ * DoubleExpression records a chain of cell-by-cell operations on arrays of SI values, without calculating them. The operations
+ * form a tree: the leaves read the values of a vector or matrix, and each node applies a function to the results of one or two
+ * nodes. When the result is needed, all operations are carried out in a single pass over the cells: the cells are processed in
+ * blocks of BLOCK cells, and each block is calculated completely, through all operations, before the next block is started.
+ * The intermediate results of a block stay in the cache, and no intermediate arrays with the size of the operands are
+ * allocated. The blocks are divided over threads as determined by the current ExecutionPolicy.
+ * <p>
+ * An expression is immutable; every operation returns a new expression, so an expression can be shared by several others.
+ * The values of the leaves are read when the expression is evaluated, not when it is built.
+ * </p>
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public abstract class DoubleExpression
+{
+    /** the number of cells that is calculated through all operations at once. */
+    public static final int BLOCK = 1024;
+
+    /** the number of cells. */
+    private final int size;
+
+    /** the number of operations in this expression, including the leaves. */
+    private final int operations;
+
+    /** the number of scratch blocks that the evaluation of this expression needs. */
+    private final int buffers;
+
+    /**
+     * Create an expression.
+     * @param size int; the number of cells
+     * @param operations int; the number of operations in this expression, including the leaves
+     * @param buffers int; the number of scratch blocks that the evaluation of this expression needs
+     */
+    private DoubleExpression(final int size, final int operations, final int buffers)
+    {
+        this.size = size;
+        this.operations = operations;
+        this.buffers = buffers;
+    }
+
+    /**
+     * Create an expression that reads the SI values of a vector or matrix.
+     * @param size int; the number of cells
+     * @param source Source; the source of the SI values of the cells
+     * @return DoubleExpression; an expression that yields the SI values of the source
+     * @throws NullPointerException when source is null
+     * @throws ValueRuntimeException when size &lt; 0
+     */
+    public static DoubleExpression of(final int size, final Source source)
+    {
+        Throw.whenNull(source, "DoubleExpression.of: source is null");
+        Throw.when(size < 0, ValueRuntimeException.class, "DoubleExpression.of: size must be >= 0");
+        return new Leaf(size, source);
+    }
+
+    /**
+     * Return the number of cells of this expression.
+     * @return int; the number of cells
+     */
+    public final int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Return an expression that applies a function to each cell of this expression.
+     * @param function DoubleFunction; the function to apply
+     * @return DoubleExpression; the new expression
+     * @throws NullPointerException when function is null
+     */
+    public final DoubleExpression map(final DoubleFunction function)
+    {
+        Throw.whenNull(function, "DoubleExpression.map: function is null");
+        return new Unary(this, function);
+    }
+
+    /**
+     * Return an expression that applies a binary function to each cell of this expression and the corresponding cell of
+     * another expression.
+     * @param function DoubleFunction2; the function to apply, with the cell of this expression as the left operand
+     * @param right DoubleExpression; the right operand
+     * @return DoubleExpression; the new expression
+     * @throws NullPointerException when function or right is null
+     * @throws ValueRuntimeException when the sizes of the expressions differ
+     */
+    public final DoubleExpression combine(final DoubleFunction2 function, final DoubleExpression right)
+    {
+        Throw.whenNull(function, "DoubleExpression.combine: function is null");
+        Throw.whenNull(right, "DoubleExpression.combine: right is null");
+        Throw.when(this.size != right.size, ValueRuntimeException.class,
+                "DoubleExpression.combine: sizes of the operands differ (%d != %d)", this.size, right.size);
+        return new Binary(this, function, right);
+    }
+
+    /**
+     * Calculate the SI values of all cells in a single pass.
+     * @return double[]; a new array with the SI values of all cells
+     */
+    public final double[] evaluate()
+    {
+        final double[] result = new double[this.size];
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        policy.execute(this.size, policy.chunks(this.size, (long) this.size * this.operations), (chunk, from, to) ->
+        {
+            double[][] scratch = new double[this.buffers][Math.min(BLOCK, to - from)];
+            for (int start = from; start < to; start += BLOCK)
+            {
+                evaluate(start, Math.min(BLOCK, to - start), result, start, scratch, 0);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Calculate the sum of the SI values of all cells in a single pass, without storing the values of the cells.
+     * @return double; the sum of the SI values of all cells
+     */
+    public final double sum()
+    {
+        return ExecutionPolicy.current().sum(this.size, (from, to) ->
+        {
+            int length = Math.min(BLOCK, to - from);
+            double[] block = new double[length];
+            double[][] scratch = new double[this.buffers][length];
+            double sum = 0.0;
+            for (int start = from; start < to; start += BLOCK)
+            {
+                int count = Math.min(BLOCK, to - start);
+                evaluate(start, count, block, 0, scratch, 0);
+                for (int i = 0; i < count; i++)
+                {
+                    sum += block[i];
+                }
+            }
+            return sum;
+        });
+    }
+
+    /**
+     * Calculate the SI values of a block of cells.
+     * @param from int; the number of the first cell of the block
+     * @param count int; the number of cells in the block, at most BLOCK
+     * @param target double[]; the array to store the values in
+     * @param offset int; the position in the target array for the first cell of the block
+     * @param scratch double[][]; the scratch blocks for the right operands of binary operations
+     * @param level int; the first scratch block that this expression may use
+     */
+    abstract void evaluate(int from, int count, double[] target, int offset, double[][] scratch, int level);
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleExpression [size=" + this.size + ", operations=" + this.operations + "]";
+    }
+
+    /**
+     * Source of the SI values of the cells of a vector or matrix.
+     */
+    @FunctionalInterface
+    public interface Source
+    {
+        /**
+         * Copy the SI values of a range of cells into an array.
+         * @param from int; the number of the first cell to copy
+         * @param target double[]; the array to copy the values into
+         * @param offset int; the position in the target array for the value of the first cell
+         * @param count int; the number of cells to copy
+         */
+        void copySI(int from, double[] target, int offset, int count);
+    }
+
+    /** Expression that reads the values of a source. */
+    private static final class Leaf extends DoubleExpression
+    {
+        /** the source of the values. */
+        private final Source source;
+
+        /**
+         * Create an expression that reads the values of a source.
+         * @param size int; the number of cells
+         * @param source Source; the source of the values
+         */
+        Leaf(final int size, final Source source)
+        {
+            super(size, 1, 0);
+            this.source = source;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void evaluate(final int from, final int count, final double[] target, final int offset, final double[][] scratch,
+                final int level)
+        {
+            this.source.copySI(from, target, offset, count);
+        }
+    }
+
+    /** Expression that applies a function to each cell of another expression. */
+    private static final class Unary extends DoubleExpression
+    {
+        /** the operand. */
+        private final DoubleExpression operand;
+
+        /** the function to apply. */
+        private final DoubleFunction function;
+
+        /**
+         * Create an expression that applies a function to each cell of another expression.
+         * @param operand DoubleExpression; the operand
+         * @param function DoubleFunction; the function to apply
+         */
+        Unary(final DoubleExpression operand, final DoubleFunction function)
+        {
+            super(operand.size(), operand.operations + 1, operand.buffers);
+            this.operand = operand;
+            this.function = function;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void evaluate(final int from, final int count, final double[] target, final int offset, final double[][] scratch,
+                final int level)
+        {
+            this.operand.evaluate(from, count, target, offset, scratch, level);
+            for (int i = offset; i < offset + count; i++)
+            {
+                target[i] = this.function.apply(target[i]);
+            }
+        }
+    }
+
+    /** Expression that applies a binary function to the corresponding cells of two other expressions. */
+    private static final class Binary extends DoubleExpression
+    {
+        /** the left operand. */
+        private final DoubleExpression left;
+
+        /** the function to apply. */
+        private final DoubleFunction2 function;
+
+        /** the right operand. */
+        private final DoubleExpression right;
+
+        /**
+         * Create an expression that applies a binary function to the corresponding cells of two other expressions. The left
+         * operand is calculated in the target block, and the right operand in a scratch block.
+         * @param left DoubleExpression; the left operand
+         * @param function DoubleFunction2; the function to apply
+         * @param right DoubleExpression; the right operand
+         */
+        Binary(final DoubleExpression left, final DoubleFunction2 function, final DoubleExpression right)
+        {
+            super(left.size(), left.operations + right.operations + 1, Math.max(left.buffers, right.buffers + 1));
+            this.left = left;
+            this.function = function;
+            this.right = right;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void evaluate(final int from, final int count, final double[] target, final int offset, final double[][] scratch,
+                final int level)
+        {
+            this.left.evaluate(from, count, target, offset, scratch, level);
+            double[] rightBlock = scratch[level];
+            this.right.evaluate(from, count, rightBlock, 0, scratch, level + 1);
+            for (int i = 0; i < count; i++)
+            {
+                target[offset + i] = this.function.apply(target[offset + i], rightBlock[i]);
+            }
+        }
+    }
+
+}
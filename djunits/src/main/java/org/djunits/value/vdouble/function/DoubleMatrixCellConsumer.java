@@ -0,0 +1,21 @@
+package org.djunits.value.vdouble.function;
+
+/**
+ * DoubleMatrixCellConsumer receives the row, the column and the SI value of a cell of a matrix, without boxing the value.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * <p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public interface DoubleMatrixCellConsumer
+{
+    /**
+     * Process one cell of a matrix.
+     * @param row int; the row of the cell
+     * @param col int; the column of the cell
+     * @param valueSI double; the SI value of the cell
+     */
+    void accept(int row, int col, double valueSI);
+
+}
@@ -1,5 +1,7 @@
 package org.djunits.value.vdouble.matrix.base;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 
 import org.djunits.Throw;
@@ -7,11 +9,12 @@ import org.djunits.unit.Unit;
 import org.djunits.value.Absolute;
 import org.djunits.value.AbstractIndexedValue;
 import org.djunits.value.ValueRuntimeException;
-import org.djunits.value.formatter.Format;
+import org.djunits.value.formatter.EngineeringAppender;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.util.ValueUtil;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleMathFunctions;
+import org.djunits.value.vdouble.function.DoubleMatrixCellConsumer;
 import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalar;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
@@ -128,12 +131,7 @@ public abstract class AbstractDoubleMatrix<U extends Unit<U>, S extends Abstract
     public double[] getRowSI(final int row) throws ValueRuntimeException
     {
         checkRowIndex(row);
-        double[] result = new double[this.data.cols()];
-        for (int col = 0; col < result.length; col++)
-        {
-            result[col] = this.data.getSI(row, col);
-        }
-        return result;
+        return this.data.getRowSI(row);
     }
 
     /** {@inheritDoc} */
@@ -141,12 +139,7 @@ public abstract class AbstractDoubleMatrix<U extends Unit<U>, S extends Abstract
     public double[] getColumnSI(final int column) throws ValueRuntimeException
     {
         checkColumnIndex(column);
-        double[] result = new double[this.data.rows()];
-        for (int row = 0; row < result.length; row++)
-        {
-            result[row] = this.data.getSI(row, column);
-        }
-        return result;
+        return this.data.getColumnSI(column);
     }
 
     /** {@inheritDoc} */
@@ -191,6 +184,58 @@ public abstract class AbstractDoubleMatrix<U extends Unit<U>, S extends Abstract
         return values;
     }
 
+    /**
+     * Call the consumer with the row, column and SI value of each cell that is not zero, row by row. For a sparse matrix only
+     * the stored cells are visited.
+     * @param consumer DoubleMatrixCellConsumer; the consumer that receives the row, column and SI value of each non-zero cell
+     */
+    public void forEachNonZeroSI(final DoubleMatrixCellConsumer consumer)
+    {
+        this.data.forEachNonZero(consumer);
+    }
+
+    /**
+     * Return the smallest value of this matrix. NaN values are ignored, unless all values are NaN.
+     * @return S; the smallest value, with the display unit of this matrix
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public final S min() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(this.data.min(), getDisplayUnit());
+    }
+
+    /**
+     * Return the largest value of this matrix. NaN values are ignored, unless all values are NaN.
+     * @return S; the largest value, with the display unit of this matrix
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public final S max() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(this.data.max(), getDisplayUnit());
+    }
+
+    /**
+     * Return the row and column of the smallest value of this matrix. NaN values are ignored; of equal values, the first one in
+     * row-major order is returned.
+     * @return int[]; the row and column of the smallest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public final int[] argMin() throws ValueRuntimeException
+    {
+        return this.data.argMin();
+    }
+
+    /**
+     * Return the row and column of the largest value of this matrix. NaN values are ignored; of equal values, the first one in
+     * row-major order is returned.
+     * @return int[]; the row and column of the largest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public final int[] argMax() throws ValueRuntimeException
+    {
+        return this.data.argMax();
+    }
+
     /** {@inheritDoc} */
     @Override
     public int rows()
@@ -410,42 +455,72 @@ public abstract class AbstractDoubleMatrix<U extends Unit<U>, S extends Abstract
     @Override
     public String toString(final U displayUnit, final boolean verbose, final boolean withUnit)
     {
-        StringBuffer buf = new StringBuffer();
+        StringBuilder buf = new StringBuilder();
+        try
+        {
+            appendTo(buf, displayUnit, verbose, withUnit);
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception); // cannot happen -- a StringBuilder does not throw an IOException
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Write this matrix to an Appendable, such as a StringBuilder or a Writer, in the same layout as
+     * {@link #toString(Unit, boolean, boolean)}. The values are written with the {@link EngineeringAppender} of the current
+     * thread, so a large matrix can be written without creating a Formatter and intermediate strings per value.
+     * @param out Appendable; the Appendable to write this matrix to
+     * @param displayUnit U; the display unit for the values
+     * @param verbose boolean; if true; include type info; if false; exclude type info
+     * @param withUnit boolean; if true; include the unit; of false; exclude the unit
+     * @throws IOException when the Appendable throws an IOException
+     * @throws NullPointerException when out or displayUnit is null
+     */
+    public void appendTo(final Appendable out, final U displayUnit, final boolean verbose, final boolean withUnit)
+            throws IOException
+    {
+        Throw.whenNull(out, "out cannot be null");
+        Throw.whenNull(displayUnit, "displayUnit cannot be null");
+        EngineeringAppender appender = EngineeringAppender.current();
         if (verbose)
         {
             String ab = this instanceof Absolute ? "Abs " : "Rel ";
-            String ds = this.data.isDense() ? "Dense  " : this.data.isSparse() ? "Sparse " : "?????? ";
+            String ds = this.data.isDense() ? "Dense  "
+                    : this.data.isSparse() ? "Sparse " : this.data.isOffHeap() ? "OffHeap"
+                            : this.data.isCompressed() ? this.data.getStorageType() + "    " : "?????? ";
             if (isMutable())
             {
-                buf.append("Mutable   " + ab + ds);
+                out.append("Mutable   ").append(ab).append(ds);
             }
             else
             {
-                buf.append("Immutable " + ab + ds);
+                out.append("Immutable ").append(ab).append(ds);
             }
         }
         for (int row = 0; row < rows(); row++)
         {
-            buf.append("\r\n\t");
+            out.append("\r\n\t");
             for (int col = 0; col < cols(); col++)
             {
                 try
                 {
                     double d = ValueUtil.expressAsUnit(getSI(row, col), displayUnit);
-                    buf.append(" " + Format.format(d));
+                    out.append(' ');
+                    appender.append(out, d);
                 }
                 catch (ValueRuntimeException ve)
                 {
-                    buf.append(" " + "********************".substring(0, Format.DEFAULTSIZE));
+                    out.append(' ').append("********************", 0, appender.getRoom());
                 }
             }
         }
-        buf.append("\n");
+        out.append("\n");
         if (withUnit)
         {
-            buf.append(displayUnit.getDefaultDisplayAbbreviation());
+            out.append(displayUnit.getDefaultDisplayAbbreviation());
         }
-        return buf.toString();
     }
 
     /**
@@ -504,45 +579,7 @@ public abstract class AbstractDoubleMatrix<U extends Unit<U>, S extends Abstract
     public final double determinantSI() throws ValueRuntimeException
     {
         checkSquare();
-        return det(getValuesSI());
-    }
-
-    /**
-     * Calculate the determinant of an n x n matrix.
-     * @param mat the matrix
-     * @return the determinant using the co-factor formula
-     */
-    private static double det(final double[][] mat)
-    {
-        if (mat.length == 1)
-        {
-            return mat[0][0];
-        }
-        // det(A) = sum(j=1:n) (-1)^(i+j).a_ij.A_ij where A_ij is the matrix with row i and column j removed
-        double det = 0.0;
-        // possible optimization: pick the row or column with most zeros; here: pick row 0
-        for (int col = 0; col < mat.length; col++)
-        {
-            double sgn = (col % 2 == 0) ? 1 : -1;
-            double aij = mat[0][col];
-            double[][] matAij = new double[mat.length - 1][];
-            int r = 0;
-            for (int row = 1; row < mat.length; row++)
-            {
-                matAij[r] = new double[matAij.length];
-                int c = 0;
-                for (int j = 0; j < mat.length; j++)
-                {
-                    if (j != col)
-                    {
-                        matAij[r][c++] = mat[row][j];
-                    }
-                }
-                r++;
-            }
-            det += sgn * aij * det(matAij);
-        }
-        return det;
+        return this.data.determinantSI();
     }
 
     /** {@inheritDoc} */
@@ -1,18 +1,24 @@
 package org.djunits.value.vdouble.matrix.base;
 
+import org.djunits.Throw;
 import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
+import org.djunits.unit.si.SIDimensions;
 import org.djunits.unit.util.UnitException;
 import org.djunits.value.Relative;
 import org.djunits.value.ValueRuntimeException;
 import org.djunits.value.base.Matrix;
+import org.djunits.value.storage.Summation;
 import org.djunits.value.vdouble.function.DoubleMathFunctions;
 import org.djunits.value.vdouble.matrix.SIMatrix;
 import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.scalar.SIScalar;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalar;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
+import org.djunits.value.vdouble.vector.SIVector;
 import org.djunits.value.vdouble.vector.base.AbstractDoubleVector;
 import org.djunits.value.vdouble.vector.base.AbstractDoubleVectorRel;
+import org.djunits.value.vdouble.vector.data.DoubleVectorDataDense;
 
 /**
  * AbstractDoubleMatrixRel.java.
@@ -52,6 +58,145 @@ public abstract class AbstractDoubleMatrixRel<U extends Unit<U>, S extends Abstr
         return instantiateScalarSI(this.data.zSum(), getDisplayUnit());
     }
 
+    /**
+     * Compute the sum of all SI values of this matrix with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the sum of all SI values of this matrix with the same display unit as this matrix
+     */
+    public final S zSum(final Summation summation)
+    {
+        return instantiateScalarSI(this.data.zSum(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the mean of the values of this matrix, using pairwise summation.
+     * @return S; the mean of the values, with the display unit of this matrix; NaN for an empty matrix
+     */
+    public final S mean()
+    {
+        return mean(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the mean of the values of this matrix with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the mean of the values, with the display unit of this matrix; NaN for an empty matrix
+     */
+    public final S mean(final Summation summation)
+    {
+        return instantiateScalarSI(this.data.mean(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the population variance of the values of this matrix, using pairwise summation. The unit of the variance is the
+     * square of the unit of this matrix, e.g., the variance of a LengthMatrix can be retrieved as an Area with
+     * <code>variance().asArea()</code>.
+     * @return SIScalar; the population variance of the values, in the squared SI unit of this matrix
+     */
+    public final SIScalar variance()
+    {
+        return variance(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the population variance of the values of this matrix with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return SIScalar; the population variance of the values, in the squared SI unit of this matrix
+     */
+    public final SIScalar variance(final Summation summation)
+    {
+        SIDimensions dimensions = getDisplayUnit().getQuantity().getSiDimensions();
+        return new SIScalar(this.data.variance(summation),
+                SIUnit.product(dimensions, dimensions));
+    }
+
+    /**
+     * Compute the entrywise L1 norm of this matrix, the sum of the absolute values, using pairwise summation.
+     * @return S; the L1 norm, with the display unit of this matrix
+     */
+    public final S normL1()
+    {
+        return normL1(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the entrywise L1 norm of this matrix, the sum of the absolute values, with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the L1 norm, with the display unit of this matrix
+     */
+    public final S normL1(final Summation summation)
+    {
+        return instantiateScalarSI(this.data.normL1(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the entrywise L2 (Frobenius) norm of this matrix, using pairwise summation.
+     * @return S; the L2 norm, with the display unit of this matrix
+     */
+    public final S normL2()
+    {
+        return normL2(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the entrywise L2 (Frobenius) norm of this matrix with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the L2 norm, with the display unit of this matrix
+     */
+    public final S normL2(final Summation summation)
+    {
+        return instantiateScalarSI(this.data.normL2(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the entrywise L-infinity norm of this matrix, the largest absolute value.
+     * @return S; the L-infinity norm, with the display unit of this matrix
+     */
+    public final S normLinf()
+    {
+        return instantiateScalarSI(this.data.normLinf(), getDisplayUnit());
+    }
+
+    /**
+     * Compute the dot (Frobenius inner) product of this matrix and another relative matrix with the same numbers of rows and
+     * columns, using pairwise summation. The unit of the result is the product of the units of the matrices.
+     * @param other AbstractDoubleMatrixRel&lt;?, ?, ?, ?&gt;; the other matrix
+     * @return SIScalar; the dot product, in the SI unit that is the product of the units of the matrices
+     * @throws ValueRuntimeException when the numbers of rows or columns of the matrices differ
+     */
+    public final SIScalar dot(final AbstractDoubleMatrixRel<?, ?, ?, ?> other) throws ValueRuntimeException
+    {
+        return dot(other, Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the dot (Frobenius inner) product of this matrix and another relative matrix with the same numbers of rows and
+     * columns, with a given summation algorithm.
+     * @param other AbstractDoubleMatrixRel&lt;?, ?, ?, ?&gt;; the other matrix
+     * @param summation Summation; the summation algorithm
+     * @return SIScalar; the dot product, in the SI unit that is the product of the units of the matrices
+     * @throws ValueRuntimeException when the numbers of rows or columns of the matrices differ
+     */
+    public final SIScalar dot(final AbstractDoubleMatrixRel<?, ?, ?, ?> other, final Summation summation)
+            throws ValueRuntimeException
+    {
+        Throw.whenNull(other, "dot: other is null");
+        return new SIScalar(this.data.dot(other.getData(), summation),
+                SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                        other.getDisplayUnit().getQuantity().getSiDimensions()));
+    }
+
+    /**
+     * Start a lazily evaluated chain of operations on this matrix. The operations are recorded, and carried out in a single
+     * pass over the cells when the result is evaluated or summed, without creating intermediate matrices.
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; an expression that yields the values of this matrix
+     */
+    @SuppressWarnings("unchecked")
+    public final DoubleMatrixExpression<U, S, RV, RM> lazy()
+    {
+        return DoubleMatrixExpression.of((RM) this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final RM plus(final RM rel) throws ValueRuntimeException
@@ -143,8 +288,51 @@ public abstract class AbstractDoubleMatrixRel<U extends Unit<U>, S extends Abstr
             MT extends AbstractDoubleMatrix<UT, ST, VT, MT> & Relative<UT, MT>> SIMatrix times(final MT rel)
                     throws ValueRuntimeException, UnitException
     {
-        return new SIMatrix(this.getData().times(rel.getData()), SIUnit.of(
-                getDisplayUnit().getQuantity().getSiDimensions().plus(rel.getDisplayUnit().getQuantity().getSiDimensions())));
+        return new SIMatrix(this.getData().times(rel.getData()),
+                SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                        rel.getDisplayUnit().getQuantity().getSiDimensions()));
+    }
+
+    /**
+     * Calculate the matrix product of this Relative matrix (size m x n) and another Relative matrix (size n x p), and store the
+     * result in a new Relative matrix of size m x p. The SI dimensions of the result are the sum of the SI dimensions of the
+     * operands. If both operands are sparse, the result is a sparse matrix, otherwise the result is a dense matrix.
+     * @param rel MT; the right operand, which can be any matrix type
+     * @return SIMatrix; the matrix product of this matrix and the operand
+     * @throws ValueRuntimeException in case the number of columns of this matrix differs from the number of rows of the operand
+     * @throws UnitException on unit error
+     * @param <UT> the unit type of the multiplier
+     * @param <ST> the scalar type of the multiplier
+     * @param <VT> the vector type of the multiplier
+     * @param <MT> the matrix type of the multiplier
+     */
+    public final <UT extends Unit<UT>, ST extends AbstractDoubleScalar<UT, ST>, VT extends AbstractDoubleVector<UT, ST, VT>,
+            MT extends AbstractDoubleMatrix<UT, ST, VT, MT> & Relative<UT, MT>> SIMatrix mmul(final MT rel)
+                    throws ValueRuntimeException, UnitException
+    {
+        return new SIMatrix(this.getData().mmul(rel.getData()), SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                rel.getDisplayUnit().getQuantity().getSiDimensions()));
+    }
+
+    /**
+     * Calculate the product of this Relative matrix (size m x n) and a Relative column vector (size n), and store the result in
+     * a new Relative vector of size m. The SI dimensions of the result are the sum of the SI dimensions of the operands. The
+     * result has the same storage type as this matrix.
+     * @param rel VT; the right operand, which can be any vector type
+     * @return SIVector; the product of this matrix and the vector
+     * @throws ValueRuntimeException in case the number of columns of this matrix differs from the size of the vector
+     * @throws UnitException on unit error
+     * @param <UT> the unit type of the multiplier
+     * @param <ST> the scalar type of the multiplier
+     * @param <VT> the vector type of the multiplier
+     */
+    public final <UT extends Unit<UT>, ST extends AbstractDoubleScalar<UT, ST>,
+            VT extends AbstractDoubleVector<UT, ST, VT> & Relative<UT, VT>> SIVector mmul(final VT rel)
+                    throws ValueRuntimeException, UnitException
+    {
+        return new SIVector(this.getData().mmul(new DoubleVectorDataDense(rel.getValuesSI())),
+                SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                        rel.getDisplayUnit().getQuantity().getSiDimensions()));
     }
 
     /** {@inheritDoc} */
@@ -187,8 +375,9 @@ public abstract class AbstractDoubleMatrixRel<U extends Unit<U>, S extends Abstr
             MT extends AbstractDoubleMatrix<UT, ST, VT, MT> & Relative<UT, MT>> SIMatrix divide(final MT rel)
                     throws ValueRuntimeException, UnitException
     {
-        return new SIMatrix(this.getData().divide(rel.getData()), SIUnit.of(
-                getDisplayUnit().getQuantity().getSiDimensions().minus(rel.getDisplayUnit().getQuantity().getSiDimensions())));
+        return new SIMatrix(this.getData().divide(rel.getData()),
+                SIUnit.quotient(getDisplayUnit().getQuantity().getSiDimensions(),
+                        rel.getDisplayUnit().getQuantity().getSiDimensions()));
     }
 
     /** {@inheritDoc} */
@@ -1,7 +1,14 @@
 package org.djunits.value.vdouble.matrix.base;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -11,9 +18,12 @@ import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
 import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.util.UnitRuntimeException;
+import org.djunits.value.storage.MappedHeader;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vdouble.matrix.SIMatrix;
 import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataOffHeap;
 import org.djunits.value.vdouble.scalar.base.DoubleScalarInterface;
 import org.djunits.value.vdouble.vector.base.DoubleVectorInterface;
 
@@ -328,4 +338,155 @@ public final class DoubleMatrix
                     + exception.getMessage());
         }
     }
+    /**
+     * Open a DoubleMatrix over the values in a file that has been written with write(...), without reading or copying the
+     * values. The file is mapped read-only into memory, and the operating system loads the pages of the file when they are
+     * first accessed. The display unit is the unit that is recorded in the header of the file.<br>
+     * <b>Note</b> that the type of the matrix follows from the unit in the file, so it is possible to make mistakes with the
+     * expected type.
+     * @param path Path; the file to open
+     * @return M; a matrix with the values of the file, expressed in the unit of the file
+     * @throws IOException on I/O error, or when the file does not hold a matrix of double values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     * @param <M> the corresponding matrix type
+     */
+    public static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>, V extends DoubleVectorInterface<U, S, V>,
+            M extends DoubleMatrixInterface<U, S, V, M>> M map(final Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            MappedHeader header = MappedHeader.read(channel);
+            if (header.getValueBytes() != Double.BYTES || header.getDimensions() != 2)
+            {
+                throw new IOException("file " + path + " does not hold a matrix of double values");
+            }
+            return instantiateAnonymous(DoubleMatrixDataOffHeap.map(channel, header, false), header.getUnit());
+        }
+    }
+
+    /**
+     * Write a DoubleMatrix to a file that can be opened with map(...). The file starts with a header that records the shape and
+     * the display unit of the matrix, followed by the SI values row by row. An existing file is overwritten.
+     * @param path Path; the file to write
+     * @param matrix AbstractDoubleMatrix&lt;?, ?, ?, ?&gt;; the matrix to write
+     * @throws IOException on I/O error
+     */
+    public static void write(final Path path, final AbstractDoubleMatrix<?, ?, ?, ?> matrix)
+            throws IOException
+    {
+        Throw.whenNull(matrix, "matrix cannot be null");
+        DoubleMatrixData data = matrix.getData();
+        MappedHeader header = MappedHeader.of(Double.BYTES, 2, data.rows(), data.cols(), matrix.getDisplayUnit());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            header.write(channel);
+            // the mapping extends the file with zeros, so only the non-zero values have to be written
+            try (DoubleMatrixDataOffHeap target = DoubleMatrixDataOffHeap.map(channel, header, true))
+            {
+                data.forEachNonZero(target::setSI);
+                target.force();
+            }
+        }
+    }
+
+    /**
+     * Write a DoubleMatrix in the compact binary format of ValueCodec: the display unit by its class name and id, the storage
+     * type, the shape and the SI values; sparse data is written as indices and values. Unlike Java serialization, the unit and
+     * its quantity are not written themselves, so the encoded matrix is small and fast to read in another JVM.
+     * @param matrix AbstractDoubleMatrix&lt;?, ?, ?, ?&gt;; the matrix to write
+     * @param out DataOutput; the DataOutput to write to, e.g., a DataOutputStream
+     * @throws IOException on I/O error
+     */
+    public static void encode(final AbstractDoubleMatrix<?, ?, ?, ?> matrix, final DataOutput out) throws IOException
+    {
+        encode(matrix, ValueCodec.output(out));
+    }
+
+    /**
+     * Write a DoubleMatrix in the compact binary format of ValueCodec to a ByteBuffer, starting at the position of the buffer.
+     * The position of the buffer is advanced over the bytes that are written.
+     * @param matrix AbstractDoubleMatrix&lt;?, ?, ?, ?&gt;; the matrix to write
+     * @param buffer ByteBuffer; the buffer to write to
+     * @throws IOException on I/O error
+     * @throws java.nio.BufferOverflowException when the buffer is too small
+     */
+    public static void encode(final AbstractDoubleMatrix<?, ?, ?, ?> matrix, final ByteBuffer buffer) throws IOException
+    {
+        encode(matrix, ValueCodec.output(buffer));
+    }
+
+    /**
+     * Write a DoubleMatrix in the compact binary format of ValueCodec.
+     * @param matrix AbstractDoubleMatrix&lt;?, ?, ?, ?&gt;; the matrix to write
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    private static void encode(final AbstractDoubleMatrix<?, ?, ?, ?> matrix, final ValueCodec.Output out) throws IOException
+    {
+        Throw.whenNull(matrix, "matrix cannot be null");
+        DoubleMatrixData data = matrix.getData();
+        out.writeHeader(Double.BYTES, 2, data.getStorageType());
+        out.writeUnit(matrix.getDisplayUnit());
+        data.encode(out);
+    }
+
+    /**
+     * Read a DoubleMatrix that has been written with encode(...). The display unit is looked up by its class name and id.<br>
+     * <b>Note</b> that the type of the matrix follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param in DataInput; the DataInput to read from, e.g., a DataInputStream
+     * @return M; the matrix that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded matrix of double values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     * @param <M> the corresponding matrix type
+     */
+    public static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>, V extends DoubleVectorInterface<U, S, V>,
+            M extends DoubleMatrixInterface<U, S, V, M>> M decode(final DataInput in) throws IOException
+    {
+        return decode(ValueCodec.input(in));
+    }
+
+    /**
+     * Read a DoubleMatrix that has been written with encode(...) from a ByteBuffer, starting at the position of the buffer. The
+     * position of the buffer is advanced over the bytes that are read; the values are copied in bulk from the buffer into the
+     * storage of the matrix.<br>
+     * <b>Note</b> that the type of the matrix follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param buffer ByteBuffer; the buffer to read from
+     * @return M; the matrix that has been read, expressed in its display unit
+     * @throws IOException when the buffer does not hold a valid encoded matrix of double values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     * @param <M> the corresponding matrix type
+     */
+    public static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>, V extends DoubleVectorInterface<U, S, V>,
+            M extends DoubleMatrixInterface<U, S, V, M>> M decode(final ByteBuffer buffer) throws IOException
+    {
+        return decode(ValueCodec.input(buffer));
+    }
+
+    /**
+     * Read a DoubleMatrix that has been written with encode(...).
+     * @param in ValueCodec.Input; the input to read from
+     * @return M; the matrix that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded matrix of double values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     * @param <M> the corresponding matrix type
+     */
+    private static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>, V extends DoubleVectorInterface<U, S, V>,
+            M extends DoubleMatrixInterface<U, S, V, M>> M decode(final ValueCodec.Input in) throws IOException
+    {
+        StorageType storageType = in.readHeader(Double.BYTES, 2);
+        Unit<?> unit = in.readUnit();
+        return instantiateAnonymous(DoubleMatrixData.decode(in, storageType), unit);
+    }
+
 }
@@ -0,0 +1,308 @@
+package org.djunits.value.vdouble.matrix.base;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.function.DoubleExpression;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleMathFunctions;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataDense;
+import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
+import org.djunits.value.vdouble.vector.base.AbstractDoubleVectorRel;
+
+/**
+ * DoubleMatrixExpression is a lazily evaluated chain of operations on relative matrices of the same quantity, started with
+ * <code>matrix.lazy()</code>. The operations are recorded, and the result is calculated in a single pass over the cells when
+ * evaluate() or zSum() is called, without intermediate matrices. The numbers of rows and columns of the operands are checked
+ * when the expression is built; the units are checked by the type system. The values of the matrices are read when the
+ * expression is evaluated.
+ * <p>
+ * The result has the display unit and the storage type of the matrix on which the expression was started.
+ * </p>
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ * @param <U> the unit
+ * @param <S> the scalar type belonging to the matrix type
+ * @param <RV> the relative vector type belonging to the relative matrix type
+ * @param <RM> the relative matrix type with this unit
+ */
+public final class DoubleMatrixExpression<U extends Unit<U>, S extends AbstractDoubleScalarRel<U, S>,
+        RV extends AbstractDoubleVectorRel<U, S, RV>, RM extends AbstractDoubleMatrixRel<U, S, RV, RM>>
+{
+    /** the matrix on which the expression was started; it determines the size, display unit and storage type of the result. */
+    private final RM origin;
+
+    /** the recorded operations, on the cells in row-major order. */
+    private final DoubleExpression expression;
+
+    /**
+     * Create an expression.
+     * @param origin RM; the matrix on which the expression was started
+     * @param expression DoubleExpression; the recorded operations
+     */
+    private DoubleMatrixExpression(final RM origin, final DoubleExpression expression)
+    {
+        this.origin = origin;
+        this.expression = expression;
+    }
+
+    /**
+     * Start an expression with the values of a matrix.
+     * @param matrix RM; the matrix
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; an expression that yields the values of the matrix
+     * @param <U> the unit
+     * @param <S> the scalar type belonging to the matrix type
+     * @param <RV> the relative vector type belonging to the relative matrix type
+     * @param <RM> the relative matrix type with this unit
+     */
+    static <U extends Unit<U>, S extends AbstractDoubleScalarRel<U, S>, RV extends AbstractDoubleVectorRel<U, S, RV>,
+            RM extends AbstractDoubleMatrixRel<U, S, RV, RM>> DoubleMatrixExpression<U, S, RV, RM> of(final RM matrix)
+    {
+        return new DoubleMatrixExpression<>(matrix, leaf(matrix));
+    }
+
+    /**
+     * Create an expression that reads the values of a matrix in row-major order.
+     * @param matrix AbstractDoubleMatrix&lt;?, ?, ?, ?&gt;; the matrix
+     * @return DoubleExpression; an expression that reads the values of the matrix when it is evaluated
+     */
+    private static DoubleExpression leaf(final AbstractDoubleMatrix<?, ?, ?, ?> matrix)
+    {
+        return DoubleExpression.of(matrix.rows() * matrix.cols(),
+                (from, target, offset, count) -> matrix.getData().copySI(from, target, offset, count));
+    }
+
+    /**
+     * Return an expression that applies a function to the result of this expression.
+     * @param function DoubleFunction; the function
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    private DoubleMatrixExpression<U, S, RV, RM> map(final DoubleFunction function)
+    {
+        return new DoubleMatrixExpression<>(this.origin, this.expression.map(function));
+    }
+
+    /**
+     * Return the expression for a right operand, after checking its size.
+     * @param matrix RM; the right operand
+     * @return DoubleExpression; the expression that reads the values of the right operand
+     * @throws NullPointerException when matrix is null
+     * @throws ValueRuntimeException when the number of rows or columns of the matrix differs from this expression
+     */
+    private DoubleExpression operand(final RM matrix) throws ValueRuntimeException
+    {
+        Throw.whenNull(matrix, "DoubleMatrixExpression: matrix is null");
+        Throw.when(matrix.rows() != rows() || matrix.cols() != cols(), ValueRuntimeException.class,
+                "The matrices have different sizes: %dx%d != %dx%d", rows(), cols(), matrix.rows(), matrix.cols());
+        return leaf(matrix);
+    }
+
+    /**
+     * Return the expression of another matrix expression, after checking its size.
+     * @param rel DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the right operand
+     * @return DoubleExpression; the recorded operations of the right operand
+     * @throws NullPointerException when rel is null
+     * @throws ValueRuntimeException when the number of rows or columns of the expressions differ
+     */
+    private DoubleExpression operand(final DoubleMatrixExpression<U, S, RV, RM> rel) throws ValueRuntimeException
+    {
+        Throw.whenNull(rel, "DoubleMatrixExpression: expression is null");
+        Throw.when(rel.rows() != rows() || rel.cols() != cols(), ValueRuntimeException.class,
+                "The matrices have different sizes: %dx%d != %dx%d", rows(), cols(), rel.rows(), rel.cols());
+        return rel.expression;
+    }
+
+    /**
+     * Return the number of rows of the result.
+     * @return int; the number of rows of the result
+     */
+    public int rows()
+    {
+        return this.origin.rows();
+    }
+
+    /**
+     * Return the number of columns of the result.
+     * @return int; the number of columns of the result
+     */
+    public int cols()
+    {
+        return this.origin.cols();
+    }
+
+    /**
+     * Add a matrix to the result of this expression.
+     * @param rel RM; the matrix to add
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     * @throws ValueRuntimeException when the size of the matrix differs from the size of this expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> plus(final RM rel) throws ValueRuntimeException
+    {
+        return new DoubleMatrixExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue + rightValue, operand(rel)));
+    }
+
+    /**
+     * Add the result of another expression to the result of this expression.
+     * @param rel DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the expression to add
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     * @throws ValueRuntimeException when the sizes of the expressions differ
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> plus(final DoubleMatrixExpression<U, S, RV, RM> rel)
+            throws ValueRuntimeException
+    {
+        return new DoubleMatrixExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue + rightValue, operand(rel)));
+    }
+
+    /**
+     * Add a scalar to each cell of the result of this expression.
+     * @param increment S; the scalar to add
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> plus(final S increment)
+    {
+        Throw.whenNull(increment, "DoubleMatrixExpression: increment is null");
+        return map(DoubleMathFunctions.INC(increment.si));
+    }
+
+    /**
+     * Subtract a matrix from the result of this expression.
+     * @param rel RM; the matrix to subtract
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     * @throws ValueRuntimeException when the size of the matrix differs from the size of this expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> minus(final RM rel) throws ValueRuntimeException
+    {
+        return new DoubleMatrixExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue - rightValue, operand(rel)));
+    }
+
+    /**
+     * Subtract the result of another expression from the result of this expression.
+     * @param rel DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the expression to subtract
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     * @throws ValueRuntimeException when the sizes of the expressions differ
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> minus(final DoubleMatrixExpression<U, S, RV, RM> rel)
+            throws ValueRuntimeException
+    {
+        return new DoubleMatrixExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue - rightValue, operand(rel)));
+    }
+
+    /**
+     * Subtract a scalar from each cell of the result of this expression.
+     * @param decrement S; the scalar to subtract
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> minus(final S decrement)
+    {
+        Throw.whenNull(decrement, "DoubleMatrixExpression: decrement is null");
+        return map(DoubleMathFunctions.DEC(decrement.si));
+    }
+
+    /**
+     * Multiply each cell of the result of this expression by a factor.
+     * @param multiplier double; the factor
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> times(final double multiplier)
+    {
+        return map(DoubleMathFunctions.MULT(multiplier));
+    }
+
+    /**
+     * Divide each cell of the result of this expression by a divisor.
+     * @param divisor double; the divisor
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> divide(final double divisor)
+    {
+        return map(DoubleMathFunctions.DIV(divisor));
+    }
+
+    /**
+     * Negate each cell of the result of this expression.
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> neg()
+    {
+        return map(DoubleMathFunctions.NEG);
+    }
+
+    /**
+     * Take the absolute value of each cell of the result of this expression.
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> abs()
+    {
+        return map(DoubleMathFunctions.ABS);
+    }
+
+    /**
+     * Apply a function to the SI value of each cell of the result of this expression. The function should not change the
+     * unit of the values, such as rounding or limiting the values.
+     * @param function DoubleFunction; the function to apply to the SI values
+     * @return DoubleMatrixExpression&lt;U, S, RV, RM&gt;; the new expression
+     */
+    public DoubleMatrixExpression<U, S, RV, RM> apply(final DoubleFunction function)
+    {
+        Throw.whenNull(function, "DoubleMatrixExpression: function is null");
+        return map(function);
+    }
+
+    /**
+     * Calculate the result of this expression in a single pass over the cells.
+     * @return RM; a new immutable matrix with the display unit and storage type of the matrix on which the expression was
+     *         started
+     */
+    public RM evaluate()
+    {
+        DoubleMatrixData data = new DoubleMatrixDataDense(this.expression.evaluate(), rows(), cols());
+        switch (this.origin.getStorageType())
+        {
+            case SPARSE:
+                data = data.toSparse();
+                break;
+
+            case OFF_HEAP:
+                data = data.toOffHeap();
+                break;
+
+            case CSR:
+                data = data.toCsr();
+                break;
+
+            case CSC:
+                data = data.toCsc();
+                break;
+
+            default:
+                break;
+        }
+        return this.origin.instantiateMatrix(data, this.origin.getDisplayUnit());
+    }
+
+    /**
+     * Calculate the sum of the cells of the result of this expression in a single pass, without storing the result.
+     * @return S; the sum, with the display unit of the matrix on which the expression was started
+     */
+    public S zSum()
+    {
+        return this.origin.instantiateScalarSI(this.expression.sum(), this.origin.getDisplayUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleMatrixExpression [rows=" + rows() + ", cols=" + cols() + ", unit=" + this.origin.getDisplayUnit()
+                + ", expression=" + this.expression + "]";
+    }
+
+}
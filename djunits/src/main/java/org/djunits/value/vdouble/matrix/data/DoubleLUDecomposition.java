@@ -0,0 +1,321 @@
+package org.djunits.value.vdouble.matrix.data;
+
+import java.io.Serializable;
+
+import org.djunits.Throw;
+import org.djunits.value.ValueRuntimeException;
+
+/**
+ * LU decomposition with partial (row) pivoting of a square DoubleMatrixData, such that <code>P * A = L * U</code>. The
+ * decomposition is computed once in O(n<sup>3</sup>) and can then be used to calculate the determinant, to solve linear systems
+ * <code>A * x = b</code>, and to invert the matrix. L (unit lower triangular) and U (upper triangular) are stored together in
+ * one dense, row-major array. Elimination steps are skipped for rows that already have a zero in the pivot column, so sparse
+ * matrices with few non-zero cells below the diagonal are decomposed considerably faster than dense ones.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public final class DoubleLUDecomposition implements Serializable
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** the combined L and U factors in row-major order; L has an implicit unit diagonal. */
+    private final double[] lu;
+
+    /** the size (number of rows and columns) of the decomposed matrix. */
+    private final int n;
+
+    /** the row permutation; row i of the decomposition is row pivot[i] of the original matrix. */
+    private final int[] pivot;
+
+    /** +1 or -1, depending on the number of row exchanges. */
+    private final int pivotSign;
+
+    /**
+     * Compute the LU decomposition of a square matrix.
+     * @param data DoubleMatrixData; the matrix to decompose
+     * @throws NullPointerException when data is null
+     * @throws ValueRuntimeException when the matrix is not square
+     */
+    public DoubleLUDecomposition(final DoubleMatrixData data) throws ValueRuntimeException
+    {
+        Throw.whenNull(data, "DoubleLUDecomposition: data is null");
+        Throw.when(data.rows() != data.cols(), ValueRuntimeException.class,
+                "DoubleLUDecomposition: matrix is not square, rows=%d, cols=%d", data.rows(), data.cols());
+        this.n = data.rows();
+        // toDense() of a sparse matrix fills a fresh array from the stored cells only; a dense matrix has to be copied
+        this.lu = data.isDense() ? data.matrixSI.clone() : data.toDense().matrixSI;
+        this.pivot = new int[this.n];
+        for (int i = 0; i < this.n; i++)
+        {
+            this.pivot[i] = i;
+        }
+        int sign = 1;
+        final int size = this.n;
+        final double[] a = this.lu;
+        for (int k = 0; k < size; k++)
+        {
+            // find the pivot: the largest absolute value in column k on or below the diagonal
+            int p = k;
+            double max = Math.abs(a[k * size + k]);
+            for (int i = k + 1; i < size; i++)
+            {
+                double v = Math.abs(a[i * size + k]);
+                if (v > max)
+                {
+                    max = v;
+                    p = i;
+                }
+            }
+            if (p != k)
+            {
+                swapRows(a, size, p, k);
+                int t = this.pivot[p];
+                this.pivot[p] = this.pivot[k];
+                this.pivot[k] = t;
+                sign = -sign;
+            }
+            double pivotValue = a[k * size + k];
+            if (pivotValue == 0.0)
+            {
+                // column is zero on and below the diagonal; the matrix is singular, continue with the next column
+                continue;
+            }
+            int rowK = k * size;
+            for (int i = k + 1; i < size; i++)
+            {
+                int rowI = i * size;
+                double factor = a[rowI + k];
+                if (factor == 0.0)
+                {
+                    // nothing to eliminate; this is what makes sparse matrices cheap
+                    continue;
+                }
+                factor /= pivotValue;
+                a[rowI + k] = factor;
+                for (int j = k + 1; j < size; j++)
+                {
+                    a[rowI + j] -= factor * a[rowK + j];
+                }
+            }
+        }
+        this.pivotSign = sign;
+    }
+
+    /**
+     * Swap two rows of a row-major square matrix.
+     * @param a double[]; the matrix
+     * @param size int; the number of columns
+     * @param r1 int; the first row
+     * @param r2 int; the second row
+     */
+    private static void swapRows(final double[] a, final int size, final int r1, final int r2)
+    {
+        int o1 = r1 * size;
+        int o2 = r2 * size;
+        for (int j = 0; j < size; j++)
+        {
+            double t = a[o1 + j];
+            a[o1 + j] = a[o2 + j];
+            a[o2 + j] = t;
+        }
+    }
+
+    /**
+     * Return the size (number of rows, which equals the number of columns) of the decomposed matrix.
+     * @return int; the size of the decomposed matrix
+     */
+    public int size()
+    {
+        return this.n;
+    }
+
+    /**
+     * Return whether the decomposed matrix is singular, i.e., whether one of the diagonal elements of U is zero.
+     * @return boolean; true if the matrix is singular; false if it is not
+     */
+    public boolean isSingular()
+    {
+        for (int k = 0; k < this.n; k++)
+        {
+            if (this.lu[k * this.n + k] == 0.0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the determinant of the decomposed matrix: the product of the diagonal of U, corrected for the row exchanges.
+     * @return double; the determinant of the decomposed matrix
+     */
+    public double determinant()
+    {
+        double det = this.pivotSign;
+        for (int k = 0; k < this.n; k++)
+        {
+            det *= this.lu[k * this.n + k];
+        }
+        return det;
+    }
+
+    /**
+     * Return a copy of the row permutation. Row i of <code>L * U</code> equals row <code>pivot[i]</code> of the original matrix.
+     * @return int[]; a copy of the row permutation
+     */
+    public int[] getPivot()
+    {
+        return this.pivot.clone();
+    }
+
+    /**
+     * Return the unit lower triangular factor L.
+     * @return DoubleMatrixDataDense; the lower triangular factor
+     */
+    public DoubleMatrixDataDense getL()
+    {
+        double[] l = new double[this.n * this.n];
+        for (int i = 0; i < this.n; i++)
+        {
+            System.arraycopy(this.lu, i * this.n, l, i * this.n, i);
+            l[i * this.n + i] = 1.0;
+        }
+        return new DoubleMatrixDataDense(l, this.n, this.n);
+    }
+
+    /**
+     * Return the upper triangular factor U.
+     * @return DoubleMatrixDataDense; the upper triangular factor
+     */
+    public DoubleMatrixDataDense getU()
+    {
+        double[] u = new double[this.n * this.n];
+        for (int i = 0; i < this.n; i++)
+        {
+            System.arraycopy(this.lu, i * this.n + i, u, i * this.n + i, this.n - i);
+        }
+        return new DoubleMatrixDataDense(u, this.n, this.n);
+    }
+
+    /**
+     * Solve <code>A * x = b</code> for x, where A is the decomposed matrix.
+     * @param b double[]; the right hand side, with a length equal to the size of the matrix
+     * @return double[]; the solution x
+     * @throws NullPointerException when b is null
+     * @throws ValueRuntimeException when the length of b does not match, or when the matrix is singular
+     */
+    public double[] solve(final double[] b) throws ValueRuntimeException
+    {
+        Throw.whenNull(b, "DoubleLUDecomposition.solve: b is null");
+        Throw.when(b.length != this.n, ValueRuntimeException.class,
+                "DoubleLUDecomposition.solve: length of b (%d) does not match size of matrix (%d)", b.length, this.n);
+        checkNonSingular();
+        double[] x = new double[this.n];
+        for (int i = 0; i < this.n; i++)
+        {
+            x[i] = b[this.pivot[i]];
+        }
+        substitute(x, 0, 1);
+        return x;
+    }
+
+    /**
+     * Solve <code>A * X = B</code> for X, where A is the decomposed matrix and B a matrix with the same number of rows.
+     * @param b DoubleMatrixData; the right hand side
+     * @return DoubleMatrixDataDense; the solution X, with the same number of columns as B
+     * @throws NullPointerException when b is null
+     * @throws ValueRuntimeException when the number of rows of b does not match, or when the matrix is singular
+     */
+    public DoubleMatrixDataDense solve(final DoubleMatrixData b) throws ValueRuntimeException
+    {
+        Throw.whenNull(b, "DoubleLUDecomposition.solve: b is null");
+        Throw.when(b.rows() != this.n, ValueRuntimeException.class,
+                "DoubleLUDecomposition.solve: rows of b (%d) do not match size of matrix (%d)", b.rows(), this.n);
+        checkNonSingular();
+        int m = b.cols();
+        double[] bDense = b.isDense() ? b.matrixSI : b.toDense().matrixSI;
+        double[] x = new double[this.n * m];
+        for (int i = 0; i < this.n; i++)
+        {
+            System.arraycopy(bDense, this.pivot[i] * m, x, i * m, m);
+        }
+        for (int c = 0; c < m; c++)
+        {
+            substitute(x, c, m);
+        }
+        return new DoubleMatrixDataDense(x, this.n, m);
+    }
+
+    /**
+     * Calculate the inverse of the decomposed matrix.
+     * @return DoubleMatrixDataDense; the inverse of the decomposed matrix
+     * @throws ValueRuntimeException when the matrix is singular
+     */
+    public DoubleMatrixDataDense inverse() throws ValueRuntimeException
+    {
+        checkNonSingular();
+        double[] x = new double[this.n * this.n];
+        for (int i = 0; i < this.n; i++)
+        {
+            x[i * this.n + this.pivot[i]] = 1.0;
+        }
+        for (int c = 0; c < this.n; c++)
+        {
+            substitute(x, c, this.n);
+        }
+        return new DoubleMatrixDataDense(x, this.n, this.n);
+    }
+
+    /**
+     * Carry out forward substitution with L and backward substitution with U on one (permuted) column that is stored in an
+     * array with a given offset and stride.
+     * @param x double[]; the array that holds the column; it is overwritten with the solution
+     * @param offset int; the index of the first element of the column
+     * @param stride int; the distance between subsequent elements of the column
+     */
+    private void substitute(final double[] x, final int offset, final int stride)
+    {
+        for (int i = 1; i < this.n; i++)
+        {
+            double sum = x[offset + i * stride];
+            int row = i * this.n;
+            for (int j = 0; j < i; j++)
+            {
+                sum -= this.lu[row + j] * x[offset + j * stride];
+            }
+            x[offset + i * stride] = sum;
+        }
+        for (int i = this.n - 1; i >= 0; i--)
+        {
+            double sum = x[offset + i * stride];
+            int row = i * this.n;
+            for (int j = i + 1; j < this.n; j++)
+            {
+                sum -= this.lu[row + j] * x[offset + j * stride];
+            }
+            x[offset + i * stride] = sum / this.lu[row + i];
+        }
+    }
+
+    /**
+     * Check that the decomposed matrix is not singular.
+     * @throws ValueRuntimeException when the matrix is singular
+     */
+    private void checkNonSingular() throws ValueRuntimeException
+    {
+        Throw.when(isSingular(), ValueRuntimeException.class, "DoubleLUDecomposition: matrix is singular");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleLUDecomposition [size=" + this.n + ", pivotSign=" + this.pivotSign + "]";
+    }
+
+}
@@ -0,0 +1,740 @@
+package org.djunits.value.vdouble.matrix.data;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.djunits.Throw;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleMatrixCellConsumer;
+
+/**
+ * Stores compressed sparse data for a DoubleMatrix and carries out basic operations. In the compressed sparse row format (CSR)
+ * the stored cells are grouped per row: the cells of row r are stored at the positions <code>pointers[r]</code> (inclusive)
+ * to <code>pointers[r + 1]</code> (exclusive) of the value array, and the minor index array holds their column numbers in
+ * increasing order. The compressed sparse column format (CSC) groups the cells per column in the same way, with the row
+ * numbers as minor indices. A row of CSR data and a column of CSC data are retrieved in O(number of stored cells in the row or
+ * column), a single cell is found with a binary search within its row or column, and operations are split over ranges of rows
+ * or columns without searching.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public class DoubleMatrixDataCompressed extends DoubleMatrixData
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** whether the cells are grouped per row (CSR) or per column (CSC). */
+    private final boolean byRow;
+
+    /** the position of the first stored cell of each row (CSR) or column (CSC), followed by the number of stored cells. */
+    private int[] pointers;
+
+    /** the column (CSR) or row (CSC) of each stored cell, in increasing order within a row or column. */
+    private int[] minorIndices;
+
+    /**
+     * Create a matrix with compressed sparse data. The arrays are not copied.
+     * @param storageType StorageType; CSR to group the cells per row, or CSC to group the cells per column
+     * @param matrixSI double[]; the SI values of the stored cells
+     * @param pointers int[]; the position of the first stored cell of each row (CSR) or column (CSC), followed by the number
+     *            of stored cells
+     * @param minorIndices int[]; the column (CSR) or row (CSC) of each stored cell, in increasing order within a row or column
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @throws NullPointerException when one of the arrays is null
+     * @throws ValueRuntimeException when the storage type is not CSR or CSC, or when the lengths of the arrays do not match
+     */
+    public DoubleMatrixDataCompressed(final StorageType storageType, final double[] matrixSI, final int[] pointers,
+            final int[] minorIndices, final int rows, final int cols) throws ValueRuntimeException
+    {
+        super(storageType);
+        Throw.when(storageType != StorageType.CSR && storageType != StorageType.CSC, ValueRuntimeException.class,
+                "DoubleMatrixDataCompressed: storage type should be CSR or CSC, not %s", storageType);
+        Throw.whenNull(matrixSI, "DoubleMatrixDataCompressed: matrixSI is null");
+        Throw.whenNull(pointers, "DoubleMatrixDataCompressed: pointers is null");
+        Throw.whenNull(minorIndices, "DoubleMatrixDataCompressed: minorIndices is null");
+        Throw.when(rows < 0 || cols < 0, ValueRuntimeException.class, "DoubleMatrixDataCompressed: rows and cols must be >= 0");
+        this.byRow = storageType == StorageType.CSR;
+        int major = this.byRow ? rows : cols;
+        Throw.when(pointers.length != major + 1 || pointers[0] != 0 || pointers[major] != matrixSI.length
+                || minorIndices.length != matrixSI.length, ValueRuntimeException.class,
+                "DoubleMatrixDataCompressed: lengths of the pointers, minorIndices and matrixSI arrays do not match");
+        this.matrixSI = matrixSI;
+        this.pointers = pointers;
+        this.minorIndices = minorIndices;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Instantiate compressed sparse data with the same values as another data object. The other data object is not changed.
+     * @param data DoubleMatrixData; the data to convert
+     * @param storageType StorageType; CSR to group the cells per row, or CSC to group the cells per column
+     * @return DoubleMatrixDataCompressed; new compressed sparse data with the values of the data object
+     */
+    static DoubleMatrixDataCompressed instantiate(final DoubleMatrixData data, final StorageType storageType)
+    {
+        if (data.isCompressed())
+        {
+            DoubleMatrixDataCompressed compressed = (DoubleMatrixDataCompressed) data;
+            return compressed.getStorageType() == storageType ? compressed.copy() : compressed.transpose();
+        }
+        final boolean byRow = storageType == StorageType.CSR;
+        int major = byRow ? data.rows : data.cols;
+        int[] pointers = new int[major + 1];
+        data.forEachNonZero((row, col, valueSI) -> pointers[(byRow ? row : col) + 1]++);
+        accumulate(pointers);
+        int[] minorIndices = new int[pointers[major]];
+        double[] valuesSI = new double[pointers[major]];
+        int[] next = Arrays.copyOf(pointers, major);
+        // the cells are visited row by row, so the minor indices are stored in increasing order
+        data.forEachNonZero((row, col, valueSI) ->
+        {
+            int position = next[byRow ? row : col]++;
+            minorIndices[position] = byRow ? col : row;
+            valuesSI[position] = valueSI;
+        });
+        return new DoubleMatrixDataCompressed(storageType, valuesSI, pointers, minorIndices, data.rows, data.cols);
+    }
+
+    /**
+     * Return a copy of this data in the other compressed format: CSC for CSR data and CSR for CSC data.
+     * @return DoubleMatrixDataCompressed; a copy of this data in the other compressed format
+     */
+    private DoubleMatrixDataCompressed transpose()
+    {
+        int major = major();
+        int minor = minor();
+        int[] newPointers = new int[minor + 1];
+        for (int minorIndex : this.minorIndices)
+        {
+            newPointers[minorIndex + 1]++;
+        }
+        accumulate(newPointers);
+        int[] newMinorIndices = new int[this.matrixSI.length];
+        double[] newValues = new double[this.matrixSI.length];
+        int[] next = Arrays.copyOf(newPointers, minor);
+        // the lines are visited in increasing order, so the new minor indices are stored in increasing order
+        for (int line = 0; line < major; line++)
+        {
+            for (int e = this.pointers[line]; e < this.pointers[line + 1]; e++)
+            {
+                int position = next[this.minorIndices[e]]++;
+                newMinorIndices[position] = line;
+                newValues[position] = this.matrixSI[e];
+            }
+        }
+        return new DoubleMatrixDataCompressed(this.byRow ? StorageType.CSC : StorageType.CSR, newValues, newPointers,
+                newMinorIndices, this.rows, this.cols);
+    }
+
+    /**
+     * Return the number of rows (CSR) or columns (CSC) by which the cells are grouped.
+     * @return int; the number of rows (CSR) or columns (CSC)
+     */
+    private int major()
+    {
+        return this.byRow ? this.rows : this.cols;
+    }
+
+    /**
+     * Return the number of cells in each row (CSR) or column (CSC).
+     * @return int; the number of columns (CSR) or rows (CSC)
+     */
+    private int minor()
+    {
+        return this.byRow ? this.cols : this.rows;
+    }
+
+    /**
+     * Return the internal array with the position of the first stored cell of each row (CSR) or column (CSC), followed by the
+     * number of stored cells. No copy is made, so the array should not be changed.
+     * @return int[]; the internal pointer array
+     */
+    final int[] getPointers()
+    {
+        return this.pointers;
+    }
+
+    /**
+     * Return the internal array with the column (CSR) or row (CSC) of each stored cell. No copy is made, so the array should
+     * not be changed.
+     * @return int[]; the internal minor index array
+     */
+    final int[] getMinorIndices()
+    {
+        return this.minorIndices;
+    }
+
+    /**
+     * Read compressed sparse data that has been written with encode(...), after the shape of the matrix.
+     * @param in ValueCodec.Input; the input to read the pointers, the minor indices and the values from
+     * @param storageType StorageType; CSR or CSC
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return DoubleMatrixDataCompressed; the compressed sparse data that has been read
+     * @throws IOException on I/O error, or when the pointers or the minor indices are not consistent
+     */
+    static DoubleMatrixDataCompressed decode(final ValueCodec.Input in, final StorageType storageType, final int rows,
+            final int cols) throws IOException
+    {
+        int major = storageType == StorageType.CSR ? rows : cols;
+        int minor = storageType == StorageType.CSR ? cols : rows;
+        int stored = in.readCount();
+        if (stored > (long) rows * cols)
+        {
+            throw new IOException(
+                    "DoubleMatrixDataCompressed.decode: " + stored + " stored cells for a " + rows + "x" + cols + " matrix");
+        }
+        int[] pointers = in.readInts(major + 1);
+        int[] minorIndices = in.readInts(stored);
+        if (pointers[0] != 0 || pointers[major] != stored)
+        {
+            throw new IOException("DoubleMatrixDataCompressed.decode: pointers do not match the number of stored cells");
+        }
+        for (int line = 0; line < major; line++)
+        {
+            if (pointers[line + 1] < pointers[line])
+            {
+                throw new IOException("DoubleMatrixDataCompressed.decode: pointers are not ascending");
+            }
+            for (int e = pointers[line]; e < pointers[line + 1]; e++)
+            {
+                if (minorIndices[e] < (e == pointers[line] ? 0 : minorIndices[e - 1] + 1) || minorIndices[e] >= minor)
+                {
+                    throw new IOException("DoubleMatrixDataCompressed.decode: minor index " + minorIndices[e]
+                            + " is not ascending or out of range");
+                }
+            }
+        }
+        return new DoubleMatrixDataCompressed(storageType, in.readDoubles(stored), pointers, minorIndices, rows, cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void encode(final ValueCodec.Output out) throws IOException
+    {
+        out.writeInt(this.rows);
+        out.writeInt(this.cols);
+        out.writeInt(this.matrixSI.length);
+        out.writeInts(this.pointers, this.pointers.length);
+        out.writeInts(this.minorIndices, this.minorIndices.length);
+        out.writeDoubles(this.matrixSI, this.matrixSI.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int cardinality()
+    {
+        return this.matrixSI.length;
+    }
+
+    /**
+     * Find the position of a cell in the value array.
+     * @param row int; the row of the cell
+     * @param col int; the column of the cell
+     * @return int; the position of the cell when it is stored, or (-(insertion point) - 1) when it is not stored
+     */
+    private int find(final int row, final int col)
+    {
+        int line = this.byRow ? row : col;
+        return Arrays.binarySearch(this.minorIndices, this.pointers[line], this.pointers[line + 1], this.byRow ? col : row);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final long storedIndex(final int position)
+    {
+        // the row (CSR) or column (CSC) is the last one that starts at or before the position
+        int low = 0;
+        int high = major();
+        while (low < high)
+        {
+            int middle = (low + high + 1) >>> 1;
+            if (this.pointers[middle] <= position)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return this.byRow ? (long) low * this.cols + this.minorIndices[position]
+                : (long) this.minorIndices[position] * this.cols + low;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double getSI(final int row, final int col)
+    {
+        int position = find(row, col);
+        return position < 0 ? 0.0 : this.matrixSI[position];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSI(final int row, final int col, final double valueSI)
+    {
+        int position = find(row, col);
+        if (position >= 0 && valueSI != 0.0)
+        {
+            this.matrixSI[position] = valueSI;
+            return;
+        }
+        if (position < 0 && valueSI == 0.0)
+        {
+            return;
+        }
+        int length = this.matrixSI.length;
+        int delta;
+        if (position >= 0)
+        {
+            // remove the cell
+            double[] newValues = new double[length - 1];
+            int[] newMinorIndices = new int[length - 1];
+            System.arraycopy(this.matrixSI, 0, newValues, 0, position);
+            System.arraycopy(this.minorIndices, 0, newMinorIndices, 0, position);
+            System.arraycopy(this.matrixSI, position + 1, newValues, position, length - position - 1);
+            System.arraycopy(this.minorIndices, position + 1, newMinorIndices, position, length - position - 1);
+            this.matrixSI = newValues;
+            this.minorIndices = newMinorIndices;
+            delta = -1;
+        }
+        else
+        {
+            // insert the cell
+            position = -position - 1;
+            double[] newValues = new double[length + 1];
+            int[] newMinorIndices = new int[length + 1];
+            System.arraycopy(this.matrixSI, 0, newValues, 0, position);
+            System.arraycopy(this.minorIndices, 0, newMinorIndices, 0, position);
+            System.arraycopy(this.matrixSI, position, newValues, position + 1, length - position);
+            System.arraycopy(this.minorIndices, position, newMinorIndices, position + 1, length - position);
+            newValues[position] = valueSI;
+            newMinorIndices[position] = this.byRow ? col : row;
+            this.matrixSI = newValues;
+            this.minorIndices = newMinorIndices;
+            delta = 1;
+        }
+        for (int line = (this.byRow ? row : col) + 1; line < this.pointers.length; line++)
+        {
+            this.pointers[line] += delta;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[] getRowSI(final int row)
+    {
+        return lineSI(row, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[] getColumnSI(final int col)
+    {
+        return lineSI(col, false);
+    }
+
+    /**
+     * Return the SI values of a row or a column. The stored cells of a row of CSR data or a column of CSC data are copied
+     * directly; otherwise the cells are searched one by one.
+     * @param index int; the row or column
+     * @param row boolean; true for a row, false for a column
+     * @return double[]; the SI values of the row or column
+     */
+    private double[] lineSI(final int index, final boolean row)
+    {
+        double[] result = new double[row ? this.cols : this.rows];
+        if (row == this.byRow)
+        {
+            for (int e = this.pointers[index]; e < this.pointers[index + 1]; e++)
+            {
+                result[this.minorIndices[e]] = this.matrixSI[e];
+            }
+        }
+        else
+        {
+            for (int i = 0; i < result.length; i++)
+            {
+                result[i] = row ? getSI(index, i) : getSI(i, index);
+            }
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed assign(final DoubleFunction doubleFunction)
+    {
+        if (doubleFunction.apply(0d) != 0d)
+        {
+            // all cells that are not stored become non-zero as well
+            take(instantiate(toDense().assign(doubleFunction), getStorageType()));
+            return this;
+        }
+        // The code below relies on the fact that doubleFunction.apply(0d) yields 0d
+        final int[] oldPointers = this.pointers;
+        final int[] oldMinorIndices = this.minorIndices;
+        final double[] oldValues = this.matrixSI;
+        rebuild(oldValues.length, (line, newMinorIndices, newValues, start) ->
+        {
+            int position = start;
+            for (int e = oldPointers[line]; e < oldPointers[line + 1]; e++)
+            {
+                double value = doubleFunction.apply(oldValues[e]);
+                if (value != 0d)
+                {
+                    if (newValues != null)
+                    {
+                        newMinorIndices[position] = oldMinorIndices[e];
+                        newValues[position] = value;
+                    }
+                    position++;
+                }
+            }
+            return position - start;
+        });
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed assign(final DoubleFunction2 doubleFunction, final DoubleMatrixData right)
+    {
+        if (doubleFunction.apply(0d, 0d) != 0d)
+        {
+            // all cells that are not stored in either operand become non-zero as well
+            take(instantiate(toDense().assign(doubleFunction, right), getStorageType()));
+            return this;
+        }
+        // The code below relies on the fact that doubleFunction.apply(0d, 0d) yields 0d
+        checkSizes(right);
+        final int[] oldPointers = this.pointers;
+        final int[] oldMinorIndices = this.minorIndices;
+        final double[] oldValues = this.matrixSI;
+        if (right.isSparse() || right.isCompressed())
+        {
+            // merge the stored cells of each row or column with those of the right operand in the same format
+            DoubleMatrixDataCompressed other = right.getStorageType() == getStorageType() ? (DoubleMatrixDataCompressed) right
+                    : instantiate(right, getStorageType());
+            final int[] otherPointers = other.pointers;
+            final int[] otherMinorIndices = other.minorIndices;
+            final double[] otherValues = other.matrixSI;
+            rebuild((long) oldValues.length + otherValues.length, (line, newMinorIndices, newValues, start) ->
+            {
+                int position = start;
+                int own = oldPointers[line];
+                int ownEnd = oldPointers[line + 1];
+                int otherIndex = otherPointers[line];
+                int otherEnd = otherPointers[line + 1];
+                while (own < ownEnd || otherIndex < otherEnd)
+                {
+                    int ownMinor = own < ownEnd ? oldMinorIndices[own] : Integer.MAX_VALUE;
+                    int otherMinor = otherIndex < otherEnd ? otherMinorIndices[otherIndex] : Integer.MAX_VALUE;
+                    int minorIndex = Math.min(ownMinor, otherMinor);
+                    double ownValue = ownMinor == minorIndex ? oldValues[own++] : 0d;
+                    double otherValue = otherMinor == minorIndex ? otherValues[otherIndex++] : 0d;
+                    double value = doubleFunction.apply(ownValue, otherValue);
+                    if (value != 0d)
+                    {
+                        if (newValues != null)
+                        {
+                            newMinorIndices[position] = minorIndex;
+                            newValues[position] = value;
+                        }
+                        position++;
+                    }
+                }
+                return position - start;
+            });
+        }
+        else
+        {
+            // right is dense or off-heap; visit all cells of each row or column
+            final double[] rightSI = right.isDense() ? right.matrixSI : null;
+            final int minor = minor();
+            rebuild((long) this.rows * this.cols, (line, newMinorIndices, newValues, start) ->
+            {
+                int position = start;
+                int own = oldPointers[line];
+                int ownEnd = oldPointers[line + 1];
+                for (int minorIndex = 0; minorIndex < minor; minorIndex++)
+                {
+                    int row = this.byRow ? line : minorIndex;
+                    int col = this.byRow ? minorIndex : line;
+                    double rightValue = rightSI != null ? rightSI[row * this.cols + col] : right.getSI(row, col);
+                    double ownValue = own < ownEnd && oldMinorIndices[own] == minorIndex ? oldValues[own++] : 0d;
+                    double value = doubleFunction.apply(ownValue, rightValue);
+                    if (value != 0d)
+                    {
+                        if (newValues != null)
+                        {
+                            newMinorIndices[position] = minorIndex;
+                            newValues[position] = value;
+                        }
+                        position++;
+                    }
+                }
+                return position - start;
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Calculate the stored cells anew for each row (CSR) or column (CSC), in two passes over ranges of rows or columns as
+     * determined by the current ExecutionPolicy: the first pass counts the non-zero results, and the second pass fills exactly
+     * sized arrays.
+     * @param work long; an estimate of the amount of work
+     * @param kernel LineKernel; the kernel that calculates the non-zero results of a row or column
+     */
+    private void rebuild(final long work, final LineKernel kernel)
+    {
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int major = major();
+        int chunks = Math.max(1, policy.chunks(major, work));
+        int[] offsets = new int[chunks + 1];
+        policy.execute(major, chunks, (chunk, from, to) ->
+        {
+            int count = 0;
+            for (int line = from; line < to; line++)
+            {
+                count += kernel.apply(line, null, null, 0);
+            }
+            offsets[chunk + 1] = count;
+        });
+        accumulate(offsets);
+        int[] newPointers = new int[major + 1];
+        int[] newMinorIndices = new int[offsets[chunks]];
+        double[] newValues = new double[offsets[chunks]];
+        policy.execute(major, chunks, (chunk, from, to) ->
+        {
+            int position = offsets[chunk];
+            for (int line = from; line < to; line++)
+            {
+                position += kernel.apply(line, newMinorIndices, newValues, position);
+                newPointers[line + 1] = position;
+            }
+        });
+        this.pointers = newPointers;
+        this.minorIndices = newMinorIndices;
+        this.matrixSI = newValues;
+    }
+
+    /**
+     * Take over the arrays of other compressed data in the same format.
+     * @param other DoubleMatrixDataCompressed; the data of which the arrays are taken over
+     */
+    private void take(final DoubleMatrixDataCompressed other)
+    {
+        this.pointers = other.pointers;
+        this.minorIndices = other.minorIndices;
+        this.matrixSI = other.matrixSI;
+    }
+
+    /**
+     * Turn an array with counts at positions 1 to n into an array of offsets, where position i holds the sum of the counts
+     * before it.
+     * @param offsets int[]; the counts at positions 1 to n, which are replaced by the offsets
+     */
+    private static void accumulate(final int[] offsets)
+    {
+        for (int i = 1; i < offsets.length; i++)
+        {
+            offsets[i] += offsets[i - 1];
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataDense toDense()
+    {
+        double[] denseSI = new double[this.rows * this.cols];
+        for (int line = 0; line < major(); line++)
+        {
+            for (int e = this.pointers[line]; e < this.pointers[line + 1]; e++)
+            {
+                int minorIndex = this.minorIndices[e];
+                denseSI[this.byRow ? line * this.cols + minorIndex : minorIndex * this.cols + line] = this.matrixSI[e];
+            }
+        }
+        return DoubleMatrixDataDense.wrap(denseSI, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataSparse toSparse()
+    {
+        if (!this.byRow)
+        {
+            return transpose().toSparse();
+        }
+        long[] indices = new long[this.matrixSI.length];
+        for (int row = 0; row < this.rows; row++)
+        {
+            for (int e = this.pointers[row]; e < this.pointers[row + 1]; e++)
+            {
+                indices[e] = (long) row * this.cols + this.minorIndices[e];
+            }
+        }
+        return new DoubleMatrixDataSparse(this.matrixSI.clone(), indices, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed toCsr()
+    {
+        return this.byRow ? this : transpose();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed toCsc()
+    {
+        return this.byRow ? transpose() : this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[][] getDenseMatrixSI()
+    {
+        return toDense().getDenseMatrixSI();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleMatrixCellConsumer consumer)
+    {
+        if (!this.byRow)
+        {
+            // the cells have to be visited row by row
+            transpose().forEachNonZero(consumer);
+            return;
+        }
+        for (int row = 0; row < this.rows; row++)
+        {
+            for (int e = this.pointers[row]; e < this.pointers[row + 1]; e++)
+            {
+                if (this.matrixSI[e] != 0.0)
+                {
+                    consumer.accept(row, this.minorIndices[e], this.matrixSI[e]);
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed copy()
+    {
+        return new DoubleMatrixDataCompressed(getStorageType(), this.matrixSI.clone(), this.pointers.clone(),
+                this.minorIndices.clone(), this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixData plus(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        if (right.isDense() || right.isOffHeap())
+        {
+            return right.copy().incrementBy(this);
+        }
+        return this.copy().incrementBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixData minus(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        if (right.isDense())
+        {
+            return this.toDense().decrementBy(right);
+        }
+        return this.copy().decrementBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataCompressed times(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        return this.copy().assign((leftValue, rightValue) -> leftValue * rightValue, right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixData divide(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        if (right.isSparse() || right.isCompressed())
+        {
+            // dividing by the cells that are not stored makes a dense result
+            return this.toDense().divide(right);
+        }
+        return this.copy().divideBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode()
+    {
+        return super.hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings({"checkstyle:needbraces", "checkstyle:designforextension"})
+    public boolean equals(final Object obj)
+    {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof DoubleMatrixDataCompressed))
+            return super.equals(obj);
+        DoubleMatrixDataCompressed other = (DoubleMatrixDataCompressed) obj;
+        if (this.byRow != other.byRow || this.rows != other.rows || this.cols != other.cols)
+            return super.equals(obj);
+        return Arrays.equals(this.pointers, other.pointers) && Arrays.equals(this.minorIndices, other.minorIndices)
+                && Arrays.equals(this.matrixSI, other.matrixSI);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleMatrixDataCompressed [storageType=" + getStorageType() + ", rows=" + this.rows + ", cols=" + this.cols
+                + ", pointers=" + Arrays.toString(this.pointers) + ", minorIndices=" + Arrays.toString(this.minorIndices)
+                + ", matrixSI=" + Arrays.toString(this.matrixSI) + "]";
+    }
+
+    /**
+     * Kernel that calculates the non-zero results of an operation for one row (CSR) or column (CSC).
+     */
+    @FunctionalInterface
+    private interface LineKernel
+    {
+        /**
+         * Calculate the non-zero results of one row or column, and store them from a given position in the result arrays, or
+         * only count them when the result arrays are null.
+         * @param line int; the row (CSR) or column (CSC)
+         * @param newMinorIndices int[]; the result minor indices, or null to only count the non-zero results
+         * @param newValues double[]; the result values, or null to only count the non-zero results
+         * @param start int; the position in the result arrays of the first non-zero result of the row or column
+         * @return int; the number of non-zero results of the row or column
+         */
+        int apply(int line, int[] newMinorIndices, double[] newValues, int start);
+    }
+
+}
@@ -5,9 +5,11 @@ import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleMatrixCellConsumer;
 
 /**
  * Stores dense data for a DoubleMatrix and carries out basic operations.
@@ -43,6 +45,34 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         this.cols = cols;
     }
 
+    /**
+     * Create a matrix with dense data that uses the given array as its storage.
+     * @param matrixSI double[]; the data to store, row by row; the array is not copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param unused boolean; distinguishes this constructor from the copying constructor
+     */
+    private DoubleMatrixDataDense(final double[] matrixSI, final int rows, final int cols, final boolean unused)
+    {
+        super(StorageType.DENSE);
+        this.matrixSI = matrixSI;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Create a matrix with dense data that takes over the given array without copying it. The caller should not use the array
+     * anymore after this call.
+     * @param matrixSI double[]; the data to store, row by row, with length rows * cols
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return DoubleMatrixDataDense; the dense data object that uses the array as its storage
+     */
+    static DoubleMatrixDataDense wrap(final double[] matrixSI, final int rows, final int cols)
+    {
+        return new DoubleMatrixDataDense(matrixSI, rows, cols, false);
+    }
+
     /**
      * Create a matrix with dense data. The double array is of the form d[rows][columns] so each value can be found with
      * d[row][column].
@@ -72,15 +102,15 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
     @Override
     public final int cardinality()
     {
-        return (int) Arrays.stream(this.matrixSI).parallel().filter(d -> d != 0.0).count();
+        return ExecutionPolicy.current().count(this.matrixSI.length, i -> this.matrixSI[i] != 0.0);
     }
 
     /** {@inheritDoc} */
     @Override
     public final DoubleMatrixDataDense assign(final DoubleFunction doubleFunction)
     {
-        IntStream.range(0, this.rows() * this.cols()).parallel()
-                .forEach(i -> this.matrixSI[i] = doubleFunction.apply(this.matrixSI[i]));
+        ExecutionPolicy.current().forEach(this.rows() * this.cols(),
+                i -> this.matrixSI[i] = doubleFunction.apply(this.matrixSI[i]));
         return this;
     }
 
@@ -91,12 +121,12 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         if (right.isDense())
         {
             DoubleMatrixDataDense rightDense = (DoubleMatrixDataDense) right;
-            IntStream.range(0, this.rows() * this.cols()).parallel()
-                    .forEach(i -> this.matrixSI[i] = doubleFunction.apply(this.matrixSI[i], rightDense.matrixSI[i]));
+            ExecutionPolicy.current().forEach(this.rows() * this.cols(),
+                    i -> this.matrixSI[i] = doubleFunction.apply(this.matrixSI[i], rightDense.matrixSI[i]));
         }
         else
         {
-            IntStream.range(0, this.rows() * this.cols()).parallel().forEach(
+            ExecutionPolicy.current().forEach(this.rows() * this.cols(),
                     i -> this.matrixSI[i] = doubleFunction.apply(this.matrixSI[i], right.getSI(i / this.cols, i % this.cols)));
         }
         return this;
@@ -147,6 +177,20 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         this.matrixSI[row * this.cols + col] = valueSI;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final double[] getRowSI(final int row)
+    {
+        return Arrays.copyOfRange(this.matrixSI, row * this.cols, (row + 1) * this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        System.arraycopy(this.matrixSI, from, target, offset, count);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final double[][] getDenseMatrixSI()
@@ -161,6 +205,22 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         return matrix;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleMatrixCellConsumer consumer)
+    {
+        for (int row = 0, index = 0; row < this.rows; row++)
+        {
+            for (int col = 0; col < this.cols; col++, index++)
+            {
+                if (this.matrixSI[index] != 0.0)
+                {
+                    consumer.accept(row, col, this.matrixSI[index]);
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public final DoubleMatrixDataDense copy()
@@ -183,12 +243,11 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         double[] dm = new double[this.rows * this.cols];
         if (right.isDense())
         {
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols).forEach(
-                    c -> dm[r * this.cols + c] = this.matrixSI[r * this.cols + c] + right.matrixSI[r * this.cols + c]));
+            ExecutionPolicy.current().forEach(this.rows * this.cols, i -> dm[i] = this.matrixSI[i] + right.matrixSI[i]);
         }
         else
-        { // right is sparse
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols)
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r -> IntStream.range(0, this.cols)
                     .forEach(c -> dm[r * this.cols + c] = this.matrixSI[r * this.cols + c] + right.getSI(r, c)));
         }
         return new DoubleMatrixDataDense(dm, this.rows, this.cols);
@@ -202,12 +261,11 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         double[] dm = new double[this.rows * this.cols];
         if (right.isDense())
         {
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols).forEach(
-                    c -> dm[r * this.cols + c] = this.matrixSI[r * this.cols + c] - right.matrixSI[r * this.cols + c]));
+            ExecutionPolicy.current().forEach(this.rows * this.cols, i -> dm[i] = this.matrixSI[i] - right.matrixSI[i]);
         }
         else
-        { // right is sparse
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols)
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r -> IntStream.range(0, this.cols)
                     .forEach(c -> dm[r * this.cols + c] = this.matrixSI[r * this.cols + c] - right.getSI(r, c)));
         }
         return new DoubleMatrixDataDense(dm, this.rows, this.cols);
@@ -217,7 +275,7 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
     @Override
     public DoubleMatrixData times(final DoubleMatrixData right) throws ValueRuntimeException
     {
-        if (right.isSparse())
+        if (right.isSparse() || right.isCompressed())
         {
             // result shall be sparse
             return right.times(this);
@@ -235,11 +293,11 @@ public class DoubleMatrixDataDense extends DoubleMatrixData
         double[] dm = new double[this.rows * this.cols];
         if (right.isDense())
         {
-            IntStream.range(0, this.rows * this.cols).parallel().forEach(i -> dm[i] = this.matrixSI[i] / right.matrixSI[i]);
+            ExecutionPolicy.current().forEach(this.rows * this.cols, i -> dm[i] = this.matrixSI[i] / right.matrixSI[i]);
         }
         else
         {
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols)
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r -> IntStream.range(0, this.cols)
                     .forEach(c -> dm[r * this.cols + c] = this.matrixSI[r * this.cols + c] / right.getSI(r, c)));
         }
         return new DoubleMatrixDataDense(dm, this.rows, this.cols);
@@ -0,0 +1,499 @@
+package org.djunits.value.vdouble.matrix.data;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.unit.scale.Scale;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.MappedHeader;
+import org.djunits.value.storage.OffHeapDoubleArray;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleMatrixCellConsumer;
+import org.djunits.value.vdouble.matrix.base.DoubleSparseValue;
+import org.djunits.value.vdouble.scalar.base.DoubleScalarInterface;
+
+/**
+ * Stores the data for a DoubleMatrix outside of the Java heap and carries out basic operations. The values are held row by row
+ * in direct buffers, so they are not traced or moved by the garbage collector, and they do not count against the maximum heap
+ * size. The off-heap memory is held until close() is called; the data cannot be used after that. Results of operations on
+ * off-heap data are stored off-heap as well, except where the result is sparse.
+ * <p>
+ * The data can also be mapped onto the values in a file with map(...), without reading or copying the values. The
+ * operating system then loads the pages of the file when they are first accessed. A writable mapping writes changes back
+ * to the file; a read-only mapping cannot be changed.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public class DoubleMatrixDataOffHeap extends DoubleMatrixData implements AutoCloseable
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** the off-heap values; null when the data has been closed. */
+    private OffHeapDoubleArray values;
+
+    /**
+     * Create a matrix with off-heap data.
+     * @param matrixSI double[]; the data to store, row by row; the values are copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @throws ValueRuntimeException in case <code>rows * cols != matrixSI.length</code>
+     */
+    public DoubleMatrixDataOffHeap(final double[] matrixSI, final int rows, final int cols) throws ValueRuntimeException
+    {
+        this(rows, cols);
+        Throw.when((long) rows * cols != matrixSI.length, ValueRuntimeException.class,
+                "DoubleMatrixDataOffHeap constructor, rows * cols != matrixSI.length");
+        this.values.put(0, matrixSI, 0, matrixSI.length);
+    }
+
+    /**
+     * Create a matrix with off-heap data, of which all values are zero.
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @throws ValueRuntimeException when rows or cols is negative, or when the matrix has more than Integer.MAX_VALUE cells
+     */
+    DoubleMatrixDataOffHeap(final int rows, final int cols) throws ValueRuntimeException
+    {
+        this(checkedValues(rows, cols), rows, cols);
+    }
+
+    /**
+     * Create a matrix with off-heap data that uses the given off-heap array as its storage.
+     * @param values OffHeapDoubleArray; the values, row by row; the array is not copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     */
+    private DoubleMatrixDataOffHeap(final OffHeapDoubleArray values, final int rows, final int cols)
+    {
+        super(StorageType.OFF_HEAP);
+        this.values = values;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Allocate the off-heap values for a matrix of the given size.
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return OffHeapDoubleArray; the off-heap values, all zero
+     * @throws ValueRuntimeException when rows or cols is negative, or when the matrix has more than Integer.MAX_VALUE cells
+     */
+    private static OffHeapDoubleArray checkedValues(final int rows, final int cols) throws ValueRuntimeException
+    {
+        Throw.when(rows < 0 || cols < 0, ValueRuntimeException.class, "DoubleMatrixDataOffHeap: rows and cols must be >= 0");
+        Throw.when((long) rows * cols > Integer.MAX_VALUE, ValueRuntimeException.class,
+                "DoubleMatrixDataOffHeap: matrix of %d x %d has too many cells", rows, cols);
+        return new OffHeapDoubleArray(rows * cols);
+    }
+
+    /**
+     * Instantiate off-heap data from a rectangular array, without an intermediate copy on the heap.
+     * @param values double[][]; the values to store, which should be rectangular
+     * @param scale Scale; the scale of the unit to use for conversion to SI
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return DoubleMatrixDataOffHeap; the off-heap data with the SI values
+     */
+    static DoubleMatrixDataOffHeap instantiate(final double[][] values, final Scale scale, final int rows, final int cols)
+    {
+        DoubleMatrixDataOffHeap result = new DoubleMatrixDataOffHeap(rows, cols);
+        OffHeapDoubleArray v = result.values;
+        ExecutionPolicy.current().forEach(rows, (long) rows * cols, r ->
+        {
+            for (int c = 0; c < cols; c++)
+            {
+                v.set(r * cols + c, scale.toStandardUnit(values[r][c]));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Instantiate off-heap data from a rectangular array of scalars, without an intermediate copy on the heap.
+     * @param values S[][]; the values to store, which should be rectangular
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return DoubleMatrixDataOffHeap; the off-heap data with the SI values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     */
+    static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>> DoubleMatrixDataOffHeap instantiate(final S[][] values,
+            final int rows, final int cols)
+    {
+        DoubleMatrixDataOffHeap result = new DoubleMatrixDataOffHeap(rows, cols);
+        OffHeapDoubleArray v = result.values;
+        ExecutionPolicy.current().forEach(rows, (long) rows * cols, r ->
+        {
+            for (int c = 0; c < cols; c++)
+            {
+                v.set(r * cols + c, values[r][c].getSI());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Instantiate off-heap data from a collection of (row, column, value) entries; the other cells are zero.
+     * @param values Collection&lt;DoubleSparseValue&lt;U, S&gt;&gt;; the non-zero values to store
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return DoubleMatrixDataOffHeap; the off-heap data with the SI values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     */
+    static <U extends Unit<U>, S extends DoubleScalarInterface<U, S>> DoubleMatrixDataOffHeap instantiate(
+            final Collection<DoubleSparseValue<U, S>> values, final int rows, final int cols)
+    {
+        DoubleMatrixDataOffHeap result = new DoubleMatrixDataOffHeap(rows, cols);
+        for (DoubleSparseValue<U, S> value : values)
+        {
+            result.values.set(value.getRow() * cols + value.getColumn(), value.getValueSI());
+        }
+        return result;
+    }
+
+    /**
+     * Instantiate an off-heap copy of a matrix data object.
+     * @param data DoubleMatrixData; the data to copy
+     * @return DoubleMatrixDataOffHeap; an off-heap data object with the same values
+     */
+    static DoubleMatrixDataOffHeap instantiate(final DoubleMatrixData data)
+    {
+        if (data.isOffHeap())
+        {
+            return ((DoubleMatrixDataOffHeap) data).copy();
+        }
+        if (data.isDense())
+        {
+            return new DoubleMatrixDataOffHeap(data.matrixSI, data.rows, data.cols);
+        }
+        // the off-heap array starts with all values zero
+        DoubleMatrixDataOffHeap result = new DoubleMatrixDataOffHeap(data.rows, data.cols);
+        data.forEachNonZero((row, col, valueSI) -> result.values.set(row * data.cols + col, valueSI));
+        return result;
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed.
+     * @return OffHeapDoubleArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    private OffHeapDoubleArray values()
+    {
+        Throw.when(this.values == null, ValueRuntimeException.class, "DoubleMatrixDataOffHeap: data has been closed");
+        return this.values;
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed and that the values can be changed.
+     * @return OffHeapDoubleArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed, or when it is mapped read-only onto a file
+     */
+    private OffHeapDoubleArray writableValues()
+    {
+        OffHeapDoubleArray v = values();
+        Throw.when(v.isReadOnly(), ValueRuntimeException.class, "DoubleMatrixDataOffHeap: data is mapped read-only");
+        return v;
+    }
+
+    /**
+     * Map matrix data onto the values in a file, which follow the header of the file. The values are not read or copied.
+     * Closing the channel afterwards does not affect the mapping.
+     * @param channel FileChannel; the channel of the file, which should be writable for a writable mapping
+     * @param header MappedHeader; the header of the file
+     * @param writable boolean; whether changes to the data are written to the file; when false, the data cannot be changed
+     * @return DoubleMatrixDataOffHeap; the data that is mapped onto the file
+     * @throws IOException on I/O error
+     * @throws ValueRuntimeException when the file does not hold a matrix of double values
+     */
+    public static DoubleMatrixDataOffHeap map(final FileChannel channel, final MappedHeader header, final boolean writable)
+            throws IOException
+    {
+        Throw.when(header.getValueBytes() != Double.BYTES || header.getDimensions() != 2, ValueRuntimeException.class,
+                "DoubleMatrixDataOffHeap: file does not hold a matrix of double values");
+        OffHeapDoubleArray values =
+                OffHeapDoubleArray.map(channel, header.getDataOffset(), header.getSize(), writable, header.getByteOrder());
+        return new DoubleMatrixDataOffHeap(values, header.getRows(), header.getCols());
+    }
+
+    /**
+     * Release the off-heap memory of this data. The data cannot be used after it has been closed; closing the data more than
+     * once has no effect.
+     */
+    @Override
+    public final void close()
+    {
+        if (this.values != null)
+        {
+            this.values.close();
+            this.values = null;
+        }
+    }
+
+    /**
+     * Return whether the off-heap memory of this data has been released.
+     * @return boolean; whether the data has been closed
+     */
+    public final boolean isClosed()
+    {
+        return this.values == null;
+    }
+
+    /**
+     * Return whether the data is mapped onto a file.
+     * @return boolean; whether the data is mapped onto a file; false after the data has been closed
+     */
+    public final boolean isMapped()
+    {
+        return this.values != null && this.values.isMapped();
+    }
+
+    /**
+     * Return whether the data cannot be changed, which is the case for a read-only mapping of a file.
+     * @return boolean; whether the data cannot be changed
+     */
+    public final boolean isReadOnly()
+    {
+        return this.values != null && this.values.isReadOnly();
+    }
+
+    /**
+     * Write the changes to data that is mapped writable onto a file to the storage device. The method has no effect when
+     * the data is not mapped onto a file.
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    public final void force()
+    {
+        values().force();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int cardinality()
+    {
+        OffHeapDoubleArray v = values();
+        return ExecutionPolicy.current().count(v.length(), i -> v.get(i) != 0.0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap assign(final DoubleFunction doubleFunction)
+    {
+        OffHeapDoubleArray v = writableValues();
+        ExecutionPolicy.current().forEach(v.length(), i -> v.set(i, doubleFunction.apply(v.get(i))));
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap assign(final DoubleFunction2 doubleFunction, final DoubleMatrixData right)
+    {
+        OffHeapDoubleArray v = writableValues();
+        if (right.isDense())
+        {
+            double[] rightSI = right.matrixSI;
+            ExecutionPolicy.current().forEach(v.length(), i -> v.set(i, doubleFunction.apply(v.get(i), rightSI[i])));
+        }
+        else
+        {
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r ->
+            {
+                for (int c = 0, i = r * this.cols; c < this.cols; c++, i++)
+                {
+                    v.set(i, doubleFunction.apply(v.get(i), right.getSI(r, c)));
+                }
+            });
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataDense toDense()
+    {
+        OffHeapDoubleArray v = values();
+        double[] matrixSI = new double[v.length()];
+        v.get(0, matrixSI, 0, matrixSI.length);
+        return DoubleMatrixDataDense.wrap(matrixSI, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataSparse toSparse()
+    {
+        OffHeapDoubleArray v = values();
+        int length = cardinality();
+        double[] sparseSI = new double[length];
+        long[] indices = new long[length];
+        int count = 0;
+        for (int index = 0; index < v.length(); index++)
+        {
+            double value = v.get(index);
+            if (value != 0.0)
+            {
+                sparseSI[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return new DoubleMatrixDataSparse(sparseSI, indices, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap toOffHeap()
+    {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final int storedCount()
+    {
+        return this.rows * this.cols;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        values().get(from, target, offset, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double getSI(final int row, final int col)
+    {
+        return values().get(row * this.cols + col);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        values().get(from, target, offset, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSI(final int row, final int col, final double valueSI)
+    {
+        writableValues().set(row * this.cols + col, valueSI);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double zSum()
+    {
+        OffHeapDoubleArray v = values();
+        return ExecutionPolicy.current().sum(v.length(), (from, to) ->
+        {
+            double sum = 0.0;
+            for (int i = from; i < to; i++)
+            {
+                sum += v.get(i);
+            }
+            return sum;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[][] getDenseMatrixSI()
+    {
+        OffHeapDoubleArray v = values();
+        double[][] matrix = new double[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++)
+        {
+            v.get(r * this.cols, matrix[r], 0, this.cols);
+        }
+        return matrix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleMatrixCellConsumer consumer)
+    {
+        OffHeapDoubleArray v = values();
+        for (int row = 0, index = 0; row < this.rows; row++)
+        {
+            for (int col = 0; col < this.cols; col++, index++)
+            {
+                double value = v.get(index);
+                if (value != 0.0)
+                {
+                    consumer.accept(row, col, value);
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap copy()
+    {
+        return new DoubleMatrixDataOffHeap(values().copy(), this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap plus(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        DoubleMatrixDataOffHeap result = copy();
+        result.incrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixDataOffHeap minus(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        DoubleMatrixDataOffHeap result = copy();
+        result.decrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixData times(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        if (right.isSparse() || right.isCompressed())
+        {
+            // result shall be sparse
+            return right.times(this);
+        }
+        checkSizes(right);
+        return copy().multiplyBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleMatrixData divide(final DoubleMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        return copy().divideBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleMatrixDataOffHeap [storageType=" + getStorageType() + ", rows=" + this.rows + ", cols=" + this.cols
+                + ", mapped=" + isMapped() + ", closed=" + isClosed() + "]";
+    }
+
+}
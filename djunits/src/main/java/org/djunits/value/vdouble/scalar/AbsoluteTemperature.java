@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AbsoluteTemperatureUnit;
 import org.djunits.unit.TemperatureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarAbs;
 
 /**
@@ -165,20 +163,13 @@ public class AbsoluteTemperature
         Throw.whenNull(text, "Error parsing AbsoluteTemperature: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing AbsoluteTemperature: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        AbsoluteTemperature result = ScalarParser.parseDouble(text, 0, text.length(), AbsoluteTemperatureUnit.BASE,
+                AbsoluteTemperature::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AbsoluteTemperatureUnit unit = AbsoluteTemperatureUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new AbsoluteTemperature(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing AbsoluteTemperature from " + text);
         }
-        throw new IllegalArgumentException("Error parsing AbsoluteTemperature from " + text);
+        return result;
     }
 
     /**
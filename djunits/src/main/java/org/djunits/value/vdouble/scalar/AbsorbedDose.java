@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AbsorbedDoseUnit;
 import org.djunits.unit.DimensionlessUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -172,20 +170,12 @@ public class AbsorbedDose extends AbstractDoubleScalarRel<AbsorbedDoseUnit, Abso
     {
         Throw.whenNull(text, "Error parsing AbsorbedDose: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing AbsorbedDose: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        AbsorbedDose result = ScalarParser.parseDouble(text, 0, text.length(), AbsorbedDoseUnit.BASE, AbsorbedDose::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AbsorbedDoseUnit unit = AbsorbedDoseUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new AbsorbedDose(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing AbsorbedDose from " + text);
         }
-        throw new IllegalArgumentException("Error parsing AbsorbedDose from " + text);
+        return result;
     }
 
     /**
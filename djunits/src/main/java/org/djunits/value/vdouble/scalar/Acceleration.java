@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ForceUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -176,20 +174,12 @@ public class Acceleration extends AbstractDoubleScalarRel<AccelerationUnit, Acce
     {
         Throw.whenNull(text, "Error parsing Acceleration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Acceleration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Acceleration result = ScalarParser.parseDouble(text, 0, text.length(), AccelerationUnit.BASE, Acceleration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AccelerationUnit unit = AccelerationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Acceleration(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Acceleration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Acceleration from " + text);
+        return result;
     }
 
     /**
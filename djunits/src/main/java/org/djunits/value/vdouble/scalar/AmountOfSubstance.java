@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AmountOfSubstanceUnit;
 import org.djunits.unit.CatalyticActivityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.DurationUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -176,20 +174,13 @@ public class AmountOfSubstance extends AbstractDoubleScalarRel<AmountOfSubstance
     {
         Throw.whenNull(text, "Error parsing AmountOfSubstance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing AmountOfSubstance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        AmountOfSubstance result = ScalarParser.parseDouble(text, 0, text.length(), AmountOfSubstanceUnit.BASE,
+                AmountOfSubstance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AmountOfSubstanceUnit unit = AmountOfSubstanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new AmountOfSubstance(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing AmountOfSubstance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing AmountOfSubstance from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.AngularVelocityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.DirectionUnit;
 import org.djunits.unit.DurationUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRelWithAbs;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -182,20 +180,12 @@ public class Angle extends AbstractDoubleScalarRelWithAbs<DirectionUnit, Directi
     {
         Throw.whenNull(text, "Error parsing Angle: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Angle: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Angle result = ScalarParser.parseDouble(text, 0, text.length(), AngleUnit.BASE, Angle::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AngleUnit unit = AngleUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Angle(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Angle from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Angle from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AngularAccelerationUnit;
 import org.djunits.unit.AngularVelocityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -182,20 +180,13 @@ public class AngularAcceleration extends AbstractDoubleScalarRel<AngularAccelera
         Throw.whenNull(text, "Error parsing AngularAcceleration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing AngularAcceleration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        AngularAcceleration result = ScalarParser.parseDouble(text, 0, text.length(), AngularAccelerationUnit.BASE,
+                AngularAcceleration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AngularAccelerationUnit unit = AngularAccelerationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new AngularAcceleration(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing AngularAcceleration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing AngularAcceleration from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.AngularVelocityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.DurationUnit;
 import org.djunits.unit.FrequencyUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,13 @@ public class AngularVelocity extends AbstractDoubleScalarRel<AngularVelocityUnit
     {
         Throw.whenNull(text, "Error parsing AngularVelocity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing AngularVelocity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        AngularVelocity result = ScalarParser.parseDouble(text, 0, text.length(), AngularVelocityUnit.BASE,
+                AngularVelocity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AngularVelocityUnit unit = AngularVelocityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new AngularVelocity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing AngularVelocity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing AngularVelocity from " + text);
+        return result;
     }
 
     /**
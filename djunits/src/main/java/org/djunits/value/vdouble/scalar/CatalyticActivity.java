@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AmountOfSubstanceUnit;
 import org.djunits.unit.CatalyticActivityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -176,20 +174,13 @@ public class CatalyticActivity extends AbstractDoubleScalarRel<CatalyticActivity
     {
         Throw.whenNull(text, "Error parsing CatalyticActivity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing CatalyticActivity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        CatalyticActivity result = ScalarParser.parseDouble(text, 0, text.length(), CatalyticActivityUnit.BASE,
+                CatalyticActivity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            CatalyticActivityUnit unit = CatalyticActivityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new CatalyticActivity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing CatalyticActivity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing CatalyticActivity from " + text);
+        return result;
     }
 
     /**
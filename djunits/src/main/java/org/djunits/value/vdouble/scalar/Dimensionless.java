@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -44,7 +42,7 @@ import org.djunits.unit.TemperatureUnit;
 import org.djunits.unit.TorqueUnit;
 import org.djunits.unit.VolumeUnit;
 import org.djunits.value.function.DimensionlessFunctions;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 
 /**
@@ -209,20 +207,12 @@ public class Dimensionless extends AbstractDoubleScalarRel<DimensionlessUnit, Di
     {
         Throw.whenNull(text, "Error parsing Dimensionless: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Dimensionless: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Dimensionless result = ScalarParser.parseDouble(text, 0, text.length(), DimensionlessUnit.BASE, Dimensionless::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DimensionlessUnit unit = DimensionlessUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Dimensionless(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Dimensionless from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Dimensionless from " + text);
+        return result;
     }
 
     /**
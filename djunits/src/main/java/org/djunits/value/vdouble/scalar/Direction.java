@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AngleUnit;
 import org.djunits.unit.DirectionUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarAbs;
 
 /**
@@ -160,20 +158,12 @@ public class Direction extends AbstractDoubleScalarAbs<DirectionUnit, Direction,
     {
         Throw.whenNull(text, "Error parsing Direction: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Direction: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Direction result = ScalarParser.parseDouble(text, 0, text.length(), DirectionUnit.BASE, Direction::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DirectionUnit unit = DirectionUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Direction(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Direction from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Direction from " + text);
+        return result;
     }
 
     /**
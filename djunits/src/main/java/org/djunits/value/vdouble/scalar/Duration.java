@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -19,7 +17,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.SpeedUnit;
 import org.djunits.unit.TimeUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRelWithAbs;
 
 /**
@@ -191,20 +189,12 @@ public class Duration extends AbstractDoubleScalarRelWithAbs<TimeUnit, Time, Dur
     {
         Throw.whenNull(text, "Error parsing Duration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Duration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Duration result = ScalarParser.parseDouble(text, 0, text.length(), DurationUnit.BASE, Duration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DurationUnit unit = DurationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Duration(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Duration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Duration from " + text);
+        return result;
     }
 
     /**
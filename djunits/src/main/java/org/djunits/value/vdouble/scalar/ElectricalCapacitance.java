@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.DurationUnit;
 import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalChargeUnit;
 import org.djunits.unit.ElectricalConductanceUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -183,20 +181,13 @@ public class ElectricalCapacitance extends AbstractDoubleScalarRel<ElectricalCap
         Throw.whenNull(text, "Error parsing ElectricalCapacitance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing ElectricalCapacitance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalCapacitance result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalCapacitanceUnit.BASE,
+                ElectricalCapacitance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalCapacitanceUnit unit = ElectricalCapacitanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalCapacitance(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalCapacitance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalCapacitance from " + text);
+        return result;
     }
 
     /**
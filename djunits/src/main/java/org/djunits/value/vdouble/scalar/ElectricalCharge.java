@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalChargeUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,13 @@ public class ElectricalCharge extends AbstractDoubleScalarRel<ElectricalChargeUn
     {
         Throw.whenNull(text, "Error parsing ElectricalCharge: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing ElectricalCharge: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalCharge result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalChargeUnit.BASE,
+                ElectricalCharge::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalChargeUnit unit = ElectricalChargeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalCharge(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalCharge from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalCharge from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalConductanceUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 
 /**
@@ -181,20 +179,13 @@ public class ElectricalConductance extends AbstractDoubleScalarRel<ElectricalCon
         Throw.whenNull(text, "Error parsing ElectricalConductance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing ElectricalConductance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalConductance result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalConductanceUnit.BASE,
+                ElectricalConductance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalConductanceUnit unit = ElectricalConductanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalConductance(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalConductance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalConductance from " + text);
+        return result;
     }
 
     /**
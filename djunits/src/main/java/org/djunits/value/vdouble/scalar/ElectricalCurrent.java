@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ElectricalConductanceUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.PowerUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,13 @@ public class ElectricalCurrent extends AbstractDoubleScalarRel<ElectricalCurrent
     {
         Throw.whenNull(text, "Error parsing ElectricalCurrent: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing ElectricalCurrent: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalCurrent result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalCurrentUnit.BASE,
+                ElectricalCurrent::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalCurrentUnit unit = ElectricalCurrentUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalCurrent(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalCurrent from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalCurrent from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.ElectricalResistanceUnit;
 import org.djunits.unit.MagneticFluxUnit;
 import org.djunits.unit.PowerUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -184,20 +182,13 @@ public class ElectricalPotential extends AbstractDoubleScalarRel<ElectricalPoten
         Throw.whenNull(text, "Error parsing ElectricalPotential: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing ElectricalPotential: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalPotential result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalPotentialUnit.BASE,
+                ElectricalPotential::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalPotentialUnit unit = ElectricalPotentialUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalPotential(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalPotential from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalPotential from " + text);
+        return result;
     }
 
     /**
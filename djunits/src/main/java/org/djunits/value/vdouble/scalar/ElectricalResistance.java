@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.ElectricalInductanceUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.ElectricalResistanceUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 
 /**
@@ -181,20 +179,13 @@ public class ElectricalResistance extends AbstractDoubleScalarRel<ElectricalResi
         Throw.whenNull(text, "Error parsing ElectricalResistance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing ElectricalResistance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        ElectricalResistance result = ScalarParser.parseDouble(text, 0, text.length(), ElectricalResistanceUnit.BASE,
+                ElectricalResistance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalResistanceUnit unit = ElectricalResistanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new ElectricalResistance(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing ElectricalResistance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing ElectricalResistance from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.EquivalentDoseUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -172,20 +170,12 @@ public class EquivalentDose extends AbstractDoubleScalarRel<EquivalentDoseUnit,
     {
         Throw.whenNull(text, "Error parsing EquivalentDose: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing EquivalentDose: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        EquivalentDose result = ScalarParser.parseDouble(text, 0, text.length(), EquivalentDoseUnit.BASE, EquivalentDose::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            EquivalentDoseUnit unit = EquivalentDoseUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new EquivalentDose(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing EquivalentDose from " + text);
         }
-        throw new IllegalArgumentException("Error parsing EquivalentDose from " + text);
+        return result;
     }
 
     /**
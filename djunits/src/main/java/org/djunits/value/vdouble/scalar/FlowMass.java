@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.ForceUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.MassUnit;
 import org.djunits.unit.MomentumUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,12 @@ public class FlowMass extends AbstractDoubleScalarRel<FlowMassUnit, FlowMass>
     {
         Throw.whenNull(text, "Error parsing FlowMass: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FlowMass: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FlowMass result = ScalarParser.parseDouble(text, 0, text.length(), FlowMassUnit.BASE, FlowMass::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            FlowMassUnit unit = FlowMassUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new FlowMass(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FlowMass from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FlowMass from " + text);
+        return result;
     }
 
     /**
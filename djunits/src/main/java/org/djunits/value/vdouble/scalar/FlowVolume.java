@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -12,7 +10,7 @@ import org.djunits.unit.FlowVolumeUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.SpeedUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -177,20 +175,12 @@ public class FlowVolume extends AbstractDoubleScalarRel<FlowVolumeUnit, FlowVolu
     {
         Throw.whenNull(text, "Error parsing FlowVolume: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FlowVolume: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FlowVolume result = ScalarParser.parseDouble(text, 0, text.length(), FlowVolumeUnit.BASE, FlowVolume::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            FlowVolumeUnit unit = FlowVolumeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new FlowVolume(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FlowVolume from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FlowVolume from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -14,7 +12,7 @@ import org.djunits.unit.LinearDensityUnit;
 import org.djunits.unit.MassUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.PressureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,12 @@ public class Force extends AbstractDoubleScalarRel<ForceUnit, Force>
     {
         Throw.whenNull(text, "Error parsing Force: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Force: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Force result = ScalarParser.parseDouble(text, 0, text.length(), ForceUnit.BASE, Force::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ForceUnit unit = ForceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Force(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Force from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Force from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -12,7 +10,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 
 /**
@@ -176,20 +174,12 @@ public class Frequency extends AbstractDoubleScalarRel<FrequencyUnit, Frequency>
     {
         Throw.whenNull(text, "Error parsing Frequency: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Frequency: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Frequency result = ScalarParser.parseDouble(text, 0, text.length(), FrequencyUnit.BASE, Frequency::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            FrequencyUnit unit = FrequencyUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Frequency(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Frequency from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Frequency from " + text);
+        return result;
     }
 
     /**
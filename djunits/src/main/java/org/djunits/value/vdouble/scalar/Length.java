@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -15,7 +13,7 @@ import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PositionUnit;
 import org.djunits.unit.SpeedUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRelWithAbs;
 
 /**
@@ -186,20 +184,12 @@ public class Length extends AbstractDoubleScalarRelWithAbs<PositionUnit, Positio
     {
         Throw.whenNull(text, "Error parsing Length: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Length: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Length result = ScalarParser.parseDouble(text, 0, text.length(), LengthUnit.BASE, Length::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LengthUnit unit = LengthUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Length(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Length from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Length from " + text);
+        return result;
     }
 
     /**
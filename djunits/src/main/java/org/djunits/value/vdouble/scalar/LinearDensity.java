@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.ForceUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.LengthUnit;
 import org.djunits.unit.LinearDensityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 
 /**
@@ -174,20 +172,12 @@ public class LinearDensity extends AbstractDoubleScalarRel<LinearDensityUnit, Li
     {
         Throw.whenNull(text, "Error parsing LinearDensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing LinearDensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        LinearDensity result = ScalarParser.parseDouble(text, 0, text.length(), LinearDensityUnit.BASE, LinearDensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LinearDensityUnit unit = LinearDensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new LinearDensity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing LinearDensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing LinearDensity from " + text);
+        return result;
     }
 
     /**
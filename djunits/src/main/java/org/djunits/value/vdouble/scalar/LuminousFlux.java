@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.IlluminanceUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.LuminousIntensityUnit;
 import org.djunits.unit.SolidAngleUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -176,20 +174,12 @@ public class LuminousFlux extends AbstractDoubleScalarRel<LuminousFluxUnit, Lumi
     {
         Throw.whenNull(text, "Error parsing LuminousFlux: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing LuminousFlux: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        LuminousFlux result = ScalarParser.parseDouble(text, 0, text.length(), LuminousFluxUnit.BASE, LuminousFlux::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LuminousFluxUnit unit = LuminousFluxUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new LuminousFlux(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing LuminousFlux from " + text);
         }
-        throw new IllegalArgumentException("Error parsing LuminousFlux from " + text);
+        return result;
     }
 
     /**
@@ -1,14 +1,12 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.LuminousIntensityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -175,20 +173,13 @@ public class LuminousIntensity extends AbstractDoubleScalarRel<LuminousIntensity
     {
         Throw.whenNull(text, "Error parsing LuminousIntensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing LuminousIntensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        LuminousIntensity result = ScalarParser.parseDouble(text, 0, text.length(), LuminousIntensityUnit.BASE,
+                LuminousIntensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LuminousIntensityUnit unit = LuminousIntensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new LuminousIntensity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing LuminousIntensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing LuminousIntensity from " + text);
+        return result;
     }
 
     /**
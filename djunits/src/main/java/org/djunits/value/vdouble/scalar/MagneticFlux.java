@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.ElectricalInductanceUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.MagneticFluxDensityUnit;
 import org.djunits.unit.MagneticFluxUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,12 @@ public class MagneticFlux extends AbstractDoubleScalarRel<MagneticFluxUnit, Magn
     {
         Throw.whenNull(text, "Error parsing MagneticFlux: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing MagneticFlux: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        MagneticFlux result = ScalarParser.parseDouble(text, 0, text.length(), MagneticFluxUnit.BASE, MagneticFlux::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MagneticFluxUnit unit = MagneticFluxUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new MagneticFlux(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing MagneticFlux from " + text);
         }
-        throw new IllegalArgumentException("Error parsing MagneticFlux from " + text);
+        return result;
     }
 
     /**
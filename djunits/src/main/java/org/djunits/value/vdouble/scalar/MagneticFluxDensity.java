@@ -1,14 +1,12 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.MagneticFluxDensityUnit;
 import org.djunits.unit.MagneticFluxUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -181,20 +179,13 @@ public class MagneticFluxDensity extends AbstractDoubleScalarRel<MagneticFluxDen
         Throw.whenNull(text, "Error parsing MagneticFluxDensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing MagneticFluxDensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        MagneticFluxDensity result = ScalarParser.parseDouble(text, 0, text.length(), MagneticFluxDensityUnit.BASE,
+                MagneticFluxDensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MagneticFluxDensityUnit unit = MagneticFluxDensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new MagneticFluxDensity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing MagneticFluxDensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing MagneticFluxDensity from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -14,7 +12,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.VolumeUnit;
 import org.djunits.unit.si.SIPrefixes;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,12 @@ public class Mass extends AbstractDoubleScalarRel<MassUnit, Mass>
     {
         Throw.whenNull(text, "Error parsing Mass: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Mass: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Mass result = ScalarParser.parseDouble(text, 0, text.length(), MassUnit.BASE, Mass::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MassUnit unit = MassUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Mass(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Mass from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Mass from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -178,20 +176,12 @@ public class Momentum extends AbstractDoubleScalarRel<MomentumUnit, Momentum>
     {
         Throw.whenNull(text, "Error parsing Momentum: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Momentum: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Momentum result = ScalarParser.parseDouble(text, 0, text.length(), MomentumUnit.BASE, Momentum::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MomentumUnit unit = MomentumUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Momentum(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Momentum from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Momentum from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.LengthUnit;
 import org.djunits.unit.PositionUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarAbs;
 
 /**
@@ -160,20 +158,12 @@ public class Position extends AbstractDoubleScalarAbs<PositionUnit, Position, Le
     {
         Throw.whenNull(text, "Error parsing Position: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Position: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Position result = ScalarParser.parseDouble(text, 0, text.length(), PositionUnit.BASE, Position::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PositionUnit unit = PositionUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Position(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Position from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Position from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -15,7 +13,7 @@ import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -179,20 +177,12 @@ public class Power extends AbstractDoubleScalarRel<PowerUnit, Power>
     {
         Throw.whenNull(text, "Error parsing Power: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Power: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Power result = ScalarParser.parseDouble(text, 0, text.length(), PowerUnit.BASE, Power::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PowerUnit unit = PowerUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Power(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Power from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Power from " + text);
+        return result;
     }
 
     /**
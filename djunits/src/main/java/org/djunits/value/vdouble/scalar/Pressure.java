@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.EnergyUnit;
 import org.djunits.unit.ForceUnit;
 import org.djunits.unit.PressureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -174,20 +172,12 @@ public class Pressure extends AbstractDoubleScalarRel<PressureUnit, Pressure>
     {
         Throw.whenNull(text, "Error parsing Pressure: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Pressure: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Pressure result = ScalarParser.parseDouble(text, 0, text.length(), PressureUnit.BASE, Pressure::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PressureUnit unit = PressureUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Pressure(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Pressure from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Pressure from " + text);
+        return result;
     }
 
     /**
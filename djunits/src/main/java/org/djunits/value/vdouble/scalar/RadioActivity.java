@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.RadioActivityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -172,20 +170,12 @@ public class RadioActivity extends AbstractDoubleScalarRel<RadioActivityUnit, Ra
     {
         Throw.whenNull(text, "Error parsing RadioActivity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing RadioActivity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        RadioActivity result = ScalarParser.parseDouble(text, 0, text.length(), RadioActivityUnit.BASE, RadioActivity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            RadioActivityUnit unit = RadioActivityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new RadioActivity(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing RadioActivity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing RadioActivity from " + text);
+        return result;
     }
 
     /**
@@ -1,14 +1,12 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.SolidAngleUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -173,20 +171,12 @@ public class SolidAngle extends AbstractDoubleScalarRel<SolidAngleUnit, SolidAng
     {
         Throw.whenNull(text, "Error parsing SolidAngle: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing SolidAngle: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        SolidAngle result = ScalarParser.parseDouble(text, 0, text.length(), SolidAngleUnit.BASE, SolidAngle::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            SolidAngleUnit unit = SolidAngleUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new SolidAngle(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing SolidAngle from " + text);
         }
-        throw new IllegalArgumentException("Error parsing SolidAngle from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -16,7 +14,7 @@ import org.djunits.unit.LengthUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -180,20 +178,12 @@ public class Speed extends AbstractDoubleScalarRel<SpeedUnit, Speed>
     {
         Throw.whenNull(text, "Error parsing Speed: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Speed: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Speed result = ScalarParser.parseDouble(text, 0, text.length(), SpeedUnit.BASE, Speed::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            SpeedUnit unit = SpeedUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Speed(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Speed from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Speed from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DurationUnit;
 import org.djunits.unit.TimeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarAbs;
 
 /**
@@ -165,20 +163,12 @@ public class Time extends AbstractDoubleScalarAbs<TimeUnit, Time, DurationUnit,
     {
         Throw.whenNull(text, "Error parsing Time: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Time: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Time result = ScalarParser.parseDouble(text, 0, text.length(), TimeUnit.BASE, Time::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            TimeUnit unit = TimeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Time(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Time from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Time from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.PowerUnit;
 import org.djunits.unit.PressureUnit;
 import org.djunits.unit.TorqueUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -177,20 +175,12 @@ public class Torque extends AbstractDoubleScalarRel<TorqueUnit, Torque>
     {
         Throw.whenNull(text, "Error parsing Torque: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Torque: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Torque result = ScalarParser.parseDouble(text, 0, text.length(), TorqueUnit.BASE, Torque::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            TorqueUnit unit = TorqueUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Torque(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Torque from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Torque from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vdouble.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.FlowVolumeUnit;
 import org.djunits.unit.LengthUnit;
 import org.djunits.unit.MassUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 
@@ -177,20 +175,12 @@ public class Volume extends AbstractDoubleScalarRel<VolumeUnit, Volume>
     {
         Throw.whenNull(text, "Error parsing Volume: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing Volume: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        Volume result = ScalarParser.parseDouble(text, 0, text.length(), VolumeUnit.BASE, Volume::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            VolumeUnit unit = VolumeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                double d = Double.parseDouble(valueString);
-                return new Volume(d, unit);
-            }
+            throw new IllegalArgumentException("Error parsing Volume from " + text);
         }
-        throw new IllegalArgumentException("Error parsing Volume from " + text);
+        return result;
     }
 
     /**
@@ -1,25 +1,27 @@
 package org.djunits.value.vdouble.vector.base;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
 import org.djunits.value.Absolute;
 import org.djunits.value.AbstractIndexedValue;
 import org.djunits.value.ValueRuntimeException;
-import org.djunits.value.formatter.Format;
+import org.djunits.value.formatter.EngineeringAppender;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.util.ValueUtil;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleMathFunctions;
+import org.djunits.value.vdouble.function.DoubleVectorCellConsumer;
 import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalar;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 import org.djunits.value.vdouble.vector.data.DoubleVectorData;
-import org.djunits.value.vdouble.vector.data.DoubleVectorDataDense;
-import org.djunits.value.vdouble.vector.data.DoubleVectorDataSparse;
 
 /**
  * The most basic abstract class for the DoubleVector.
@@ -231,14 +233,7 @@ public abstract class AbstractDoubleVector<U extends Unit<U>, S extends Abstract
     public final V assign(final DoubleFunction doubleFunction)
     {
         checkCopyOnWrite();
-        if (getData() instanceof DoubleVectorDataDense)
-        {
-            ((DoubleVectorDataDense) getData()).assign(doubleFunction);
-        }
-        else
-        {
-            this.data = ((DoubleVectorDataSparse) getData()).toDense().assign(doubleFunction).toSparse();
-        }
+        this.data.assign(doubleFunction);
         return (V) this;
     }
 
@@ -302,39 +297,68 @@ public abstract class AbstractDoubleVector<U extends Unit<U>, S extends Abstract
     @Override
     public String toString(final U displayUnit, final boolean verbose, final boolean withUnit)
     {
-        StringBuffer buf = new StringBuffer();
+        StringBuilder buf = new StringBuilder();
+        try
+        {
+            appendTo(buf, displayUnit, verbose, withUnit);
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception); // cannot happen -- a StringBuilder does not throw an IOException
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Write this vector to an Appendable, such as a StringBuilder or a Writer, in the same layout as
+     * {@link #toString(Unit, boolean, boolean)}. The values are written with the {@link EngineeringAppender} of the current
+     * thread, so a large vector can be written without creating a Formatter and intermediate strings per value.
+     * @param out Appendable; the Appendable to write this vector to
+     * @param displayUnit U; the display unit for the values
+     * @param verbose boolean; if true; include type info; if false; exclude type info
+     * @param withUnit boolean; if true; include the unit; of false; exclude the unit
+     * @throws IOException when the Appendable throws an IOException
+     * @throws NullPointerException when out or displayUnit is null
+     */
+    public void appendTo(final Appendable out, final U displayUnit, final boolean verbose, final boolean withUnit)
+            throws IOException
+    {
+        Throw.whenNull(out, "out cannot be null");
+        Throw.whenNull(displayUnit, "displayUnit cannot be null");
+        EngineeringAppender appender = EngineeringAppender.current();
         if (verbose)
         {
             String ar = this instanceof Absolute ? "Abs " : "Rel ";
-            String ds = getData().isDense() ? "Dense  " : getData().isSparse() ? "Sparse " : "?????? ";
+            String ds = getData().isDense() ? "Dense  "
+                    : getData().isSparse() ? "Sparse " : getData().isOffHeap() ? "OffHeap" : "?????? ";
             if (isMutable())
             {
-                buf.append("Mutable   " + ar + ds);
+                out.append("Mutable   ").append(ar).append(ds);
             }
             else
             {
-                buf.append("Immutable " + ar + ds);
+                out.append("Immutable ").append(ar).append(ds);
             }
         }
-        buf.append("[");
+        out.append("[");
         for (int i = 0; i < size(); i++)
         {
             try
             {
                 double d = ValueUtil.expressAsUnit(getSI(i), displayUnit);
-                buf.append(" " + Format.format(d));
+                out.append(' ');
+                appender.append(out, d);
             }
             catch (ValueRuntimeException ve)
             {
-                buf.append(" " + "********************".substring(0, Format.DEFAULTSIZE));
+                out.append(' ').append("********************", 0, appender.getRoom());
             }
         }
-        buf.append("]");
+        out.append("]");
         if (withUnit)
         {
-            buf.append(" " + displayUnit.getDefaultDisplayAbbreviation());
+            out.append(' ').append(displayUnit.getDefaultDisplayAbbreviation());
         }
-        return buf.toString();
     }
 
     /**
@@ -396,6 +420,69 @@ public abstract class AbstractDoubleVector<U extends Unit<U>, S extends Abstract
         return new Itr();
     }
 
+    /**
+     * Return an iterator over the SI values of the cells, zeros included. Unlike iterator(), it does not create a scalar for
+     * each cell, and for a sparse vector it walks the stored cells in one pass. The vector should not be changed while the
+     * iterator is in use.
+     * @return PrimitiveIterator.OfDouble; an iterator over the SI values of the cells
+     */
+    public PrimitiveIterator.OfDouble siIterator()
+    {
+        return getData().siIterator();
+    }
+
+    /**
+     * Call the consumer with the index and SI value of each cell that is not zero, in increasing order of the index. For a
+     * sparse vector only the stored cells are visited.
+     * @param consumer DoubleVectorCellConsumer; the consumer that receives the index and the SI value of each non-zero cell
+     */
+    public void forEachNonZeroSI(final DoubleVectorCellConsumer consumer)
+    {
+        getData().forEachNonZero(consumer);
+    }
+
+    /**
+     * Return the smallest value of this vector. NaN values are ignored, unless all values are NaN.
+     * @return S; the smallest value, with the display unit of this vector
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final S min() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(getData().min(), getDisplayUnit());
+    }
+
+    /**
+     * Return the largest value of this vector. NaN values are ignored, unless all values are NaN.
+     * @return S; the largest value, with the display unit of this vector
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final S max() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(getData().max(), getDisplayUnit());
+    }
+
+    /**
+     * Return the index of the smallest value of this vector. NaN values are ignored; of equal values, the lowest index is
+     * returned.
+     * @return int; the index of the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final int argMin() throws ValueRuntimeException
+    {
+        return getData().argMin();
+    }
+
+    /**
+     * Return the index of the largest value of this vector. NaN values are ignored; of equal values, the lowest index is
+     * returned.
+     * @return int; the index of the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final int argMax() throws ValueRuntimeException
+    {
+        return getData().argMax();
+    }
+
     /**
      * The iterator class is loosely based in AbstractList.Itr. It does not throw a ConcurrentModificationException, because the
      * size of the vector does not change. Normal (non-mutable) vectors cannot change their size, nor their content. The only
@@ -0,0 +1,262 @@
+package org.djunits.value.vdouble.vector.base;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.function.DoubleExpression;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleMathFunctions;
+import org.djunits.value.vdouble.scalar.base.AbstractDoubleScalarRel;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+
+/**
+ * DoubleVectorExpression is a lazily evaluated chain of operations on relative vectors of the same quantity, started with
+ * <code>vector.lazy()</code>. An expression such as <code>a.lazy().plus(b).times(2.0).minus(c).evaluate()</code> records the
+ * operations, and calculates the result in a single pass over the cells when evaluate() or zSum() is called, without the
+ * intermediate vectors that <code>a.plus(b).times(2.0).minus(c)</code> creates. The sizes of the operands are checked when the
+ * expression is built; the units are checked by the type system. The values of the vectors are read when the expression is
+ * evaluated.
+ * <p>
+ * The result has the display unit and the storage type of the vector on which the expression was started.
+ * </p>
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ * @param <U> the unit
+ * @param <S> the scalar type belonging to the vector type
+ * @param <RV> the relative vector type with this unit
+ */
+public final class DoubleVectorExpression<U extends Unit<U>, S extends AbstractDoubleScalarRel<U, S>,
+        RV extends AbstractDoubleVectorRel<U, S, RV>>
+{
+    /** the vector on which the expression was started; it determines the display unit and storage type of the result. */
+    private final RV origin;
+
+    /** the recorded operations. */
+    private final DoubleExpression expression;
+
+    /**
+     * Create an expression.
+     * @param origin RV; the vector on which the expression was started
+     * @param expression DoubleExpression; the recorded operations
+     */
+    private DoubleVectorExpression(final RV origin, final DoubleExpression expression)
+    {
+        this.origin = origin;
+        this.expression = expression;
+    }
+
+    /**
+     * Start an expression with the values of a vector.
+     * @param vector RV; the vector
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; an expression that yields the values of the vector
+     * @param <U> the unit
+     * @param <S> the scalar type belonging to the vector type
+     * @param <RV> the relative vector type with this unit
+     */
+    static <U extends Unit<U>, S extends AbstractDoubleScalarRel<U, S>,
+            RV extends AbstractDoubleVectorRel<U, S, RV>> DoubleVectorExpression<U, S, RV> of(final RV vector)
+    {
+        return new DoubleVectorExpression<>(vector, leaf(vector));
+    }
+
+    /**
+     * Create an expression that reads the values of a vector.
+     * @param vector AbstractDoubleVector&lt;?, ?, ?&gt;; the vector
+     * @return DoubleExpression; an expression that reads the values of the vector when it is evaluated
+     */
+    private static DoubleExpression leaf(final AbstractDoubleVector<?, ?, ?> vector)
+    {
+        return DoubleExpression.of(vector.size(),
+                (from, target, offset, count) -> vector.getData().copySI(from, target, offset, count));
+    }
+
+    /**
+     * Return an expression that applies a function to the result of this expression.
+     * @param function DoubleFunction; the function
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    private DoubleVectorExpression<U, S, RV> map(final DoubleFunction function)
+    {
+        return new DoubleVectorExpression<>(this.origin, this.expression.map(function));
+    }
+
+    /**
+     * Return the expression for a right operand, after checking its size.
+     * @param vector RV; the right operand
+     * @return DoubleExpression; the expression that reads the values of the right operand
+     * @throws NullPointerException when vector is null
+     * @throws ValueRuntimeException when the size of the vector differs from the size of this expression
+     */
+    private DoubleExpression operand(final RV vector) throws ValueRuntimeException
+    {
+        Throw.whenNull(vector, "DoubleVectorExpression: vector is null");
+        Throw.when(vector.size() != size(), ValueRuntimeException.class, "The vectors have different sizes: %d != %d", size(),
+                vector.size());
+        return leaf(vector);
+    }
+
+    /**
+     * Return the number of cells of the result.
+     * @return int; the number of cells of the result
+     */
+    public int size()
+    {
+        return this.expression.size();
+    }
+
+    /**
+     * Add a vector to the result of this expression.
+     * @param rel RV; the vector to add
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     * @throws ValueRuntimeException when the size of the vector differs from the size of this expression
+     */
+    public DoubleVectorExpression<U, S, RV> plus(final RV rel) throws ValueRuntimeException
+    {
+        return new DoubleVectorExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue + rightValue, operand(rel)));
+    }
+
+    /**
+     * Add the result of another expression to the result of this expression.
+     * @param rel DoubleVectorExpression&lt;U, S, RV&gt;; the expression to add
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     * @throws ValueRuntimeException when the sizes of the expressions differ
+     */
+    public DoubleVectorExpression<U, S, RV> plus(final DoubleVectorExpression<U, S, RV> rel) throws ValueRuntimeException
+    {
+        Throw.whenNull(rel, "DoubleVectorExpression: expression is null");
+        return new DoubleVectorExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue + rightValue, rel.expression));
+    }
+
+    /**
+     * Add a scalar to each cell of the result of this expression.
+     * @param increment S; the scalar to add
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> plus(final S increment)
+    {
+        Throw.whenNull(increment, "DoubleVectorExpression: increment is null");
+        return map(DoubleMathFunctions.INC(increment.si));
+    }
+
+    /**
+     * Subtract a vector from the result of this expression.
+     * @param rel RV; the vector to subtract
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     * @throws ValueRuntimeException when the size of the vector differs from the size of this expression
+     */
+    public DoubleVectorExpression<U, S, RV> minus(final RV rel) throws ValueRuntimeException
+    {
+        return new DoubleVectorExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue - rightValue, operand(rel)));
+    }
+
+    /**
+     * Subtract the result of another expression from the result of this expression.
+     * @param rel DoubleVectorExpression&lt;U, S, RV&gt;; the expression to subtract
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     * @throws ValueRuntimeException when the sizes of the expressions differ
+     */
+    public DoubleVectorExpression<U, S, RV> minus(final DoubleVectorExpression<U, S, RV> rel) throws ValueRuntimeException
+    {
+        Throw.whenNull(rel, "DoubleVectorExpression: expression is null");
+        return new DoubleVectorExpression<>(this.origin,
+                this.expression.combine((leftValue, rightValue) -> leftValue - rightValue, rel.expression));
+    }
+
+    /**
+     * Subtract a scalar from each cell of the result of this expression.
+     * @param decrement S; the scalar to subtract
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> minus(final S decrement)
+    {
+        Throw.whenNull(decrement, "DoubleVectorExpression: decrement is null");
+        return map(DoubleMathFunctions.DEC(decrement.si));
+    }
+
+    /**
+     * Multiply each cell of the result of this expression by a factor.
+     * @param multiplier double; the factor
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> times(final double multiplier)
+    {
+        return map(DoubleMathFunctions.MULT(multiplier));
+    }
+
+    /**
+     * Divide each cell of the result of this expression by a divisor.
+     * @param divisor double; the divisor
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> divide(final double divisor)
+    {
+        return map(DoubleMathFunctions.DIV(divisor));
+    }
+
+    /**
+     * Negate each cell of the result of this expression.
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> neg()
+    {
+        return map(DoubleMathFunctions.NEG);
+    }
+
+    /**
+     * Take the absolute value of each cell of the result of this expression.
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> abs()
+    {
+        return map(DoubleMathFunctions.ABS);
+    }
+
+    /**
+     * Apply a function to the SI value of each cell of the result of this expression. The function should not change the
+     * unit of the values, such as rounding or limiting the values.
+     * @param function DoubleFunction; the function to apply to the SI values
+     * @return DoubleVectorExpression&lt;U, S, RV&gt;; the new expression
+     */
+    public DoubleVectorExpression<U, S, RV> apply(final DoubleFunction function)
+    {
+        Throw.whenNull(function, "DoubleVectorExpression: function is null");
+        return map(function);
+    }
+
+    /**
+     * Calculate the result of this expression in a single pass over the cells.
+     * @return RV; a new immutable vector with the display unit and storage type of the vector on which the expression was
+     *         started
+     */
+    public RV evaluate()
+    {
+        DoubleVectorData data =
+                DoubleVectorData.instantiate(this.expression.evaluate(), IdentityScale.SCALE, this.origin.getStorageType());
+        return this.origin.instantiateVector(data, this.origin.getDisplayUnit());
+    }
+
+    /**
+     * Calculate the sum of the cells of the result of this expression in a single pass, without storing the result.
+     * @return S; the sum, with the display unit of the vector on which the expression was started
+     */
+    public S zSum()
+    {
+        return this.origin.instantiateScalarSI(this.expression.sum(), this.origin.getDisplayUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleVectorExpression [size=" + size() + ", unit=" + this.origin.getDisplayUnit() + ", expression="
+                + this.expression + "]";
+    }
+
+}
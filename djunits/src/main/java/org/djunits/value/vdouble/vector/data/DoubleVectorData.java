@@ -1,20 +1,27 @@
 package org.djunits.value.vdouble.vector.data;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.PrimitiveIterator;
 import java.util.SortedMap;
-import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
+import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.scale.Scale;
 import org.djunits.value.ValueRuntimeException;
 import org.djunits.value.storage.AbstractStorage;
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.Summation;
+import org.djunits.value.storage.ValueCodec;
+import org.djunits.value.util.CsvColumnReader;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleVectorCellConsumer;
 import org.djunits.value.vdouble.scalar.base.DoubleScalarInterface;
 
 /**
@@ -35,9 +42,6 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected double[] vectorSI;
 
-    /** Threshold to do parallel execution. */
-    protected static final int PARALLEL_THRESHOLD = 1000;
-
     /**
      * Construct a new DoubleVectorData object.
      * @param storageType StorageType; the data type.
@@ -68,14 +72,7 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         double[] valuesSI = scale.isBaseSIScale() ? values : new double[values.length];
         if (!scale.isBaseSIScale())
         {
-            if (values.length > PARALLEL_THRESHOLD)
-            {
-                IntStream.range(0, values.length).parallel().forEach(i -> valuesSI[i] = scale.toStandardUnit(values[i]));
-            }
-            else
-            {
-                IntStream.range(0, values.length).forEach(i -> valuesSI[i] = scale.toStandardUnit(values[i]));
-            }
+            ExecutionPolicy.current().forEach(values.length, i -> valuesSI[i] = scale.toStandardUnit(values[i]));
         }
 
         switch (storageType)
@@ -83,9 +80,15 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
             case DENSE:
                 return new DoubleVectorDataDense(valuesSI);
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
                 return DoubleVectorDataSparse.instantiate(valuesSI);
 
+            case OFF_HEAP:
+                return new DoubleVectorDataOffHeap(valuesSI);
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
         }
@@ -104,81 +107,32 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         Throw.whenNull(values, "DoubleVectorData.instantiate: double[] values is null");
         Throw.whenNull(scale, "DoubleVectorData.instantiate: scale is null");
         Throw.whenNull(storageType, "DoubleVectorData.instantiate: storageType is null");
-        Throw.when(values.parallelStream().filter(d -> d == null).count() > 0, NullPointerException.class,
-                "values contains one or more null values");
+        // copy the list once through its iterator, since indexing a list without random access is linear per element
+        double[] valuesSI = new double[values.size()];
+        int index = 0;
+        for (Double d : values)
+        {
+            Throw.whenNull(d, "values contains one or more null values");
+            valuesSI[index++] = d;
+        }
+        if (!scale.isBaseSIScale())
+        {
+            ExecutionPolicy.current().forEach(valuesSI.length, i -> valuesSI[i] = scale.toStandardUnit(valuesSI[i]));
+        }
 
         switch (storageType)
         {
             case DENSE:
-            {
-                double[] valuesSI;
-                if (values.size() > PARALLEL_THRESHOLD)
-                {
-                    if (scale.isBaseSIScale())
-                    {
-                        valuesSI = values.parallelStream().mapToDouble(d -> d).toArray();
-                    }
-                    else
-                    {
-                        valuesSI = values.parallelStream().mapToDouble(d -> scale.toStandardUnit(d)).toArray();
-                    }
-                }
-                else
-                {
-                    if (scale.isBaseSIScale())
-                    {
-                        valuesSI = values.stream().mapToDouble(d -> d).toArray();
-                    }
-                    else
-                    {
-                        valuesSI = values.stream().mapToDouble(d -> scale.toStandardUnit(d)).toArray();
-                    }
-                }
                 return new DoubleVectorDataDense(valuesSI);
-            }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
-            {
-                int nonZeroCount;
-                if (values.size() > PARALLEL_THRESHOLD)
-                {
-                    if (scale.isBaseSIScale())
-                    {
-                        nonZeroCount = (int) values.parallelStream().filter(d -> d != 0d).count();
-                    }
-                    else
-                    {
-                        nonZeroCount = (int) values.parallelStream().filter(d -> scale.toStandardUnit(d) != 0d).count();
-                    }
-                }
-                else
-                {
-                    if (scale.isBaseSIScale())
-                    {
-                        nonZeroCount = (int) values.stream().filter(d -> d != 0d).count();
-                    }
-                    else
-                    {
-                        nonZeroCount = values.size()
-                                - (int) values.parallelStream().filter(d -> scale.toStandardUnit(d) == 0d).count();
-                    }
-                }
-                int[] indices = new int[nonZeroCount];
-                double[] valuesSI = new double[nonZeroCount];
-                // Counting non zeros could be done in parallel; but filling the arrays has to be done sequentially
-                int index = 0;
-                for (int i = 0; i < values.size(); i++)
-                {
-                    double d = scale.toStandardUnit(values.get(i));
-                    if (d != 0.0)
-                    {
-                        indices[index] = i;
-                        valuesSI[index] = d;
-                        index++;
-                    }
-                }
-                return new DoubleVectorDataSparse(valuesSI, indices, values.size());
-            }
+                return DoubleVectorDataSparse.instantiate(valuesSI);
+
+            case OFF_HEAP:
+                return new DoubleVectorDataDense(valuesSI).toOffHeap();
 
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
@@ -208,29 +162,17 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         {
             case DENSE:
             {
-                double[] valuesSI;
-                if (values.length > PARALLEL_THRESHOLD)
-                {
-                    valuesSI = Arrays.stream(values).parallel().mapToDouble(s -> s.getSI()).toArray();
-                }
-                else
-                {
-                    valuesSI = Arrays.stream(values).mapToDouble(s -> s.getSI()).toArray();
-                }
+                double[] valuesSI = new double[values.length];
+                ExecutionPolicy.current().forEach(values.length, i -> valuesSI[i] = values[i].getSI());
                 return new DoubleVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
-                int nonZeroCount;
-                if (values.length > PARALLEL_THRESHOLD)
-                {
-                    nonZeroCount = (int) Arrays.stream(values).parallel().filter(s -> s.getSI() != 0).count();
-                }
-                else
-                {
-                    nonZeroCount = (int) Arrays.stream(values).filter(s -> s.getSI() != 0.0).count();
-                }
+                int nonZeroCount = ExecutionPolicy.current().count(values.length, i -> values[i].getSI() != 0.0);
                 int[] indices = new int[nonZeroCount];
                 double[] valuesSI = new double[nonZeroCount];
                 // Counting non zeros could be done in parallel; but filling the arrays has to be done sequentially
@@ -248,6 +190,9 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
                 return new DoubleVectorDataSparse(valuesSI, indices, values.length);
             }
 
+            case OFF_HEAP:
+                return instantiate(values, StorageType.DENSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
         }
@@ -276,21 +221,17 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         {
             case DENSE:
             {
-                double[] valuesSI;
-                if (valueList.size() > PARALLEL_THRESHOLD)
-                {
-                    valuesSI = valueList.stream().parallel().mapToDouble(s -> s.getSI()).toArray();
-                }
-                else
-                {
-                    valuesSI = valueList.stream().mapToDouble(s -> s.getSI()).toArray();
-                }
+                double[] valuesSI = new double[valueList.size()];
+                ExecutionPolicy.current().forEach(valueList.size(), i -> valuesSI[i] = valueList.get(i).getSI());
                 return new DoubleVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
-                int nonZeroCount = (int) valueList.parallelStream().filter(s -> s.getSI() != 0.0).count();
+                int nonZeroCount = ExecutionPolicy.current().count(valueList.size(), i -> valueList.get(i).getSI() != 0.0);
                 int[] indices = new int[nonZeroCount];
                 double[] valuesSI = new double[nonZeroCount];
                 // Counting non zeros could be done in parallel; but filling the arrays has to be done sequentially
@@ -308,6 +249,9 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
                 return new DoubleVectorDataSparse(valuesSI, indices, valueList.size());
             }
 
+            case OFF_HEAP:
+                return instantiateList(valueList, StorageType.DENSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
         }
@@ -342,29 +286,37 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
                 double[] valuesSI = new double[length];
                 if (scale.isBaseSIScale())
                 {
-                    valueMap.entrySet().parallelStream().forEach(entry -> valuesSI[entry.getKey()] = entry.getValue());
+                    for (Entry<Integer, Double> entry : valueMap.entrySet())
+                    {
+                        valuesSI[entry.getKey()] = entry.getValue();
+                    }
                 }
                 else
                 {
                     Arrays.fill(valuesSI, scale.toStandardUnit(0.0));
-                    valueMap.entrySet().parallelStream()
-                            .forEach(entry -> valuesSI[entry.getKey()] = scale.toStandardUnit(entry.getValue()));
+                    for (Entry<Integer, Double> entry : valueMap.entrySet())
+                    {
+                        valuesSI[entry.getKey()] = scale.toStandardUnit(entry.getValue());
+                    }
                 }
                 return new DoubleVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
                 int nonZeroCount;
                 if (scale.isBaseSIScale())
                 {
-                    nonZeroCount = (int) valueMap.keySet().parallelStream().filter(d -> d != 0d).count();
+                    nonZeroCount = (int) valueMap.keySet().stream().filter(d -> d != 0d).count();
                 }
                 else
                 {
                     // Much harder, and the result is unlikely to be very sparse
                     nonZeroCount = length
-                            - (int) valueMap.values().parallelStream().filter(d -> scale.toStandardUnit(d) == 0d).count();
+                            - (int) valueMap.values().stream().filter(d -> scale.toStandardUnit(d) == 0d).count();
                 }
                 int[] indices = new int[nonZeroCount];
                 double[] valuesSI = new double[nonZeroCount];
@@ -411,6 +363,9 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
                 return new DoubleVectorDataSparse(valuesSI, indices, length);
             }
 
+            case OFF_HEAP:
+                return instantiate(valueMap, length, scale, StorageType.SPARSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
         }
@@ -444,13 +399,19 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
             case DENSE:
             {
                 double[] valuesSI = new double[length];
-                values.entrySet().parallelStream().forEach(entry -> valuesSI[entry.getKey()] = entry.getValue().getSI());
+                for (Entry<Integer, S> entry : values.entrySet())
+                {
+                    valuesSI[entry.getKey()] = entry.getValue().getSI();
+                }
                 return new DoubleVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
-                int nonZeroCount = (int) values.values().parallelStream().filter(s -> s.getSI() != 0d).count();
+                int nonZeroCount = (int) values.values().stream().filter(s -> s.getSI() != 0d).count();
                 int[] indices = new int[nonZeroCount];
                 double[] valuesSI = new double[nonZeroCount];
                 int index = 0;
@@ -467,11 +428,61 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
                 return new DoubleVectorDataSparse(valuesSI, indices, length);
             }
 
+            case OFF_HEAP:
+                return instantiateMap(values, length, StorageType.SPARSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in DoubleVectorData.instantiate: " + storageType);
         }
     }
 
+    /**
+     * Instantiate a DoubleVectorData with the SI values of the remaining rows of a column of a CSV file. The values are parsed
+     * and converted to SI in parallel chunks; the memory that is used grows with the number of rows. Use
+     * DoubleVectorDataOffHeap.read(...) to store the values of a column that does not fit in memory in a file.
+     * @param reader CsvColumnReader&lt;?&gt;; the reader of the column
+     * @param storageType StorageType; the data type to use
+     * @return DoubleVectorData; the DoubleVectorData with the SI values of the column
+     * @throws IOException on I/O error, or when a field of the column is not a number
+     * @throws NullPointerException when reader or storageType is null
+     */
+    public static DoubleVectorData read(final CsvColumnReader<?> reader, final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(reader, "DoubleVectorData.read: reader is null");
+        Throw.whenNull(storageType, "DoubleVectorData.read: storageType is null");
+        return instantiate(reader.readDoubles(), IdentityScale.SCALE, storageType);
+    }
+
+    /**
+     * Read a DoubleVectorData that has been written with encode(...) in the binary format of ValueCodec, after the header and
+     * the unit. The values are read in bulk into the array that becomes the storage of the data.
+     * @param in ValueCodec.Input; the input to read the size and the values from
+     * @param storageType StorageType; the storage type that has been read from the header
+     * @return DoubleVectorData; the data with the values that have been read
+     * @throws IOException on I/O error, or when the data is not valid
+     * @throws NullPointerException when in or storageType is null
+     */
+    public static DoubleVectorData decode(final ValueCodec.Input in, final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(in, "DoubleVectorData.decode: in is null");
+        Throw.whenNull(storageType, "DoubleVectorData.decode: storageType is null");
+        int size = in.readCount();
+        switch (storageType)
+        {
+            case DENSE:
+                return DoubleVectorDataDense.wrap(in.readDoubles(size));
+
+            case OFF_HEAP:
+                return new DoubleVectorDataOffHeap(in.readDoubles(size));
+
+            case SPARSE:
+                return DoubleVectorDataSparse.decode(in, size);
+
+            default:
+                throw new IOException("DoubleVectorData.decode: storage type " + storageType + " is not valid for a vector");
+        }
+    }
+
     /* ============================================================================================ */
     /* ==================================== UTILITY FUNCTIONS ===================================== */
     /* ============================================================================================ */
@@ -494,6 +505,16 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public abstract DoubleVectorDataSparse toSparse();
 
+    /**
+     * Return the equivalent of this data that is stored outside of the Java heap. The off-heap data should be closed when it is
+     * not used anymore.
+     * @return DoubleVectorDataOffHeap; the off-heap transformation of this data
+     */
+    public DoubleVectorDataOffHeap toOffHeap()
+    {
+        return DoubleVectorDataOffHeap.instantiate(this);
+    }
+
     /**
      * Retrieve the SI value of one element of this data.
      * @param index int; the index to get the value for
@@ -508,13 +529,52 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public abstract void setSI(int index, double valueSI);
 
+    /**
+     * Copy the SI values of a range of cells into an array.
+     * @param from int; the index of the first cell to copy
+     * @param target double[]; the array to copy the values into
+     * @param offset int; the position in the target array for the value of the first cell
+     * @param count int; the number of cells to copy
+     */
+    public void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            target[offset + i] = getSI(from + i);
+        }
+    }
+
+    /**
+     * Write the size and the values of this data in the binary format of ValueCodec. The header with the storage type and the
+     * unit should have been written before. Dense data writes its array in bulk; off-heap data is written in blocks.
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    public void encode(final ValueCodec.Output out) throws IOException
+    {
+        int size = size();
+        out.writeInt(size);
+        if (isDense())
+        {
+            out.writeDoubles(this.vectorSI, size);
+            return;
+        }
+        double[] block = new double[Math.min(size, 4096)];
+        for (int from = 0; from < size; from += block.length)
+        {
+            int count = Math.min(size - from, block.length);
+            copySI(from, block, 0, count);
+            out.writeDoubles(block, count);
+        }
+    }
+
     /**
      * Compute and return the sum of all values.
      * @return double; the sum of the values of all cells
      */
-    public final double zSum()
+    public double zSum()
     {
-        return Arrays.stream(this.vectorSI).parallel().sum();
+        return ExecutionPolicy.current().sum(this.vectorSI.length, (from, to) -> Arrays.stream(this.vectorSI, from, to).sum());
     }
 
     /**
@@ -523,6 +583,21 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public abstract double[] getDenseVectorSI();
 
+    /**
+     * Call the consumer for each cell with a value other than zero, in increasing order of the index. Sparse data only visits
+     * the stored cells, and the values are not boxed.
+     * @param consumer DoubleVectorCellConsumer; the consumer that receives the index and the SI value of each non-zero cell
+     */
+    public abstract void forEachNonZero(DoubleVectorCellConsumer consumer);
+
+    /**
+     * Return an iterator over the SI values of all cells, zeros included, in increasing order of the index. The values are not
+     * boxed, and sparse data is walked in one pass instead of searching for each index. The data should not be
+     * changed while the iterator is in use.
+     * @return PrimitiveIterator.OfDouble; an iterator over the SI values of all cells
+     */
+    public abstract PrimitiveIterator.OfDouble siIterator();
+
     /**
      * Check the sizes of this data object and the other data object.
      * @param other DoubleVectorData; the other data object
@@ -536,6 +611,316 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         }
     }
 
+    /* ============================================================================================ */
+    /* ======================================== REDUCTIONS ======================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Return the number of values that are stored: the size for dense data, and the number of stored cells for sparse data.
+     * The cells that are not stored are zero.
+     * @return int; the number of stored values
+     */
+    int storedCount()
+    {
+        return this.vectorSI.length;
+    }
+
+    /**
+     * Copy a range of the stored values into an array, in increasing order of the index of their cells.
+     * @param from int; the position of the first stored value to copy
+     * @param target double[]; the array to copy the values into
+     * @param offset int; the position in the target array for the first value
+     * @param count int; the number of values to copy
+     */
+    void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        System.arraycopy(this.vectorSI, from, target, offset, count);
+    }
+
+    /**
+     * Return the index of the cell of a stored value.
+     * @param position int; the position of the stored value
+     * @return int; the index of the cell of the stored value
+     */
+    int storedIndex(final int position)
+    {
+        return position;
+    }
+
+    /**
+     * Compute and return the sum of all values with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return double; the sum of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public double zSum(final Summation summation)
+    {
+        Throw.whenNull(summation, "DoubleVectorData.zSum: summation is null");
+        return summation.sum(storedCount(), (from, count, block, scratch) -> copyStoredSI(from, block, 0, count));
+    }
+
+    /**
+     * Compute and return the mean of all values. The mean of an empty vector is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return double; the mean of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public double mean(final Summation summation)
+    {
+        return zSum(summation) / size();
+    }
+
+    /**
+     * Compute and return the population variance of all values, i.e., the mean of the squared deviations from the mean. The
+     * deviations are calculated in a second pass, which is more accurate than the mean of the squares minus the square of the
+     * mean. The variance of an empty vector is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return double; the population variance of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public double variance(final Summation summation)
+    {
+        final double mean = mean(summation);
+        int stored = storedCount();
+        double sum = summation.sum(stored, (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                double deviation = block[i] - mean;
+                block[i] = deviation * deviation;
+            }
+        });
+        return (sum + (size() - stored) * mean * mean) / size();
+    }
+
+    /**
+     * Compute and return the L1 norm of the vector, the sum of the absolute values.
+     * @param summation Summation; the summation algorithm
+     * @return double; the sum of the absolute values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public double normL1(final Summation summation)
+    {
+        Throw.whenNull(summation, "DoubleVectorData.normL1: summation is null");
+        return summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = Math.abs(block[i]);
+            }
+        });
+    }
+
+    /**
+     * Compute and return the L2 (Euclidean) norm of the vector, the square root of the sum of the squared values. The values
+     * are scaled by the largest absolute value before they are squared, so the norm does not overflow or underflow when the
+     * squares would.
+     * @param summation Summation; the summation algorithm
+     * @return double; the square root of the sum of the squares of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public double normL2(final Summation summation)
+    {
+        Throw.whenNull(summation, "DoubleVectorData.normL2: summation is null");
+        final double scale = normLinf();
+        if (scale == 0.0 || Double.isInfinite(scale) || Double.isNaN(scale))
+        {
+            return scale;
+        }
+        return scale * Math.sqrt(summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                double scaled = block[i] / scale;
+                block[i] = scaled * scaled;
+            }
+        }));
+    }
+
+    /**
+     * Compute and return the L-infinity (maximum) norm of the vector, the largest absolute value. The norm is NaN when a value
+     * is NaN.
+     * @return double; the largest absolute value of all cells, or 0.0 for an empty vector
+     */
+    public double normLinf()
+    {
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] partial = new double[Math.max(1, chunks)];
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double max = 0.0;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    max = Math.max(max, Math.abs(block[i]));
+                }
+            }
+            partial[chunk] = max;
+        });
+        double max = 0.0;
+        for (double p : partial)
+        {
+            max = Math.max(max, p);
+        }
+        return max;
+    }
+
+    /**
+     * Compute and return the dot product of this vector and another vector, the sum of the products of the corresponding
+     * values. When one of the vectors is sparse, only its stored cells are visited, and the cells that are not stored count as
+     * exact zeros, even when the corresponding value of the other vector is infinite or NaN.
+     * @param other DoubleVectorData; the other vector
+     * @param summation Summation; the summation algorithm
+     * @return double; the sum of the products of the values of the corresponding cells
+     * @throws NullPointerException when other or summation is null
+     * @throws ValueRuntimeException when the sizes of the vectors differ
+     */
+    public double dot(final DoubleVectorData other, final Summation summation) throws ValueRuntimeException
+    {
+        Throw.whenNull(other, "DoubleVectorData.dot: other is null");
+        Throw.whenNull(summation, "DoubleVectorData.dot: summation is null");
+        checkSizes(other);
+        final DoubleVectorData driver = other.storedCount() < storedCount() ? other : this;
+        final DoubleVectorData partner = driver == this ? other : this;
+        if (driver.storedCount() == size())
+        {
+            return summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+            {
+                driver.copyStoredSI(from, block, 0, count);
+                partner.copyStoredSI(from, scratch, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    block[i] *= scratch[i];
+                }
+            });
+        }
+        return summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+        {
+            driver.copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] *= partner.getSI(driver.storedIndex(from + i));
+            }
+        });
+    }
+
+    /**
+     * Return the index of the smallest value. NaN values are ignored; of equal values, the one with the lowest index is
+     * returned. When all values are NaN, 0 is returned.
+     * @return int; the index of the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public int argMin() throws ValueRuntimeException
+    {
+        return extremum(false);
+    }
+
+    /**
+     * Return the index of the largest value. NaN values are ignored; of equal values, the one with the lowest index is
+     * returned. When all values are NaN, 0 is returned.
+     * @return int; the index of the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public int argMax() throws ValueRuntimeException
+    {
+        return extremum(true);
+    }
+
+    /**
+     * Return the smallest value. NaN values are ignored, unless all values are NaN.
+     * @return double; the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public double min() throws ValueRuntimeException
+    {
+        return getSI(argMin());
+    }
+
+    /**
+     * Return the largest value. NaN values are ignored, unless all values are NaN.
+     * @return double; the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public double max() throws ValueRuntimeException
+    {
+        return getSI(argMax());
+    }
+
+    /**
+     * Return the index of the smallest or largest value. The chunks of the stored values are searched in parallel, and the
+     * results of the chunks are combined in chunk order; for sparse data, the first cell that is not stored is a candidate as
+     * well.
+     * @param max boolean; true to find the largest value, false to find the smallest value
+     * @return int; the index of the smallest or largest value, or 0 when all values are NaN
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    private int extremum(final boolean max) throws ValueRuntimeException
+    {
+        Throw.when(size() == 0, ValueRuntimeException.class, "DoubleVectorData: an empty vector has no minimum or maximum");
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] bestValues = new double[Math.max(1, chunks)];
+        int[] bestIndices = new int[Math.max(1, chunks)];
+        Arrays.fill(bestIndices, -1);
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double best = Double.NaN;
+            int bestIndex = -1;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    double value = block[i];
+                    if (bestIndex < 0 ? !Double.isNaN(value) : max ? value > best : value < best)
+                    {
+                        best = value;
+                        bestIndex = storedIndex(start + i);
+                    }
+                }
+            }
+            bestValues[chunk] = best;
+            bestIndices[chunk] = bestIndex;
+        });
+        double best = Double.NaN;
+        int bestIndex = -1;
+        for (int chunk = 0; chunk < bestIndices.length; chunk++)
+        {
+            double value = bestValues[chunk];
+            if (bestIndices[chunk] >= 0 && (bestIndex < 0 || (max ? value > best : value < best)))
+            {
+                best = value;
+                bestIndex = bestIndices[chunk];
+            }
+        }
+        if (stored < size())
+        {
+            // the first cell that is not stored; the stored indices are increasing
+            int zeroIndex = 0;
+            while (zeroIndex < stored && storedIndex(zeroIndex) == zeroIndex)
+            {
+                zeroIndex++;
+            }
+            if (bestIndex < 0 || (max ? 0.0 > best : 0.0 < best) || (0.0 == best && zeroIndex < bestIndex))
+            {
+                bestIndex = zeroIndex;
+            }
+        }
+        return bestIndex < 0 ? 0 : bestIndex;
+    }
+
     /* ============================================================================================ */
     /* ================================== CALCULATION FUNCTIONS =================================== */
     /* ============================================================================================ */
@@ -573,6 +958,22 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final DoubleVectorData incrementBy(final DoubleVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            DoubleVectorKernels.add(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            DoubleVectorKernels.scatterAdd(this.vectorSI, (DoubleVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            DoubleVectorDataSparse sparse = (DoubleVectorDataSparse) this;
+            return sparse.replaceData(DoubleVectorKernels.mergeAdd(sparse, (DoubleVectorDataSparse) right, false));
+        }
         return assign(new DoubleFunction2()
         {
             @Override
@@ -600,6 +1001,22 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final DoubleVectorData decrementBy(final DoubleVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            DoubleVectorKernels.subtract(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            DoubleVectorKernels.scatterSubtract(this.vectorSI, (DoubleVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            DoubleVectorDataSparse sparse = (DoubleVectorDataSparse) this;
+            return sparse.replaceData(DoubleVectorKernels.mergeAdd(sparse, (DoubleVectorDataSparse) right, true));
+        }
         return assign(new DoubleFunction2()
         {
             @Override
@@ -628,6 +1045,27 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final DoubleVectorData multiplyBy(final DoubleVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            DoubleVectorKernels.multiply(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            DoubleVectorKernels.multiplyDense(this.vectorSI, (DoubleVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            DoubleVectorDataSparse sparse = (DoubleVectorDataSparse) this;
+            return sparse.replaceData(DoubleVectorKernels.mergeMultiply(sparse, (DoubleVectorDataSparse) right));
+        }
+        if (isSparse() && right.isDense() && !DoubleVectorKernels.hasNonFinite(right.vectorSI))
+        {
+            return ((DoubleVectorDataSparse) this)
+                    .replaceData(DoubleVectorKernels.gatherMultiply((DoubleVectorDataSparse) this, right.vectorSI));
+        }
         assign(new DoubleFunction2()
         {
             @Override
@@ -645,6 +1083,16 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final void multiplyBy(final double valueSI)
     {
+        if (isDense())
+        {
+            DoubleVectorKernels.scale(this.vectorSI, valueSI, this.vectorSI);
+            return;
+        }
+        if (isSparse() && Double.isFinite(valueSI))
+        {
+            ((DoubleVectorDataSparse) this).replaceData(DoubleVectorKernels.scale((DoubleVectorDataSparse) this, valueSI));
+            return;
+        }
         assign(new DoubleFunction()
         {
             @Override
@@ -673,6 +1121,22 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final DoubleVectorData divideBy(final DoubleVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            DoubleVectorKernels.divide(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            DoubleVectorKernels.divideDense(this.vectorSI, (DoubleVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isDense() && !DoubleVectorKernels.hasZeroOrNonFinite(right.vectorSI))
+        {
+            return ((DoubleVectorDataSparse) this)
+                    .replaceData(DoubleVectorKernels.gatherDivide((DoubleVectorDataSparse) this, right.vectorSI));
+        }
         return assign(new DoubleFunction2()
         {
             @Override
@@ -689,6 +1153,16 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
      */
     public final void divideBy(final double valueSI)
     {
+        if (isDense())
+        {
+            DoubleVectorKernels.divide(this.vectorSI, valueSI, this.vectorSI);
+            return;
+        }
+        if (isSparse() && valueSI != 0.0 && !Double.isNaN(valueSI))
+        {
+            ((DoubleVectorDataSparse) this).replaceData(DoubleVectorKernels.divide((DoubleVectorDataSparse) this, valueSI));
+            return;
+        }
         assign(new DoubleFunction()
         {
             @Override
@@ -699,6 +1173,51 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         });
     }
 
+    /**
+     * Multiply this vector with another vector and add a third vector on a cell-by-cell basis, i.e., calculate
+     * <code>this * factor + addend</code> in one pass. The result is dense. None of the three objects is changed.
+     * @param factor DoubleVectorData; the data object to multiply with
+     * @param addend DoubleVectorData; the data object to add to the product
+     * @return DoubleVectorDataDense; the result as a new dense data object
+     * @throws ValueRuntimeException if vectors have different lengths
+     */
+    public final DoubleVectorDataDense multiplyAdd(final DoubleVectorData factor, final DoubleVectorData addend)
+            throws ValueRuntimeException
+    {
+        checkSizes(factor);
+        checkSizes(addend);
+        double[] out = new double[size()];
+        DoubleVectorKernels.fma(denseSI(this), denseSI(factor), denseSI(addend), out);
+        return DoubleVectorDataDense.wrap(out);
+    }
+
+    /**
+     * Multiply this vector with a number and add another vector on a cell-by-cell basis, i.e., calculate
+     * <code>this * valueSI + addend</code> in one pass. The result is dense. Neither of the two objects is changed.
+     * @param valueSI double; the value to multiply with
+     * @param addend DoubleVectorData; the data object to add to the product
+     * @return DoubleVectorDataDense; the result as a new dense data object
+     * @throws ValueRuntimeException if vectors have different lengths
+     */
+    public final DoubleVectorDataDense multiplyAdd(final double valueSI, final DoubleVectorData addend)
+            throws ValueRuntimeException
+    {
+        checkSizes(addend);
+        double[] out = new double[size()];
+        DoubleVectorKernels.fma(denseSI(this), valueSI, denseSI(addend), out);
+        return DoubleVectorDataDense.wrap(out);
+    }
+
+    /**
+     * Return the dense SI values of a data object, without copying them when the data object is dense.
+     * @param data DoubleVectorData; the data object
+     * @return double[]; the dense SI values, which should not be modified
+     */
+    private static double[] denseSI(final DoubleVectorData data)
+    {
+        return data.isDense() ? data.vectorSI : data.getDenseVectorSI();
+    }
+
     /* ============================================================================================ */
     /* =============================== EQUALS, HASHCODE, TOSTRING ================================= */
     /* ============================================================================================ */
@@ -758,8 +1277,18 @@ public abstract class DoubleVectorData extends AbstractStorage<DoubleVectorData>
         {
             return compareDenseVectorWithSparseVector((DoubleVectorDataDense) other, (DoubleVectorDataSparse) this);
         }
-        // Both are dense (both sparse is handled in DoubleVectorDataSparse class)
-        return Arrays.equals(this.vectorSI, other.vectorSI);
+        if (this instanceof DoubleVectorDataDense && other instanceof DoubleVectorDataDense)
+        {
+            // Both are dense (both sparse is handled in DoubleVectorDataSparse class)
+            return Arrays.equals(this.vectorSI, other.vectorSI);
+        }
+        // At least one of the two is stored off-heap
+        for (int index = 0; index < this.size(); index++)
+        {
+            if (Double.doubleToLongBits(getSI(index)) != Double.doubleToLongBits(other.getSI(index)))
+                return false;
+        }
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -1,11 +1,13 @@
 package org.djunits.value.vdouble.vector.data;
 
-import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleVectorCellConsumer;
 
 /**
  * Stores dense data for a DoubleVector and carries out basic operations.
@@ -32,18 +34,40 @@ public class DoubleVectorDataDense extends DoubleVectorData
         System.arraycopy(vectorSI, 0, this.vectorSI, 0, vectorSI.length);
     }
 
+    /**
+     * Create a vector with dense data that uses the given array as its storage.
+     * @param vectorSI double[]; the data to store; the array is not copied
+     * @param unused boolean; distinguishes this constructor from the copying constructor
+     */
+    private DoubleVectorDataDense(final double[] vectorSI, final boolean unused)
+    {
+        super(StorageType.DENSE);
+        this.vectorSI = vectorSI;
+    }
+
+    /**
+     * Create a vector with dense data that takes over the given array without copying it. The caller should not use the array
+     * anymore after this call.
+     * @param vectorSI double[]; the data to store
+     * @return DoubleVectorDataDense; the dense data object that uses the array as its storage
+     */
+    static DoubleVectorDataDense wrap(final double[] vectorSI)
+    {
+        return new DoubleVectorDataDense(vectorSI, false);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final int cardinality()
     {
-        return (int) Arrays.stream(this.vectorSI).parallel().filter(d -> d != 0.0).count();
+        return ExecutionPolicy.current().count(this.vectorSI.length, i -> this.vectorSI[i] != 0.0);
     }
 
     /** {@inheritDoc} */
     @Override
     public final DoubleVectorDataDense assign(final DoubleFunction doubleFunction)
     {
-        IntStream.range(0, size()).parallel().forEach(i -> this.vectorSI[i] = doubleFunction.apply(this.vectorSI[i]));
+        ExecutionPolicy.current().forEach(size(), i -> this.vectorSI[i] = doubleFunction.apply(this.vectorSI[i]));
         return this;
     }
 
@@ -53,13 +77,13 @@ public class DoubleVectorDataDense extends DoubleVectorData
     {
         if (right.isDense())
         {
-            IntStream.range(0, size()).parallel()
-                    .forEach(i -> this.vectorSI[i] = doubleFunction2.apply(this.vectorSI[i], right.vectorSI[i]));
+            ExecutionPolicy.current().forEach(size(),
+                    i -> this.vectorSI[i] = doubleFunction2.apply(this.vectorSI[i], right.vectorSI[i]));
         }
         else
-        { // right is sparse
-            IntStream.range(0, size()).parallel()
-                    .forEach(i -> this.vectorSI[i] = doubleFunction2.apply(this.vectorSI[i], right.getSI(i)));
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(size(),
+                    i -> this.vectorSI[i] = doubleFunction2.apply(this.vectorSI[i], right.getSI(i)));
         }
         return this;
     }
@@ -99,6 +123,13 @@ public class DoubleVectorDataDense extends DoubleVectorData
         this.vectorSI[index] = valueSI;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        System.arraycopy(this.vectorSI, from, target, offset, count);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final double[] getDenseVectorSI()
@@ -106,13 +137,54 @@ public class DoubleVectorDataDense extends DoubleVectorData
         return this.vectorSI.clone();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleVectorCellConsumer consumer)
+    {
+        for (int index = 0; index < this.vectorSI.length; index++)
+        {
+            if (this.vectorSI[index] != 0.0)
+            {
+                consumer.accept(index, this.vectorSI[index]);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final PrimitiveIterator.OfDouble siIterator()
+    {
+        final double[] values = this.vectorSI;
+        return new PrimitiveIterator.OfDouble()
+        {
+            /** index of the next cell to return. */
+            private int cursor = 0;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext()
+            {
+                return this.cursor < values.length;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double nextDouble()
+            {
+                if (this.cursor >= values.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                return values[this.cursor++];
+            }
+        };
+    }
+
     /** {@inheritDoc} */
     @Override
     public final DoubleVectorDataDense copy()
     {
-        double[] vCopy = new double[this.vectorSI.length];
-        System.arraycopy(this.vectorSI, 0, vCopy, 0, this.vectorSI.length);
-        return new DoubleVectorDataDense(vCopy);
+        return wrap(this.vectorSI.clone());
     }
 
     /** {@inheritDoc} */
@@ -120,8 +192,15 @@ public class DoubleVectorDataDense extends DoubleVectorData
     public final DoubleVectorDataDense plus(final DoubleVectorData right)
     {
         checkSizes(right);
-        return new DoubleVectorDataDense(
-                IntStream.range(0, size()).parallel().mapToDouble(i -> getSI(i) + right.getSI(i)).toArray());
+        if (right.isDense())
+        {
+            double[] out = new double[size()];
+            DoubleVectorKernels.add(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
+        DoubleVectorDataDense result = copy();
+        result.incrementBy(right);
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -129,8 +208,15 @@ public class DoubleVectorDataDense extends DoubleVectorData
     public final DoubleVectorDataDense minus(final DoubleVectorData right)
     {
         checkSizes(right);
-        return new DoubleVectorDataDense(
-                IntStream.range(0, size()).parallel().mapToDouble(i -> getSI(i) - right.getSI(i)).toArray());
+        if (right.isDense())
+        {
+            double[] out = new double[size()];
+            DoubleVectorKernels.subtract(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
+        DoubleVectorDataDense result = copy();
+        result.decrementBy(right);
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -142,9 +228,15 @@ public class DoubleVectorDataDense extends DoubleVectorData
             // result shall be sparse
             return right.times(this);
         }
-        // Both are dense
         checkSizes(right);
-        return this.copy().multiplyBy(right);
+        if (right.isOffHeap())
+        {
+            return this.copy().multiplyBy(right);
+        }
+        // Both are dense
+        double[] out = new double[size()];
+        DoubleVectorKernels.multiply(this.vectorSI, right.vectorSI, out);
+        return wrap(out);
     }
 
     /** {@inheritDoc} */
@@ -152,6 +244,12 @@ public class DoubleVectorDataDense extends DoubleVectorData
     public final DoubleVectorData divide(final DoubleVectorData right)
     {
         checkSizes(right);
+        if (right.isDense())
+        {
+            double[] out = new double[size()];
+            DoubleVectorKernels.divide(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
         return this.copy().divideBy(right);
     }
 
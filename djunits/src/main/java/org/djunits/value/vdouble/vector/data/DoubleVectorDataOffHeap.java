@@ -0,0 +1,465 @@
+package org.djunits.value.vdouble.vector.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.djunits.Throw;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.MappedHeader;
+import org.djunits.value.storage.OffHeapDoubleArray;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.util.CsvColumnReader;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleVectorCellConsumer;
+
+/**
+ * Stores the data for a DoubleVector outside of the Java heap and carries out basic operations. The values are held in direct
+ * buffers, so they are not traced or moved by the garbage collector, and they do not count against the maximum heap size. The
+ * off-heap memory is held until close() is called; the data cannot be used after that. Results of operations on off-heap data
+ * are stored off-heap as well, except where the result is sparse.
+ * <p>
+ * The data can also be mapped onto the values in a file with map(...), without reading or copying the values. The
+ * operating system then loads the pages of the file when they are first accessed. A writable mapping writes changes back
+ * to the file; a read-only mapping cannot be changed.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public class DoubleVectorDataOffHeap extends DoubleVectorData implements AutoCloseable
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** the number of cells of the vector. */
+    private final int size;
+
+    /** the off-heap values; null when the data has been closed. */
+    private OffHeapDoubleArray values;
+
+    /**
+     * Create a vector with off-heap data.
+     * @param vectorSI double[]; the data to store; the values are copied
+     */
+    public DoubleVectorDataOffHeap(final double[] vectorSI)
+    {
+        this(new OffHeapDoubleArray(vectorSI.length));
+        this.values.put(0, vectorSI, 0, vectorSI.length);
+    }
+
+    /**
+     * Create a vector with off-heap data that uses the given off-heap array as its storage.
+     * @param values OffHeapDoubleArray; the values; the array is not copied
+     */
+    private DoubleVectorDataOffHeap(final OffHeapDoubleArray values)
+    {
+        super(StorageType.OFF_HEAP);
+        this.size = values.length();
+        this.values = values;
+    }
+
+    /**
+     * Instantiate an off-heap copy of a vector data object.
+     * @param data DoubleVectorData; the data to copy
+     * @return DoubleVectorDataOffHeap; an off-heap data object with the same values
+     */
+    static DoubleVectorDataOffHeap instantiate(final DoubleVectorData data)
+    {
+        if (data.isOffHeap())
+        {
+            return ((DoubleVectorDataOffHeap) data).copy();
+        }
+        if (data.isDense())
+        {
+            return new DoubleVectorDataOffHeap(data.vectorSI);
+        }
+        // the off-heap array starts with all values zero
+        OffHeapDoubleArray values = new OffHeapDoubleArray(data.size());
+        data.forEachNonZero((index, valueSI) -> values.set(index, valueSI));
+        return new DoubleVectorDataOffHeap(values);
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed.
+     * @return OffHeapDoubleArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    private OffHeapDoubleArray values()
+    {
+        Throw.when(this.values == null, ValueRuntimeException.class, "DoubleVectorDataOffHeap: data has been closed");
+        return this.values;
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed and that the values can be changed.
+     * @return OffHeapDoubleArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed, or when it is mapped read-only onto a file
+     */
+    private OffHeapDoubleArray writableValues()
+    {
+        OffHeapDoubleArray v = values();
+        Throw.when(v.isReadOnly(), ValueRuntimeException.class, "DoubleVectorDataOffHeap: data is mapped read-only");
+        return v;
+    }
+
+    /**
+     * Map vector data onto the values in a file, which follow the header of the file. The values are not read or copied.
+     * Closing the channel afterwards does not affect the mapping.
+     * @param channel FileChannel; the channel of the file, which should be writable for a writable mapping
+     * @param header MappedHeader; the header of the file
+     * @param writable boolean; whether changes to the data are written to the file; when false, the data cannot be changed
+     * @return DoubleVectorDataOffHeap; the data that is mapped onto the file
+     * @throws IOException on I/O error
+     * @throws ValueRuntimeException when the file does not hold a vector of double values
+     */
+    public static DoubleVectorDataOffHeap map(final FileChannel channel, final MappedHeader header, final boolean writable)
+            throws IOException
+    {
+        Throw.when(header.getValueBytes() != Double.BYTES || header.getDimensions() != 1, ValueRuntimeException.class,
+                "DoubleVectorDataOffHeap: file does not hold a vector of double values");
+        return new DoubleVectorDataOffHeap(
+                OffHeapDoubleArray.map(channel, header.getDataOffset(), header.getSize(), writable, header.getByteOrder()));
+    }
+
+    /**
+     * Read the remaining rows of a column of a CSV file into a file, and map vector data onto the values in the file. The
+     * values are parsed and converted to SI in parallel chunks, and written to the file window by window, so the memory that
+     * is used does not depend on the number of rows. The file gets the same layout as the files that are written by
+     * DoubleVector.write(...), with the unit of the column as the display unit; an existing file is overwritten.
+     * @param reader CsvColumnReader&lt;?&gt;; the reader of the column
+     * @param path Path; the file to store the values in
+     * @return DoubleVectorDataOffHeap; read-only data that is mapped onto the values in the file
+     * @throws IOException on I/O error, when a field of the column is not a number, or when the column has more rows than a
+     *             vector can hold
+     * @throws NullPointerException when reader or path is null
+     */
+    public static DoubleVectorDataOffHeap read(final CsvColumnReader<?> reader, final Path path) throws IOException
+    {
+        Throw.whenNull(reader, "DoubleVectorDataOffHeap.read: reader is null");
+        Throw.whenNull(path, "DoubleVectorDataOffHeap.read: path is null");
+        // the offset of the values only depends on the unit, so the header can be written when the number of rows is known
+        long dataOffset = MappedHeader.of(Double.BYTES, 1, 1, 0, reader.getUnit()).getDataOffset();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            long[] position = {dataOffset};
+            long rows = reader.read((valuesSI, count) ->
+            {
+                ByteBuffer bytes = ByteBuffer.allocate(count * Double.BYTES).order(ByteOrder.nativeOrder());
+                bytes.asDoubleBuffer().put(valuesSI, 0, count);
+                while (bytes.hasRemaining())
+                {
+                    position[0] += channel.write(bytes, position[0]);
+                }
+            });
+            if (rows > Integer.MAX_VALUE)
+            {
+                throw new IOException("DoubleVectorDataOffHeap.read: " + rows + " rows do not fit in a vector");
+            }
+            MappedHeader header = MappedHeader.of(Double.BYTES, 1, 1, (int) rows, reader.getUnit());
+            header.write(channel);
+            return map(channel, header, false);
+        }
+    }
+
+    /**
+     * Release the off-heap memory of this data. The data cannot be used after it has been closed; closing the data more than
+     * once has no effect.
+     */
+    @Override
+    public final void close()
+    {
+        if (this.values != null)
+        {
+            this.values.close();
+            this.values = null;
+        }
+    }
+
+    /**
+     * Return whether the off-heap memory of this data has been released.
+     * @return boolean; whether the data has been closed
+     */
+    public final boolean isClosed()
+    {
+        return this.values == null;
+    }
+
+    /**
+     * Return whether the data is mapped onto a file.
+     * @return boolean; whether the data is mapped onto a file; false after the data has been closed
+     */
+    public final boolean isMapped()
+    {
+        return this.values != null && this.values.isMapped();
+    }
+
+    /**
+     * Return whether the data cannot be changed, which is the case for a read-only mapping of a file.
+     * @return boolean; whether the data cannot be changed
+     */
+    public final boolean isReadOnly()
+    {
+        return this.values != null && this.values.isReadOnly();
+    }
+
+    /**
+     * Write the changes to data that is mapped writable onto a file to the storage device. The method has no effect when
+     * the data is not mapped onto a file.
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    public final void force()
+    {
+        values().force();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int cardinality()
+    {
+        OffHeapDoubleArray v = values();
+        return ExecutionPolicy.current().count(this.size, i -> v.get(i) != 0.0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap assign(final DoubleFunction doubleFunction)
+    {
+        OffHeapDoubleArray v = writableValues();
+        ExecutionPolicy.current().forEach(this.size, i -> v.set(i, doubleFunction.apply(v.get(i))));
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap assign(final DoubleFunction2 doubleFunction2, final DoubleVectorData right)
+    {
+        OffHeapDoubleArray v = writableValues();
+        if (right.isDense())
+        {
+            double[] rightSI = right.vectorSI;
+            ExecutionPolicy.current().forEach(this.size, i -> v.set(i, doubleFunction2.apply(v.get(i), rightSI[i])));
+        }
+        else
+        {
+            ExecutionPolicy.current().forEach(this.size, i -> v.set(i, doubleFunction2.apply(v.get(i), right.getSI(i))));
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataDense toDense()
+    {
+        return DoubleVectorDataDense.wrap(getDenseVectorSI());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataSparse toSparse()
+    {
+        OffHeapDoubleArray v = values();
+        int length = cardinality();
+        double[] sparseSI = new double[length];
+        int[] indices = new int[length];
+        int count = 0;
+        for (int i = 0; i < this.size; i++)
+        {
+            double value = v.get(i);
+            if (value != 0.0)
+            {
+                sparseSI[count] = value;
+                indices[count] = i;
+                count++;
+            }
+        }
+        return new DoubleVectorDataSparse(sparseSI, indices, this.size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap toOffHeap()
+    {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int size()
+    {
+        return this.size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double getSI(final int index)
+    {
+        return values().get(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        values().get(from, target, offset, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final int storedCount()
+    {
+        return this.size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        values().get(from, target, offset, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSI(final int index, final double valueSI)
+    {
+        writableValues().set(index, valueSI);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double zSum()
+    {
+        OffHeapDoubleArray v = values();
+        return ExecutionPolicy.current().sum(this.size, (from, to) ->
+        {
+            double sum = 0.0;
+            for (int i = from; i < to; i++)
+            {
+                sum += v.get(i);
+            }
+            return sum;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[] getDenseVectorSI()
+    {
+        double[] result = new double[this.size];
+        values().get(0, result, 0, this.size);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleVectorCellConsumer consumer)
+    {
+        OffHeapDoubleArray v = values();
+        for (int index = 0; index < this.size; index++)
+        {
+            double value = v.get(index);
+            if (value != 0.0)
+            {
+                consumer.accept(index, value);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final PrimitiveIterator.OfDouble siIterator()
+    {
+        final OffHeapDoubleArray v = values();
+        return new PrimitiveIterator.OfDouble()
+        {
+            /** index of the next cell to return. */
+            private int cursor = 0;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext()
+            {
+                return this.cursor < v.length();
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double nextDouble()
+            {
+                if (this.cursor >= v.length())
+                {
+                    throw new NoSuchElementException();
+                }
+                return v.get(this.cursor++);
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap copy()
+    {
+        return new DoubleVectorDataOffHeap(values().copy());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap plus(final DoubleVectorData right)
+    {
+        checkSizes(right);
+        DoubleVectorDataOffHeap result = copy();
+        result.incrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorDataOffHeap minus(final DoubleVectorData right)
+    {
+        checkSizes(right);
+        DoubleVectorDataOffHeap result = copy();
+        result.decrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorData times(final DoubleVectorData right)
+    {
+        if (right.isSparse())
+        {
+            // result shall be sparse
+            return right.times(this);
+        }
+        checkSizes(right);
+        return copy().multiplyBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final DoubleVectorData divide(final DoubleVectorData right)
+    {
+        checkSizes(right);
+        return copy().divideBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "DoubleVectorDataOffHeap [storageType=" + getStorageType() + ", size=" + this.size + ", mapped=" + isMapped()
+                + ", closed=" + isClosed() + "]";
+    }
+
+}
@@ -1,11 +1,19 @@
 package org.djunits.value.vdouble.vector.data;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
+import org.djunits.Throw;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.SparseIndexSort;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vdouble.function.DoubleFunction;
 import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.function.DoubleVectorCellConsumer;
 
 /**
  * Stores sparse data for a DoubleVector and carries out basic operations.
@@ -41,6 +49,63 @@ public class DoubleVectorDataSparse extends DoubleVectorData
         this.size = size;
     }
 
+    /**
+     * Return the internal index array of the stored values, without copying it.
+     * @return int[]; the indices of the stored values, in ascending order
+     */
+    final int[] getIndices()
+    {
+        return this.indices;
+    }
+
+    /**
+     * Replace the stored values and indices by those of another sparse data object of the same size.
+     * @param other DoubleVectorDataSparse; the data object to take the values and indices from
+     * @return DoubleVectorDataSparse; this modified data object
+     */
+    final DoubleVectorDataSparse replaceData(final DoubleVectorDataSparse other)
+    {
+        this.indices = other.indices;
+        this.vectorSI = other.vectorSI;
+        return this;
+    }
+
+    /**
+     * Read sparse data that has been written with encode(...), after the size of the vector.
+     * @param in ValueCodec.Input; the input to read the indices and the values from
+     * @param size int; the size of the vector
+     * @return DoubleVectorDataSparse; the sparse data with the indices and values that have been read
+     * @throws IOException on I/O error, or when the indices are not ascending or out of range
+     */
+    static DoubleVectorDataSparse decode(final ValueCodec.Input in, final int size) throws IOException
+    {
+        int stored = in.readCount();
+        if (stored > size)
+        {
+            throw new IOException("DoubleVectorDataSparse.decode: " + stored + " stored values for a vector of size " + size);
+        }
+        int[] indices = in.readInts(stored);
+        for (int i = 0; i < stored; i++)
+        {
+            if (indices[i] < (i == 0 ? 0 : indices[i - 1] + 1) || indices[i] >= size)
+            {
+                throw new IOException("DoubleVectorDataSparse.decode: index " + indices[i]
+                        + " is not ascending or out of range");
+            }
+        }
+        return new DoubleVectorDataSparse(in.readDoubles(stored), indices, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void encode(final ValueCodec.Output out) throws IOException
+    {
+        out.writeInt(this.size);
+        out.writeInt(this.indices.length);
+        out.writeInts(this.indices, this.indices.length);
+        out.writeDoubles(this.vectorSI, this.indices.length);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final int cardinality()
@@ -61,52 +126,41 @@ public class DoubleVectorDataSparse extends DoubleVectorData
             return this;
         }
         // The code below relies on the fact that doubleFunction.apply(0d) yields 0d
-        int currentSize = size();
-        if (currentSize > 16)
-        {
-            currentSize = 16;
-        }
-        int[] newIndices = new int[currentSize];
-        double[] newValues = new double[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        while (ownIndex < this.indices.length)
+        final double[] values = this.vectorSI;
+        final int[] oldIndices = this.indices;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = Math.max(1, policy.chunks(values.length, values.length));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per chunk; second pass: fill the exactly sized result arrays
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            int index = this.indices[ownIndex];
-            double value = doubleFunction.apply(this.vectorSI[ownIndex]);
-            ownIndex++;
-            if (value != 0d)
+            int count = 0;
+            for (int k = from; k < to; k++)
             {
-                if (nonZeroValues >= currentSize)
+                if (doubleFunction.apply(values[k]) != 0d)
                 {
-                    // increase size of arrays
-                    currentSize *= 2;
-                    if (currentSize > size())
-                    {
-                        currentSize = size();
-                    }
-                    int[] newNewIndices = new int[currentSize];
-                    System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                    newIndices = newNewIndices;
-                    double[] newNewValues = new double[currentSize];
-                    System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                    newValues = newNewValues;
+                    count++;
                 }
-                newIndices[nonZeroValues] = index;
-                newValues[nonZeroValues] = value;
-                nonZeroValues++;
             }
-        }
-        if (nonZeroValues < currentSize)
+            offsets[chunk + 1] = count;
+        });
+        accumulate(offsets);
+        int[] newIndices = new int[offsets[chunks]];
+        double[] newValues = new double[offsets[chunks]];
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            // reduce size of arrays
-            int[] newNewIndices = new int[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            double[] newNewValues = new double[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
-        }
+            int position = offsets[chunk];
+            for (int k = from; k < to; k++)
+            {
+                double value = doubleFunction.apply(values[k]);
+                if (value != 0d)
+                {
+                    newIndices[position] = oldIndices[k];
+                    newValues[position] = value;
+                    position++;
+                }
+            }
+        });
         this.indices = newIndices;
         this.vectorSI = newValues;
         return this;
@@ -126,144 +180,135 @@ public class DoubleVectorDataSparse extends DoubleVectorData
         }
         // The code below relies on the fact that doubleFunction.apply(0d, 0d) yields 0d
         checkSizes(right);
-        int currentSize = size();
-        if (currentSize > 16)
-        {
-            currentSize = 16;
-        }
-        int[] newIndices = new int[currentSize];
-        double[] newValues = new double[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        int otherIndex = 0;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        long work = (long) this.indices.length + (right.isSparse() ? right.vectorSI.length : this.size);
+        int chunks = Math.max(1, policy.chunks(this.size, work));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per range of indices; second pass: fill the exactly sized result arrays
+        policy.execute(this.size, chunks,
+                (chunk, from, to) -> offsets[chunk + 1] = mergeRange(doubleFunction, right, from, to, null, null, 0));
+        accumulate(offsets);
+        int[] newIndices = new int[offsets[chunks]];
+        double[] newValues = new double[offsets[chunks]];
+        policy.execute(this.size, chunks,
+                (chunk, from, to) -> mergeRange(doubleFunction, right, from, to, newIndices, newValues, offsets[chunk]));
+        this.indices = newIndices;
+        this.vectorSI = newValues;
+        return this;
+    }
+
+    /**
+     * Apply a binary operation that yields zero for two zero operands to the cells of a range of indices. The non-zero
+     * results are stored from a given position in the result arrays, or only counted when the result arrays are null.
+     * @param doubleFunction DoubleFunction2; the binary operation to apply
+     * @param right DoubleVectorData; the right operand, sparse, dense or off-heap
+     * @param from int; the first index of the range (inclusive)
+     * @param to int; the last index of the range (exclusive)
+     * @param newIndices int[]; the result indices, or null to only count the non-zero results
+     * @param newValues double[]; the result values, or null to only count the non-zero results
+     * @param start int; the position in the result arrays of the first non-zero result of the range
+     * @return int; the number of non-zero results in the range
+     */
+    private int mergeRange(final DoubleFunction2 doubleFunction, final DoubleVectorData right, final int from, final int to,
+            final int[] newIndices, final double[] newValues, final int start)
+    {
+        int first = from;
+        int last = to;
+        int position = start;
+        int own = lowerBound(this.indices, first);
+        int ownEnd = lowerBound(this.indices, last);
         if (right.isSparse())
-        { // both are sparse, result must be sparse
+        {
             DoubleVectorDataSparse other = (DoubleVectorDataSparse) right;
-            while (ownIndex < this.indices.length || otherIndex < other.indices.length)
+            int otherIndex = lowerBound(other.indices, first);
+            int otherEnd = lowerBound(other.indices, last);
+            while (own < ownEnd || otherIndex < otherEnd)
             {
-                double value;
+                int ownCell = own < ownEnd ? this.indices[own] : Integer.MAX_VALUE;
+                int otherCell = otherIndex < otherEnd ? other.indices[otherIndex] : Integer.MAX_VALUE;
                 int index;
-                if (ownIndex < this.indices.length && otherIndex < other.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == other.indices[otherIndex])
-                    {
-                        value = doubleFunction.apply(this.vectorSI[ownIndex], other.vectorSI[otherIndex]);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                        otherIndex++;
-                    }
-                    else if (this.indices[ownIndex] < other.indices[otherIndex])
-                    {
-                        // we have a non-zero; right has a zero
-                        value = doubleFunction.apply(this.vectorSI[ownIndex], 0d);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; right has a non-zero
-                        value = doubleFunction.apply(0d, other.vectorSI[otherIndex]);
-                        index = other.indices[otherIndex];
-                        otherIndex++;
-                    }
+                double value;
+                if (ownCell == otherCell)
+                {
+                    value = doubleFunction.apply(this.vectorSI[own++], other.vectorSI[otherIndex++]);
+                    index = ownCell;
                 }
-                else if (ownIndex < this.indices.length)
-                { // right has run out of values; we have not
-                    value = doubleFunction.apply(this.vectorSI[ownIndex], 0d);
-                    index = this.indices[ownIndex];
-                    ownIndex++;
+                else if (ownCell < otherCell)
+                {
+                    // we have a non-zero; right has a zero
+                    value = doubleFunction.apply(this.vectorSI[own++], 0d);
+                    index = ownCell;
                 }
                 else
-                { // we have run out of values; right has not
-                    value = doubleFunction.apply(0d, other.vectorSI[otherIndex]);
-                    index = other.indices[otherIndex];
-                    otherIndex++;
+                {
+                    // we have a zero; right has a non-zero
+                    value = doubleFunction.apply(0d, other.vectorSI[otherIndex++]);
+                    index = otherCell;
                 }
                 if (value != 0d)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > size())
-                        {
-                            currentSize = size();
-                        }
-                        int[] newNewIndices = new int[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        double[] newNewValues = new double[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
         else
-        { // we are sparse; other is dense, result must be sparse
-            DoubleVectorDataDense other = (DoubleVectorDataDense) right;
-            while (otherIndex < right.vectorSI.length)
+        {
+            // right is dense or off-heap; visit all cells of the range
+            double[] rightSI = right.isDense() ? right.vectorSI : null;
+            for (int index = first; index < last; index++)
             {
+                double rightValue = rightSI != null ? rightSI[index] : right.getSI(index);
                 double value;
-                int index = otherIndex;
-                if (ownIndex < this.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == otherIndex)
-                    {
-                        value = doubleFunction.apply(this.vectorSI[ownIndex], other.vectorSI[otherIndex]);
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; other has a value
-                        value = doubleFunction.apply(0d, other.vectorSI[otherIndex]);
-                    }
-                    otherIndex++;
+                if (own < ownEnd && this.indices[own] == index)
+                {
+                    value = doubleFunction.apply(this.vectorSI[own++], rightValue);
                 }
                 else
-                { // we have run out of values; right has not
-                    value = doubleFunction.apply(0d, other.vectorSI[otherIndex]);
-                    otherIndex++;
+                {
+                    value = doubleFunction.apply(0d, rightValue);
                 }
                 if (value != 0d)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > size())
-                        {
-                            currentSize = size();
-                        }
-                        int[] newNewIndices = new int[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        double[] newNewValues = new double[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
-        if (nonZeroValues < currentSize)
+        return position - start;
+    }
+
+    /**
+     * Turn an array with counts at positions 1 to n into an array of offsets, where position i holds the sum of the counts
+     * before it.
+     * @param offsets int[]; the counts at positions 1 to n, which are replaced by the offsets
+     */
+    private static void accumulate(final int[] offsets)
+    {
+        for (int i = 1; i < offsets.length; i++)
         {
-            // reduce size of arrays
-            int[] newNewIndices = new int[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            double[] newNewValues = new double[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
+            offsets[i] += offsets[i - 1];
         }
-        this.indices = newIndices;
-        this.vectorSI = newValues;
-        return this;
+    }
+
+    /**
+     * Return the position of the first stored index that is at least a given index.
+     * @param indices int[]; the stored indices, in increasing order
+     * @param index int; the index to look for
+     * @return int; the position of the first stored index that is at least the given index
+     */
+    private static int lowerBound(final int[] indices, final int index)
+    {
+        int position = Arrays.binarySearch(indices, index);
+        return position >= 0 ? position : -position - 1;
     }
 
     /** {@inheritDoc} */
@@ -300,6 +345,26 @@ public class DoubleVectorDataSparse extends DoubleVectorData
         return internalIndex < 0 ? 0.0 : this.vectorSI[internalIndex];
     }
 
+    /** {@inheritDoc} */
+    @Override
+    final int storedIndex(final int position)
+    {
+        return this.indices[position];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void copySI(final int from, final double[] target, final int offset, final int count)
+    {
+        Arrays.fill(target, offset, offset + count, 0.0);
+        int internalIndex = Arrays.binarySearch(this.indices, from);
+        for (int k = internalIndex < 0 ? -internalIndex - 1 : internalIndex; k < this.indices.length
+                && this.indices[k] < from + count; k++)
+        {
+            target[offset + this.indices[k] - from] = this.vectorSI[k];
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public final void setSI(final int index, final double valueSI)
@@ -354,6 +419,60 @@ public class DoubleVectorDataSparse extends DoubleVectorData
         return toDense().vectorSI;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final DoubleVectorCellConsumer consumer)
+    {
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            if (this.vectorSI[k] != 0.0)
+            {
+                consumer.accept(this.indices[k], this.vectorSI[k]);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final PrimitiveIterator.OfDouble siIterator()
+    {
+        final double[] values = this.vectorSI;
+        final int[] storedIndices = this.indices;
+        final int length = this.size;
+        return new PrimitiveIterator.OfDouble()
+        {
+            /** index of the next cell to return. */
+            private int cursor = 0;
+
+            /** position in the stored values of the next stored cell. */
+            private int stored = 0;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext()
+            {
+                return this.cursor < length;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double nextDouble()
+            {
+                if (this.cursor >= length)
+                {
+                    throw new NoSuchElementException();
+                }
+                double value = 0.0;
+                if (this.stored < storedIndices.length && storedIndices[this.stored] == this.cursor)
+                {
+                    value = values[this.stored++];
+                }
+                this.cursor++;
+                return value;
+            }
+        };
+    }
+
     /** {@inheritDoc} */
     @Override
     public final DoubleVectorDataSparse copy()
@@ -373,7 +492,7 @@ public class DoubleVectorDataSparse extends DoubleVectorData
     public static DoubleVectorDataSparse instantiate(final double[] valuesSI)
     {
         // determine number of non-null cells
-        int length = (int) Arrays.stream(valuesSI).parallel().filter(d -> d != 0.0).count();
+        int length = ExecutionPolicy.current().count(valuesSI.length, i -> valuesSI[i] != 0.0);
         double[] sparseSI = new double[length];
         int[] indices = new int[length];
 
@@ -395,12 +514,16 @@ public class DoubleVectorDataSparse extends DoubleVectorData
     @Override
     public final DoubleVectorData plus(final DoubleVectorData right)
     {
-        if (right.isDense())
+        if (!right.isSparse())
         {
             DoubleVectorData result = right.plus(this);
             return result;
         }
         checkSizes(right);
+        if (right.isSparse())
+        {
+            return DoubleVectorKernels.mergeAdd(this, (DoubleVectorDataSparse) right, false);
+        }
         return this.copy().incrementBy(right);
     }
 
@@ -408,6 +531,11 @@ public class DoubleVectorDataSparse extends DoubleVectorData
     @Override
     public final DoubleVectorData minus(final DoubleVectorData right)
     {
+        if (right.isSparse())
+        {
+            checkSizes(right);
+            return DoubleVectorKernels.mergeAdd(this, (DoubleVectorDataSparse) right, true);
+        }
         return this.copy().decrementBy(right);
     }
 
@@ -415,6 +543,11 @@ public class DoubleVectorDataSparse extends DoubleVectorData
     @Override
     public final DoubleVectorData times(final DoubleVectorData right)
     {
+        if (right.isSparse())
+        {
+            checkSizes(right);
+            return DoubleVectorKernels.mergeMultiply(this, (DoubleVectorDataSparse) right);
+        }
         return this.copy().multiplyBy(right);
     }
 
@@ -452,14 +585,161 @@ public class DoubleVectorDataSparse extends DoubleVectorData
         DoubleVectorData other = (DoubleVectorData) obj;
         if (this.size() != other.size())
             return false;
-        if (other instanceof DoubleVectorDataDense)
+        if (!(other instanceof DoubleVectorDataSparse))
             return super.equals(other);
-        if (getClass() != obj.getClass())
-            return false;
         // Both are sparse
         if (!Arrays.equals(this.indices, ((DoubleVectorDataSparse) other).indices))
             return false;
         return Arrays.equals(this.vectorSI, ((DoubleVectorDataSparse) other).vectorSI);
     }
 
+    /**
+     * Open this data for writing: return a builder that starts with the values of this data object. This data object is not
+     * changed by the builder; call build() on the builder to obtain the changed data.
+     * @return Builder; a builder that starts with the values of this data object
+     */
+    public final Builder toBuilder()
+    {
+        Builder builder = new Builder(this.size, Math.max(16, this.indices.length));
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            builder.append(this.indices[k], this.vectorSI[k]);
+        }
+        return builder;
+    }
+
+    /**
+     * Builder for sparse vector data that is filled cell by cell. Setting a value only appends it to an unsorted log that grows
+     * by doubling, so it takes amortized constant time, where setSI on sparse data copies the stored arrays for every cell that
+     * is added or removed. The log is sorted and compacted once, when build() is called. When a cell is set more than once, the
+     * last value counts, and setting a cell to zero removes it.
+     */
+    public static final class Builder
+    {
+        /** the length of the vector. */
+        private final int size;
+
+        /** the indices of the log, in the order in which they were written. */
+        private long[] logIndices;
+
+        /** the SI values of the log, in the order in which they were written. */
+        private double[] logValues;
+
+        /** the number of entries in the log. */
+        private int count = 0;
+
+        /**
+         * Create a builder for sparse vector data of a given length, with all cells zero.
+         * @param size int; the length of the vector
+         * @throws ValueRuntimeException when size is negative
+         */
+        public Builder(final int size) throws ValueRuntimeException
+        {
+            this(size, 16);
+        }
+
+        /**
+         * Create a builder for sparse vector data of a given length, with a log of a given initial capacity.
+         * @param size int; the length of the vector
+         * @param capacity int; the initial capacity of the log
+         * @throws ValueRuntimeException when size is negative
+         */
+        private Builder(final int size, final int capacity) throws ValueRuntimeException
+        {
+            Throw.when(size < 0, ValueRuntimeException.class, "size of vector cannot be negative: %d", size);
+            this.size = size;
+            this.logIndices = new long[capacity];
+            this.logValues = new double[capacity];
+        }
+
+        /**
+         * Set the SI value of a cell.
+         * @param index int; the index of the cell
+         * @param valueSI double; the SI value of the cell; zero removes the cell
+         * @return Builder; this builder for method chaining
+         * @throws ValueRuntimeException when the index is out of range
+         */
+        public Builder set(final int index, final double valueSI) throws ValueRuntimeException
+        {
+            Throw.when(index < 0 || index >= this.size, ValueRuntimeException.class, "index %d out of range [0, %d)", index,
+                    this.size);
+            append(index, valueSI);
+            return this;
+        }
+
+        /**
+         * Return the length of the vector.
+         * @return int; the length of the vector
+         */
+        public int size()
+        {
+            return this.size;
+        }
+
+        /**
+         * Sort and compact the log, and return the result as sparse vector data with exactly sized arrays. The builder can
+         * still be used afterwards; later changes do not affect the returned data.
+         * @return DoubleVectorDataSparse; the sparse data with the values that have been set
+         */
+        public DoubleVectorDataSparse build()
+        {
+            int[] order = SparseIndexSort.lastWriteOrder(this.logIndices, this.count);
+            int nonZero = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    nonZero++;
+                }
+            }
+            int[] indices = new int[nonZero];
+            double[] values = new double[nonZero];
+            int k = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    indices[k] = (int) this.logIndices[position];
+                    values[k] = this.logValues[position];
+                    k++;
+                }
+            }
+
+            // the log only has to hold the result from now on
+            for (k = 0; k < nonZero; k++)
+            {
+                this.logIndices[k] = indices[k];
+                this.logValues[k] = values[k];
+            }
+            this.count = nonZero;
+            return new DoubleVectorDataSparse(values, indices, this.size);
+        }
+
+        /**
+         * Append an entry to the log, doubling the capacity of the log when it is full.
+         * @param index long; the index of the cell
+         * @param valueSI double; the SI value of the cell
+         */
+        private void append(final long index, final double valueSI)
+        {
+            if (this.count == this.logIndices.length)
+            {
+                int capacity = Math.max(16, this.logIndices.length * 2);
+                this.logIndices = Arrays.copyOf(this.logIndices, capacity);
+                this.logValues = Arrays.copyOf(this.logValues, capacity);
+            }
+            this.logIndices[this.count] = index;
+            this.logValues[this.count] = valueSI;
+            this.count++;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "DoubleVectorDataSparse.Builder [size=" + this.size + ", entries=" + this.count + "]";
+        }
+
+    }
+
 }
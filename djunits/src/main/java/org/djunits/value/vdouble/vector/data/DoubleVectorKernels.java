@@ -0,0 +1,511 @@
+package org.djunits.value.vdouble.vector.data;
+
+import java.util.Arrays;
+
+import org.djunits.value.storage.ExecutionPolicy;
+
+/**
+ * Primitive kernels for the cell-by-cell arithmetic of DoubleVectorData objects. The kernels work directly on the
+ * <code>double[]</code> arrays of the data objects with simple counted loops, which the JIT compiler can unroll and vectorize,
+ * instead of calling a DoubleFunction2 and <code>getSI(i)</code> for each element. Dense loops are split in chunks according
+ * to the current ExecutionPolicy. Kernels with a sparse operand only visit the stored cells (scatter and gather), and kernels
+ * with two sparse operands merge the sorted index arrays.
+ * <p>
+ * The results are identical to the results of the generic <code>assign</code> methods. A stored value times or divided by an
+ * implicit zero gives NaN when the stored value is infinite or NaN, so the sparse kernels are only used when such values
+ * cannot change the sparsity pattern; the callers fall back to <code>assign</code> otherwise.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+final class DoubleVectorKernels
+{
+    /** Do not instantiate. */
+    private DoubleVectorKernels()
+    {
+        // Utility class.
+    }
+
+    /* ============================================================================================ */
+    /* ======================================= DENSE-DENSE ======================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Calculate <code>out[i] = a[i] + b[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the left operand
+     * @param b double[]; the right operand
+     * @param out double[]; the array to store the result
+     */
+    static void add(final double[] a, final double[] b, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] + b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] - b[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the left operand
+     * @param b double[]; the right operand
+     * @param out double[]; the array to store the result
+     */
+    static void subtract(final double[] a, final double[] b, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] - b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * b[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the left operand
+     * @param b double[]; the right operand
+     * @param out double[]; the array to store the result
+     */
+    static void multiply(final double[] a, final double[] b, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] / b[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the left operand
+     * @param b double[]; the right operand
+     * @param out double[]; the array to store the result
+     */
+    static void divide(final double[] a, final double[] b, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] / b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * factor</code>. The output array can be the input array.
+     * @param a double[]; the operand
+     * @param factor double; the factor to multiply with
+     * @param out double[]; the array to store the result
+     */
+    static void scale(final double[] a, final double factor, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * factor;
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] / divisor</code>. The output array can be the input array.
+     * @param a double[]; the operand
+     * @param divisor double; the value to divide by
+     * @param out double[]; the array to store the result
+     */
+    static void divide(final double[] a, final double divisor, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] / divisor;
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * b[i] + c[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the first factor
+     * @param b double[]; the second factor
+     * @param c double[]; the addend
+     * @param out double[]; the array to store the result
+     */
+    static void fma(final double[] a, final double[] b, final double[] c, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * b[i] + c[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * factor + c[i]</code>. The output array can be one of the input arrays.
+     * @param a double[]; the first factor
+     * @param factor double; the second factor
+     * @param c double[]; the addend
+     * @param out double[]; the array to store the result
+     */
+    static void fma(final double[] a, final double factor, final double[] c, final double[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * factor + c[i];
+            }
+        });
+    }
+
+    /**
+     * Return whether an array contains an infinite or NaN value.
+     * @param a double[]; the array to check
+     * @return boolean; true if the array contains at least one infinite or NaN value
+     */
+    static boolean hasNonFinite(final double[] a)
+    {
+        for (int i = 0; i < a.length; i++)
+        {
+            // (x - x) is 0 for finite values, and NaN for infinite and NaN values
+            if (a[i] - a[i] != 0.0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return whether an array contains a zero, infinite or NaN value.
+     * @param a double[]; the array to check
+     * @return boolean; true if the array contains at least one zero, infinite or NaN value
+     */
+    static boolean hasZeroOrNonFinite(final double[] a)
+    {
+        for (int i = 0; i < a.length; i++)
+        {
+            if (a[i] == 0.0 || a[i] - a[i] != 0.0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* ============================================================================================ */
+    /* ======================================= DENSE-SPARSE ======================================= */
+    /* ============================================================================================ */
+
+    /**
+     * Add the stored cells of a sparse operand to a dense array: <code>out[indices[k]] += values[k]</code>.
+     * @param out double[]; the dense array, which is modified
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     */
+    static void scatterAdd(final double[] out, final DoubleVectorDataSparse sparse)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        for (int k = 0; k < indices.length; k++)
+        {
+            out[indices[k]] += values[k];
+        }
+    }
+
+    /**
+     * Subtract the stored cells of a sparse operand from a dense array: <code>out[indices[k]] -= values[k]</code>.
+     * @param out double[]; the dense array, which is modified
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     */
+    static void scatterSubtract(final double[] out, final DoubleVectorDataSparse sparse)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        for (int k = 0; k < indices.length; k++)
+        {
+            out[indices[k]] -= values[k];
+        }
+    }
+
+    /**
+     * Multiply a dense array with a sparse operand; the cells of the dense array where the sparse operand has an implicit zero
+     * are multiplied with 0.0 as well, which keeps the sign of the zero and turns infinite values into NaN.
+     * @param out double[]; the dense array, which is modified
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     */
+    static void multiplyDense(final double[] out, final DoubleVectorDataSparse sparse)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        int from = 0;
+        for (int k = 0; k <= indices.length; k++)
+        {
+            int to = k < indices.length ? indices[k] : out.length;
+            for (int i = from; i < to; i++)
+            {
+                out[i] *= 0.0;
+            }
+            if (k < indices.length)
+            {
+                out[to] *= values[k];
+                from = to + 1;
+            }
+        }
+    }
+
+    /**
+     * Divide a dense array by a sparse operand; the cells of the dense array where the sparse operand has an implicit zero are
+     * divided by 0.0, which results in infinite or NaN values.
+     * @param out double[]; the dense array, which is modified
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     */
+    static void divideDense(final double[] out, final DoubleVectorDataSparse sparse)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        int from = 0;
+        for (int k = 0; k <= indices.length; k++)
+        {
+            int to = k < indices.length ? indices[k] : out.length;
+            for (int i = from; i < to; i++)
+            {
+                out[i] /= 0.0;
+            }
+            if (k < indices.length)
+            {
+                out[to] /= values[k];
+                from = to + 1;
+            }
+        }
+    }
+
+    /**
+     * Multiply the stored cells of a sparse operand with the corresponding cells of a dense operand. The dense operand should
+     * not contain infinite or NaN values, as the product with an implicit zero of the sparse operand would be NaN.
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     * @param dense double[]; the dense operand
+     * @return DoubleVectorDataSparse; the sparse product, without cells that became zero
+     */
+    static DoubleVectorDataSparse gatherMultiply(final DoubleVectorDataSparse sparse, final double[] dense)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        double[] result = new double[values.length];
+        for (int k = 0; k < indices.length; k++)
+        {
+            result[k] = values[k] * dense[indices[k]];
+        }
+        return compact(result, indices.clone(), sparse.size());
+    }
+
+    /**
+     * Divide the stored cells of a sparse operand by the corresponding cells of a dense operand. The dense operand should not
+     * contain zero, infinite or NaN values, as an implicit zero of the sparse operand divided by such a value would be NaN.
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     * @param dense double[]; the dense operand
+     * @return DoubleVectorDataSparse; the sparse ratio, without cells that became zero
+     */
+    static DoubleVectorDataSparse gatherDivide(final DoubleVectorDataSparse sparse, final double[] dense)
+    {
+        final double[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        double[] result = new double[values.length];
+        for (int k = 0; k < indices.length; k++)
+        {
+            result[k] = values[k] / dense[indices[k]];
+        }
+        return compact(result, indices.clone(), sparse.size());
+    }
+
+    /**
+     * Multiply the stored cells of a sparse operand with a factor. The factor should be finite, as the product of an implicit
+     * zero and an infinite or NaN factor would be NaN.
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     * @param factor double; the factor
+     * @return DoubleVectorDataSparse; the sparse product, without cells that became zero
+     */
+    static DoubleVectorDataSparse scale(final DoubleVectorDataSparse sparse, final double factor)
+    {
+        double[] result = new double[sparse.vectorSI.length];
+        scale(sparse.vectorSI, factor, result);
+        return compact(result, sparse.getIndices().clone(), sparse.size());
+    }
+
+    /**
+     * Divide the stored cells of a sparse operand by a divisor. The divisor should not be zero or NaN, as an implicit zero
+     * divided by such a divisor would be NaN.
+     * @param sparse DoubleVectorDataSparse; the sparse operand
+     * @param divisor double; the divisor
+     * @return DoubleVectorDataSparse; the sparse ratio, without cells that became zero
+     */
+    static DoubleVectorDataSparse divide(final DoubleVectorDataSparse sparse, final double divisor)
+    {
+        double[] result = new double[sparse.vectorSI.length];
+        divide(sparse.vectorSI, divisor, result);
+        return compact(result, sparse.getIndices().clone(), sparse.size());
+    }
+
+    /* ============================================================================================ */
+    /* ====================================== SPARSE-SPARSE ======================================= */
+    /* ============================================================================================ */
+
+    /**
+     * Add or subtract two sparse operands of the same size by merging their sorted indices.
+     * @param a DoubleVectorDataSparse; the left operand
+     * @param b DoubleVectorDataSparse; the right operand
+     * @param subtract boolean; true to subtract the right operand, false to add it
+     * @return DoubleVectorDataSparse; the sparse sum or difference, without cells that are zero
+     */
+    static DoubleVectorDataSparse mergeAdd(final DoubleVectorDataSparse a, final DoubleVectorDataSparse b,
+            final boolean subtract)
+    {
+        final double[] aValues = a.vectorSI;
+        final int[] aIndices = a.getIndices();
+        final double[] bValues = b.vectorSI;
+        final int[] bIndices = b.getIndices();
+        int capacity = Math.min(a.size(), aIndices.length + bIndices.length);
+        double[] values = new double[capacity];
+        int[] indices = new int[capacity];
+        double sign = subtract ? -1.0 : 1.0;
+        int count = 0;
+        int ka = 0;
+        int kb = 0;
+        while (ka < aIndices.length || kb < bIndices.length)
+        {
+            int ia = ka < aIndices.length ? aIndices[ka] : Integer.MAX_VALUE;
+            int ib = kb < bIndices.length ? bIndices[kb] : Integer.MAX_VALUE;
+            double value;
+            int index;
+            if (ia == ib)
+            {
+                value = subtract ? aValues[ka++] - bValues[kb++] : aValues[ka++] + bValues[kb++];
+                index = ia;
+            }
+            else if (ia < ib)
+            {
+                value = aValues[ka++];
+                index = ia;
+            }
+            else
+            {
+                value = sign * bValues[kb++];
+                index = ib;
+            }
+            if (value != 0.0)
+            {
+                values[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return trim(values, indices, count, a.size());
+    }
+
+    /**
+     * Multiply two sparse operands of the same size by merging their sorted indices. A stored value times an implicit zero of
+     * the other operand is calculated as well, so infinite and NaN values result in NaN as in the generic <code>assign</code>.
+     * @param a DoubleVectorDataSparse; the left operand
+     * @param b DoubleVectorDataSparse; the right operand
+     * @return DoubleVectorDataSparse; the sparse product, without cells that are zero
+     */
+    static DoubleVectorDataSparse mergeMultiply(final DoubleVectorDataSparse a, final DoubleVectorDataSparse b)
+    {
+        final double[] aValues = a.vectorSI;
+        final int[] aIndices = a.getIndices();
+        final double[] bValues = b.vectorSI;
+        final int[] bIndices = b.getIndices();
+        int capacity = Math.min(a.size(), aIndices.length + bIndices.length);
+        double[] values = new double[capacity];
+        int[] indices = new int[capacity];
+        int count = 0;
+        int ka = 0;
+        int kb = 0;
+        while (ka < aIndices.length || kb < bIndices.length)
+        {
+            int ia = ka < aIndices.length ? aIndices[ka] : Integer.MAX_VALUE;
+            int ib = kb < bIndices.length ? bIndices[kb] : Integer.MAX_VALUE;
+            double value;
+            int index;
+            if (ia == ib)
+            {
+                value = aValues[ka++] * bValues[kb++];
+                index = ia;
+            }
+            else if (ia < ib)
+            {
+                value = aValues[ka++] * 0.0;
+                index = ia;
+            }
+            else
+            {
+                value = 0.0 * bValues[kb++];
+                index = ib;
+            }
+            if (value != 0.0)
+            {
+                values[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return trim(values, indices, count, a.size());
+    }
+
+    /* ============================================================================================ */
+    /* ========================================= HELPERS ========================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Remove the zero values from sparse data arrays, and return the result as sparse data. The arrays are compacted in place.
+     * @param values double[]; the values, which may contain zeros
+     * @param indices int[]; the corresponding indices
+     * @param size int; the size of the vector
+     * @return DoubleVectorDataSparse; the sparse data without zero values
+     */
+    static DoubleVectorDataSparse compact(final double[] values, final int[] indices, final int size)
+    {
+        int count = 0;
+        for (int k = 0; k < values.length; k++)
+        {
+            if (values[k] != 0.0)
+            {
+                values[count] = values[k];
+                indices[count] = indices[k];
+                count++;
+            }
+        }
+        return trim(values, indices, count, size);
+    }
+
+    /**
+     * Return sparse data with arrays of exactly the given length.
+     * @param values double[]; the values
+     * @param indices int[]; the indices
+     * @param count int; the number of values and indices to keep
+     * @param size int; the size of the vector
+     * @return DoubleVectorDataSparse; the sparse data
+     */
+    private static DoubleVectorDataSparse trim(final double[] values, final int[] indices, final int count, final int size)
+    {
+        if (count == values.length)
+        {
+            return new DoubleVectorDataSparse(values, indices, size);
+        }
+        return new DoubleVectorDataSparse(Arrays.copyOf(values, count), Arrays.copyOf(indices, count), size);
+    }
+
+}
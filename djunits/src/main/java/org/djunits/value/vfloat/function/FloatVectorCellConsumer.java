@@ -0,0 +1,20 @@
+package org.djunits.value.vfloat.function;
+
+/**
+ * FloatVectorCellConsumer receives the index and the SI value of a cell of a vector, without boxing the value.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * <p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public interface FloatVectorCellConsumer
+{
+    /**
+     * Process one cell of a vector.
+     * @param index int; the index of the cell
+     * @param valueSI float; the SI value of the cell
+     */
+    void accept(int index, float valueSI);
+
+}
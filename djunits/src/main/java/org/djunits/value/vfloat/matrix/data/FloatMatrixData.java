@@ -1,5 +1,6 @@
 package org.djunits.value.vfloat.matrix.data;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
@@ -7,14 +8,20 @@ import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
+import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.scale.Scale;
 import org.djunits.value.ValueRuntimeException;
 import org.djunits.value.storage.AbstractStorage;
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.Summation;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatMatrixCellConsumer;
 import org.djunits.value.vfloat.matrix.base.FloatSparseValue;
 import org.djunits.value.vfloat.scalar.base.FloatScalarInterface;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
 
 /**
  * Stores the data for a FloatMatrix and carries out basic operations.
@@ -83,13 +90,20 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         {
             case DENSE:
                 float[] valuesSI = new float[rows * cols];
-                IntStream.range(0, values.length).parallel().forEach(r -> IntStream.range(0, cols)
+                ExecutionPolicy.current().forEach(values.length, (long) values.length * cols, r -> IntStream.range(0, cols)
                         .forEach(c -> valuesSI[r * cols + c] = (float) scale.toStandardUnit(values[r][c])));
                 return new FloatMatrixDataDense(valuesSI, rows, cols);
 
             case SPARSE:
                 return FloatMatrixDataSparse.instantiate(values, scale);
 
+            case CSR:
+            case CSC:
+                return FloatMatrixDataCompressed.instantiate(FloatMatrixDataSparse.instantiate(values, scale), storageType);
+
+            case OFF_HEAP:
+                return FloatMatrixDataOffHeap.instantiate(values, scale, rows, cols);
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatMatrixData.instantiate: " + storageType);
         }
@@ -126,12 +140,22 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         {
             case DENSE:
                 float[] valuesSI = new float[rows * cols];
-                values.stream().parallel().forEach(v -> valuesSI[v.getRow() * cols + v.getColumn()] = v.getValueSI());
+                for (FloatSparseValue<U, S> v : values)
+                {
+                    valuesSI[v.getRow() * cols + v.getColumn()] = v.getValueSI();
+                }
                 return new FloatMatrixDataDense(valuesSI, rows, cols);
 
             case SPARSE:
                 return new FloatMatrixDataSparse(values, rows, cols);
 
+            case CSR:
+            case CSC:
+                return FloatMatrixDataCompressed.instantiate(new FloatMatrixDataSparse(values, rows, cols), storageType);
+
+            case OFF_HEAP:
+                return FloatMatrixDataOffHeap.instantiate(values, rows, cols);
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatMatrixData.instantiate: " + storageType);
         }
@@ -165,21 +189,67 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         {
             case DENSE:
                 float[] valuesSI = new float[rows * cols];
-                IntStream.range(0, rows).parallel()
-                        .forEach(r -> IntStream.range(0, cols).forEach(c -> valuesSI[r * cols + c] = values[r][c].getSI()));
+                ExecutionPolicy.current().forEach(rows, (long) rows * cols,
+                        r -> IntStream.range(0, cols).forEach(c -> valuesSI[r * cols + c] = values[r][c].getSI()));
                 return new FloatMatrixDataDense(valuesSI, rows, cols);
 
             case SPARSE:
                 float[][] matrixSI = new float[rows][cols];
-                IntStream.range(0, values.length).parallel()
-                        .forEach(r -> IntStream.range(0, cols).forEach(c -> matrixSI[r][c] = values[r][c].getSI()));
+                ExecutionPolicy.current().forEach(values.length, (long) values.length * cols,
+                        r -> IntStream.range(0, cols).forEach(c -> matrixSI[r][c] = values[r][c].getSI()));
                 return FloatMatrixDataSparse.instantiate(matrixSI);
 
+            case CSR:
+            case CSC:
+                return FloatMatrixDataCompressed.instantiate(instantiate(values, StorageType.SPARSE), storageType);
+
+            case OFF_HEAP:
+                return FloatMatrixDataOffHeap.instantiate(values, rows, cols);
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatMatrixData.instantiate: " + storageType);
         }
     }
 
+    /**
+     * Read a FloatMatrixData that has been written with encode(...) in the binary format of ValueCodec, after the header and
+     * the unit. The values are read in bulk into the array that becomes the storage of the data.
+     * @param in ValueCodec.Input; the input to read the shape and the values from
+     * @param storageType StorageType; the storage type that has been read from the header
+     * @return FloatMatrixData; the data with the values that have been read
+     * @throws IOException on I/O error, or when the data is not valid
+     * @throws NullPointerException when in or storageType is null
+     */
+    public static FloatMatrixData decode(final ValueCodec.Input in, final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(in, "FloatMatrixData.decode: in is null");
+        Throw.whenNull(storageType, "FloatMatrixData.decode: storageType is null");
+        int rows = in.readCount();
+        int cols = in.readCount();
+        if ((long) rows * cols > Integer.MAX_VALUE)
+        {
+            throw new IOException("FloatMatrixData.decode: matrix of " + rows + " x " + cols + " cells is too large");
+        }
+        switch (storageType)
+        {
+            case DENSE:
+                return FloatMatrixDataDense.wrap(in.readFloats(rows * cols), rows, cols);
+
+            case OFF_HEAP:
+                return new FloatMatrixDataOffHeap(in.readFloats(rows * cols), rows, cols);
+
+            case SPARSE:
+                return FloatMatrixDataSparse.decode(in, rows, cols);
+
+            case CSR:
+            case CSC:
+                return FloatMatrixDataCompressed.decode(in, storageType, rows, cols);
+
+            default:
+                throw new IOException("FloatMatrixData.decode: unknown storage type " + storageType);
+        }
+    }
+
     /* ============================================================================================ */
     /* ==================================== UTILITY FUNCTIONS ===================================== */
     /* ============================================================================================ */
@@ -214,6 +284,34 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
      */
     public abstract FloatMatrixDataSparse toSparse();
 
+    /**
+     * Return the equivalent of this data that is stored outside of the Java heap. The off-heap data should be closed when it is
+     * not used anymore.
+     * @return FloatMatrixDataOffHeap; the off-heap transformation of this data
+     */
+    public FloatMatrixDataOffHeap toOffHeap()
+    {
+        return FloatMatrixDataOffHeap.instantiate(this);
+    }
+
+    /**
+     * Return the data of this matrix in compressed sparse row storage format.
+     * @return FloatMatrixDataCompressed; the compressed sparse row (CSR) transformation of this data
+     */
+    public FloatMatrixDataCompressed toCsr()
+    {
+        return FloatMatrixDataCompressed.instantiate(this, StorageType.CSR);
+    }
+
+    /**
+     * Return the data of this matrix in compressed sparse column storage format.
+     * @return FloatMatrixDataCompressed; the compressed sparse column (CSC) transformation of this data
+     */
+    public FloatMatrixDataCompressed toCsc()
+    {
+        return FloatMatrixDataCompressed.instantiate(this, StorageType.CSC);
+    }
+
     /**
      * Retrieve one value from this data.
      * @param row int; the row number to get the value for
@@ -230,14 +328,73 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
      */
     public abstract void setSI(int row, int col, float valueSI);
 
+    /**
+     * Write the shape and the values of this data in the binary format of ValueCodec. The header with the storage type and the
+     * unit should have been written before. Dense data writes its array in bulk; off-heap data is written in blocks.
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    public void encode(final ValueCodec.Output out) throws IOException
+    {
+        out.writeInt(this.rows);
+        out.writeInt(this.cols);
+        int size = this.rows * this.cols;
+        if (isDense())
+        {
+            out.writeFloats(this.matrixSI, size);
+            return;
+        }
+        float[] block = new float[Math.min(size, 4096)];
+        for (int from = 0; from < size; from += block.length)
+        {
+            int count = Math.min(size - from, block.length);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = getSI((from + i) / this.cols, (from + i) % this.cols);
+            }
+            out.writeFloats(block, count);
+        }
+    }
+
+    /**
+     * Create and return a dense copy of the SI values of one row.
+     * @param row int; the row number
+     * @return float[]; the SI values of the row
+     */
+    public float[] getRowSI(final int row)
+    {
+        float[] result = new float[this.cols];
+        for (int col = 0; col < this.cols; col++)
+        {
+            result[col] = getSI(row, col);
+        }
+        return result;
+    }
+
+    /**
+     * Create and return a dense copy of the SI values of one column.
+     * @param col int; the column number
+     * @return float[]; the SI values of the column
+     */
+    public float[] getColumnSI(final int col)
+    {
+        float[] result = new float[this.rows];
+        for (int row = 0; row < this.rows; row++)
+        {
+            result[row] = getSI(row, col);
+        }
+        return result;
+    }
+
     /**
      * Compute and return the sum of the values of all cells of this matrix.
      * @return float; the sum of the values of all cells
      */
-    public final float zSum()
+    public float zSum()
     {
         // this does not copy the data. See http://stackoverflow.com/questions/23106093/how-to-get-a-stream-from-a-float
-        return (float) IntStream.range(0, this.matrixSI.length).parallel().mapToDouble(i -> this.matrixSI[i]).sum();
+        return (float) ExecutionPolicy.current().sum(this.matrixSI.length,
+                (from, to) -> IntStream.range(from, to).mapToDouble(i -> this.matrixSI[i]).sum());
     }
 
     /**
@@ -247,6 +404,13 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
      */
     public abstract float[][] getDenseMatrixSI();
 
+    /**
+     * Call the consumer for each cell with a value other than zero, row by row. Sparse data only visits the stored cells, and
+     * the values are not boxed.
+     * @param consumer FloatMatrixCellConsumer; the consumer that receives the row, column and SI value of each non-zero cell
+     */
+    public abstract void forEachNonZero(FloatMatrixCellConsumer consumer);
+
     /**
      * Create and return a deep copy of the data in dense format. The double array is of the form d[rows][columns] so each value
      * can be found with d[row][column].
@@ -254,6 +418,27 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
      */
     public abstract double[][] getDoubleDenseMatrixSI();
 
+    /**
+     * Compute the LU decomposition (with partial pivoting) of this matrix, which can be used for the determinant, for solving
+     * linear systems, and for inversion.
+     * @return FloatLUDecomposition; the LU decomposition of this matrix
+     * @throws ValueRuntimeException when the matrix is not square
+     */
+    public FloatLUDecomposition decomposeLU() throws ValueRuntimeException
+    {
+        return new FloatLUDecomposition(this);
+    }
+
+    /**
+     * Compute the determinant of this matrix in O(n<sup>3</sup>) using an LU decomposition.
+     * @return float; the determinant of this matrix
+     * @throws ValueRuntimeException when the matrix is not square
+     */
+    public float determinantSI() throws ValueRuntimeException
+    {
+        return decomposeLU().determinant();
+    }
+
     /**
      * Check that a 2D array of float is not null, not empty and not jagged; i.e. all rows have the same length.
      * @param values float[][]; the 2D array to check
@@ -314,6 +499,347 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         }
     }
 
+    /* ============================================================================================ */
+    /* ======================================== REDUCTIONS ======================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Return the number of values that are stored: rows * cols for dense data, and the number of stored cells for sparse and
+     * compressed data. The cells that are not stored are zero.
+     * @return int; the number of stored values
+     */
+    int storedCount()
+    {
+        return this.matrixSI.length;
+    }
+
+    /**
+     * Copy a range of the stored values into a double array, in the order in which they are stored. The reductions are
+     * calculated in double precision.
+     * @param from int; the position of the first stored value to copy
+     * @param target double[]; the array to copy the values into
+     * @param offset int; the position in the target array for the first value
+     * @param count int; the number of values to copy
+     */
+    void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            target[offset + i] = this.matrixSI[from + i];
+        }
+    }
+
+    /**
+     * Return the row-major index, row * cols + col, of the cell of a stored value.
+     * @param position int; the position of the stored value
+     * @return long; the row-major index of the cell of the stored value
+     */
+    long storedIndex(final int position)
+    {
+        return position;
+    }
+
+    /**
+     * Compute and return the sum of all values with a given summation algorithm. The sum is calculated in double precision.
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float zSum(final Summation summation)
+    {
+        return (float) sum(summation);
+    }
+
+    /**
+     * Compute and return the sum of all values in double precision.
+     * @param summation Summation; the summation algorithm
+     * @return double; the sum of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    private double sum(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatMatrixData.zSum: summation is null");
+        return summation.sum(storedCount(), (from, count, block, scratch) -> copyStoredSI(from, block, 0, count));
+    }
+
+    /**
+     * Compute and return the mean of all values. The mean of an empty matrix is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return float; the mean of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float mean(final Summation summation)
+    {
+        return (float) (sum(summation) / ((double) rows() * cols()));
+    }
+
+    /**
+     * Compute and return the population variance of all values, i.e., the mean of the squared deviations from the mean. The
+     * deviations are calculated in a second pass, which is more accurate than the mean of the squares minus the square of the
+     * mean. The variance of an empty matrix is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return float; the population variance of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float variance(final Summation summation)
+    {
+        final double mean = sum(summation) / ((double) rows() * cols());
+        int stored = storedCount();
+        double sum = summation.sum(stored, (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                double deviation = block[i] - mean;
+                block[i] = deviation * deviation;
+            }
+        });
+        double size = (double) rows() * cols();
+        return (float) ((sum + (size - stored) * mean * mean) / size);
+    }
+
+    /**
+     * Compute and return the L1 norm of the matrix, the sum of the absolute values.
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the absolute values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float normL1(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatMatrixData.normL1: summation is null");
+        return (float) summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = Math.abs(block[i]);
+            }
+        });
+    }
+
+    /**
+     * Compute and return the L2 (Euclidean) norm of the matrix, the square root of the sum of the squared values. The squares
+     * are calculated in double precision, so they do not overflow or underflow.
+     * @param summation Summation; the summation algorithm
+     * @return float; the square root of the sum of the squares of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float normL2(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatMatrixData.normL2: summation is null");
+        return (float) Math.sqrt(summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = block[i] * block[i];
+            }
+        }));
+    }
+
+    /**
+     * Compute and return the L-infinity (maximum) norm of the matrix, the largest absolute value. The norm is NaN when a value
+     * is NaN.
+     * @return float; the largest absolute value of all cells, or 0.0 for an empty matrix
+     */
+    public float normLinf()
+    {
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] partial = new double[Math.max(1, chunks)];
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double max = 0.0;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    max = Math.max(max, Math.abs(block[i]));
+                }
+            }
+            partial[chunk] = max;
+        });
+        double max = 0.0;
+        for (double p : partial)
+        {
+            max = Math.max(max, p);
+        }
+        return (float) max;
+    }
+
+    /**
+     * Compute and return the dot (Frobenius inner) product of this matrix and another matrix, the sum of the products of the
+     * corresponding values. When one of the matrices is sparse or compressed, only its stored cells are visited, and the cells
+     * that are not stored count as exact zeros, even when the corresponding value of the other matrix is infinite or NaN.
+     * @param other FloatMatrixData; the other matrix
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the products of the values of the corresponding cells
+     * @throws NullPointerException when other or summation is null
+     * @throws ValueRuntimeException when the numbers of rows or columns of the matrices differ
+     */
+    public float dot(final FloatMatrixData other, final Summation summation) throws ValueRuntimeException
+    {
+        Throw.whenNull(other, "FloatMatrixData.dot: other is null");
+        Throw.whenNull(summation, "FloatMatrixData.dot: summation is null");
+        checkSizes(other);
+        final FloatMatrixData driver = other.storedCount() < storedCount() ? other : this;
+        final FloatMatrixData partner = driver == this ? other : this;
+        if (driver.storedCount() == (long) rows() * cols() && !driver.isCompressed() && !partner.isCompressed())
+        {
+            return (float) summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+            {
+                driver.copyStoredSI(from, block, 0, count);
+                partner.copyStoredSI(from, scratch, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    block[i] *= scratch[i];
+                }
+            });
+        }
+        return (float) summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+        {
+            driver.copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                long index = driver.storedIndex(from + i);
+                block[i] *= partner.getSI((int) (index / this.cols), (int) (index % this.cols));
+            }
+        });
+    }
+
+    /**
+     * Return the row and column of the smallest value. NaN values are ignored; of equal values, the one that comes first in
+     * row-major order is returned. When all values are NaN, {0, 0} is returned.
+     * @return int[]; the row and column of the smallest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public int[] argMin() throws ValueRuntimeException
+    {
+        return extremum(false);
+    }
+
+    /**
+     * Return the row and column of the largest value. NaN values are ignored; of equal values, the one that comes first in
+     * row-major order is returned. When all values are NaN, {0, 0} is returned.
+     * @return int[]; the row and column of the largest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public int[] argMax() throws ValueRuntimeException
+    {
+        return extremum(true);
+    }
+
+    /**
+     * Return the smallest value. NaN values are ignored, unless all values are NaN.
+     * @return float; the smallest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public float min() throws ValueRuntimeException
+    {
+        int[] cell = argMin();
+        return getSI(cell[0], cell[1]);
+    }
+
+    /**
+     * Return the largest value. NaN values are ignored, unless all values are NaN.
+     * @return float; the largest value
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    public float max() throws ValueRuntimeException
+    {
+        int[] cell = argMax();
+        return getSI(cell[0], cell[1]);
+    }
+
+    /**
+     * Return the row and column of the smallest or largest value. The chunks of the stored values are searched in parallel,
+     * and the results of the chunks are combined in chunk order. Equal values are compared on their row-major index, since
+     * compressed columns are not stored in row-major order. When not all cells are stored, the first zero cell in row-major
+     * order is a candidate as well.
+     * @param max boolean; true to find the largest value, false to find the smallest value
+     * @return int[]; the row and column of the smallest or largest value, or {0, 0} when all values are NaN
+     * @throws ValueRuntimeException when the matrix is empty
+     */
+    private int[] extremum(final boolean max) throws ValueRuntimeException
+    {
+        Throw.when(rows() == 0 || cols() == 0, ValueRuntimeException.class,
+                "FloatMatrixData: an empty matrix has no minimum or maximum");
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] bestValues = new double[Math.max(1, chunks)];
+        long[] bestIndices = new long[Math.max(1, chunks)];
+        Arrays.fill(bestIndices, -1L);
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double best = Double.NaN;
+            long bestIndex = -1L;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    double value = block[i];
+                    if (bestIndex < 0 ? !Double.isNaN(value)
+                            : (max ? value > best : value < best) || (value == best && storedIndex(start + i) < bestIndex))
+                    {
+                        best = value;
+                        bestIndex = storedIndex(start + i);
+                    }
+                }
+            }
+            bestValues[chunk] = best;
+            bestIndices[chunk] = bestIndex;
+        });
+        double best = Double.NaN;
+        long bestIndex = -1L;
+        for (int chunk = 0; chunk < bestIndices.length; chunk++)
+        {
+            double value = bestValues[chunk];
+            long index = bestIndices[chunk];
+            if (index >= 0 && (bestIndex < 0 || (max ? value > best : value < best) || (value == best && index < bestIndex)))
+            {
+                best = value;
+                bestIndex = index;
+            }
+        }
+        if (stored < (long) rows() * cols())
+        {
+            long zeroIndex = firstZeroIndex();
+            if (bestIndex < 0 || (max ? 0.0 > best : 0.0 < best) || (0.0 == best && zeroIndex < bestIndex))
+            {
+                bestIndex = zeroIndex;
+            }
+        }
+        return bestIndex < 0 ? new int[] {0, 0} : new int[] {(int) (bestIndex / cols()), (int) (bestIndex % cols())};
+    }
+
+    /**
+     * Return the row-major index of the first cell with the value zero. Only called when not all cells are stored, so there
+     * is such a cell; the search usually ends after a few cells.
+     * @return long; the row-major index of the first cell with the value zero
+     */
+    private long firstZeroIndex()
+    {
+        for (int row = 0; row < rows(); row++)
+        {
+            for (int col = 0; col < cols(); col++)
+            {
+                if (getSI(row, col) == 0.0)
+                {
+                    return (long) row * cols() + col;
+                }
+            }
+        }
+        return 0L;
+    }
+
     /* ============================================================================================ */
     /* ================================== CALCULATION FUNCTIONS =================================== */
     /* ============================================================================================ */
@@ -444,6 +970,42 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         }, right);
     }
 
+    /**
+     * Calculate the matrix product of this matrix (size m x n) and another matrix (size n x p). If both matrices are sparse, a
+     * sparse matrix is returned, otherwise a dense matrix is returned. Neither of the two objects is changed.
+     * @param right FloatMatrixData; the right operand of the matrix product
+     * @return FloatMatrixData; a new data object with size m x p, holding the matrix product
+     * @throws NullPointerException when right is null
+     * @throws ValueRuntimeException when the number of columns of this matrix differs from the number of rows of right, or
+     *             when the product has more than Integer.MAX_VALUE cells
+     */
+    public FloatMatrixData mmul(final FloatMatrixData right) throws ValueRuntimeException
+    {
+        Throw.whenNull(right, "FloatMatrixData.mmul: right is null");
+        Throw.when(this.cols() != right.rows(), ValueRuntimeException.class,
+                "FloatMatrixData.mmul: cols of left (%d) do not match rows of right (%d)", this.cols(), right.rows());
+        Throw.when((long) this.rows() * right.cols() > Integer.MAX_VALUE, ValueRuntimeException.class,
+                "FloatMatrixData.mmul: product of %d x %d cells is too large", this.rows(), right.cols());
+        return FloatMatrixProduct.multiply(this, right);
+    }
+
+    /**
+     * Calculate the product of this matrix (size m x n) and a column vector (length n). The result has the same storage type as
+     * this matrix. Neither of the two objects is changed.
+     * @param right FloatVectorData; the column vector to multiply with
+     * @return FloatVectorData; a new data object with length m, holding the product
+     * @throws NullPointerException when right is null
+     * @throws ValueRuntimeException when the number of columns of this matrix differs from the size of right
+     */
+    public FloatVectorData mmul(final FloatVectorData right) throws ValueRuntimeException
+    {
+        Throw.whenNull(right, "FloatMatrixData.mmul: right is null");
+        Throw.when(this.cols() != right.size(), ValueRuntimeException.class,
+                "FloatMatrixData.mmul: cols of matrix (%d) do not match size of vector (%d)", this.cols(), right.size());
+        return FloatVectorData.instantiate(FloatMatrixProduct.multiply(this, right.getDenseVectorSI()), IdentityScale.SCALE,
+                getStorageType());
+    }
+
     /* ============================================================================================ */
     /* =============================== EQUALS, HASHCODE, TOSTRING ================================= */
     /* ============================================================================================ */
@@ -511,8 +1073,23 @@ public abstract class FloatMatrixData extends AbstractStorage<FloatMatrixData> i
         {
             return compareDenseMatrixWithSparseMatrix((FloatMatrixDataDense) other, (FloatMatrixDataSparse) this);
         }
-        // Both are dense (both sparse is handled in FloatMatrixDataSparse class)
-        return Arrays.equals(this.matrixSI, other.matrixSI);
+        if (this instanceof FloatMatrixDataDense && other instanceof FloatMatrixDataDense)
+        {
+            // Both are dense (both sparse is handled in FloatMatrixDataSparse class)
+            return Arrays.equals(this.matrixSI, other.matrixSI);
+        }
+        // At least one of the two is stored off-heap or compressed; as for sparse data, 0.0 equals -0.0 (and NaN equals NaN)
+        for (int row = 0; row < this.rows; row++)
+        {
+            for (int col = 0; col < this.cols; col++)
+            {
+                float value = getSI(row, col);
+                float otherValue = other.getSI(row, col);
+                if (value != otherValue && Float.floatToIntBits(value) != Float.floatToIntBits(otherValue))
+                    return false;
+            }
+        }
+        return true;
     }
 
     /** {@inheritDoc} */
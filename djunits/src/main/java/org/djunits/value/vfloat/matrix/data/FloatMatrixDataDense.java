@@ -1,12 +1,15 @@
 package org.djunits.value.vfloat.matrix.data;
 
+import java.util.Arrays;
 import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatMatrixCellConsumer;
 
 /**
  * Stores dense data for a FloatMatrix and carries out basic operations.
@@ -42,6 +45,34 @@ public class FloatMatrixDataDense extends FloatMatrixData
         this.cols = cols;
     }
 
+    /**
+     * Create a matrix with dense data that uses the given array as its storage.
+     * @param matrixSI float[]; the data to store, row by row; the array is not copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param unused boolean; distinguishes this constructor from the copying constructor
+     */
+    private FloatMatrixDataDense(final float[] matrixSI, final int rows, final int cols, final boolean unused)
+    {
+        super(StorageType.DENSE);
+        this.matrixSI = matrixSI;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Create a matrix with dense data that takes over the given array without copying it. The caller should not use the array
+     * anymore after this call.
+     * @param matrixSI float[]; the data to store, row by row, with length rows * cols
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return FloatMatrixDataDense; the dense data object that uses the array as its storage
+     */
+    static FloatMatrixDataDense wrap(final float[] matrixSI, final int rows, final int cols)
+    {
+        return new FloatMatrixDataDense(matrixSI, rows, cols, false);
+    }
+
     /**
      * Create a matrix with dense data. The float array is of the form d[rows][columns] so each value can be found with
      * f[row][column].
@@ -71,17 +102,15 @@ public class FloatMatrixDataDense extends FloatMatrixData
     @Override
     public final int cardinality()
     {
-        // this does not copy the data. See http://stackoverflow.com/questions/23106093/how-to-get-a-stream-from-a-float
-        return (int) IntStream.range(0, this.matrixSI.length).parallel().mapToDouble(i -> this.matrixSI[i])
-                .filter(d -> d != 0.0).count();
+        return ExecutionPolicy.current().count(this.matrixSI.length, i -> this.matrixSI[i] != 0.0f);
     }
 
     /** {@inheritDoc} */
     @Override
     public final FloatMatrixDataDense assign(final FloatFunction floatFunction)
     {
-        IntStream.range(0, this.rows() * this.cols()).parallel()
-                .forEach(i -> this.matrixSI[i] = floatFunction.apply(this.matrixSI[i]));
+        ExecutionPolicy.current().forEach(this.rows() * this.cols(),
+                i -> this.matrixSI[i] = floatFunction.apply(this.matrixSI[i]));
         return this;
     }
 
@@ -92,12 +121,12 @@ public class FloatMatrixDataDense extends FloatMatrixData
         if (right.isDense())
         {
             FloatMatrixDataDense rightDense = (FloatMatrixDataDense) right;
-            IntStream.range(0, this.rows() * this.cols()).parallel()
-                    .forEach(i -> this.matrixSI[i] = floatFunction.apply(this.matrixSI[i], rightDense.matrixSI[i]));
+            ExecutionPolicy.current().forEach(this.rows() * this.cols(),
+                    i -> this.matrixSI[i] = floatFunction.apply(this.matrixSI[i], rightDense.matrixSI[i]));
         }
         else
         {
-            IntStream.range(0, this.rows() * this.cols()).parallel().forEach(
+            ExecutionPolicy.current().forEach(this.rows() * this.cols(),
                     i -> this.matrixSI[i] = floatFunction.apply(this.matrixSI[i], right.getSI(i / this.cols, i % this.cols)));
         }
         return this;
@@ -148,6 +177,13 @@ public class FloatMatrixDataDense extends FloatMatrixData
         this.matrixSI[row * this.cols + col] = valueSI;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final float[] getRowSI(final int row)
+    {
+        return Arrays.copyOfRange(this.matrixSI, row * this.cols, (row + 1) * this.cols);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final float[][] getDenseMatrixSI()
@@ -162,6 +198,22 @@ public class FloatMatrixDataDense extends FloatMatrixData
         return matrix;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final FloatMatrixCellConsumer consumer)
+    {
+        for (int row = 0, index = 0; row < this.rows; row++)
+        {
+            for (int col = 0; col < this.cols; col++, index++)
+            {
+                if (this.matrixSI[index] != 0.0)
+                {
+                    consumer.accept(row, col, this.matrixSI[index]);
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public final double[][] getDoubleDenseMatrixSI()
@@ -202,12 +254,11 @@ public class FloatMatrixDataDense extends FloatMatrixData
         float[] fm = new float[this.rows * this.cols];
         if (right.isDense())
         {
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols).forEach(
-                    c -> fm[r * this.cols + c] = this.matrixSI[r * this.cols + c] + right.matrixSI[r * this.cols + c]));
+            ExecutionPolicy.current().forEach(this.rows * this.cols, i -> fm[i] = this.matrixSI[i] + right.matrixSI[i]);
         }
         else
-        { // right is sparse
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols)
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r -> IntStream.range(0, this.cols)
                     .forEach(c -> fm[r * this.cols + c] = this.matrixSI[r * this.cols + c] + right.getSI(r, c)));
         }
         return new FloatMatrixDataDense(fm, this.rows, this.cols);
@@ -221,12 +272,11 @@ public class FloatMatrixDataDense extends FloatMatrixData
         float[] fm = new float[this.rows * this.cols];
         if (right.isDense())
         {
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols).forEach(
-                    c -> fm[r * this.cols + c] = this.matrixSI[r * this.cols + c] - right.matrixSI[r * this.cols + c]));
+            ExecutionPolicy.current().forEach(this.rows * this.cols, i -> fm[i] = this.matrixSI[i] - right.matrixSI[i]);
         }
         else
-        { // right is sparse
-            IntStream.range(0, this.rows).parallel().forEach(r -> IntStream.range(0, this.cols)
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r -> IntStream.range(0, this.cols)
                     .forEach(c -> fm[r * this.cols + c] = this.matrixSI[r * this.cols + c] - right.getSI(r, c)));
         }
         return new FloatMatrixDataDense(fm, this.rows, this.cols);
@@ -236,7 +286,7 @@ public class FloatMatrixDataDense extends FloatMatrixData
     @Override
     public FloatMatrixData times(final FloatMatrixData right) throws ValueRuntimeException
     {
-        if (right.isSparse())
+        if (right.isSparse() || right.isCompressed())
         {
             // result shall be sparse
             return right.times(this);
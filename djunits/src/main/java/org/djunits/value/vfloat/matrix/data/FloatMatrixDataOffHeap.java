@@ -0,0 +1,512 @@
+package org.djunits.value.vfloat.matrix.data;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+
+import org.djunits.Throw;
+import org.djunits.unit.Unit;
+import org.djunits.unit.scale.Scale;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.MappedHeader;
+import org.djunits.value.storage.OffHeapFloatArray;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vfloat.function.FloatFunction;
+import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatMatrixCellConsumer;
+import org.djunits.value.vfloat.matrix.base.FloatSparseValue;
+import org.djunits.value.vfloat.scalar.base.FloatScalarInterface;
+
+/**
+ * Stores the data for a FloatMatrix outside of the Java heap and carries out basic operations. The values are held row by row
+ * in direct buffers, so they are not traced or moved by the garbage collector, and they do not count against the maximum heap
+ * size. The off-heap memory is held until close() is called; the data cannot be used after that. Results of operations on
+ * off-heap data are stored off-heap as well, except where the result is sparse.
+ * <p>
+ * The data can also be mapped onto the values in a file with map(...), without reading or copying the values. The
+ * operating system then loads the pages of the file when they are first accessed. A writable mapping writes changes back
+ * to the file; a read-only mapping cannot be changed.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+public class FloatMatrixDataOffHeap extends FloatMatrixData implements AutoCloseable
+{
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** the off-heap values; null when the data has been closed. */
+    private OffHeapFloatArray values;
+
+    /**
+     * Create a matrix with off-heap data.
+     * @param matrixSI float[]; the data to store, row by row; the values are copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @throws ValueRuntimeException in case <code>rows * cols != matrixSI.length</code>
+     */
+    public FloatMatrixDataOffHeap(final float[] matrixSI, final int rows, final int cols) throws ValueRuntimeException
+    {
+        this(rows, cols);
+        Throw.when((long) rows * cols != matrixSI.length, ValueRuntimeException.class,
+                "FloatMatrixDataOffHeap constructor, rows * cols != matrixSI.length");
+        this.values.put(0, matrixSI, 0, matrixSI.length);
+    }
+
+    /**
+     * Create a matrix with off-heap data, of which all values are zero.
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @throws ValueRuntimeException when rows or cols is negative, or when the matrix has more than Integer.MAX_VALUE cells
+     */
+    FloatMatrixDataOffHeap(final int rows, final int cols) throws ValueRuntimeException
+    {
+        this(checkedValues(rows, cols), rows, cols);
+    }
+
+    /**
+     * Create a matrix with off-heap data that uses the given off-heap array as its storage.
+     * @param values OffHeapFloatArray; the values, row by row; the array is not copied
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     */
+    private FloatMatrixDataOffHeap(final OffHeapFloatArray values, final int rows, final int cols)
+    {
+        super(StorageType.OFF_HEAP);
+        this.values = values;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Allocate the off-heap values for a matrix of the given size.
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return OffHeapFloatArray; the off-heap values, all zero
+     * @throws ValueRuntimeException when rows or cols is negative, or when the matrix has more than Integer.MAX_VALUE cells
+     */
+    private static OffHeapFloatArray checkedValues(final int rows, final int cols) throws ValueRuntimeException
+    {
+        Throw.when(rows < 0 || cols < 0, ValueRuntimeException.class, "FloatMatrixDataOffHeap: rows and cols must be >= 0");
+        Throw.when((long) rows * cols > Integer.MAX_VALUE, ValueRuntimeException.class,
+                "FloatMatrixDataOffHeap: matrix of %d x %d has too many cells", rows, cols);
+        return new OffHeapFloatArray(rows * cols);
+    }
+
+    /**
+     * Instantiate off-heap data from a rectangular array, without an intermediate copy on the heap.
+     * @param values float[][]; the values to store, which should be rectangular
+     * @param scale Scale; the scale of the unit to use for conversion to SI
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return FloatMatrixDataOffHeap; the off-heap data with the SI values
+     */
+    static FloatMatrixDataOffHeap instantiate(final float[][] values, final Scale scale, final int rows, final int cols)
+    {
+        FloatMatrixDataOffHeap result = new FloatMatrixDataOffHeap(rows, cols);
+        OffHeapFloatArray v = result.values;
+        ExecutionPolicy.current().forEach(rows, (long) rows * cols, r ->
+        {
+            for (int c = 0; c < cols; c++)
+            {
+                v.set(r * cols + c, (float) scale.toStandardUnit(values[r][c]));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Instantiate off-heap data from a rectangular array of scalars, without an intermediate copy on the heap.
+     * @param values S[][]; the values to store, which should be rectangular
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return FloatMatrixDataOffHeap; the off-heap data with the SI values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     */
+    static <U extends Unit<U>, S extends FloatScalarInterface<U, S>> FloatMatrixDataOffHeap instantiate(final S[][] values,
+            final int rows, final int cols)
+    {
+        FloatMatrixDataOffHeap result = new FloatMatrixDataOffHeap(rows, cols);
+        OffHeapFloatArray v = result.values;
+        ExecutionPolicy.current().forEach(rows, (long) rows * cols, r ->
+        {
+            for (int c = 0; c < cols; c++)
+            {
+                v.set(r * cols + c, values[r][c].getSI());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Instantiate off-heap data from a collection of (row, column, value) entries; the other cells are zero.
+     * @param values Collection&lt;FloatSparseValue&lt;U, S&gt;&gt;; the non-zero values to store
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return FloatMatrixDataOffHeap; the off-heap data with the SI values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     */
+    static <U extends Unit<U>, S extends FloatScalarInterface<U, S>> FloatMatrixDataOffHeap instantiate(
+            final Collection<FloatSparseValue<U, S>> values, final int rows, final int cols)
+    {
+        FloatMatrixDataOffHeap result = new FloatMatrixDataOffHeap(rows, cols);
+        for (FloatSparseValue<U, S> value : values)
+        {
+            result.values.set(value.getRow() * cols + value.getColumn(), value.getValueSI());
+        }
+        return result;
+    }
+
+    /**
+     * Instantiate an off-heap copy of a matrix data object.
+     * @param data FloatMatrixData; the data to copy
+     * @return FloatMatrixDataOffHeap; an off-heap data object with the same values
+     */
+    static FloatMatrixDataOffHeap instantiate(final FloatMatrixData data)
+    {
+        if (data.isOffHeap())
+        {
+            return ((FloatMatrixDataOffHeap) data).copy();
+        }
+        if (data.isDense())
+        {
+            return new FloatMatrixDataOffHeap(data.matrixSI, data.rows, data.cols);
+        }
+        // the off-heap array starts with all values zero
+        FloatMatrixDataOffHeap result = new FloatMatrixDataOffHeap(data.rows, data.cols);
+        data.forEachNonZero((row, col, valueSI) -> result.values.set(row * data.cols + col, valueSI));
+        return result;
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed.
+     * @return OffHeapFloatArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    private OffHeapFloatArray values()
+    {
+        Throw.when(this.values == null, ValueRuntimeException.class, "FloatMatrixDataOffHeap: data has been closed");
+        return this.values;
+    }
+
+    /**
+     * Return the off-heap values, after checking that the data has not been closed and that the values can be changed.
+     * @return OffHeapFloatArray; the off-heap values
+     * @throws ValueRuntimeException when the data has been closed, or when it is mapped read-only onto a file
+     */
+    private OffHeapFloatArray writableValues()
+    {
+        OffHeapFloatArray v = values();
+        Throw.when(v.isReadOnly(), ValueRuntimeException.class, "FloatMatrixDataOffHeap: data is mapped read-only");
+        return v;
+    }
+
+    /**
+     * Map matrix data onto the values in a file, which follow the header of the file. The values are not read or copied.
+     * Closing the channel afterwards does not affect the mapping.
+     * @param channel FileChannel; the channel of the file, which should be writable for a writable mapping
+     * @param header MappedHeader; the header of the file
+     * @param writable boolean; whether changes to the data are written to the file; when false, the data cannot be changed
+     * @return FloatMatrixDataOffHeap; the data that is mapped onto the file
+     * @throws IOException on I/O error
+     * @throws ValueRuntimeException when the file does not hold a matrix of float values
+     */
+    public static FloatMatrixDataOffHeap map(final FileChannel channel, final MappedHeader header, final boolean writable)
+            throws IOException
+    {
+        Throw.when(header.getValueBytes() != Float.BYTES || header.getDimensions() != 2, ValueRuntimeException.class,
+                "FloatMatrixDataOffHeap: file does not hold a matrix of float values");
+        OffHeapFloatArray values =
+                OffHeapFloatArray.map(channel, header.getDataOffset(), header.getSize(), writable, header.getByteOrder());
+        return new FloatMatrixDataOffHeap(values, header.getRows(), header.getCols());
+    }
+
+    /**
+     * Release the off-heap memory of this data. The data cannot be used after it has been closed; closing the data more than
+     * once has no effect.
+     */
+    @Override
+    public final void close()
+    {
+        if (this.values != null)
+        {
+            this.values.close();
+            this.values = null;
+        }
+    }
+
+    /**
+     * Return whether the off-heap memory of this data has been released.
+     * @return boolean; whether the data has been closed
+     */
+    public final boolean isClosed()
+    {
+        return this.values == null;
+    }
+
+    /**
+     * Return whether the data is mapped onto a file.
+     * @return boolean; whether the data is mapped onto a file; false after the data has been closed
+     */
+    public final boolean isMapped()
+    {
+        return this.values != null && this.values.isMapped();
+    }
+
+    /**
+     * Return whether the data cannot be changed, which is the case for a read-only mapping of a file.
+     * @return boolean; whether the data cannot be changed
+     */
+    public final boolean isReadOnly()
+    {
+        return this.values != null && this.values.isReadOnly();
+    }
+
+    /**
+     * Write the changes to data that is mapped writable onto a file to the storage device. The method has no effect when
+     * the data is not mapped onto a file.
+     * @throws ValueRuntimeException when the data has been closed
+     */
+    public final void force()
+    {
+        values().force();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int cardinality()
+    {
+        OffHeapFloatArray v = values();
+        return ExecutionPolicy.current().count(v.length(), i -> v.get(i) != 0.0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap assign(final FloatFunction floatFunction)
+    {
+        OffHeapFloatArray v = writableValues();
+        ExecutionPolicy.current().forEach(v.length(), i -> v.set(i, floatFunction.apply(v.get(i))));
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap assign(final FloatFunction2 floatFunction, final FloatMatrixData right)
+    {
+        OffHeapFloatArray v = writableValues();
+        if (right.isDense())
+        {
+            float[] rightSI = right.matrixSI;
+            ExecutionPolicy.current().forEach(v.length(), i -> v.set(i, floatFunction.apply(v.get(i), rightSI[i])));
+        }
+        else
+        {
+            ExecutionPolicy.current().forEach(this.rows, (long) this.rows * this.cols, r ->
+            {
+                for (int c = 0, i = r * this.cols; c < this.cols; c++, i++)
+                {
+                    v.set(i, floatFunction.apply(v.get(i), right.getSI(r, c)));
+                }
+            });
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataDense toDense()
+    {
+        OffHeapFloatArray v = values();
+        float[] matrixSI = new float[v.length()];
+        v.get(0, matrixSI, 0, matrixSI.length);
+        return FloatMatrixDataDense.wrap(matrixSI, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataSparse toSparse()
+    {
+        OffHeapFloatArray v = values();
+        int length = cardinality();
+        float[] sparseSI = new float[length];
+        long[] indices = new long[length];
+        int count = 0;
+        for (int index = 0; index < v.length(); index++)
+        {
+            float value = v.get(index);
+            if (value != 0.0)
+            {
+                sparseSI[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return new FloatMatrixDataSparse(sparseSI, indices, this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap toOffHeap()
+    {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final int storedCount()
+    {
+        return this.rows * this.cols;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        OffHeapFloatArray v = values();
+        for (int i = 0; i < count; i++)
+        {
+            target[offset + i] = v.get(from + i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final float getSI(final int row, final int col)
+    {
+        return values().get(row * this.cols + col);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void setSI(final int row, final int col, final float valueSI)
+    {
+        writableValues().set(row * this.cols + col, valueSI);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final float zSum()
+    {
+        OffHeapFloatArray v = values();
+        return (float) ExecutionPolicy.current().sum(v.length(), (from, to) ->
+        {
+            double sum = 0.0;
+            for (int i = from; i < to; i++)
+            {
+                sum += v.get(i);
+            }
+            return sum;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final float[][] getDenseMatrixSI()
+    {
+        OffHeapFloatArray v = values();
+        float[][] matrix = new float[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++)
+        {
+            v.get(r * this.cols, matrix[r], 0, this.cols);
+        }
+        return matrix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double[][] getDoubleDenseMatrixSI()
+    {
+        OffHeapFloatArray v = values();
+        double[][] matrix = new double[this.rows][this.cols];
+        for (int r = 0, index = 0; r < this.rows; r++)
+        {
+            for (int c = 0; c < this.cols; c++)
+            {
+                matrix[r][c] = v.get(index++);
+            }
+        }
+        return matrix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final FloatMatrixCellConsumer consumer)
+    {
+        OffHeapFloatArray v = values();
+        for (int row = 0, index = 0; row < this.rows; row++)
+        {
+            for (int col = 0; col < this.cols; col++, index++)
+            {
+                float value = v.get(index);
+                if (value != 0.0)
+                {
+                    consumer.accept(row, col, value);
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap copy()
+    {
+        return new FloatMatrixDataOffHeap(values().copy(), this.rows, this.cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap plus(final FloatMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        FloatMatrixDataOffHeap result = copy();
+        result.incrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixDataOffHeap minus(final FloatMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        FloatMatrixDataOffHeap result = copy();
+        result.decrementBy(right);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixData times(final FloatMatrixData right) throws ValueRuntimeException
+    {
+        if (right.isSparse() || right.isCompressed())
+        {
+            // result shall be sparse
+            return right.times(this);
+        }
+        checkSizes(right);
+        return copy().multiplyBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final FloatMatrixData divide(final FloatMatrixData right) throws ValueRuntimeException
+    {
+        checkSizes(right);
+        return copy().divideBy(right);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return "FloatMatrixDataOffHeap [storageType=" + getStorageType() + ", rows=" + this.rows + ", cols=" + this.cols
+                + ", mapped=" + isMapped() + ", closed=" + isClosed() + "]";
+    }
+
+}
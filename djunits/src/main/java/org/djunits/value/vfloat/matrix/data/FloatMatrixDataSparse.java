@@ -1,17 +1,20 @@
 package org.djunits.value.vfloat.matrix.data;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
 import org.djunits.unit.scale.Scale;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.SparseIndexSort;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatMatrixCellConsumer;
 import org.djunits.value.vfloat.matrix.base.FloatSparseValue;
 import org.djunits.value.vfloat.scalar.base.FloatScalarInterface;
 
@@ -64,7 +67,7 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         super(StorageType.SPARSE);
         Throw.whenNull(dataSI, "matrixSI is null");
 
-        int length = (int) dataSI.stream().parallel().filter(d -> d.getValueSI() != 0.0).count();
+        int length = (int) dataSI.stream().filter(d -> d.getValueSI() != 0.0).count();
         this.rows = rows;
         this.cols = cols;
         this.matrixSI = new float[length];
@@ -81,6 +84,45 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         }
     }
 
+    /**
+     * Read sparse data that has been written with encode(...), after the shape of the matrix.
+     * @param in ValueCodec.Input; the input to read the indices and the values from
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return FloatMatrixDataSparse; the sparse data with the indices and values that have been read
+     * @throws IOException on I/O error, or when the indices are not ascending or out of range
+     */
+    static FloatMatrixDataSparse decode(final ValueCodec.Input in, final int rows, final int cols) throws IOException
+    {
+        int stored = in.readCount();
+        if (stored > (long) rows * cols)
+        {
+            throw new IOException(
+                    "FloatMatrixDataSparse.decode: " + stored + " stored cells for a " + rows + "x" + cols + " matrix");
+        }
+        long[] indices = in.readLongs(stored);
+        for (int i = 0; i < stored; i++)
+        {
+            if (indices[i] < (i == 0 ? 0 : indices[i - 1] + 1) || indices[i] >= (long) rows * cols)
+            {
+                throw new IOException("FloatMatrixDataSparse.decode: index " + indices[i]
+                        + " is not ascending or out of range");
+            }
+        }
+        return new FloatMatrixDataSparse(in.readFloats(stored), indices, rows, cols);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void encode(final ValueCodec.Output out) throws IOException
+    {
+        out.writeInt(this.rows);
+        out.writeInt(this.cols);
+        out.writeInt(this.indices.length);
+        out.writeLongs(this.indices, this.indices.length);
+        out.writeFloats(this.matrixSI, this.indices.length);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final int cardinality()
@@ -174,52 +216,41 @@ public class FloatMatrixDataSparse extends FloatMatrixData
             return this;
         }
         // The code below relies on the fact that floatFunction.apply(0f) yields 0f
-        int currentSize = rows() * cols();
-        if (currentSize > 16)
+        final float[] values = this.matrixSI;
+        final long[] oldIndices = this.indices;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = Math.max(1, policy.chunks(values.length, values.length));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per chunk; second pass: fill the exactly sized result arrays
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            currentSize = 16;
-        }
-        long[] newIndices = new long[currentSize];
-        float[] newValues = new float[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        while (ownIndex < this.indices.length)
-        {
-            long index = this.indices[ownIndex];
-            float value = floatFunction.apply(this.matrixSI[ownIndex]);
-            ownIndex++;
-            if (value != 0f)
+            int count = 0;
+            for (int k = from; k < to; k++)
             {
-                if (nonZeroValues >= currentSize)
+                if (floatFunction.apply(values[k]) != 0f)
                 {
-                    // increase size of arrays
-                    currentSize *= 2;
-                    if (currentSize > rows() * cols())
-                    {
-                        currentSize = rows() * cols();
-                    }
-                    long[] newNewIndices = new long[currentSize];
-                    System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                    newIndices = newNewIndices;
-                    float[] newNewValues = new float[currentSize];
-                    System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                    newValues = newNewValues;
+                    count++;
                 }
-                newIndices[nonZeroValues] = index;
-                newValues[nonZeroValues] = value;
-                nonZeroValues++;
             }
-        }
-        if (nonZeroValues < currentSize)
+            offsets[chunk + 1] = count;
+        });
+        accumulate(offsets);
+        long[] newIndices = new long[offsets[chunks]];
+        float[] newValues = new float[offsets[chunks]];
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            // reduce size of arrays
-            long[] newNewIndices = new long[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            float[] newNewValues = new float[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
-        }
+            int position = offsets[chunk];
+            for (int k = from; k < to; k++)
+            {
+                float value = floatFunction.apply(values[k]);
+                if (value != 0f)
+                {
+                    newIndices[position] = oldIndices[k];
+                    newValues[position] = value;
+                    position++;
+                }
+            }
+        });
         this.indices = newIndices;
         this.matrixSI = newValues;
         return this;
@@ -229,145 +260,148 @@ public class FloatMatrixDataSparse extends FloatMatrixData
     @Override
     public final FloatMatrixDataSparse assign(final FloatFunction2 floatFunction, final FloatMatrixData right)
     {
-        checkSizes(right);
-        int currentSize = rows() * cols();
-        if (currentSize > 16)
+        if (floatFunction.apply(0f, 0f) != 0f)
         {
-            currentSize = 16;
+            // It is most unlikely that the result AND the left and right operands are efficiently stored in Sparse format
+            FloatMatrixDataSparse result = toDense().assign(floatFunction, right).toSparse();
+            this.indices = result.indices;
+            this.matrixSI = result.matrixSI;
+            return this;
         }
-        long[] newIndices = new long[currentSize];
-        float[] newValues = new float[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        int otherIndex = 0;
+        // The code below relies on the fact that floatFunction.apply(0f, 0f) yields 0f
+        checkSizes(right);
+        // compressed data is merged in the same format as this data
+        final FloatMatrixData rightData = right.isCompressed() ? right.toSparse() : right;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        long work =
+                (long) this.indices.length + (rightData.isSparse() ? rightData.matrixSI.length : (long) this.rows * this.cols);
+        int chunks = Math.max(1, policy.chunks(this.rows, work));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per range of rows; second pass: fill the exactly sized result arrays
+        policy.execute(this.rows, chunks,
+                (chunk, from, to) -> offsets[chunk + 1] = mergeRange(floatFunction, rightData, from, to, null, null, 0));
+        accumulate(offsets);
+        long[] newIndices = new long[offsets[chunks]];
+        float[] newValues = new float[offsets[chunks]];
+        policy.execute(this.rows, chunks,
+                (chunk, from, to) -> mergeRange(floatFunction, rightData, from, to, newIndices, newValues, offsets[chunk]));
+        this.indices = newIndices;
+        this.matrixSI = newValues;
+        return this;
+    }
+
+    /**
+     * Apply a binary operation that yields zero for two zero operands to the cells of a range of rows. The non-zero
+     * results are stored from a given position in the result arrays, or only counted when the result arrays are null.
+     * @param floatFunction FloatFunction2; the binary operation to apply
+     * @param right FloatMatrixData; the right operand, sparse, dense or off-heap
+     * @param from int; the first row of the range (inclusive)
+     * @param to int; the last row of the range (exclusive)
+     * @param newIndices long[]; the result indices, or null to only count the non-zero results
+     * @param newValues float[]; the result values, or null to only count the non-zero results
+     * @param start int; the position in the result arrays of the first non-zero result of the range
+     * @return int; the number of non-zero results in the range
+     */
+    private int mergeRange(final FloatFunction2 floatFunction, final FloatMatrixData right, final int from, final int to,
+            final long[] newIndices, final float[] newValues, final int start)
+    {
+        long first = (long) from * this.cols;
+        long last = (long) to * this.cols;
+        int position = start;
+        int own = lowerBound(this.indices, first);
+        int ownEnd = lowerBound(this.indices, last);
         if (right.isSparse())
-        { // both are sparse, result must be sparse
+        {
             FloatMatrixDataSparse other = (FloatMatrixDataSparse) right;
-            while (ownIndex < this.indices.length || otherIndex < other.indices.length)
+            int otherIndex = lowerBound(other.indices, first);
+            int otherEnd = lowerBound(other.indices, last);
+            while (own < ownEnd || otherIndex < otherEnd)
             {
-                float value;
+                long ownCell = own < ownEnd ? this.indices[own] : Long.MAX_VALUE;
+                long otherCell = otherIndex < otherEnd ? other.indices[otherIndex] : Long.MAX_VALUE;
                 long index;
-                if (ownIndex < this.indices.length && otherIndex < other.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == other.indices[otherIndex])
-                    {
-                        value = floatFunction.apply(this.matrixSI[ownIndex], other.matrixSI[otherIndex]);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                        otherIndex++;
-                    }
-                    else if (this.indices[ownIndex] < other.indices[otherIndex])
-                    {
-                        // we have a non-zero; right has a zero
-                        value = floatFunction.apply(this.matrixSI[ownIndex], 0.0f);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; right has a non-zero
-                        value = floatFunction.apply(0.0f, other.matrixSI[otherIndex]);
-                        index = other.indices[otherIndex];
-                        otherIndex++;
-                    }
+                float value;
+                if (ownCell == otherCell)
+                {
+                    value = floatFunction.apply(this.matrixSI[own++], other.matrixSI[otherIndex++]);
+                    index = ownCell;
                 }
-                else if (ownIndex < this.indices.length)
-                { // right has run out of values; we have not
-                    value = floatFunction.apply(this.matrixSI[ownIndex], 0f);
-                    index = this.indices[ownIndex];
-                    ownIndex++;
+                else if (ownCell < otherCell)
+                {
+                    // we have a non-zero; right has a zero
+                    value = floatFunction.apply(this.matrixSI[own++], 0f);
+                    index = ownCell;
                 }
                 else
-                { // we have run out of values; right has not
-                    value = floatFunction.apply(0.0f, other.matrixSI[otherIndex]);
-                    index = other.indices[otherIndex];
-                    otherIndex++;
+                {
+                    // we have a zero; right has a non-zero
+                    value = floatFunction.apply(0f, other.matrixSI[otherIndex++]);
+                    index = otherCell;
                 }
                 if (value != 0f)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > rows() * cols())
-                        {
-                            currentSize = rows() * cols();
-                        }
-                        long[] newNewIndices = new long[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        float[] newNewValues = new float[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
         else
-        { // we are sparse; other is dense, result must be sparse
-            FloatMatrixDataDense other = (FloatMatrixDataDense) right;
-            while (otherIndex < right.matrixSI.length)
+        {
+            // right is dense or off-heap; visit all cells of the range
+            float[] rightSI = right.isDense() ? right.matrixSI : null;
+            for (int index = (int) first; index < last; index++)
             {
+                float rightValue = rightSI != null ? rightSI[index] : right.getSI(index / this.cols, index % this.cols);
                 float value;
-                int index = otherIndex;
-                if (ownIndex < this.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == otherIndex)
-                    {
-                        value = floatFunction.apply(this.matrixSI[ownIndex], other.matrixSI[otherIndex]);
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; other has a value
-                        value = floatFunction.apply(0.0f, other.matrixSI[otherIndex]);
-                    }
-                    otherIndex++;
+                if (own < ownEnd && this.indices[own] == index)
+                {
+                    value = floatFunction.apply(this.matrixSI[own++], rightValue);
                 }
                 else
-                { // we have run out of values; right has not
-                    value = floatFunction.apply(0.0f, other.matrixSI[otherIndex]);
-                    otherIndex++;
+                {
+                    value = floatFunction.apply(0f, rightValue);
                 }
                 if (value != 0f)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > rows() * cols())
-                        {
-                            currentSize = rows() * cols();
-                        }
-                        long[] newNewIndices = new long[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        float[] newNewValues = new float[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
-        if (nonZeroValues < currentSize)
+        return position - start;
+    }
+
+    /**
+     * Turn an array with counts at positions 1 to n into an array of offsets, where position i holds the sum of the counts
+     * before it.
+     * @param offsets int[]; the counts at positions 1 to n, which are replaced by the offsets
+     */
+    private static void accumulate(final int[] offsets)
+    {
+        for (int i = 1; i < offsets.length; i++)
         {
-            // reduce size of arrays
-            long[] newNewIndices = new long[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            float[] newNewValues = new float[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
+            offsets[i] += offsets[i - 1];
         }
-        this.indices = newIndices;
-        this.matrixSI = newValues;
-        return this;
+    }
+
+    /**
+     * Return the position of the first stored index that is at least a given index.
+     * @param indices long[]; the stored indices, in increasing order
+     * @param index long; the index to look for
+     * @return int; the position of the first stored index that is at least the given index
+     */
+    private static int lowerBound(final long[] indices, final long index)
+    {
+        int position = Arrays.binarySearch(indices, index);
+        return position >= 0 ? position : -position - 1;
     }
 
     /** {@inheritDoc} */
@@ -396,6 +430,13 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    final long storedIndex(final int position)
+    {
+        return this.indices[position];
+    }
+
     /** {@inheritDoc} */
     @Override
     public final float getSI(final int row, final int col)
@@ -431,6 +472,19 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         this.matrixSI = matrixSINew;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final float[] getRowSI(final int row)
+    {
+        float[] result = new float[this.cols];
+        long first = (long) row * this.cols;
+        for (int i = lowerBound(this.indices, first), end = lowerBound(this.indices, first + this.cols); i < end; i++)
+        {
+            result[(int) (this.indices[i] - first)] = this.matrixSI[i];
+        }
+        return result;
+    }
+
     /** {@inheritDoc} */
     @Override
     public final float[][] getDenseMatrixSI()
@@ -438,6 +492,19 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         return toDense().getDenseMatrixSI();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final FloatMatrixCellConsumer consumer)
+    {
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            if (this.matrixSI[k] != 0.0)
+            {
+                consumer.accept((int) (this.indices[k] / this.cols), (int) (this.indices[k] % this.cols), this.matrixSI[k]);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public final double[][] getDoubleDenseMatrixSI()
@@ -445,6 +512,53 @@ public class FloatMatrixDataSparse extends FloatMatrixData
         return toDense().getDoubleDenseMatrixSI();
     }
 
+    /**
+     * {@inheritDoc} For sparse data, the structure of the stored cells is inspected first: a matrix with an empty row or column
+     * has a zero determinant, and the determinant of a triangular matrix is the product of its diagonal. Only when neither
+     * applies, the LU decomposition is computed.
+     */
+    @Override
+    public float determinantSI() throws ValueRuntimeException
+    {
+        Throw.when(this.rows != this.cols, ValueRuntimeException.class,
+                "FloatMatrixDataSparse.determinantSI: matrix is not square, rows=%d, cols=%d", this.rows, this.cols);
+        int n = this.rows;
+        if (this.indices.length < n)
+        {
+            return 0.0f; // at least one row is empty
+        }
+        boolean[] rowUsed = new boolean[n];
+        boolean[] colUsed = new boolean[n];
+        boolean upper = true;
+        boolean lower = true;
+        for (int i = 0; i < this.indices.length; i++)
+        {
+            int row = (int) (this.indices[i] / n);
+            int col = (int) (this.indices[i] % n);
+            rowUsed[row] = true;
+            colUsed[col] = true;
+            upper &= col >= row;
+            lower &= col <= row;
+        }
+        for (int i = 0; i < n; i++)
+        {
+            if (!rowUsed[i] || !colUsed[i])
+            {
+                return 0.0f;
+            }
+        }
+        if (upper || lower)
+        {
+            float det = 1.0f;
+            for (int i = 0; i < n; i++)
+            {
+                det *= getSI(i, i);
+            }
+            return det;
+        }
+        return super.determinantSI();
+    }
+
     /** {@inheritDoc} */
     @Override
     public final FloatMatrixDataSparse copy()
@@ -508,24 +622,34 @@ public class FloatMatrixDataSparse extends FloatMatrixData
      */
     private static int nonZero(final float[][] valuesSI)
     {
-        // determine number of non-null cells
-        AtomicInteger atomicLength = new AtomicInteger(0);
-        IntStream.range(0, valuesSI.length).parallel().forEach(r -> IntStream.range(0, valuesSI[0].length).forEach(c ->
+        // determine number of non-null cells per row, and add them in row order
+        int cols = valuesSI.length == 0 ? 0 : valuesSI[0].length;
+        int[] rowCounts = new int[valuesSI.length];
+        ExecutionPolicy.current().forEach(valuesSI.length, (long) valuesSI.length * cols, r ->
         {
-            if (valuesSI[r][c] != 0.0f)
+            int count = 0;
+            for (int c = 0; c < cols; c++)
             {
-                atomicLength.incrementAndGet();
+                if (valuesSI[r][c] != 0.0f)
+                {
+                    count++;
+                }
             }
-        }));
-
-        return atomicLength.get();
+            rowCounts[r] = count;
+        });
+        int length = 0;
+        for (int count : rowCounts)
+        {
+            length += count;
+        }
+        return length;
     }
 
     /** {@inheritDoc} */
     @Override
     public FloatMatrixData plus(final FloatMatrixData right) throws ValueRuntimeException
     {
-        if (right.isDense())
+        if (!right.isSparse() && !right.isCompressed())
         {
             return right.copy().incrementBy(this);
         }
@@ -554,7 +678,7 @@ public class FloatMatrixDataSparse extends FloatMatrixData
     @Override
     public FloatMatrixData divide(final FloatMatrixData right) throws ValueRuntimeException
     {
-        if (right.isSparse())
+        if (right.isSparse() || right.isCompressed())
         {
             // Sparse divided by sparse makes a dense
             return this.toDense().divide(right);
@@ -586,14 +710,180 @@ public class FloatMatrixDataSparse extends FloatMatrixData
             return false;
         if (this.cols != other.cols)
             return false;
-        if (other instanceof FloatMatrixDataDense)
+        if (!(other instanceof FloatMatrixDataSparse))
             return super.equals(other);
-        if (getClass() != obj.getClass())
-            return false;
         // Both are sparse
         if (!Arrays.equals(this.indices, ((FloatMatrixDataSparse) other).indices))
             return false;
         return Arrays.equals(this.matrixSI, ((FloatMatrixDataSparse) other).matrixSI);
     }
 
+    /**
+     * Open this data for writing: return a builder that starts with the values of this data object. This data object is not
+     * changed by the builder; call build() on the builder to obtain the changed data.
+     * @return Builder; a builder that starts with the values of this data object
+     */
+    public final Builder toBuilder()
+    {
+        Builder builder = new Builder(this.rows, this.cols, Math.max(16, this.indices.length));
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            builder.append(this.indices[k], this.matrixSI[k]);
+        }
+        return builder;
+    }
+
+    /**
+     * Builder for sparse matrix data that is filled cell by cell. Setting a value only appends it to an unsorted log that grows
+     * by doubling, so it takes amortized constant time, where setSI on sparse data copies the stored arrays for every cell that
+     * is added. The log is sorted and compacted once, when build() is called. When a cell is set more than once, the last value
+     * counts, and setting a cell to zero removes it.
+     */
+    public static final class Builder
+    {
+        /** the number of rows of the matrix. */
+        private final int rows;
+
+        /** the number of columns of the matrix. */
+        private final int cols;
+
+        /** the indices (row * cols + col) of the log, in the order in which they were written. */
+        private long[] logIndices;
+
+        /** the SI values of the log, in the order in which they were written. */
+        private float[] logValues;
+
+        /** the number of entries in the log. */
+        private int count = 0;
+
+        /**
+         * Create a builder for sparse matrix data of a given size, with all cells zero.
+         * @param rows int; the number of rows of the matrix
+         * @param cols int; the number of columns of the matrix
+         * @throws ValueRuntimeException when rows or cols is negative
+         */
+        public Builder(final int rows, final int cols) throws ValueRuntimeException
+        {
+            this(rows, cols, 16);
+        }
+
+        /**
+         * Create a builder for sparse matrix data of a given size, with a log of a given initial capacity.
+         * @param rows int; the number of rows of the matrix
+         * @param cols int; the number of columns of the matrix
+         * @param capacity int; the initial capacity of the log
+         * @throws ValueRuntimeException when rows or cols is negative
+         */
+        private Builder(final int rows, final int cols, final int capacity) throws ValueRuntimeException
+        {
+            Throw.when(rows < 0 || cols < 0, ValueRuntimeException.class, "size of matrix cannot be negative: %d x %d", rows,
+                    cols);
+            this.rows = rows;
+            this.cols = cols;
+            this.logIndices = new long[capacity];
+            this.logValues = new float[capacity];
+        }
+
+        /**
+         * Set the SI value of a cell.
+         * @param row int; the row of the cell
+         * @param col int; the column of the cell
+         * @param valueSI float; the SI value of the cell; zero removes the cell
+         * @return Builder; this builder for method chaining
+         * @throws ValueRuntimeException when the row or column is out of range
+         */
+        public Builder set(final int row, final int col, final float valueSI) throws ValueRuntimeException
+        {
+            Throw.when(row < 0 || row >= this.rows, ValueRuntimeException.class, "row %d out of range [0, %d)", row, this.rows);
+            Throw.when(col < 0 || col >= this.cols, ValueRuntimeException.class, "column %d out of range [0, %d)", col,
+                    this.cols);
+            append((long) row * this.cols + col, valueSI);
+            return this;
+        }
+
+        /**
+         * Return the number of rows of the matrix.
+         * @return int; the number of rows of the matrix
+         */
+        public int rows()
+        {
+            return this.rows;
+        }
+
+        /**
+         * Return the number of columns of the matrix.
+         * @return int; the number of columns of the matrix
+         */
+        public int cols()
+        {
+            return this.cols;
+        }
+
+        /**
+         * Sort and compact the log, and return the result as sparse matrix data with exactly sized arrays. The builder can
+         * still be used afterwards; later changes do not affect the returned data.
+         * @return FloatMatrixDataSparse; the sparse data with the values that have been set
+         */
+        public FloatMatrixDataSparse build()
+        {
+            int[] order = SparseIndexSort.lastWriteOrder(this.logIndices, this.count);
+            int nonZero = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    nonZero++;
+                }
+            }
+            long[] indices = new long[nonZero];
+            float[] values = new float[nonZero];
+            int k = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    indices[k] = this.logIndices[position];
+                    values[k] = this.logValues[position];
+                    k++;
+                }
+            }
+
+            // the log only has to hold the result from now on
+            for (k = 0; k < nonZero; k++)
+            {
+                this.logIndices[k] = indices[k];
+                this.logValues[k] = values[k];
+            }
+            this.count = nonZero;
+            return new FloatMatrixDataSparse(values, indices, this.rows, this.cols);
+        }
+
+        /**
+         * Append an entry to the log, doubling the capacity of the log when it is full.
+         * @param index long; the index of the cell
+         * @param valueSI float; the SI value of the cell
+         */
+        private void append(final long index, final float valueSI)
+        {
+            if (this.count == this.logIndices.length)
+            {
+                int capacity = Math.max(16, this.logIndices.length * 2);
+                this.logIndices = Arrays.copyOf(this.logIndices, capacity);
+                this.logValues = Arrays.copyOf(this.logValues, capacity);
+            }
+            this.logIndices[this.count] = index;
+            this.logValues[this.count] = valueSI;
+            this.count++;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "FloatMatrixDataSparse.Builder [rows=" + this.rows + ", cols=" + this.cols + ", entries=" + this.count
+                    + "]";
+        }
+
+    }
+
 }
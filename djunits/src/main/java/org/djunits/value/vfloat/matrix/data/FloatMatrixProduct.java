@@ -0,0 +1,392 @@
+package org.djunits.value.vfloat.matrix.data;
+
+import java.util.Arrays;
+
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.ExecutionPolicy.ChunkKernel;
+import org.djunits.value.storage.StorageType;
+
+/**
+ * Kernels for the matrix product of FloatMatrixData objects, and for the product of a FloatMatrixData object and a vector.
+ * The dense kernel works on square tiles of the operands to keep them in the cache; the kernels with a sparse operand only
+ * visit the stored cells, using the row pointers and column indices of the compressed sparse row (CSR) format, to which
+ * sparse and compressed sparse column operands are converted. Large products are split into bands of rows that are
+ * calculated as determined by the current ExecutionPolicy. Each result cell is always summed in the same order, so the outcome
+ * does not depend on the number of threads.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+final class FloatMatrixProduct
+{
+    /** the tile size for the dense kernel; three 64x64 tiles of floats fit in a typical L2 cache. */
+    static final int BLOCK = 64;
+
+    /** the number of multiply-add operations above which the product is calculated in parallel. */
+    static final long PARALLEL_THRESHOLD = 1L << 18;
+
+    /** Do not instantiate. */
+    private FloatMatrixProduct()
+    {
+        // Utility class.
+    }
+
+    /**
+     * Calculate the matrix product of two matrices. Dense times dense, dense times sparse and sparse times dense result in a
+     * dense matrix; sparse times sparse results in a sparse matrix with the storage type of the left operand. Off-heap
+     * operands count as dense, and compressed operands (CSR or CSC) as sparse.
+     * @param left FloatMatrixData; the left operand with size m x n
+     * @param right FloatMatrixData; the right operand with size n x p
+     * @return FloatMatrixData; the product with size m x p
+     */
+    static FloatMatrixData multiply(final FloatMatrixData left, final FloatMatrixData right)
+    {
+        boolean leftSparse = left.isSparse() || left.isCompressed();
+        boolean rightSparse = right.isSparse() || right.isCompressed();
+        if (leftSparse && rightSparse)
+        {
+            FloatMatrixDataCompressed product = sparseSparse(left.toCsr(), right.toCsr());
+            return left.isSparse() ? product.toSparse() : left.getStorageType() == StorageType.CSC ? product.toCsc() : product;
+        }
+        final int m = left.rows();
+        final int p = right.cols();
+        final float[] c = new float[m * p];
+        if (leftSparse)
+        {
+            sparseDense(left.toCsr(), right.toDense(), c);
+        }
+        else if (rightSparse)
+        {
+            denseSparse(left.toDense(), right.toCsr(), c);
+        }
+        else
+        {
+            denseDense(left.toDense(), right.toDense(), c);
+        }
+        return new FloatMatrixDataDense(c, m, p);
+    }
+
+    /**
+     * Calculate the product of a matrix and a column vector.
+     * @param left FloatMatrixData; the matrix with size m x n
+     * @param x float[]; the vector with length n
+     * @return float[]; the product with length m
+     */
+    static float[] multiply(final FloatMatrixData left, final float[] x)
+    {
+        final int m = left.rows();
+        final int n = left.cols();
+        final float[] y = new float[m];
+        if (left.isSparse() || left.isCompressed())
+        {
+            FloatMatrixDataCompressed csr = left.toCsr();
+            final int[] columns = csr.getMinorIndices();
+            final float[] values = csr.matrixSI;
+            final int[] rowPointers = csr.getPointers();
+            forEachBand(m, columns.length, (band, rowFrom, rowTo) ->
+            {
+                for (int i = rowFrom; i < rowTo; i++)
+                {
+                    float sum = 0.0f;
+                    for (int e = rowPointers[i]; e < rowPointers[i + 1]; e++)
+                    {
+                        sum += values[e] * x[columns[e]];
+                    }
+                    y[i] = sum;
+                }
+            });
+        }
+        else
+        {
+            final float[] a = left.toDense().matrixSI;
+            forEachBand(m, (long) m * n, (band, rowFrom, rowTo) ->
+            {
+                for (int i = rowFrom; i < rowTo; i++)
+                {
+                    float sum = 0.0f;
+                    int rowStart = i * n;
+                    for (int k = 0; k < n; k++)
+                    {
+                        sum += a[rowStart + k] * x[k];
+                    }
+                    y[i] = sum;
+                }
+            });
+        }
+        return y;
+    }
+
+    /**
+     * Dense times dense, using tiles of BLOCK x BLOCK cells.
+     * @param left FloatMatrixDataDense; the left operand with size m x n
+     * @param right FloatMatrixDataDense; the right operand with size n x p
+     * @param c float[]; the result array with size m * p, initialized with zeros
+     */
+    private static void denseDense(final FloatMatrixDataDense left, final FloatMatrixDataDense right, final float[] c)
+    {
+        final float[] a = left.matrixSI;
+        final float[] b = right.matrixSI;
+        final int n = left.cols();
+        final int p = right.cols();
+        // 0 * Inf and 0 * NaN are NaN, so zeros of the left operand can only be skipped when the right operand is finite
+        final boolean skipZeros = !hasNonFinite(b);
+        forEachBand(left.rows(), (long) left.rows() * n * p, (band, rowFrom, rowTo) ->
+        {
+            for (int i0 = rowFrom; i0 < rowTo; i0 += BLOCK)
+            {
+                int iMax = Math.min(i0 + BLOCK, rowTo);
+                for (int k0 = 0; k0 < n; k0 += BLOCK)
+                {
+                    int kMax = Math.min(k0 + BLOCK, n);
+                    for (int j0 = 0; j0 < p; j0 += BLOCK)
+                    {
+                        int jMax = Math.min(j0 + BLOCK, p);
+                        for (int i = i0; i < iMax; i++)
+                        {
+                            int rowA = i * n;
+                            int rowC = i * p;
+                            for (int k = k0; k < kMax; k++)
+                            {
+                                float aik = a[rowA + k];
+                                if (skipZeros && aik == 0.0f)
+                                {
+                                    continue;
+                                }
+                                int rowB = k * p;
+                                for (int j = j0; j < jMax; j++)
+                                {
+                                    c[rowC + j] += aik * b[rowB + j];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Sparse times dense: every stored cell (i, k) of the left operand adds a multiple of row k of the right operand to row i
+     * of the result.
+     * @param left FloatMatrixDataCompressed; the left operand in CSR format with size m x n
+     * @param right FloatMatrixDataDense; the right operand with size n x p
+     * @param c float[]; the result array with size m * p, initialized with zeros
+     */
+    private static void sparseDense(final FloatMatrixDataCompressed left, final FloatMatrixDataDense right, final float[] c)
+    {
+        final int[] columns = left.getMinorIndices();
+        final float[] values = left.matrixSI;
+        final int[] rowPointers = left.getPointers();
+        final float[] b = right.matrixSI;
+        final int p = right.cols();
+        forEachBand(left.rows(), (long) columns.length * p, (band, rowFrom, rowTo) ->
+        {
+            for (int i = rowFrom; i < rowTo; i++)
+            {
+                int rowC = i * p;
+                for (int e = rowPointers[i]; e < rowPointers[i + 1]; e++)
+                {
+                    float aik = values[e];
+                    int rowB = columns[e] * p;
+                    for (int j = 0; j < p; j++)
+                    {
+                        c[rowC + j] += aik * b[rowB + j];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Dense times sparse: every non-zero cell (i, k) of the left operand adds a multiple of the stored cells of row k of the
+     * right operand to row i of the result.
+     * @param left FloatMatrixDataDense; the left operand with size m x n
+     * @param right FloatMatrixDataCompressed; the right operand in CSR format with size n x p
+     * @param c float[]; the result array with size m * p, initialized with zeros
+     */
+    private static void denseSparse(final FloatMatrixDataDense left, final FloatMatrixDataCompressed right, final float[] c)
+    {
+        final float[] a = left.matrixSI;
+        final int[] columns = right.getMinorIndices();
+        final float[] values = right.matrixSI;
+        final int[] rowPointers = right.getPointers();
+        final int n = left.cols();
+        final int p = right.cols();
+        // 0 * Inf and 0 * NaN are NaN, so zeros of the left operand can only be skipped when the right operand is finite
+        final boolean skipZeros = !hasNonFinite(values);
+        forEachBand(left.rows(), (long) left.rows() * (n + columns.length), (band, rowFrom, rowTo) ->
+        {
+            for (int i = rowFrom; i < rowTo; i++)
+            {
+                int rowA = i * n;
+                int rowC = i * p;
+                for (int k = 0; k < n; k++)
+                {
+                    float aik = a[rowA + k];
+                    if (skipZeros && aik == 0.0f)
+                    {
+                        continue;
+                    }
+                    for (int e = rowPointers[k]; e < rowPointers[k + 1]; e++)
+                    {
+                        c[rowC + columns[e]] += aik * values[e];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Sparse times sparse (Gustavson's algorithm): each row of the result is accumulated in a dense work row, after which the
+     * touched columns are sorted and the non-zero cells are appended to the result. Every band of rows builds its own arrays,
+     * which are concatenated at the end.
+     * @param left FloatMatrixDataCompressed; the left operand in CSR format with size m x n
+     * @param right FloatMatrixDataCompressed; the right operand in CSR format with size n x p
+     * @return FloatMatrixDataCompressed; the product in CSR format with size m x p
+     */
+    private static FloatMatrixDataCompressed sparseSparse(final FloatMatrixDataCompressed left,
+            final FloatMatrixDataCompressed right)
+    {
+        final int[] aColumns = left.getMinorIndices();
+        final float[] aValues = left.matrixSI;
+        final int[] aRowPointers = left.getPointers();
+        final int[] bColumns = right.getMinorIndices();
+        final float[] bValues = right.matrixSI;
+        final int[] bRowPointers = right.getPointers();
+        final int m = left.rows();
+        final int p = right.cols();
+        long work = right.rows() == 0 ? 0 : (long) aColumns.length * (bColumns.length / right.rows() + 1);
+        int bands = bandCount(m, work);
+        final int[] pointers = new int[m + 1];
+        final int[] bandEnds = new int[bands];
+        final int[][] bandColumns = new int[bands][];
+        final float[][] bandValues = new float[bands][];
+        ExecutionPolicy.current().execute(m, bands, (band, rowFrom, rowTo) ->
+        {
+            float[] accumulator = new float[p];
+            boolean[] touched = new boolean[p];
+            int[] columns = new int[p];
+            int[] resultColumns = new int[16];
+            float[] resultValues = new float[16];
+            int count = 0;
+            for (int i = rowFrom; i < rowTo; i++)
+            {
+                int nColumns = 0;
+                for (int e = aRowPointers[i]; e < aRowPointers[i + 1]; e++)
+                {
+                    int k = aColumns[e];
+                    float aik = aValues[e];
+                    for (int f = bRowPointers[k]; f < bRowPointers[k + 1]; f++)
+                    {
+                        int j = bColumns[f];
+                        if (!touched[j])
+                        {
+                            touched[j] = true;
+                            columns[nColumns++] = j;
+                        }
+                        accumulator[j] += aik * bValues[f];
+                    }
+                }
+                Arrays.sort(columns, 0, nColumns);
+                if (count + nColumns > resultColumns.length)
+                {
+                    int newLength = Math.max(2 * resultColumns.length, count + nColumns);
+                    resultColumns = Arrays.copyOf(resultColumns, newLength);
+                    resultValues = Arrays.copyOf(resultValues, newLength);
+                }
+                for (int c = 0; c < nColumns; c++)
+                {
+                    int j = columns[c];
+                    if (accumulator[j] != 0.0f)
+                    {
+                        resultColumns[count] = j;
+                        resultValues[count] = accumulator[j];
+                        count++;
+                    }
+                    accumulator[j] = 0.0f;
+                    touched[j] = false;
+                }
+                // the number of cells of the rows in this band so far; made absolute after all bands are done
+                pointers[i + 1] = count;
+            }
+            bandEnds[band] = rowTo;
+            bandColumns[band] = Arrays.copyOf(resultColumns, count);
+            bandValues[band] = Arrays.copyOf(resultValues, count);
+        });
+        int total = 0;
+        for (int band = 0; band < bands; band++)
+        {
+            total += bandColumns[band].length;
+        }
+        int[] columns = new int[total];
+        float[] values = new float[total];
+        int offset = 0;
+        int row = 0;
+        for (int band = 0; band < bands; band++)
+        {
+            System.arraycopy(bandColumns[band], 0, columns, offset, bandColumns[band].length);
+            System.arraycopy(bandValues[band], 0, values, offset, bandValues[band].length);
+            // the rows of a band follow the rows of the previous band, so the pointers are shifted by the offset
+            for (; row < bandEnds[band]; row++)
+            {
+                pointers[row + 1] += offset;
+            }
+            offset += bandColumns[band].length;
+        }
+        return new FloatMatrixDataCompressed(StorageType.CSR, values, pointers, columns, m, p);
+    }
+
+    /**
+     * Return whether an array contains an infinite or NaN value.
+     * @param a float[]; the array to check
+     * @return boolean; true if the array contains at least one infinite or NaN value
+     */
+    static boolean hasNonFinite(final float[] a)
+    {
+        for (int i = 0; i < a.length; i++)
+        {
+            // (x - x) is 0 for finite values, and NaN for infinite and NaN values
+            if (a[i] - a[i] != 0.0f)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* ============================================================================================ */
+    /* ================================== PARALLEL EXECUTION ====================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Determine the number of bands of rows in which a calculation is split. Products with less work than PARALLEL_THRESHOLD
+     * are always calculated on the calling thread; for larger products the current ExecutionPolicy decides.
+     * @param rows int; the number of rows
+     * @param work long; an estimate of the number of multiply-add operations
+     * @return int; the number of bands, at least 1
+     */
+    static int bandCount(final int rows, final long work)
+    {
+        if (work < PARALLEL_THRESHOLD || rows < 2)
+        {
+            return 1;
+        }
+        return ExecutionPolicy.current().chunks(rows, work);
+    }
+
+    /**
+     * Execute a kernel for all bands of rows; in parallel according to the current ExecutionPolicy if the amount of work is
+     * large enough.
+     * @param rows int; the number of rows
+     * @param work long; an estimate of the number of multiply-add operations
+     * @param kernel ChunkKernel; the kernel to execute for each band
+     */
+    static void forEachBand(final int rows, final long work, final ChunkKernel kernel)
+    {
+        ExecutionPolicy.current().execute(rows, bandCount(rows, work), kernel);
+    }
+
+}
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AbsoluteTemperatureUnit;
 import org.djunits.unit.TemperatureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarAbs;
 
 /**
@@ -175,20 +173,13 @@ public class FloatAbsoluteTemperature
         Throw.whenNull(text, "Error parsing FloatAbsoluteTemperature: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatAbsoluteTemperature: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAbsoluteTemperature result = ScalarParser.parseFloat(text, 0, text.length(), AbsoluteTemperatureUnit.BASE,
+                FloatAbsoluteTemperature::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AbsoluteTemperatureUnit unit = AbsoluteTemperatureUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAbsoluteTemperature(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAbsoluteTemperature from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAbsoluteTemperature from " + text);
+        return result;
     }
 
     /**
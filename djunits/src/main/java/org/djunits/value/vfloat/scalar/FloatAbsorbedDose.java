@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AbsorbedDoseUnit;
 import org.djunits.unit.DimensionlessUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -184,20 +182,13 @@ public class FloatAbsorbedDose extends AbstractFloatScalarRel<AbsorbedDoseUnit,
     {
         Throw.whenNull(text, "Error parsing FloatAbsorbedDose: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatAbsorbedDose: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAbsorbedDose result = ScalarParser.parseFloat(text, 0, text.length(), AbsorbedDoseUnit.BASE,
+                FloatAbsorbedDose::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AbsorbedDoseUnit unit = AbsorbedDoseUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAbsorbedDose(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAbsorbedDose from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAbsorbedDose from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ForceUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -188,20 +186,13 @@ public class FloatAcceleration extends AbstractFloatScalarRel<AccelerationUnit,
     {
         Throw.whenNull(text, "Error parsing FloatAcceleration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatAcceleration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAcceleration result = ScalarParser.parseFloat(text, 0, text.length(), AccelerationUnit.BASE,
+                FloatAcceleration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AccelerationUnit unit = AccelerationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAcceleration(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAcceleration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAcceleration from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AmountOfSubstanceUnit;
 import org.djunits.unit.CatalyticActivityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.DurationUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -192,20 +190,13 @@ public class FloatAmountOfSubstance extends AbstractFloatScalarRel<AmountOfSubst
         Throw.whenNull(text, "Error parsing FloatAmountOfSubstance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatAmountOfSubstance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAmountOfSubstance result = ScalarParser.parseFloat(text, 0, text.length(), AmountOfSubstanceUnit.BASE,
+                FloatAmountOfSubstance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AmountOfSubstanceUnit unit = AmountOfSubstanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAmountOfSubstance(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAmountOfSubstance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAmountOfSubstance from " + text);
+        return result;
     }
 
     /**
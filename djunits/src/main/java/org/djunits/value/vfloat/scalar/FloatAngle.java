@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.AngularVelocityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.DirectionUnit;
 import org.djunits.unit.DurationUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRelWithAbs;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -193,20 +191,12 @@ public class FloatAngle extends AbstractFloatScalarRelWithAbs<DirectionUnit, Flo
     {
         Throw.whenNull(text, "Error parsing FloatAngle: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatAngle: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAngle result = ScalarParser.parseFloat(text, 0, text.length(), AngleUnit.BASE, FloatAngle::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AngleUnit unit = AngleUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAngle(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAngle from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAngle from " + text);
+        return result;
     }
 
     /**
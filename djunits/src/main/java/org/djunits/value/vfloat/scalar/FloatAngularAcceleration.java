@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AngularAccelerationUnit;
 import org.djunits.unit.AngularVelocityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -192,20 +190,13 @@ public class FloatAngularAcceleration extends AbstractFloatScalarRel<AngularAcce
         Throw.whenNull(text, "Error parsing FloatAngularAcceleration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatAngularAcceleration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatAngularAcceleration result = ScalarParser.parseFloat(text, 0, text.length(), AngularAccelerationUnit.BASE,
+                FloatAngularAcceleration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AngularAccelerationUnit unit = AngularAccelerationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatAngularAcceleration(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatAngularAcceleration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatAngularAcceleration from " + text);
+        return result;
     }
 
     /**
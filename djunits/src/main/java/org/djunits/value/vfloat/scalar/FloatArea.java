@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.LengthUnit;
 import org.djunits.unit.LinearDensityUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -188,20 +186,12 @@ public class FloatArea extends AbstractFloatScalarRel<AreaUnit, FloatArea>
     {
         Throw.whenNull(text, "Error parsing FloatArea: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatArea: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatArea result = ScalarParser.parseFloat(text, 0, text.length(), AreaUnit.BASE, FloatArea::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            AreaUnit unit = AreaUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatArea(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatArea from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatArea from " + text);
+        return result;
     }
 
     /**
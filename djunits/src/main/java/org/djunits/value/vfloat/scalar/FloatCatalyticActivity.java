@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.AmountOfSubstanceUnit;
 import org.djunits.unit.CatalyticActivityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -192,20 +190,13 @@ public class FloatCatalyticActivity extends AbstractFloatScalarRel<CatalyticActi
         Throw.whenNull(text, "Error parsing FloatCatalyticActivity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatCatalyticActivity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatCatalyticActivity result = ScalarParser.parseFloat(text, 0, text.length(), CatalyticActivityUnit.BASE,
+                FloatCatalyticActivity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            CatalyticActivityUnit unit = CatalyticActivityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatCatalyticActivity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatCatalyticActivity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatCatalyticActivity from " + text);
+        return result;
     }
 
     /**
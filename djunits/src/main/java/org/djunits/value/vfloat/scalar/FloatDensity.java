@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DensityUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FlowMassUnit;
 import org.djunits.unit.MassUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -184,20 +182,12 @@ public class FloatDensity extends AbstractFloatScalarRel<DensityUnit, FloatDensi
     {
         Throw.whenNull(text, "Error parsing FloatDensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatDensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatDensity result = ScalarParser.parseFloat(text, 0, text.length(), DensityUnit.BASE, FloatDensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DensityUnit unit = DensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatDensity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatDensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatDensity from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -44,7 +42,7 @@ import org.djunits.unit.TemperatureUnit;
 import org.djunits.unit.TorqueUnit;
 import org.djunits.unit.VolumeUnit;
 import org.djunits.value.function.DimensionlessFunctions;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 
 /**
@@ -223,20 +221,13 @@ public class FloatDimensionless extends AbstractFloatScalarRel<DimensionlessUnit
     {
         Throw.whenNull(text, "Error parsing FloatDimensionless: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatDimensionless: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatDimensionless result = ScalarParser.parseFloat(text, 0, text.length(), DimensionlessUnit.BASE,
+                FloatDimensionless::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DimensionlessUnit unit = DimensionlessUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatDimensionless(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatDimensionless from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatDimensionless from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AngleUnit;
 import org.djunits.unit.DirectionUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarAbs;
 
 /**
@@ -170,20 +168,12 @@ public class FloatDirection extends AbstractFloatScalarAbs<DirectionUnit, FloatD
     {
         Throw.whenNull(text, "Error parsing FloatDirection: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatDirection: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatDirection result = ScalarParser.parseFloat(text, 0, text.length(), DirectionUnit.BASE, FloatDirection::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DirectionUnit unit = DirectionUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatDirection(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatDirection from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatDirection from " + text);
+        return result;
     }
 
     /**
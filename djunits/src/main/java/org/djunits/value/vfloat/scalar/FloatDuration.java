@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -19,7 +17,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.SpeedUnit;
 import org.djunits.unit.TimeUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRelWithAbs;
 
 /**
@@ -201,20 +199,12 @@ public class FloatDuration extends AbstractFloatScalarRelWithAbs<TimeUnit, Float
     {
         Throw.whenNull(text, "Error parsing FloatDuration: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatDuration: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatDuration result = ScalarParser.parseFloat(text, 0, text.length(), DurationUnit.BASE, FloatDuration::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            DurationUnit unit = DurationUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatDuration(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatDuration from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatDuration from " + text);
+        return result;
     }
 
     /**
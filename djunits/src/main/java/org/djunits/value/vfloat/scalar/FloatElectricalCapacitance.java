@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.DurationUnit;
 import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalChargeUnit;
 import org.djunits.unit.ElectricalConductanceUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -194,20 +192,13 @@ public class FloatElectricalCapacitance extends AbstractFloatScalarRel<Electrica
         Throw.whenNull(text, "Error parsing FloatElectricalCapacitance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatElectricalCapacitance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatElectricalCapacitance result = ScalarParser.parseFloat(text, 0, text.length(), ElectricalCapacitanceUnit.BASE,
+                FloatElectricalCapacitance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalCapacitanceUnit unit = ElectricalCapacitanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatElectricalCapacitance(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatElectricalCapacitance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatElectricalCapacitance from " + text);
+        return result;
     }
 
     /**
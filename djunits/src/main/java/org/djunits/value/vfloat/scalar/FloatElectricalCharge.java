@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalChargeUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -194,20 +192,13 @@ public class FloatElectricalCharge extends AbstractFloatScalarRel<ElectricalChar
         Throw.whenNull(text, "Error parsing FloatElectricalCharge: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatElectricalCharge: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatElectricalCharge result = ScalarParser.parseFloat(text, 0, text.length(), ElectricalChargeUnit.BASE,
+                FloatElectricalCharge::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalChargeUnit unit = ElectricalChargeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatElectricalCharge(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatElectricalCharge from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatElectricalCharge from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.ElectricalCapacitanceUnit;
 import org.djunits.unit.ElectricalConductanceUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 
 /**
@@ -192,20 +190,13 @@ public class FloatElectricalConductance extends AbstractFloatScalarRel<Electrica
         Throw.whenNull(text, "Error parsing FloatElectricalConductance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatElectricalConductance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatElectricalConductance result = ScalarParser.parseFloat(text, 0, text.length(), ElectricalConductanceUnit.BASE,
+                FloatElectricalConductance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalConductanceUnit unit = ElectricalConductanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatElectricalConductance(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatElectricalConductance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatElectricalConductance from " + text);
+        return result;
     }
 
     /**
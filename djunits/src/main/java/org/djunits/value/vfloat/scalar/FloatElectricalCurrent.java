@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.ElectricalConductanceUnit;
 import org.djunits.unit.ElectricalCurrentUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.PowerUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -194,20 +192,13 @@ public class FloatElectricalCurrent extends AbstractFloatScalarRel<ElectricalCur
         Throw.whenNull(text, "Error parsing FloatElectricalCurrent: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatElectricalCurrent: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatElectricalCurrent result = ScalarParser.parseFloat(text, 0, text.length(), ElectricalCurrentUnit.BASE,
+                FloatElectricalCurrent::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalCurrentUnit unit = ElectricalCurrentUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatElectricalCurrent(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatElectricalCurrent from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatElectricalCurrent from " + text);
+        return result;
     }
 
     /**
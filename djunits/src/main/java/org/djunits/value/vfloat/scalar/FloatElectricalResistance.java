@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.ElectricalInductanceUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.ElectricalResistanceUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 
 /**
@@ -191,20 +189,13 @@ public class FloatElectricalResistance extends AbstractFloatScalarRel<Electrical
         Throw.whenNull(text, "Error parsing FloatElectricalResistance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatElectricalResistance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatElectricalResistance result = ScalarParser.parseFloat(text, 0, text.length(), ElectricalResistanceUnit.BASE,
+                FloatElectricalResistance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            ElectricalResistanceUnit unit = ElectricalResistanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatElectricalResistance(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatElectricalResistance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatElectricalResistance from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.EquivalentDoseUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -188,20 +186,13 @@ public class FloatEquivalentDose extends AbstractFloatScalarRel<EquivalentDoseUn
         Throw.whenNull(text, "Error parsing FloatEquivalentDose: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatEquivalentDose: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatEquivalentDose result = ScalarParser.parseFloat(text, 0, text.length(), EquivalentDoseUnit.BASE,
+                FloatEquivalentDose::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            EquivalentDoseUnit unit = EquivalentDoseUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatEquivalentDose(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatEquivalentDose from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatEquivalentDose from " + text);
+        return result;
     }
 
     /**
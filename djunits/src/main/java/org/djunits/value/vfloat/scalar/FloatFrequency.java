@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -12,7 +10,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 
 /**
@@ -186,20 +184,12 @@ public class FloatFrequency extends AbstractFloatScalarRel<FrequencyUnit, FloatF
     {
         Throw.whenNull(text, "Error parsing FloatFrequency: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatFrequency: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatFrequency result = ScalarParser.parseFloat(text, 0, text.length(), FrequencyUnit.BASE, FloatFrequency::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            FrequencyUnit unit = FrequencyUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatFrequency(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatFrequency from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatFrequency from " + text);
+        return result;
     }
 
     /**
@@ -1,14 +1,12 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.IlluminanceUnit;
 import org.djunits.unit.LuminousFluxUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -183,20 +181,12 @@ public class FloatIlluminance extends AbstractFloatScalarRel<IlluminanceUnit, Fl
     {
         Throw.whenNull(text, "Error parsing FloatIlluminance: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatIlluminance: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatIlluminance result = ScalarParser.parseFloat(text, 0, text.length(), IlluminanceUnit.BASE, FloatIlluminance::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            IlluminanceUnit unit = IlluminanceUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatIlluminance(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatIlluminance from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatIlluminance from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -15,7 +13,7 @@ import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PositionUnit;
 import org.djunits.unit.SpeedUnit;
 import org.djunits.unit.VolumeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRelWithAbs;
 
 /**
@@ -197,20 +195,12 @@ public class FloatLength extends AbstractFloatScalarRelWithAbs<PositionUnit, Flo
     {
         Throw.whenNull(text, "Error parsing FloatLength: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatLength: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatLength result = ScalarParser.parseFloat(text, 0, text.length(), LengthUnit.BASE, FloatLength::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LengthUnit unit = LengthUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatLength(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatLength from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatLength from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -10,7 +8,7 @@ import org.djunits.unit.ForceUnit;
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.LengthUnit;
 import org.djunits.unit.LinearDensityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 
 /**
@@ -188,20 +186,13 @@ public class FloatLinearDensity extends AbstractFloatScalarRel<LinearDensityUnit
     {
         Throw.whenNull(text, "Error parsing FloatLinearDensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatLinearDensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatLinearDensity result = ScalarParser.parseFloat(text, 0, text.length(), LinearDensityUnit.BASE,
+                FloatLinearDensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LinearDensityUnit unit = LinearDensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatLinearDensity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatLinearDensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatLinearDensity from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -11,7 +9,7 @@ import org.djunits.unit.IlluminanceUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.LuminousIntensityUnit;
 import org.djunits.unit.SolidAngleUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -188,20 +186,13 @@ public class FloatLuminousFlux extends AbstractFloatScalarRel<LuminousFluxUnit,
     {
         Throw.whenNull(text, "Error parsing FloatLuminousFlux: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatLuminousFlux: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatLuminousFlux result = ScalarParser.parseFloat(text, 0, text.length(), LuminousFluxUnit.BASE,
+                FloatLuminousFlux::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LuminousFluxUnit unit = LuminousFluxUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatLuminousFlux(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatLuminousFlux from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatLuminousFlux from " + text);
+        return result;
     }
 
     /**
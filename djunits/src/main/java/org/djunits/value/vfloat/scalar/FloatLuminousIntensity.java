@@ -1,14 +1,12 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.LuminousFluxUnit;
 import org.djunits.unit.LuminousIntensityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -191,20 +189,13 @@ public class FloatLuminousIntensity extends AbstractFloatScalarRel<LuminousInten
         Throw.whenNull(text, "Error parsing FloatLuminousIntensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatLuminousIntensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatLuminousIntensity result = ScalarParser.parseFloat(text, 0, text.length(), LuminousIntensityUnit.BASE,
+                FloatLuminousIntensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            LuminousIntensityUnit unit = LuminousIntensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatLuminousIntensity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatLuminousIntensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatLuminousIntensity from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.ElectricalInductanceUnit;
 import org.djunits.unit.ElectricalPotentialUnit;
 import org.djunits.unit.MagneticFluxDensityUnit;
 import org.djunits.unit.MagneticFluxUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -190,20 +188,13 @@ public class FloatMagneticFlux extends AbstractFloatScalarRel<MagneticFluxUnit,
     {
         Throw.whenNull(text, "Error parsing FloatMagneticFlux: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatMagneticFlux: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatMagneticFlux result = ScalarParser.parseFloat(text, 0, text.length(), MagneticFluxUnit.BASE,
+                FloatMagneticFlux::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MagneticFluxUnit unit = MagneticFluxUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatMagneticFlux(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatMagneticFlux from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatMagneticFlux from " + text);
+        return result;
     }
 
     /**
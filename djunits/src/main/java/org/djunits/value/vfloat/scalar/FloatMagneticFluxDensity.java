@@ -1,14 +1,12 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.MagneticFluxDensityUnit;
 import org.djunits.unit.MagneticFluxUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -191,20 +189,13 @@ public class FloatMagneticFluxDensity extends AbstractFloatScalarRel<MagneticFlu
         Throw.whenNull(text, "Error parsing FloatMagneticFluxDensity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class,
                 "Error parsing FloatMagneticFluxDensity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatMagneticFluxDensity result = ScalarParser.parseFloat(text, 0, text.length(), MagneticFluxDensityUnit.BASE,
+                FloatMagneticFluxDensity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MagneticFluxDensityUnit unit = MagneticFluxDensityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatMagneticFluxDensity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatMagneticFluxDensity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatMagneticFluxDensity from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -14,7 +12,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.VolumeUnit;
 import org.djunits.unit.si.SIPrefixes;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -189,20 +187,12 @@ public class FloatMass extends AbstractFloatScalarRel<MassUnit, FloatMass>
     {
         Throw.whenNull(text, "Error parsing FloatMass: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatMass: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatMass result = ScalarParser.parseFloat(text, 0, text.length(), MassUnit.BASE, FloatMass::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MassUnit unit = MassUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatMass(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatMass from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatMass from " + text);
+        return result;
     }
 
     /**
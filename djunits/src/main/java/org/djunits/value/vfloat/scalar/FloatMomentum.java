@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -13,7 +11,7 @@ import org.djunits.unit.MassUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -188,20 +186,12 @@ public class FloatMomentum extends AbstractFloatScalarRel<MomentumUnit, FloatMom
     {
         Throw.whenNull(text, "Error parsing FloatMomentum: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatMomentum: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatMomentum result = ScalarParser.parseFloat(text, 0, text.length(), MomentumUnit.BASE, FloatMomentum::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            MomentumUnit unit = MomentumUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatMomentum(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatMomentum from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatMomentum from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.LengthUnit;
 import org.djunits.unit.PositionUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarAbs;
 
 /**
@@ -170,20 +168,12 @@ public class FloatPosition extends AbstractFloatScalarAbs<PositionUnit, FloatPos
     {
         Throw.whenNull(text, "Error parsing FloatPosition: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatPosition: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatPosition result = ScalarParser.parseFloat(text, 0, text.length(), PositionUnit.BASE, FloatPosition::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PositionUnit unit = PositionUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatPosition(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatPosition from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatPosition from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -15,7 +13,7 @@ import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.MomentumUnit;
 import org.djunits.unit.PowerUnit;
 import org.djunits.unit.SpeedUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -190,20 +188,12 @@ public class FloatPower extends AbstractFloatScalarRel<PowerUnit, FloatPower>
     {
         Throw.whenNull(text, "Error parsing FloatPower: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatPower: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatPower result = ScalarParser.parseFloat(text, 0, text.length(), PowerUnit.BASE, FloatPower::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PowerUnit unit = PowerUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatPower(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatPower from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatPower from " + text);
+        return result;
     }
 
     /**
@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -9,7 +7,7 @@ import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.EnergyUnit;
 import org.djunits.unit.ForceUnit;
 import org.djunits.unit.PressureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -184,20 +182,12 @@ public class FloatPressure extends AbstractFloatScalarRel<PressureUnit, FloatPre
     {
         Throw.whenNull(text, "Error parsing FloatPressure: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatPressure: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatPressure result = ScalarParser.parseFloat(text, 0, text.length(), PressureUnit.BASE, FloatPressure::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            PressureUnit unit = PressureUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatPressure(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatPressure from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatPressure from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.RadioActivityUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -186,20 +184,13 @@ public class FloatRadioActivity extends AbstractFloatScalarRel<RadioActivityUnit
     {
         Throw.whenNull(text, "Error parsing FloatRadioActivity: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatRadioActivity: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatRadioActivity result = ScalarParser.parseFloat(text, 0, text.length(), RadioActivityUnit.BASE,
+                FloatRadioActivity::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            RadioActivityUnit unit = RadioActivityUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatRadioActivity(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatRadioActivity from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatRadioActivity from " + text);
+        return result;
     }
 
     /**
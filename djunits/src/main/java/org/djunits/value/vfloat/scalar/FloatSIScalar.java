@@ -1,7 +1,5 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
@@ -50,7 +48,7 @@ import org.djunits.unit.Unit;
 import org.djunits.unit.VolumeUnit;
 import org.djunits.unit.si.SIDimensions;
 import org.djunits.unit.util.UnitRuntimeException;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -202,19 +200,16 @@ public class FloatSIScalar extends AbstractFloatScalarRel<SIUnit, FloatSIScalar>
     {
         Throw.whenNull(text, "Error parsing FloatSIScalar: unitString is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatSIScalar: empty unitString");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        String trimmed = text.trim();
+        int index = ScalarParser.scanNumber(trimmed, 0, trimmed.length());
+        if (index > 0)
         {
-            int index = matcher.end();
             try
             {
-                String unitString = text.substring(index).trim();
-                String valueString = text.substring(0, index).trim();
-                SIUnit unit = Unit.lookupOrCreateUnitWithSIDimensions(SIDimensions.of(unitString));
+                SIUnit unit = Unit.lookupOrCreateUnitWithSIDimensions(SIDimensions.of(trimmed.substring(index).trim()));
                 if (unit != null)
                 {
-                    float d = Float.parseFloat(valueString);
-                    return new FloatSIScalar(d, unit);
+                    return new FloatSIScalar(ScalarParser.toFloat(trimmed, 0, index), unit);
                 }
             }
             catch (Exception exception)
@@ -1,14 +1,12 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.AbsoluteTemperatureUnit;
 import org.djunits.unit.DimensionlessUnit;
 import org.djunits.unit.TemperatureUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRelWithAbs;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 
@@ -192,20 +190,12 @@ public class FloatTemperature extends
     {
         Throw.whenNull(text, "Error parsing FloatTemperature: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatTemperature: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatTemperature result = ScalarParser.parseFloat(text, 0, text.length(), TemperatureUnit.BASE, FloatTemperature::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            TemperatureUnit unit = TemperatureUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatTemperature(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatTemperature from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatTemperature from " + text);
+        return result;
     }
 
     /**
@@ -1,13 +1,11 @@
 package org.djunits.value.vfloat.scalar;
 
-import java.util.regex.Matcher;
-
 import javax.annotation.Generated;
 
 import org.djunits.Throw;
 import org.djunits.unit.DurationUnit;
 import org.djunits.unit.TimeUnit;
-import org.djunits.value.util.ValueUtil;
+import org.djunits.value.util.ScalarParser;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarAbs;
 
 /**
@@ -177,20 +175,12 @@ public class FloatTime extends AbstractFloatScalarAbs<TimeUnit, FloatTime, Durat
     {
         Throw.whenNull(text, "Error parsing FloatTime: text to parse is null");
         Throw.when(text.length() == 0, IllegalArgumentException.class, "Error parsing FloatTime: empty text to parse");
-        Matcher matcher = ValueUtil.NUMBER_PATTERN.matcher(text);
-        if (matcher.find())
+        FloatTime result = ScalarParser.parseFloat(text, 0, text.length(), TimeUnit.BASE, FloatTime::new);
+        if (result == null)
         {
-            int index = matcher.end();
-            String unitString = text.substring(index).trim();
-            String valueString = text.substring(0, index).trim();
-            TimeUnit unit = TimeUnit.BASE.getUnitByAbbreviation(unitString);
-            if (unit != null)
-            {
-                float f = Float.parseFloat(valueString);
-                return new FloatTime(f, unit);
-            }
+            throw new IllegalArgumentException("Error parsing FloatTime from " + text);
         }
-        throw new IllegalArgumentException("Error parsing FloatTime from " + text);
+        return result;
     }
 
     /**
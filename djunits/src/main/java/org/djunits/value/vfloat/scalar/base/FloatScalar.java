@@ -1,14 +1,21 @@
 package org.djunits.value.vfloat.scalar.base;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.djunits.Throw;
 import org.djunits.unit.AbsoluteLinearUnit;
 import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
 import org.djunits.unit.util.UnitRuntimeException;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vfloat.scalar.FloatSIScalar;
 
 /**
@@ -217,8 +224,8 @@ public abstract class FloatScalar
      */
     public static FloatSIScalar multiply(final FloatScalarInterface.Rel<?, ?> left, final FloatScalarInterface.Rel<?, ?> right)
     {
-        SIUnit targetUnit = Unit.lookupOrCreateUnitWithSIDimensions(left.getDisplayUnit().getQuantity().getSiDimensions()
-                .plus(right.getDisplayUnit().getQuantity().getSiDimensions()));
+        SIUnit targetUnit = SIUnit.product(left.getDisplayUnit().getQuantity().getSiDimensions(),
+                right.getDisplayUnit().getQuantity().getSiDimensions());
         return new FloatSIScalar(left.getSI() * right.getSI(), targetUnit);
     }
 
@@ -230,8 +237,8 @@ public abstract class FloatScalar
      */
     public static FloatSIScalar divide(final FloatScalarInterface.Rel<?, ?> left, final FloatScalarInterface.Rel<?, ?> right)
     {
-        SIUnit targetUnit = Unit.lookupOrCreateUnitWithSIDimensions(left.getDisplayUnit().getQuantity().getSiDimensions()
-                .minus(right.getDisplayUnit().getQuantity().getSiDimensions()));
+        SIUnit targetUnit = SIUnit.quotient(left.getDisplayUnit().getQuantity().getSiDimensions(),
+                right.getDisplayUnit().getQuantity().getSiDimensions());
         return new FloatSIScalar(left.getSI() / right.getSI(), targetUnit);
     }
 
@@ -342,4 +349,94 @@ public abstract class FloatScalar
         return minr;
     }
 
+    /**
+     * Write a FloatScalar in the compact binary format of ValueCodec: the display unit by its class name and id, followed by
+     * the SI value. Unlike Java serialization, the unit and its quantity are not written themselves, so the encoded scalar is
+     * small and fast to read in another JVM.
+     * @param scalar AbstractFloatScalar&lt;?, ?&gt;; the scalar to write
+     * @param out DataOutput; the DataOutput to write to, e.g., a DataOutputStream
+     * @throws IOException on I/O error
+     */
+    public static void encode(final AbstractFloatScalar<?, ?> scalar, final DataOutput out) throws IOException
+    {
+        encode(scalar, ValueCodec.output(out));
+    }
+
+    /**
+     * Write a FloatScalar in the compact binary format of ValueCodec to a ByteBuffer, starting at the position of the buffer.
+     * The position of the buffer is advanced over the bytes that are written.
+     * @param scalar AbstractFloatScalar&lt;?, ?&gt;; the scalar to write
+     * @param buffer ByteBuffer; the buffer to write to
+     * @throws IOException on I/O error
+     * @throws java.nio.BufferOverflowException when the buffer is too small
+     */
+    public static void encode(final AbstractFloatScalar<?, ?> scalar, final ByteBuffer buffer) throws IOException
+    {
+        encode(scalar, ValueCodec.output(buffer));
+    }
+
+    /**
+     * Write a FloatScalar in the compact binary format of ValueCodec.
+     * @param scalar AbstractFloatScalar&lt;?, ?&gt;; the scalar to write
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    private static void encode(final AbstractFloatScalar<?, ?> scalar, final ValueCodec.Output out) throws IOException
+    {
+        Throw.whenNull(scalar, "scalar cannot be null");
+        out.writeHeader(Float.BYTES, 0, StorageType.DENSE);
+        out.writeUnit(scalar.getDisplayUnit());
+        out.writeFloat(scalar.si);
+    }
+
+    /**
+     * Read a FloatScalar that has been written with encode(...). The display unit is looked up by its class name and id.<br>
+     * <b>Note</b> that the type of the scalar follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param in DataInput; the DataInput to read from, e.g., a DataInputStream
+     * @return S; the scalar that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded scalar of float values
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>>
+            S decode(final DataInput in) throws IOException
+    {
+        return decode(ValueCodec.input(in));
+    }
+
+    /**
+     * Read a FloatScalar that has been written with encode(...) from a ByteBuffer, starting at the position of the buffer. The
+     * position of the buffer is advanced over the bytes that are read.<br>
+     * <b>Note</b> that the type of the scalar follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param buffer ByteBuffer; the buffer to read from
+     * @return S; the scalar that has been read, expressed in its display unit
+     * @throws IOException when the buffer does not hold a valid encoded scalar of float values
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>>
+            S decode(final ByteBuffer buffer) throws IOException
+    {
+        return decode(ValueCodec.input(buffer));
+    }
+
+    /**
+     * Read a FloatScalar that has been written with encode(...).
+     * @param in ValueCodec.Input; the input to read from
+     * @return S; the scalar that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded scalar of float values
+     * @param <U> the unit type
+     * @param <S> the scalar type
+     */
+    @SuppressWarnings("unchecked")
+    private static <U extends Unit<U>, S extends FloatScalarInterface<U, S>>
+            S decode(final ValueCodec.Input in) throws IOException
+    {
+        in.readHeader(Float.BYTES, 0);
+        Unit<?> unit = in.readUnit();
+        return instantiateSI(in.readFloat(), (U) unit);
+    }
+
 }
@@ -1,20 +1,24 @@
 package org.djunits.value.vfloat.vector.base;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
 import org.djunits.value.Absolute;
 import org.djunits.value.AbstractIndexedValue;
 import org.djunits.value.ValueRuntimeException;
-import org.djunits.value.formatter.Format;
+import org.djunits.value.formatter.EngineeringAppender;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.util.ValueUtil;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatMathFunctions;
+import org.djunits.value.vfloat.function.FloatVectorCellConsumer;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalar;
 import org.djunits.value.vfloat.scalar.base.FloatScalar;
 import org.djunits.value.vfloat.vector.data.FloatVectorData;
@@ -293,39 +297,68 @@ public abstract class AbstractFloatVector<U extends Unit<U>, S extends AbstractF
     @Override
     public String toString(final U displayUnit, final boolean verbose, final boolean withUnit)
     {
-        StringBuffer buf = new StringBuffer();
+        StringBuilder buf = new StringBuilder();
+        try
+        {
+            appendTo(buf, displayUnit, verbose, withUnit);
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception); // cannot happen -- a StringBuilder does not throw an IOException
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Write this vector to an Appendable, such as a StringBuilder or a Writer, in the same layout as
+     * {@link #toString(Unit, boolean, boolean)}. The values are written with the {@link EngineeringAppender} of the current
+     * thread, so a large vector can be written without creating a Formatter and intermediate strings per value.
+     * @param out Appendable; the Appendable to write this vector to
+     * @param displayUnit U; the display unit for the values
+     * @param verbose boolean; if true; include type info; if false; exclude type info
+     * @param withUnit boolean; if true; include the unit; of false; exclude the unit
+     * @throws IOException when the Appendable throws an IOException
+     * @throws NullPointerException when out or displayUnit is null
+     */
+    public void appendTo(final Appendable out, final U displayUnit, final boolean verbose, final boolean withUnit)
+            throws IOException
+    {
+        Throw.whenNull(out, "out cannot be null");
+        Throw.whenNull(displayUnit, "displayUnit cannot be null");
+        EngineeringAppender appender = EngineeringAppender.current();
         if (verbose)
         {
             String ar = this instanceof Absolute ? "Abs " : "Rel ";
-            String ds = getData().isDense() ? "Dense  " : getData().isSparse() ? "Sparse " : "?????? ";
+            String ds = getData().isDense() ? "Dense  "
+                    : getData().isSparse() ? "Sparse " : getData().isOffHeap() ? "OffHeap" : "?????? ";
             if (isMutable())
             {
-                buf.append("Mutable   " + ar + ds);
+                out.append("Mutable   ").append(ar).append(ds);
             }
             else
             {
-                buf.append("Immutable " + ar + ds);
+                out.append("Immutable ").append(ar).append(ds);
             }
         }
-        buf.append("[");
+        out.append("[");
         for (int i = 0; i < size(); i++)
         {
             try
             {
                 float f = (float) ValueUtil.expressAsUnit(getSI(i), displayUnit);
-                buf.append(" " + Format.format(f));
+                out.append(' ');
+                appender.append(out, f);
             }
             catch (ValueRuntimeException ve)
             {
-                buf.append(" " + "********************".substring(0, Format.DEFAULTSIZE));
+                out.append(' ').append("********************", 0, appender.getRoom());
             }
         }
-        buf.append("]");
+        out.append("]");
         if (withUnit)
         {
-            buf.append(" " + displayUnit.getDefaultDisplayAbbreviation());
+            out.append(' ').append(displayUnit.getDefaultDisplayAbbreviation());
         }
-        return buf.toString();
     }
 
     /**
@@ -387,6 +420,69 @@ public abstract class AbstractFloatVector<U extends Unit<U>, S extends AbstractF
         return new Itr();
     }
 
+    /**
+     * Return an iterator over the SI values of the cells, zeros included. Unlike iterator(), it does not create a scalar for
+     * each cell, and for a sparse vector it walks the stored cells in one pass. The vector should not be changed while the
+     * iterator is in use.
+     * @return PrimitiveIterator.OfDouble; an iterator over the SI values of the cells
+     */
+    public PrimitiveIterator.OfDouble siIterator()
+    {
+        return getData().siIterator();
+    }
+
+    /**
+     * Call the consumer with the index and SI value of each cell that is not zero, in increasing order of the index. For a
+     * sparse vector only the stored cells are visited.
+     * @param consumer FloatVectorCellConsumer; the consumer that receives the index and the SI value of each non-zero cell
+     */
+    public void forEachNonZeroSI(final FloatVectorCellConsumer consumer)
+    {
+        getData().forEachNonZero(consumer);
+    }
+
+    /**
+     * Return the smallest value of this vector. NaN values are ignored, unless all values are NaN.
+     * @return S; the smallest value, with the display unit of this vector
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final S min() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(getData().min(), getDisplayUnit());
+    }
+
+    /**
+     * Return the largest value of this vector. NaN values are ignored, unless all values are NaN.
+     * @return S; the largest value, with the display unit of this vector
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final S max() throws ValueRuntimeException
+    {
+        return instantiateScalarSI(getData().max(), getDisplayUnit());
+    }
+
+    /**
+     * Return the index of the smallest value of this vector. NaN values are ignored; of equal values, the lowest index is
+     * returned.
+     * @return int; the index of the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final int argMin() throws ValueRuntimeException
+    {
+        return getData().argMin();
+    }
+
+    /**
+     * Return the index of the largest value of this vector. NaN values are ignored; of equal values, the lowest index is
+     * returned.
+     * @return int; the index of the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public final int argMax() throws ValueRuntimeException
+    {
+        return getData().argMax();
+    }
+
     /**
      * The iterator class is loosely based in AbstractList.Itr. It does not throw a ConcurrentModificationException, because the
      * size of the vector does not change. Normal (non-mutable) vectors cannot change their size, nor their content. The only
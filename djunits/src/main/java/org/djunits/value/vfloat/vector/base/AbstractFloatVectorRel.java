@@ -1,12 +1,16 @@
 package org.djunits.value.vfloat.vector.base;
 
+import org.djunits.Throw;
 import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
+import org.djunits.unit.si.SIDimensions;
 import org.djunits.unit.util.UnitException;
 import org.djunits.value.Relative;
 import org.djunits.value.ValueRuntimeException;
 import org.djunits.value.base.Vector;
+import org.djunits.value.storage.Summation;
 import org.djunits.value.vfloat.function.FloatMathFunctions;
+import org.djunits.value.vfloat.scalar.FloatSIScalar;
 import org.djunits.value.vfloat.scalar.base.AbstractFloatScalarRel;
 import org.djunits.value.vfloat.vector.FloatSIVector;
 import org.djunits.value.vfloat.vector.data.FloatVectorData;
@@ -47,6 +51,134 @@ public abstract class AbstractFloatVectorRel<U extends Unit<U>, S extends Abstra
         return instantiateScalarSI(getData().zSum(), getDisplayUnit());
     }
 
+    /**
+     * Compute the sum of all SI values of this vector with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the sum of all SI values of this vector with the same display unit as this vector
+     */
+    public final S zSum(final Summation summation)
+    {
+        return instantiateScalarSI(getData().zSum(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the mean of the values of this vector, using pairwise summation.
+     * @return S; the mean of the values, with the display unit of this vector; NaN for an empty vector
+     */
+    public final S mean()
+    {
+        return mean(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the mean of the values of this vector with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the mean of the values, with the display unit of this vector; NaN for an empty vector
+     */
+    public final S mean(final Summation summation)
+    {
+        return instantiateScalarSI(getData().mean(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the population variance of the values of this vector, using pairwise summation. The unit of the variance is the
+     * square of the unit of this vector, e.g., the variance of a FloatLengthVector can be retrieved as a FloatArea with
+     * <code>variance().asArea()</code>.
+     * @return FloatSIScalar; the population variance of the values, in the squared SI unit of this vector
+     */
+    public final FloatSIScalar variance()
+    {
+        return variance(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the population variance of the values of this vector with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return FloatSIScalar; the population variance of the values, in the squared SI unit of this vector
+     */
+    public final FloatSIScalar variance(final Summation summation)
+    {
+        SIDimensions dimensions = getDisplayUnit().getQuantity().getSiDimensions();
+        return new FloatSIScalar(getData().variance(summation),
+                SIUnit.product(dimensions, dimensions));
+    }
+
+    /**
+     * Compute the L1 norm of this vector, the sum of the absolute values, using pairwise summation.
+     * @return S; the L1 norm, with the display unit of this vector
+     */
+    public final S normL1()
+    {
+        return normL1(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the L1 norm of this vector, the sum of the absolute values, with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the L1 norm, with the display unit of this vector
+     */
+    public final S normL1(final Summation summation)
+    {
+        return instantiateScalarSI(getData().normL1(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the L2 (Euclidean) norm of this vector, using pairwise summation.
+     * @return S; the L2 norm, with the display unit of this vector
+     */
+    public final S normL2()
+    {
+        return normL2(Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the L2 (Euclidean) norm of this vector with a given summation algorithm.
+     * @param summation Summation; the summation algorithm
+     * @return S; the L2 norm, with the display unit of this vector
+     */
+    public final S normL2(final Summation summation)
+    {
+        return instantiateScalarSI(getData().normL2(summation), getDisplayUnit());
+    }
+
+    /**
+     * Compute the L-infinity norm of this vector, the largest absolute value.
+     * @return S; the L-infinity norm, with the display unit of this vector
+     */
+    public final S normLinf()
+    {
+        return instantiateScalarSI(getData().normLinf(), getDisplayUnit());
+    }
+
+    /**
+     * Compute the dot product of this vector and another relative vector of the same size, using pairwise summation. The unit
+     * of the result is the product of the units of the vectors, e.g., the dot product of a FloatForceVector and a
+     * FloatLengthVector can be retrieved as a FloatEnergy with <code>dot(other).asEnergy()</code>.
+     * @param other AbstractFloatVectorRel&lt;?, ?, ?&gt;; the other vector
+     * @return FloatSIScalar; the dot product, in the SI unit that is the product of the units of the vectors
+     * @throws ValueRuntimeException when the sizes of the vectors differ
+     */
+    public final FloatSIScalar dot(final AbstractFloatVectorRel<?, ?, ?> other) throws ValueRuntimeException
+    {
+        return dot(other, Summation.PAIRWISE);
+    }
+
+    /**
+     * Compute the dot product of this vector and another relative vector of the same size with a given summation algorithm.
+     * @param other AbstractFloatVectorRel&lt;?, ?, ?&gt;; the other vector
+     * @param summation Summation; the summation algorithm
+     * @return FloatSIScalar; the dot product, in the SI unit that is the product of the units of the vectors
+     * @throws ValueRuntimeException when the sizes of the vectors differ
+     */
+    public final FloatSIScalar dot(final AbstractFloatVectorRel<?, ?, ?> other, final Summation summation)
+            throws ValueRuntimeException
+    {
+        Throw.whenNull(other, "dot: other is null");
+        return new FloatSIScalar(getData().dot(other.getData(), summation),
+                SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                        other.getDisplayUnit().getQuantity().getSiDimensions()));
+    }
+
     /** {@inheritDoc} */
     @Override
     public final RV plus(final RV rel) throws ValueRuntimeException
@@ -149,8 +281,9 @@ public abstract class AbstractFloatVectorRel<U extends Unit<U>, S extends Abstra
             VT extends AbstractFloatVectorRel<UT, ST, VT> & Relative<UT, VT>> FloatSIVector times(final VT rel)
                     throws ValueRuntimeException, UnitException
     {
-        return new FloatSIVector(this.getData().times(rel.getData()), SIUnit.of(
-                getDisplayUnit().getQuantity().getSiDimensions().plus(rel.getDisplayUnit().getQuantity().getSiDimensions())));
+        return new FloatSIVector(this.getData().times(rel.getData()),
+                SIUnit.product(getDisplayUnit().getQuantity().getSiDimensions(),
+                        rel.getDisplayUnit().getQuantity().getSiDimensions()));
     }
 
     /**
@@ -169,8 +302,9 @@ public abstract class AbstractFloatVectorRel<U extends Unit<U>, S extends Abstra
             VT extends AbstractFloatVectorRel<UT, ST, VT> & Relative<UT, VT>> FloatSIVector divide(final VT rel)
                     throws ValueRuntimeException, UnitException
     {
-        return new FloatSIVector(this.getData().divide(rel.getData()), SIUnit.of(
-                getDisplayUnit().getQuantity().getSiDimensions().minus(rel.getDisplayUnit().getQuantity().getSiDimensions())));
+        return new FloatSIVector(this.getData().divide(rel.getData()),
+                SIUnit.quotient(getDisplayUnit().getQuantity().getSiDimensions(),
+                        rel.getDisplayUnit().getQuantity().getSiDimensions()));
     }
 
     /** {@inheritDoc} */
@@ -1,21 +1,36 @@
 package org.djunits.value.vfloat.vector.base;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 
+import org.djunits.Throw;
 import org.djunits.unit.SIUnit;
 import org.djunits.unit.Unit;
+import org.djunits.unit.quantity.Quantity;
 import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.util.UnitRuntimeException;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.MappedHeader;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
+import org.djunits.value.util.CsvColumnReader;
 import org.djunits.value.vfloat.scalar.base.FloatScalarInterface;
 import org.djunits.value.vfloat.vector.FloatSIVector;
 import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.djunits.value.vfloat.vector.data.FloatVectorDataOffHeap;
 
 /**
  * FloatVector utility methods, e.g., for creating FloatVectors from different types of data.
@@ -494,4 +509,206 @@ public final class FloatVector
         }
     }
 
+    /**
+     * Open a FloatVector over the values in a file that has been written with write(...), without reading or copying the
+     * values. The file is mapped read-only into memory, and the operating system loads the pages of the file when they are
+     * first accessed. The display unit is the unit that is recorded in the header of the file.<br>
+     * The mapping is read-only on purpose: the vector is immutable, and a mutable copy copies the data on its first change, so
+     * changes would never reach the file. A writable mapping is available on the data level, through
+     * {@link FloatVectorDataOffHeap#map(FileChannel, MappedHeader, boolean)}.<br>
+     * <b>Note</b> that the type of the vector follows from the unit in the file, so it is possible to make mistakes with the
+     * expected type.
+     * @param path Path; the file to open
+     * @return V; a vector with the values of the file, expressed in the unit of the file
+     * @throws IOException on I/O error, or when the file does not hold a vector of float values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V map(final Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            MappedHeader header = MappedHeader.read(channel);
+            if (header.getValueBytes() != Float.BYTES || header.getDimensions() != 1)
+            {
+                throw new IOException("file " + path + " does not hold a vector of float values");
+            }
+            return instantiateAnonymous(FloatVectorDataOffHeap.map(channel, header, false), header.getUnit());
+        }
+    }
+
+    /**
+     * Write a FloatVector to a file that can be opened with map(...). The file starts with a header that records the shape and
+     * the display unit of the vector, followed by the SI values. An existing file is overwritten.
+     * @param path Path; the file to write
+     * @param vector AbstractFloatVector&lt;?, ?, ?&gt;; the vector to write
+     * @throws IOException on I/O error
+     */
+    public static void write(final Path path, final AbstractFloatVector<?, ?, ?> vector) throws IOException
+    {
+        Throw.whenNull(vector, "vector cannot be null");
+        FloatVectorData data = vector.getData();
+        MappedHeader header = MappedHeader.of(Float.BYTES, 1, 1, data.size(), vector.getDisplayUnit());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            header.write(channel);
+            // the mapping extends the file with zeros, so only the non-zero values have to be written
+            try (FloatVectorDataOffHeap target = FloatVectorDataOffHeap.map(channel, header, true))
+            {
+                data.forEachNonZero(target::setSI);
+                target.force();
+            }
+        }
+    }
+
+    /**
+     * Read the values of a column of a CSV file with comma-separated fields into a FloatVector. The header of the column names
+     * its unit between square brackets, e.g., <code>speed [km/h]</code>; the unit is looked up once in the given quantity, and
+     * becomes the display unit of the vector. The values are parsed and converted to SI in parallel chunks, without creating
+     * a scalar per value. Use CsvColumnReader directly for another delimiter or a stream.
+     * @param path Path; the CSV file to read
+     * @param column String; the name of the column without the unit, or the full header of the column
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit of the column in, e.g., SpeedUnit.BASE
+     * @param storageType StorageType; the data type to use
+     * @return V; a vector with the values of the column, expressed in the unit of the column
+     * @throws IOException on I/O error, when the column or its unit cannot be found, or when a field is not a number
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V readCsv(final Path path, final String column, final Quantity<U> quantity,
+                    final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        try (InputStream in = Files.newInputStream(path))
+        {
+            CsvColumnReader<U> reader = CsvColumnReader.open(in, column, quantity);
+            return instantiateAnonymous(FloatVectorData.read(reader, storageType), reader.getUnit());
+        }
+    }
+
+    /**
+     * Read the values of a column of a CSV file with comma-separated fields into a FloatVector that is stored in another file,
+     * for a column that does not fit in memory. The values are written to the target file window by window, and the vector
+     * is mapped read-only onto the target file, which can be opened again later with map(...).
+     * @param path Path; the CSV file to read
+     * @param column String; the name of the column without the unit, or the full header of the column
+     * @param quantity Quantity&lt;U&gt;; the quantity to look up the unit of the column in, e.g., SpeedUnit.BASE
+     * @param target Path; the file to store the values in; an existing file is overwritten
+     * @return V; a vector that is mapped onto the values of the column, expressed in the unit of the column
+     * @throws IOException on I/O error, when the column or its unit cannot be found, or when a field is not a number
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V readCsv(final Path path, final String column, final Quantity<U> quantity,
+                    final Path target) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        try (InputStream in = Files.newInputStream(path))
+        {
+            CsvColumnReader<U> reader = CsvColumnReader.open(in, column, quantity);
+            return instantiateAnonymous(FloatVectorDataOffHeap.read(reader, target), reader.getUnit());
+        }
+    }
+
+    /**
+     * Write a FloatVector in the compact binary format of ValueCodec: the display unit by its class name and id, the storage
+     * type, the size and the SI values; sparse data is written as indices and values. Unlike Java serialization, the unit and
+     * its quantity are not written themselves, so the encoded vector is small and fast to read in another JVM.
+     * @param vector AbstractFloatVector&lt;?, ?, ?&gt;; the vector to write
+     * @param out DataOutput; the DataOutput to write to, e.g., a DataOutputStream
+     * @throws IOException on I/O error
+     */
+    public static void encode(final AbstractFloatVector<?, ?, ?> vector, final DataOutput out) throws IOException
+    {
+        encode(vector, ValueCodec.output(out));
+    }
+
+    /**
+     * Write a FloatVector in the compact binary format of ValueCodec to a ByteBuffer, starting at the position of the buffer.
+     * The position of the buffer is advanced over the bytes that are written.
+     * @param vector AbstractFloatVector&lt;?, ?, ?&gt;; the vector to write
+     * @param buffer ByteBuffer; the buffer to write to
+     * @throws IOException on I/O error
+     * @throws java.nio.BufferOverflowException when the buffer is too small
+     */
+    public static void encode(final AbstractFloatVector<?, ?, ?> vector, final ByteBuffer buffer) throws IOException
+    {
+        encode(vector, ValueCodec.output(buffer));
+    }
+
+    /**
+     * Write a FloatVector in the compact binary format of ValueCodec.
+     * @param vector AbstractFloatVector&lt;?, ?, ?&gt;; the vector to write
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    private static void encode(final AbstractFloatVector<?, ?, ?> vector, final ValueCodec.Output out) throws IOException
+    {
+        Throw.whenNull(vector, "vector cannot be null");
+        FloatVectorData data = vector.getData();
+        out.writeHeader(Float.BYTES, 1, data.getStorageType());
+        out.writeUnit(vector.getDisplayUnit());
+        data.encode(out);
+    }
+
+    /**
+     * Read a FloatVector that has been written with encode(...). The display unit is looked up by its class name and id.<br>
+     * <b>Note</b> that the type of the vector follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param in DataInput; the DataInput to read from, e.g., a DataInputStream
+     * @return V; the vector that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded vector of float values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V decode(final DataInput in) throws IOException
+    {
+        return decode(ValueCodec.input(in));
+    }
+
+    /**
+     * Read a FloatVector that has been written with encode(...) from a ByteBuffer, starting at the position of the buffer. The
+     * position of the buffer is advanced over the bytes that are read; the values are copied in bulk from the buffer into the
+     * storage of the vector.<br>
+     * <b>Note</b> that the type of the vector follows from the unit that has been written, so it is possible to make mistakes
+     * with the expected type.
+     * @param buffer ByteBuffer; the buffer to read from
+     * @return V; the vector that has been read, expressed in its display unit
+     * @throws IOException when the buffer does not hold a valid encoded vector of float values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    public static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V decode(final ByteBuffer buffer) throws IOException
+    {
+        return decode(ValueCodec.input(buffer));
+    }
+
+    /**
+     * Read a FloatVector that has been written with encode(...).
+     * @param in ValueCodec.Input; the input to read from
+     * @return V; the vector that has been read, expressed in its display unit
+     * @throws IOException on I/O error, or when the input does not hold a valid encoded vector of float values
+     * @param <U> the unit type
+     * @param <S> the corresponding scalar type
+     * @param <V> the corresponding vector type
+     */
+    private static <U extends Unit<U>, S extends FloatScalarInterface<U, S>,
+            V extends FloatVectorInterface<U, S, V>> V decode(final ValueCodec.Input in) throws IOException
+    {
+        StorageType storageType = in.readHeader(Float.BYTES, 1);
+        Unit<?> unit = in.readUnit();
+        return instantiateAnonymous(FloatVectorData.decode(in, storageType), unit);
+    }
+
 }
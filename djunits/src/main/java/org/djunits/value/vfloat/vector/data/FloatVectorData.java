@@ -1,20 +1,28 @@
 package org.djunits.value.vfloat.vector.data;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.PrimitiveIterator;
 import java.util.SortedMap;
 import java.util.stream.IntStream;
 
 import org.djunits.Throw;
 import org.djunits.unit.Unit;
+import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.scale.Scale;
 import org.djunits.value.ValueRuntimeException;
 import org.djunits.value.storage.AbstractStorage;
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.Summation;
+import org.djunits.value.storage.ValueCodec;
+import org.djunits.value.util.CsvColumnReader;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatVectorCellConsumer;
 import org.djunits.value.vfloat.scalar.base.FloatScalarInterface;
 
 /**
@@ -63,16 +71,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         Throw.whenNull(storageType, "FloatVectorData.instantiate: storageType is null");
 
         float[] valuesSI = new float[values.length];
-        IntStream.range(0, values.length).parallel().forEach(i -> valuesSI[i] = (float) scale.toStandardUnit(values[i]));
+        ExecutionPolicy.current().forEach(values.length, i -> valuesSI[i] = (float) scale.toStandardUnit(values[i]));
 
         switch (storageType)
         {
             case DENSE:
                 return new FloatVectorDataDense(valuesSI);
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
                 return FloatVectorDataSparse.instantiate(valuesSI);
 
+            case OFF_HEAP:
+                return new FloatVectorDataOffHeap(valuesSI);
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
@@ -91,20 +105,33 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         Throw.whenNull(values, "FloatVectorData.instantiate: float[] values is null");
         Throw.whenNull(scale, "FloatVectorData.instantiate: scale is null");
         Throw.whenNull(storageType, "FloatVectorData.instantiate: storageType is null");
-        Throw.when(values.parallelStream().filter(d -> d == null).count() > 0, NullPointerException.class,
-                "values contains one or more null values");
-
+        // copy the list once through its iterator, since indexing a list without random access is linear per element
         float[] valuesSI = new float[values.size()];
-        IntStream.range(0, values.size()).parallel().forEach(i -> valuesSI[i] = (float) scale.toStandardUnit(values.get(i)));
+        int index = 0;
+        for (Float f : values)
+        {
+            Throw.whenNull(f, "values contains one or more null values");
+            valuesSI[index++] = f;
+        }
+        if (!scale.isBaseSIScale())
+        {
+            ExecutionPolicy.current().forEach(valuesSI.length, i -> valuesSI[i] = (float) scale.toStandardUnit(valuesSI[i]));
+        }
 
         switch (storageType)
         {
             case DENSE:
                 return new FloatVectorDataDense(valuesSI);
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
                 return FloatVectorDataSparse.instantiate(valuesSI);
 
+            case OFF_HEAP:
+                return new FloatVectorDataDense(valuesSI).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
@@ -131,16 +158,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         }
 
         float[] valuesSI = new float[values.length];
-        IntStream.range(0, values.length).parallel().forEach(i -> valuesSI[i] = values[i].getSI());
+        ExecutionPolicy.current().forEach(values.length, i -> valuesSI[i] = values[i].getSI());
 
         switch (storageType)
         {
             case DENSE:
                 return new FloatVectorDataDense(valuesSI);
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
                 return FloatVectorDataSparse.instantiate(valuesSI);
 
+            case OFF_HEAP:
+                return instantiate(values, StorageType.DENSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
@@ -167,16 +200,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         }
 
         float[] valuesSI = new float[valueList.size()];
-        IntStream.range(0, valueList.size()).parallel().forEach(i -> valuesSI[i] = valueList.get(i).getSI());
+        ExecutionPolicy.current().forEach(valueList.size(), i -> valuesSI[i] = valueList.get(i).getSI());
 
         switch (storageType)
         {
             case DENSE:
                 return new FloatVectorDataDense(valuesSI);
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
                 return FloatVectorDataSparse.instantiate(valuesSI);
 
+            case OFF_HEAP:
+                return instantiateList(valueList, StorageType.DENSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
@@ -211,29 +250,37 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
                 float[] valuesSI = new float[length];
                 if (scale.isBaseSIScale())
                 {
-                    valueMap.entrySet().parallelStream().forEach(entry -> valuesSI[entry.getKey()] = entry.getValue());
+                    for (Entry<Integer, Float> entry : valueMap.entrySet())
+                    {
+                        valuesSI[entry.getKey()] = entry.getValue();
+                    }
                 }
                 else
                 {
                     Arrays.fill(valuesSI, (float) scale.toStandardUnit(0.0));
-                    valueMap.entrySet().parallelStream()
-                            .forEach(entry -> valuesSI[entry.getKey()] = (float) scale.toStandardUnit(entry.getValue()));
+                    for (Entry<Integer, Float> entry : valueMap.entrySet())
+                    {
+                        valuesSI[entry.getKey()] = (float) scale.toStandardUnit(entry.getValue());
+                    }
                 }
                 return new FloatVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
                 int nonZeroCount;
                 if (scale.isBaseSIScale())
                 {
-                    nonZeroCount = (int) valueMap.keySet().parallelStream().filter(d -> d != 0d).count();
+                    nonZeroCount = (int) valueMap.keySet().stream().filter(d -> d != 0d).count();
                 }
                 else
                 {
                     // Much harder, and the result is unlikely to be very sparse
                     nonZeroCount = length
-                            - (int) valueMap.values().parallelStream().filter(d -> scale.toStandardUnit(d) == 0d).count();
+                            - (int) valueMap.values().stream().filter(d -> scale.toStandardUnit(d) == 0d).count();
                 }
                 int[] indices = new int[nonZeroCount];
                 float[] valuesSI = new float[nonZeroCount];
@@ -280,6 +327,9 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
                 return new FloatVectorDataSparse(valuesSI, indices, length);
             }
 
+            case OFF_HEAP:
+                return instantiate(valueMap, length, scale, StorageType.SPARSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
@@ -313,13 +363,19 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
             case DENSE:
             {
                 float[] valuesSI = new float[length];
-                values.entrySet().parallelStream().forEach(entry -> valuesSI[entry.getKey()] = entry.getValue().getSI());
+                for (Entry<Integer, S> entry : values.entrySet())
+                {
+                    valuesSI[entry.getKey()] = entry.getValue().getSI();
+                }
                 return new FloatVectorDataDense(valuesSI);
             }
 
+            case CSR:
+            case CSC:
+                // compressed storage by row or column only applies to matrices; vectors are stored sparse
             case SPARSE:
             {
-                int nonZeroCount = (int) values.values().parallelStream().filter(s -> s.getSI() != 0f).count();
+                int nonZeroCount = (int) values.values().stream().filter(s -> s.getSI() != 0f).count();
                 int[] indices = new int[nonZeroCount];
                 float[] valuesSI = new float[nonZeroCount];
                 int index = 0;
@@ -336,11 +392,61 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
                 return new FloatVectorDataSparse(valuesSI, indices, length);
             }
 
+            case OFF_HEAP:
+                return instantiateMap(values, length, StorageType.SPARSE).toOffHeap();
+
             default:
                 throw new ValueRuntimeException("Unknown storage type in FloatVectorData.instantiate: " + storageType);
         }
     }
 
+    /**
+     * Instantiate a FloatVectorData with the SI values of the remaining rows of a column of a CSV file. The values are parsed
+     * and converted to SI in parallel chunks; the memory that is used grows with the number of rows. Use
+     * FloatVectorDataOffHeap.read(...) to store the values of a column that does not fit in memory in a file.
+     * @param reader CsvColumnReader&lt;?&gt;; the reader of the column
+     * @param storageType StorageType; the data type to use
+     * @return FloatVectorData; the FloatVectorData with the SI values of the column
+     * @throws IOException on I/O error, or when a field of the column is not a number
+     * @throws NullPointerException when reader or storageType is null
+     */
+    public static FloatVectorData read(final CsvColumnReader<?> reader, final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(reader, "FloatVectorData.read: reader is null");
+        Throw.whenNull(storageType, "FloatVectorData.read: storageType is null");
+        return instantiate(reader.readFloats(), IdentityScale.SCALE, storageType);
+    }
+
+    /**
+     * Read a FloatVectorData that has been written with encode(...) in the binary format of ValueCodec, after the header and
+     * the unit. The values are read in bulk into the array that becomes the storage of the data.
+     * @param in ValueCodec.Input; the input to read the size and the values from
+     * @param storageType StorageType; the storage type that has been read from the header
+     * @return FloatVectorData; the data with the values that have been read
+     * @throws IOException on I/O error, or when the data is not valid
+     * @throws NullPointerException when in or storageType is null
+     */
+    public static FloatVectorData decode(final ValueCodec.Input in, final StorageType storageType) throws IOException
+    {
+        Throw.whenNull(in, "FloatVectorData.decode: in is null");
+        Throw.whenNull(storageType, "FloatVectorData.decode: storageType is null");
+        int size = in.readCount();
+        switch (storageType)
+        {
+            case DENSE:
+                return FloatVectorDataDense.wrap(in.readFloats(size));
+
+            case OFF_HEAP:
+                return new FloatVectorDataOffHeap(in.readFloats(size));
+
+            case SPARSE:
+                return FloatVectorDataSparse.decode(in, size);
+
+            default:
+                throw new IOException("FloatVectorData.decode: storage type " + storageType + " is not valid for a vector");
+        }
+    }
+
     /* ============================================================================================ */
     /* ==================================== UTILITY FUNCTIONS ===================================== */
     /* ============================================================================================ */
@@ -363,6 +469,16 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public abstract FloatVectorDataSparse toSparse();
 
+    /**
+     * Return the equivalent of this data that is stored outside of the Java heap. The off-heap data should be closed when it is
+     * not used anymore.
+     * @return FloatVectorDataOffHeap; the off-heap transformation of this data
+     */
+    public FloatVectorDataOffHeap toOffHeap()
+    {
+        return FloatVectorDataOffHeap.instantiate(this);
+    }
+
     /**
      * Retrieve the SI value of one element of this data.
      * @param index int; the index to get the value for
@@ -377,14 +493,43 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public abstract void setSI(int index, float valueSI);
 
+
+    /**
+     * Write the size and the values of this data in the binary format of ValueCodec. The header with the storage type and the
+     * unit should have been written before. Dense data writes its array in bulk; off-heap data is written in blocks.
+     * @param out ValueCodec.Output; the output to write to
+     * @throws IOException on I/O error
+     */
+    public void encode(final ValueCodec.Output out) throws IOException
+    {
+        int size = size();
+        out.writeInt(size);
+        if (isDense())
+        {
+            out.writeFloats(this.vectorSI, size);
+            return;
+        }
+        float[] block = new float[Math.min(size, 4096)];
+        for (int from = 0; from < size; from += block.length)
+        {
+            int count = Math.min(size - from, block.length);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = getSI(from + i);
+            }
+            out.writeFloats(block, count);
+        }
+    }
+
     /**
      * Compute and return the sum of all values.
      * @return double; the sum of the values of all cells
      */
-    public final float zSum()
+    public float zSum()
     {
         // this does not copy the data. See http://stackoverflow.com/questions/23106093/how-to-get-a-stream-from-a-float
-        return (float) IntStream.range(0, this.vectorSI.length).parallel().mapToDouble(i -> this.vectorSI[i]).sum();
+        return (float) ExecutionPolicy.current().sum(this.vectorSI.length,
+                (from, to) -> IntStream.range(from, to).mapToDouble(i -> this.vectorSI[i]).sum());
     }
 
     /**
@@ -393,6 +538,21 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public abstract float[] getDenseVectorSI();
 
+    /**
+     * Call the consumer for each cell with a value other than zero, in increasing order of the index. Sparse data only visits
+     * the stored cells, and the values are not boxed.
+     * @param consumer FloatVectorCellConsumer; the consumer that receives the index and the SI value of each non-zero cell
+     */
+    public abstract void forEachNonZero(FloatVectorCellConsumer consumer);
+
+    /**
+     * Return an iterator over the SI values of all cells, zeros included, in increasing order of the index. The values are not
+     * boxed, and sparse data is walked in one pass instead of searching for each index. The float values are widened to double,
+     * which is exact. The data should not be changed while the iterator is in use.
+     * @return PrimitiveIterator.OfDouble; an iterator over the SI values of all cells
+     */
+    public abstract PrimitiveIterator.OfDouble siIterator();
+
     /**
      * Check the sizes of this data object and the other data object.
      * @param other FloatVectorData; the other data object
@@ -406,6 +566,324 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         }
     }
 
+    /* ============================================================================================ */
+    /* ======================================== REDUCTIONS ======================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Return the number of values that are stored: the size for dense data, and the number of stored cells for sparse data.
+     * The cells that are not stored are zero.
+     * @return int; the number of stored values
+     */
+    int storedCount()
+    {
+        return this.vectorSI.length;
+    }
+
+    /**
+     * Copy a range of the stored values into a double array, in increasing order of the index of their cells. The
+     * reductions are calculated in double precision.
+     * @param from int; the position of the first stored value to copy
+     * @param target double[]; the array to copy the values into
+     * @param offset int; the position in the target array for the first value
+     * @param count int; the number of values to copy
+     */
+    void copyStoredSI(final int from, final double[] target, final int offset, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            target[offset + i] = this.vectorSI[from + i];
+        }
+    }
+
+    /**
+     * Return the index of the cell of a stored value.
+     * @param position int; the position of the stored value
+     * @return int; the index of the cell of the stored value
+     */
+    int storedIndex(final int position)
+    {
+        return position;
+    }
+
+    /**
+     * Compute and return the sum of all values with a given summation algorithm. The sum is calculated in double precision.
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float zSum(final Summation summation)
+    {
+        return (float) sum(summation);
+    }
+
+    /**
+     * Compute and return the sum of all values in double precision.
+     * @param summation Summation; the summation algorithm
+     * @return double; the sum of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    private double sum(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatVectorData.zSum: summation is null");
+        return summation.sum(storedCount(), (from, count, block, scratch) -> copyStoredSI(from, block, 0, count));
+    }
+
+    /**
+     * Compute and return the mean of all values. The mean of an empty vector is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return float; the mean of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float mean(final Summation summation)
+    {
+        return (float) (sum(summation) / size());
+    }
+
+    /**
+     * Compute and return the population variance of all values, i.e., the mean of the squared deviations from the mean. The
+     * deviations are calculated in a second pass, which is more accurate than the mean of the squares minus the square of the
+     * mean. The variance of an empty vector is NaN.
+     * @param summation Summation; the summation algorithm
+     * @return float; the population variance of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float variance(final Summation summation)
+    {
+        final double mean = sum(summation) / size();
+        int stored = storedCount();
+        double sum = summation.sum(stored, (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                double deviation = block[i] - mean;
+                block[i] = deviation * deviation;
+            }
+        });
+        return (float) ((sum + (size() - stored) * mean * mean) / size());
+    }
+
+    /**
+     * Compute and return the L1 norm of the vector, the sum of the absolute values.
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the absolute values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float normL1(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatVectorData.normL1: summation is null");
+        return (float) summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = Math.abs(block[i]);
+            }
+        });
+    }
+
+    /**
+     * Compute and return the L2 (Euclidean) norm of the vector, the square root of the sum of the squared values. The squares
+     * are calculated in double precision, so they do not overflow or underflow.
+     * @param summation Summation; the summation algorithm
+     * @return float; the square root of the sum of the squares of the values of all cells
+     * @throws NullPointerException when summation is null
+     */
+    public float normL2(final Summation summation)
+    {
+        Throw.whenNull(summation, "FloatVectorData.normL2: summation is null");
+        return (float) Math.sqrt(summation.sum(storedCount(), (from, count, block, scratch) ->
+        {
+            copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] = block[i] * block[i];
+            }
+        }));
+    }
+
+    /**
+     * Compute and return the L-infinity (maximum) norm of the vector, the largest absolute value. The norm is NaN when a value
+     * is NaN.
+     * @return float; the largest absolute value of all cells, or 0.0 for an empty vector
+     */
+    public float normLinf()
+    {
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] partial = new double[Math.max(1, chunks)];
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double max = 0.0;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    max = Math.max(max, Math.abs(block[i]));
+                }
+            }
+            partial[chunk] = max;
+        });
+        double max = 0.0;
+        for (double p : partial)
+        {
+            max = Math.max(max, p);
+        }
+        return (float) max;
+    }
+
+    /**
+     * Compute and return the dot product of this vector and another vector, the sum of the products of the corresponding
+     * values. When one of the vectors is sparse, only its stored cells are visited, and the cells that are not stored count as
+     * exact zeros, even when the corresponding value of the other vector is infinite or NaN.
+     * @param other FloatVectorData; the other vector
+     * @param summation Summation; the summation algorithm
+     * @return float; the sum of the products of the values of the corresponding cells
+     * @throws NullPointerException when other or summation is null
+     * @throws ValueRuntimeException when the sizes of the vectors differ
+     */
+    public float dot(final FloatVectorData other, final Summation summation) throws ValueRuntimeException
+    {
+        Throw.whenNull(other, "FloatVectorData.dot: other is null");
+        Throw.whenNull(summation, "FloatVectorData.dot: summation is null");
+        checkSizes(other);
+        final FloatVectorData driver = other.storedCount() < storedCount() ? other : this;
+        final FloatVectorData partner = driver == this ? other : this;
+        if (partner.storedCount() == driver.storedCount())
+        {
+            return (float) summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+            {
+                driver.copyStoredSI(from, block, 0, count);
+                partner.copyStoredSI(from, scratch, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    block[i] *= scratch[i];
+                }
+            });
+        }
+        return (float) summation.sum(driver.storedCount(), (from, count, block, scratch) ->
+        {
+            driver.copyStoredSI(from, block, 0, count);
+            for (int i = 0; i < count; i++)
+            {
+                block[i] *= partner.getSI(driver.storedIndex(from + i));
+            }
+        });
+    }
+
+    /**
+     * Return the index of the smallest value. NaN values are ignored; of equal values, the one with the lowest index is
+     * returned. When all values are NaN, 0 is returned.
+     * @return int; the index of the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public int argMin() throws ValueRuntimeException
+    {
+        return extremum(false);
+    }
+
+    /**
+     * Return the index of the largest value. NaN values are ignored; of equal values, the one with the lowest index is
+     * returned. When all values are NaN, 0 is returned.
+     * @return int; the index of the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public int argMax() throws ValueRuntimeException
+    {
+        return extremum(true);
+    }
+
+    /**
+     * Return the smallest value. NaN values are ignored, unless all values are NaN.
+     * @return float; the smallest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public float min() throws ValueRuntimeException
+    {
+        return getSI(argMin());
+    }
+
+    /**
+     * Return the largest value. NaN values are ignored, unless all values are NaN.
+     * @return float; the largest value
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    public float max() throws ValueRuntimeException
+    {
+        return getSI(argMax());
+    }
+
+    /**
+     * Return the index of the smallest or largest value. The chunks of the stored values are searched in parallel, and the
+     * results of the chunks are combined in chunk order; for sparse data, the first cell that is not stored is a candidate as
+     * well.
+     * @param max boolean; true to find the largest value, false to find the smallest value
+     * @return int; the index of the smallest or largest value, or 0 when all values are NaN
+     * @throws ValueRuntimeException when the vector is empty
+     */
+    private int extremum(final boolean max) throws ValueRuntimeException
+    {
+        Throw.when(size() == 0, ValueRuntimeException.class, "FloatVectorData: an empty vector has no minimum or maximum");
+        int stored = storedCount();
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = policy.chunks(stored, stored);
+        double[] bestValues = new double[Math.max(1, chunks)];
+        int[] bestIndices = new int[Math.max(1, chunks)];
+        Arrays.fill(bestIndices, -1);
+        policy.execute(stored, chunks, (chunk, from, to) ->
+        {
+            double[] block = new double[Math.min(Summation.BLOCK, to - from)];
+            double best = Double.NaN;
+            int bestIndex = -1;
+            for (int start = from; start < to; start += Summation.BLOCK)
+            {
+                int count = Math.min(Summation.BLOCK, to - start);
+                copyStoredSI(start, block, 0, count);
+                for (int i = 0; i < count; i++)
+                {
+                    double value = block[i];
+                    if (bestIndex < 0 ? !Double.isNaN(value) : max ? value > best : value < best)
+                    {
+                        best = value;
+                        bestIndex = storedIndex(start + i);
+                    }
+                }
+            }
+            bestValues[chunk] = best;
+            bestIndices[chunk] = bestIndex;
+        });
+        double best = Double.NaN;
+        int bestIndex = -1;
+        for (int chunk = 0; chunk < bestIndices.length; chunk++)
+        {
+            double value = bestValues[chunk];
+            if (bestIndices[chunk] >= 0 && (bestIndex < 0 || (max ? value > best : value < best)))
+            {
+                best = value;
+                bestIndex = bestIndices[chunk];
+            }
+        }
+        if (stored < size())
+        {
+            // the first cell that is not stored; the stored indices are increasing
+            int zeroIndex = 0;
+            while (zeroIndex < stored && storedIndex(zeroIndex) == zeroIndex)
+            {
+                zeroIndex++;
+            }
+            if (bestIndex < 0 || (max ? 0.0 > best : 0.0 < best) || (0.0 == best && zeroIndex < bestIndex))
+            {
+                bestIndex = zeroIndex;
+            }
+        }
+        return bestIndex < 0 ? 0 : bestIndex;
+    }
+
     /* ============================================================================================ */
     /* ================================== CALCULATION FUNCTIONS =================================== */
     /* ============================================================================================ */
@@ -443,6 +921,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public final FloatVectorData incrementBy(final FloatVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            FloatVectorKernels.add(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            FloatVectorKernels.scatterAdd(this.vectorSI, (FloatVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            FloatVectorDataSparse sparse = (FloatVectorDataSparse) this;
+            return sparse.replaceData(FloatVectorKernels.mergeAdd(sparse, (FloatVectorDataSparse) right, false));
+        }
         return assign(new FloatFunction2()
         {
             @Override
@@ -470,6 +964,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public final FloatVectorData decrementBy(final FloatVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            FloatVectorKernels.subtract(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            FloatVectorKernels.scatterSubtract(this.vectorSI, (FloatVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            FloatVectorDataSparse sparse = (FloatVectorDataSparse) this;
+            return sparse.replaceData(FloatVectorKernels.mergeAdd(sparse, (FloatVectorDataSparse) right, true));
+        }
         return assign(new FloatFunction2()
         {
             @Override
@@ -498,6 +1008,27 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public final FloatVectorData multiplyBy(final FloatVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            FloatVectorKernels.multiply(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            FloatVectorKernels.multiplyDense(this.vectorSI, (FloatVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isSparse())
+        {
+            FloatVectorDataSparse sparse = (FloatVectorDataSparse) this;
+            return sparse.replaceData(FloatVectorKernels.mergeMultiply(sparse, (FloatVectorDataSparse) right));
+        }
+        if (isSparse() && right.isDense() && !FloatVectorKernels.hasNonFinite(right.vectorSI))
+        {
+            FloatVectorDataSparse sparse = (FloatVectorDataSparse) this;
+            return sparse.replaceData(FloatVectorKernels.gatherMultiply(sparse, right.vectorSI));
+        }
         assign(new FloatFunction2()
         {
             @Override
@@ -527,6 +1058,22 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
      */
     public final FloatVectorData divideBy(final FloatVectorData right) throws ValueRuntimeException
     {
+        checkSizes(right);
+        if (isDense() && right.isDense())
+        {
+            FloatVectorKernels.divide(this.vectorSI, right.vectorSI, this.vectorSI);
+            return this;
+        }
+        if (isDense() && right.isSparse())
+        {
+            FloatVectorKernels.divideDense(this.vectorSI, (FloatVectorDataSparse) right);
+            return this;
+        }
+        if (isSparse() && right.isDense() && !FloatVectorKernels.hasZeroOrNonFinite(right.vectorSI))
+        {
+            FloatVectorDataSparse sparse = (FloatVectorDataSparse) this;
+            return sparse.replaceData(FloatVectorKernels.gatherDivide(sparse, right.vectorSI));
+        }
         return assign(new FloatFunction2()
         {
             @Override
@@ -537,6 +1084,51 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         }, right);
     }
 
+    /**
+     * Multiply this vector with another vector and add a third vector on a cell-by-cell basis, i.e., calculate
+     * <code>this * factor + addend</code> in one pass. The result is dense. None of the three objects is changed.
+     * @param factor FloatVectorData; the data object to multiply with
+     * @param addend FloatVectorData; the data object to add to the product
+     * @return FloatVectorDataDense; the result as a new dense data object
+     * @throws ValueRuntimeException if vectors have different lengths
+     */
+    public final FloatVectorDataDense multiplyAdd(final FloatVectorData factor, final FloatVectorData addend)
+            throws ValueRuntimeException
+    {
+        checkSizes(factor);
+        checkSizes(addend);
+        float[] out = new float[size()];
+        FloatVectorKernels.fma(denseSI(this), denseSI(factor), denseSI(addend), out);
+        return FloatVectorDataDense.wrap(out);
+    }
+
+    /**
+     * Multiply this vector with a number and add another vector on a cell-by-cell basis, i.e., calculate
+     * <code>this * valueSI + addend</code> in one pass. The result is dense. Neither of the two objects is changed.
+     * @param valueSI float; the value to multiply with
+     * @param addend FloatVectorData; the data object to add to the product
+     * @return FloatVectorDataDense; the result as a new dense data object
+     * @throws ValueRuntimeException if vectors have different lengths
+     */
+    public final FloatVectorDataDense multiplyAdd(final float valueSI, final FloatVectorData addend)
+            throws ValueRuntimeException
+    {
+        checkSizes(addend);
+        float[] out = new float[size()];
+        FloatVectorKernels.fma(denseSI(this), valueSI, denseSI(addend), out);
+        return FloatVectorDataDense.wrap(out);
+    }
+
+    /**
+     * Return the dense SI values of a data object, without copying them when the data object is dense.
+     * @param data FloatVectorData; the data object
+     * @return float[]; the dense SI values, which should not be modified
+     */
+    private static float[] denseSI(final FloatVectorData data)
+    {
+        return data.isDense() ? data.vectorSI : data.getDenseVectorSI();
+    }
+
     /* ============================================================================================ */
     /* =============================== EQUALS, HASHCODE, TOSTRING ================================= */
     /* ============================================================================================ */
@@ -595,8 +1187,18 @@ public abstract class FloatVectorData extends AbstractStorage<FloatVectorData> i
         {
             return compareDenseVectorWithSparseVector((FloatVectorDataDense) other, (FloatVectorDataSparse) this);
         }
-        // Both are dense (both sparse is handled in FloatVectorDataSparse class)
-        return Arrays.equals(this.vectorSI, other.vectorSI);
+        if (this instanceof FloatVectorDataDense && other instanceof FloatVectorDataDense)
+        {
+            // Both are dense (both sparse is handled in FloatVectorDataSparse class)
+            return Arrays.equals(this.vectorSI, other.vectorSI);
+        }
+        // At least one of the two is stored off-heap
+        for (int index = 0; index < this.size(); index++)
+        {
+            if (Float.floatToIntBits(getSI(index)) != Float.floatToIntBits(other.getSI(index)))
+                return false;
+        }
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -1,10 +1,13 @@
 package org.djunits.value.vfloat.vector.data;
 
-import java.util.stream.IntStream;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
+import org.djunits.value.storage.ExecutionPolicy;
 import org.djunits.value.storage.StorageType;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatVectorCellConsumer;
 
 /**
  * Stores dense data for a FloatVector and carries out basic operations.
@@ -31,20 +34,40 @@ public class FloatVectorDataDense extends FloatVectorData
         System.arraycopy(vectorSI, 0, this.vectorSI, 0, vectorSI.length);
     }
 
+    /**
+     * Create a vector with dense data that uses the given array as its storage.
+     * @param vectorSI float[]; the data to store; the array is not copied
+     * @param unused boolean; distinguishes this constructor from the copying constructor
+     */
+    private FloatVectorDataDense(final float[] vectorSI, final boolean unused)
+    {
+        super(StorageType.DENSE);
+        this.vectorSI = vectorSI;
+    }
+
+    /**
+     * Create a vector with dense data that takes over the given array without copying it. The caller should not use the array
+     * anymore after this call.
+     * @param vectorSI float[]; the data to store
+     * @return FloatVectorDataDense; the dense data object that uses the array as its storage
+     */
+    static FloatVectorDataDense wrap(final float[] vectorSI)
+    {
+        return new FloatVectorDataDense(vectorSI, false);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final int cardinality()
     {
-        // this does not copy the data. See http://stackoverflow.com/questions/23106093/how-to-get-a-stream-from-a-float
-        return (int) IntStream.range(0, this.vectorSI.length).parallel().mapToDouble(i -> this.vectorSI[i])
-                .filter(d -> d != 0.0).count();
+        return ExecutionPolicy.current().count(this.vectorSI.length, i -> this.vectorSI[i] != 0.0f);
     }
 
     /** {@inheritDoc} */
     @Override
     public final FloatVectorDataDense assign(final FloatFunction floatFunction)
     {
-        IntStream.range(0, size()).parallel().forEach(i -> this.vectorSI[i] = floatFunction.apply(this.vectorSI[i]));
+        ExecutionPolicy.current().forEach(size(), i -> this.vectorSI[i] = floatFunction.apply(this.vectorSI[i]));
         return this;
     }
 
@@ -54,13 +77,13 @@ public class FloatVectorDataDense extends FloatVectorData
     {
         if (right.isDense())
         {
-            IntStream.range(0, size()).parallel()
-                    .forEach(i -> this.vectorSI[i] = floatFunction2.apply(this.vectorSI[i], right.vectorSI[i]));
+            ExecutionPolicy.current().forEach(size(),
+                    i -> this.vectorSI[i] = floatFunction2.apply(this.vectorSI[i], right.vectorSI[i]));
         }
         else
-        { // right is sparse
-            IntStream.range(0, size()).parallel()
-                    .forEach(i -> this.vectorSI[i] = floatFunction2.apply(this.vectorSI[i], right.getSI(i)));
+        { // right is sparse or off-heap
+            ExecutionPolicy.current().forEach(size(),
+                    i -> this.vectorSI[i] = floatFunction2.apply(this.vectorSI[i], right.getSI(i)));
         }
         return this;
     }
@@ -107,13 +130,54 @@ public class FloatVectorDataDense extends FloatVectorData
         return this.vectorSI.clone();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final FloatVectorCellConsumer consumer)
+    {
+        for (int index = 0; index < this.vectorSI.length; index++)
+        {
+            if (this.vectorSI[index] != 0.0)
+            {
+                consumer.accept(index, this.vectorSI[index]);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final PrimitiveIterator.OfDouble siIterator()
+    {
+        final float[] values = this.vectorSI;
+        return new PrimitiveIterator.OfDouble()
+        {
+            /** index of the next cell to return. */
+            private int cursor = 0;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext()
+            {
+                return this.cursor < values.length;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double nextDouble()
+            {
+                if (this.cursor >= values.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                return values[this.cursor++];
+            }
+        };
+    }
+
     /** {@inheritDoc} */
     @Override
     public final FloatVectorDataDense copy()
     {
-        float[] vCopy = new float[this.vectorSI.length];
-        System.arraycopy(this.vectorSI, 0, vCopy, 0, this.vectorSI.length);
-        return new FloatVectorDataDense(vCopy);
+        return wrap(this.vectorSI.clone());
     }
 
     /** {@inheritDoc} */
@@ -121,9 +185,15 @@ public class FloatVectorDataDense extends FloatVectorData
     public final FloatVectorDataDense plus(final FloatVectorData right)
     {
         checkSizes(right);
-        float[] out = new float[size()];
-        IntStream.range(0, size()).parallel().forEach(i -> out[i] = getSI(i) + right.getSI(i));
-        return new FloatVectorDataDense(out);
+        if (right.isDense())
+        {
+            float[] out = new float[size()];
+            FloatVectorKernels.add(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
+        FloatVectorDataDense result = copy();
+        result.incrementBy(right);
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -131,9 +201,15 @@ public class FloatVectorDataDense extends FloatVectorData
     public final FloatVectorDataDense minus(final FloatVectorData right)
     {
         checkSizes(right);
-        float[] out = new float[size()];
-        IntStream.range(0, size()).parallel().forEach(i -> out[i] = getSI(i) - right.getSI(i));
-        return new FloatVectorDataDense(out);
+        if (right.isDense())
+        {
+            float[] out = new float[size()];
+            FloatVectorKernels.subtract(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
+        FloatVectorDataDense result = copy();
+        result.decrementBy(right);
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -145,9 +221,15 @@ public class FloatVectorDataDense extends FloatVectorData
             // result shall be sparse
             return right.times(this);
         }
-        // Both are dense
         checkSizes(right);
-        return this.copy().multiplyBy(right);
+        if (right.isOffHeap())
+        {
+            return this.copy().multiplyBy(right);
+        }
+        // Both are dense
+        float[] out = new float[size()];
+        FloatVectorKernels.multiply(this.vectorSI, right.vectorSI, out);
+        return wrap(out);
     }
 
     /** {@inheritDoc} */
@@ -155,6 +237,12 @@ public class FloatVectorDataDense extends FloatVectorData
     public final FloatVectorData divide(final FloatVectorData right)
     {
         checkSizes(right);
+        if (right.isDense())
+        {
+            float[] out = new float[size()];
+            FloatVectorKernels.divide(this.vectorSI, right.vectorSI, out);
+            return wrap(out);
+        }
         return this.copy().divideBy(right);
     }
 
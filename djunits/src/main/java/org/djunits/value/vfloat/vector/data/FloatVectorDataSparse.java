@@ -1,12 +1,19 @@
 package org.djunits.value.vfloat.vector.data;
 
+import java.io.IOException;
 import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
+import org.djunits.Throw;
 import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.SparseIndexSort;
 import org.djunits.value.storage.StorageType;
+import org.djunits.value.storage.ValueCodec;
 import org.djunits.value.vfloat.function.FloatFunction;
 import org.djunits.value.vfloat.function.FloatFunction2;
+import org.djunits.value.vfloat.function.FloatVectorCellConsumer;
 
 /**
  * Stores sparse data for a FloatVector and carries out basic operations.
@@ -42,6 +49,63 @@ public class FloatVectorDataSparse extends FloatVectorData
         this.size = size;
     }
 
+    /**
+     * Return the internal index array of the stored values, without copying it.
+     * @return int[]; the indices of the stored values, in ascending order
+     */
+    final int[] getIndices()
+    {
+        return this.indices;
+    }
+
+    /**
+     * Replace the stored values and indices by those of another sparse data object of the same size.
+     * @param other FloatVectorDataSparse; the data object to take the values and indices from
+     * @return FloatVectorDataSparse; this modified data object
+     */
+    final FloatVectorDataSparse replaceData(final FloatVectorDataSparse other)
+    {
+        this.indices = other.indices;
+        this.vectorSI = other.vectorSI;
+        return this;
+    }
+
+    /**
+     * Read sparse data that has been written with encode(...), after the size of the vector.
+     * @param in ValueCodec.Input; the input to read the indices and the values from
+     * @param size int; the size of the vector
+     * @return FloatVectorDataSparse; the sparse data with the indices and values that have been read
+     * @throws IOException on I/O error, or when the indices are not ascending or out of range
+     */
+    static FloatVectorDataSparse decode(final ValueCodec.Input in, final int size) throws IOException
+    {
+        int stored = in.readCount();
+        if (stored > size)
+        {
+            throw new IOException("FloatVectorDataSparse.decode: " + stored + " stored values for a vector of size " + size);
+        }
+        int[] indices = in.readInts(stored);
+        for (int i = 0; i < stored; i++)
+        {
+            if (indices[i] < (i == 0 ? 0 : indices[i - 1] + 1) || indices[i] >= size)
+            {
+                throw new IOException("FloatVectorDataSparse.decode: index " + indices[i]
+                        + " is not ascending or out of range");
+            }
+        }
+        return new FloatVectorDataSparse(in.readFloats(stored), indices, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void encode(final ValueCodec.Output out) throws IOException
+    {
+        out.writeInt(this.size);
+        out.writeInt(this.indices.length);
+        out.writeInts(this.indices, this.indices.length);
+        out.writeFloats(this.vectorSI, this.indices.length);
+    }
+
     /** {@inheritDoc} */
     @Override
     public final int cardinality()
@@ -61,53 +125,42 @@ public class FloatVectorDataSparse extends FloatVectorData
             this.vectorSI = result.vectorSI;
             return this;
         }
-        // The code below relies on the fact that doubleFunction.apply(0d) yields 0d
-        int currentSize = size();
-        if (currentSize > 16)
+        // The code below relies on the fact that floatFunction.apply(0f) yields 0f
+        final float[] values = this.vectorSI;
+        final int[] oldIndices = this.indices;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        int chunks = Math.max(1, policy.chunks(values.length, values.length));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per chunk; second pass: fill the exactly sized result arrays
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            currentSize = 16;
-        }
-        int[] newIndices = new int[currentSize];
-        float[] newValues = new float[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        while (ownIndex < this.indices.length)
-        {
-            int index = this.indices[ownIndex];
-            float value = floatFunction.apply(this.vectorSI[ownIndex]);
-            ownIndex++;
-            if (value != 0f)
+            int count = 0;
+            for (int k = from; k < to; k++)
             {
-                if (nonZeroValues >= currentSize)
+                if (floatFunction.apply(values[k]) != 0f)
                 {
-                    // increase size of arrays
-                    currentSize *= 2;
-                    if (currentSize > size())
-                    {
-                        currentSize = size();
-                    }
-                    int[] newNewIndices = new int[currentSize];
-                    System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                    newIndices = newNewIndices;
-                    float[] newNewValues = new float[currentSize];
-                    System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                    newValues = newNewValues;
+                    count++;
                 }
-                newIndices[nonZeroValues] = index;
-                newValues[nonZeroValues] = value;
-                nonZeroValues++;
             }
-        }
-        if (nonZeroValues < currentSize)
+            offsets[chunk + 1] = count;
+        });
+        accumulate(offsets);
+        int[] newIndices = new int[offsets[chunks]];
+        float[] newValues = new float[offsets[chunks]];
+        policy.execute(values.length, chunks, (chunk, from, to) ->
         {
-            // reduce size of arrays
-            int[] newNewIndices = new int[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            float[] newNewValues = new float[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
-        }
+            int position = offsets[chunk];
+            for (int k = from; k < to; k++)
+            {
+                float value = floatFunction.apply(values[k]);
+                if (value != 0f)
+                {
+                    newIndices[position] = oldIndices[k];
+                    newValues[position] = value;
+                    position++;
+                }
+            }
+        });
         this.indices = newIndices;
         this.vectorSI = newValues;
         return this;
@@ -125,146 +178,137 @@ public class FloatVectorDataSparse extends FloatVectorData
             this.vectorSI = result.vectorSI;
             return this;
         }
-        // The code below relies on the fact that doubleFunction.apply(0d, 0d) yields 0d
+        // The code below relies on the fact that floatFunction.apply(0f, 0f) yields 0f
         checkSizes(right);
-        int currentSize = size();
-        if (currentSize > 16)
-        {
-            currentSize = 16;
-        }
-        int[] newIndices = new int[currentSize];
-        float[] newValues = new float[currentSize];
-        int nonZeroValues = 0;
-        int ownIndex = 0;
-        int otherIndex = 0;
+        ExecutionPolicy policy = ExecutionPolicy.current();
+        long work = (long) this.indices.length + (right.isSparse() ? right.vectorSI.length : this.size);
+        int chunks = Math.max(1, policy.chunks(this.size, work));
+        int[] offsets = new int[chunks + 1];
+        // first pass: count the non-zero results per range of indices; second pass: fill the exactly sized result arrays
+        policy.execute(this.size, chunks,
+                (chunk, from, to) -> offsets[chunk + 1] = mergeRange(floatFunction, right, from, to, null, null, 0));
+        accumulate(offsets);
+        int[] newIndices = new int[offsets[chunks]];
+        float[] newValues = new float[offsets[chunks]];
+        policy.execute(this.size, chunks,
+                (chunk, from, to) -> mergeRange(floatFunction, right, from, to, newIndices, newValues, offsets[chunk]));
+        this.indices = newIndices;
+        this.vectorSI = newValues;
+        return this;
+    }
+
+    /**
+     * Apply a binary operation that yields zero for two zero operands to the cells of a range of indices. The non-zero
+     * results are stored from a given position in the result arrays, or only counted when the result arrays are null.
+     * @param floatFunction FloatFunction2; the binary operation to apply
+     * @param right FloatVectorData; the right operand, sparse, dense or off-heap
+     * @param from int; the first index of the range (inclusive)
+     * @param to int; the last index of the range (exclusive)
+     * @param newIndices int[]; the result indices, or null to only count the non-zero results
+     * @param newValues float[]; the result values, or null to only count the non-zero results
+     * @param start int; the position in the result arrays of the first non-zero result of the range
+     * @return int; the number of non-zero results in the range
+     */
+    private int mergeRange(final FloatFunction2 floatFunction, final FloatVectorData right, final int from, final int to,
+            final int[] newIndices, final float[] newValues, final int start)
+    {
+        int first = from;
+        int last = to;
+        int position = start;
+        int own = lowerBound(this.indices, first);
+        int ownEnd = lowerBound(this.indices, last);
         if (right.isSparse())
-        { // both are sparse, result must be sparse
+        {
             FloatVectorDataSparse other = (FloatVectorDataSparse) right;
-            while (ownIndex < this.indices.length || otherIndex < other.indices.length)
+            int otherIndex = lowerBound(other.indices, first);
+            int otherEnd = lowerBound(other.indices, last);
+            while (own < ownEnd || otherIndex < otherEnd)
             {
-                float value;
+                int ownCell = own < ownEnd ? this.indices[own] : Integer.MAX_VALUE;
+                int otherCell = otherIndex < otherEnd ? other.indices[otherIndex] : Integer.MAX_VALUE;
                 int index;
-                if (ownIndex < this.indices.length && otherIndex < other.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == other.indices[otherIndex])
-                    {
-                        value = floatFunction.apply(this.vectorSI[ownIndex], other.vectorSI[otherIndex]);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                        otherIndex++;
-                    }
-                    else if (this.indices[ownIndex] < other.indices[otherIndex])
-                    {
-                        // we have a non-zero; right has a zero
-                        value = floatFunction.apply(this.vectorSI[ownIndex], 0f);
-                        index = this.indices[ownIndex];
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; right has a non-zero
-                        value = floatFunction.apply(0f, other.vectorSI[otherIndex]);
-                        index = other.indices[otherIndex];
-                        otherIndex++;
-                    }
+                float value;
+                if (ownCell == otherCell)
+                {
+                    value = floatFunction.apply(this.vectorSI[own++], other.vectorSI[otherIndex++]);
+                    index = ownCell;
                 }
-                else if (ownIndex < this.indices.length)
-                { // right has run out of values; we have not
-                    value = floatFunction.apply(this.vectorSI[ownIndex], 0f);
-                    index = this.indices[ownIndex];
-                    ownIndex++;
+                else if (ownCell < otherCell)
+                {
+                    // we have a non-zero; right has a zero
+                    value = floatFunction.apply(this.vectorSI[own++], 0f);
+                    index = ownCell;
                 }
                 else
-                { // we have run out of values; right has not
-                    value = floatFunction.apply(0f, other.vectorSI[otherIndex]);
-                    index = other.indices[otherIndex];
-                    otherIndex++;
+                {
+                    // we have a zero; right has a non-zero
+                    value = floatFunction.apply(0f, other.vectorSI[otherIndex++]);
+                    index = otherCell;
                 }
                 if (value != 0f)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > size())
-                        {
-                            currentSize = size();
-                        }
-                        int[] newNewIndices = new int[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        float[] newNewValues = new float[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
         else
-        { // we are sparse; other is dense, result must be sparse
-            FloatVectorDataDense other = (FloatVectorDataDense) right;
-            while (otherIndex < right.vectorSI.length)
+        {
+            // right is dense or off-heap; visit all cells of the range
+            float[] rightSI = right.isDense() ? right.vectorSI : null;
+            for (int index = first; index < last; index++)
             {
+                float rightValue = rightSI != null ? rightSI[index] : right.getSI(index);
                 float value;
-                int index = otherIndex;
-                if (ownIndex < this.indices.length)
-                { // neither we nor right has run out of values
-                    if (this.indices[ownIndex] == otherIndex)
-                    {
-                        value = floatFunction.apply(this.vectorSI[ownIndex], other.vectorSI[otherIndex]);
-                        ownIndex++;
-                    }
-                    else
-                    {
-                        // we have a zero; other has a value
-                        value = floatFunction.apply(0f, other.vectorSI[otherIndex]);
-                    }
-                    otherIndex++;
+                if (own < ownEnd && this.indices[own] == index)
+                {
+                    value = floatFunction.apply(this.vectorSI[own++], rightValue);
                 }
                 else
-                { // we have run out of values; right has not
-                    value = floatFunction.apply(0f, other.vectorSI[otherIndex]);
-                    otherIndex++;
+                {
+                    value = floatFunction.apply(0f, rightValue);
                 }
                 if (value != 0f)
                 {
-                    if (nonZeroValues >= currentSize)
+                    if (newIndices != null)
                     {
-                        // increase size of arrays
-                        currentSize *= 2;
-                        if (currentSize > size())
-                        {
-                            currentSize = size();
-                        }
-                        int[] newNewIndices = new int[currentSize];
-                        System.arraycopy(newIndices, 0, newNewIndices, 0, newIndices.length);
-                        newIndices = newNewIndices;
-                        float[] newNewValues = new float[currentSize];
-                        System.arraycopy(newValues, 0, newNewValues, 0, newValues.length);
-                        newValues = newNewValues;
+                        newIndices[position] = index;
+                        newValues[position] = value;
                     }
-                    newIndices[nonZeroValues] = index;
-                    newValues[nonZeroValues] = value;
-                    nonZeroValues++;
+                    position++;
                 }
             }
         }
-        if (nonZeroValues < currentSize)
+        return position - start;
+    }
+
+    /**
+     * Turn an array with counts at positions 1 to n into an array of offsets, where position i holds the sum of the counts
+     * before it.
+     * @param offsets int[]; the counts at positions 1 to n, which are replaced by the offsets
+     */
+    private static void accumulate(final int[] offsets)
+    {
+        for (int i = 1; i < offsets.length; i++)
         {
-            // reduce size of arrays
-            int[] newNewIndices = new int[nonZeroValues];
-            System.arraycopy(newIndices, 0, newNewIndices, 0, nonZeroValues);
-            newIndices = newNewIndices;
-            float[] newNewValues = new float[nonZeroValues];
-            System.arraycopy(newValues, 0, newNewValues, 0, nonZeroValues);
-            newValues = newNewValues;
+            offsets[i] += offsets[i - 1];
         }
-        this.indices = newIndices;
-        this.vectorSI = newValues;
-        return this;
+    }
+
+    /**
+     * Return the position of the first stored index that is at least a given index.
+     * @param indices int[]; the stored indices, in increasing order
+     * @param index int; the index to look for
+     * @return int; the position of the first stored index that is at least the given index
+     */
+    private static int lowerBound(final int[] indices, final int index)
+    {
+        int position = Arrays.binarySearch(indices, index);
+        return position >= 0 ? position : -position - 1;
     }
 
     /** {@inheritDoc} */
@@ -293,6 +337,13 @@ public class FloatVectorDataSparse extends FloatVectorData
         return this.size;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    final int storedIndex(final int position)
+    {
+        return this.indices[position];
+    }
+
     /** {@inheritDoc} */
     @Override
     public final float getSI(final int index)
@@ -353,6 +404,60 @@ public class FloatVectorDataSparse extends FloatVectorData
         return toDense().vectorSI;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void forEachNonZero(final FloatVectorCellConsumer consumer)
+    {
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            if (this.vectorSI[k] != 0.0)
+            {
+                consumer.accept(this.indices[k], this.vectorSI[k]);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final PrimitiveIterator.OfDouble siIterator()
+    {
+        final float[] values = this.vectorSI;
+        final int[] storedIndices = this.indices;
+        final int length = this.size;
+        return new PrimitiveIterator.OfDouble()
+        {
+            /** index of the next cell to return. */
+            private int cursor = 0;
+
+            /** position in the stored values of the next stored cell. */
+            private int stored = 0;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext()
+            {
+                return this.cursor < length;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double nextDouble()
+            {
+                if (this.cursor >= length)
+                {
+                    throw new NoSuchElementException();
+                }
+                double value = 0.0;
+                if (this.stored < storedIndices.length && storedIndices[this.stored] == this.cursor)
+                {
+                    value = values[this.stored++];
+                }
+                this.cursor++;
+                return value;
+            }
+        };
+    }
+
     /** {@inheritDoc} */
     @Override
     public final FloatVectorDataSparse copy()
@@ -372,8 +477,7 @@ public class FloatVectorDataSparse extends FloatVectorData
     public static FloatVectorDataSparse instantiate(final float[] valuesSI)
     {
         // determine number of non-null cells
-        int length = (int) IntStream.range(0, valuesSI.length).parallel().mapToDouble(i -> valuesSI[i]).filter(f -> f != 0.0f)
-                .count();
+        int length = ExecutionPolicy.current().count(valuesSI.length, i -> valuesSI[i] != 0.0f);
         float[] sparseSI = new float[length];
         int[] indices = new int[length];
 
@@ -395,10 +499,15 @@ public class FloatVectorDataSparse extends FloatVectorData
     @Override
     public final FloatVectorData plus(final FloatVectorData right)
     {
-        if (right.isDense())
+        if (!right.isSparse())
         {
             return right.plus(this);
         }
+        if (right.isSparse())
+        {
+            checkSizes(right);
+            return FloatVectorKernels.mergeAdd(this, (FloatVectorDataSparse) right, false);
+        }
         return this.copy().incrementBy(right);
     }
 
@@ -410,6 +519,11 @@ public class FloatVectorDataSparse extends FloatVectorData
         {
             return this.toDense().decrementBy(right);
         }
+        if (right.isSparse())
+        {
+            checkSizes(right);
+            return FloatVectorKernels.mergeAdd(this, (FloatVectorDataSparse) right, true);
+        }
         return this.copy().decrementBy(right);
     }
 
@@ -417,6 +531,11 @@ public class FloatVectorDataSparse extends FloatVectorData
     @Override
     public final FloatVectorData times(final FloatVectorData right)
     {
+        if (right.isSparse())
+        {
+            checkSizes(right);
+            return FloatVectorKernels.mergeMultiply(this, (FloatVectorDataSparse) right);
+        }
         return this.copy().multiplyBy(right);
     }
 
@@ -454,14 +573,161 @@ public class FloatVectorDataSparse extends FloatVectorData
         FloatVectorData other = (FloatVectorData) obj;
         if (this.size() != other.size())
             return false;
-        if (other instanceof FloatVectorDataDense)
+        if (!(other instanceof FloatVectorDataSparse))
             return super.equals(other);
-        if (getClass() != obj.getClass())
-            return false;
         // Both are sparse
         if (!Arrays.equals(this.indices, ((FloatVectorDataSparse) other).indices))
             return false;
         return Arrays.equals(this.vectorSI, ((FloatVectorDataSparse) other).vectorSI);
     }
 
+    /**
+     * Open this data for writing: return a builder that starts with the values of this data object. This data object is not
+     * changed by the builder; call build() on the builder to obtain the changed data.
+     * @return Builder; a builder that starts with the values of this data object
+     */
+    public final Builder toBuilder()
+    {
+        Builder builder = new Builder(this.size, Math.max(16, this.indices.length));
+        for (int k = 0; k < this.indices.length; k++)
+        {
+            builder.append(this.indices[k], this.vectorSI[k]);
+        }
+        return builder;
+    }
+
+    /**
+     * Builder for sparse vector data that is filled cell by cell. Setting a value only appends it to an unsorted log that grows
+     * by doubling, so it takes amortized constant time, where setSI on sparse data copies the stored arrays for every cell that
+     * is added or removed. The log is sorted and compacted once, when build() is called. When a cell is set more than once, the
+     * last value counts, and setting a cell to zero removes it.
+     */
+    public static final class Builder
+    {
+        /** the length of the vector. */
+        private final int size;
+
+        /** the indices of the log, in the order in which they were written. */
+        private long[] logIndices;
+
+        /** the SI values of the log, in the order in which they were written. */
+        private float[] logValues;
+
+        /** the number of entries in the log. */
+        private int count = 0;
+
+        /**
+         * Create a builder for sparse vector data of a given length, with all cells zero.
+         * @param size int; the length of the vector
+         * @throws ValueRuntimeException when size is negative
+         */
+        public Builder(final int size) throws ValueRuntimeException
+        {
+            this(size, 16);
+        }
+
+        /**
+         * Create a builder for sparse vector data of a given length, with a log of a given initial capacity.
+         * @param size int; the length of the vector
+         * @param capacity int; the initial capacity of the log
+         * @throws ValueRuntimeException when size is negative
+         */
+        private Builder(final int size, final int capacity) throws ValueRuntimeException
+        {
+            Throw.when(size < 0, ValueRuntimeException.class, "size of vector cannot be negative: %d", size);
+            this.size = size;
+            this.logIndices = new long[capacity];
+            this.logValues = new float[capacity];
+        }
+
+        /**
+         * Set the SI value of a cell.
+         * @param index int; the index of the cell
+         * @param valueSI float; the SI value of the cell; zero removes the cell
+         * @return Builder; this builder for method chaining
+         * @throws ValueRuntimeException when the index is out of range
+         */
+        public Builder set(final int index, final float valueSI) throws ValueRuntimeException
+        {
+            Throw.when(index < 0 || index >= this.size, ValueRuntimeException.class, "index %d out of range [0, %d)", index,
+                    this.size);
+            append(index, valueSI);
+            return this;
+        }
+
+        /**
+         * Return the length of the vector.
+         * @return int; the length of the vector
+         */
+        public int size()
+        {
+            return this.size;
+        }
+
+        /**
+         * Sort and compact the log, and return the result as sparse vector data with exactly sized arrays. The builder can
+         * still be used afterwards; later changes do not affect the returned data.
+         * @return FloatVectorDataSparse; the sparse data with the values that have been set
+         */
+        public FloatVectorDataSparse build()
+        {
+            int[] order = SparseIndexSort.lastWriteOrder(this.logIndices, this.count);
+            int nonZero = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    nonZero++;
+                }
+            }
+            int[] indices = new int[nonZero];
+            float[] values = new float[nonZero];
+            int k = 0;
+            for (int position : order)
+            {
+                if (this.logValues[position] != 0.0)
+                {
+                    indices[k] = (int) this.logIndices[position];
+                    values[k] = this.logValues[position];
+                    k++;
+                }
+            }
+
+            // the log only has to hold the result from now on
+            for (k = 0; k < nonZero; k++)
+            {
+                this.logIndices[k] = indices[k];
+                this.logValues[k] = values[k];
+            }
+            this.count = nonZero;
+            return new FloatVectorDataSparse(values, indices, this.size);
+        }
+
+        /**
+         * Append an entry to the log, doubling the capacity of the log when it is full.
+         * @param index long; the index of the cell
+         * @param valueSI float; the SI value of the cell
+         */
+        private void append(final long index, final float valueSI)
+        {
+            if (this.count == this.logIndices.length)
+            {
+                int capacity = Math.max(16, this.logIndices.length * 2);
+                this.logIndices = Arrays.copyOf(this.logIndices, capacity);
+                this.logValues = Arrays.copyOf(this.logValues, capacity);
+            }
+            this.logIndices[this.count] = index;
+            this.logValues[this.count] = valueSI;
+            this.count++;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString()
+        {
+            return "FloatVectorDataSparse.Builder [size=" + this.size + ", entries=" + this.count + "]";
+        }
+
+    }
+
 }
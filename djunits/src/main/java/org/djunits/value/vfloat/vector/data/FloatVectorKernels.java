@@ -0,0 +1,449 @@
+package org.djunits.value.vfloat.vector.data;
+
+import java.util.Arrays;
+
+import org.djunits.value.storage.ExecutionPolicy;
+
+/**
+ * Primitive kernels for the cell-by-cell arithmetic of FloatVectorData objects. The kernels work directly on the
+ * <code>float[]</code> arrays of the data objects with simple counted loops, which the JIT compiler can unroll and vectorize,
+ * instead of calling a FloatFunction2 and <code>getSI(i)</code> for each element. Dense loops are split in chunks according
+ * to the current ExecutionPolicy. Kernels with a sparse operand only visit the stored cells (scatter and gather), and kernels
+ * with two sparse operands merge the sorted index arrays.
+ * <p>
+ * The results are identical to the results of the generic <code>assign</code> methods. A stored value times or divided by an
+ * implicit zero gives NaN when the stored value is infinite or NaN, so the sparse kernels are only used when such values
+ * cannot change the sparsity pattern; the callers fall back to <code>assign</code> otherwise.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ * @author <a href="https://www.tudelft.nl/staff/p.knoppers/">Peter Knoppers</a>
+ */
+final class FloatVectorKernels
+{
+    /** Do not instantiate. */
+    private FloatVectorKernels()
+    {
+        // Utility class.
+    }
+
+    /* ============================================================================================ */
+    /* ======================================= DENSE-DENSE ======================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Calculate <code>out[i] = a[i] + b[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the left operand
+     * @param b float[]; the right operand
+     * @param out float[]; the array to store the result
+     */
+    static void add(final float[] a, final float[] b, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] + b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] - b[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the left operand
+     * @param b float[]; the right operand
+     * @param out float[]; the array to store the result
+     */
+    static void subtract(final float[] a, final float[] b, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] - b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * b[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the left operand
+     * @param b float[]; the right operand
+     * @param out float[]; the array to store the result
+     */
+    static void multiply(final float[] a, final float[] b, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] / b[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the left operand
+     * @param b float[]; the right operand
+     * @param out float[]; the array to store the result
+     */
+    static void divide(final float[] a, final float[] b, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] / b[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * b[i] + c[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the first factor
+     * @param b float[]; the second factor
+     * @param c float[]; the addend
+     * @param out float[]; the array to store the result
+     */
+    static void fma(final float[] a, final float[] b, final float[] c, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * b[i] + c[i];
+            }
+        });
+    }
+
+    /**
+     * Calculate <code>out[i] = a[i] * factor + c[i]</code>. The output array can be one of the input arrays.
+     * @param a float[]; the first factor
+     * @param factor float; the second factor
+     * @param c float[]; the addend
+     * @param out float[]; the array to store the result
+     */
+    static void fma(final float[] a, final float factor, final float[] c, final float[] out)
+    {
+        ExecutionPolicy.current().forEachChunk(out.length, (chunk, from, to) ->
+        {
+            for (int i = from; i < to; i++)
+            {
+                out[i] = a[i] * factor + c[i];
+            }
+        });
+    }
+
+    /**
+     * Return whether an array contains an infinite or NaN value.
+     * @param a float[]; the array to check
+     * @return boolean; true if the array contains at least one infinite or NaN value
+     */
+    static boolean hasNonFinite(final float[] a)
+    {
+        for (int i = 0; i < a.length; i++)
+        {
+            // (x - x) is 0 for finite values, and NaN for infinite and NaN values
+            if (a[i] - a[i] != 0.0f)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return whether an array contains a zero, infinite or NaN value.
+     * @param a float[]; the array to check
+     * @return boolean; true if the array contains at least one zero, infinite or NaN value
+     */
+    static boolean hasZeroOrNonFinite(final float[] a)
+    {
+        for (int i = 0; i < a.length; i++)
+        {
+            if (a[i] == 0.0f || a[i] - a[i] != 0.0f)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* ============================================================================================ */
+    /* ======================================= DENSE-SPARSE ======================================= */
+    /* ============================================================================================ */
+
+    /**
+     * Add the stored cells of a sparse operand to a dense array: <code>out[indices[k]] += values[k]</code>.
+     * @param out float[]; the dense array, which is modified
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     */
+    static void scatterAdd(final float[] out, final FloatVectorDataSparse sparse)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        for (int k = 0; k < indices.length; k++)
+        {
+            out[indices[k]] += values[k];
+        }
+    }
+
+    /**
+     * Subtract the stored cells of a sparse operand from a dense array: <code>out[indices[k]] -= values[k]</code>.
+     * @param out float[]; the dense array, which is modified
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     */
+    static void scatterSubtract(final float[] out, final FloatVectorDataSparse sparse)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        for (int k = 0; k < indices.length; k++)
+        {
+            out[indices[k]] -= values[k];
+        }
+    }
+
+    /**
+     * Multiply a dense array with a sparse operand; the cells of the dense array where the sparse operand has an implicit zero
+     * are multiplied with 0.0 as well, which keeps the sign of the zero and turns infinite values into NaN.
+     * @param out float[]; the dense array, which is modified
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     */
+    static void multiplyDense(final float[] out, final FloatVectorDataSparse sparse)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        int from = 0;
+        for (int k = 0; k <= indices.length; k++)
+        {
+            int to = k < indices.length ? indices[k] : out.length;
+            for (int i = from; i < to; i++)
+            {
+                out[i] *= 0.0f;
+            }
+            if (k < indices.length)
+            {
+                out[to] *= values[k];
+                from = to + 1;
+            }
+        }
+    }
+
+    /**
+     * Divide a dense array by a sparse operand; the cells of the dense array where the sparse operand has an implicit zero are
+     * divided by 0.0, which results in infinite or NaN values.
+     * @param out float[]; the dense array, which is modified
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     */
+    static void divideDense(final float[] out, final FloatVectorDataSparse sparse)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        int from = 0;
+        for (int k = 0; k <= indices.length; k++)
+        {
+            int to = k < indices.length ? indices[k] : out.length;
+            for (int i = from; i < to; i++)
+            {
+                out[i] /= 0.0f;
+            }
+            if (k < indices.length)
+            {
+                out[to] /= values[k];
+                from = to + 1;
+            }
+        }
+    }
+
+    /**
+     * Multiply the stored cells of a sparse operand with the corresponding cells of a dense operand. The dense operand should
+     * not contain infinite or NaN values, as the product with an implicit zero of the sparse operand would be NaN.
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     * @param dense float[]; the dense operand
+     * @return FloatVectorDataSparse; the sparse product, without cells that became zero
+     */
+    static FloatVectorDataSparse gatherMultiply(final FloatVectorDataSparse sparse, final float[] dense)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        float[] result = new float[values.length];
+        for (int k = 0; k < indices.length; k++)
+        {
+            result[k] = values[k] * dense[indices[k]];
+        }
+        return compact(result, indices.clone(), sparse.size());
+    }
+
+    /**
+     * Divide the stored cells of a sparse operand by the corresponding cells of a dense operand. The dense operand should not
+     * contain zero, infinite or NaN values, as an implicit zero of the sparse operand divided by such a value would be NaN.
+     * @param sparse FloatVectorDataSparse; the sparse operand
+     * @param dense float[]; the dense operand
+     * @return FloatVectorDataSparse; the sparse ratio, without cells that became zero
+     */
+    static FloatVectorDataSparse gatherDivide(final FloatVectorDataSparse sparse, final float[] dense)
+    {
+        final float[] values = sparse.vectorSI;
+        final int[] indices = sparse.getIndices();
+        float[] result = new float[values.length];
+        for (int k = 0; k < indices.length; k++)
+        {
+            result[k] = values[k] / dense[indices[k]];
+        }
+        return compact(result, indices.clone(), sparse.size());
+    }
+
+    /* ============================================================================================ */
+    /* ====================================== SPARSE-SPARSE ======================================= */
+    /* ============================================================================================ */
+
+    /**
+     * Add or subtract two sparse operands of the same size by merging their sorted indices.
+     * @param a FloatVectorDataSparse; the left operand
+     * @param b FloatVectorDataSparse; the right operand
+     * @param subtract boolean; true to subtract the right operand, false to add it
+     * @return FloatVectorDataSparse; the sparse sum or difference, without cells that are zero
+     */
+    static FloatVectorDataSparse mergeAdd(final FloatVectorDataSparse a, final FloatVectorDataSparse b,
+            final boolean subtract)
+    {
+        final float[] aValues = a.vectorSI;
+        final int[] aIndices = a.getIndices();
+        final float[] bValues = b.vectorSI;
+        final int[] bIndices = b.getIndices();
+        int capacity = Math.min(a.size(), aIndices.length + bIndices.length);
+        float[] values = new float[capacity];
+        int[] indices = new int[capacity];
+        float sign = subtract ? -1.0f : 1.0f;
+        int count = 0;
+        int ka = 0;
+        int kb = 0;
+        while (ka < aIndices.length || kb < bIndices.length)
+        {
+            int ia = ka < aIndices.length ? aIndices[ka] : Integer.MAX_VALUE;
+            int ib = kb < bIndices.length ? bIndices[kb] : Integer.MAX_VALUE;
+            float value;
+            int index;
+            if (ia == ib)
+            {
+                value = subtract ? aValues[ka++] - bValues[kb++] : aValues[ka++] + bValues[kb++];
+                index = ia;
+            }
+            else if (ia < ib)
+            {
+                value = aValues[ka++];
+                index = ia;
+            }
+            else
+            {
+                value = sign * bValues[kb++];
+                index = ib;
+            }
+            if (value != 0.0f)
+            {
+                values[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return trim(values, indices, count, a.size());
+    }
+
+    /**
+     * Multiply two sparse operands of the same size by merging their sorted indices. A stored value times an implicit zero of
+     * the other operand is calculated as well, so infinite and NaN values result in NaN as in the generic <code>assign</code>.
+     * @param a FloatVectorDataSparse; the left operand
+     * @param b FloatVectorDataSparse; the right operand
+     * @return FloatVectorDataSparse; the sparse product, without cells that are zero
+     */
+    static FloatVectorDataSparse mergeMultiply(final FloatVectorDataSparse a, final FloatVectorDataSparse b)
+    {
+        final float[] aValues = a.vectorSI;
+        final int[] aIndices = a.getIndices();
+        final float[] bValues = b.vectorSI;
+        final int[] bIndices = b.getIndices();
+        int capacity = Math.min(a.size(), aIndices.length + bIndices.length);
+        float[] values = new float[capacity];
+        int[] indices = new int[capacity];
+        int count = 0;
+        int ka = 0;
+        int kb = 0;
+        while (ka < aIndices.length || kb < bIndices.length)
+        {
+            int ia = ka < aIndices.length ? aIndices[ka] : Integer.MAX_VALUE;
+            int ib = kb < bIndices.length ? bIndices[kb] : Integer.MAX_VALUE;
+            float value;
+            int index;
+            if (ia == ib)
+            {
+                value = aValues[ka++] * bValues[kb++];
+                index = ia;
+            }
+            else if (ia < ib)
+            {
+                value = aValues[ka++] * 0.0f;
+                index = ia;
+            }
+            else
+            {
+                value = 0.0f * bValues[kb++];
+                index = ib;
+            }
+            if (value != 0.0f)
+            {
+                values[count] = value;
+                indices[count] = index;
+                count++;
+            }
+        }
+        return trim(values, indices, count, a.size());
+    }
+
+    /* ============================================================================================ */
+    /* ========================================= HELPERS ========================================== */
+    /* ============================================================================================ */
+
+    /**
+     * Remove the zero values from sparse data arrays, and return the result as sparse data. The arrays are compacted in place.
+     * @param values float[]; the values, which may contain zeros
+     * @param indices int[]; the corresponding indices
+     * @param size int; the size of the vector
+     * @return FloatVectorDataSparse; the sparse data without zero values
+     */
+    static FloatVectorDataSparse compact(final float[] values, final int[] indices, final int size)
+    {
+        int count = 0;
+        for (int k = 0; k < values.length; k++)
+        {
+            if (values[k] != 0.0f)
+            {
+                values[count] = values[k];
+                indices[count] = indices[k];
+                count++;
+            }
+        }
+        return trim(values, indices, count, size);
+    }
+
+    /**
+     * Return sparse data with arrays of exactly the given length.
+     * @param values float[]; the values
+     * @param indices int[]; the indices
+     * @param count int; the number of values and indices to keep
+     * @param size int; the size of the vector
+     * @return FloatVectorDataSparse; the sparse data
+     */
+    private static FloatVectorDataSparse trim(final float[] values, final int[] indices, final int count, final int size)
+    {
+        if (count == values.length)
+        {
+            return new FloatVectorDataSparse(values, indices, size);
+        }
+        return new FloatVectorDataSparse(Arrays.copyOf(values, count), Arrays.copyOf(indices, count), size);
+    }
+
+}
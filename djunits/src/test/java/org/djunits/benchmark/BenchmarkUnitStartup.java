@@ -0,0 +1,91 @@
+package org.djunits.benchmark;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.MassUnit;
+import org.djunits.unit.PressureUnit;
+import org.djunits.unit.quantity.Quantities;
+import org.djunits.unit.quantity.Quantity;
+
+/**
+ * BenchmarkUnitStartup measures the time to initialize all unit classes, the time to look up a few units with SI prefixes for
+ * the first time, which generates just these units with the PrefixedUnitIndex, and the time that it takes to generate all
+ * other units with SI prefixes afterwards. Before the units with SI prefixes were generated on demand, all of this was part of
+ * the initialization of the unit classes. The benchmark has to run in a fresh JVM, since classes are initialized only once.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public final class BenchmarkUnitStartup
+{
+    /** */
+    private BenchmarkUnitStartup()
+    {
+        // Benchmarking class.
+    }
+
+    /**
+     * Find the names of the unit classes in the org.djunits.unit package, without loading them.
+     * @return List&lt;String&gt;; the fully qualified names of the unit classes
+     * @throws URISyntaxException when the location of the package cannot be determined
+     */
+    private static List<String> unitClassNames() throws URISyntaxException
+    {
+        URL url = BenchmarkUnitStartup.class.getClassLoader().getResource("org/djunits/unit");
+        List<String> result = new ArrayList<>();
+        for (String fileName : new File(url.toURI()).list())
+        {
+            if (fileName.endsWith("Unit.class") && !fileName.contains("$"))
+            {
+                result.add("org.djunits.unit." + fileName.substring(0, fileName.length() - ".class".length()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Measure the initialization of the unit classes and the generation of the units with SI prefixes.
+     * @param args String[]; not used
+     * @throws Exception on error
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        List<String> classNames = unitClassNames();
+
+        long t = System.nanoTime();
+        for (String className : classNames)
+        {
+            Class.forName(className);
+        }
+        double tInit = (System.nanoTime() - t) * 1E-6;
+
+        t = System.nanoTime();
+        LengthUnit.BASE.getUnitByAbbreviation("Mm");
+        PressureUnit.BASE.getUnitByAbbreviation("GPa");
+        MassUnit.BASE.getUnitByAbbreviation("Mg");
+        double tLookup = (System.nanoTime() - t) * 1E-6;
+
+        t = System.nanoTime();
+        int units = 0;
+        for (Quantity<?> quantity : Quantities.INSTANCE.getRegistry().values())
+        {
+            units += quantity.getUnitsById().size();
+        }
+        double tGenerate = (System.nanoTime() - t) * 1E-6;
+
+        System.out.println(String.format("initialization of %d unit classes       %8.3f ms", classNames.size(), tInit));
+        System.out.println(String.format("first lookup of 3 prefixed units        %8.3f ms", tLookup));
+        System.out.println(
+                String.format("generation of the SI-prefixed units     %8.3f ms (%d units in total)", tGenerate, units));
+        System.out.println(String.format("startup with eager generation           %8.3f ms   lazy/eager %6.2f",
+                tInit + tLookup + tGenerate, (tInit + tLookup) / (tInit + tLookup + tGenerate)));
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.djunits.benchmark;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+
+/**
+ * BenchmarkVectorKernels compares the loop-based kernels of the vector data classes with the per-element lambda and getSI
+ * dispatch that was used before.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public final class BenchmarkVectorKernels
+{
+    /** the size of the vectors. */
+    private static final int SIZE = 1_000_000;
+
+    /** the number of repetitions per measurement. */
+    private static final int REPEAT = 200;
+
+    /** */
+    private BenchmarkVectorKernels()
+    {
+        // Benchmarking class.
+    }
+
+    /**
+     * Time a task and return the number of seconds per repetition, after a warm-up.
+     * @param task Runnable; the task to time
+     * @return double; the number of seconds per repetition
+     */
+    private static double time(final Runnable task)
+    {
+        for (int i = 0; i < REPEAT / 4; i++)
+        {
+            task.run();
+        }
+        long t = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++)
+        {
+            task.run();
+        }
+        return (System.nanoTime() - t) * 1E-9 / REPEAT;
+    }
+
+    /**
+     * Print the timing of the old and new way of calculating.
+     * @param name String; the name of the operation
+     * @param tOld double; the seconds per repetition of the per-element dispatch
+     * @param tNew double; the seconds per repetition of the kernel
+     */
+    private static void report(final String name, final double tOld, final double tNew)
+    {
+        System.out.println(String.format("%-28s lambda/getSI %8.3f ms   kernel %8.3f ms   speedup %6.2fx", name, tOld * 1E3,
+                tNew * 1E3, tOld / tNew));
+    }
+
+    /**
+     * Calculate a new dense data object the way the data classes did before the kernels: a parallel stream that calls a lambda
+     * with getSI for each cell, followed by the copy in the constructor of the data object.
+     * @param cell IntToDoubleFunction; the calculation for one cell
+     * @return DoubleVectorData; the result
+     */
+    private static DoubleVectorData perElement(final IntToDoubleFunction cell)
+    {
+        double[] out = new double[SIZE];
+        IntStream.range(0, SIZE).parallel().forEach(i -> out[i] = cell.applyAsDouble(i));
+        return DoubleVectorData.instantiate(out, IdentityScale.SCALE, StorageType.DENSE);
+    }
+
+    /**
+     * @param args String[]; not used
+     */
+    public static void main(final String[] args)
+    {
+        Random random = new Random(1234L);
+        DoubleVectorData dense1 =
+                DoubleVectorData.instantiate(RandomData.vector(random, SIZE, 0.0, 0.5, 1.5), IdentityScale.SCALE,
+                        StorageType.DENSE);
+        DoubleVectorData dense2 =
+                DoubleVectorData.instantiate(RandomData.vector(random, SIZE, 0.0, 0.5, 1.5), IdentityScale.SCALE,
+                        StorageType.DENSE);
+        DoubleVectorData dense3 =
+                DoubleVectorData.instantiate(RandomData.vector(random, SIZE, 0.0, 0.5, 1.5), IdentityScale.SCALE,
+                        StorageType.DENSE);
+        DoubleVectorData sparse1 =
+                DoubleVectorData.instantiate(RandomData.vector(random, SIZE, 0.99, 0.5, 1.5), IdentityScale.SCALE,
+                        StorageType.SPARSE);
+        DoubleVectorData sparse2 =
+                DoubleVectorData.instantiate(RandomData.vector(random, SIZE, 0.99, 0.5, 1.5), IdentityScale.SCALE,
+                        StorageType.SPARSE);
+
+        report("dense + dense", time(() -> perElement(i -> dense1.getSI(i) + dense2.getSI(i))),
+                time(() -> dense1.plus(dense2)));
+        report("dense * dense", time(() -> perElement(i -> dense1.getSI(i) * dense2.getSI(i))),
+                time(() -> dense1.times(dense2)));
+        report("dense + sparse", time(() -> perElement(i -> dense1.getSI(i) + sparse1.getSI(i))),
+                time(() -> dense1.plus(sparse1)));
+        report("sparse + sparse", time(() -> perElement(i -> sparse1.getSI(i) + sparse2.getSI(i))),
+                time(() -> sparse1.plus(sparse2)));
+        report("sparse * dense", time(() -> perElement(i -> sparse1.getSI(i) * dense1.getSI(i))),
+                time(() -> sparse1.times(dense1)));
+        report("dense * dense + dense", time(() -> perElement(i -> dense1.getSI(i) * dense2.getSI(i) + dense3.getSI(i))),
+                time(() -> dense1.multiplyAdd(dense2, dense3)));
+
+        FloatVectorData fdense1 = FloatVectorData.instantiate(toFloat(RandomData.vector(random, SIZE, 0.0, 0.5, 1.5)),
+                IdentityScale.SCALE, StorageType.DENSE);
+        FloatVectorData fdense2 = FloatVectorData.instantiate(toFloat(RandomData.vector(random, SIZE, 0.0, 0.5, 1.5)),
+                IdentityScale.SCALE, StorageType.DENSE);
+        report("float dense + dense", time(() ->
+        {
+            float[] fout = new float[SIZE];
+            IntStream.range(0, SIZE).parallel().forEach(i -> fout[i] = fdense1.getSI(i) + fdense2.getSI(i));
+            FloatVectorData.instantiate(fout, IdentityScale.SCALE, StorageType.DENSE);
+        }), time(() -> fdense1.plus(fdense2)));
+    }
+
+    /**
+     * Convert double data to float data.
+     * @param data double[]; the double data
+     * @return float[]; the float data
+     */
+    private static float[] toFloat(final double[] data)
+    {
+        float[] result = new float[data.length];
+        for (int i = 0; i < data.length; i++)
+        {
+            result[i] = (float) data[i];
+        }
+        return result;
+    }
+
+}
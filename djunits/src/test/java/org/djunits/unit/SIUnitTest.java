@@ -0,0 +1,125 @@
+package org.djunits.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.djunits.unit.si.SIDimensions;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.SIScalar;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djunits.value.vdouble.scalar.base.DoubleScalar;
+import org.junit.Test;
+
+/**
+ * Test the cached resolution of the SI units of products and quotients.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class SIUnitTest
+{
+    /**
+     * Test that products and quotients resolve to the same units as a lookup of the resulting dimensions.
+     * @throws UnitException on error
+     */
+    @Test
+    public void testProductAndQuotient() throws UnitException
+    {
+        SIDimensions length = LengthUnit.SI.getQuantity().getSiDimensions();
+        SIDimensions time = DurationUnit.SI.getQuantity().getSiDimensions();
+        SIDimensions mass = MassUnit.SI.getQuantity().getSiDimensions();
+
+        SIUnit area = SIUnit.product(length, length);
+        assertEquals(SIUnit.of("m2"), area);
+        assertSame(area, SIUnit.product(length, length));
+        assertSame(area, SIUnit.product(new SIDimensions(0, 0, 0, 1, 0, 0, 0, 0, 0), LengthUnit.METER.getQuantity()
+                .getSiDimensions()));
+        assertEquals(SIUnit.of("m/s"), SIUnit.quotient(length, time));
+        assertEquals(SIUnit.of("s/m"), SIUnit.quotient(time, length));
+        assertEquals(SIUnit.of("ms"), SIUnit.product(length, time));
+        assertEquals(SIUnit.of("kgm"), SIUnit.product(length, mass));
+        assertEquals(SIUnit.of("1"), SIUnit.quotient(mass, mass));
+
+        // dimensions without a predefined quantity get a generated unit, which is cached as well
+        SIDimensions odd = new SIDimensions(0, 0, 3, 0, 0, 0, 0, 0, 5);
+        SIUnit generated = SIUnit.quotient(odd, length);
+        assertEquals("kg3cd5/m", generated.toString());
+        assertSame(generated, SIUnit.quotient(odd, length));
+        assertEquals(generated, Unit.lookupOrCreateUnitWithSIDimensions(odd.minus(length)));
+
+        Length l = Length.instantiateSI(3.0);
+        Speed v = Speed.instantiateSI(2.0);
+        SIScalar product = DoubleScalar.multiply(l, v);
+        assertEquals(6.0, product.si, 0.0);
+        assertEquals(SIUnit.of("m2/s"), product.getDisplayUnit());
+        SIScalar quotient = DoubleScalar.divide(l, v);
+        assertEquals(1.5, quotient.si, 0.0);
+        assertEquals("s", quotient.getDisplayUnit().toString());
+    }
+
+    /**
+     * Test that products and quotients of more pairs of dimensions than the cache holds, and of dimensions beyond the packed
+     * range, resolve to the same units as a lookup of the resulting dimensions.
+     */
+    @Test
+    public void testCacheCapacity()
+    {
+        SIDimensions length = LengthUnit.SI.getQuantity().getSiDimensions();
+        for (int round = 0; round < 2; round++)
+        {
+            for (int i = 0; i < 2 * SIUnit.MAX_CACHED_OPERATIONS; i++)
+            {
+                SIDimensions left = new SIDimensions(0, 0, i % 9 - 4, 0, i / 9 % 9 - 4, 0, i / 81 % 5, 0, i / 405 % 5);
+                assertSame(Unit.lookupOrCreateUnitWithSIDimensions(left.plus(length)), SIUnit.product(left, length));
+                assertSame(Unit.lookupOrCreateUnitWithSIDimensions(left.minus(length)), SIUnit.quotient(left, length));
+            }
+        }
+
+        // dimensions that are not packed are cached by their SI dimensions
+        SIDimensions large = new SIDimensions(0, 0, 0, 100, 0, 0, 0, 0, 0);
+        assertEquals(SIDimensions.NOT_PACKED, large.getPacked());
+        SIUnit largeUnit = SIUnit.quotient(large, length);
+        assertEquals(new SIDimensions(0, 0, 0, 99, 0, 0, 0, 0, 0), largeUnit.getQuantity().getSiDimensions());
+        assertSame(largeUnit, SIUnit.quotient(large, length));
+        assertSame(largeUnit, SIUnit.product(large, length.invert()));
+    }
+
+    /**
+     * Test that concurrent products of the same dimensions resolve to the same unit.
+     * @throws Exception on error
+     */
+    @Test
+    public void testConcurrentProducts() throws Exception
+    {
+        SIDimensions left = new SIDimensions(0, 0, 0, 2, 0, 7, 0, 0, 0);
+        SIDimensions right = new SIDimensions(0, 0, 0, 0, -3, 0, 0, 1, 0);
+        SIUnit expected = SIUnit.product(left, right);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<SIUnit>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+            {
+                futures.add(executor.submit(() -> SIUnit.product(left, right)));
+            }
+            for (Future<SIUnit> future : futures)
+            {
+                assertSame(expected, future.get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.djunits.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.djunits.unit.quantity.Quantity;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.unit.si.SIDimensions;
+import org.djunits.unit.si.SIPrefixes;
+import org.djunits.unit.unitsystem.UnitSystem;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.vdouble.scalar.Length;
+import org.junit.Test;
+
+/**
+ * Test that registered units, quantities and SI dimensions are serialized by reference, and resolve to the registered
+ * instances.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class UnitSerializationTest
+{
+    /**
+     * Serialize an object.
+     * @param object Object; the object to serialize
+     * @return byte[]; the serialized object
+     * @throws IOException on I/O error
+     */
+    private static byte[] serialize(final Object object) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serialize and deserialize an object.
+     * @param object T; the object to serialize
+     * @return T; the deserialized object
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when the class of a deserialized object cannot be found
+     * @param <T> the type of the object
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T object) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(object))))
+        {
+            return (T) in.readObject();
+        }
+    }
+
+    /**
+     * Test that registered units, quantities and dimensions resolve to the same instances.
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when the class of a deserialized object cannot be found
+     * @throws UnitException when the SI unit cannot be parsed
+     */
+    @Test
+    public void testIdentity() throws IOException, ClassNotFoundException, UnitException
+    {
+        assertSame(LengthUnit.KILOMETER, roundTrip(LengthUnit.KILOMETER));
+        assertSame(LengthUnit.NANOMETER, roundTrip(LengthUnit.NANOMETER));
+        assertSame(TemperatureUnit.DEGREE_CELSIUS, roundTrip(TemperatureUnit.DEGREE_CELSIUS));
+        assertSame(LengthUnit.BASE, roundTrip(LengthUnit.BASE));
+        SIUnit siUnit = SIUnit.of("kgm/s2");
+        assertSame(siUnit, roundTrip(siUnit));
+        assertSame(siUnit.getQuantity(), roundTrip(siUnit.getQuantity()));
+        assertSame(LengthUnit.BASE.getSiDimensions(), roundTrip(LengthUnit.BASE.getSiDimensions()));
+        assertSame(siUnit.getQuantity().getSiDimensions(), roundTrip(new SIDimensions(0, 0, 1, 1, -2, 0, 0, 0, 0)));
+
+        // dimensions without a quantity are not made canonical when they are deserialized
+        SIDimensions dimensions = SIDimensions.of("kg2m3/s5");
+        assertEquals(dimensions, roundTrip(dimensions));
+        assertNotSame(roundTrip(dimensions), roundTrip(dimensions));
+        // once the dimensions are interned, for instance by a new quantity, they resolve to the canonical instance
+        assertSame(dimensions.intern(), roundTrip(dimensions));
+
+        Length length = new Length(12.5, LengthUnit.KILOMETER);
+        Length deserialized = roundTrip(length);
+        assertEquals(length, deserialized);
+        assertSame(LengthUnit.KILOMETER, deserialized.getDisplayUnit());
+    }
+
+    /**
+     * Test that a unit that is serialized by reference is much smaller than a unit with all its fields, and that a quantity
+     * that is not registered is still serialized with all its fields.
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when the class of a deserialized object cannot be found
+     */
+    @Test
+    public void testPayload() throws IOException, ClassNotFoundException
+    {
+        assertTrue(LengthUnit.BASE.isRegistered());
+        assertTrue(serialize(LengthUnit.KILOMETER).length + " bytes", serialize(LengthUnit.KILOMETER).length < 1000);
+
+        Quantity<LengthUnit> quantity = new Quantity<>("Unregistered", LengthUnit.BASE.getSiDimensions());
+        assertFalse(quantity.isRegistered());
+        Quantity<LengthUnit> copy = roundTrip(quantity);
+        assertNotSame(quantity, copy);
+        assertEquals(quantity.getName(), copy.getName());
+        assertSame(quantity.getSiDimensions(), copy.getSiDimensions());
+
+        // asking whether a quantity of SIUnits is registered does not create a unit for its dimensions
+        SIDimensions dimensions = new SIDimensions(0, 0, 3, 0, 0, 0, 0, 7, 0);
+        Quantity<SIUnit> siQuantity = new Quantity<>("Unlisted", dimensions);
+        new SIUnit().build(new Unit.Builder<SIUnit>().setId("unlisted").setName("unlisted").setQuantity(siQuantity)
+                .setScale(IdentityScale.SCALE).setUnitSystem(UnitSystem.SI_DERIVED).setSiPrefixes(SIPrefixes.NONE, 1.0));
+        assertFalse(siQuantity.isRegistered());
+        assertNull(Unit.lookupUnitWithSIDimensions(dimensions));
+        assertNotSame(siQuantity, roundTrip(siQuantity));
+        assertNull(Unit.lookupUnitWithSIDimensions(dimensions));
+    }
+
+}
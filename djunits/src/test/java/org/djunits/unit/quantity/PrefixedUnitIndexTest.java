@@ -0,0 +1,95 @@
+package org.djunits.unit.quantity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.Unit;
+import org.djunits.unit.util.UNITS;
+import org.junit.Test;
+
+/**
+ * Test the precomputed index of the units with SI prefixes.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class PrefixedUnitIndexTest
+{
+    /**
+     * Test that the index in the resource contains all generated units of the standard unit classes, so it is up to date.
+     * @throws IOException on error
+     */
+    @Test
+    public void testResource() throws IOException
+    {
+        @SuppressWarnings("unused")
+        AreaUnit junk = UNITS.ACRE; // force loading of all units
+        PrefixedUnitIndex index;
+        try (InputStream stream = PrefixedUnitIndex.class.getResourceAsStream(PrefixedUnitIndex.RESOURCE))
+        {
+            assertNotNull("the resource " + PrefixedUnitIndex.RESOURCE + " should exist", stream);
+            index = PrefixedUnitIndex.read(stream);
+        }
+        assertTrue(index.getUnitClassNames().contains(LengthUnit.class.getName()));
+        assertArrayEquals(new String[] {"m", "M"}, index.get(LengthUnit.class.getName(), "Mm"));
+        assertNull(index.get(LengthUnit.class.getName(), "in"));
+        assertNull(index.get("no.such.Unit", "Mm"));
+
+        for (String unitClassName : index.getUnitClassNames())
+        {
+            String simpleName = unitClassName.substring(unitClassName.lastIndexOf('.') + 1);
+            Quantity<?> quantity = Quantities.INSTANCE.getQuantity(simpleName);
+            assertNotNull(simpleName, quantity);
+            for (Unit<?> unit : quantity.getUnitsById().values())
+            {
+                if (unit.isGenerated())
+                {
+                    String[] origin = index.get(unitClassName, unit.getId());
+                    assertNotNull("generated unit " + unit.getId() + " of " + simpleName + " is not in the index; "
+                            + "run GeneratePrefixedUnitIndex of djunits-generator", origin);
+                    assertNotNull(quantity.getUnitById(origin[0]));
+                    for (String abbreviation : unit.getAbbreviations())
+                    {
+                        assertNotNull(abbreviation, index.get(unitClassName, abbreviation));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that an index that is written can be read back.
+     * @throws IOException on error
+     */
+    @Test
+    public void testWriteRead() throws IOException
+    {
+        assertSame(LengthUnit.METER, LengthUnit.BASE.getUnitById("m"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrefixedUnitIndex.write(out);
+        PrefixedUnitIndex index = PrefixedUnitIndex.read(new ByteArrayInputStream(out.toByteArray()));
+        assertArrayEquals(new String[] {"m", "M"}, index.get(LengthUnit.class.getName(), "Mm"));
+        assertArrayEquals(new String[] {"m", "mu"}, index.get(LengthUnit.class.getName(), "mum"));
+        assertNull(index.get(LengthUnit.class.getName(), "km2"));
+
+        // another version of the format results in an empty index
+        byte[] bytes = out.toByteArray();
+        bytes[3]++;
+        index = PrefixedUnitIndex.read(new ByteArrayInputStream(bytes));
+        assertFalse(index.getUnitClassNames().contains(LengthUnit.class.getName()));
+    }
+
+}
@@ -1,11 +1,19 @@
 package org.djunits.unit.quantity;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.Field;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.MagneticFluxUnit;
 import org.djunits.unit.Unit;
 import org.djunits.unit.scale.IdentityScale;
 import org.djunits.unit.scale.LinearScale;
@@ -142,6 +150,163 @@ public class QuantityTest
         Quantities.INSTANCE.unregister(QUnit.BASE); // should unregister
     }
 
+    /**
+     * Test that the units with SI prefixes are generated when they are looked up for the first time.
+     * @throws Exception on error
+     */
+    @Test
+    public void testLazyPrefixedUnits() throws Exception
+    {
+        Field pending = Quantity.class.getDeclaredField("prefixedUnitsPending");
+        pending.setAccessible(true);
+        Quantity<LazyUnit> quantity = LazyUnit.BASE;
+        assertTrue("prefixed units are not generated when the units are registered", (boolean) pending.get(quantity));
+        assertSame(LazyUnit.KILOLAZY, quantity.getUnitById("kL"));
+        assertSame(LazyUnit.SI, quantity.getUnitByAbbreviation("L"));
+        assertTrue("lookups of registered units do not generate prefixed units", (boolean) pending.get(quantity));
+
+        LazyUnit megaLazy = quantity.getUnitById("ML");
+        assertFalse("a lookup of a prefixed unit generates the prefixed units", (boolean) pending.get(quantity));
+        assertNotNull(megaLazy);
+        assertTrue(megaLazy.isGenerated());
+        assertEquals(1.0E6, megaLazy.getScale().toStandardUnit(1.0), 1.0E-6);
+        assertSame(megaLazy, quantity.getUnitByAbbreviation("ML"));
+        assertEquals(1.0E-3, quantity.getUnitByAbbreviation("mL").getScale().toStandardUnit(1.0), 1.0E-12);
+
+        // the explicitly registered unit wins over the generated one, also when it was registered before the generation
+        assertSame(LazyUnit.KILOLAZY, quantity.getUnitById("kL"));
+        assertSame(LazyUnit.KILOLAZY, quantity.getUnitsByAbbreviation().get("kL"));
+        assertEquals(21, quantity.getUnitsById().size());
+        Quantities.INSTANCE.unregister(LazyUnit.BASE);
+    }
+
+    /**
+     * Test that a lookup of an unknown or composite abbreviation does not generate the units with SI prefixes of a quantity of
+     * which the PrefixedUnitIndex contains the units, and that a lookup of a unit in the index only generates that unit.
+     * @throws Exception on error
+     */
+    @Test
+    public void testIndexedPrefixedUnits() throws Exception
+    {
+        Field pending = Quantity.class.getDeclaredField("prefixedUnitsPending");
+        pending.setAccessible(true);
+        Quantity<MagneticFluxUnit> quantity = MagneticFluxUnit.BASE;
+        assertSame(MagneticFluxUnit.WEBER, quantity.getUnitById("Wb"));
+        assertTrue((boolean) pending.get(quantity));
+        int count = quantity.getRegistrationCount();
+        assertNull(quantity.getUnitByAbbreviation("kg.m/s^2"));
+        assertNull(quantity.getUnitByAbbreviation("Wbb"));
+        assertNull(quantity.getUnitById("Wbb"));
+        assertEquals("a miss does not generate the units with SI prefixes", count, quantity.getRegistrationCount());
+        assertTrue((boolean) pending.get(quantity));
+
+        MagneticFluxUnit kiloWeber = quantity.getUnitByAbbreviation("k.Wb");
+        assertNotNull(kiloWeber);
+        assertTrue(kiloWeber.isGenerated());
+        assertEquals(1.0E3, kiloWeber.getScale().toStandardUnit(1.0), 1.0E-9);
+        assertTrue("only the unit in the index is generated", quantity.getRegistrationCount() < count + 5);
+        assertTrue((boolean) pending.get(quantity));
+    }
+
+    /**
+     * Test the lookup of abbreviations that are not registered as such, which is cached, also when there is no unit.
+     */
+    @Test
+    public void testResolvedAbbreviations()
+    {
+        Quantity<LengthUnit> quantity = LengthUnit.BASE;
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("k m"));
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("k m"));
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("k.m"));
+        assertSame(LengthUnit.METER, quantity.getUnitByAbbreviation("m^"));
+        assertSame(LengthUnit.METER, quantity.of("m^"));
+        assertNull(quantity.getUnitByAbbreviation("cacheTest"));
+        assertNull(quantity.getUnitByAbbreviation("cacheTest"));
+        assertNull(quantity.getUnitByAbbreviation("cache.Test"));
+        assertNull(quantity.getUnitByAbbreviation("kg"));
+
+        // registering a unit invalidates the cached misses, and unregistering it the cached hits
+        LengthUnit unit = LengthUnit.METER.deriveLinear(1.5, "cacheTest", "cache test");
+        assertSame(unit, quantity.getUnitByAbbreviation("cacheTest"));
+        assertSame(unit, quantity.getUnitByAbbreviation("cache.Test"));
+        quantity.unregister(unit);
+        assertNull(quantity.getUnitByAbbreviation("cacheTest"));
+        assertNull(quantity.getUnitByAbbreviation("cache.Test"));
+
+        // the cache is bounded
+        for (int i = 0; i < 2 * Quantity.MAX_RESOLVED_ABBREVIATIONS; i++)
+        {
+            assertNull(quantity.getUnitByAbbreviation("unknown" + i));
+        }
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("k m"));
+    }
+
+    /**
+     * Test that the cache of resolved abbreviations keeps caching new spellings when it is full, and that the table for lookups
+     * of a slice of a CharSequence is only rebuilt when a unit is registered or unregistered.
+     * @throws Exception on error
+     */
+    @Test
+    public void testResolvedAbbreviationCache() throws Exception
+    {
+        ResolvedAbbreviations cache = new ResolvedAbbreviations(4);
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put("spelling" + i, Integer.valueOf(i));
+            assertEquals(Integer.valueOf(i), cache.get("spelling" + i));
+            assertEquals(Integer.valueOf(i), cache.get("[spelling" + i + "]", 1, 9 + Integer.toString(i).length()));
+        }
+        assertNull(cache.get("spelling"));
+        assertNull(cache.get("spelling", 0, 5));
+
+        Quantity<LengthUnit> quantity = LengthUnit.BASE;
+        Field tableField = Quantity.class.getDeclaredField("abbreviationTable");
+        tableField.setAccessible(true);
+        String text = "[k.m][cacheTest2][km]";
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation(text, 1, 4));
+        Object table = tableField.get(quantity);
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation(text, 1, 4));
+        assertNull(quantity.getUnitByAbbreviation(text, 6, 16));
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation(text, 18, 20));
+        assertSame("a resolved spelling does not rebuild the table", table, tableField.get(quantity));
+
+        LengthUnit unit = LengthUnit.METER.deriveLinear(2.5, "cacheTest2", "cache test 2");
+        assertSame(unit, quantity.getUnitByAbbreviation(text, 6, 16));
+        assertNotSame("a registration rebuilds the table", table, tableField.get(quantity));
+        quantity.unregister(unit);
+        assertNull(quantity.getUnitByAbbreviation(text, 6, 16));
+
+        // new spellings are still cached after many different spellings
+        for (int i = 0; i < 2 * Quantity.MAX_RESOLVED_ABBREVIATIONS; i++)
+        {
+            assertNull(quantity.getUnitByAbbreviation("unknown" + i));
+        }
+        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("k . m"));
+        Field resolvedField = Quantity.class.getDeclaredField("resolvedAbbreviations");
+        resolvedField.setAccessible(true);
+        assertSame(LengthUnit.KILOMETER, ((ResolvedAbbreviations) resolvedField.get(quantity)).get("k . m"));
+    }
+
+    /** */
+    protected static class LazyUnit extends Unit<LazyUnit>
+    {
+        /** */
+        private static final long serialVersionUID = 1L;
+
+        /** */
+        public static final Quantity<LazyUnit> BASE = new Quantity<>("LazyUnit", "kgm5/s5A3");
+
+        /** */
+        public static final LazyUnit SI = new LazyUnit().build(new Unit.Builder<LazyUnit>().setId("L").setName("lazy")
+                .setScale(IdentityScale.SCALE).setSiPrefixes(SIPrefixes.UNIT, 1.0).setQuantity(BASE)
+                .setUnitSystem(UnitSystem.OTHER));
+
+        /** */
+        public static final LazyUnit KILOLAZY = new LazyUnit().build(new Unit.Builder<LazyUnit>().setId("kL")
+                .setName("kilolazy").setScale(new LinearScale(1000.0)).setSiPrefixes(SIPrefixes.NONE, 1.0).setQuantity(BASE)
+                .setUnitSystem(UnitSystem.OTHER));
+    }
+
     /** */
     protected static class QUnit extends Unit<QUnit>
     {
@@ -0,0 +1,144 @@
+package org.djunits.unit.quantity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SIUnit;
+import org.djunits.unit.Unit;
+import org.djunits.unit.si.SIDimensions;
+import org.junit.Test;
+
+/**
+ * Test the unit and quantity registries under concurrent lookups, registrations and creation of SI units.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class RegistryConcurrencyTest
+{
+    /** the number of threads. */
+    private static final int THREADS = 32;
+
+    /**
+     * Test that many threads that ask for the same new SI dimensions get the same unit, which is registered once.
+     * @throws Exception on error
+     */
+    @Test
+    public void testCreateSIUnits() throws Exception
+    {
+        int dimensionCount = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SIUnit[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    SIUnit[] units = new SIUnit[dimensionCount];
+                    for (int i = 0; i < dimensionCount; i++)
+                    {
+                        // dimensions that no predefined quantity has
+                        units[i] = Unit.lookupOrCreateUnitWithSIDimensions(new SIDimensions(0, 0, 0, 0, 0, 4, -5, 3, i + 1));
+                    }
+                    return units;
+                }));
+            }
+            start.countDown();
+            SIUnit[] expected = futures.get(0).get();
+            for (Future<SIUnit[]> future : futures)
+            {
+                SIUnit[] units = future.get();
+                for (int i = 0; i < dimensionCount; i++)
+                {
+                    assertSame(expected[i], units[i]);
+                }
+            }
+            for (int i = 0; i < dimensionCount; i++)
+            {
+                SIDimensions dimensions = new SIDimensions(0, 0, 0, 0, 0, 4, -5, 3, i + 1);
+                assertEquals(1, Quantities.INSTANCE.getQuantities(dimensions).size());
+                assertSame(expected[i], Unit.lookupOrCreateUnitWithSIDimensions(dimensions));
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test lookups of units while another thread registers and unregisters units of the same quantity.
+     * @throws Exception on error
+     */
+    @Test
+    public void testLookupsDuringRegistration() throws Exception
+    {
+        int unitCount = 500;
+        Quantity<LengthUnit> quantity = LengthUnit.BASE;
+        int registered = quantity.getUnitsById().size();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() ->
+            {
+                start.await();
+                List<LengthUnit> units = new ArrayList<>();
+                for (int i = 0; i < unitCount; i++)
+                {
+                    units.add(LengthUnit.METER.deriveLinear(1.0 + i, "concurrentTest" + i, "concurrent test " + i));
+                }
+                for (LengthUnit unit : units)
+                {
+                    quantity.unregister(unit);
+                }
+                return null;
+            }));
+            for (int thread = 1; thread < THREADS; thread++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < 2000; i++)
+                    {
+                        assertSame(LengthUnit.KILOMETER, quantity.getUnitByAbbreviation("km"));
+                        assertSame(LengthUnit.METER, quantity.getUnitById("m"));
+                        LengthUnit unit = quantity.getUnitById("concurrentTest" + (i % unitCount));
+                        if (unit != null)
+                        {
+                            assertEquals(1.0 + i % unitCount, unit.getScale().toStandardUnit(1.0), 0.0);
+                        }
+                        assertNotNull(quantity.getUnitsByAbbreviation().get("mm"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+            assertEquals(registered, quantity.getUnitsById().size());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.djunits.unit.quantity;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.util.UNITS;
+import org.junit.Test;
+
+/**
+ * Test the diagnostic of the memory that the unit registry retains, and the sharing of strings in the units.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class RegistryFootprintTest
+{
+    /**
+     * Test the footprint of the registry.
+     */
+    @Test
+    public void testFootprint()
+    {
+        @SuppressWarnings("unused")
+        AreaUnit junk = UNITS.ACRE; // force loading of all units
+        RegistryFootprint footprint = RegistryFootprint.measure();
+        assertTrue(footprint.toString(), footprint.getQuantityCount() >= 45);
+        assertTrue(footprint.toString(), footprint.getUnitCount() > 300);
+        assertTrue(footprint.toString(), footprint.getRegistrationCount() > footprint.getUnitCount());
+        assertTrue(footprint.toString(), footprint.getStringCount() > footprint.getUnitCount());
+        // units share their scales, e.g., all units with the same SI prefix of different quantities
+        assertTrue(footprint.toString(), footprint.getScaleCount() < footprint.getUnitCount());
+        assertTrue(footprint.toString(), footprint.getBytes() > 100 * footprint.getUnitCount());
+        assertTrue(footprint.toString().startsWith("RegistryFootprint [quantities="));
+
+        // generating the units with SI prefixes increases the footprint
+        LengthUnit.BASE.getUnitsById();
+        RegistryFootprint generated = RegistryFootprint.measure();
+        assertTrue(generated.getUnitCount() >= footprint.getUnitCount());
+        assertTrue(generated.getBytes() >= footprint.getBytes());
+    }
+
+    /**
+     * Test that the units share equal strings.
+     */
+    @Test
+    public void testSharedStrings()
+    {
+        assertSame(LengthUnit.KILOMETER.getId(), LengthUnit.KILOMETER.getDefaultDisplayAbbreviation());
+        assertSame(LengthUnit.METER.getId(), LengthUnit.METER.getAbbreviations().iterator().next());
+        assertSame(LengthUnit.METER.getDefaultTextualAbbreviation(), "m");
+    }
+
+}
@@ -3,8 +3,12 @@ package org.djunits.unit.scale;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.PressureUnit;
 import org.djunits.unit.util.UnitException;
 import org.junit.Test;
 
@@ -140,4 +144,21 @@ public class ScaleTest
         assertEquals(123.0, ols.toStandardUnit(ols.fromStandardUnit(123.0)), 0.00001);
     }
 
+    /**
+     * Test that linear scales with the same conversion factor are shared.
+     */
+    @Test
+    public void testSharedLinearScale()
+    {
+        LinearScale scale = LinearScale.valueOf(1234.5);
+        assertSame(scale, LinearScale.valueOf(1234.5));
+        assertEquals(LinearScale.class, scale.getClass());
+        assertEquals(new LinearScale(1234.5), scale);
+        assertNotSame(scale, LinearScale.valueOf(1234.6));
+        assertEquals(1234.6, LinearScale.valueOf(1234.6).getConversionFactorToStandardUnit(), 0.0);
+
+        // units with SI prefixes of different quantities share their scales
+        assertSame(LengthUnit.BASE.getUnitById("Mm").getScale(), PressureUnit.BASE.getUnitById("MPa").getScale());
+    }
+
 }
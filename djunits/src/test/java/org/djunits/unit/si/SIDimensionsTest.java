@@ -6,6 +6,8 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Random;
+
 import org.djunits.unit.util.UnitException;
 import org.junit.Test;
 
@@ -204,6 +206,87 @@ public class SIDimensionsTest
         }
     }
 
+    /**
+     * Test the packed arithmetic against the exponents one by one, including exponents at and beyond the packed range.
+     */
+    @Test
+    public void testPackedArithmetic()
+    {
+        Random random = new Random(1234);
+        for (int test = 0; test < 10000; test++)
+        {
+            // mostly small exponents, sometimes at the edges of the packed range [-64, 63], sometimes beyond it
+            byte[] a = new byte[SIDimensions.NUMBER_DIMENSIONS];
+            byte[] b = new byte[SIDimensions.NUMBER_DIMENSIONS];
+            for (int i = 0; i < SIDimensions.NUMBER_DIMENSIONS; i++)
+            {
+                int range = test % 3 == 0 ? 256 : test % 3 == 1 ? 128 : 8;
+                a[i] = (byte) (random.nextInt(range) - range / 2);
+                b[i] = (byte) (random.nextInt(range) - range / 2);
+            }
+            SIDimensions da = new SIDimensions(a);
+            SIDimensions db = new SIDimensions(b);
+            SIDimensions sum = da.plus(db);
+            SIDimensions difference = da.minus(db);
+            SIDimensions inverse = da.invert();
+            for (int i = 0; i < SIDimensions.NUMBER_DIMENSIONS; i++)
+            {
+                assertEquals(a[i], da.getDimension(i));
+                assertEquals((byte) (a[i] + b[i]), sum.getDimension(i));
+                assertEquals((byte) (a[i] - b[i]), difference.getDimension(i));
+                assertEquals((byte) -a[i], inverse.getDimension(i));
+            }
+            byte[] expectedSum = new byte[SIDimensions.NUMBER_DIMENSIONS];
+            for (int i = 0; i < SIDimensions.NUMBER_DIMENSIONS; i++)
+            {
+                expectedSum[i] = (byte) (a[i] + b[i]);
+            }
+            SIDimensions expected = new SIDimensions(expectedSum);
+            assertEquals(expected, sum);
+            assertEquals(expected.hashCode(), sum.hashCode());
+            assertEquals(expected.toString(), sum.toString());
+            assertEquals(da, sum.minus(db).plus(new SIDimensions(new byte[SIDimensions.NUMBER_DIMENSIONS])));
+
+            // for packed operands, the static packed arithmetic gives the packed values of the results, or NOT_PACKED
+            if (da.getPacked() != SIDimensions.NOT_PACKED && db.getPacked() != SIDimensions.NOT_PACKED)
+            {
+                assertEquals(sum.getPacked(), SIDimensions.plusPacked(da.getPacked(), db.getPacked()));
+                assertEquals(difference.getPacked(), SIDimensions.minusPacked(da.getPacked(), db.getPacked()));
+                assertEquals(inverse.getPacked(), SIDimensions.minusPacked(0L, da.getPacked()));
+            }
+        }
+
+        // overflow of the packed range falls back to the unpacked representation
+        SIDimensions max = new SIDimensions(0, 0, 0, 63, 0, 0, 0, 0, 0);
+        SIDimensions one = new SIDimensions(0, 0, 0, 1, 0, 0, 0, 0, -1);
+        SIDimensions beyond = max.plus(one);
+        assertEquals("[0, 0, 0, 64, 0, 0, 0, 0, -1]", beyond.toString());
+        assertEquals(new SIDimensions(0, 0, 0, 64, 0, 0, 0, 0, -1), beyond);
+        assertEquals(max, beyond.minus(one));
+        assertEquals(max.hashCode(), beyond.minus(one).hashCode());
+        SIDimensions min = new SIDimensions(0, 0, -64, 0, 0, 0, 0, 0, 0);
+        assertEquals("[0, 0, 64, 0, 0, 0, 0, 0, 0]", min.invert().toString());
+        assertEquals(min, min.invert().invert());
+        assertEquals("[0, 0, -65, 0, 0, 0, 0, 0, 1]", min.minus(new SIDimensions(0, 0, 1, 0, 0, 0, 0, 0, -1)).toString());
+        assertEquals(SIDimensions.NOT_PACKED, beyond.getPacked());
+        assertEquals(SIDimensions.NOT_PACKED, SIDimensions.plusPacked(max.getPacked(), one.getPacked()));
+        assertEquals(SIDimensions.NOT_PACKED, SIDimensions.minusPacked(0L, min.getPacked()));
+        assertEquals(SIDimensions.NOT_PACKED, SIDimensions.plusPacked(0L, beyond.getPacked()));
+        assertEquals(SIDimensions.NOT_PACKED, SIDimensions.minusPacked(beyond.getPacked(), 0L));
+        assertEquals(SIDimensions.NOT_PACKED, new SIDimensions(new byte[] {1, 1, 1, 1, 1, 1, 1, 1, 1},
+                new byte[] {1, 1, 1, 2, 1, 1, 1, 1, 1}).getPacked());
+        assertEquals(0L, new SIDimensions(new byte[SIDimensions.NUMBER_DIMENSIONS]).getPacked());
+        try
+        {
+            max.getDimension(SIDimensions.NUMBER_DIMENSIONS);
+            fail("index out of bounds should have thrown an exception");
+        }
+        catch (IndexOutOfBoundsException exception)
+        {
+            // ok
+        }
+    }
+
     /**
      * @param si String; the (wrong) SI unit to parse
      */
@@ -0,0 +1,188 @@
+package org.djunits.value;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.djunits.unit.DurationUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.util.CsvColumnReader;
+import org.djunits.value.vdouble.vector.SpeedVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vfloat.vector.FloatSpeedVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.junit.Test;
+
+/**
+ * Test the CsvColumnReader class and the vectors that are read with it.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class CsvColumnReaderTest
+{
+    /**
+     * Create a stream with the UTF-8 bytes of a text.
+     * @param text String; the text
+     * @return InputStream; a stream with the bytes of the text
+     */
+    private static InputStream stream(final String text)
+    {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test reading a column with blank lines, quotes, empty fields and line breaks with carriage returns.
+     * @throws IOException on error
+     */
+    @Test
+    public void testColumn() throws IOException
+    {
+        String csv = "\uFEFFtime [s],\"speed [km/h]\",note\r\n0,36,a\r\n1, 72 ,\r\n\r\n2,\"-1.8e1\",c\n3,,d\n4,NaN,e";
+        CsvColumnReader<SpeedUnit> reader = CsvColumnReader.open(stream(csv), "speed", SpeedUnit.BASE);
+        assertSame(SpeedUnit.KM_PER_HOUR, reader.getUnit());
+        double[] values = reader.readDoubles();
+        assertEquals(5, values.length);
+        assertEquals(5, reader.getRows());
+        assertArrayEquals(new double[] {10.0, 20.0, -5.0, Double.NaN, Double.NaN}, values, 1E-12);
+
+        CsvColumnReader<DurationUnit> timeReader =
+                CsvColumnReader.open(stream("a;time [min]\n1;1.5\n2;2"), "time [min]", DurationUnit.BASE, ';', 64);
+        assertArrayEquals(new float[] {90f, 120f}, timeReader.readFloats(), 0f);
+    }
+
+    /**
+     * Test that a column that is read in small windows and parallel chunks gives the same values as a sequential read.
+     * @throws IOException on error
+     */
+    @Test
+    public void testWindows() throws IOException
+    {
+        StringBuilder csv = new StringBuilder("index,length [km]\n");
+        double[] expected = new double[20000];
+        for (int i = 0; i < expected.length; i++)
+        {
+            csv.append(i).append(',').append(i * 0.25).append(i % 100 == 0 ? "\n\n" : "\n");
+            expected[i] = i * 250.0;
+        }
+        for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL})
+        {
+            for (int window : new int[] {64, 1000, CsvColumnReader.DEFAULT_WINDOW})
+            {
+                double[] values = ExecutionPolicy.callWith(policy, () ->
+                {
+                    try
+                    {
+                        return CsvColumnReader.open(stream(csv.toString()), "length", LengthUnit.BASE, ',', window)
+                                .readDoubles();
+                    }
+                    catch (IOException exception)
+                    {
+                        throw new RuntimeException(exception);
+                    }
+                });
+                assertArrayEquals(policy + ", window " + window, expected, values, 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test reading typed vectors, also into a file.
+     * @throws IOException on error
+     */
+    @Test
+    public void testVectors() throws IOException
+    {
+        Path csv = Files.createTempFile("djunits", ".csv");
+        Path file = Files.createTempFile("djunits", ".bin");
+        try
+        {
+            Files.write(csv, "time [s],speed [km/h]\n0,0\n1,36\n2,72\n".getBytes(StandardCharsets.UTF_8));
+            for (StorageType storageType : StorageType.values())
+            {
+                SpeedVector speeds = DoubleVector.readCsv(csv, "speed", SpeedUnit.BASE, storageType);
+                assertEquals(SpeedUnit.KM_PER_HOUR, speeds.getDisplayUnit());
+                assertArrayEquals(new double[] {0.0, 10.0, 20.0}, speeds.getValuesSI(), 1E-12);
+                FloatSpeedVector floatSpeeds = FloatVector.readCsv(csv, "speed", SpeedUnit.BASE, storageType);
+                assertArrayEquals(new float[] {0f, 36f, 72f}, floatSpeeds.getValuesInUnit(), 1E-5f);
+            }
+
+            SpeedVector mapped = DoubleVector.readCsv(csv, "speed", SpeedUnit.BASE, file);
+            assertEquals(StorageType.OFF_HEAP, mapped.getStorageType());
+            assertArrayEquals(new double[] {0.0, 10.0, 20.0}, mapped.getValuesSI(), 1E-12);
+            SpeedVector reopened = DoubleVector.map(file);
+            assertEquals(mapped, reopened);
+            assertEquals(SpeedUnit.KM_PER_HOUR, reopened.getDisplayUnit());
+
+            FloatSpeedVector floatMapped = FloatVector.readCsv(csv, "speed", SpeedUnit.BASE, file);
+            assertArrayEquals(new float[] {0f, 10f, 20f}, floatMapped.getValuesSI(), 1E-5f);
+            assertEquals(floatMapped, FloatVector.map(file));
+        }
+        finally
+        {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test the errors in the header and in the rows.
+     * @throws IOException on error
+     */
+    @Test
+    public void testErrors() throws IOException
+    {
+        String[] badHeaders = {"time [s],speed [km/h]", "time [s],speed", "time [s],speed [kg]", ""};
+        String[] columns = {"distance", "speed", "speed", "speed"};
+        for (int i = 0; i < badHeaders.length; i++)
+        {
+            try
+            {
+                CsvColumnReader.open(stream(badHeaders[i] + "\n1,2\n"), columns[i], SpeedUnit.BASE);
+                fail("header " + badHeaders[i] + " should have thrown an exception");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+        }
+
+        for (String rows : new String[] {"1,2\n3,abc\n", "1,2\n3\n"})
+        {
+            try
+            {
+                CsvColumnReader.open(stream("time [s],speed [m/s]\n" + rows), "speed", SpeedUnit.BASE).readDoubles();
+                fail("rows " + rows + " should have thrown an exception");
+            }
+            catch (IOException exception)
+            {
+                assertTrue(exception.getMessage(), exception.getMessage().startsWith("row 2"));
+            }
+        }
+
+        try
+        {
+            CsvColumnReader.open(stream("speed [m/s]\n"), "speed", SpeedUnit.BASE, '\n', 1024);
+            fail("line break as delimiter should have thrown an exception");
+        }
+        catch (IllegalArgumentException exception)
+        {
+            // ok
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.djunits.value;
+
+import java.util.Random;
+
+/**
+ * Random test data for vectors and matrices, where a given fraction of the cells is zero, so the same data can be stored
+ * densely and sparsely.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public final class RandomData
+{
+    /** Do not instantiate. */
+    private RandomData()
+    {
+        // Utility class.
+    }
+
+    /**
+     * Create a random vector with a given fraction of zero cells; the other cells are uniformly distributed.
+     * @param random Random; the random generator
+     * @param size int; the size of the vector
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param low double; the lowest value of the non-zero cells
+     * @param high double; the (exclusive) highest value of the non-zero cells
+     * @return double[]; the vector
+     */
+    public static double[] vector(final Random random, final int size, final double zeroFraction, final double low,
+            final double high)
+    {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = random.nextDouble() < zeroFraction ? 0.0 : low + (high - low) * random.nextDouble();
+        }
+        return result;
+    }
+
+    /**
+     * Create a random vector with a given fraction of zero cells; the other cells hold whole numbers, so that sums and
+     * differences are exact and can cancel out to zero.
+     * @param random Random; the random generator
+     * @param size int; the size of the vector
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param low int; the lowest value of the non-zero cells
+     * @param high int; the (inclusive) highest value of the non-zero cells
+     * @return double[]; the vector
+     */
+    public static double[] integerVector(final Random random, final int size, final double zeroFraction, final int low,
+            final int high)
+    {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = random.nextDouble() < zeroFraction ? 0.0 : low + random.nextInt(high - low + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Create a random matrix with a given fraction of zero cells; the other cells are uniformly distributed.
+     * @param random Random; the random generator
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param low double; the lowest value of the non-zero cells
+     * @param high double; the (exclusive) highest value of the non-zero cells
+     * @return double[][]; the matrix
+     */
+    public static double[][] matrix(final Random random, final int rows, final int cols, final double zeroFraction,
+            final double low, final double high)
+    {
+        double[][] result = new double[rows][];
+        for (int row = 0; row < rows; row++)
+        {
+            result[row] = vector(random, cols, zeroFraction, low, high);
+        }
+        return result;
+    }
+
+    /**
+     * Create a random matrix with a given fraction of zero cells; the other cells hold whole numbers, so that sums and
+     * differences are exact and can cancel out to zero.
+     * @param random Random; the random generator
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param low int; the lowest value of the non-zero cells
+     * @param high int; the (inclusive) highest value of the non-zero cells
+     * @return double[][]; the matrix
+     */
+    public static double[][] integerMatrix(final Random random, final int rows, final int cols, final double zeroFraction,
+            final int low, final int high)
+    {
+        double[][] result = new double[rows][];
+        for (int row = 0; row < rows; row++)
+        {
+            result[row] = integerVector(random, cols, zeroFraction, low, high);
+        }
+        return result;
+    }
+
+    /**
+     * Create a random float matrix with a given fraction of zero cells; the other cells are uniformly distributed.
+     * @param random Random; the random generator
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param low double; the lowest value of the non-zero cells
+     * @param high double; the (exclusive) highest value of the non-zero cells
+     * @return float[][]; the matrix
+     */
+    public static float[][] floatMatrix(final Random random, final int rows, final int cols, final double zeroFraction,
+            final double low, final double high)
+    {
+        float[][] result = new float[rows][cols];
+        for (int row = 0; row < rows; row++)
+        {
+            double[] values = vector(random, cols, zeroFraction, low, high);
+            for (int col = 0; col < cols; col++)
+            {
+                result[row][col] = (float) values[col];
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.djunits.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.PressureUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.value.util.ScalarParser;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Pressure;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djunits.value.vfloat.scalar.FloatLength;
+import org.junit.Test;
+
+/**
+ * Test the ScalarParser class.
+ * <p>
+ * Copyright (c) 2013-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class ScalarParserTest
+{
+    /**
+     * Test the scanning of numbers.
+     */
+    @Test
+    public void testScanNumber()
+    {
+        String[][] cases = {{"12.5 m", "12.5"}, {"-3e4km", "-3e4"}, {"+.5m", "+.5"}, {"5.m", "5."}, {"5Em", "5"},
+                {"5e+m", "5"}, {"1E-3 s", "1E-3"}, {".m", ""}, {"-m", ""}, {"m", ""}, {"", ""}, {"007", "007"}};
+        for (String[] testCase : cases)
+        {
+            assertEquals(testCase[0], testCase[1].length(), ScalarParser.scanNumber(testCase[0], 0, testCase[0].length()));
+        }
+        assertEquals(6, ScalarParser.scanNumber("xx12.5yy", 2, 8));
+        assertEquals(4, ScalarParser.scanNumber("xx12.5yy", 2, 4));
+    }
+
+    /**
+     * Test that the conversion of numbers is the same as that of Double.parseDouble and Float.parseFloat.
+     */
+    @Test
+    public void testConversion()
+    {
+        String[] numbers = {"0", "-0", "0.0", "-0.0e5", "1", "-1", "12.5", ".5", "5.", "1e22", "1e23", "1e-22", "1e-23",
+                "123456789012345", "1234567890123456789", "0.1", "0.3", "3.14159265358979", "2.718281828459045235360287",
+                "1e308", "1e309", "4.9e-324", "1e-400", "0.000000000000000000000000001", "16777217", "0.0001234567",
+                "1.7976931348623157e308", "99999999999999999999999999999", "1e0000000000000005"};
+        for (String number : numbers)
+        {
+            assertEquals(number, Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(ScalarParser.toDouble(number, 0, number.length())));
+            assertEquals(number, Float.floatToIntBits(Float.parseFloat(number)),
+                    Float.floatToIntBits(ScalarParser.toFloat(number, 0, number.length())));
+        }
+        Random random = new Random(1234);
+        for (int i = 0; i < 100000; i++)
+        {
+            StringBuilder digits = new StringBuilder(Integer.toString(random.nextInt(1000000000)));
+            digits.insert(random.nextInt(digits.length() + 1), '.');
+            String number = (random.nextBoolean() ? "-" : "") + digits + "e" + (random.nextInt(50) - 25);
+            assertEquals(number, Double.parseDouble(number), ScalarParser.toDouble(number, 0, number.length()), 0.0);
+            assertEquals(number, Float.parseFloat(number), ScalarParser.toFloat(number, 0, number.length()), 0.0f);
+        }
+    }
+
+    /**
+     * Test the parsing of scalars from slices of CharSequences and char arrays.
+     */
+    @Test
+    public void testParse()
+    {
+        Length length = ScalarParser.parseDouble("  12.5 km ", 0, 10, LengthUnit.BASE, Length::new);
+        assertEquals(12.5, length.getInUnit(), 0.0);
+        assertSame(LengthUnit.KILOMETER, length.getDisplayUnit());
+
+        StringBuilder line = new StringBuilder("12.5 km;80km/h;1e3 mm");
+        length = ScalarParser.parseDouble(line, 0, 7, LengthUnit.BASE, Length::new);
+        assertEquals(12500.0, length.si, 0.0);
+        Speed speed = ScalarParser.parseDouble(line, 8, 14, SpeedUnit.BASE, Speed::new);
+        assertSame(SpeedUnit.KM_PER_HOUR, speed.getDisplayUnit());
+        assertEquals(80.0, speed.getInUnit(), 0.0);
+        FloatLength floatLength = ScalarParser.parseFloat(line, 15, 21, LengthUnit.BASE, FloatLength::new);
+        assertEquals(1.0f, floatLength.si, 0.0f);
+        assertSame(LengthUnit.MILLIMETER, floatLength.getDisplayUnit());
+
+        char[] chars = "xx-2.5kPa xx".toCharArray();
+        assertEquals(-2500.0, ScalarParser.parseDouble(chars, 2, 8, PressureUnit.BASE, Pressure::new).si, 0.0);
+
+        // the same spelling is found again through the table of resolved abbreviations
+        assertEquals(1.0 / 3.6, ScalarParser.parseDouble("1 km/h", 0, 6, SpeedUnit.BASE, Speed::new).si, 1E-10);
+        assertEquals(1.0 / 3.6, ScalarParser.parseDouble("1 km/h", 0, 6, SpeedUnit.BASE, Speed::new).si, 1E-10);
+
+        assertNull(ScalarParser.parseDouble("12.5 kg", 0, 7, LengthUnit.BASE, Length::new));
+        assertNull(ScalarParser.parseDouble("km", 0, 2, LengthUnit.BASE, Length::new));
+        assertNull(ScalarParser.parseDouble("12.5 km", 0, 3, LengthUnit.BASE, Length::new));
+        assertNull(ScalarParser.parseFloat("12.5", 0, 4, LengthUnit.BASE, FloatLength::new));
+
+        try
+        {
+            ScalarParser.parseDouble("12.5 km", 0, 8, LengthUnit.BASE, Length::new);
+            fail("slice out of bounds should have thrown an exception");
+        }
+        catch (IndexOutOfBoundsException exception)
+        {
+            // ok
+        }
+
+        try
+        {
+            ScalarParser.parseDouble(chars, 8, 5, LengthUnit.BASE, Length::new);
+            fail("slice out of bounds should have thrown an exception");
+        }
+        catch (IndexOutOfBoundsException exception)
+        {
+            // ok
+        }
+    }
+
+    /**
+     * Test the valueOf methods that use the parser.
+     */
+    @Test
+    public void testValueOf()
+    {
+        assertEquals(12.5, Length.valueOf("12.5 km").getInUnit(), 0.0);
+        assertEquals(-12.5, Length.valueOf(" -12.5km ").getInUnit(), 0.0);
+        assertEquals(0.5, Length.valueOf(".5 m").si, 0.0);
+        assertEquals(5E18, Length.valueOf("5Em").si, 0.0);
+        assertEquals(1.25f, FloatLength.valueOf("1.25 mm").getInUnit(), 0.0f);
+        for (String text : new String[] {"m", "12.5", "12.5 kg", "- 5 m", "5 m s"})
+        {
+            try
+            {
+                Length.valueOf(text);
+                fail("parsing " + text + " should have thrown an exception");
+            }
+            catch (IllegalArgumentException exception)
+            {
+                // ok
+            }
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.djunits.value.formatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.LengthMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.vector.LengthVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vfloat.matrix.FloatSpeedMatrix;
+import org.djunits.value.vfloat.matrix.base.FloatMatrix;
+import org.djunits.value.vfloat.vector.FloatSpeedVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.junit.Test;
+
+/**
+ * Test that the EngineeringAppender gives the same results as the EngineeringFormatter, and writes vectors and matrices in the
+ * same layout as their toString methods.
+ * <p>
+ * Copyright (c) 2015-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>.
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck">Alexander Verbraeck</a>
+ */
+public class EngineeringAppenderTest
+{
+    /**
+     * Test that values are formatted as by the EngineeringFormatter, for both cases of the exponent, several locales and
+     * several widths.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testFormat() throws IOException
+    {
+        Locale defaultLocale = Locale.getDefault();
+        try
+        {
+            Random random = new Random(1234);
+            double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+                    Double.MAX_VALUE, -Double.MAX_VALUE, 1E100, 1E-100, 9.9999999E99, 0.0001, 0.00010001, 99999999.6, 12.5};
+            for (boolean upper : new boolean[] {true, false})
+            {
+                EngineeringFormatter.setUpperCaseFormat(upper);
+                for (Locale locale : new Locale[] {Locale.US, Locale.GERMAN})
+                {
+                    Locale.setDefault(locale);
+                    for (int room : new int[] {5, 10, 12, 24})
+                    {
+                        EngineeringAppender appender = room == Format.DEFAULTSIZE ? EngineeringAppender.current()
+                                : EngineeringAppender.of(locale, room);
+                        StringBuilder out = new StringBuilder();
+                        StringBuilder expected = new StringBuilder();
+                        for (double value : special)
+                        {
+                            appender.append(out, value);
+                            expected.append(EngineeringFormatter.format(value, room));
+                            assertEquals(EngineeringFormatter.format(-value, room), appender.format(-value));
+                        }
+                        for (int power = -5; power < 20; power++)
+                        {
+                            // values that round to the next power of ten
+                            for (double delta : new double[] {1E-12, 1E-9, 1E-7, 1E-5})
+                            {
+                                double value = Math.pow(10, power) * (1 - delta);
+                                appender.append(out, value);
+                                appender.append(out, -value);
+                                expected.append(EngineeringFormatter.format(value, room));
+                                expected.append(EngineeringFormatter.format(-value, room));
+                            }
+                        }
+                        for (int i = 0; i < 2000; i++)
+                        {
+                            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(240) - 120);
+                            appender.append(out, value);
+                            expected.append(EngineeringFormatter.format(value, room));
+                        }
+                        assertEquals(locale + ", " + room, expected.toString(), out.toString());
+                    }
+                }
+            }
+        }
+        finally
+        {
+            EngineeringFormatter.setUpperCaseFormat(true);
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * Test that the appender of the current thread follows the locale and the case of the exponent.
+     */
+    @Test
+    public void testCurrent()
+    {
+        Locale defaultLocale = Locale.getDefault();
+        try
+        {
+            Locale.setDefault(Locale.US);
+            EngineeringAppender appender = EngineeringAppender.current();
+            assertSame(appender, EngineeringAppender.current());
+            assertEquals(Locale.US, appender.getLocale());
+            assertEquals(Format.DEFAULTSIZE, appender.getRoom());
+            assertEquals("12.5000000", appender.format(12.5));
+            Locale.setDefault(Locale.GERMAN);
+            assertEquals("12,5000000", EngineeringAppender.current().format(12.5));
+            EngineeringFormatter.setUpperCaseFormat(false);
+            assertNotSame(EngineeringAppender.current(), appender);
+            assertEquals(EngineeringFormatter.format(1.5E7), EngineeringAppender.current().format(1.5E7));
+            assertEquals(10, EngineeringAppender.of(Locale.US, 3).getRoom());
+        }
+        finally
+        {
+            EngineeringFormatter.setUpperCaseFormat(true);
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * Test that vectors and matrices are written to a Writer in the same layout as their toString methods, which the
+     * EngineeringFormatter produces value by value.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testVectorsAndMatrices() throws IOException
+    {
+        double[] values = {0.0, 1.5, -2000.0, 1E-7, 0.0};
+        for (StorageType storageType : StorageType.values())
+        {
+            LengthVector vector = DoubleVector.instantiate(values, LengthUnit.KILOMETER, storageType);
+            StringBuilder expected = new StringBuilder("[");
+            for (double value : values)
+            {
+                expected.append(' ').append(Format.format(value));
+            }
+            expected.append("] km");
+            assertEquals(expected.toString(), vector.toString());
+            StringWriter writer = new StringWriter();
+            vector.appendTo(writer, LengthUnit.KILOMETER, true, true);
+            assertEquals(vector.toString(LengthUnit.KILOMETER, true, true), writer.toString());
+
+            FloatSpeedVector floatVector =
+                    FloatVector.instantiate(new float[] {0f, 36f, 0f}, SpeedUnit.KM_PER_HOUR, storageType);
+            writer = new StringWriter();
+            floatVector.appendTo(writer, SpeedUnit.METER_PER_SECOND, true, false);
+            assertEquals(floatVector.toString(SpeedUnit.METER_PER_SECOND, true, false), writer.toString());
+            assertEquals("[ " + Format.format(0.0) + " " + Format.format(10.0) + " " + Format.format(0.0) + "]",
+                    floatVector.toString(SpeedUnit.METER_PER_SECOND, false, false));
+
+            LengthMatrix matrix =
+                    DoubleMatrix.instantiate(new double[][] {{1.0, 0.0}, {0.0, -3E12}}, LengthUnit.METER, storageType);
+            assertEquals("\r\n\t " + Format.format(1.0) + " " + Format.format(0.0) + "\r\n\t " + Format.format(0.0) + " "
+                    + Format.format(-3E12) + "\nm", matrix.toString());
+            writer = new StringWriter();
+            matrix.appendTo(writer, LengthUnit.MILLIMETER, true, true);
+            assertEquals(matrix.toString(LengthUnit.MILLIMETER, true, true), writer.toString());
+
+            FloatSpeedMatrix floatMatrix =
+                    FloatMatrix.instantiate(new float[][] {{0f, 2f}, {3f, 0f}}, SpeedUnit.KM_PER_HOUR, storageType);
+            writer = new StringWriter();
+            floatMatrix.appendTo(writer, SpeedUnit.KM_PER_HOUR, false, true);
+            assertEquals(floatMatrix.toString(), writer.toString());
+        }
+    }
+
+}
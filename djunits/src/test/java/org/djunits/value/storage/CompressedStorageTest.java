@@ -0,0 +1,352 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.matrix.LengthMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataCompressed;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixDataCompressed;
+import org.junit.Test;
+
+/**
+ * Test the compressed sparse row (CSR) and compressed sparse column (CSC) storage of matrices: conversion from and to the
+ * other storage types, access to rows, columns and cells, arithmetic with the other storage types under several execution
+ * policies, and matrix products.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class CompressedStorageTest
+{
+    /** the compressed storage types. */
+    private static final StorageType[] COMPRESSED = new StorageType[] {StorageType.CSR, StorageType.CSC};
+
+    /**
+     * Create a random matrix where most of the cells are zero, with an empty row and an empty column.
+     * @param random Random; the random generator
+     * @param rows int; the number of rows
+     * @param cols int; the number of columns
+     * @return double[][]; the data
+     */
+    private static double[][] randomData(final Random random, final int rows, final int cols)
+    {
+        double[][] result = RandomData.integerMatrix(random, rows, cols, 0.7, -4, 4);
+        for (int row = 0; row < rows; row++)
+        {
+            result[row][0] = 0.0;
+        }
+        Arrays.fill(result[0], 0.0);
+        return result;
+    }
+
+    /**
+     * Serialize and deserialize an object.
+     * @param object Object; the object to serialize
+     * @return Object; the deserialized object
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when a class cannot be found
+     */
+    private static Object roundTrip(final Object object) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Test the conversion between the storage types, and the access to rows, columns and cells.
+     * @throws ClassNotFoundException when a class cannot be found
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testConversions() throws IOException, ClassNotFoundException
+    {
+        double[][] a = randomData(new Random(31L), 17, 23);
+        DoubleMatrixData dense = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+        for (StorageType storageType : COMPRESSED)
+        {
+            DoubleMatrixData compressed = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, storageType);
+            assertTrue(compressed instanceof DoubleMatrixDataCompressed);
+            assertEquals(storageType, compressed.getStorageType());
+            assertTrue(compressed.isCompressed());
+            assertFalse(compressed.isDense() || compressed.isSparse() || compressed.isOffHeap());
+            assertEquals(dense, compressed);
+            assertEquals(compressed, dense);
+            assertEquals(compressed, dense.toSparse());
+            assertEquals(dense.toSparse(), compressed);
+            assertEquals(compressed, dense.toOffHeap());
+            assertEquals(dense.hashCode(), compressed.hashCode());
+            assertEquals(dense.cardinality(), compressed.cardinality());
+            assertEquals(dense.zSum(), compressed.zSum(), 1E-9);
+            assertEquals(StorageType.DENSE, compressed.toDense().getStorageType());
+            assertEquals(StorageType.SPARSE, compressed.toSparse().getStorageType());
+            assertEquals(dense, compressed.toDense());
+            assertEquals(dense, compressed.toSparse());
+            assertEquals(dense, compressed.toOffHeap());
+            assertEquals(StorageType.CSR, compressed.toCsr().getStorageType());
+            assertEquals(StorageType.CSC, compressed.toCsc().getStorageType());
+            assertTrue(storageType == StorageType.CSR ? compressed.toCsr() == compressed : compressed.toCsc() == compressed);
+            assertEquals(compressed, compressed.toCsr());
+            assertEquals(compressed, compressed.toCsc());
+            assertEquals(compressed.toCsr(), compressed.toCsc().toCsr());
+            assertEquals(compressed, dense.toSparse().toCsc().toCsr());
+            assertArrayEquals(a[5], compressed.getDenseMatrixSI()[5], 0.0);
+            assertEquals(compressed, roundTrip(compressed));
+            assertEquals(compressed, compressed.copy());
+            assertEquals(compressed, DoubleMatrixData.instantiate(dense.toSparse().toCsr().toCsc().getDenseMatrixSI(),
+                    IdentityScale.SCALE, storageType));
+
+            for (int row = 0; row < a.length; row++)
+            {
+                assertArrayEquals(a[row], compressed.getRowSI(row), 0.0);
+                assertArrayEquals(a[row], dense.getRowSI(row), 0.0);
+                assertArrayEquals(a[row], dense.toSparse().getRowSI(row), 0.0);
+                assertArrayEquals(a[row], dense.toOffHeap().getRowSI(row), 0.0);
+                for (int col = 0; col < a[row].length; col++)
+                {
+                    assertEquals(a[row][col], compressed.getSI(row, col), 0.0);
+                }
+            }
+            for (int col = 0; col < a[0].length; col++)
+            {
+                double[] column = new double[a.length];
+                for (int row = 0; row < a.length; row++)
+                {
+                    column[row] = a[row][col];
+                }
+                assertArrayEquals(column, compressed.getColumnSI(col), 0.0);
+                assertArrayEquals(column, dense.getColumnSI(col), 0.0);
+            }
+
+            int[] visited = new int[1];
+            compressed.forEachNonZero((row, col, valueSI) ->
+            {
+                assertEquals(a[row][col], valueSI, 0.0);
+                visited[0]++;
+            });
+            assertEquals(dense.cardinality(), visited[0]);
+        }
+
+        DoubleMatrixData empty = DoubleMatrixData.instantiate(new double[0][0], IdentityScale.SCALE, StorageType.CSC);
+        assertEquals(0, empty.rows());
+        assertEquals(0, empty.cardinality());
+        assertEquals(empty, empty.toCsr());
+    }
+
+    /**
+     * Test setting cells, which inserts, changes and removes stored cells.
+     */
+    @Test
+    public void testSetSI()
+    {
+        for (StorageType storageType : COMPRESSED)
+        {
+            DoubleMatrixData data = DoubleMatrixData.instantiate(new double[][] {{0, 1, 0}, {2, 0, 0}, {0, 0, 0}},
+                    IdentityScale.SCALE, storageType);
+            assertEquals(2, data.cardinality());
+            data.setSI(2, 2, 5.0);
+            data.setSI(0, 0, 4.0);
+            data.setSI(1, 0, 3.0);
+            data.setSI(0, 2, 0.0);
+            assertEquals(4, data.cardinality());
+            assertArrayEquals(new double[] {4, 1, 0}, data.getRowSI(0), 0.0);
+            assertArrayEquals(new double[] {4, 3, 0}, data.getColumnSI(0), 0.0);
+            assertArrayEquals(new double[] {0, 0, 5}, data.getRowSI(2), 0.0);
+            data.setSI(0, 1, 0.0);
+            data.setSI(2, 2, 0.0);
+            assertEquals(2, data.cardinality());
+            assertEquals(DoubleMatrixData.instantiate(new double[][] {{4, 0, 0}, {3, 0, 0}, {0, 0, 0}}, IdentityScale.SCALE,
+                    StorageType.DENSE), data);
+        }
+
+        try
+        {
+            new DoubleMatrixDataCompressed(StorageType.CSR, new double[] {1.0}, new int[] {0, 1}, new int[] {0}, 2, 2);
+            fail("wrong number of pointers should have thrown an exception");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        try
+        {
+            new DoubleMatrixDataCompressed(StorageType.SPARSE, new double[] {1.0}, new int[] {0, 1}, new int[] {0}, 1, 1);
+            fail("storage type SPARSE should have thrown an exception");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        DoubleMatrixDataCompressed csr = new DoubleMatrixDataCompressed(StorageType.CSR, new double[] {1.0, 2.0},
+                new int[] {0, 1, 2}, new int[] {1, 0}, 2, 2);
+        assertEquals(DoubleMatrixData.instantiate(new double[][] {{0, 1}, {2, 0}}, IdentityScale.SCALE, StorageType.DENSE),
+                csr);
+    }
+
+    /**
+     * Test the arithmetic of compressed matrices with all storage types, under several execution policies.
+     * @throws InterruptedException when the executor is interrupted
+     */
+    @Test
+    public void testOperations() throws InterruptedException
+    {
+        Random random = new Random(32L);
+        double[][] a = randomData(random, 29, 19);
+        double[][] b = randomData(random, 29, 19);
+        double[][] c = randomData(random, 29, 19);
+        for (double[] row : c)
+        {
+            for (int col = 0; col < row.length; col++)
+            {
+                // avoid division by zero, which gives NaN that does not compare
+                row[col] = row[col] == 0.0 ? 0.5 : row[col];
+            }
+        }
+        DoubleMatrixData dense = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.executor(executor, 4)})
+            {
+                ExecutionPolicy.runWith(policy, () ->
+                {
+                    for (StorageType storageType : COMPRESSED)
+                    {
+                        DoubleMatrixData compressed = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, storageType);
+                        for (StorageType rightType : StorageType.values())
+                        {
+                            String message = storageType + " op " + rightType + " with " + policy;
+                            DoubleMatrixData right = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+                            DoubleMatrixData divisor = DoubleMatrixData.instantiate(c, IdentityScale.SCALE, rightType);
+                            assertEquals(message, dense.plus(right), compressed.plus(right));
+                            assertEquals(message, dense.minus(right), compressed.minus(right));
+                            assertEquals(message, dense.times(right), compressed.times(right));
+                            assertEquals(message, storageType, compressed.times(right).getStorageType());
+                            assertEquals(message, dense.divide(divisor), compressed.divide(divisor));
+                            assertEquals(message, right.plus(dense), right.plus(compressed));
+                            assertEquals(message, right.minus(dense), right.minus(compressed));
+                            assertEquals(message, right.times(dense), right.times(compressed));
+                            assertEquals(message, dense.copy().incrementBy(right), compressed.copy().incrementBy(right));
+                            assertEquals(message, right.copy().decrementBy(dense), right.copy().decrementBy(compressed));
+                        }
+                        DoubleMatrixData scaled = compressed.copy().assign(value -> 3.0 * value);
+                        assertEquals(storageType, scaled.getStorageType());
+                        assertEquals(3.0 * dense.zSum(), scaled.zSum(), 1E-9);
+                        assertEquals(dense.cardinality(), scaled.cardinality());
+                        DoubleMatrixData shifted = compressed.copy().assign(value -> value + 1.0);
+                        assertEquals(storageType, shifted.getStorageType());
+                        assertEquals(dense.copy().assign(value -> value + 1.0), shifted);
+                        assertEquals(0, compressed.copy().assign(value -> 0.0).cardinality());
+                        assertEquals(0, compressed.minus(compressed).cardinality());
+                    }
+                });
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test the matrix products with compressed operands against the dense products.
+     */
+    @Test
+    public void testProducts()
+    {
+        Random random = new Random(33L);
+        double[][] a = randomData(random, 13, 21);
+        double[][] b = randomData(random, 21, 9);
+        double[] x = new double[21];
+        for (int i = 0; i < x.length; i++)
+        {
+            x[i] = random.nextInt(7) - 3;
+        }
+        DoubleMatrixData denseProduct = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE)
+                .mmul(DoubleMatrixData.instantiate(b, IdentityScale.SCALE, StorageType.DENSE));
+        DoubleVectorData denseVector = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE)
+                .mmul(DoubleVectorData.instantiate(x, IdentityScale.SCALE, StorageType.DENSE));
+        for (StorageType leftType : StorageType.values())
+        {
+            DoubleMatrixData left = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, leftType);
+            for (StorageType rightType : StorageType.values())
+            {
+                String message = leftType + " mmul " + rightType;
+                DoubleMatrixData product = left.mmul(DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType));
+                assertEquals(message, denseProduct, product);
+                boolean sparse = (left.isSparse() || left.isCompressed()) && (rightType == StorageType.SPARSE
+                        || rightType == StorageType.CSR || rightType == StorageType.CSC);
+                assertEquals(message, sparse ? leftType : StorageType.DENSE, product.getStorageType());
+            }
+            DoubleVectorData vector = left.mmul(DoubleVectorData.instantiate(x, IdentityScale.SCALE, StorageType.DENSE));
+            assertEquals(leftType.toString(), denseVector, vector);
+        }
+    }
+
+    /**
+     * Test the compressed storage of float matrices, and of typed matrices.
+     */
+    @Test
+    public void testFloatAndTyped()
+    {
+        FloatMatrixData floatData = FloatMatrixData.instantiate(new float[][] {{0f, 5f, 0f}, {6f, 0f, 0f}},
+                IdentityScale.SCALE, StorageType.CSC);
+        assertTrue(floatData instanceof FloatMatrixDataCompressed);
+        assertEquals(11f, floatData.zSum(), 0.0f);
+        assertEquals(floatData.toDense(), floatData);
+        assertEquals(floatData, floatData.toSparse());
+        assertEquals(floatData, floatData.toCsr());
+        assertArrayEquals(new float[] {6f, 0f, 0f}, floatData.getRowSI(1), 0.0f);
+        assertArrayEquals(new float[] {5f, 0f}, floatData.getColumnSI(1), 0.0f);
+        assertEquals(12f, floatData.plus(floatData.toDense()).getSI(1, 0), 0.0f);
+        FloatMatrixData right =
+                FloatMatrixData.instantiate(new float[][] {{1f, 0f}, {0f, 6f}, {0f, 0f}}, IdentityScale.SCALE, StorageType.CSR);
+        FloatMatrixData product = floatData.mmul(right);
+        assertEquals(StorageType.CSC, product.getStorageType());
+        assertEquals(30f, product.getSI(0, 1), 0.0f);
+        assertEquals(6f, product.getSI(1, 0), 0.0f);
+        assertEquals(2, product.cardinality());
+        assertEquals(6.0, floatData.getDoubleDenseMatrixSI()[1][0], 0.0);
+
+        LengthMatrix matrix =
+                DoubleMatrix.instantiate(new double[][] {{0, 2, 0}, {0, 0, 3}}, LengthUnit.KILOMETER, StorageType.CSR);
+        assertEquals(StorageType.CSR, matrix.getStorageType());
+        assertArrayEquals(new double[] {0, 2000, 0}, matrix.getRowSI(0), 0.0);
+        assertArrayEquals(new double[] {0, 3000}, matrix.getColumnSI(2), 0.0);
+        assertEquals(StorageType.SPARSE, matrix.getRow(1).getStorageType());
+        assertEquals(3.0, matrix.getRow(1).get(2).getInUnit(), 0.0);
+        assertTrue(matrix.toString(true, true).contains("CSR"));
+        assertEquals(matrix, matrix.toDense());
+    }
+
+}
@@ -0,0 +1,445 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.djunits.Try;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.unit.scale.LinearScale;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.junit.Test;
+
+/**
+ * Test the ExecutionPolicy, and the use of the policy by the vector and matrix data classes.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class ExecutionPolicyTest
+{
+    /**
+     * Check that forEach, count and sum of a policy visit every index exactly once.
+     * @param policy ExecutionPolicy; the policy to test
+     * @param size int; the number of elements
+     */
+    private static void checkPolicy(final ExecutionPolicy policy, final int size)
+    {
+        AtomicIntegerArray visits = new AtomicIntegerArray(size);
+        policy.forEach(size, i -> visits.incrementAndGet(i));
+        for (int i = 0; i < size; i++)
+        {
+            assertEquals(policy + " index " + i, 1, visits.get(i));
+        }
+        assertEquals(policy.toString(), size / 3 + (size % 3 == 0 ? 0 : 1), policy.count(size, i -> i % 3 == 0));
+        assertEquals(policy.toString(), (double) size * (size - 1) / 2.0, policy.sum(size, (from, to) ->
+        {
+            double sum = 0.0;
+            for (int i = from; i < to; i++)
+            {
+                sum += i;
+            }
+            return sum;
+        }), 0.0);
+        int chunks = policy.chunks(size, size);
+        assertTrue(chunks >= 1 && chunks <= Math.max(1, size));
+        boolean[] seen = new boolean[Math.max(1, chunks)];
+        int[] covered = new int[1];
+        policy.execute(size, chunks, (chunk, from, to) ->
+        {
+            synchronized (seen)
+            {
+                assertFalse("chunk executed twice", seen[chunk]);
+                seen[chunk] = true;
+                covered[0] += to - from;
+            }
+        });
+        assertEquals(size, covered[0]);
+    }
+
+    /**
+     * Test the predefined and the created policies.
+     * @throws InterruptedException on error
+     */
+    @Test
+    public void testPolicies() throws InterruptedException
+    {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            ExecutionPolicy[] policies = new ExecutionPolicy[] { ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.ADAPTIVE, ExecutionPolicy.forkJoinPool(pool), ExecutionPolicy.executor(executor, 3),
+                    ExecutionPolicy.adaptive(10, ExecutionPolicy.executor(executor, 3)) };
+            for (ExecutionPolicy policy : policies)
+            {
+                for (int size : new int[] { 0, 1, 2, 7, 100, 5000 })
+                {
+                    checkPolicy(policy, size);
+                }
+            }
+
+            assertEquals(1, ExecutionPolicy.SEQUENTIAL.chunks(100000, 100000));
+            assertEquals(1, ExecutionPolicy.ADAPTIVE.chunks(10, 10));
+            assertTrue(ExecutionPolicy.ADAPTIVE.chunks(10000, 10000) > 1);
+            assertEquals(12, ExecutionPolicy.forkJoinPool(pool).chunks(100, 1));
+            assertEquals(5, ExecutionPolicy.executor(executor, 3).chunks(5, 1));
+            assertEquals(1, ExecutionPolicy.adaptive(100, ExecutionPolicy.forkJoinPool(pool)).chunks(1000, 99));
+            assertEquals(12, ExecutionPolicy.adaptive(100, ExecutionPolicy.forkJoinPool(pool)).chunks(1000, 100));
+
+            // the kernels of a ForkJoinPool policy run in that pool
+            Set<ForkJoinPool> pools = Collections.synchronizedSet(new HashSet<>());
+            ExecutionPolicy.forkJoinPool(pool).forEach(1000, i -> pools.add(ForkJoinTask.getPool()));
+            assertEquals(1, pools.size());
+            assertSame(pool, pools.iterator().next());
+        }
+        finally
+        {
+            pool.shutdown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Test that the executor policy does not deadlock when the executor is saturated, and that it propagates exceptions.
+     * @throws InterruptedException on error
+     */
+    @Test
+    public void testExecutorPolicy() throws InterruptedException
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try
+        {
+            // block the only thread of the executor; the calling thread has to do all the work
+            executor.execute(() ->
+            {
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            ExecutionPolicy policy = ExecutionPolicy.executor(executor, 4);
+            checkPolicy(policy, 1000);
+            release.countDown();
+
+            try
+            {
+                policy.forEach(1000, i ->
+                {
+                    if (i == 999)
+                    {
+                        throw new IllegalStateException("kernel failure");
+                    }
+                });
+                fail("exception in kernel should have been propagated");
+            }
+            catch (IllegalStateException exception)
+            {
+                assertEquals("kernel failure", exception.getMessage());
+            }
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Test the global default policy and the policy per operation.
+     */
+    @Test
+    public void testDefaultAndCurrent()
+    {
+        assertSame(ExecutionPolicy.ADAPTIVE, ExecutionPolicy.getDefault());
+        assertSame(ExecutionPolicy.ADAPTIVE, ExecutionPolicy.current());
+        try
+        {
+            ExecutionPolicy.setDefault(ExecutionPolicy.SEQUENTIAL);
+            assertSame(ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.current());
+            ExecutionPolicy inner = ExecutionPolicy.callWith(ExecutionPolicy.COMMON_POOL, () ->
+            {
+                assertSame(ExecutionPolicy.COMMON_POOL, ExecutionPolicy.current());
+                ExecutionPolicy.runWith(ExecutionPolicy.ADAPTIVE,
+                        () -> assertSame(ExecutionPolicy.ADAPTIVE, ExecutionPolicy.current()));
+                return ExecutionPolicy.current();
+            });
+            assertSame(ExecutionPolicy.COMMON_POOL, inner);
+            assertSame(ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.current());
+
+            // the policy is restored after an exception as well
+            try
+            {
+                ExecutionPolicy.runWith(ExecutionPolicy.COMMON_POOL, () ->
+                {
+                    throw new IllegalStateException();
+                });
+                fail("exception should have been propagated");
+            }
+            catch (IllegalStateException exception)
+            {
+                assertSame(ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.current());
+            }
+        }
+        finally
+        {
+            ExecutionPolicy.setDefault(ExecutionPolicy.ADAPTIVE);
+        }
+
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                ExecutionPolicy.setDefault(null);
+            }
+        }.test("null default policy should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                ExecutionPolicy.forkJoinPool(null);
+            }
+        }.test("null pool should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                ExecutionPolicy.executor(Executors.newSingleThreadExecutor(), 0);
+            }
+        }.test("parallelism 0 should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                ExecutionPolicy.adaptive(-1, ExecutionPolicy.COMMON_POOL);
+            }
+        }.test("negative threshold should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                ExecutionPolicy.callWith(null, () -> 1);
+            }
+        }.test("null policy should have thrown exception");
+    }
+
+    /**
+     * Test that the data classes give the same results for each policy.
+     */
+    @Test
+    public void testDataOperations()
+    {
+        int n = 3000;
+        double[] a = new double[n];
+        double[] b = new double[n];
+        float[] f = new float[n];
+        for (int i = 0; i < n; i++)
+        {
+            a[i] = i % 5 == 0 ? 0.0 : i * 0.5;
+            b[i] = i % 7 == 0 ? 0.0 : 1.0 / (i + 1);
+            f[i] = i % 3 == 0 ? 0.0f : i;
+        }
+        double[][] m = new double[100][80];
+        for (int r = 0; r < 100; r++)
+        {
+            for (int c = 0; c < 80; c++)
+            {
+                m[r][c] = (r + c) % 4 == 0 ? 0.0 : r - c;
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            double[] expectedSum = null;
+            double[] expectedProduct = null;
+            for (ExecutionPolicy policy : new ExecutionPolicy[] { ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.forkJoinPool(pool), ExecutionPolicy.adaptive(Long.MAX_VALUE, ExecutionPolicy.COMMON_POOL) })
+            {
+                for (StorageType storageType : new StorageType[] { StorageType.DENSE, StorageType.SPARSE })
+                {
+                    ExecutionPolicy.runWith(policy, () ->
+                    {
+                        DoubleVectorData va = DoubleVectorData.instantiate(a, IdentityScale.SCALE, storageType);
+                        DoubleVectorData vb = DoubleVectorData.instantiate(b, IdentityScale.SCALE, storageType);
+                        assertEquals(n - n / 5, va.cardinality());
+                        assertEquals(0.5 * ((double) n * (n - 1) / 2.0 - 5.0 * (n / 5) * (n / 5 - 1) / 2.0), va.zSum(),
+                                1E-6);
+                        FloatVectorData vf = FloatVectorData.instantiate(f, IdentityScale.SCALE, storageType);
+                        assertEquals(n - n / 3, vf.cardinality());
+                        DoubleMatrixData md = DoubleMatrixData.instantiate(m, IdentityScale.SCALE, storageType);
+                        assertEquals(5960, md.cardinality());
+                    });
+                }
+                double[] sum = ExecutionPolicy.callWith(policy,
+                        () -> DoubleVectorData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE)
+                                .plus(DoubleVectorData.instantiate(b, IdentityScale.SCALE, StorageType.DENSE))
+                                .getDenseVectorSI());
+                double[][] mt = new double[80][100];
+                for (int r = 0; r < 100; r++)
+                {
+                    for (int c = 0; c < 80; c++)
+                    {
+                        mt[c][r] = m[r][c];
+                    }
+                }
+                double[] product = ExecutionPolicy.callWith(policy,
+                        () -> DoubleMatrixData.instantiate(m, IdentityScale.SCALE, StorageType.DENSE)
+                                .mmul(DoubleMatrixData.instantiate(mt, IdentityScale.SCALE, StorageType.DENSE))
+                                .getDenseMatrixSI()[42]);
+                if (expectedSum == null)
+                {
+                    expectedSum = sum;
+                    expectedProduct = product;
+                }
+                else
+                {
+                    // element-wise operations and the matrix product do not depend on the policy
+                    assertArrayEquals(policy.toString(), expectedSum, sum, 0.0);
+                    assertArrayEquals(policy.toString(), expectedProduct, product, 0.0);
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test that the reductions of a reproducible policy are bit-identical whatever the parallelism, for ill-conditioned data.
+     */
+    @Test
+    public void testReproducible()
+    {
+        assertFalse(ExecutionPolicy.COMMON_POOL.isReproducible());
+        assertTrue(ExecutionPolicy.REPRODUCIBLE.isReproducible());
+        assertSame(ExecutionPolicy.REPRODUCIBLE, ExecutionPolicy.REPRODUCIBLE.reproducible());
+        assertEquals("ExecutionPolicy.REPRODUCIBLE", ExecutionPolicy.REPRODUCIBLE.toString());
+        assertEquals("ExecutionPolicy.SEQUENTIAL.reproducible()", ExecutionPolicy.SEQUENTIAL.reproducible().toString());
+
+        int n = 100_003;
+        double[] a = new double[n];
+        float[] f = new float[n];
+        double[][] m = new double[101][997];
+        Random random = new Random(5678);
+        for (int i = 0; i < n; i++)
+        {
+            a[i] = random.nextDouble() < 0.3 ? 0.0 : (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(30) - 15);
+            f[i] = (float) a[i];
+            m[i % 101][i / 101 % 997] = a[i];
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try
+        {
+            ExecutionPolicy[] policies = new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL.reproducible(),
+                    ExecutionPolicy.REPRODUCIBLE, ExecutionPolicy.COMMON_POOL.reproducible(),
+                    ExecutionPolicy.forkJoinPool(pool).reproducible(), ExecutionPolicy.executor(executor, 2).reproducible(),
+                    ExecutionPolicy.executor(executor, 7).reproducible()};
+            for (StorageType storageType : new StorageType[] {StorageType.DENSE, StorageType.SPARSE, StorageType.OFF_HEAP})
+            {
+                DoubleVectorData va = DoubleVectorData.instantiate(a, IdentityScale.SCALE, storageType);
+                FloatVectorData vf = FloatVectorData.instantiate(f, IdentityScale.SCALE, storageType);
+                DoubleMatrixData md = DoubleMatrixData.instantiate(m, IdentityScale.SCALE, storageType);
+                double[] expected = null;
+                for (ExecutionPolicy policy : policies)
+                {
+                    double[] results = ExecutionPolicy.callWith(policy,
+                            () -> new double[] {va.zSum(), va.zSum(Summation.NAIVE), va.zSum(Summation.KAHAN),
+                                    va.zSum(Summation.PAIRWISE), va.variance(Summation.NAIVE), va.normL2(Summation.NAIVE),
+                                    va.dot(va, Summation.NAIVE), vf.zSum(), vf.zSum(Summation.NAIVE), md.zSum(),
+                                    md.zSum(Summation.NAIVE), md.variance(Summation.KAHAN)});
+                    if (expected == null)
+                    {
+                        expected = results;
+                    }
+                    else
+                    {
+                        for (int i = 0; i < results.length; i++)
+                        {
+                            assertEquals(storageType + " " + policy + " result " + i, Double.doubleToLongBits(expected[i]),
+                                    Double.doubleToLongBits(results[i]));
+                        }
+                    }
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that a list without random access gives the same data as an array, for each policy.
+     */
+    @Test
+    public void testListInstantiation()
+    {
+        int n = 5000;
+        double[] a = new double[n];
+        float[] f = new float[n];
+        List<Double> doubles = new LinkedList<>();
+        List<Float> floats = new LinkedList<>();
+        for (int i = 0; i < n; i++)
+        {
+            a[i] = i % 5 == 0 ? 0.0 : i * 0.5;
+            f[i] = (float) a[i];
+            doubles.add(a[i]);
+            floats.add(f[i]);
+        }
+        LinearScale scale = new LinearScale(1000.0);
+        for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL})
+        {
+            for (StorageType storageType : new StorageType[] {StorageType.DENSE, StorageType.SPARSE, StorageType.OFF_HEAP})
+            {
+                ExecutionPolicy.runWith(policy, () ->
+                {
+                    DoubleVectorData fromList = DoubleVectorData.instantiate(doubles, scale, storageType);
+                    assertEquals(storageType, fromList.getStorageType());
+                    assertArrayEquals(DoubleVectorData.instantiate(a, scale, storageType).getDenseVectorSI(),
+                            fromList.getDenseVectorSI(), 0.0);
+                    FloatVectorData floatsFromList = FloatVectorData.instantiate(floats, scale, storageType);
+                    assertEquals(storageType, floatsFromList.getStorageType());
+                    assertArrayEquals(FloatVectorData.instantiate(f, scale, storageType).getDenseVectorSI(),
+                            floatsFromList.getDenseVectorSI(), 0.0f);
+                });
+            }
+        }
+    }
+
+}
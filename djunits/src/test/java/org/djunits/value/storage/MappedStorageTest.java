@@ -0,0 +1,254 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SIUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.matrix.SIMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.vector.LengthVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vdouble.vector.data.DoubleVectorDataOffHeap;
+import org.djunits.value.vfloat.matrix.FloatSpeedMatrix;
+import org.djunits.value.vfloat.matrix.base.FloatMatrix;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.junit.Test;
+
+/**
+ * Test the vectors and matrices that are mapped onto files: writing and opening typed vectors and matrices, read-only and
+ * writable mappings of the data, and files that do not hold the expected values.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class MappedStorageTest
+{
+    /**
+     * Test writing and opening typed vectors and matrices.
+     * @throws IOException on I/O error
+     * @throws UnitException when the SI unit cannot be parsed
+     */
+    @Test
+    public void testTyped() throws IOException, UnitException
+    {
+        Path file = Files.createTempFile("djunits", ".bin");
+        try
+        {
+            for (StorageType storageType : StorageType.values())
+            {
+                LengthVector vector =
+                        DoubleVector.instantiate(new double[] {1.5, 0.0, -2.0, 0.0, 4.0}, LengthUnit.KILOMETER, storageType);
+                DoubleVector.write(file, vector);
+                LengthVector mapped = DoubleVector.map(file);
+                assertEquals(storageType.toString(), vector, mapped);
+                assertEquals(LengthUnit.KILOMETER, mapped.getDisplayUnit());
+                assertEquals(StorageType.OFF_HEAP, mapped.getStorageType());
+                assertEquals(vector.zSum().si, mapped.zSum().si, 0.0);
+                // a mutable copy does not change the file
+                mapped.mutable().assign(value -> 0.0);
+                assertEquals(vector, DoubleVector.map(file));
+            }
+
+            SIMatrix matrix =
+                    SIMatrix.instantiate(new double[][] {{1, 2, 3}, {0, 0, 6}}, SIUnit.of("kgm/s2"), StorageType.DENSE);
+            DoubleMatrix.write(file, matrix);
+            SIMatrix mappedMatrix = DoubleMatrix.map(file);
+            assertEquals(matrix, mappedMatrix);
+            assertEquals(SIUnit.of("kgm/s2"), mappedMatrix.getDisplayUnit());
+            assertEquals(2, mappedMatrix.rows());
+            assertEquals(3, mappedMatrix.cols());
+
+            FloatLengthVector floatVector =
+                    FloatVector.instantiate(new float[] {0f, 2.5f, 7f}, LengthUnit.MILLIMETER, StorageType.SPARSE);
+            FloatVector.write(file, floatVector);
+            assertEquals(floatVector, FloatVector.map(file));
+
+            FloatSpeedMatrix floatMatrix =
+                    FloatMatrix.instantiate(new float[][] {{1f, 0f}, {0f, 4f}}, SpeedUnit.KM_PER_HOUR, StorageType.DENSE);
+            FloatMatrix.write(file, floatMatrix);
+            FloatSpeedMatrix mappedFloatMatrix = FloatMatrix.map(file);
+            assertEquals(floatMatrix, mappedFloatMatrix);
+            assertEquals(SpeedUnit.KM_PER_HOUR, mappedFloatMatrix.getDisplayUnit());
+            try
+            {
+                FloatVector.map(file);
+                fail("a matrix file should not open as a vector");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+            try
+            {
+                DoubleMatrix.map(file);
+                fail("a float file should not open as a double matrix");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test read-only and writable mappings of the data.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testMappings() throws IOException
+    {
+        Path file = Files.createTempFile("djunits", ".bin");
+        try
+        {
+            LengthVector source = DoubleVector.instantiate(new double[] {1.0, 2.0, 3.0}, LengthUnit.METER, StorageType.DENSE);
+            DoubleVector.write(file, source);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                MappedHeader header = MappedHeader.read(channel);
+                assertEquals(LengthUnit.METER, header.getUnit());
+                assertEquals(3, header.getSize());
+                assertEquals(0, header.getDataOffset() % 64);
+                assertEquals(header.getFileLength(), channel.size());
+                DoubleVectorDataOffHeap data = DoubleVectorDataOffHeap.map(channel, header, false);
+                assertTrue(data.isMapped());
+                assertTrue(data.isReadOnly());
+                assertArrayEquals(new double[] {1.0, 2.0, 3.0}, data.getDenseVectorSI(), 0.0);
+                try
+                {
+                    data.setSI(0, 5.0);
+                    fail("read-only data should not be writable");
+                }
+                catch (ValueRuntimeException exception)
+                {
+                    // ok
+                }
+                try
+                {
+                    data.assign(value -> 2.0 * value);
+                    fail("read-only data should not be writable");
+                }
+                catch (ValueRuntimeException exception)
+                {
+                    // ok
+                }
+                DoubleVectorDataOffHeap copy = data.copy();
+                assertFalse(copy.isMapped() || copy.isReadOnly());
+                copy.setSI(0, 5.0);
+                assertEquals(1.0, data.getSI(0), 0.0);
+                data.close();
+                assertFalse(data.isMapped());
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                MappedHeader header = MappedHeader.read(channel);
+                try (DoubleVectorDataOffHeap data = DoubleVectorDataOffHeap.map(channel, header, true))
+                {
+                    assertFalse(data.isReadOnly());
+                    data.setSI(1, 20.0);
+                    data.assign(value -> value + 1.0);
+                    data.force();
+                }
+            }
+            LengthVector changed = DoubleVector.map(file);
+            assertEquals(2.0, changed.getSI(0), 0.0);
+            assertEquals(21.0, changed.getSI(1), 0.0);
+            assertEquals(4.0, changed.getSI(2), 0.0);
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test files that do not hold a valid header.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testInvalidFiles() throws IOException
+    {
+        Path file = Files.createTempFile("djunits", ".bin");
+        try
+        {
+            Files.write(file, new byte[] {1, 2, 3});
+            try
+            {
+                DoubleVector.map(file);
+                fail("a short file should not open");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+            Files.write(file, new byte[100]);
+            try
+            {
+                DoubleVector.map(file);
+                fail("a file without magic number should not open");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+            LengthVector source = DoubleVector.instantiate(new double[] {1.0, 2.0, 3.0}, LengthUnit.METER, StorageType.DENSE);
+            DoubleVector.write(file, source);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+            {
+                channel.truncate(channel.size() - 1);
+            }
+            try
+            {
+                DoubleVector.map(file);
+                fail("a truncated file should not open");
+            }
+            catch (IOException exception)
+            {
+                // ok
+            }
+            try
+            {
+                MappedHeader.of(2, 1, 1, 3, LengthUnit.METER);
+                fail("values of 2 bytes are not supported");
+            }
+            catch (ValueRuntimeException exception)
+            {
+                // ok
+            }
+            try
+            {
+                MappedHeader.of(Double.BYTES, 1, 2, 3, LengthUnit.METER);
+                fail("a vector has one row");
+            }
+            catch (ValueRuntimeException exception)
+            {
+                // ok
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataOffHeap;
+import org.djunits.value.vdouble.vector.LengthVector;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vdouble.vector.data.DoubleVectorDataOffHeap;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixDataOffHeap;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.djunits.value.vfloat.vector.data.FloatVectorDataOffHeap;
+import org.junit.Test;
+
+/**
+ * Test the off-heap storage of vectors and matrices: conversion from and to the other storage types, arithmetic with the other
+ * storage types, serialization, and the behavior after closing.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class OffHeapStorageTest
+{
+    /** the storage types to combine. */
+    private static final StorageType[] STORAGE_TYPES = StorageType.values();
+
+    /**
+     * Serialize and deserialize an object.
+     * @param object Object; the object to serialize
+     * @return Object; the deserialized object
+     * @throws IOException on I/O error
+     * @throws ClassNotFoundException when a class cannot be found
+     */
+    private static Object roundTrip(final Object object) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Test the off-heap vectors against dense vectors with the same values.
+     * @throws ClassNotFoundException when a class cannot be found
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testVector() throws IOException, ClassNotFoundException
+    {
+        Random random = new Random(21L);
+        double[] a = RandomData.integerVector(random, 1000, 0.6, -4, 4);
+        double[] b = RandomData.integerVector(random, 1000, 0.6, -4, 4);
+        for (int i = 0; i < b.length; i++)
+        {
+            // avoid division by zero, which gives NaN that does not compare
+            b[i] = b[i] == 0.0 ? 0.5 : b[i];
+        }
+        try (DoubleVectorDataOffHeap offHeap = new DoubleVectorDataOffHeap(a))
+        {
+            DoubleVectorData dense = DoubleVectorData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+            assertEquals(StorageType.OFF_HEAP, offHeap.getStorageType());
+            assertTrue(offHeap.isOffHeap());
+            assertFalse(offHeap.isDense() || offHeap.isSparse());
+            assertEquals(dense, offHeap);
+            assertEquals(offHeap, dense);
+            assertEquals(offHeap, dense.toSparse());
+            assertEquals(dense.toSparse(), offHeap);
+            assertEquals(dense.hashCode(), offHeap.hashCode());
+            assertEquals(dense.cardinality(), offHeap.cardinality());
+            assertEquals(dense.zSum(), offHeap.zSum(), 1E-9);
+            assertArrayEquals(a, offHeap.getDenseVectorSI(), 0.0);
+            assertEquals(StorageType.DENSE, offHeap.toDense().getStorageType());
+            assertEquals(StorageType.SPARSE, offHeap.toSparse().getStorageType());
+            assertEquals(dense, offHeap.toSparse());
+            assertTrue(offHeap == offHeap.toOffHeap());
+            assertEquals(offHeap, dense.toOffHeap());
+            assertEquals(offHeap, dense.toSparse().toOffHeap());
+
+            for (StorageType rightType : STORAGE_TYPES)
+            {
+                String message = "OFF_HEAP op " + rightType;
+                DoubleVectorData right = DoubleVectorData.instantiate(b, IdentityScale.SCALE, rightType);
+                assertEquals(message, dense.plus(right), offHeap.plus(right));
+                assertEquals(message, StorageType.OFF_HEAP, offHeap.plus(right).getStorageType());
+                assertEquals(message, dense.minus(right), offHeap.minus(right));
+                assertEquals(message, dense.times(right), offHeap.times(right));
+                assertEquals(message, dense.divide(right), offHeap.divide(right));
+                // the other storage types with an off-heap right operand
+                DoubleVectorData left = DoubleVectorData.instantiate(b, IdentityScale.SCALE, rightType);
+                assertEquals(message, left.plus(dense), left.plus(offHeap));
+                assertEquals(message, left.minus(dense), left.minus(offHeap));
+                assertEquals(message, left.times(dense), left.times(offHeap));
+                assertEquals(message, left.divide(dense), left.divide(offHeap));
+                assertEquals(message, left.copy().incrementBy(dense), left.copy().incrementBy(offHeap));
+            }
+            DoubleVectorData copy = offHeap.copy();
+            copy.assign(value -> value * 2.0);
+            assertEquals(2.0 * offHeap.zSum(), copy.zSum(), 1E-9);
+            assertEquals(dense, offHeap);
+
+            assertEquals(offHeap, roundTrip(offHeap));
+            assertEquals(StorageType.OFF_HEAP, ((DoubleVectorData) roundTrip(offHeap)).getStorageType());
+
+            LengthVector vector = new LengthVector(offHeap, LengthUnit.METER);
+            assertEquals(offHeap.zSum(), vector.zSum().si, 1E-9);
+            assertTrue(vector.toString(true, true).contains("OffHeap"));
+            assertEquals(StorageType.DENSE, vector.toDense().getStorageType());
+        }
+
+        FloatVectorData floatData = FloatVectorData.instantiate(new float[] {0f, 2.5f, 0f, -1f}, IdentityScale.SCALE,
+                StorageType.OFF_HEAP);
+        assertTrue(floatData instanceof FloatVectorDataOffHeap);
+        assertEquals(2, floatData.cardinality());
+        assertEquals(1.5f, floatData.zSum(), 0.0f);
+        assertEquals(floatData.toSparse(), floatData);
+        assertEquals(FloatVectorData.instantiate(new float[] {0f, 5f, 0f, -2f}, IdentityScale.SCALE, StorageType.DENSE),
+                floatData.plus(floatData.toSparse()));
+        assertEquals(floatData, roundTrip(floatData));
+    }
+
+    /**
+     * Test the off-heap matrices against dense matrices with the same values.
+     * @throws ClassNotFoundException when a class cannot be found
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testMatrix() throws IOException, ClassNotFoundException
+    {
+        Random random = new Random(22L);
+        double[][] a = new double[23][31];
+        double[][] b = new double[23][31];
+        for (int row = 0; row < a.length; row++)
+        {
+            a[row] = RandomData.integerVector(random, a[row].length, 0.6, -4, 4);
+            b[row] = RandomData.integerVector(random, b[row].length, 0.6, -4, 4);
+        }
+        DoubleMatrixData dense = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+        DoubleMatrixData offHeap = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.OFF_HEAP);
+        assertTrue(offHeap instanceof DoubleMatrixDataOffHeap);
+        assertEquals(dense, offHeap);
+        assertEquals(offHeap, dense.toSparse());
+        assertEquals(dense.toSparse(), offHeap);
+        assertEquals(dense.cardinality(), offHeap.cardinality());
+        assertEquals(dense.zSum(), offHeap.zSum(), 1E-9);
+        assertArrayEquals(a[7], offHeap.getDenseMatrixSI()[7], 0.0);
+        assertEquals(offHeap, offHeap.toDense());
+        assertEquals(offHeap, offHeap.toSparse());
+        assertEquals(offHeap, dense.toSparse().toOffHeap());
+        for (StorageType rightType : STORAGE_TYPES)
+        {
+            String message = "OFF_HEAP op " + rightType;
+            DoubleMatrixData right = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+            assertEquals(message, dense.plus(right), offHeap.plus(right));
+            assertEquals(message, dense.minus(right), offHeap.minus(right));
+            assertEquals(message, dense.times(right), offHeap.times(right));
+            DoubleMatrixData left = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+            assertEquals(message, left.plus(dense), left.plus(offHeap));
+            assertEquals(message, left.minus(dense), left.minus(offHeap));
+            assertEquals(message, left.times(dense), left.times(offHeap));
+        }
+        assertEquals(offHeap, roundTrip(offHeap));
+
+        FloatMatrixData floatData = FloatMatrixData.instantiate(new float[][] {{0f, 5f}, {6f, 0f}}, IdentityScale.SCALE,
+                StorageType.OFF_HEAP);
+        assertTrue(floatData instanceof FloatMatrixDataOffHeap);
+        assertEquals(11f, floatData.zSum(), 0.0f);
+        assertEquals(floatData.toDense(), floatData);
+        assertEquals(floatData, floatData.toSparse());
+        assertEquals(12f, floatData.plus(floatData.toDense()).getSI(1, 0), 0.0f);
+        assertEquals(6.0, floatData.getDoubleDenseMatrixSI()[1][0], 0.0);
+        assertEquals(floatData, roundTrip(floatData));
+    }
+
+    /**
+     * Test that closed data cannot be used anymore.
+     */
+    @Test
+    public void testClose()
+    {
+        DoubleVectorDataOffHeap vector = new DoubleVectorDataOffHeap(new double[] {1, 2, 3});
+        assertFalse(vector.isClosed());
+        vector.close();
+        assertTrue(vector.isClosed());
+        vector.close();
+        assertEquals(3, vector.size());
+        try
+        {
+            vector.getSI(0);
+            fail("closed data should not be readable");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+
+        DoubleMatrixDataOffHeap matrix = new DoubleMatrixDataOffHeap(new double[] {1, 2, 3, 4}, 2, 2);
+        assertEquals(4.0, matrix.getSI(1, 1), 0.0);
+        matrix.close();
+        try
+        {
+            matrix.toDense();
+            fail("closed data should not be convertible");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        try
+        {
+            new DoubleMatrixDataOffHeap(new double[] {1, 2, 3}, 2, 2);
+            fail("wrong number of values should have thrown an exception");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+
+        OffHeapFloatArray array = new OffHeapFloatArray(5);
+        array.put(1, new float[] {7f, 8f, 9f}, 1, 2);
+        float[] target = new float[5];
+        array.get(0, target, 0, 5);
+        assertArrayEquals(new float[] {0f, 8f, 9f, 0f, 0f}, target, 0.0f);
+        assertEquals(9f, array.copy().get(2), 0.0f);
+        array.close();
+        assertTrue(array.isClosed());
+    }
+
+}
@@ -0,0 +1,400 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.EnergyUnit;
+import org.djunits.unit.ForceUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.matrix.LengthMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.scalar.Area;
+import org.djunits.value.vdouble.scalar.Energy;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.vector.ForceVector;
+import org.djunits.value.vdouble.vector.LengthVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.scalar.FloatArea;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.junit.Test;
+
+/**
+ * Test the summation algorithms and the reductions of vectors and matrices (minimum, maximum, mean, variance, norms and dot
+ * products) for all storage types and execution policies, against a straightforward calculation on the values.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class ReductionTest
+{
+    /**
+     * Test the summation algorithms.
+     */
+    @Test
+    public void testSummation()
+    {
+        double[] cancelling = new double[] {1.0, 1E100, 1.0, -1E100};
+        assertEquals(0.0, Summation.NAIVE.sum(cancelling, 0, cancelling.length), 0.0);
+        assertEquals(2.0, Summation.KAHAN.sum(cancelling, 0, cancelling.length), 0.0);
+
+        // many terms of 0.1; the exact sum is n / 10
+        int n = 1_000_003;
+        double[] tenths = new double[n];
+        java.util.Arrays.fill(tenths, 0.1);
+        double exact = n / 10.0;
+        double naiveError = Math.abs(Summation.NAIVE.sum(tenths, 0, n) - exact);
+        double pairwiseError = Math.abs(Summation.PAIRWISE.sum(tenths, 0, n) - exact);
+        double kahanError = Math.abs(Summation.KAHAN.sum(tenths, 0, n) - exact);
+        assertTrue("pairwise should be more accurate than naive", pairwiseError < naiveError);
+        assertTrue("kahan should be at least as accurate as pairwise", kahanError <= pairwiseError);
+        assertEquals(exact, Summation.KAHAN.sum(tenths, 0, n), Math.ulp(exact));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.executor(executor, 4)})
+            {
+                for (Summation summation : Summation.values())
+                {
+                    String message = summation + " with " + policy;
+                    double sum = ExecutionPolicy.callWith(policy, () -> summation.sum(n,
+                            (from, count, block, scratch) -> System.arraycopy(tenths, from, block, 0, count)));
+                    assertEquals(message, exact, sum, 1E-6);
+                    assertEquals(message, 0.0, summation.sum(0, (from, count, block, scratch) -> fail("no terms")), 0.0);
+                }
+                double sum = ExecutionPolicy.callWith(policy, () -> Summation.KAHAN.sum(n,
+                        (from, count, block, scratch) -> System.arraycopy(tenths, from, block, 0, count)));
+                assertEquals(exact, sum, Math.ulp(exact));
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test the reductions of vector data against a straightforward calculation on the values.
+     */
+    @Test
+    public void testVectorReductions()
+    {
+        Random random = new Random(2345);
+        int size = 5003;
+        double[] a = RandomData.vector(random, size, 0.7, -10.0, 10.0);
+        double[] b = RandomData.vector(random, size, 0.4, -10.0, 10.0);
+        double[] totals = new double[5];
+        int minIndex = 0;
+        int maxIndex = 0;
+        for (int i = 0; i < size; i++)
+        {
+            totals[0] += a[i];
+            totals[1] += Math.abs(a[i]);
+            totals[2] += a[i] * a[i];
+            totals[3] = Math.max(totals[3], Math.abs(a[i]));
+            totals[4] += a[i] * b[i];
+            minIndex = a[i] < a[minIndex] ? i : minIndex;
+            maxIndex = a[i] > a[maxIndex] ? i : maxIndex;
+        }
+        final double sum = totals[0];
+        final double absSum = totals[1];
+        final double squareSum = totals[2];
+        final double absMax = totals[3];
+        final double dot = totals[4];
+        final int expectedArgMin = minIndex;
+        final int expectedArgMax = maxIndex;
+        final double mean = sum / size;
+        double deviationSum = 0.0;
+        for (int i = 0; i < size; i++)
+        {
+            deviationSum += (a[i] - mean) * (a[i] - mean);
+        }
+        final double variance = deviationSum / size;
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.executor(executor, 4)})
+            {
+                ExecutionPolicy.runWith(policy, () ->
+                {
+                    for (StorageType storageType : new StorageType[] {StorageType.DENSE, StorageType.SPARSE,
+                            StorageType.OFF_HEAP})
+                    {
+                        DoubleVectorData data = DoubleVectorData.instantiate(a, IdentityScale.SCALE, storageType);
+                        for (Summation summation : Summation.values())
+                        {
+                            String message = storageType + " " + summation + " with " + policy;
+                            assertEquals(message, sum, data.zSum(summation), 1E-9);
+                            assertEquals(message, mean, data.mean(summation), 1E-12);
+                            assertEquals(message, variance, data.variance(summation), 1E-9);
+                            assertEquals(message, absSum, data.normL1(summation), 1E-9);
+                            assertEquals(message, Math.sqrt(squareSum), data.normL2(summation), 1E-9);
+                            for (StorageType otherType : new StorageType[] {StorageType.DENSE, StorageType.SPARSE,
+                                    StorageType.OFF_HEAP})
+                            {
+                                DoubleVectorData other = DoubleVectorData.instantiate(b, IdentityScale.SCALE, otherType);
+                                assertEquals(message + " dot " + otherType, dot, data.dot(other, summation), 1E-9);
+                                assertEquals(message + " dot " + otherType, dot, other.dot(data, summation), 1E-9);
+                            }
+                        }
+                        String message = storageType + " with " + policy;
+                        assertEquals(message, absMax, data.normLinf(), 0.0);
+                        assertEquals(message, expectedArgMin, data.argMin());
+                        assertEquals(message, expectedArgMax, data.argMax());
+                        assertEquals(message, a[expectedArgMin], data.min(), 0.0);
+                        assertEquals(message, a[expectedArgMax], data.max(), 0.0);
+
+                        FloatVectorData floatData = FloatVectorData.instantiate(toFloat(a), IdentityScale.SCALE, storageType);
+                        assertEquals(message, (float) sum, floatData.zSum(Summation.KAHAN), 1E-3);
+                        assertEquals(message, (float) variance, floatData.variance(Summation.PAIRWISE), 1E-3);
+                        assertEquals(message, (float) Math.sqrt(squareSum), floatData.normL2(Summation.NAIVE), 1E-3);
+                        assertEquals(message, expectedArgMin, floatData.argMin());
+                        assertEquals(message, expectedArgMax, floatData.argMax());
+                        assertEquals(message, (float) absMax, floatData.normLinf(), 0.0f);
+                    }
+                });
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Convert an array of doubles to an array of floats.
+     * @param values double[]; the doubles
+     * @return float[]; the floats
+     */
+    private static float[] toFloat(final double[] values)
+    {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Test ties, cells that are not stored, NaN values and empty vectors for the minimum and maximum.
+     */
+    @Test
+    public void testVectorExtremes()
+    {
+        for (StorageType storageType : new StorageType[] {StorageType.DENSE, StorageType.SPARSE, StorageType.OFF_HEAP})
+        {
+            String message = storageType.toString();
+            DoubleVectorData data = DoubleVectorData.instantiate(new double[] {0.0, 3.0, -2.0, 5.0, -2.0, 0.0, 5.0},
+                    IdentityScale.SCALE, storageType);
+            assertEquals(message, 2, data.argMin());
+            assertEquals(message, 3, data.argMax());
+
+            // the maximum is a cell that is not stored in the sparse data
+            data = DoubleVectorData.instantiate(new double[] {-1.0, -3.0, 0.0, -2.0, 0.0}, IdentityScale.SCALE, storageType);
+            assertEquals(message, 2, data.argMax());
+            assertEquals(message, 0.0, data.max(), 0.0);
+            assertEquals(message, 1, data.argMin());
+
+            // a stored value equal to zero after the first zero cell
+            data = DoubleVectorData.instantiate(new double[] {1.0, 0.0, 1.0}, IdentityScale.SCALE, storageType);
+            assertEquals(message, 1, data.argMin());
+            assertEquals(message, 0, data.argMax());
+
+            data = DoubleVectorData.instantiate(new double[] {Double.NaN, 1.0, Double.NaN, -1.0}, IdentityScale.SCALE,
+                    storageType);
+            assertEquals(message, 3, data.argMin());
+            assertEquals(message, 1, data.argMax());
+            assertTrue(message, Double.isNaN(data.normLinf()));
+            assertTrue(message, Double.isNaN(data.normL2(Summation.PAIRWISE)));
+
+            data = DoubleVectorData.instantiate(new double[] {Double.NaN, Double.NaN}, IdentityScale.SCALE, storageType);
+            assertEquals(message, 0, data.argMin());
+            assertTrue(message, Double.isNaN(data.min()));
+
+            // the L2 norm does not overflow when the squares would
+            data = DoubleVectorData.instantiate(new double[] {3E200, 0.0, 4E200}, IdentityScale.SCALE, storageType);
+            assertEquals(message, 5E200, data.normL2(Summation.NAIVE), 1E186);
+
+            data = DoubleVectorData.instantiate(new double[] {}, IdentityScale.SCALE, storageType);
+            assertTrue(message, Double.isNaN(data.mean(Summation.PAIRWISE)));
+            assertEquals(message, 0.0, data.normLinf(), 0.0);
+            try
+            {
+                data.argMin();
+                fail("an empty vector has no minimum");
+            }
+            catch (ValueRuntimeException exception)
+            {
+                // ok
+            }
+            try
+            {
+                data.dot(DoubleVectorData.instantiate(new double[] {1.0}, IdentityScale.SCALE, storageType),
+                        Summation.NAIVE);
+                fail("vectors of different sizes have no dot product");
+            }
+            catch (ValueRuntimeException exception)
+            {
+                // ok
+            }
+        }
+    }
+
+    /**
+     * Test the reductions of matrix data for all storage types, against a straightforward calculation on the values.
+     */
+    @Test
+    public void testMatrixReductions()
+    {
+        Random random = new Random(3456);
+        int rows = 41;
+        int cols = 67;
+        double[][] a = new double[rows][];
+        double[][] b = new double[rows][];
+        for (int row = 0; row < rows; row++)
+        {
+            a[row] = RandomData.vector(random, cols, 0.8, -10.0, 10.0);
+            b[row] = RandomData.vector(random, cols, 0.5, -10.0, 10.0);
+        }
+        // two equal maxima and two equal minima; the first in row-major order is in a later column
+        a[3][40] = 20.0;
+        a[5][2] = 20.0;
+        a[7][30] = -20.0;
+        a[9][1] = -20.0;
+        double[] totals = new double[4];
+        for (int row = 0; row < rows; row++)
+        {
+            for (int col = 0; col < cols; col++)
+            {
+                totals[0] += a[row][col];
+                totals[1] += Math.abs(a[row][col]);
+                totals[2] += a[row][col] * a[row][col];
+                totals[3] += a[row][col] * b[row][col];
+            }
+        }
+        final double sum = totals[0];
+        final double absSum = totals[1];
+        final double squareSum = totals[2];
+        final double dot = totals[3];
+        final double mean = sum / (rows * cols);
+        double deviationSum = 0.0;
+        for (int row = 0; row < rows; row++)
+        {
+            for (int col = 0; col < cols; col++)
+            {
+                deviationSum += (a[row][col] - mean) * (a[row][col] - mean);
+            }
+        }
+        final double variance = deviationSum / (rows * cols);
+        float[][] floatA = new float[rows][];
+        for (int row = 0; row < rows; row++)
+        {
+            floatA[row] = toFloat(a[row]);
+        }
+        for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL})
+        {
+            ExecutionPolicy.runWith(policy, () ->
+            {
+                for (StorageType storageType : StorageType.values())
+                {
+                    String message = storageType + " with " + policy;
+                    DoubleMatrixData data = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, storageType);
+                    assertEquals(message, sum, data.zSum(Summation.KAHAN), 1E-9);
+                    assertEquals(message, mean, data.mean(Summation.PAIRWISE), 1E-12);
+                    assertEquals(message, variance, data.variance(Summation.PAIRWISE), 1E-9);
+                    assertEquals(message, absSum, data.normL1(Summation.NAIVE), 1E-9);
+                    assertEquals(message, Math.sqrt(squareSum), data.normL2(Summation.PAIRWISE), 1E-9);
+                    assertEquals(message, 20.0, data.normLinf(), 0.0);
+                    assertArrayEquals(message, new int[] {3, 40}, data.argMax());
+                    assertArrayEquals(message, new int[] {7, 30}, data.argMin());
+                    assertEquals(message, -20.0, data.min(), 0.0);
+                    assertEquals(message, 20.0, data.max(), 0.0);
+                    for (StorageType otherType : StorageType.values())
+                    {
+                        DoubleMatrixData other = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, otherType);
+                        assertEquals(message + " dot " + otherType, dot, data.dot(other, Summation.KAHAN), 1E-9);
+                    }
+
+                    FloatMatrixData floatData = FloatMatrixData.instantiate(floatA, IdentityScale.SCALE, storageType);
+                    assertEquals(message, (float) sum, floatData.zSum(Summation.KAHAN), 1E-3);
+                    assertArrayEquals(message, new int[] {3, 40}, floatData.argMax());
+                    assertArrayEquals(message, new int[] {7, 30}, floatData.argMin());
+                }
+            });
+        }
+
+        // the minimum of a sparse matrix with only positive values is the first cell that is not stored
+        double[][] positive = new double[][] {{1.0, 2.0, 3.0}, {4.0, 0.0, 6.0}, {0.0, 8.0, 9.0}};
+        for (StorageType storageType : StorageType.values())
+        {
+            DoubleMatrixData data = DoubleMatrixData.instantiate(positive, IdentityScale.SCALE, storageType);
+            assertArrayEquals(storageType.toString(), new int[] {1, 1}, data.argMin());
+            assertArrayEquals(storageType.toString(), new int[] {2, 2}, data.argMax());
+        }
+    }
+
+    /**
+     * Test that the typed reductions return scalars of the right quantity and unit.
+     */
+    @Test
+    public void testTyped()
+    {
+        LengthVector lengths =
+                DoubleVector.instantiate(new double[] {1.0, 2.0, 3.0, 6.0}, LengthUnit.KILOMETER, StorageType.DENSE);
+        Length mean = lengths.mean();
+        assertEquals(3000.0, mean.si, 1E-9);
+        assertEquals(LengthUnit.KILOMETER, mean.getDisplayUnit());
+        assertEquals(1000.0, lengths.min().si, 0.0);
+        assertEquals(6000.0, lengths.max().si, 0.0);
+        assertEquals(3, lengths.argMax());
+        Area variance = lengths.variance().asArea();
+        assertEquals(3.5E6, variance.si, 1E-6);
+        assertEquals(AreaUnit.SI, variance.getDisplayUnit().getStandardUnit());
+        assertEquals(12000.0, lengths.normL1().si, 1E-9);
+        assertEquals(Math.sqrt(50.0) * 1000.0, lengths.normL2().si, 1E-9);
+        assertEquals(6000.0, lengths.normLinf().si, 0.0);
+        assertEquals(12000.0, lengths.zSum(Summation.PAIRWISE).si, 0.0);
+
+        ForceVector forces = DoubleVector.instantiate(new double[] {1.0, 0.0, 2.0, 0.5}, ForceUnit.NEWTON, StorageType.SPARSE);
+        Energy work = forces.dot(lengths).asEnergy();
+        assertEquals(1000.0 + 6000.0 + 3000.0, work.si, 1E-9);
+        assertEquals(EnergyUnit.SI, work.getDisplayUnit().getStandardUnit());
+
+        LengthMatrix matrix =
+                DoubleMatrix.instantiate(new double[][] {{1.0, -2.0}, {0.0, 4.0}}, LengthUnit.METER, StorageType.CSC);
+        assertEquals(0.75, matrix.mean().si, 1E-12);
+        assertArrayEquals(new int[] {0, 1}, matrix.argMin());
+        assertEquals(-2.0, matrix.min().si, 0.0);
+        assertEquals(21.0, matrix.dot(matrix).asArea().si, 1E-12);
+        assertEquals(Math.sqrt(21.0), matrix.normL2().si, 1E-12);
+
+        FloatLengthVector floatLengths =
+                FloatVector.instantiate(new float[] {1.0f, 2.0f, 3.0f, 6.0f}, LengthUnit.KILOMETER, StorageType.SPARSE);
+        assertEquals(3000.0f, floatLengths.mean().si, 1E-3f);
+        FloatArea floatVariance = floatLengths.variance().asArea();
+        assertEquals(3.5E6f, floatVariance.si, 1.0f);
+        assertEquals(3, floatLengths.argMax());
+    }
+
+}
@@ -0,0 +1,157 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataSparse;
+import org.djunits.value.vdouble.vector.data.DoubleVectorDataSparse;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixDataSparse;
+import org.djunits.value.vfloat.vector.data.FloatVectorDataSparse;
+import org.junit.Test;
+
+/**
+ * Test the sorting of the sparse write logs and the sparse builders that use it.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class SparseIndexSortTest
+{
+    /**
+     * Test the order of the surviving log entries.
+     */
+    @Test
+    public void testLastWriteOrder()
+    {
+        assertArrayEquals(new int[] {}, SparseIndexSort.lastWriteOrder(new long[] {}, 0));
+        assertArrayEquals(new int[] {0, 1, 2}, SparseIndexSort.lastWriteOrder(new long[] {1, 5, 9, 0}, 3));
+        assertArrayEquals(new int[] {1, 0, 2}, SparseIndexSort.lastWriteOrder(new long[] {5, 1, 9}, 3));
+        // duplicates: the last write wins
+        assertArrayEquals(new int[] {3, 4, 2}, SparseIndexSort.lastWriteOrder(new long[] {7, 3, 9, 3, 7}, 5));
+        assertArrayEquals(new int[] {2}, SparseIndexSort.lastWriteOrder(new long[] {4, 4, 4}, 3));
+
+        Random random = new Random(3L);
+        long[] indices = new long[10000];
+        TreeMap<Long, Integer> last = new TreeMap<>();
+        for (int i = 0; i < indices.length; i++)
+        {
+            indices[i] = random.nextInt(3000) * 1_000_000_007L;
+            last.put(indices[i], i);
+        }
+        int[] order = SparseIndexSort.lastWriteOrder(indices, indices.length);
+        assertEquals(last.size(), order.length);
+        int k = 0;
+        for (int position : last.values())
+        {
+            assertEquals(position, order[k++]);
+        }
+    }
+
+    /**
+     * Test the vector builders against a map with the last written values.
+     */
+    @Test
+    public void testVectorBuilder()
+    {
+        Random random = new Random(5L);
+        int size = 5000;
+        DoubleVectorDataSparse.Builder builder = new DoubleVectorDataSparse.Builder(size);
+        FloatVectorDataSparse.Builder floatBuilder = new FloatVectorDataSparse.Builder(size);
+        TreeMap<Integer, Double> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++)
+        {
+            int index = random.nextInt(size);
+            double value = random.nextDouble() < 0.2 ? 0.0 : random.nextInt(100) - 50;
+            builder.set(index, value);
+            floatBuilder.set(index, (float) value);
+            expected.put(index, value);
+        }
+        DoubleVectorDataSparse data = builder.build();
+        FloatVectorDataSparse floatData = floatBuilder.build();
+        assertEquals(size, data.size());
+        assertEquals(expected.values().stream().filter(v -> v != 0.0).count(), data.cardinality());
+        assertEquals(data.cardinality(), floatData.cardinality());
+        for (int i = 0; i < size; i++)
+        {
+            double value = expected.getOrDefault(i, 0.0);
+            assertEquals(value, data.getSI(i), 0.0);
+            assertEquals(value, floatData.getSI(i), 0.0f);
+        }
+
+        // the builder can continue, and build again without changing the first result
+        builder.set(0, 12.0).set(size - 1, 0.0);
+        DoubleVectorDataSparse data2 = builder.build();
+        assertEquals(12.0, data2.getSI(0), 0.0);
+        assertEquals(0.0, data2.getSI(size - 1), 0.0);
+        assertEquals(expected.getOrDefault(0, 0.0), data.getSI(0), 0.0);
+
+        // open existing data for writing
+        DoubleVectorDataSparse data3 = data2.toBuilder().set(1, 99.0).build();
+        assertEquals(99.0, data3.getSI(1), 0.0);
+        assertEquals(12.0, data3.getSI(0), 0.0);
+        assertEquals(expected.getOrDefault(1, 0.0), data2.getSI(1), 0.0);
+        assertEquals(data2.cardinality() + (data2.getSI(1) == 0.0 ? 1 : 0), data3.cardinality());
+
+        try
+        {
+            builder.set(size, 1.0);
+            fail("index out of range should have thrown an exception");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+    }
+
+    /**
+     * Test the matrix builders, and filling a large sparse vector incrementally.
+     */
+    @Test
+    public void testMatrixBuilder()
+    {
+        DoubleMatrixDataSparse.Builder builder = new DoubleMatrixDataSparse.Builder(3, 4);
+        builder.set(2, 3, 5.0).set(0, 1, 1.0).set(1, 1, 2.0).set(0, 1, 0.0).set(2, 0, 7.0);
+        DoubleMatrixDataSparse data = builder.build();
+        assertEquals(3, data.rows());
+        assertEquals(4, data.cols());
+        assertEquals(3, data.cardinality());
+        assertEquals(0.0, data.getSI(0, 1), 0.0);
+        assertEquals(2.0, data.getSI(1, 1), 0.0);
+        assertEquals(7.0, data.getSI(2, 0), 0.0);
+        assertEquals(5.0, data.getSI(2, 3), 0.0);
+        assertEquals(4.0, data.toBuilder().set(0, 0, 4.0).build().getSI(0, 0), 0.0);
+
+        FloatMatrixDataSparse floatData = new FloatMatrixDataSparse.Builder(2, 2).set(1, 0, 3f).set(0, 1, 2f).build();
+        assertEquals(2, floatData.cardinality());
+        assertEquals(3f, floatData.getSI(1, 0), 0.0f);
+        try
+        {
+            builder.set(1, 4, 1.0);
+            fail("column out of range should have thrown an exception");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+
+        // one million cells in reverse order; with setSI on sparse data this would copy the arrays for each cell
+        int size = 1_000_000;
+        DoubleVectorDataSparse.Builder vectorBuilder = new DoubleVectorDataSparse.Builder(size);
+        for (int i = size - 1; i >= 0; i -= 2)
+        {
+            vectorBuilder.set(i, i);
+        }
+        DoubleVectorDataSparse vector = vectorBuilder.build();
+        assertEquals(size / 2, vector.cardinality());
+        assertEquals(999_999.0, vector.getSI(999_999), 0.0);
+        assertEquals(0.0, vector.getSI(999_998), 0.0);
+    }
+
+}
@@ -0,0 +1,359 @@
+package org.djunits.value.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SIUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.unit.TemperatureUnit;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.vdouble.matrix.SIMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.SIScalar;
+import org.djunits.value.vdouble.scalar.Temperature;
+import org.djunits.value.vdouble.scalar.base.DoubleScalar;
+import org.djunits.value.vdouble.vector.LengthVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vfloat.matrix.FloatSpeedMatrix;
+import org.djunits.value.vfloat.matrix.base.FloatMatrix;
+import org.djunits.value.vfloat.scalar.FloatSpeed;
+import org.djunits.value.vfloat.scalar.base.FloatScalar;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.junit.Test;
+
+/**
+ * Test the compact binary format of ValueCodec for scalars, vectors and matrices, through a DataOutput and DataInput and
+ * through a ByteBuffer.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class ValueCodecTest
+{
+    /** whether the class NotAUnit has been initialized. */
+    private static boolean notAUnitInitialized = false;
+
+    /**
+     * Return a DataInputStream over the bytes of a stream.
+     * @param bytes ByteArrayOutputStream; the stream with the bytes
+     * @return DataInputStream; a DataInputStream over the bytes
+     */
+    private static DataInputStream in(final ByteArrayOutputStream bytes)
+    {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    /**
+     * Write the header of encoded data, followed by a unit reference and a size.
+     * @param encoded byte[]; the encoded data of which the header is used
+     * @param unitClassName String; the class name of the unit
+     * @param unitId String; the id of the unit
+     * @param size int; the size to write after the unit
+     * @return ByteArrayOutputStream; the stream with the bytes
+     * @throws IOException on I/O error
+     */
+    private static ByteArrayOutputStream header(final byte[] encoded, final String unitClassName, final String unitId,
+            final int size) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(encoded, 0, 8);
+        out.writeUTF(unitClassName);
+        out.writeUTF(unitId);
+        out.writeInt(size);
+        return bytes;
+    }
+
+    /**
+     * Test scalars, also with an absolute unit and an SI unit.
+     * @throws IOException on I/O error
+     * @throws UnitException when the SI unit cannot be parsed
+     */
+    @Test
+    public void testScalars() throws IOException, UnitException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Length length = new Length(12.5, LengthUnit.KILOMETER);
+        DoubleScalar.encode(length, out);
+        DoubleScalar.encode(new SIScalar(3.0, SIUnit.of("kgm/s2")), out);
+        DoubleScalar.encode(new Temperature(20.0, TemperatureUnit.DEGREE_CELSIUS), out);
+        FloatScalar.encode(new FloatSpeed(80f, SpeedUnit.KM_PER_HOUR), out);
+
+        DataInputStream in = in(bytes);
+        Length decoded = DoubleScalar.decode(in);
+        assertEquals(length, decoded);
+        assertEquals(LengthUnit.KILOMETER, decoded.getDisplayUnit());
+        SIScalar si = DoubleScalar.decode(in);
+        assertEquals(SIUnit.of("kgm/s2"), si.getDisplayUnit());
+        assertEquals(3.0, si.si, 0.0);
+        Temperature temperature = DoubleScalar.decode(in);
+        assertEquals(20.0, temperature.getInUnit(), 1E-12);
+        assertEquals(TemperatureUnit.DEGREE_CELSIUS, temperature.getDisplayUnit());
+        FloatSpeed speed = FloatScalar.decode(in);
+        assertEquals(80f, speed.getInUnit(), 1E-5f);
+        assertEquals(SpeedUnit.KM_PER_HOUR, speed.getDisplayUnit());
+        assertEquals(-1, in.read());
+
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        DoubleScalar.encode(length, buffer);
+        assertEquals(bytes.toByteArray()[0], buffer.get(0));
+        buffer.flip();
+        assertEquals(length, DoubleScalar.decode(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    /**
+     * Test vectors of all storage types, through a stream and through buffers with both byte orders.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testVectors() throws IOException
+    {
+        double[] values = new double[5000];
+        for (int i = 0; i < values.length; i += 7)
+        {
+            values[i] = i * 0.5;
+        }
+        for (StorageType storageType : StorageType.values())
+        {
+            LengthVector vector = DoubleVector.instantiate(values, LengthUnit.KILOMETER, storageType);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DoubleVector.encode(vector, new DataOutputStream(bytes));
+            LengthVector decoded = DoubleVector.decode(in(bytes));
+            assertEquals(storageType.toString(), vector, decoded);
+            assertEquals(vector.getStorageType(), decoded.getStorageType());
+            assertEquals(LengthUnit.KILOMETER, decoded.getDisplayUnit());
+
+            for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN})
+            {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size() + 10).order(order);
+                buffer.position(3);
+                DoubleVector.encode(vector, buffer);
+                assertEquals(bytes.size() + 3, buffer.position());
+                buffer.flip().position(3);
+                LengthVector fromBuffer = DoubleVector.decode(buffer);
+                assertEquals(vector, fromBuffer);
+                assertEquals(0, buffer.remaining());
+                assertEquals(order, buffer.order());
+            }
+
+            FloatLengthVector floatVector =
+                    FloatVector.instantiate(new float[] {0f, 1.5f, 0f, -2f}, LengthUnit.MILLIMETER, storageType);
+            bytes.reset();
+            FloatVector.encode(floatVector, new DataOutputStream(bytes));
+            FloatLengthVector floatDecoded = FloatVector.decode(in(bytes));
+            assertEquals(floatVector, floatDecoded);
+            assertEquals(floatVector.getStorageType(), floatDecoded.getStorageType());
+            assertArrayEquals(new float[] {0f, 1.5f, 0f, -2f}, floatDecoded.getValuesInUnit(), 0f);
+        }
+
+        // a sparse vector only writes its stored values, and is much smaller than a serialized vector
+        LengthVector sparse = DoubleVector.instantiate(values, LengthUnit.KILOMETER, StorageType.SPARSE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DoubleVector.encode(sparse, new DataOutputStream(bytes));
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized))
+        {
+            out.writeObject(sparse);
+        }
+        assertTrue(bytes.size() + " bytes", bytes.size() < 100 + 12 * sparse.cardinality());
+        assertTrue(bytes.size() + " >= " + serialized.size(), bytes.size() < serialized.size());
+    }
+
+    /**
+     * Test matrices of all storage types.
+     * @throws IOException on I/O error
+     * @throws UnitException when the SI unit cannot be parsed
+     */
+    @Test
+    public void testMatrices() throws IOException, UnitException
+    {
+        double[][] values = {{1, 0, 3, 0}, {0, 0, 0, 0}, {0, -2, 0, 6}};
+        for (StorageType storageType : StorageType.values())
+        {
+            SIMatrix matrix = SIMatrix.instantiate(values, SIUnit.of("kgm/s2"), storageType);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DoubleMatrix.encode(matrix, new DataOutputStream(bytes));
+            SIMatrix decoded = DoubleMatrix.decode(in(bytes));
+            assertEquals(storageType.toString(), matrix, decoded);
+            assertEquals(storageType, decoded.getStorageType());
+            assertEquals(SIUnit.of("kgm/s2"), decoded.getDisplayUnit());
+
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.size());
+            DoubleMatrix.encode(matrix, buffer);
+            assertArrayEquals(bytes.toByteArray(), buffer.array());
+            buffer.flip();
+            assertEquals(matrix, DoubleMatrix.decode(buffer));
+
+            FloatSpeedMatrix floatMatrix = FloatMatrix.instantiate(new float[][] {{0f, 2f}, {3f, 0f}, {0f, 0f}},
+                    SpeedUnit.KM_PER_HOUR, storageType);
+            bytes.reset();
+            FloatMatrix.encode(floatMatrix, new DataOutputStream(bytes));
+            FloatSpeedMatrix floatDecoded = FloatMatrix.decode(in(bytes));
+            assertEquals(floatMatrix, floatDecoded);
+            assertEquals(storageType, floatDecoded.getStorageType());
+            assertEquals(SpeedUnit.KM_PER_HOUR, floatDecoded.getDisplayUnit());
+        }
+    }
+
+    /**
+     * Test input that does not hold the expected value, and a buffer that is too small.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testErrors() throws IOException
+    {
+        LengthVector vector = DoubleVector.instantiate(new double[] {1, 0, 2}, LengthUnit.METER, StorageType.SPARSE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DoubleVector.encode(vector, new DataOutputStream(bytes));
+        byte[] encoded = bytes.toByteArray();
+
+        try
+        {
+            FloatVector.decode(ByteBuffer.wrap(encoded));
+            fail("decoding double values as float values should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        try
+        {
+            DoubleMatrix.decode(ByteBuffer.wrap(encoded));
+            fail("decoding a vector as a matrix should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        byte[] corrupt = encoded.clone();
+        corrupt[0] = 0;
+        try
+        {
+            DoubleVector.decode(ByteBuffer.wrap(corrupt));
+            fail("wrong magic number should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        try
+        {
+            DoubleVector.decode(ByteBuffer.wrap(encoded, 0, encoded.length - 1));
+            fail("truncated buffer should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        try
+        {
+            DoubleVector.decode(new DataInputStream(new ByteArrayInputStream(encoded, 0, encoded.length - 1)));
+            fail("truncated stream should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        // swap the two indices of the sparse vector, so they are not ascending
+        ByteBuffer swapped = ByteBuffer.wrap(encoded.clone());
+        int indices = encoded.length - 2 * Double.BYTES - 2 * Integer.BYTES;
+        swapped.putInt(indices, 2).putInt(indices + Integer.BYTES, 0);
+        try
+        {
+            DoubleVector.decode(swapped);
+            fail("indices that are not ascending should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        // a class that is not a unit is rejected before it is initialized
+        try
+        {
+            DoubleVector.decode(in(header(encoded, NotAUnit.class.getName(), "m", Integer.MAX_VALUE)));
+            fail("a class that is not a unit should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            assertFalse(notAUnitInitialized);
+        }
+
+        // a huge size in a stream ends at the end of the stream, without allocating an array of that size
+        byte[] dense = header(encoded, LengthUnit.class.getName(), "m", Integer.MAX_VALUE).toByteArray();
+        dense[7] = 0; // storage type DENSE
+        try
+        {
+            DoubleVector.decode(new DataInputStream(new ByteArrayInputStream(dense)));
+            fail("a size beyond the end of the stream should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        // more stored values than the size of the sparse vector
+        ByteArrayOutputStream sparse = header(encoded, LengthUnit.class.getName(), "m", 3);
+        new DataOutputStream(sparse).writeInt(4);
+        try
+        {
+            DoubleVector.decode(in(sparse));
+            fail("more stored values than the size should have thrown an exception");
+        }
+        catch (IOException exception)
+        {
+            // ok
+        }
+
+        try
+        {
+            DoubleVector.encode(vector, ByteBuffer.allocate(encoded.length - 1));
+            fail("buffer that is too small should have thrown an exception");
+        }
+        catch (BufferOverflowException exception)
+        {
+            // ok
+        }
+    }
+
+    /** A class that is not a unit, and records whether it has been initialized. */
+    static final class NotAUnit
+    {
+        static
+        {
+            notAUnitInitialized = true;
+        }
+
+        /** */
+        private NotAUnit()
+        {
+            // not instantiated
+        }
+    }
+
+}
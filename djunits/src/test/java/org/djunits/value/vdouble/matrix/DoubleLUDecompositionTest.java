@@ -0,0 +1,239 @@
+package org.djunits.value.vdouble.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.djunits.Try;
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.data.DoubleLUDecomposition;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixDataDense;
+import org.junit.Test;
+
+/**
+ * Test the LU decomposition, and the determinant, solve and inverse methods that are based on it.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleLUDecompositionTest
+{
+    /**
+     * Compare the LU-based determinant with the cofactor-based determinant for dense and sparse storage.
+     */
+    @Test
+    public void testDeterminant()
+    {
+        Random random = new Random(1234L);
+        for (int n = 1; n <= 7; n++)
+        {
+            for (double zeroFraction : new double[] { 0.0, 0.5, 0.8 })
+            {
+                double[][] values = RandomData.matrix(random, n, n, zeroFraction, -5.0, 5.0);
+                double expected = Determinant.det(values);
+                for (StorageType storageType : new StorageType[] { StorageType.DENSE, StorageType.SPARSE })
+                {
+                    DoubleMatrixData data = DoubleMatrixData.instantiate(values, IdentityScale.SCALE, storageType);
+                    assertEquals("determinant n=" + n + ", storage=" + storageType, expected, data.determinantSI(),
+                            1E-9 * Math.max(1.0, Math.abs(expected)));
+                    assertEquals("LU determinant n=" + n + ", storage=" + storageType, expected,
+                            data.decomposeLU().determinant(), 1E-9 * Math.max(1.0, Math.abs(expected)));
+                }
+            }
+        }
+
+        // a sparse triangular matrix, a matrix with an empty row, and a matrix with an empty column
+        double[][] triangular = new double[][] { { 2, 0, 0 }, { 3, 4, 0 }, { 5, 6, 7 } };
+        double[][] emptyRow = new double[][] { { 2, 1, 0 }, { 0, 0, 0 }, { 5, 6, 7 } };
+        double[][] emptyCol = new double[][] { { 2, 0, 1 }, { 3, 0, 4 }, { 5, 0, 7 } };
+        for (StorageType storageType : new StorageType[] { StorageType.DENSE, StorageType.SPARSE })
+        {
+            assertEquals(56.0, DoubleMatrixData.instantiate(triangular, IdentityScale.SCALE, storageType).determinantSI(),
+                    1E-12);
+            assertEquals(0.0, DoubleMatrixData.instantiate(emptyRow, IdentityScale.SCALE, storageType).determinantSI(), 0.0);
+            assertEquals(0.0, DoubleMatrixData.instantiate(emptyCol, IdentityScale.SCALE, storageType).determinantSI(), 0.0);
+        }
+
+        // the typed matrix uses the LU-based determinant as well
+        AreaMatrix am = DoubleMatrix.instantiate(triangular, AreaUnit.SQUARE_METER, StorageType.DENSE);
+        assertEquals(56.0, am.determinantSI(), 1E-12);
+    }
+
+    /**
+     * Test that the determinant of a large matrix can be calculated; the cofactor algorithm would never finish.
+     */
+    @Test
+    public void testLargeDeterminant()
+    {
+        // A = L * U with unit diagonal in L and a known diagonal in U, so det(A) is the product of the diagonal of U
+        int n = 50;
+        double[][] l = new double[n][n];
+        double[][] u = new double[n][n];
+        double expected = 1.0;
+        for (int i = 0; i < n; i++)
+        {
+            l[i][i] = 1.0;
+            u[i][i] = 1.0 + 0.02 * i;
+            expected *= u[i][i];
+            for (int j = 0; j < i; j++)
+            {
+                l[i][j] = 0.01 * ((i + j) % 7);
+            }
+            for (int j = i + 1; j < n; j++)
+            {
+                u[i][j] = 0.05 * ((i * j) % 5);
+            }
+        }
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++)
+        {
+            for (int j = 0; j < n; j++)
+            {
+                double sum = 0.0;
+                for (int k = 0; k < n; k++)
+                {
+                    sum += l[i][k] * u[k][j];
+                }
+                a[i][j] = sum;
+            }
+        }
+        DoubleMatrixData data = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+        assertEquals(expected, data.determinantSI(), 1E-9 * expected);
+    }
+
+    /**
+     * Test solve and inverse.
+     */
+    @Test
+    public void testSolveAndInverse()
+    {
+        Random random = new Random(5678L);
+        int n = 6;
+        double[][] values = RandomData.matrix(random, n, n, 0.3, -5.0, 5.0);
+        for (StorageType storageType : new StorageType[] { StorageType.DENSE, StorageType.SPARSE })
+        {
+            DoubleMatrixData data = DoubleMatrixData.instantiate(values, IdentityScale.SCALE, storageType);
+            DoubleLUDecomposition lu = data.decomposeLU();
+            assertEquals(n, lu.size());
+            assertFalse(lu.isSingular());
+
+            // A * x = b
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++)
+            {
+                b[i] = i + 1.0;
+            }
+            double[] x = lu.solve(b);
+            for (int i = 0; i < n; i++)
+            {
+                double sum = 0.0;
+                for (int j = 0; j < n; j++)
+                {
+                    sum += values[i][j] * x[j];
+                }
+                assertEquals("A * x = b", b[i], sum, 1E-9);
+            }
+
+            // A * A^-1 = I, and solving A * X = I gives the inverse as well
+            DoubleMatrixDataDense inverse = lu.inverse();
+            for (int i = 0; i < n; i++)
+            {
+                for (int j = 0; j < n; j++)
+                {
+                    double sum = 0.0;
+                    for (int k = 0; k < n; k++)
+                    {
+                        sum += values[i][k] * inverse.getSI(k, j);
+                    }
+                    assertEquals("A * inv(A) = I", i == j ? 1.0 : 0.0, sum, 1E-9);
+                }
+            }
+            double[][] identity = new double[n][n];
+            for (int i = 0; i < n; i++)
+            {
+                identity[i][i] = 1.0;
+            }
+            DoubleMatrixDataDense solved =
+                    lu.solve(DoubleMatrixData.instantiate(identity, IdentityScale.SCALE, StorageType.SPARSE));
+            for (int i = 0; i < n; i++)
+            {
+                assertArrayEquals(inverse.getDenseMatrixSI()[i], solved.getDenseMatrixSI()[i], 1E-12);
+            }
+
+            // P * A = L * U
+            int[] pivot = lu.getPivot();
+            double[][] lm = lu.getL().getDenseMatrixSI();
+            double[][] um = lu.getU().getDenseMatrixSI();
+            for (int i = 0; i < n; i++)
+            {
+                for (int j = 0; j < n; j++)
+                {
+                    double sum = 0.0;
+                    for (int k = 0; k < n; k++)
+                    {
+                        sum += lm[i][k] * um[k][j];
+                    }
+                    assertEquals("P * A = L * U", values[pivot[i]][j], sum, 1E-9);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the error conditions.
+     */
+    @Test
+    public void testErrors()
+    {
+        DoubleMatrixData nonSquare =
+                DoubleMatrixData.instantiate(new double[][] { { 1, 2, 3 }, { 4, 5, 6 } }, IdentityScale.SCALE, StorageType.DENSE);
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                nonSquare.decomposeLU();
+            }
+        }.test("LU decomposition of non-square matrix should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                nonSquare.toSparse().determinantSI();
+            }
+        }.test("determinant of non-square sparse matrix should have thrown exception");
+
+        DoubleLUDecomposition singular = DoubleMatrixData
+                .instantiate(new double[][] { { 1, 2 }, { 2, 4 } }, IdentityScale.SCALE, StorageType.DENSE).decomposeLU();
+        assertTrue(singular.isSingular());
+        assertEquals(0.0, singular.determinant(), 0.0);
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                singular.inverse();
+            }
+        }.test("inverse of singular matrix should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                singular.solve(new double[] { 1, 2 });
+            }
+        }.test("solve with singular matrix should have thrown exception");
+    }
+
+}
@@ -0,0 +1,227 @@
+package org.djunits.value.vdouble.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.djunits.Try;
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.DurationUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.unit.si.SIDimensions;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.vector.DurationVector;
+import org.djunits.value.vdouble.vector.SIVector;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.junit.Test;
+
+/**
+ * Test the matrix product (mmul) of matrices, and of a matrix and a vector.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleMatrixMmulTest
+{
+    /** the storage types to combine. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] { StorageType.DENSE, StorageType.SPARSE };
+
+    /**
+     * Straightforward matrix product to compare with.
+     * @param a double[][]; left operand
+     * @param b double[][]; right operand
+     * @return double[][]; the product
+     */
+    private static double[][] product(final double[][] a, final double[][] b)
+    {
+        double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++)
+        {
+            for (int j = 0; j < b[0].length; j++)
+            {
+                for (int k = 0; k < b.length; k++)
+                {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Test the data-level product for all combinations of storage types, for small sizes, for sizes that span several tiles,
+     * and for sizes that are calculated in parallel.
+     */
+    @Test
+    public void testDataProduct()
+    {
+        Random random = new Random(42L);
+        int[][] sizes = new int[][] { { 1, 1, 1 }, { 3, 4, 5 }, { 70, 65, 130 }, { 150, 130, 170 } };
+        for (int[] size : sizes)
+        {
+            for (double zeroFraction : new double[] { 0.0, 0.9 })
+            {
+                double[][] a = RandomData.matrix(random, size[0], size[1], zeroFraction, -1.0, 1.0);
+                double[][] b = RandomData.matrix(random, size[1], size[2], zeroFraction, -1.0, 1.0);
+                double[][] expected = product(a, b);
+                for (StorageType leftType : STORAGE_TYPES)
+                {
+                    for (StorageType rightType : STORAGE_TYPES)
+                    {
+                        DoubleMatrixData left = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, leftType);
+                        DoubleMatrixData right = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+                        DoubleMatrixData result = left.mmul(right);
+                        assertEquals(leftType.equals(StorageType.SPARSE) && rightType.equals(StorageType.SPARSE)
+                                ? StorageType.SPARSE : StorageType.DENSE, result.getStorageType());
+                        assertEquals(size[0], result.rows());
+                        assertEquals(size[2], result.cols());
+                        for (int i = 0; i < size[0]; i++)
+                        {
+                            for (int j = 0; j < size[2]; j++)
+                            {
+                                assertEquals(leftType + " x " + rightType + " [" + i + "," + j + "]", expected[i][j],
+                                        result.getSI(i, j), 1E-10);
+                            }
+                        }
+
+                        // matrix times vector
+                        double[] x = RandomData.vector(random, size[1], zeroFraction, -1.0, 1.0);
+                        DoubleVectorData y = left.mmul(DoubleVectorData.instantiate(x, IdentityScale.SCALE, rightType));
+                        assertEquals(leftType, y.getStorageType());
+                        for (int i = 0; i < size[0]; i++)
+                        {
+                            double sum = 0.0;
+                            for (int k = 0; k < size[1]; k++)
+                            {
+                                sum += a[i][k] * x[k];
+                            }
+                            assertEquals("matrix x vector", sum, y.getSI(i), 1E-10);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that zero cells of a dense left operand multiplied by infinite or NaN cells of the right operand give NaN, as in a
+     * straightforward matrix product.
+     */
+    @Test
+    public void testNonFiniteProduct()
+    {
+        double[][] a = new double[][] { { 0, 1 }, { 2, 0 }, { 0, 0 } };
+        double[][] b = new double[][] { { Double.POSITIVE_INFINITY, 1, 0 }, { Double.NaN, 2, 0 } };
+        double[][] expected = product(a, b);
+        for (StorageType rightType : STORAGE_TYPES)
+        {
+            DoubleMatrixData left = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+            DoubleMatrixData result = left.mmul(DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType));
+            for (int i = 0; i < 3; i++)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    assertEquals("DENSE x " + rightType + " [" + i + "," + j + "]", expected[i][j], result.getSI(i, j), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that a product with more than Integer.MAX_VALUE cells is refused instead of overflowing the size of the result.
+     */
+    @Test
+    public void testProductTooLarge()
+    {
+        DoubleMatrixData left = DoubleMatrixData.instantiate(new double[65536][1], IdentityScale.SCALE, StorageType.DENSE);
+        DoubleMatrixData right = DoubleMatrixData.instantiate(new double[1][65537], IdentityScale.SCALE, StorageType.DENSE);
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                left.mmul(right);
+            }
+        }.test("mmul of 65536x1 and 1x65537 matrix should have thrown exception", ValueRuntimeException.class);
+    }
+
+    /**
+     * Test the unit-aware product of typed matrices and vectors.
+     * @throws UnitException on error
+     */
+    @Test
+    public void testTypedProduct() throws UnitException
+    {
+        double[][] lengths = new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } };
+        double[][] speeds = new double[][] { { 1, 0, 2 }, { 0, 3, 0 } };
+        LengthMatrix lm = DoubleMatrix.instantiate(lengths, LengthUnit.METER, StorageType.DENSE);
+        SpeedMatrix sm = DoubleMatrix.instantiate(speeds, SpeedUnit.METER_PER_SECOND, StorageType.SPARSE);
+        SIMatrix product = lm.mmul(sm);
+        assertEquals(SIDimensions.of("m2/s"), product.getDisplayUnit().getQuantity().getSiDimensions());
+        assertEquals(3, product.rows());
+        assertEquals(3, product.cols());
+        double[][] expected = product(lengths, speeds);
+        for (int i = 0; i < 3; i++)
+        {
+            for (int j = 0; j < 3; j++)
+            {
+                assertEquals(expected[i][j], product.getSI(i, j), 1E-12);
+            }
+        }
+
+        AreaMatrix am = lm.mmul(DoubleMatrix.instantiate(new double[][] { { 1, 0 }, { 0, 1 } }, LengthUnit.METER,
+                StorageType.DENSE, LengthMatrix.class)).asArea();
+        assertEquals(AreaUnit.SI, am.getDisplayUnit());
+        assertEquals(6.0, am.getSI(2, 1), 1E-12);
+
+        DurationVector dv = DoubleVector.instantiate(new double[] { 2, 10 }, DurationUnit.SECOND, StorageType.DENSE);
+        SIVector lv = lm.mmul(dv);
+        assertEquals(SIDimensions.of("m.s"), lv.getDisplayUnit().getQuantity().getSiDimensions());
+        assertEquals(3, lv.size());
+        assertEquals(22.0, lv.getSI(0), 1E-12);
+        assertEquals(46.0, lv.getSI(1), 1E-12);
+        assertEquals(70.0, lv.getSI(2), 1E-12);
+
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                try
+                {
+                    lm.mmul(lm);
+                }
+                catch (UnitException exception)
+                {
+                    throw new RuntimeException(exception);
+                }
+            }
+        }.test("mmul of 3x2 and 3x2 matrix should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                try
+                {
+                    sm.mmul(dv);
+                }
+                catch (UnitException exception)
+                {
+                    throw new RuntimeException(exception);
+                }
+            }
+        }.test("mmul of 2x3 matrix and vector of size 2 should have thrown exception");
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.djunits.value.vdouble.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.function.DoubleFunction;
+import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.junit.Test;
+
+/**
+ * Test the cell-by-cell operations on sparse matrices and vectors, which count the non-zero results per range of rows or
+ * indices first, and then fill exactly sized arrays. The sizes are chosen such that the operations are split in several chunks.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleSparseAssignTest
+{
+    /** the storage types to combine. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] {StorageType.DENSE, StorageType.SPARSE};
+
+    /**
+     * Check that sparse data has exactly sized arrays without stored zeros, and has the expected values.
+     * @param message String; the message for a failure
+     * @param expected double[][]; the expected values
+     * @param data DoubleMatrixData; the data to check
+     */
+    private static void check(final String message, final double[][] expected, final DoubleMatrixData data)
+    {
+        int nonZero = 0;
+        for (int row = 0; row < expected.length; row++)
+        {
+            for (int col = 0; col < expected[row].length; col++)
+            {
+                assertEquals(message + " [" + row + "," + col + "]", expected[row][col], data.getSI(row, col), 0.0);
+                nonZero += expected[row][col] != 0.0 ? 1 : 0;
+            }
+        }
+        if (data.isSparse())
+        {
+            assertEquals(message + " cardinality", nonZero, data.cardinality());
+        }
+    }
+
+    /**
+     * Apply an operation to each pair of cells.
+     * @param a double[][]; the left operand
+     * @param b double[][]; the right operand
+     * @param operation DoubleFunction2; the operation
+     * @return double[][]; the result
+     */
+    private static double[][] apply(final double[][] a, final double[][] b, final DoubleFunction2 operation)
+    {
+        double[][] result = new double[a.length][a[0].length];
+        for (int row = 0; row < a.length; row++)
+        {
+            for (int col = 0; col < a[0].length; col++)
+            {
+                result[row][col] = operation.apply(a[row][col], b[row][col]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Test the binary operations of sparse matrices with the different execution policies.
+     */
+    @Test
+    public void testMatrixOperations()
+    {
+        for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                ExecutionPolicy.executor(Runnable::run, 3)})
+        {
+            ExecutionPolicy.runWith(policy, () ->
+            {
+                Random random = new Random(17L);
+                for (int[] size : new int[][] {{1, 1}, {1, 40}, {40, 1}, {37, 53}})
+                {
+                    double[][] a = RandomData.integerMatrix(random, size[0], size[1], 0.8, -3, 3);
+                    double[][] b = RandomData.integerMatrix(random, size[0], size[1], 0.8, -3, 3);
+                    for (StorageType rightType : STORAGE_TYPES)
+                    {
+                        String message = policy + " SPARSE op " + rightType + " " + size[0] + "x" + size[1];
+                        DoubleMatrixData left = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.SPARSE);
+                        DoubleMatrixData right = DoubleMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+                        check("plus " + message, apply(a, b, (l, r) -> l + r), left.copy().incrementBy(right));
+                        check("minus " + message, apply(a, b, (l, r) -> l - r), left.copy().decrementBy(right));
+                        check("times " + message, apply(a, b, (l, r) -> l * r), left.copy().multiplyBy(right));
+                        check("self-cancel " + message, apply(a, a, (l, r) -> l - r), left.copy().decrementBy(left));
+                        assertEquals(0, left.copy().decrementBy(left).cardinality());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Test the unary operations of sparse matrices and vectors, with a function that turns part of the values into zero.
+     */
+    @Test
+    public void testUnaryOperations()
+    {
+        Random random = new Random(19L);
+        double[][] a = RandomData.integerMatrix(random, 61, 47, 0.7, -3, 3);
+        DoubleFunction clip = value -> value > 1.0 ? value : 0.0;
+        double[][] expected = apply(a, a, (l, r) -> clip.apply(l));
+        DoubleMatrixData data = DoubleMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.SPARSE);
+        check("matrix clip", expected, data.copy().assign(clip));
+        check("matrix neg", apply(a, a, (l, r) -> -l), data.copy().assign(value -> -value));
+
+        double[] v = a[0].clone();
+        DoubleVectorData vector = DoubleVectorData.instantiate(v, IdentityScale.SCALE, StorageType.SPARSE);
+        vector.assign(clip);
+        int nonZero = 0;
+        for (int i = 0; i < v.length; i++)
+        {
+            assertEquals(clip.apply(v[i]), vector.getSI(i), 0.0);
+            nonZero += clip.apply(v[i]) != 0.0 ? 1 : 0;
+        }
+        assertEquals(nonZero, vector.cardinality());
+
+        float[][] f = new float[][] {{0f, 2f, 0f}, {-1f, 0f, 3f}};
+        FloatMatrixData floatData = FloatMatrixData.instantiate(f, IdentityScale.SCALE, StorageType.SPARSE);
+        FloatMatrixData floatSum = floatData.copy().incrementBy(floatData.copy().assign(value -> -value));
+        assertEquals(0, floatSum.cardinality());
+        assertEquals(4f, floatData.copy().incrementBy(floatData).getSI(0, 1), 0.0f);
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.djunits.value.vdouble.vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.ExecutionPolicy;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.LengthMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrixExpression;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vdouble.vector.base.DoubleVectorExpression;
+import org.junit.Test;
+
+/**
+ * Test the lazily evaluated expressions on vectors and matrices against the results of the eager operations, for all storage
+ * types and execution policies.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleVectorExpressionTest
+{
+    /**
+     * Test vector expressions against the eager operations.
+     */
+    @Test
+    public void testVectorExpressions()
+    {
+        Random random = new Random(1234);
+        // more than two blocks, so blocks and chunks are combined
+        int size = 2 * 1024 + 17;
+        double[] a = RandomData.vector(random, size, 0.5, -1.0, 1.0);
+        double[] b = RandomData.vector(random, size, 0.5, -1.0, 1.0);
+        double[] c = RandomData.vector(random, size, 0.5, -1.0, 1.0);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            for (ExecutionPolicy policy : new ExecutionPolicy[] {ExecutionPolicy.SEQUENTIAL, ExecutionPolicy.COMMON_POOL,
+                    ExecutionPolicy.executor(executor, 4)})
+            {
+                ExecutionPolicy.runWith(policy, () ->
+                {
+                    for (StorageType storageType : StorageType.values())
+                    {
+                        String message = storageType + " with " + policy;
+                        LengthVector va = DoubleVector.instantiate(a, LengthUnit.KILOMETER, storageType);
+                        LengthVector vb = DoubleVector.instantiate(b, LengthUnit.METER, StorageType.DENSE);
+                        LengthVector vc = DoubleVector.instantiate(c, LengthUnit.METER, StorageType.SPARSE);
+                        Length increment = Length.instantiateSI(0.25);
+
+                        LengthVector eager = va.plus(vb).times(2.0).minus(vc);
+                        DoubleVectorExpression<LengthUnit, Length, LengthVector> expression =
+                                va.lazy().plus(vb).times(2.0).minus(vc);
+                        LengthVector lazy = expression.evaluate();
+                        assertArrayEquals(message, eager.getValuesSI(), lazy.getValuesSI(), 0.0);
+                        assertEquals(message, LengthUnit.KILOMETER, lazy.getDisplayUnit());
+                        assertEquals(message, va.getStorageType(), lazy.getStorageType());
+                        assertEquals(message, eager.zSum().si, expression.zSum().si, 1E-9);
+                        assertEquals(message, size, expression.size());
+
+                        eager = va.minus(vb.plus(vc)).divide(4.0).mutable().neg().abs().incrementBy(increment)
+                                .decrementBy(increment);
+                        lazy = va.lazy().minus(vb.lazy().plus(vc)).divide(4.0).neg().abs().plus(increment).minus(increment)
+                                .evaluate();
+                        assertArrayEquals(message, eager.getValuesSI(), lazy.getValuesSI(), 0.0);
+
+                        lazy = va.lazy().plus(vb.lazy().minus(vc.lazy().apply(value -> value * value))).evaluate();
+                        for (int i = 0; i < size; i++)
+                        {
+                            assertEquals(message, va.getSI(i) + (b[i] - c[i] * c[i]), lazy.getSI(i), 0.0);
+                        }
+                    }
+                });
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the values are read when the expression is evaluated, and that sizes are checked when it is built.
+     */
+    @Test
+    public void testVectorChecks()
+    {
+        LengthVector a = DoubleVector.instantiate(new double[] {1.0, 2.0, 3.0}, LengthUnit.METER, StorageType.DENSE);
+        LengthVector mutable = a.mutable();
+        DoubleVectorExpression<LengthUnit, Length, LengthVector> expression = mutable.lazy().times(2.0);
+        mutable.setSI(1, 10.0);
+        assertArrayEquals(new double[] {2.0, 20.0, 6.0}, expression.evaluate().getValuesSI(), 0.0);
+        assertEquals(28.0, expression.zSum().si, 0.0);
+
+        LengthVector shorter = DoubleVector.instantiate(new double[] {1.0, 2.0}, LengthUnit.METER, StorageType.DENSE);
+        try
+        {
+            a.lazy().plus(shorter);
+            fail("vectors of different sizes cannot be added");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        try
+        {
+            a.lazy().minus(shorter.lazy());
+            fail("expressions of different sizes cannot be subtracted");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        try
+        {
+            a.lazy().plus((LengthVector) null);
+            fail("null vector should throw an exception");
+        }
+        catch (NullPointerException exception)
+        {
+            // ok
+        }
+    }
+
+    /**
+     * Test matrix expressions against the eager operations.
+     */
+    @Test
+    public void testMatrixExpressions()
+    {
+        Random random = new Random(4321);
+        int rows = 37;
+        int cols = 61;
+        double[][] a = new double[rows][];
+        double[][] b = new double[rows][];
+        for (int row = 0; row < rows; row++)
+        {
+            a[row] = RandomData.vector(random, cols, 0.5, -1.0, 1.0);
+            b[row] = RandomData.vector(random, cols, 0.5, -1.0, 1.0);
+        }
+        for (StorageType storageType : StorageType.values())
+        {
+            String message = storageType.toString();
+            LengthMatrix ma = DoubleMatrix.instantiate(a, LengthUnit.CENTIMETER, storageType);
+            LengthMatrix mb = DoubleMatrix.instantiate(b, LengthUnit.METER, StorageType.SPARSE);
+            LengthMatrix eager = ma.plus(mb).times(3.0).minus(ma);
+            DoubleMatrixExpression<LengthUnit, Length, LengthVector, LengthMatrix> expression =
+                    ma.lazy().plus(mb).times(3.0).minus(ma);
+            LengthMatrix lazy = expression.evaluate();
+            assertEquals(message, rows, lazy.rows());
+            assertEquals(message, cols, lazy.cols());
+            assertEquals(message, storageType, lazy.getStorageType());
+            assertEquals(message, LengthUnit.CENTIMETER, lazy.getDisplayUnit());
+            for (int row = 0; row < rows; row++)
+            {
+                assertArrayEquals(message, eager.getRowSI(row), lazy.getRowSI(row), 0.0);
+            }
+            assertEquals(message, eager.zSum().si, expression.zSum().si, 1E-9);
+        }
+
+        LengthMatrix square = DoubleMatrix.instantiate(new double[][] {{1, 2}, {3, 4}}, LengthUnit.METER, StorageType.DENSE);
+        LengthMatrix wide = DoubleMatrix.instantiate(new double[][] {{1, 2, 3, 4}}, LengthUnit.METER, StorageType.DENSE);
+        try
+        {
+            square.lazy().plus(wide);
+            fail("matrices with different rows and columns cannot be added, even with the same number of cells");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+        try
+        {
+            square.lazy().minus(wide.lazy());
+            fail("expressions with different rows and columns cannot be subtracted");
+        }
+        catch (ValueRuntimeException exception)
+        {
+            // ok
+        }
+    }
+
+}
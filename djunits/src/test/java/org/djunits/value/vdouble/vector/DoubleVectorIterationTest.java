@@ -0,0 +1,144 @@
+package org.djunits.value.vdouble.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.LengthMatrix;
+import org.djunits.value.vdouble.matrix.base.DoubleMatrix;
+import org.djunits.value.vdouble.matrix.data.DoubleMatrixData;
+import org.djunits.value.vdouble.vector.base.DoubleVector;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.junit.Test;
+
+/**
+ * Test the forEachNonZero visitors and the primitive SI iterators of vectors and matrices.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleVectorIterationTest
+{
+    /** the storage types to test. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] {StorageType.DENSE, StorageType.SPARSE};
+
+    /** the test values, with zeros at the start, in the middle and at the end. */
+    private static final double[] VALUES = new double[] {0, 0, 1.5, 0, -2, 3, 0, 0, 4, 0};
+
+    /**
+     * Test the vector visitor and iterator for dense and sparse data.
+     */
+    @Test
+    public void testVector()
+    {
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            DoubleVectorData data = DoubleVectorData.instantiate(VALUES, IdentityScale.SCALE, storageType);
+            List<Integer> indices = new ArrayList<>();
+            List<Double> values = new ArrayList<>();
+            data.forEachNonZero((index, valueSI) ->
+            {
+                indices.add(index);
+                values.add(valueSI);
+            });
+            assertEquals(data.cardinality(), indices.size());
+            for (int k = 0; k < indices.size(); k++)
+            {
+                assertEquals(VALUES[indices.get(k)], values.get(k), 0.0);
+                if (k > 0)
+                {
+                    assertTrue("indices in increasing order", indices.get(k) > indices.get(k - 1));
+                }
+            }
+
+            PrimitiveIterator.OfDouble iterator = data.siIterator();
+            for (int i = 0; i < VALUES.length; i++)
+            {
+                assertEquals(storageType + " [" + i + "]", VALUES[i], iterator.nextDouble(), 0.0);
+            }
+            assertFalse(iterator.hasNext());
+            try
+            {
+                iterator.nextDouble();
+                fail("iterator beyond the end should have thrown an exception");
+            }
+            catch (NoSuchElementException exception)
+            {
+                // ok
+            }
+
+            LengthVector vector = DoubleVector.instantiate(VALUES, LengthUnit.METER, storageType);
+            double[] sum = new double[1];
+            vector.forEachNonZeroSI((index, valueSI) -> sum[0] += valueSI);
+            assertEquals(vector.zSum().si, sum[0], 1E-12);
+            iterator = vector.siIterator();
+            int count = 0;
+            while (iterator.hasNext())
+            {
+                assertEquals(VALUES[count++], iterator.nextDouble(), 0.0);
+            }
+            assertEquals(VALUES.length, count);
+
+            FloatVectorData floatData = FloatVectorData.instantiate(new float[] {0f, 2.5f, 0f, -1f}, IdentityScale.SCALE,
+                    storageType);
+            float[] floatSum = new float[1];
+            floatData.forEachNonZero((index, valueSI) -> floatSum[0] += index * valueSI);
+            assertEquals(2.5f - 3f, floatSum[0], 0.0f);
+            iterator = floatData.siIterator();
+            assertEquals(0.0, iterator.nextDouble(), 0.0);
+            assertEquals(2.5, iterator.nextDouble(), 0.0);
+            assertEquals(0.0, iterator.nextDouble(), 0.0);
+            assertEquals(-1.0, iterator.nextDouble(), 0.0);
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    /**
+     * Test the matrix visitor for dense and sparse data.
+     */
+    @Test
+    public void testMatrix()
+    {
+        double[][] valuesSI = new double[][] {{0, 1, 0}, {0, 0, 0}, {2, 0, -3}, {0, 0, 4}};
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            DoubleMatrixData data = DoubleMatrixData.instantiate(valuesSI, IdentityScale.SCALE, storageType);
+            List<int[]> cells = new ArrayList<>();
+            data.forEachNonZero((row, col, valueSI) ->
+            {
+                assertEquals(valuesSI[row][col], valueSI, 0.0);
+                cells.add(new int[] {row, col});
+            });
+            assertEquals(4, cells.size());
+            assertEquals(0, cells.get(0)[0]);
+            assertEquals(1, cells.get(0)[1]);
+            assertEquals(3, cells.get(3)[0]);
+            assertEquals(2, cells.get(3)[1]);
+
+            LengthMatrix matrix = DoubleMatrix.instantiate(valuesSI, LengthUnit.METER, storageType);
+            double[] sum = new double[1];
+            matrix.forEachNonZeroSI((row, col, valueSI) -> sum[0] += valueSI);
+            assertEquals(4.0, sum[0], 0.0);
+
+            FloatMatrixData floatData = FloatMatrixData.instantiate(new float[][] {{0f, 5f}, {6f, 0f}}, IdentityScale.SCALE,
+                    storageType);
+            float[] floatSum = new float[1];
+            floatData.forEachNonZero((row, col, valueSI) -> floatSum[0] += (row * 10 + col) * valueSI);
+            assertEquals(5f + 60f, floatSum[0], 0.0f);
+        }
+    }
+
+}
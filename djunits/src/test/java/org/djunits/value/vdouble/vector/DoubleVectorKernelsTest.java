@@ -0,0 +1,261 @@
+package org.djunits.value.vdouble.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.function.DoubleFunction2;
+import org.djunits.value.vdouble.vector.data.DoubleVectorData;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.junit.Test;
+
+/**
+ * Test the cell-by-cell arithmetic of vector data objects for all combinations of storage types, including zero, infinite and
+ * NaN values, against a straightforward per-cell calculation.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class DoubleVectorKernelsTest
+{
+    /** the storage types to combine. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] {StorageType.DENSE, StorageType.SPARSE};
+
+    /** the special values to mix in. */
+    private static final double[] SPECIAL = new double[] {-0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+
+    /**
+     * Create random data with a given fraction of zero cells, and optionally replace some cells by special values.
+     * @param random Random; the random generator
+     * @param size int; the size of the data
+     * @param zeroFraction double; the fraction of cells that is zero
+     * @param special boolean; whether to add infinite and NaN values
+     * @return double[]; the data
+     */
+    private static double[] randomData(final Random random, final int size, final double zeroFraction, final boolean special)
+    {
+        double[] result = RandomData.vector(random, size, zeroFraction, -1.0, 1.0);
+        for (int i = 0; special && i < size; i++)
+        {
+            if (random.nextDouble() < 0.05)
+            {
+                result[i] = SPECIAL[random.nextInt(SPECIAL.length)];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check the values of a data object against the per-cell calculation.
+     * @param message String; the message for a failure
+     * @param a double[]; the left operand
+     * @param b double[]; the right operand
+     * @param operation DoubleFunction2; the operation
+     * @param result DoubleVectorData; the result to check
+     */
+    private static void check(final String message, final double[] a, final double[] b, final DoubleFunction2 operation,
+            final DoubleVectorData result)
+    {
+        assertEquals(message, a.length, result.size());
+        for (int i = 0; i < a.length; i++)
+        {
+            assertEquals(message + " [" + i + "] " + a[i] + ", " + b[i], operation.apply(a[i], b[i]), result.getSI(i), 0.0);
+        }
+    }
+
+    /**
+     * Test plus, minus, times and divide and their in-place variants for all combinations of storage types.
+     */
+    @Test
+    public void testOperations()
+    {
+        Random random = new Random(12L);
+        DoubleFunction2 add = (l, r) -> l + r;
+        DoubleFunction2 subtract = (l, r) -> l - r;
+        DoubleFunction2 multiply = (l, r) -> l * r;
+        DoubleFunction2 divide = (l, r) -> l / r;
+        for (int size : new int[] {1, 17, 5000})
+        {
+            for (boolean special : new boolean[] {false, true})
+            {
+                double[] aData = randomData(random, size, 0.7, special);
+                double[] bData = randomData(random, size, 0.7, special);
+                for (StorageType leftType : STORAGE_TYPES)
+                {
+                    for (StorageType rightType : STORAGE_TYPES)
+                    {
+                        String message = leftType + " op " + rightType + ", size " + size + ", special " + special;
+                        DoubleVectorData left = DoubleVectorData.instantiate(aData, IdentityScale.SCALE, leftType);
+                        DoubleVectorData right = DoubleVectorData.instantiate(bData, IdentityScale.SCALE, rightType);
+                        // sparse storage does not keep -0.0, so compare with the values as they are stored
+                        double[] a = left.getDenseVectorSI();
+                        double[] b = right.getDenseVectorSI();
+                        boolean bothSparse = leftType.equals(StorageType.SPARSE) && rightType.equals(StorageType.SPARSE);
+                        boolean bothDense = leftType.equals(StorageType.DENSE) && rightType.equals(StorageType.DENSE);
+
+                        DoubleVectorData result = left.plus(right);
+                        check("plus " + message, a, b, add, result);
+                        assertEquals(bothSparse ? StorageType.SPARSE : StorageType.DENSE, result.getStorageType());
+                        result = left.minus(right);
+                        check("minus " + message, a, b, subtract, result);
+                        assertEquals(leftType.equals(StorageType.SPARSE) ? StorageType.SPARSE : StorageType.DENSE,
+                                result.getStorageType());
+                        result = left.times(right);
+                        check("times " + message, a, b, multiply, result);
+                        assertEquals(bothDense ? StorageType.DENSE : StorageType.SPARSE, result.getStorageType());
+                        result = left.divide(right);
+                        check("divide " + message, a, b, divide, result);
+                        assertEquals(leftType.equals(StorageType.SPARSE) && !bothSparse ? StorageType.SPARSE
+                                : StorageType.DENSE, result.getStorageType());
+
+                        DoubleFunction2[] operations = new DoubleFunction2[] {add, subtract, multiply, divide};
+                        for (int op = 0; op < operations.length; op++)
+                        {
+                            DoubleVectorData target = left.copy();
+                            switch (op)
+                            {
+                                case 0:
+                                    target.incrementBy(right);
+                                    break;
+                                case 1:
+                                    target.decrementBy(right);
+                                    break;
+                                case 2:
+                                    target.multiplyBy(right);
+                                    break;
+                                default:
+                                    target.divideBy(right);
+                                    break;
+                            }
+                            check("in-place " + op + " " + message, a, b, operations[op], target);
+                            assertEquals(leftType, target.getStorageType());
+                            if (leftType.equals(StorageType.SPARSE))
+                            {
+                                assertEquals(target.toDense().cardinality(), target.cardinality());
+                            }
+                        }
+                        assertEquals("operands should not change", left,
+                                DoubleVectorData.instantiate(aData, IdentityScale.SCALE, leftType));
+
+                        DoubleVectorData fma = left.multiplyAdd(right, left);
+                        check("multiplyAdd " + message, a, b, (l, r) -> l * r + l, fma);
+                        assertEquals(StorageType.DENSE, fma.getStorageType());
+                        fma = left.multiplyAdd(2.5, right);
+                        check("multiplyAdd scalar " + message, a, b, (l, r) -> l * 2.5 + r, fma);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test multiplication and division by a scalar, including infinite, NaN and zero values, which change the sparsity.
+     */
+    @Test
+    public void testScalarOperations()
+    {
+        Random random = new Random(34L);
+        double[] a = randomData(random, 300, 0.8, true);
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            for (double value : new double[] {2.0, -0.5, 0.0, Double.POSITIVE_INFINITY, Double.NaN, 1E-320})
+            {
+                DoubleVectorData data = DoubleVectorData.instantiate(a, IdentityScale.SCALE, storageType);
+                data.multiplyBy(value);
+                check("multiplyBy " + value, a, a, (l, r) -> l * value, data);
+                assertEquals(storageType, data.getStorageType());
+                data = DoubleVectorData.instantiate(a, IdentityScale.SCALE, storageType);
+                data.divideBy(value);
+                check("divideBy " + value, a, a, (l, r) -> l / value, data);
+                assertEquals(storageType, data.getStorageType());
+            }
+        }
+    }
+
+    /**
+     * Test that operands of a different size are rejected.
+     */
+    @Test
+    public void testSizes()
+    {
+        for (StorageType leftType : STORAGE_TYPES)
+        {
+            for (StorageType rightType : STORAGE_TYPES)
+            {
+                DoubleVectorData left = DoubleVectorData.instantiate(new double[] {1, 0, 3}, IdentityScale.SCALE, leftType);
+                DoubleVectorData right = DoubleVectorData.instantiate(new double[] {1, 2}, IdentityScale.SCALE, rightType);
+                try
+                {
+                    left.incrementBy(right);
+                    fail("incrementBy with different sizes should have thrown an exception");
+                }
+                catch (ValueRuntimeException exception)
+                {
+                    // ok
+                }
+                try
+                {
+                    left.multiplyAdd(left, right);
+                    fail("multiplyAdd with different sizes should have thrown an exception");
+                }
+                catch (ValueRuntimeException exception)
+                {
+                    // ok
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the float operations for all combinations of storage types.
+     */
+    @Test
+    public void testFloatOperations()
+    {
+        Random random = new Random(56L);
+        double[] ad = randomData(random, 3000, 0.7, true);
+        double[] bd = randomData(random, 3000, 0.7, true);
+        float[] aData = new float[ad.length];
+        float[] bData = new float[bd.length];
+        for (int i = 0; i < aData.length; i++)
+        {
+            aData[i] = (float) ad[i];
+            bData[i] = (float) bd[i];
+        }
+        for (StorageType leftType : STORAGE_TYPES)
+        {
+            for (StorageType rightType : STORAGE_TYPES)
+            {
+                FloatVectorData left = FloatVectorData.instantiate(aData, IdentityScale.SCALE, leftType);
+                FloatVectorData right = FloatVectorData.instantiate(bData, IdentityScale.SCALE, rightType);
+                float[] a = left.getDenseVectorSI();
+                float[] b = right.getDenseVectorSI();
+                FloatVectorData sum = left.plus(right);
+                FloatVectorData difference = left.minus(right);
+                FloatVectorData product = left.times(right);
+                FloatVectorData ratio = left.divide(right);
+                FloatVectorData inPlace = left.copy().multiplyBy(right);
+                FloatVectorData fma = left.multiplyAdd(right, right);
+                for (int i = 0; i < a.length; i++)
+                {
+                    String message = leftType + " op " + rightType + " [" + i + "]";
+                    assertEquals(message, a[i] + b[i], sum.getSI(i), 0.0f);
+                    assertEquals(message, a[i] - b[i], difference.getSI(i), 0.0f);
+                    assertEquals(message, a[i] * b[i], product.getSI(i), 0.0f);
+                    assertEquals(message, a[i] / b[i], ratio.getSI(i), 0.0f);
+                    assertEquals(message, a[i] * b[i], inPlace.getSI(i), 0.0f);
+                    assertEquals(message, a[i] * b[i] + b[i], fma.getSI(i), 0.0f);
+                }
+                assertEquals(leftType, inPlace.getStorageType());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package org.djunits.value.vfloat.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.djunits.Try;
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.value.RandomData;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vdouble.matrix.Determinant;
+import org.djunits.value.vfloat.matrix.base.FloatMatrix;
+import org.djunits.value.vfloat.matrix.data.FloatLUDecomposition;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixDataDense;
+import org.junit.Test;
+
+/**
+ * Test the LU decomposition of float matrices, and the determinant, solve and inverse methods that are based on it.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class FloatLUDecompositionTest
+{
+    /** the storage types to test. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] { StorageType.DENSE, StorageType.SPARSE };
+
+    /**
+     * Return the cofactor-based determinant of a float matrix, calculated in double precision.
+     * @param values float[][]; the matrix
+     * @return double; the determinant
+     */
+    private static double det(final float[][] values)
+    {
+        double[][] doubles = new double[values.length][values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            for (int j = 0; j < values.length; j++)
+            {
+                doubles[i][j] = values[i][j];
+            }
+        }
+        return Determinant.det(doubles);
+    }
+
+    /**
+     * Compare the LU-based determinant with the cofactor-based determinant for dense and sparse storage.
+     */
+    @Test
+    public void testDeterminant()
+    {
+        Random random = new Random(1234L);
+        for (int n = 1; n <= 7; n++)
+        {
+            for (double zeroFraction : new double[] { 0.0, 0.5, 0.8 })
+            {
+                float[][] values = RandomData.floatMatrix(random, n, n, zeroFraction, -5.0, 5.0);
+                double expected = det(values);
+                for (StorageType storageType : STORAGE_TYPES)
+                {
+                    FloatMatrixData data = FloatMatrixData.instantiate(values, IdentityScale.SCALE, storageType);
+                    assertEquals("determinant n=" + n + ", storage=" + storageType, expected, data.determinantSI(),
+                            1E-3 * Math.max(1.0, Math.abs(expected)));
+                    assertEquals("LU determinant n=" + n + ", storage=" + storageType, expected,
+                            data.decomposeLU().determinant(), 1E-3 * Math.max(1.0, Math.abs(expected)));
+                }
+            }
+        }
+
+        // sparse upper and lower triangular matrices, a matrix with an empty row, and a matrix with an empty column
+        float[][] lower = new float[][] { { 2, 0, 0 }, { 3, 4, 0 }, { 5, 6, 7 } };
+        float[][] upper = new float[][] { { 2, 3, 5 }, { 0, 4, 6 }, { 0, 0, -7 } };
+        float[][] emptyRow = new float[][] { { 2, 1, 0 }, { 0, 0, 0 }, { 5, 6, 7 } };
+        float[][] emptyCol = new float[][] { { 2, 0, 1 }, { 3, 0, 4 }, { 5, 0, 7 } };
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            assertEquals(56.0f, FloatMatrixData.instantiate(lower, IdentityScale.SCALE, storageType).determinantSI(), 1E-5f);
+            assertEquals(-56.0f, FloatMatrixData.instantiate(upper, IdentityScale.SCALE, storageType).determinantSI(), 1E-5f);
+            assertEquals(0.0f, FloatMatrixData.instantiate(emptyRow, IdentityScale.SCALE, storageType).determinantSI(), 0.0f);
+            assertEquals(0.0f, FloatMatrixData.instantiate(emptyCol, IdentityScale.SCALE, storageType).determinantSI(), 0.0f);
+        }
+
+        // the typed matrix uses the LU-based determinant as well
+        FloatAreaMatrix am = FloatMatrix.instantiate(lower, AreaUnit.SQUARE_METER, StorageType.DENSE);
+        assertEquals(56.0f, am.determinantSI(), 1E-5f);
+    }
+
+    /**
+     * Test that rows are exchanged when a zero appears on the diagonal, and that each exchange changes the sign of the
+     * determinant.
+     */
+    @Test
+    public void testPivoting()
+    {
+        float[][] values = new float[][] { { 0, 2, 1 }, { 0, 0, 3 }, { 4, 1, 0 } };
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            FloatLUDecomposition lu = FloatMatrixData.instantiate(values, IdentityScale.SCALE, storageType).decomposeLU();
+            assertFalse(lu.isSingular());
+            assertEquals((float) det(values), lu.determinant(), 1E-5f);
+            int[] pivot = lu.getPivot();
+            assertEquals(2, pivot[0]);
+            float[][] lm = lu.getL().getDenseMatrixSI();
+            float[][] um = lu.getU().getDenseMatrixSI();
+            for (int i = 0; i < 3; i++)
+            {
+                assertEquals("unit diagonal of L", 1.0f, lm[i][i], 0.0f);
+                for (int j = 0; j < 3; j++)
+                {
+                    if (j > i)
+                    {
+                        assertEquals("L is lower triangular", 0.0f, lm[i][j], 0.0f);
+                    }
+                    if (j < i)
+                    {
+                        assertEquals("U is upper triangular", 0.0f, um[i][j], 0.0f);
+                    }
+                    float sum = 0.0f;
+                    for (int k = 0; k < 3; k++)
+                    {
+                        sum += lm[i][k] * um[k][j];
+                    }
+                    assertEquals("P * A = L * U", values[pivot[i]][j], sum, 1E-5f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test solve and inverse.
+     */
+    @Test
+    public void testSolveAndInverse()
+    {
+        Random random = new Random(5678L);
+        int n = 6;
+        float[][] values = RandomData.floatMatrix(random, n, n, 0.3, -5.0, 5.0);
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            FloatMatrixData data = FloatMatrixData.instantiate(values, IdentityScale.SCALE, storageType);
+            FloatLUDecomposition lu = data.decomposeLU();
+            assertEquals(n, lu.size());
+            assertFalse(lu.isSingular());
+
+            // A * x = b
+            float[] b = new float[n];
+            for (int i = 0; i < n; i++)
+            {
+                b[i] = i + 1.0f;
+            }
+            float[] x = lu.solve(b);
+            for (int i = 0; i < n; i++)
+            {
+                double sum = 0.0;
+                for (int j = 0; j < n; j++)
+                {
+                    sum += values[i][j] * x[j];
+                }
+                assertEquals("A * x = b", b[i], sum, 1E-3);
+            }
+
+            // A * A^-1 = I, and solving A * X = I gives the inverse as well
+            FloatMatrixDataDense inverse = lu.inverse();
+            for (int i = 0; i < n; i++)
+            {
+                for (int j = 0; j < n; j++)
+                {
+                    double sum = 0.0;
+                    for (int k = 0; k < n; k++)
+                    {
+                        sum += values[i][k] * inverse.getSI(k, j);
+                    }
+                    assertEquals("A * inv(A) = I", i == j ? 1.0 : 0.0, sum, 1E-3);
+                }
+            }
+            float[][] identity = new float[n][n];
+            for (int i = 0; i < n; i++)
+            {
+                identity[i][i] = 1.0f;
+            }
+            FloatMatrixDataDense solved =
+                    lu.solve(FloatMatrixData.instantiate(identity, IdentityScale.SCALE, StorageType.SPARSE));
+            for (int i = 0; i < n; i++)
+            {
+                assertArrayEquals(inverse.getDenseMatrixSI()[i], solved.getDenseMatrixSI()[i], 1E-6f);
+            }
+        }
+    }
+
+    /**
+     * Test the error conditions.
+     */
+    @Test
+    public void testErrors()
+    {
+        FloatMatrixData nonSquare =
+                FloatMatrixData.instantiate(new float[][] { { 1, 2, 3 }, { 4, 5, 6 } }, IdentityScale.SCALE, StorageType.DENSE);
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                nonSquare.decomposeLU();
+            }
+        }.test("LU decomposition of non-square matrix should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                nonSquare.toSparse().determinantSI();
+            }
+        }.test("determinant of non-square sparse matrix should have thrown exception");
+
+        for (StorageType storageType : STORAGE_TYPES)
+        {
+            FloatLUDecomposition singular = FloatMatrixData
+                    .instantiate(new float[][] { { 1, 2 }, { 2, 4 } }, IdentityScale.SCALE, storageType).decomposeLU();
+            assertTrue(singular.isSingular());
+            assertEquals(0.0f, singular.determinant(), 0.0f);
+            new Try()
+            {
+                @Override
+                public void execute()
+                {
+                    singular.inverse();
+                }
+            }.test("inverse of singular matrix should have thrown exception");
+            new Try()
+            {
+                @Override
+                public void execute()
+                {
+                    singular.solve(new float[] { 1, 2 });
+                }
+            }.test("solve with singular matrix should have thrown exception");
+            new Try()
+            {
+                @Override
+                public void execute()
+                {
+                    singular.solve(new float[] { 1, 2, 3 });
+                }
+            }.test("solve with wrong length should have thrown exception");
+        }
+    }
+
+}
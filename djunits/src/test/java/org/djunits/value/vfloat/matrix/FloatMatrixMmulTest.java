@@ -0,0 +1,227 @@
+package org.djunits.value.vfloat.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.djunits.Try;
+import org.djunits.unit.AreaUnit;
+import org.djunits.unit.DurationUnit;
+import org.djunits.unit.LengthUnit;
+import org.djunits.unit.SpeedUnit;
+import org.djunits.unit.scale.IdentityScale;
+import org.djunits.unit.si.SIDimensions;
+import org.djunits.unit.util.UnitException;
+import org.djunits.value.RandomData;
+import org.djunits.value.ValueRuntimeException;
+import org.djunits.value.storage.StorageType;
+import org.djunits.value.vfloat.matrix.base.FloatMatrix;
+import org.djunits.value.vfloat.matrix.data.FloatMatrixData;
+import org.djunits.value.vfloat.vector.FloatDurationVector;
+import org.djunits.value.vfloat.vector.FloatSIVector;
+import org.djunits.value.vfloat.vector.base.FloatVector;
+import org.djunits.value.vfloat.vector.data.FloatVectorData;
+import org.junit.Test;
+
+/**
+ * Test the matrix product (mmul) of float matrices, and of a float matrix and a float vector.
+ * <p>
+ * Copyright (c) 2019-2022 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://djunits.org/docs/license.html">DJUNITS License</a>
+ * </p>
+ * @author <a href="https://www.tudelft.nl/averbraeck" target="_blank">Alexander Verbraeck</a>
+ */
+public class FloatMatrixMmulTest
+{
+    /** the storage types to combine. */
+    private static final StorageType[] STORAGE_TYPES = new StorageType[] { StorageType.DENSE, StorageType.SPARSE };
+
+    /**
+     * Straightforward matrix product to compare with, calculated in double precision.
+     * @param a float[][]; left operand
+     * @param b float[][]; right operand
+     * @return double[][]; the product
+     */
+    private static double[][] product(final float[][] a, final float[][] b)
+    {
+        double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++)
+        {
+            for (int j = 0; j < b[0].length; j++)
+            {
+                for (int k = 0; k < b.length; k++)
+                {
+                    c[i][j] += (double) a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Test the data-level product for all combinations of storage types, for small sizes, for sizes that span several tiles,
+     * and for sizes that are calculated in parallel.
+     */
+    @Test
+    public void testDataProduct()
+    {
+        Random random = new Random(42L);
+        int[][] sizes = new int[][] { { 1, 1, 1 }, { 3, 4, 5 }, { 70, 65, 130 }, { 150, 130, 170 } };
+        for (int[] size : sizes)
+        {
+            for (double zeroFraction : new double[] { 0.0, 0.9 })
+            {
+                float[][] a = RandomData.floatMatrix(random, size[0], size[1], zeroFraction, -1.0, 1.0);
+                float[][] b = RandomData.floatMatrix(random, size[1], size[2], zeroFraction, -1.0, 1.0);
+                double[][] expected = product(a, b);
+                for (StorageType leftType : STORAGE_TYPES)
+                {
+                    for (StorageType rightType : STORAGE_TYPES)
+                    {
+                        FloatMatrixData left = FloatMatrixData.instantiate(a, IdentityScale.SCALE, leftType);
+                        FloatMatrixData right = FloatMatrixData.instantiate(b, IdentityScale.SCALE, rightType);
+                        FloatMatrixData result = left.mmul(right);
+                        assertEquals(leftType.equals(StorageType.SPARSE) && rightType.equals(StorageType.SPARSE)
+                                ? StorageType.SPARSE : StorageType.DENSE, result.getStorageType());
+                        assertEquals(size[0], result.rows());
+                        assertEquals(size[2], result.cols());
+                        for (int i = 0; i < size[0]; i++)
+                        {
+                            for (int j = 0; j < size[2]; j++)
+                            {
+                                assertEquals(leftType + " x " + rightType + " [" + i + "," + j + "]", expected[i][j],
+                                        result.getSI(i, j), 1E-4);
+                            }
+                        }
+
+                        // matrix times vector
+                        float[] x = RandomData.floatMatrix(random, 1, size[1], zeroFraction, -1.0, 1.0)[0];
+                        FloatVectorData y = left.mmul(FloatVectorData.instantiate(x, IdentityScale.SCALE, rightType));
+                        assertEquals(leftType, y.getStorageType());
+                        for (int i = 0; i < size[0]; i++)
+                        {
+                            double sum = 0.0;
+                            for (int k = 0; k < size[1]; k++)
+                            {
+                                sum += (double) a[i][k] * x[k];
+                            }
+                            assertEquals("matrix x vector", sum, y.getSI(i), 1E-4);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that zero cells of a dense left operand multiplied by infinite or NaN cells of the right operand give NaN, as in a
+     * straightforward matrix product.
+     */
+    @Test
+    public void testNonFiniteProduct()
+    {
+        float[][] a = new float[][] { { 0, 1 }, { 2, 0 }, { 0, 0 } };
+        float[][] b = new float[][] { { Float.POSITIVE_INFINITY, 1, 0 }, { Float.NaN, 2, 0 } };
+        double[][] expected = product(a, b);
+        for (StorageType rightType : STORAGE_TYPES)
+        {
+            FloatMatrixData left = FloatMatrixData.instantiate(a, IdentityScale.SCALE, StorageType.DENSE);
+            FloatMatrixData result = left.mmul(FloatMatrixData.instantiate(b, IdentityScale.SCALE, rightType));
+            for (int i = 0; i < 3; i++)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    assertEquals("DENSE x " + rightType + " [" + i + "," + j + "]", expected[i][j], result.getSI(i, j), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that a product with more than Integer.MAX_VALUE cells is refused instead of overflowing the size of the result.
+     */
+    @Test
+    public void testProductTooLarge()
+    {
+        FloatMatrixData left = FloatMatrixData.instantiate(new float[65536][1], IdentityScale.SCALE, StorageType.DENSE);
+        FloatMatrixData right = FloatMatrixData.instantiate(new float[1][65537], IdentityScale.SCALE, StorageType.DENSE);
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                left.mmul(right);
+            }
+        }.test("mmul of 65536x1 and 1x65537 matrix should have thrown exception", ValueRuntimeException.class);
+    }
+
+    /**
+     * Test the unit-aware product of typed float matrices and vectors.
+     * @throws UnitException on error
+     */
+    @Test
+    public void testTypedProduct() throws UnitException
+    {
+        float[][] lengths = new float[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } };
+        float[][] speeds = new float[][] { { 1, 0, 2 }, { 0, 3, 0 } };
+        FloatLengthMatrix lm = FloatMatrix.instantiate(lengths, LengthUnit.METER, StorageType.DENSE);
+        FloatSpeedMatrix sm = FloatMatrix.instantiate(speeds, SpeedUnit.METER_PER_SECOND, StorageType.SPARSE);
+        FloatSIMatrix product = lm.mmul(sm);
+        assertEquals(SIDimensions.of("m2/s"), product.getDisplayUnit().getQuantity().getSiDimensions());
+        assertEquals(3, product.rows());
+        assertEquals(3, product.cols());
+        double[][] expected = product(lengths, speeds);
+        for (int i = 0; i < 3; i++)
+        {
+            for (int j = 0; j < 3; j++)
+            {
+                assertEquals(expected[i][j], product.getSI(i, j), 1E-6);
+            }
+        }
+
+        FloatAreaMatrix am = lm.mmul(FloatMatrix.instantiate(new float[][] { { 1, 0 }, { 0, 1 } }, LengthUnit.METER,
+                StorageType.DENSE, FloatLengthMatrix.class)).asArea();
+        assertEquals(AreaUnit.SI, am.getDisplayUnit());
+        assertEquals(6.0, am.getSI(2, 1), 1E-6);
+
+        FloatDurationVector dv = FloatVector.instantiate(new float[] { 2, 10 }, DurationUnit.SECOND, StorageType.DENSE);
+        FloatSIVector lv = lm.mmul(dv);
+        assertEquals(SIDimensions.of("m.s"), lv.getDisplayUnit().getQuantity().getSiDimensions());
+        assertEquals(3, lv.size());
+        assertEquals(22.0, lv.getSI(0), 1E-6);
+        assertEquals(46.0, lv.getSI(1), 1E-6);
+        assertEquals(70.0, lv.getSI(2), 1E-6);
+
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                try
+                {
+                    lm.mmul(lm);
+                }
+                catch (UnitException exception)
+                {
+                    throw new RuntimeException(exception);
+                }
+            }
+        }.test("mmul of 3x2 and 3x2 matrix should have thrown exception");
+        new Try()
+        {
+            @Override
+            public void execute()
+            {
+                try
+                {
+                    sm.mmul(dv);
+                }
+                catch (UnitException exception)
+                {
+                    throw new RuntimeException(exception);
+                }
+            }
+        }.test("mmul of 2x3 matrix and vector of size 2 should have thrown exception");
+    }
+
+}